@@ -444,6 +444,21 @@ public class RapidMiner {
 	 */
 	public static final String PROPERTY_RAPIDMINER_SYSTEM_LEGACY_DATA_MGMT = "rapidminer.system.legacy_data_mgmt";
 
+	/**
+	 * The name of the property indicating whether independent operators of a subprocess should be
+	 * executed concurrently.
+	 *
+	 * @since 9.7
+	 */
+	public static final String PROPERTY_RAPIDMINER_SYSTEM_DATAFLOW_EXECUTION = "rapidminer.system.dataflow_execution";
+
+	/**
+	 * The name of the property indicating whether example sets should be read lazily from file based repositories.
+	 *
+	 * @since 9.7
+	 */
+	public static final String PROPERTY_RAPIDMINER_SYSTEM_LAZY_DATA_LOADING = "rapidminer.system.lazy_data_loading";
+
 	public static final String PROPERTY_RAPIDMINER_PROXY_MODE = "rapidminer.proxy.mode";
 	public static final String PROPERTY_RAPIDMINER_PROXY_EXCLUDE = "rapidminer.proxy.exclude";
 
@@ -586,6 +601,10 @@ public class RapidMiner {
 
 		registerParameter(new ParameterTypeBoolean(PROPERTY_RAPIDMINER_SYSTEM_LEGACY_DATA_MGMT, "", false), "system");
 
+		registerParameter(new ParameterTypeBoolean(PROPERTY_RAPIDMINER_SYSTEM_DATAFLOW_EXECUTION, "", false), "system");
+
+		registerParameter(new ParameterTypeBoolean(PROPERTY_RAPIDMINER_SYSTEM_LAZY_DATA_LOADING, "", false), "system");
+
 		registerParameter(new ParameterTypeInt(WebServiceTools.WEB_SERVICE_TIMEOUT, "", 1, Integer.MAX_VALUE, 20000),
 				"system");
 
@@ -36,4 +36,18 @@ public interface AttributeTransformation extends Serializable, Cloneable {
 
 	public boolean isReversable();
 
+	/**
+	 * Compiles this transformation for the given attribute. The default implementation returns
+	 * {@code null}, i.e. the transformation is always applied via
+	 * {@link #transform(Attribute, double)}.
+	 *
+	 * @param attribute
+	 *            the attribute whose values are transformed
+	 * @return the compiled transformation or {@code null} if this transformation cannot be compiled
+	 * @since 9.7
+	 */
+	public default CompiledTransformation compile(Attribute attribute) {
+		return null;
+	}
+
 }
@@ -116,6 +116,9 @@ public class AttributeWeights extends AverageVector {
 	/** Maps the name of an attribute to the corresponding attribute weight. */
 	private Map<String, AttributeWeight> weightMap = new LinkedHashMap<>();
 
+	/** Counts the additions and removals of attribute weights. */
+	private transient int modificationCount;
+
 	/** Creates a new empty attribute weights object. */
 	public AttributeWeights() {}
 
@@ -150,10 +153,12 @@ public class AttributeWeights extends AverageVector {
 		if (Double.isNaN(weight)) {
 			weightMap.remove(name);
 			super.removeAveragable(oldWeight);
+			modificationCount++;
 		} else if (oldWeight == null) {
 			AttributeWeight attWeight = new AttributeWeight(this, name, weight);
 			super.addAveragable(attWeight);
 			weightMap.put(name, attWeight);
+			modificationCount++;
 		} else {
 			oldWeight.setWeight(weight);
 		}
@@ -172,6 +177,27 @@ public class AttributeWeights extends AverageVector {
 		}
 	}
 
+	/**
+	 * Returns the attribute weight object for the attribute with the given name or {@code null} if
+	 * the weight for the queried attribute is not known. The object is replaced if the weight is
+	 * removed and set again, see {@link #getModificationCount()}.
+	 *
+	 * @since 9.7
+	 */
+	public AttributeWeight getAttributeWeight(String name) {
+		return weightMap.get(name);
+	}
+
+	/**
+	 * Returns a counter that changes whenever an attribute weight object is added or removed. Changes
+	 * of the weight values do not change the counter.
+	 *
+	 * @since 9.7
+	 */
+	public int getModificationCount() {
+		return modificationCount;
+	}
+
 	/** Returns the currently used weight type. */
 	public int getWeightType() {
 		return weightType;
@@ -203,6 +229,7 @@ public class AttributeWeights extends AverageVector {
 	 */
 	public void removeAttributeWeight(String attributeName) {
 		this.weightMap.remove(attributeName);
+		modificationCount++;
 	}
 
 	/**
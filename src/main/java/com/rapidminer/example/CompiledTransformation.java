@@ -0,0 +1,65 @@
+/**
+ * Copyright (C) 2001-2020 by RapidMiner and the contributors
+ * 
+ * Complete list of developers available at our web site:
+ * 
+ * http://rapidminer.com
+ * 
+ * This program is free software: you can redistribute it and/or modify it under the terms of the
+ * GNU Affero General Public License as published by the Free Software Foundation, either version 3
+ * of the License, or (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without
+ * even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Affero General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Affero General Public License along with this program.
+ * If not, see http://www.gnu.org/licenses/.
+*/
+package com.rapidminer.example;
+
+
+/**
+ * An {@link AttributeTransformation} specialized for a single attribute. Attributes fuse the
+ * compiled forms of all transformations of a view stack into one accessor, so that reading a value
+ * does not need to call every transformation of the stack with all its lookups again.
+ *
+ * @since 9.7
+ * @see AttributeTransformation#compile(Attribute)
+ */
+public interface CompiledTransformation {
+
+	/** A compiled transformation that does not change non-missing values and is always valid. */
+	CompiledTransformation IDENTITY = new CompiledTransformation() {
+
+		@Override
+		public double transform(double value) {
+			return value;
+		}
+
+		@Override
+		public boolean isValid() {
+			return true;
+		}
+	};
+
+	/**
+	 * Transforms the given value, which is never missing. For nominal attributes the results are
+	 * cached, so a non-missing result for a value must not change as long as {@link #isValid()}
+	 * returns {@code true}. Missing results are not cached.
+	 *
+	 * @param value
+	 *            the non-missing value to transform
+	 * @return the transformed value
+	 */
+	double transform(double value);
+
+	/**
+	 * Returns whether this is still equivalent to the transformation it was compiled from. This is
+	 * checked on every value access, so it should only compare a few references.
+	 *
+	 * @return {@code true} if the compiled transformation can still be used
+	 */
+	boolean isValid();
+
+}
@@ -0,0 +1,40 @@
+/**
+ * Copyright (C) 2001-2020 by RapidMiner and the contributors
+ *
+ * Complete list of developers available at our web site:
+ *
+ * http://rapidminer.com
+ *
+ * This program is free software: you can redistribute it and/or modify it under the terms of the
+ * GNU Affero General Public License as published by the Free Software Foundation, either version 3
+ * of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without
+ * even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License along with this program.
+ * If not, see http://www.gnu.org/licenses/.
+ */
+package com.rapidminer.example;
+
+/**
+ * {@link Statistics} whose counts can be combined with the counts of another instance of the same class. This allows
+ * to count disjoint parts of the data independently of each other, e.g. concurrently, and to merge the partial
+ * results afterwards.
+ *
+ * @since 9.7
+ */
+public interface MergeableStatistics extends Statistics {
+
+	/**
+	 * Adds the counts of the given statistics to the counts of this statistics. The given statistics is not modified.
+	 *
+	 * @param other
+	 *            the statistics to merge into this one, must be of the same class
+	 * @throws IllegalArgumentException
+	 *             if the other statistics is not of the same class as this statistics
+	 */
+	void merge(Statistics other);
+
+}
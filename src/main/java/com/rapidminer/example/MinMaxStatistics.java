@@ -29,7 +29,7 @@ import java.util.logging.Level;
  * 
  * @author Ingo Mierswa
  */
-public class MinMaxStatistics implements Statistics {
+public class MinMaxStatistics implements MergeableStatistics {
 
 	private static final long serialVersionUID = 1027895282018510951L;
 
@@ -62,6 +62,20 @@ public class MinMaxStatistics implements Statistics {
 		}
 	}
 
+	@Override
+	public void merge(Statistics other) {
+		if (!(other instanceof MinMaxStatistics)) {
+			throw new IllegalArgumentException("Cannot merge " + other + " into " + getClass().getSimpleName());
+		}
+		MinMaxStatistics otherStatistics = (MinMaxStatistics) other;
+		if (minimum > otherStatistics.minimum) {
+			minimum = otherStatistics.minimum;
+		}
+		if (maximum < otherStatistics.maximum) {
+			maximum = otherStatistics.maximum;
+		}
+	}
+
 	@Override
 	public double getStatistics(Attribute attribute, String name, String parameter) {
 		if (MINIMUM.equals(name)) {
@@ -28,7 +28,7 @@ import java.util.logging.Level;
  * 
  * @author Ingo Mierswa
  */
-public class UnknownStatistics implements Statistics {
+public class UnknownStatistics implements MergeableStatistics {
 
 	private static final long serialVersionUID = 217609774484151520L;
 
@@ -58,6 +58,15 @@ public class UnknownStatistics implements Statistics {
 		}
 	}
 
+	@Override
+	public void merge(Statistics other) {
+		if (!(other instanceof UnknownStatistics)) {
+			throw new IllegalArgumentException("Cannot merge " + other + " into " + getClass().getSimpleName());
+		}
+		UnknownStatistics otherStatistics = (UnknownStatistics) other;
+		unknownCounter += otherStatistics.unknownCounter;
+	}
+
 	@Override
 	public double getStatistics(Attribute attribute, String statisticsName, String parameter) {
 		if (UNKNOWN.equals(statisticsName)) {
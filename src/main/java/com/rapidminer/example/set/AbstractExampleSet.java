@@ -39,6 +39,7 @@ import javax.xml.parsers.ParserConfigurationException;
 import org.w3c.dom.Document;
 import org.w3c.dom.Element;
 
+import com.rapidminer.core.concurrency.ConcurrencyContext;
 import com.rapidminer.datatable.DataTable;
 import com.rapidminer.datatable.DataTableExampleSetAdapter;
 import com.rapidminer.example.Attribute;
@@ -416,12 +417,27 @@ public abstract class AbstractExampleSet extends ResultObjectAdapter implements
 	 */
 	@Override
 	public void recalculateAllAttributeStatistics() {
+		recalculateAllAttributeStatistics(null);
+	}
+
+	/**
+	 * Recalculates the attribute statistics for all attributes like {@link #recalculateAllAttributeStatistics()}. If
+	 * a {@link ConcurrencyContext} is given, blocks of columns (and for large columnar data also ranges of rows) are
+	 * counted concurrently.
+	 * <p>
+	 * The statistics calculation is stopped by {@link Thread#interrupt()} of the calling thread.
+	 *
+	 * @param context
+	 *            the context to use for a concurrent calculation, can be {@code null} for a sequential calculation
+	 * @since 9.7
+	 */
+	public void recalculateAllAttributeStatistics(ConcurrencyContext context) {
 		List<Attribute> allAttributes = new ArrayList<Attribute>();
 		Iterator<Attribute> a = getAttributes().allAttributes();
 		while (a.hasNext()) {
 			allAttributes.add(a.next());
 		}
-		recalculateAttributeStatistics(allAttributes);
+		recalculateAttributeStatistics(allAttributes, context);
 	}
 
 	/**
@@ -433,16 +449,16 @@ public abstract class AbstractExampleSet extends ResultObjectAdapter implements
 	public void recalculateAttributeStatistics(Attribute attribute) {
 		List<Attribute> allAttributes = new ArrayList<Attribute>();
 		allAttributes.add(attribute);
-		recalculateAttributeStatistics(allAttributes);
+		recalculateAttributeStatistics(allAttributes, null);
 	}
 
 	/**
 	 * Here the Example Set is parsed only once, all the information is retained for each example
-	 * set.
+	 * set. The actual counting is done by the {@link AttributeStatisticsCalculator}.
 	 * <p>
 	 * The statistics calculation is stopped by {@link Thread#interrupt()}.
 	 */
-	private synchronized void recalculateAttributeStatistics(List<Attribute> attributeList) {
+	private synchronized void recalculateAttributeStatistics(List<Attribute> attributeList, ConcurrencyContext context) {
 		// do nothing if not desired
 		if (attributeList.size() == 0) {
 			return;
@@ -456,24 +472,12 @@ public abstract class AbstractExampleSet extends ResultObjectAdapter implements
 				weightAttribute = null;
 			}
 
-			for (Attribute attribute : attributeList) {
-				if (weightAttribute == null) {
-					for (Example example : this) {
-						double value = example.getValue(attribute);
-						attribute.getAllStatistics().forEachRemaining(s -> s.count(value, 1.0d));
-					}
-				} else {
-					for (Example example : this) {
-						double value = example.getValue(attribute);
-						double weight = example.getValue(weightAttribute);
-						attribute.getAllStatistics().forEachRemaining(s -> s.count(value, weight));
-					}
-				}
-				if (Thread.currentThread().isInterrupted()) {
-					// statistics is only partly calculated
-					resetAttributeStatistics(attributeList);
-					return;
-				}
+			boolean completed = new AttributeStatisticsCalculator(this, weightAttribute).calculate(attributeList,
+					context);
+			if (!completed) {
+				// statistics is only partly calculated
+				resetAttributeStatistics(attributeList);
+				return;
 			}
 
 			// store cloned statistics
@@ -0,0 +1,365 @@
+/**
+ * Copyright (C) 2001-2020 by RapidMiner and the contributors
+ *
+ * Complete list of developers available at our web site:
+ *
+ * http://rapidminer.com
+ *
+ * This program is free software: you can redistribute it and/or modify it under the terms of the
+ * GNU Affero General Public License as published by the Free Software Foundation, either version 3
+ * of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without
+ * even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License along with this program.
+ * If not, see http://www.gnu.org/licenses/.
+ */
+package com.rapidminer.example.set;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+
+import com.rapidminer.core.concurrency.ConcurrencyContext;
+import com.rapidminer.example.Attribute;
+import com.rapidminer.example.Example;
+import com.rapidminer.example.ExampleSet;
+import com.rapidminer.example.MergeableStatistics;
+import com.rapidminer.example.Statistics;
+import com.rapidminer.example.table.BinominalAttribute;
+import com.rapidminer.example.table.DateAttribute;
+import com.rapidminer.example.table.NumericalAttribute;
+import com.rapidminer.example.table.PolynominalAttribute;
+import com.rapidminer.example.table.internal.ColumnarExampleTable;
+import com.rapidminer.operator.concurrency.internal.ConcurrencyTools;
+
+
+/**
+ * Counts the {@link Statistics} of a list of attributes of an {@link ExampleSet} in a single data scan. If the example
+ * set is a plain view on a {@link ColumnarExampleTable}, the columns are read directly in chunks of rows. Otherwise,
+ * the examples are iterated once and the values of all attributes are buffered row-wise.
+ * <p>
+ * If a {@link ConcurrencyContext} is given and the data is large enough, the attributes are split into blocks that are
+ * counted concurrently. For plain columnar views, the rows of blocks whose statistics are all
+ * {@link MergeableStatistics} are additionally split into row ranges whose partial statistics are merged in row order
+ * afterwards. Attributes with other statistics are always counted by a single task in row order, so that
+ * order-dependent results like the mode of {@link com.rapidminer.example.NominalStatistics} do not change.
+ * <p>
+ * The calculation is stopped if the thread that started it is interrupted.
+ *
+ * @since 9.7
+ */
+final class AttributeStatisticsCalculator {
+
+	/** Number of rows read into a buffer at once. */
+	private static final int CHUNK_SIZE = 4096;
+
+	/** Upper bound for the number of values buffered at once when reading the examples row-wise. */
+	private static final int MAX_BUFFERED_VALUES = 1 << 18;
+
+	/** Minimal number of cells (rows times attributes) for which the calculation is done concurrently. */
+	private static final long MIN_CELLS_PARALLEL = 1_000_000L;
+
+	/** Minimal number of rows per row range when splitting the rows of an attribute block. */
+	private static final int MIN_ROWS_PER_RANGE = 250_000;
+
+	/** Number of attribute blocks per available thread, more blocks give a better load balancing. */
+	private static final int BLOCKS_PER_THREAD = 4;
+
+	/** Attribute classes whose values can be read directly from the column and concurrently. */
+	private static final Set<Class<? extends Attribute>> PLAIN_ATTRIBUTES = new HashSet<>(5);
+	static {
+		PLAIN_ATTRIBUTES.add(BinominalAttribute.class);
+		PLAIN_ATTRIBUTES.add(PolynominalAttribute.class);
+		PLAIN_ATTRIBUTES.add(DateAttribute.class);
+		PLAIN_ATTRIBUTES.add(NumericalAttribute.class);
+	}
+
+	private final ExampleSet exampleSet;
+
+	private final Attribute weightAttribute;
+
+	/** the underlying table if the example set is a plain view on it, {@code null} otherwise */
+	private final ColumnarExampleTable columnarTable;
+
+	/** the thread whose interruption stops the calculation */
+	private final Thread caller;
+
+	/**
+	 * Creates a new calculator for the given example set.
+	 *
+	 * @param exampleSet
+	 *            the example set to scan
+	 * @param weightAttribute
+	 *            the numerical weight attribute, can be {@code null}
+	 */
+	AttributeStatisticsCalculator(ExampleSet exampleSet, Attribute weightAttribute) {
+		this.exampleSet = exampleSet;
+		this.weightAttribute = weightAttribute;
+		if (exampleSet.getClass() == SimpleExampleSet.class
+				&& exampleSet.getExampleTable().getClass() == ColumnarExampleTable.class) {
+			this.columnarTable = (ColumnarExampleTable) exampleSet.getExampleTable();
+		} else {
+			this.columnarTable = null;
+		}
+		this.caller = Thread.currentThread();
+	}
+
+	/**
+	 * Counts the values of the given attributes into their statistics. The statistics must have been reset via
+	 * {@link Statistics#startCounting(Attribute)} before.
+	 *
+	 * @param attributes
+	 *            the attributes whose statistics should be counted
+	 * @param context
+	 *            the context used for a concurrent calculation, can be {@code null} for a sequential calculation
+	 * @return {@code false} if the calculation was stopped by an interrupt and the statistics are only partly counted,
+	 *         {@code true} otherwise
+	 */
+	boolean calculate(List<Attribute> attributes, ConcurrencyContext context) {
+		Attribute[] attributeArray = attributes.toArray(new Attribute[0]);
+		Statistics[][] statistics = new Statistics[attributeArray.length][];
+		for (int i = 0; i < attributeArray.length; i++) {
+			statistics[i] = toArray(attributeArray[i].getAllStatistics());
+		}
+
+		if (!useConcurrency(attributeArray, context)) {
+			return count(attributeArray, statistics, 0, exampleSet.size());
+		}
+		return countConcurrently(attributeArray, statistics, context);
+	}
+
+	/**
+	 * Splits the attributes into blocks and, if possible, the rows into ranges and counts all combinations
+	 * concurrently.
+	 */
+	private boolean countConcurrently(Attribute[] attributes, Statistics[][] statistics, ConcurrencyContext context) {
+		int parallelism = context.getParallelism();
+		int size = exampleSet.size();
+		int numberOfBlocks = Math.min(attributes.length, parallelism * BLOCKS_PER_THREAD);
+		int maxRanges = columnarTable == null ? 1
+				: Math.max(1, Math.min((parallelism + numberOfBlocks - 1) / numberOfBlocks, size / MIN_ROWS_PER_RANGE));
+
+		List<Callable<Boolean>> tasks = new ArrayList<>();
+		// partial statistics per block and range that need to be merged into the original ones
+		List<Statistics[][]> partials = new ArrayList<>();
+		List<Statistics[][]> mergeTargets = new ArrayList<>();
+		for (int block = 0; block < numberOfBlocks; block++) {
+			int from = (int) ((long) block * attributes.length / numberOfBlocks);
+			int to = (int) ((long) (block + 1) * attributes.length / numberOfBlocks);
+			Attribute[] blockAttributes = Arrays.copyOfRange(attributes, from, to);
+			Statistics[][] blockStatistics = Arrays.copyOfRange(statistics, from, to);
+			int ranges = isMergeable(blockStatistics) ? maxRanges : 1;
+			for (int range = 0; range < ranges; range++) {
+				int startRow = (int) ((long) range * size / ranges);
+				int endRow = (int) ((long) (range + 1) * size / ranges);
+				Statistics[][] target = blockStatistics;
+				if (range > 0) {
+					// the first range counts into the original statistics, the others into fresh copies
+					target = cloneStatistics(blockStatistics);
+					partials.add(target);
+					mergeTargets.add(blockStatistics);
+				}
+				Statistics[][] taskStatistics = target;
+				tasks.add(() -> count(blockAttributes, taskStatistics, startRow, endRow));
+			}
+		}
+
+		List<Boolean> results;
+		try {
+			results = context.call(tasks);
+		} catch (ExecutionException e) {
+			Throwable cause = e.getCause();
+			if (cause instanceof InterruptedException) {
+				// the calling thread was interrupted while waiting for the results, restore the flag
+				caller.interrupt();
+				return false;
+			}
+			throw ConcurrencyTools.unwrap(e, IllegalStateException.class, IllegalStateException::new);
+		}
+		if (results.contains(Boolean.FALSE) || caller.isInterrupted()) {
+			return false;
+		}
+
+		// merge in row order
+		for (int i = 0; i < partials.size(); i++) {
+			Statistics[][] partial = partials.get(i);
+			Statistics[][] target = mergeTargets.get(i);
+			for (int a = 0; a < target.length; a++) {
+				for (int s = 0; s < target[a].length; s++) {
+					((MergeableStatistics) target[a][s]).merge(partial[a][s]);
+				}
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Counts the values of the given attributes for the rows from {@code from} (inclusive) to {@code to} (exclusive).
+	 * Rows can only be restricted if the example set is a plain view on a columnar table.
+	 */
+	private boolean count(Attribute[] attributes, Statistics[][] statistics, int from, int to) {
+		if (columnarTable != null) {
+			return countColumns(attributes, statistics, from, to);
+		} else {
+			return countExamples(attributes, statistics);
+		}
+	}
+
+	/**
+	 * Reads the columns of the underlying table chunk-wise and counts the values column by column.
+	 */
+	private boolean countColumns(Attribute[] attributes, Statistics[][] statistics, int from, int to) {
+		double[] values = new double[CHUNK_SIZE];
+		double[] weights = new double[CHUNK_SIZE];
+		if (weightAttribute == null) {
+			Arrays.fill(weights, 1.0d);
+		}
+		for (int start = from; start < to; start += CHUNK_SIZE) {
+			if (caller.isInterrupted()) {
+				return false;
+			}
+			int end = Math.min(to, start + CHUNK_SIZE);
+			int length = end - start;
+			if (weightAttribute != null) {
+				readColumn(weightAttribute, start, end, weights);
+			}
+			for (int a = 0; a < attributes.length; a++) {
+				readColumn(attributes[a], start, end, values);
+				for (Statistics current : statistics[a]) {
+					for (int i = 0; i < length; i++) {
+						current.count(values[i], weights[i]);
+					}
+				}
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Reads the values of the given attribute for the given rows of the underlying columnar table into the buffer.
+	 */
+	private void readColumn(Attribute attribute, int from, int to, double[] buffer) {
+		if (isPlain(attribute)) {
+			columnarTable.readColumn(attribute, from, to, buffer);
+		} else {
+			for (int i = from; i < to; i++) {
+				buffer[i - from] = attribute.getValue(columnarTable.getDataRow(i));
+			}
+		}
+	}
+
+	/**
+	 * Iterates over all examples once, buffers the values of a chunk of examples row-wise and counts them column by
+	 * column.
+	 */
+	private boolean countExamples(Attribute[] attributes, Statistics[][] statistics) {
+		int chunkSize = Math.max(1, Math.min(CHUNK_SIZE, MAX_BUFFERED_VALUES / Math.max(1, attributes.length)));
+		double[][] values = new double[attributes.length][chunkSize];
+		double[] weights = new double[chunkSize];
+		Iterator<Example> iterator = exampleSet.iterator();
+		while (iterator.hasNext()) {
+			if (caller.isInterrupted()) {
+				return false;
+			}
+			int length = 0;
+			while (length < chunkSize && iterator.hasNext()) {
+				Example example = iterator.next();
+				for (int a = 0; a < attributes.length; a++) {
+					values[a][length] = example.getValue(attributes[a]);
+				}
+				weights[length] = weightAttribute == null ? 1.0d : example.getValue(weightAttribute);
+				length++;
+			}
+			for (int a = 0; a < attributes.length; a++) {
+				double[] attributeValues = values[a];
+				for (Statistics current : statistics[a]) {
+					for (int i = 0; i < length; i++) {
+						current.count(attributeValues[i], weights[i]);
+					}
+				}
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Checks whether the calculation should be done concurrently. This requires a context with more than one thread,
+	 * enough data and an example set and attributes that are safe to be read concurrently.
+	 */
+	private boolean useConcurrency(Attribute[] attributes, ConcurrencyContext context) {
+		if (context == null || context.getParallelism() < 2 || attributes.length == 0
+				|| (long) exampleSet.size() * attributes.length < MIN_CELLS_PARALLEL) {
+			return false;
+		}
+		if (columnarTable == null) {
+			boolean threadSafeView = exampleSet instanceof AbstractExampleSet
+					&& ((AbstractExampleSet) exampleSet).isThreadSafeView();
+			if (!threadSafeView || exampleSet.getExampleTable().getClass() != ColumnarExampleTable.class) {
+				return false;
+			}
+		}
+		if (weightAttribute != null && !isPlain(weightAttribute)) {
+			return false;
+		}
+		for (Attribute attribute : attributes) {
+			if (!isPlain(attribute)) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * @return whether the attribute is of a known type without transformations so that its values are the raw column
+	 *         values and can be read concurrently
+	 */
+	private static boolean isPlain(Attribute attribute) {
+		return PLAIN_ATTRIBUTES.contains(attribute.getClass()) && attribute.getLastTransformation() == null;
+	}
+
+	/**
+	 * @return whether all given statistics can be merged
+	 */
+	private static boolean isMergeable(Statistics[][] statistics) {
+		for (Statistics[] attributeStatistics : statistics) {
+			for (Statistics current : attributeStatistics) {
+				if (!(current instanceof MergeableStatistics)) {
+					return false;
+				}
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Clones all given statistics.
+	 */
+	private static Statistics[][] cloneStatistics(Statistics[][] statistics) {
+		Statistics[][] clone = new Statistics[statistics.length][];
+		for (int a = 0; a < statistics.length; a++) {
+			clone[a] = new Statistics[statistics[a].length];
+			for (int s = 0; s < statistics[a].length; s++) {
+				clone[a][s] = (Statistics) statistics[a][s].clone();
+			}
+		}
+		return clone;
+	}
+
+	/**
+	 * Collects the statistics of the iterator into an array.
+	 */
+	private static Statistics[] toArray(Iterator<Statistics> iterator) {
+		List<Statistics> list = new ArrayList<>();
+		iterator.forEachRemaining(list::add);
+		return list.toArray(new Statistics[0]);
+	}
+
+}
@@ -21,6 +21,7 @@ package com.rapidminer.example.set;
 import com.rapidminer.example.Attribute;
 import com.rapidminer.example.AttributeTransformation;
 import com.rapidminer.example.AttributeTypeException;
+import com.rapidminer.example.CompiledTransformation;
 import com.rapidminer.example.table.NominalMapping;
 
 
@@ -108,4 +109,38 @@ public class AttributeTransformationRemapping implements AttributeTransformation
 	public boolean isReversable() {
 		return true;
 	}
+
+	/**
+	 * Since new values are only appended to nominal mappings, a remapped index stays the same as long
+	 * as neither mapping is replaced or changed, see {@link NominalMapping#getModificationCount()}.
+	 * Indices that cannot be remapped are not cached and checked again. Not compiled if a mapping does
+	 * not count its modifications.
+	 */
+	@Override
+	public CompiledTransformation compile(Attribute attribute) {
+		if (!attribute.isNominal()) {
+			return CompiledTransformation.IDENTITY;
+		}
+		NominalMapping attributeMapping = attribute.getMapping();
+		NominalMapping overlay = overlayedMapping;
+		int attributeCount = attributeMapping.getModificationCount();
+		int overlayCount = overlay.getModificationCount();
+		if (attributeCount < 0 || overlayCount < 0) {
+			return null;
+		}
+		return new CompiledTransformation() {
+
+			@Override
+			public double transform(double value) {
+				return AttributeTransformationRemapping.this.transform(attribute, value);
+			}
+
+			@Override
+			public boolean isValid() {
+				return attribute.getMapping() == attributeMapping && overlayedMapping == overlay
+						&& attributeMapping.getModificationCount() == attributeCount
+						&& overlay.getModificationCount() == overlayCount;
+			}
+		};
+	}
 }
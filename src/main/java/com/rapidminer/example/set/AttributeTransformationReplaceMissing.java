@@ -20,6 +20,7 @@ package com.rapidminer.example.set;
 
 import com.rapidminer.example.Attribute;
 import com.rapidminer.example.AttributeTransformation;
+import com.rapidminer.example.CompiledTransformation;
 
 import java.util.HashMap;
 import java.util.Iterator;
@@ -82,4 +83,10 @@ public class AttributeTransformationReplaceMissing implements AttributeTransform
 			return value;
 		}
 	}
+
+	/** Non-missing values are never changed, missing values are not passed to compiled forms. */
+	@Override
+	public CompiledTransformation compile(Attribute attribute) {
+		return CompiledTransformation.IDENTITY;
+	}
 }
@@ -20,7 +20,9 @@ package com.rapidminer.example.set;
 
 import com.rapidminer.example.Attribute;
 import com.rapidminer.example.AttributeTransformation;
+import com.rapidminer.example.AttributeWeight;
 import com.rapidminer.example.AttributeWeights;
+import com.rapidminer.example.CompiledTransformation;
 
 
 /**
@@ -82,4 +84,37 @@ public class AttributeTransformationWeighting implements AttributeTransformation
 			return value;
 		}
 	}
+
+	/**
+	 * Resolves the weight object of the attribute once. The weight value itself is read on every
+	 * access since it can be changed without notice, so this is only compiled for numerical
+	 * attributes whose results are not cached.
+	 */
+	@Override
+	public CompiledTransformation compile(Attribute attribute) {
+		if (attribute.isNominal()) {
+			return null;
+		}
+		AttributeWeights weights = attributeWeights;
+		String name = attribute.getName();
+		int modificationCount = weights.getModificationCount();
+		AttributeWeight weight = weights.getAttributeWeight(name);
+		return new CompiledTransformation() {
+
+			@Override
+			public double transform(double value) {
+				if (weight == null) {
+					return value;
+				}
+				double factor = weight.getWeight();
+				return Double.isNaN(factor) ? value : value * factor;
+			}
+
+			@Override
+			public boolean isValid() {
+				return attributeWeights == weights && weights.getModificationCount() == modificationCount
+						&& attribute.getName() == name;
+			}
+		};
+	}
 }
@@ -0,0 +1,316 @@
+/**
+ * Copyright (C) 2001-2020 by RapidMiner and the contributors
+ * 
+ * Complete list of developers available at our web site:
+ * 
+ * http://rapidminer.com
+ * 
+ * This program is free software: you can redistribute it and/or modify it under the terms of the
+ * GNU Affero General Public License as published by the Free Software Foundation, either version 3
+ * of the License, or (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without
+ * even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Affero General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Affero General Public License along with this program.
+ * If not, see http://www.gnu.org/licenses/.
+*/
+package com.rapidminer.example.set;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+
+import com.rapidminer.core.concurrency.ConcurrencyContext;
+import com.rapidminer.example.Attribute;
+import com.rapidminer.example.Example;
+import com.rapidminer.example.ExampleSet;
+import com.rapidminer.operator.OperatorProgress;
+import com.rapidminer.operator.ProcessStoppedException;
+import com.rapidminer.operator.concurrency.internal.ConcurrencyTools;
+import com.rapidminer.tools.Ontology;
+
+
+/**
+ * Computes the mapping of a {@link SortedExampleSet} for one or more sorting attributes in a single pass. The sorting
+ * keys are extracted into primitive arrays and an array of example indices is sorted with a stable merge sort. If a
+ * {@link ConcurrencyContext} is given, parts of the index array are sorted and merged concurrently.
+ * <p>
+ * The order is the same as the one of the comparator used by {@link SortedExampleSet} before: numerical values are
+ * compared like {@link Double#compare(double, double)}, so missing values are the largest, date values are compared by
+ * their milliseconds and nominal values are compared by their strings, where missing values are {@code "?"}. Examples
+ * with equal keys keep their order for both sorting directions.
+ *
+ * @since 9.7
+ */
+final class ExampleSetSorting {
+
+	/** Sorting ranges below this length use an insertion sort */
+	private static final int INSERTION_SORT_THRESHOLD = 32;
+
+	/** The minimal number of examples for a concurrent sort */
+	private static final int MIN_CONCURRENT_SIZE = 100_000;
+
+	private ExampleSetSorting() {
+		throw new AssertionError("Utility class must not be instantiated");
+	}
+
+	/**
+	 * Computes the sort mapping.
+	 *
+	 * @param exampleSet
+	 *            the example set to sort
+	 * @param sortingAttributes
+	 *            the attributes to sort by, the first attribute is the primary key
+	 * @param sortingDirections
+	 *            the direction per attribute, either {@link SortedExampleSet#INCREASING} or
+	 *            {@link SortedExampleSet#DECREASING}
+	 * @param context
+	 *            the context to sort concurrently, can be {@code null}
+	 * @param progress
+	 *            the progress to update, can be {@code null}
+	 * @return the indices of the examples in sorted order
+	 * @throws ProcessStoppedException
+	 *             if the process was stopped
+	 */
+	static int[] createMapping(ExampleSet exampleSet, Attribute[] sortingAttributes, int[] sortingDirections,
+			ConcurrencyContext context, OperatorProgress progress) throws ProcessStoppedException {
+		if (sortingAttributes.length != sortingDirections.length) {
+			throw new IllegalArgumentException("There must be one sorting direction per sorting attribute");
+		}
+		if (progress != null) {
+			progress.setTotal(100);
+		}
+		long[][] keys = extractKeys(exampleSet, sortingAttributes, sortingDirections, progress);
+		if (progress != null) {
+			progress.setCompleted(40);
+		}
+
+		int size = keys.length == 0 ? exampleSet.size() : keys[0].length;
+		int[] indices = new int[size];
+		for (int i = 0; i < size; i++) {
+			indices[i] = i;
+		}
+		if (keys.length > 0) {
+			sort(indices, keys, context);
+		}
+		if (progress != null) {
+			progress.setCompleted(100);
+		}
+		return indices;
+	}
+
+	/**
+	 * Reads the sorting keys of all examples. The keys are longs whose natural order is the sorting order of the
+	 * values, decreasing directions are taken into account by inverting the bits.
+	 */
+	private static long[][] extractKeys(ExampleSet exampleSet, Attribute[] attributes, int[] directions,
+			OperatorProgress progress) throws ProcessStoppedException {
+		int size = exampleSet.size();
+		long[][] keys = new long[attributes.length][size];
+		int[] types = new int[attributes.length];
+		long[][] nominalRanks = new long[attributes.length][];
+		for (int i = 0; i < attributes.length; i++) {
+			Attribute attribute = attributes[i];
+			if (Ontology.ATTRIBUTE_VALUE_TYPE.isA(attribute.getValueType(), Ontology.DATE_TIME)) {
+				types[i] = Ontology.DATE_TIME;
+			} else if (attribute.isNumerical()) {
+				types[i] = Ontology.NUMERICAL;
+			} else if (attribute.isNominal()) {
+				types[i] = Ontology.NOMINAL;
+				nominalRanks[i] = rankNominalValues(attribute);
+			} else {
+				types[i] = Ontology.ATTRIBUTE_VALUE;
+			}
+		}
+
+		int row = 0;
+		int progressTriggerCounter = 0;
+		for (Example example : exampleSet) {
+			for (int i = 0; i < attributes.length; i++) {
+				double value = example.getValue(attributes[i]);
+				long key;
+				switch (types[i]) {
+					case Ontology.DATE_TIME:
+						key = (long) value;
+						break;
+					case Ontology.NUMERICAL:
+						key = toSortableBits(value);
+						break;
+					case Ontology.NOMINAL:
+						long[] ranks = nominalRanks[i];
+						key = Double.isNaN(value) ? ranks[ranks.length - 1] : ranks[(int) value];
+						break;
+					default:
+						key = 0;
+				}
+				keys[i][row] = directions[i] == SortedExampleSet.DECREASING ? ~key : key;
+			}
+			row++;
+			progressTriggerCounter++;
+			if (progress != null && progressTriggerCounter > 2_000_000) {
+				progressTriggerCounter = 0;
+				progress.setCompleted((int) ((long) row * 40 / size));
+			}
+		}
+		return keys;
+	}
+
+	/**
+	 * Converts a double value into a long such that comparing the longs is the same as comparing the values with
+	 * {@link Double#compare(double, double)}.
+	 */
+	private static long toSortableBits(double value) {
+		long bits = Double.doubleToLongBits(value);
+		return bits ^ (bits >> 63) & Long.MAX_VALUE;
+	}
+
+	/**
+	 * Ranks the strings of the nominal mapping by their natural order. The last entry of the result is the rank of
+	 * missing values which are compared as {@link Attribute#MISSING_NOMINAL_VALUE}.
+	 */
+	private static long[] rankNominalValues(Attribute attribute) {
+		List<String> values = new ArrayList<>(attribute.getMapping().getValues());
+		values.add(Attribute.MISSING_NOMINAL_VALUE);
+		Map<String, Long> rankByValue = new HashMap<>();
+		long rank = 0;
+		for (String value : new TreeSet<>(values)) {
+			rankByValue.put(value, rank++);
+		}
+		long[] ranks = new long[values.size()];
+		for (int i = 0; i < ranks.length; i++) {
+			ranks[i] = rankByValue.get(values.get(i));
+		}
+		return ranks;
+	}
+
+	/**
+	 * Sorts the indices stably by the keys.
+	 */
+	private static void sort(int[] indices, long[][] keys, ConcurrencyContext context) {
+		int[] buffer = indices.clone();
+		int parts = 1;
+		if (context != null && indices.length >= MIN_CONCURRENT_SIZE) {
+			while (parts < context.getParallelism()) {
+				parts <<= 1;
+			}
+		}
+		if (parts == 1) {
+			mergeSort(buffer, indices, 0, indices.length, keys);
+			return;
+		}
+
+		// sort the parts concurrently, the results are stored in indices
+		int[] bounds = new int[parts + 1];
+		for (int i = 0; i <= parts; i++) {
+			bounds[i] = (int) ((long) indices.length * i / parts);
+		}
+		List<Callable<Void>> tasks = new ArrayList<>(parts);
+		for (int i = 0; i < parts; i++) {
+			int from = bounds[i];
+			int to = bounds[i + 1];
+			tasks.add(() -> {
+				mergeSort(buffer, indices, from, to, keys);
+				return null;
+			});
+		}
+		call(context, tasks);
+
+		// merge neighboring parts concurrently until there is only one part left
+		int[] source = indices;
+		int[] target = buffer;
+		for (int width = 1; width < parts; width <<= 1) {
+			tasks.clear();
+			int[] mergeSource = source;
+			int[] mergeTarget = target;
+			for (int i = 0; i < parts; i += 2 * width) {
+				int from = bounds[i];
+				int mid = bounds[i + width];
+				int to = bounds[i + 2 * width];
+				tasks.add(() -> {
+					merge(mergeSource, mergeTarget, from, mid, to, keys);
+					return null;
+				});
+			}
+			call(context, tasks);
+			source = mergeTarget;
+			target = mergeSource;
+		}
+		if (source != indices) {
+			System.arraycopy(source, 0, indices, 0, indices.length);
+		}
+	}
+
+	/**
+	 * Calls the tasks and rethrows runtime exceptions and errors.
+	 */
+	private static void call(ConcurrencyContext context, List<Callable<Void>> tasks) {
+		try {
+			context.call(tasks);
+		} catch (ExecutionException e) {
+			throw ConcurrencyTools.unwrap(e, IllegalStateException.class, IllegalStateException::new);
+		}
+	}
+
+	/**
+	 * Sorts the range of the target array stably. The source array must contain the same values as the target array
+	 * in the range and is used as buffer.
+	 */
+	private static void mergeSort(int[] source, int[] target, int from, int to, long[][] keys) {
+		if (to - from < INSERTION_SORT_THRESHOLD) {
+			for (int i = from + 1; i < to; i++) {
+				int index = target[i];
+				int j = i;
+				while (j > from && compare(keys, target[j - 1], index) > 0) {
+					target[j] = target[j - 1];
+					j--;
+				}
+				target[j] = index;
+			}
+			return;
+		}
+		int mid = (from + to) >>> 1;
+		mergeSort(target, source, from, mid, keys);
+		mergeSort(target, source, mid, to, keys);
+		if (compare(keys, source[mid - 1], source[mid]) <= 0) {
+			System.arraycopy(source, from, target, from, to - from);
+		} else {
+			merge(source, target, from, mid, to, keys);
+		}
+	}
+
+	/**
+	 * Merges the sorted ranges [from, mid) and [mid, to) of the source array into the target array. Prefers the left
+	 * range for equal keys, so the merge is stable.
+	 */
+	private static void merge(int[] source, int[] target, int from, int mid, int to, long[][] keys) {
+		int left = from;
+		int right = mid;
+		for (int i = from; i < to; i++) {
+			if (right >= to || left < mid && compare(keys, source[left], source[right]) <= 0) {
+				target[i] = source[left++];
+			} else {
+				target[i] = source[right++];
+			}
+		}
+	}
+
+	/**
+	 * Compares the keys of two examples lexicographically.
+	 */
+	private static int compare(long[][] keys, int first, int second) {
+		for (long[] key : keys) {
+			int result = Long.compare(key[first], key[second]);
+			if (result != 0) {
+				return result;
+			}
+		}
+		return 0;
+	}
+
+}
@@ -21,6 +21,7 @@ package com.rapidminer.example.set;
 import com.rapidminer.example.Attribute;
 import com.rapidminer.example.AttributeTransformation;
 import com.rapidminer.example.AttributeTypeException;
+import com.rapidminer.example.CompiledTransformation;
 import com.rapidminer.example.table.NominalMapping;
 
 
@@ -106,4 +107,38 @@ public class FullAttributeTransformationRemapping implements AttributeTransforma
 	public boolean isReversable() {
 		return true;
 	}
+
+	/**
+	 * Since new values are only appended to nominal mappings, a remapped index stays the same as long
+	 * as neither mapping is replaced or changed, see {@link NominalMapping#getModificationCount()}.
+	 * Indices that cannot be remapped are not cached and checked again. Not compiled if a mapping does
+	 * not count its modifications.
+	 */
+	@Override
+	public CompiledTransformation compile(Attribute attribute) {
+		if (!attribute.isNominal()) {
+			return CompiledTransformation.IDENTITY;
+		}
+		NominalMapping attributeMapping = attribute.getMapping();
+		NominalMapping base = baseMapping;
+		int attributeCount = attributeMapping.getModificationCount();
+		int baseCount = base.getModificationCount();
+		if (attributeCount < 0 || baseCount < 0) {
+			return null;
+		}
+		return new CompiledTransformation() {
+
+			@Override
+			public double transform(double value) {
+				return FullAttributeTransformationRemapping.this.transform(attribute, value);
+			}
+
+			@Override
+			public boolean isValid() {
+				return attribute.getMapping() == attributeMapping && baseMapping == base
+						&& attributeMapping.getModificationCount() == attributeCount
+						&& base.getModificationCount() == baseCount;
+			}
+		};
+	}
 }
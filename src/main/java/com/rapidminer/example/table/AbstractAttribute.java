@@ -52,6 +52,9 @@ public abstract class AbstractAttribute implements Attribute {
 
 	private final List<AttributeTransformation> transformations = new ArrayList<AttributeTransformation>();
 
+	/** The compiled {@link #transformations}, created on first access and reset on changes. */
+	private transient volatile FusedTransformations fusedTransformations;
+
 	/** Contains all attribute statistics calculation algorithms. */
 	private List<Statistics> statistics = new LinkedList<Statistics>();
 
@@ -150,11 +153,13 @@ public abstract class AbstractAttribute implements Attribute {
 	@Override
 	public void addTransformation(AttributeTransformation transformation) {
 		this.transformations.add(transformation);
+		this.fusedTransformations = null;
 	}
 
 	@Override
 	public void clearTransformations() {
 		this.transformations.clear();
+		this.fusedTransformations = null;
 	}
 
 	@Override
@@ -171,6 +176,12 @@ public abstract class AbstractAttribute implements Attribute {
 	public double getValue(DataRow row) {
 		double result = row.get(getTableIndex(), getDefault());
 		if (!transformations.isEmpty()) {
+			if (!Double.isNaN(result)) {
+				double transformed = getFusedTransformations().transform(result);
+				if (!Double.isNaN(transformed)) {
+					return transformed;
+				}
+			}
 			for (AttributeTransformation transformation : transformations) {
 				result = transformation.transform(this, result);
 			}
@@ -178,6 +189,18 @@ public abstract class AbstractAttribute implements Attribute {
 		return result;
 	}
 
+	/**
+	 * Returns the fused {@link #transformations}, compiles them again if they are outdated.
+	 */
+	private FusedTransformations getFusedTransformations() {
+		FusedTransformations fused = fusedTransformations;
+		if (fused == null || !fused.isValid()) {
+			fused = FusedTransformations.fuse(this, transformations);
+			fusedTransformations = fused;
+		}
+		return fused;
+	}
+
 	@Override
 	public void setValue(DataRow row, double value) {
 		double newValue = value;
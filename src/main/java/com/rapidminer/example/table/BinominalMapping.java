@@ -58,6 +58,9 @@ public class BinominalMapping implements NominalMapping {
 	/** The second nominal value. */
 	private String secondValue = null;
 
+	/** Counts the changes of existing mappings. */
+	private transient int modificationCount;
+
 	public BinominalMapping() {}
 
 	/** Clone constructor. */
@@ -169,6 +172,7 @@ public class BinominalMapping implements NominalMapping {
 		} else {
 			throw new AttributeTypeException("Cannot set mapping of binary attribute to index '" + index + "'.");
 		}
+		modificationCount++;
 	}
 
 	/**
@@ -239,6 +243,7 @@ public class BinominalMapping implements NominalMapping {
 				firstValue = dummy;
 			}
 		}
+		modificationCount++;
 	}
 
 	/** Clears all mappings for nominal values. */
@@ -246,5 +251,11 @@ public class BinominalMapping implements NominalMapping {
 	public void clear() {
 		firstValue = null;
 		secondValue = null;
+		modificationCount++;
+	}
+
+	@Override
+	public int getModificationCount() {
+		return modificationCount;
 	}
 }
@@ -0,0 +1,141 @@
+/**
+ * Copyright (C) 2001-2020 by RapidMiner and the contributors
+ * 
+ * Complete list of developers available at our web site:
+ * 
+ * http://rapidminer.com
+ * 
+ * This program is free software: you can redistribute it and/or modify it under the terms of the
+ * GNU Affero General Public License as published by the Free Software Foundation, either version 3
+ * of the License, or (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without
+ * even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Affero General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Affero General Public License along with this program.
+ * If not, see http://www.gnu.org/licenses/.
+*/
+package com.rapidminer.example.table;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import com.rapidminer.example.Attribute;
+import com.rapidminer.example.AttributeTransformation;
+import com.rapidminer.example.CompiledTransformation;
+
+
+/**
+ * The {@link CompiledTransformation}s of all transformations of an {@link AbstractAttribute} fused
+ * into one accessor. Transformations that do not change non-missing values are dropped. For nominal
+ * attributes the result of the whole stack is cached per index of the nominal mapping, so that
+ * reading a remapped value is a single array access independent of the depth of the view stack.
+ * <p>
+ * Missing values and indices that are not cached are left to the transformations themselves,
+ * signaled by {@link #transform(double)} returning {@link Double#NaN}.
+ *
+ * @since 9.7
+ */
+final class FusedTransformations {
+
+	/** Used if at least one transformation of the stack cannot be compiled. */
+	static final FusedTransformations NONE = new FusedTransformations(new CompiledTransformation[0], null, false);
+
+	/** The compiled transformations that can change non-missing values. */
+	private final CompiledTransformation[] steps;
+
+	/** The transformed index plus one for each index of the nominal mapping, 0 if not known yet. */
+	private final int[] indices;
+
+	private final boolean compiled;
+
+	private FusedTransformations(CompiledTransformation[] steps, int[] indices, boolean compiled) {
+		this.steps = steps;
+		this.indices = indices;
+		this.compiled = compiled;
+	}
+
+	/**
+	 * Fuses the given transformations of the attribute.
+	 *
+	 * @param attribute
+	 *            the attribute to which the transformations belong
+	 * @param transformations
+	 *            the transformations in the order in which they are applied
+	 * @return the fused transformations, {@link #NONE} if a transformation cannot be compiled
+	 */
+	static FusedTransformations fuse(Attribute attribute, List<AttributeTransformation> transformations) {
+		List<CompiledTransformation> steps = new ArrayList<>(transformations.size());
+		for (AttributeTransformation transformation : transformations) {
+			CompiledTransformation step = transformation.compile(attribute);
+			if (step == null) {
+				return NONE;
+			}
+			if (step != CompiledTransformation.IDENTITY) {
+				steps.add(step);
+			}
+		}
+		int[] indices = null;
+		if (attribute.isNominal() && !steps.isEmpty()) {
+			indices = new int[attribute.getMapping().size()];
+		}
+		return new FusedTransformations(steps.toArray(new CompiledTransformation[steps.size()]), indices, true);
+	}
+
+	/**
+	 * @return whether all fused transformations are still valid
+	 */
+	boolean isValid() {
+		for (CompiledTransformation step : steps) {
+			if (!step.isValid()) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Transforms the given non-missing value.
+	 *
+	 * @param value
+	 *            the raw value, must not be missing
+	 * @return the transformed value or {@link Double#NaN} if the value must be transformed by the
+	 *         transformations themselves
+	 */
+	double transform(double value) {
+		if (!compiled) {
+			return Double.NaN;
+		}
+		if (indices == null) {
+			return apply(value);
+		}
+		int index = (int) value;
+		if (index != value || index < 0 || index >= indices.length) {
+			return Double.NaN;
+		}
+		int cached = indices[index];
+		if (cached > 0) {
+			return cached - 1;
+		}
+		double result = apply(value);
+		if (result >= 0 && result < Integer.MAX_VALUE && result == (int) result) {
+			// concurrent readers at worst compute the same index again
+			indices[index] = (int) result + 1;
+		}
+		return result;
+	}
+
+	/** Applies all compiled transformations, stops at the first missing result. */
+	private double apply(double value) {
+		double result = value;
+		for (CompiledTransformation step : steps) {
+			result = step.transform(result);
+			if (Double.isNaN(result)) {
+				return result;
+			}
+		}
+		return result;
+	}
+
+}
@@ -112,4 +112,17 @@ public interface NominalMapping extends Cloneable, Serializable {
 	/** Clears the mapping. */
 	public void clear();
 
+	/**
+	 * Returns a counter that changes whenever existing mappings are changed, i.e. by
+	 * {@link #setMapping(String, int)}, {@link #sortMappings()} and {@link #clear()}. Mapping new
+	 * values via {@link #mapString(String)} does not change the counter. Implementations that do not
+	 * count their modifications return -1.
+	 *
+	 * @return the modification counter or -1 if modifications are not counted
+	 * @since 9.7
+	 */
+	public default int getModificationCount() {
+		return -1;
+	}
+
 }
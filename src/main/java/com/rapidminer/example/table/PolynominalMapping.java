@@ -47,6 +47,9 @@ public class PolynominalMapping implements NominalMapping {
 	/** The map between indices of nominal values and the actual nominal value. */
 	private final List<String> indexToSymbolMap = new ArrayList<>();
 
+	/** Counts the changes of existing mappings. */
+	private transient int modificationCount;
+
 	public PolynominalMapping() {}
 
 	public PolynominalMapping(Map<Integer, String> map) {
@@ -150,6 +153,7 @@ public class PolynominalMapping implements NominalMapping {
 		indexToSymbolMap.set(index, nominalValue);
 		symbolToIndexMap.remove(oldValue);
 		symbolToIndexMap.put(nominalValue, index);
+		modificationCount++;
 	}
 
 	/**
@@ -224,6 +228,7 @@ public class PolynominalMapping implements NominalMapping {
 		while (i.hasNext()) {
 			mapString(i.next());
 		}
+		modificationCount++;
 	}
 
 	/** Clears all mappings for nominal values. */
@@ -231,6 +236,12 @@ public class PolynominalMapping implements NominalMapping {
 	public void clear() {
 		symbolToIndexMap.clear();
 		indexToSymbolMap.clear();
+		modificationCount++;
+	}
+
+	@Override
+	public int getModificationCount() {
+		return modificationCount;
 	}
 
 	/**
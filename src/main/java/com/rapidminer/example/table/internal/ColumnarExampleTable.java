@@ -130,6 +130,29 @@ public class ColumnarExampleTable extends AbstractExampleTable implements Growin
 
 	}
 
+	/**
+	 * Loads the raw values of a column on demand, see {@link #setLazyColumn(Attribute, ChunkLoader)}.
+	 *
+	 * @since 9.7
+	 */
+	@FunctionalInterface
+	public interface ChunkLoader {
+
+		/**
+		 * Writes the raw values of the rows from {@code from} (inclusive) to {@code to} (exclusive) into the buffer,
+		 * starting at buffer index 0. Might be called concurrently for different rows.
+		 *
+		 * @param from
+		 *            the first row to load
+		 * @param to
+		 *            the row after the last row to load
+		 * @param buffer
+		 *            the buffer to write to, has a length of at least {@code to - from}
+		 */
+		void load(int from, int to, double[] buffer);
+
+	}
+
 	private Column[] columns;
 
 	private int size;
@@ -295,6 +318,43 @@ public class ColumnarExampleTable extends AbstractExampleTable implements Growin
 		}
 	}
 
+	/**
+	 * Copies the raw values of the column associated with the attribute for the rows from {@code from} (inclusive) to
+	 * {@code to} (exclusive) into the buffer, starting at buffer index 0. In contrast to
+	 * {@link Attribute#getValue(DataRow)} no attribute transformations are applied and no row views are created.
+	 *
+	 * @param attribute
+	 *            the attribute whose column should be read
+	 * @param from
+	 *            the first row to read
+	 * @param to
+	 *            the row after the last row to read
+	 * @param buffer
+	 *            the buffer to write to, must have a length of at least {@code to - from}
+	 * @since 9.7
+	 */
+	public void readColumn(Attribute attribute, int from, int to, double[] buffer) {
+		Column column = columns[attribute.getTableIndex()];
+		for (int i = from; i < to; i++) {
+			buffer[i - from] = column.get(i);
+		}
+	}
+
+	/**
+	 * Replaces the column associated with the attribute by a column that does not hold its values in memory but
+	 * loads them chunk-wise via the loader on first access. Only a bounded number of recently used chunks is kept
+	 * in memory, except for chunks that were modified. Must only be called after all rows are added.
+	 *
+	 * @param attribute
+	 *            the attribute whose column should be replaced
+	 * @param loader
+	 *            the loader providing the values for all current rows of the table
+	 * @since 9.7
+	 */
+	public void setLazyColumn(Attribute attribute, ChunkLoader loader) {
+		columns[attribute.getTableIndex()] = new LazyColumn(loader, size, sizeLimit);
+	}
+
 	/**
 	 * Resets the column associated with the attribute. The reset is necessary if there were already
 	 * rows added in case auto columns are used because this overwrites the values, so the automatic
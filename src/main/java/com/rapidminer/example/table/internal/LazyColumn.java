@@ -0,0 +1,304 @@
+/**
+ * Copyright (C) 2001-2020 by RapidMiner and the contributors
+ *
+ * Complete list of developers available at our web site:
+ *
+ * http://rapidminer.com
+ *
+ * This program is free software: you can redistribute it and/or modify it under the terms of the
+ * GNU Affero General Public License as published by the Free Software Foundation, either version 3
+ * of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without
+ * even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License along with this program.
+ * If not, see http://www.gnu.org/licenses/.
+ */
+package com.rapidminer.example.table.internal;
+
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+
+/**
+ * {@link Column} that does not hold its values in memory but decodes them chunk-wise via a
+ * {@link ColumnarExampleTable.ChunkLoader} on first access. Decoded chunks are cached by the column itself. A least
+ * recently used order shared by all lazy columns bounds the cached chunks to {@value #MAX_CACHED_CHUNKS} chunks of
+ * {@value #CHUNK_SIZE} rows in total. It references the columns only weakly, so that the chunks of columns that are
+ * not used anymore are garbage collected with them. Chunks that are modified via {@link #set} are removed from the
+ * cache and kept by the column until it is collected. The modified chunks and the capacity are guarded by the column,
+ * so that it can be read and written from different threads like the other columns.
+ * <p>
+ * On serialization the column is replaced by a {@link DoubleArrayColumn} containing all values.
+ *
+ * @see ColumnarExampleTable#setLazyColumn(com.rapidminer.example.Attribute, ColumnarExampleTable.ChunkLoader)
+ * @since 9.7
+ */
+final class LazyColumn implements Column {
+
+	private static final long serialVersionUID = 1L;
+
+	private static final int CHUNK_SHIFT = 14;
+	static final int CHUNK_SIZE = 1 << CHUNK_SHIFT;
+	private static final int CHUNK_MASK = CHUNK_SIZE - 1;
+
+	/** Maximal number of decoded chunks that are cached for all lazy columns together. */
+	static final int MAX_CACHED_CHUNKS = 512;
+
+	/** Read-only chunk for rows that were added after the loaded rows and not set yet. */
+	private static final double[] EMPTY_CHUNK = new double[CHUNK_SIZE];
+
+	/**
+	 * The cached chunks of all lazy columns in least recently used order. Evicting a key removes the chunk from its
+	 * column. The cached chunks of all columns are guarded by this map.
+	 */
+	private static final Map<ChunkKey, Boolean> CACHE = new LinkedHashMap<ChunkKey, Boolean>(16, 0.75f, true) {
+
+		private static final long serialVersionUID = 1L;
+
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<ChunkKey, Boolean> eldest) {
+			if (size() > MAX_CACHED_CHUNKS) {
+				eldest.getKey().evict();
+				return true;
+			}
+			return false;
+		}
+	};
+
+	/** The keys of garbage collected columns that still occupy the cache. Polled while holding the cache lock. */
+	private static final ReferenceQueue<LazyColumn> COLLECTED = new ReferenceQueue<>();
+
+	/**
+	 * Key for the chunk cache, references the column weakly and compares it by identity.
+	 */
+	private static final class ChunkKey extends WeakReference<LazyColumn> {
+
+		private final int index;
+		private final int hash;
+
+		private ChunkKey(LazyColumn column, int index, ReferenceQueue<LazyColumn> queue) {
+			super(column, queue);
+			this.index = index;
+			this.hash = 31 * System.identityHashCode(column) + index;
+		}
+
+		/**
+		 * Removes the chunk from its column if the column was not collected yet. Must only be called while holding
+		 * the cache lock.
+		 */
+		private void evict() {
+			LazyColumn column = get();
+			if (column != null) {
+				column.cachedChunks[index] = null;
+			}
+		}
+
+		@Override
+		public boolean equals(Object o) {
+			if (this == o) {
+				return true;
+			}
+			if (!(o instanceof ChunkKey)) {
+				return false;
+			}
+			ChunkKey other = (ChunkKey) o;
+			LazyColumn column = get();
+			return column != null && column == other.get() && index == other.index;
+		}
+
+		@Override
+		public int hashCode() {
+			return hash;
+		}
+	}
+
+	/**
+	 * The last accessed chunk, used to avoid cache look-ups for consecutive reads.
+	 */
+	private static final class Chunk {
+
+		private final int index;
+		private final double[] values;
+
+		private Chunk(int index, double[] values) {
+			this.index = index;
+			this.values = values;
+		}
+	}
+
+	private final transient ColumnarExampleTable.ChunkLoader loader;
+	private final int rows;
+	private int capacity;
+	private volatile double[][] ownChunks;
+	/** the decoded chunks of the loaded rows that are in the cache, guarded by the cache */
+	private final transient double[][] cachedChunks;
+	private transient volatile Chunk current;
+
+	/**
+	 * Creates a new lazy column.
+	 *
+	 * @param loader
+	 * 		the loader for the values
+	 * @param rows
+	 * 		the number of rows provided by the loader
+	 * @param capacity
+	 * 		the capacity of the column, at least rows
+	 */
+	LazyColumn(ColumnarExampleTable.ChunkLoader loader, int rows, int capacity) {
+		this.loader = loader;
+		this.rows = rows;
+		this.capacity = Math.max(rows, capacity);
+		this.ownChunks = new double[numberOfChunks(this.capacity)][];
+		this.cachedChunks = new double[numberOfChunks(rows)][];
+	}
+
+	@Override
+	public double get(int row) {
+		int index = row >>> CHUNK_SHIFT;
+		Chunk chunk = current;
+		if (chunk == null || chunk.index != index) {
+			chunk = new Chunk(index, getChunk(index));
+			current = chunk;
+		}
+		return chunk.values[row & CHUNK_MASK];
+	}
+
+	@Override
+	public synchronized void set(int row, double value) {
+		int index = row >>> CHUNK_SHIFT;
+		double[] values = getOwnChunk(index);
+		values[row & CHUNK_MASK] = value;
+		Chunk chunk = current;
+		if (chunk == null || chunk.values != values) {
+			current = new Chunk(index, values);
+		}
+	}
+
+	@Override
+	public void setLast(int row, double value) {
+		set(row, value);
+	}
+
+	@Override
+	public synchronized void ensure(int size) {
+		if (size > capacity) {
+			capacity = size;
+			int chunks = numberOfChunks(size);
+			if (chunks > ownChunks.length) {
+				double[][] newChunks = new double[chunks][];
+				System.arraycopy(ownChunks, 0, newChunks, 0, ownChunks.length);
+				ownChunks = newChunks;
+			}
+		}
+	}
+
+	/**
+	 * Returns the chunk with the given index, either from the modified chunks, the cache or by loading it.
+	 */
+	private double[] getChunk(int index) {
+		double[] ownChunk = getOwnChunkIfPresent(index);
+		if (ownChunk != null) {
+			return ownChunk;
+		}
+		if (index << CHUNK_SHIFT >= rows) {
+			return EMPTY_CHUNK;
+		}
+		double[] values;
+		synchronized (CACHE) {
+			values = cachedChunks[index];
+			if (values != null) {
+				// marks the chunk as recently used
+				CACHE.get(new ChunkKey(this, index, null));
+			}
+		}
+		if (values == null) {
+			// load outside of the lock so that different chunks can be decoded in parallel
+			values = load(index);
+			synchronized (CACHE) {
+				removeCollected();
+				cachedChunks[index] = values;
+				CACHE.put(new ChunkKey(this, index, COLLECTED), Boolean.TRUE);
+			}
+		}
+		return values;
+	}
+
+	/**
+	 * Returns the modified chunk with the given index or {@code null} if the chunk was not modified.
+	 */
+	private synchronized double[] getOwnChunkIfPresent(int index) {
+		return index < ownChunks.length ? ownChunks[index] : null;
+	}
+
+	/**
+	 * Returns the chunk with the given index that belongs to this column only and is never evicted. Must only be
+	 * called while holding the lock of this column.
+	 */
+	private double[] getOwnChunk(int index) {
+		double[] values = ownChunks[index];
+		if (values == null) {
+			if (index << CHUNK_SHIFT < rows) {
+				synchronized (CACHE) {
+					values = cachedChunks[index];
+					if (values != null) {
+						cachedChunks[index] = null;
+						CACHE.remove(new ChunkKey(this, index, null));
+					}
+				}
+				if (values == null) {
+					values = load(index);
+				}
+			} else {
+				values = new double[CHUNK_SIZE];
+			}
+			ownChunks[index] = values;
+		}
+		return values;
+	}
+
+	/**
+	 * Decodes the chunk with the given index via the loader.
+	 */
+	private double[] load(int index) {
+		int from = index << CHUNK_SHIFT;
+		double[] values = new double[CHUNK_SIZE];
+		loader.load(from, Math.min(rows, from + CHUNK_SIZE), values);
+		return values;
+	}
+
+	/**
+	 * Replaces this column by a {@link DoubleArrayColumn} with the same values on serialization.
+	 */
+	private synchronized Object writeReplace() {
+		DoubleArrayColumn column = new DoubleArrayColumn(capacity);
+		for (int from = 0; from < capacity; from += CHUNK_SIZE) {
+			System.arraycopy(getChunk(from >>> CHUNK_SHIFT), 0, column.data, from, Math.min(CHUNK_SIZE, capacity - from));
+		}
+		return column;
+	}
+
+	/**
+	 * Removes the keys of garbage collected columns from the cache so that they do not count against its bound. Must
+	 * only be called while holding the cache lock.
+	 */
+	private static void removeCollected() {
+		Reference<? extends LazyColumn> key;
+		while ((key = COLLECTED.poll()) != null) {
+			CACHE.remove(key);
+		}
+	}
+
+	/**
+	 * @return the number of chunks needed for the given number of rows
+	 */
+	private static int numberOfChunks(int size) {
+		return (size >>> CHUNK_SHIFT) + ((size & CHUNK_MASK) == 0 ? 0 : 1);
+	}
+
+}
@@ -0,0 +1,155 @@
+/**
+ * Copyright (C) 2001-2020 by RapidMiner and the contributors
+ *
+ * Complete list of developers available at our web site:
+ *
+ * http://rapidminer.com
+ *
+ * This program is free software: you can redistribute it and/or modify it under the terms of the
+ * GNU Affero General Public License as published by the Free Software Foundation, either version 3
+ * of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without
+ * even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License along with this program.
+ * If not, see http://www.gnu.org/licenses/.
+ */
+package com.rapidminer.example.utils;
+
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Set;
+import java.util.stream.IntStream;
+
+import com.rapidminer.example.Attribute;
+import com.rapidminer.example.ExampleSet;
+import com.rapidminer.example.set.MappedExampleSet;
+import com.rapidminer.operator.ports.metadata.ExampleSetMetaData;
+import com.rapidminer.operator.ports.metadata.MDInteger;
+
+
+/**
+ * Describes which part of a stored {@link ExampleSet} is needed: a subset of the attributes, selected by name, and a
+ * range of rows. Readers that support it only read the needed columns and rows, all others read the whole data and
+ * {@link #apply(ExampleSet) apply} the projection afterwards.
+ *
+ * @since 9.7
+ */
+public final class ExampleSetProjection {
+
+	private final Set<String> attributeNames;
+	private final int fromRow;
+	private final int toRow;
+
+	/**
+	 * Creates a new projection.
+	 *
+	 * @param attributeNames
+	 * 		the names of the attributes to keep, special attributes included, or {@code null} to keep all attributes
+	 * @param fromRow
+	 * 		the first row to keep (inclusive, starting at 0)
+	 * @param toRow
+	 * 		the row after the last row to keep, use {@link Integer#MAX_VALUE} to keep all remaining rows
+	 * @throws IllegalArgumentException
+	 * 		if fromRow is negative or bigger than toRow
+	 */
+	public ExampleSetProjection(Set<String> attributeNames, int fromRow, int toRow) {
+		if (fromRow < 0 || toRow < fromRow) {
+			throw new IllegalArgumentException("Illegal row range: " + fromRow + " - " + toRow);
+		}
+		this.attributeNames = attributeNames == null ? null : Collections.unmodifiableSet(new HashSet<>(attributeNames));
+		this.fromRow = fromRow;
+		this.toRow = toRow;
+	}
+
+	/**
+	 * @return whether the attribute with the given name is part of the projection
+	 */
+	public boolean includes(String attributeName) {
+		return attributeNames == null || attributeNames.contains(attributeName);
+	}
+
+	/**
+	 * @return whether the projection keeps all rows and attributes
+	 */
+	public boolean isComplete() {
+		return attributeNames == null && fromRow == 0 && toRow == Integer.MAX_VALUE;
+	}
+
+	/**
+	 * @param size
+	 * 		the number of rows of the complete data
+	 * @return the first row to keep
+	 */
+	public int getFromRow(int size) {
+		return Math.min(fromRow, size);
+	}
+
+	/**
+	 * @param size
+	 * 		the number of rows of the complete data
+	 * @return the row after the last row to keep
+	 */
+	public int getToRow(int size) {
+		return Math.min(toRow, size);
+	}
+
+	/**
+	 * Applies the projection to an example set that was read completely.
+	 *
+	 * @param exampleSet
+	 * 		the complete example set
+	 * @return a view on the example set containing only the part described by this projection
+	 */
+	public ExampleSet apply(ExampleSet exampleSet) {
+		ExampleSet result = exampleSet;
+		if (attributeNames != null) {
+			result = (ExampleSet) exampleSet.clone();
+			Iterator<Attribute> iterator = result.getAttributes().allAttributes();
+			while (iterator.hasNext()) {
+				if (!attributeNames.contains(iterator.next().getName())) {
+					iterator.remove();
+				}
+			}
+		}
+		int size = result.size();
+		int from = getFromRow(size);
+		int to = getToRow(size);
+		if (from > 0 || to < size) {
+			result = new MappedExampleSet(result, IntStream.range(from, to).toArray());
+		}
+		return result;
+	}
+
+	/**
+	 * Applies the projection to the meta data of the complete example set.
+	 *
+	 * @param metaData
+	 * 		the meta data of the complete example set
+	 * @return the meta data of the part described by this projection
+	 */
+	public ExampleSetMetaData apply(ExampleSetMetaData metaData) {
+		ExampleSetMetaData result = metaData.clone();
+		if (attributeNames != null) {
+			result.getAllAttributes().removeIf(amd -> !attributeNames.contains(amd.getName()));
+		}
+		if (fromRow > 0 || toRow < Integer.MAX_VALUE) {
+			MDInteger numberOfExamples = result.getNumberOfExamples();
+			if (numberOfExamples.isKnown()) {
+				int size = numberOfExamples.getValue();
+				result.setNumberOfExamples(getToRow(size) - getFromRow(size));
+			} else if (toRow < Integer.MAX_VALUE) {
+				MDInteger atMost = new MDInteger(toRow - fromRow);
+				atMost.reduceByUnknownAmount();
+				result.setNumberOfExamples(atMost);
+			} else {
+				result.setNumberOfExamples(new MDInteger());
+			}
+		}
+		return result;
+	}
+
+}
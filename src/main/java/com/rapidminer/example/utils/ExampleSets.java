@@ -38,7 +38,9 @@ import com.rapidminer.example.table.NumericalAttribute;
 import com.rapidminer.example.table.PolynominalAttribute;
 import com.rapidminer.example.table.internal.ColumnarExampleTable;
 import com.rapidminer.example.utils.ExampleSetBuilder.DataManagement;
+import com.rapidminer.operator.Operator;
 import com.rapidminer.operator.preprocessing.MaterializeDataInMemory;
+import com.rapidminer.studio.internal.Resources;
 import com.rapidminer.tools.ParameterService;
 
 
@@ -140,6 +142,28 @@ public final class ExampleSets {
 		if (set == null) {
 			throw new IllegalArgumentException("Example set must not be null");
 		}
+		if (isThreadSafe(set)) {
+			return (ExampleSet) set.clone();
+		} else {
+			return MaterializeDataInMemory.materializeExampleSet(set);
+		}
+	}
+
+	/**
+	 * Checks whether the example set guarantees thread-safety for read access and attribute set manipulations, see
+	 * {@link #createThreadSafeCopy(ExampleSet)}.
+	 *
+	 * @param set
+	 *            the example set to check
+	 * @return whether the set can be read from different threads concurrently
+	 * @throws IllegalArgumentException
+	 *             if the input example set is {@code null}
+	 * @since 9.7
+	 */
+	public static boolean isThreadSafe(ExampleSet set) {
+		if (set == null) {
+			throw new IllegalArgumentException("Example set must not be null");
+		}
 
 		// search for unsafe components
 		boolean foundUnsafeComponent;
@@ -171,12 +195,27 @@ public final class ExampleSets {
 			}
 		}
 		
-		if (foundUnsafeComponent) {
-			return MaterializeDataInMemory.materializeExampleSet(set);
+		return !foundUnsafeComponent;
+	}
+
+	/**
+	 * Recalculates the statistics of all attributes of the given example set. If the example set supports it, the
+	 * calculation uses the {@link com.rapidminer.core.concurrency.ConcurrencyContext} of the given operator to count
+	 * blocks of attributes concurrently, otherwise this is the same as
+	 * {@link ExampleSet#recalculateAllAttributeStatistics()}.
+	 *
+	 * @param set
+	 *            the example set whose statistics should be recalculated
+	 * @param operator
+	 *            the operator whose process context should be used, can be {@code null}
+	 * @since 9.7
+	 */
+	public static void recalculateAllAttributeStatistics(ExampleSet set, Operator operator) {
+		if (operator != null && operator.getProcess() != null && set instanceof AbstractExampleSet) {
+			((AbstractExampleSet) set).recalculateAllAttributeStatistics(Resources.getConcurrencyContext(operator));
 		} else {
-			return (ExampleSet) set.clone();
+			set.recalculateAllAttributeStatistics();
 		}
-		
 	}
 
 }
@@ -652,6 +652,20 @@ public abstract class Operator extends AbstractObservable<Operator>
 		return false;
 	}
 
+	/**
+	 * Returns true if executing this operator neither reads nor changes state that is not passed
+	 * through its ports, e.g. macros, remembered objects, files, repository entries or the process log.
+	 * Executors that run independent operators concurrently keep all other operators in their
+	 * execution order. Subclasses must only return true if this holds for all of their subclasses as
+	 * well, or if these override this method.
+	 *
+	 * @return whether this operator is free of side effects, {@code false} by default
+	 * @since 9.7
+	 */
+	public boolean isSideEffectFree() {
+		return false;
+	}
+
 	/** Returns the number of times this operator was already applied. */
 	public int getApplyCount() {
 		return applyCountAtLastExecution;
@@ -18,8 +18,13 @@
 */
 package com.rapidminer.operator.clustering.clusterer;
 
+import com.rapidminer.operator.OperatorProgress;
+import com.rapidminer.operator.ProcessStoppedException;
 import com.rapidminer.operator.clustering.HierarchicalClusterNode;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
 import java.util.Map;
 
 
@@ -29,6 +34,9 @@ import java.util.Map;
  * minimum of all distances. To save time needed to copy the matrix if two clusters are joined, it
  * is not resized, instead one row and column is not used anymore. The other row and column are
  * updated by the agglomeration methods.
+ * <p>
+ * All agglomerations can also be computed at once by {@link #getAgglomerations(int, OperatorProgress)}
+ * using the nearest-neighbor chain algorithm, which needs quadratic instead of cubic time.
  * 
  * @author Sebastian Land
  */
@@ -76,6 +84,120 @@ public abstract class AbstractLinkageMethod {
 		return agglomeration;
 	}
 
+	/**
+	 * Computes all agglomerations until a single cluster is left using the nearest-neighbor chain
+	 * algorithm: starting from any cluster, the chain is extended by the nearest neighbor of its last
+	 * cluster until two clusters are each other's nearest neighbors. These two are joined and the
+	 * search continues with the rest of the chain. Since all linkage methods are reducible, a joined
+	 * cluster is never closer to another cluster than both of its parts, so the result is the same as
+	 * the one of always joining the globally closest pair.
+	 * <p>
+	 * The agglomerations are returned in the order of increasing distance and the cluster ids are
+	 * assigned as by successive calls of {@link #getNextAgglomeration(int, Map)}. Only agglomerations
+	 * with equal distances might be in a different order. Must not be combined with calls of
+	 * {@link #getNextAgglomeration(int, Map)}.
+	 *
+	 * @param nextClusterId
+	 *            the id of the first joined cluster
+	 * @param progress
+	 *            the progress to step once per agglomeration, can be {@code null}
+	 * @return the agglomerations ordered by distance
+	 * @throws ProcessStoppedException
+	 *             if the process is stopped
+	 * @since 9.7
+	 */
+	public List<Agglomeration> getAgglomerations(int nextClusterId, OperatorProgress progress)
+			throws ProcessStoppedException {
+		int size = matrix.getHeight();
+		int[] clusterSizes = new int[size];
+		Arrays.fill(clusterSizes, 1);
+		int merges = Math.max(size - 1, 0);
+		int[] joinedRows = new int[2 * merges];
+		double[] distances = new double[merges];
+
+		int[] chain = new int[size];
+		int chainLength = 0;
+		int firstRemaining = 0;
+		for (int merge = 0; merge < merges; merge++) {
+			while (true) {
+				if (chainLength == 0) {
+					while (isDeletedData[firstRemaining]) {
+						firstRemaining++;
+					}
+					chain[chainLength++] = firstRemaining;
+				}
+				int current = chain[chainLength - 1];
+				// preferring the predecessor in the chain on ties guarantees that the chain ends
+				int predecessor = chainLength > 1 ? chain[chainLength - 2] : -1;
+				int nearest = predecessor;
+				double minimalDistance = predecessor >= 0 ? matrix.get(current, predecessor) : Double.POSITIVE_INFINITY;
+				for (int y = 0; y < size; y++) {
+					if (y != current && !isDeletedData[y]) {
+						double value = matrix.get(current, y);
+						if (value < minimalDistance || nearest < 0) {
+							nearest = y;
+							minimalDistance = value;
+						}
+					}
+				}
+				if (nearest == predecessor) {
+					chainLength -= 2;
+					joinedRows[2 * merge] = Math.min(current, predecessor);
+					joinedRows[2 * merge + 1] = Math.max(current, predecessor);
+					distances[merge] = minimalDistance;
+					break;
+				}
+				chain[chainLength++] = nearest;
+			}
+
+			// deleting y row and updating the other one
+			int x = joinedRows[2 * merge];
+			int y = joinedRows[2 * merge + 1];
+			for (int z = 0; z < size; z++) {
+				if (z != x && z != y && !isDeletedData[z]) {
+					matrix.set(x, z, combineDistances(matrix.get(x, z), matrix.get(y, z), clusterSizes[x], clusterSizes[y]));
+				}
+			}
+			clusterSizes[x] += clusterSizes[y];
+			isDeletedData[y] = true;
+			if (progress != null) {
+				progress.step();
+			}
+		}
+
+		// the agglomerations of a row have increasing distances, so sorting keeps their order
+		Integer[] order = new Integer[merges];
+		for (int i = 0; i < merges; i++) {
+			order[i] = i;
+		}
+		Arrays.sort(order, (first, second) -> Double.compare(distances[first], distances[second]));
+		List<Agglomeration> agglomerations = new ArrayList<>(merges);
+		for (int merge : order) {
+			int x = joinedRows[2 * merge];
+			int y = joinedRows[2 * merge + 1];
+			agglomerations.add(new Agglomeration(clusterIds[x], clusterIds[y], distances[merge]));
+			clusterIds[x] = nextClusterId++;
+		}
+		return agglomerations;
+	}
+
 	public abstract void updateDistances(DistanceMatrix matrix, int updatedRow, int unionedRow,
 			Map<Integer, HierarchicalClusterNode> clusterMap);
+
+	/**
+	 * Computes the distance of a third cluster to the union of two clusters.
+	 *
+	 * @param updatedDistance
+	 *            the distance to the first cluster
+	 * @param unionedDistance
+	 *            the distance to the second cluster
+	 * @param updatedSize
+	 *            the number of examples in the first cluster
+	 * @param unionedSize
+	 *            the number of examples in the second cluster
+	 * @return the distance to the union
+	 * @since 9.7
+	 */
+	protected abstract double combineDistances(double updatedDistance, double unionedDistance, int updatedSize,
+			int unionedSize);
 }
@@ -18,11 +18,15 @@
  */
 package com.rapidminer.operator.clustering.clusterer;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
 
+import com.rapidminer.core.concurrency.ConcurrencyContext;
 import com.rapidminer.example.Attribute;
 import com.rapidminer.example.Attributes;
 import com.rapidminer.example.Example;
@@ -39,6 +43,7 @@ import com.rapidminer.operator.clustering.DendogramHierarchicalClusterModel;
 import com.rapidminer.operator.clustering.HierarchicalClusterLeafNode;
 import com.rapidminer.operator.clustering.HierarchicalClusterModel;
 import com.rapidminer.operator.clustering.HierarchicalClusterNode;
+import com.rapidminer.operator.concurrency.internal.ConcurrencyTools;
 import com.rapidminer.operator.learner.CapabilityProvider;
 import com.rapidminer.operator.ports.InputPort;
 import com.rapidminer.operator.ports.OutputPort;
@@ -52,6 +57,7 @@ import com.rapidminer.operator.ports.metadata.MetaData;
 import com.rapidminer.operator.ports.metadata.SetRelation;
 import com.rapidminer.parameter.ParameterType;
 import com.rapidminer.parameter.ParameterTypeStringCategory;
+import com.rapidminer.studio.internal.Resources;
 import com.rapidminer.tools.ObjectVisualizerService;
 import com.rapidminer.tools.Ontology;
 import com.rapidminer.tools.math.similarity.DistanceMeasure;
@@ -72,9 +78,11 @@ public class AgglomerativeClustering extends Operator implements CapabilityProvi
 
 	public static final String[] modes = new String[] { "SingleLink", "CompleteLink", "AverageLink" };
 
-	private static final double INTERMEDIATE_PROGRESS = 60;
+	/** The number of batches of distances per thread for filling the distance matrix */
+	private static final int BATCHES_PER_THREAD = 10;
 
-	private static final int OPERATOR_PROGRESS_STEPS = 10;
+	/** The minimal number of distances calculated in one batch */
+	private static final long MIN_BATCH_DISTANCES = 100_000;
 
 	private InputPort exampleSetInput = getInputPorts().createPort("example set", new ExampleSetMetaData());
 	private OutputPort modelOutput = getOutputPorts().createPort("cluster model");
@@ -116,39 +124,37 @@ public class AgglomerativeClustering extends Operator implements CapabilityProvi
 		Tools.onlyFiniteValues(exampleSet, getOperatorClassName(), this, new String[0]);
 		Tools.checkAndCreateIds(exampleSet);
 
-		// initialize operator progress
-		getProgress().setTotal(100);
+		// initialize operator progress: filling the matrix and the agglomerations
+		getProgress().setTotal(2 * exampleSet.size());
 
 		Attribute idAttribute = exampleSet.getAttributes().getId();
 		boolean idAttributeIsNominal = idAttribute.isNominal();
-		DistanceMatrix matrix = new DistanceMatrix(exampleSet.size());
+		Attribute[] regularAttributes = exampleSet.getAttributes().createRegularAttributeArray();
+		double[][] rows = new double[exampleSet.size()][];
 		Map<Integer, HierarchicalClusterNode> clusterMap = new HashMap<Integer, HierarchicalClusterNode>(exampleSet.size());
 		int[] clusterIds = new int[exampleSet.size()];
-		// filling the distance matrix
 		int nextClusterId = 0;
-		for (Example example1 : exampleSet) {
-			checkForStop();
+		for (Example example : exampleSet) {
 			clusterIds[nextClusterId] = nextClusterId;
-			int y = 0;
-			for (Example example2 : exampleSet) {
-				if (y > nextClusterId) {
-					matrix.set(nextClusterId, y, measure.calculateDistance(example1, example2));
-				}
-				y++;
+			double[] values = new double[regularAttributes.length];
+			for (int i = 0; i < regularAttributes.length; i++) {
+				values[i] = example.getValue(regularAttributes[i]);
 			}
+			rows[nextClusterId] = values;
 			if (idAttributeIsNominal) {
 				clusterMap.put(nextClusterId,
-						new HierarchicalClusterLeafNode(nextClusterId, example1.getValueAsString(idAttribute)));
+						new HierarchicalClusterLeafNode(nextClusterId, example.getValueAsString(idAttribute)));
 			} else {
 				clusterMap.put(nextClusterId,
-						new HierarchicalClusterLeafNode(nextClusterId, example1.getValue(idAttribute)));
+						new HierarchicalClusterLeafNode(nextClusterId, example.getValue(idAttribute)));
 			}
 			nextClusterId++;
-			if (nextClusterId % OPERATOR_PROGRESS_STEPS == 0) {
-				getProgress().setCompleted((int) (INTERMEDIATE_PROGRESS * nextClusterId / exampleSet.size()));
-			}
 		}
 
+		// filling the distance matrix
+		DistanceMatrix matrix = new DistanceMatrix(exampleSet.size());
+		fillDistanceMatrix(matrix, rows, measure);
+
 		// creating linkage method
 		AbstractLinkageMethod linkage = new SingleLinkageMethod(matrix, clusterIds);
 		if (getParameterAsString(PARAMETER_MODE).equals(modes[1])) {
@@ -158,9 +164,7 @@ public class AgglomerativeClustering extends Operator implements CapabilityProvi
 		}
 
 		// now building agglomerative tree bottom up
-		int clusterMapStartSize = clusterMap.size();
-		while (clusterMap.size() > 1) {
-			Agglomeration agglomeration = linkage.getNextAgglomeration(nextClusterId, clusterMap);
+		for (Agglomeration agglomeration : linkage.getAgglomerations(nextClusterId, getProgress())) {
 			HierarchicalClusterNode newNode = new HierarchicalClusterNode(nextClusterId, agglomeration.getDistance());
 			newNode.addSubNode(clusterMap.get(agglomeration.getClusterId1()));
 			newNode.addSubNode(clusterMap.get(agglomeration.getClusterId2()));
@@ -168,10 +172,6 @@ public class AgglomerativeClustering extends Operator implements CapabilityProvi
 			clusterMap.remove(agglomeration.getClusterId2());
 			clusterMap.put(nextClusterId, newNode);
 			nextClusterId++;
-			if (nextClusterId % OPERATOR_PROGRESS_STEPS == 0) {
-				getProgress().setCompleted((int) (INTERMEDIATE_PROGRESS + (100.0 - INTERMEDIATE_PROGRESS)
-						* (clusterMapStartSize - clusterMap.size()) / clusterMapStartSize));
-			}
 		}
 
 		// creating model
@@ -181,10 +181,75 @@ public class AgglomerativeClustering extends Operator implements CapabilityProvi
 		// registering visualizer
 		ObjectVisualizerService.addObjectVisualizer(model, new ExampleVisualizer((ExampleSet) exampleSet.clone()));
 
+		getProgress().complete();
+
 		modelOutput.deliver(model);
 		exampleSetOutput.deliver(exampleSet);
 	}
 
+	/**
+	 * Calculates the distances between all rows. The rows are split into batches with about the same
+	 * number of distances which are calculated concurrently if the measure is stateless.
+	 */
+	private void fillDistanceMatrix(DistanceMatrix matrix, double[][] rows, DistanceMeasure measure)
+			throws OperatorException {
+		int size = rows.length;
+		ConcurrencyContext context = Resources.getConcurrencyContext(this);
+		int parallelism = Math.max(1, context.getParallelism());
+		long totalDistances = (long) size * (size - 1) / 2;
+		long batchDistances = Math.max(MIN_BATCH_DISTANCES, totalDistances / (parallelism * BATCHES_PER_THREAD));
+
+		List<int[]> batches = new ArrayList<>();
+		int batchStart = 0;
+		long distances = 0;
+		for (int row = 0; row < size; row++) {
+			distances += size - row - 1;
+			if (distances >= batchDistances || row == size - 1) {
+				batches.add(new int[] { batchStart, row + 1 });
+				batchStart = row + 1;
+				distances = 0;
+			}
+		}
+
+		if (parallelism > 1 && batches.size() > 1 && DistanceMeasures.isStateless(measure)) {
+			List<Callable<Void>> tasks = new ArrayList<>(batches.size());
+			for (int[] batch : batches) {
+				tasks.add(() -> {
+					context.checkStatus();
+					fillRows(matrix, rows, measure, batch[0], batch[1]);
+					return null;
+				});
+			}
+			try {
+				context.call(tasks);
+			} catch (ExecutionException e) {
+				throw ConcurrencyTools.unwrap(e);
+			}
+			getProgress().setCompleted(size);
+		} else {
+			long filledDistances = 0;
+			for (int[] batch : batches) {
+				checkForStop();
+				fillRows(matrix, rows, measure, batch[0], batch[1]);
+				for (int row = batch[0]; row < batch[1]; row++) {
+					filledDistances += size - row - 1;
+				}
+				getProgress().setCompleted((int) (size * filledDistances / Math.max(totalDistances, 1)));
+			}
+		}
+	}
+
+	/**
+	 * Calculates the distances of the rows from (inclusive) to to (exclusive) to all following rows.
+	 */
+	private static void fillRows(DistanceMatrix matrix, double[][] rows, DistanceMeasure measure, int from, int to) {
+		for (int x = from; x < to; x++) {
+			for (int y = x + 1; y < rows.length; y++) {
+				matrix.set(x, y, measure.calculateDistance(rows[x], rows[y]));
+			}
+		}
+	}
+
 	@Override
 	public boolean shouldAutoConnect(OutputPort port) {
 		if (port == exampleSetOutput) {
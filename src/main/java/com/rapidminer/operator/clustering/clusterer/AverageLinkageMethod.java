@@ -52,4 +52,11 @@ public class AverageLinkageMethod extends AbstractLinkageMethod {
 		}
 	}
 
+	@Override
+	protected double combineDistances(double updatedDistance, double unionedDistance, int updatedSize,
+			int unionedSize) {
+		double totalWeight = updatedSize + unionedSize;
+		return updatedSize / totalWeight * updatedDistance + unionedSize / totalWeight * unionedDistance;
+	}
+
 }
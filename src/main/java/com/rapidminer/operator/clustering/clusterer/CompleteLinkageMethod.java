@@ -41,4 +41,10 @@ public class CompleteLinkageMethod extends AbstractLinkageMethod {
 			matrix.set(updatedRow, y, Math.max(matrix.get(updatedRow, y), matrix.get(unionedRow, y)));
 		}
 	}
+
+	@Override
+	protected double combineDistances(double updatedDistance, double unionedDistance, int updatedSize,
+			int unionedSize) {
+		return Math.max(updatedDistance, unionedDistance);
+	}
 }
@@ -19,21 +19,26 @@
 package com.rapidminer.operator.clustering.clusterer;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.LinkedList;
 import java.util.List;
-import java.util.Queue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
 
+import com.rapidminer.core.concurrency.ConcurrencyContext;
 import com.rapidminer.example.Attribute;
-import com.rapidminer.example.Attributes;
 import com.rapidminer.example.Example;
 import com.rapidminer.example.ExampleSet;
 import com.rapidminer.example.Tools;
 import com.rapidminer.operator.OperatorDescription;
 import com.rapidminer.operator.OperatorException;
+import com.rapidminer.operator.ProcessStoppedException;
 import com.rapidminer.operator.clustering.ClusterModel;
+import com.rapidminer.operator.concurrency.internal.ConcurrencyTools;
 import com.rapidminer.parameter.ParameterType;
 import com.rapidminer.parameter.ParameterTypeDouble;
 import com.rapidminer.parameter.ParameterTypeInt;
+import com.rapidminer.studio.internal.Resources;
 import com.rapidminer.tools.math.similarity.DistanceMeasure;
 
 
@@ -49,6 +54,9 @@ public class DBScan extends RMAbstractClusterer {
 
 	private static final String PARAMETER_MIN_POINTS = "min_points";
 
+	/** The number of points whose core point status is determined by one concurrent task */
+	private static final int CORE_POINT_BATCH_SIZE = 10_000;
+
 	public DBScan(OperatorDescription description) {
 		super(description);
 	}
@@ -68,46 +76,60 @@ public class DBScan extends RMAbstractClusterer {
 		// additional checks
 		Tools.onlyNonMissingValues(exampleSet, getOperatorClassName(), this, new String[0]);
 
-		// extracting attribute names
-		Attributes attributes = exampleSet.getAttributes();
-		ArrayList<String> attributeNames = new ArrayList<String>(attributes.size());
-		for (Attribute attribute : attributes) {
-			attributeNames.add(attribute.getName());
+		// extracting the values of the regular attributes
+		Attribute[] regularAttributes = exampleSet.getAttributes().createRegularAttributeArray();
+		double[][] rows = new double[exampleSet.size()][];
+		int row = 0;
+		for (Example example : exampleSet) {
+			double[] values = new double[regularAttributes.length];
+			for (int j = 0; j < regularAttributes.length; j++) {
+				values[j] = example.getValue(regularAttributes[j]);
+			}
+			rows[row++] = values;
 		}
+		RangeQueryIndex index = new RangeQueryIndex(rows, measure);
+		boolean[] core = findCorePoints(index, rows.length, epsilon, minPoints);
 
 		boolean[] visited = new boolean[exampleSet.size()];
 		boolean[] noised = new boolean[exampleSet.size()];
 		int[] clusterAssignments = new int[exampleSet.size()];
 
-		int i = 0;
+		RangeQueryIndex.Neighbors neighbourhood = new RangeQueryIndex.Neighbors();
+		int[] queue = new int[16];
 		int clusterIndex = 1;
-		for (Example example : exampleSet) {
+		for (int i = 0; i < rows.length; i++) {
 			if (!visited[i]) {
-				Queue<Integer> centerNeighbourhood = getNeighbourhood(example, exampleSet, measure, epsilon);
-				if (centerNeighbourhood.size() < minPoints) {
+				if (!core[i]) {
 					noised[i] = true;
 				} else {
 					// then its center point of a cluster. Assign example to new cluster
 					clusterAssignments[i] = clusterIndex;
+					index.query(i, epsilon, neighbourhood);
+					int queueStart = 0;
+					int queueEnd = 0;
+					for (int j = 0; j < neighbourhood.size(); j++) {
+						queue = ensureCapacity(queue, queueEnd);
+						queue[queueEnd++] = neighbourhood.get(j);
+					}
 					// expanding cluster within density borders
-					while (centerNeighbourhood.size() > 0) {
-						int currentIndex = centerNeighbourhood.poll().intValue();
-						Example currentExample = exampleSet.getExample(currentIndex);
+					while (queueStart < queueEnd) {
+						int currentIndex = queue[queueStart++];
 						// assigning example to current cluster
 						clusterAssignments[currentIndex] = clusterIndex;
 						visited[currentIndex] = true;
 
 						// appending own neighbourhood to queue
-						Queue<Integer> neighbourhood = getNeighbourhood(currentExample, exampleSet, measure, epsilon);
-						if (neighbourhood.size() >= minPoints) {
+						if (core[currentIndex]) {
 							// then this neighbor of center is also a center of the cluster
-							while (neighbourhood.size() > 0) {
-								int neighbourIndex = neighbourhood.poll().intValue();
+							index.query(currentIndex, epsilon, neighbourhood);
+							for (int j = 0; j < neighbourhood.size(); j++) {
+								int neighbourIndex = neighbourhood.get(j);
 								if (!visited[neighbourIndex]) {
 									if (!noised[neighbourIndex]) {
 										// if its not noised, then it might be center of cluster! So
 										// append to queue
-										centerNeighbourhood.add(neighbourIndex);
+										queue = ensureCapacity(queue, queueEnd);
+										queue[queueEnd++] = neighbourIndex;
 									}
 									clusterAssignments[neighbourIndex] = clusterIndex;
 									visited[neighbourIndex] = true;
@@ -119,7 +141,6 @@ public class DBScan extends RMAbstractClusterer {
 					clusterIndex++;
 				}
 			}
-			i++;
 			getProgress().step();
 		}
 
@@ -135,18 +156,55 @@ public class DBScan extends RMAbstractClusterer {
 		return model;
 	}
 
-	private LinkedList<Integer> getNeighbourhood(Example centerExample, ExampleSet exampleSet, DistanceMeasure measure,
-			double epsilon) {
-		LinkedList<Integer> neighbourhood = new LinkedList<Integer>();
-		int i = 0;
-		for (Example example : exampleSet) {
-			double distance = measure.calculateDistance(centerExample, example);
-			if (distance < epsilon) {
-				neighbourhood.add(i);
+	/**
+	 * Checks for every point whether its neighbourhood contains at least minPoints points. The neighbourhoods are
+	 * queried concurrently if the index supports it.
+	 */
+	private boolean[] findCorePoints(RangeQueryIndex index, int size, double epsilon, int minPoints)
+			throws OperatorException {
+		boolean[] core = new boolean[size];
+		ConcurrencyContext context = Resources.getConcurrencyContext(this);
+		if (!index.isConcurrent() || context.getParallelism() < 2 || size < 2 * CORE_POINT_BATCH_SIZE) {
+			findCorePoints(index, 0, size, epsilon, minPoints, core);
+			return core;
+		}
+		List<Callable<Void>> tasks = new ArrayList<>();
+		for (int start = 0; start < size; start += CORE_POINT_BATCH_SIZE) {
+			int from = start;
+			int to = Math.min(size, start + CORE_POINT_BATCH_SIZE);
+			tasks.add(() -> {
+				findCorePoints(index, from, to, epsilon, minPoints, core);
+				return null;
+			});
+		}
+		try {
+			context.call(tasks);
+		} catch (ExecutionException e) {
+			throw ConcurrencyTools.unwrap(e);
+		}
+		return core;
+	}
+
+	private void findCorePoints(RangeQueryIndex index, int from, int to, double epsilon, int minPoints, boolean[] core)
+			throws ProcessStoppedException {
+		RangeQueryIndex.Neighbors neighbourhood = new RangeQueryIndex.Neighbors();
+		for (int i = from; i < to; i++) {
+			index.query(i, epsilon, neighbourhood);
+			core[i] = neighbourhood.size() >= minPoints;
+			if ((i - from) % 1000 == 999) {
+				checkForStop();
 			}
-			i++;
 		}
-		return neighbourhood;
+	}
+
+	/**
+	 * Returns the given queue or a larger copy if there is no space at the given position.
+	 */
+	private static int[] ensureCapacity(int[] queue, int position) {
+		if (position < queue.length) {
+			return queue;
+		}
+		return Arrays.copyOf(queue, 2 * queue.length);
 	}
 
 	@Override
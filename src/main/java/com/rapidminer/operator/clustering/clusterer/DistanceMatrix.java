@@ -20,32 +20,33 @@ package com.rapidminer.operator.clustering.clusterer;
 
 /**
  * This class implements an symmetrical matrix for distances, thus saving half the memory by saving
- * only the upper right triangle
+ * only the upper right triangle. The triangle is packed row by row into a single array.
  * 
  * @author Sebastian Land
  */
 public class DistanceMatrix {
 
-	private double[][] matrix;
+	/** The maximal length of a java array */
+	private static final long MAX_ARRAY_LENGTH = Integer.MAX_VALUE - 8;
+
+	private double[] matrix;
 	private int size;
 
 	public DistanceMatrix(int size) {
-		this.size = size;
-		matrix = new double[size][];
-		for (int i = 0; i < size; i++) {
-			for (int j = i + 1; j < size; j++) {
-				matrix[i] = new double[j];
-			}
-
+		long length = (long) size * (size - 1) / 2;
+		if (length > MAX_ARRAY_LENGTH) {
+			throw new IllegalArgumentException("Too many entries for a distance matrix of size " + size);
 		}
+		this.size = size;
+		matrix = new double[(int) Math.max(length, 0)];
 	}
 
 	public void set(int x, int y, double d) {
 		if (x < y) {
-			matrix[x][y - x - 1] = d;
+			matrix[index(x, y)] = d;
 		}
 		if (x > y) {
-			matrix[y][x - y - 1] = d;
+			matrix[index(y, x)] = d;
 		}
 	}
 
@@ -59,11 +60,19 @@ public class DistanceMatrix {
 
 	public double get(int x, int y) {
 		if (x < y) {
-			return matrix[x][y - x - 1];
+			return matrix[index(x, y)];
 		}
 		if (x > y) {
-			return matrix[y][x - y - 1];
+			return matrix[index(y, x)];
 		}
 		return 0;
 	}
+
+	/**
+	 * Returns the position of the entry in the packed array. Row x starts after the x preceding rows,
+	 * which have size - 1, size - 2, ..., size - x entries.
+	 */
+	private int index(int x, int y) {
+		return (int) ((long) x * (2L * size - x - 1) / 2) + y - x - 1;
+	}
 }
@@ -107,6 +107,10 @@ public class KMedoids extends RMAbstractClusterer {
 		CentroidClusterModel bestModel = null;
 		int[] bestAssignments = null;
 		double[] values = new double[attributes.size()];
+		int dimensions = values.length;
+		Attribute[] regularAttributes = attributes.createRegularAttributeArray();
+		// null if the values do not fit into a single array, the rows are then read one by one
+		double[] rows = NearestCentroids.toBlock(exampleSet, regularAttributes);
 		for (int iter = 0; iter < maxRuns; iter++) {
 			CentroidClusterModel model = new CentroidClusterModel(exampleSet, k, attributeNames, measure, addAsLabel,
 					removeUnlabeled);
@@ -124,22 +128,8 @@ public class KMedoids extends RMAbstractClusterer {
 			boolean stable = false;
 			for (int step = 0; step < maxOptimizationSteps && !stable; step++) {
 				// assign examples to new centroids
-				i = 0;
-				for (Example example : exampleSet) {
-					double[] exampleValues = getAsDoubleArray(example, attributes, values);
-					double nearestDistance = measure.calculateDistance(model.getCentroidCoordinates(0), exampleValues);
-					int nearestIndex = 0;
-					for (int centroidIndex = 1; centroidIndex < k; centroidIndex++) {
-						double distance = measure.calculateDistance(model.getCentroidCoordinates(centroidIndex),
-								exampleValues);
-						if (distance < nearestDistance) {
-							nearestDistance = distance;
-							nearestIndex = centroidIndex;
-						}
-					}
-					centroidAssignments[i] = nearestIndex;
-					i++;
-				}
+				NearestCentroids.assign(measure, NearestCentroids.toBlock(model, k, dimensions), k, rows, exampleSet,
+						regularAttributes, centroidAssignments);
 
 				for (int clusterIndex = 0; clusterIndex < k; clusterIndex++) {
 					double[] bestMedoidValues = new double[attributes.size()];
@@ -172,12 +162,10 @@ public class KMedoids extends RMAbstractClusterer {
 
 			// assessing quality of this model
 			double distanceSum = 0;
-			i = 0;
-			for (Example example : exampleSet) {
-				double distance = measure.calculateDistance(model.getCentroidCoordinates(centroidAssignments[i]),
-						getAsDoubleArray(example, attributes, values));
+			for (i = 0; i < centroidAssignments.length; i++) {
+				NearestCentroids.getRow(rows, exampleSet, regularAttributes, i, values);
+				double distance = measure.calculateDistance(model.getCentroidCoordinates(centroidAssignments[i]), values);
 				distanceSum += distance * distance;
-				i++;
 			}
 			if (distanceSum < minimalIntraClusterDistance || Double.isInfinite(minimalIntraClusterDistance)) {
 				bestModel = model;
@@ -0,0 +1,178 @@
+/**
+ * Copyright (C) 2001-2020 by RapidMiner and the contributors
+ * 
+ * Complete list of developers available at our web site:
+ * 
+ * http://rapidminer.com
+ * 
+ * This program is free software: you can redistribute it and/or modify it under the terms of the
+ * GNU Affero General Public License as published by the Free Software Foundation, either version 3
+ * of the License, or (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without
+ * even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Affero General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Affero General Public License along with this program.
+ * If not, see http://www.gnu.org/licenses/.
+*/
+package com.rapidminer.operator.clustering.clusterer;
+
+import com.rapidminer.example.Attribute;
+import com.rapidminer.example.Example;
+import com.rapidminer.example.ExampleSet;
+import com.rapidminer.operator.clustering.CentroidClusterModel;
+import com.rapidminer.tools.math.similarity.DistanceMeasure;
+
+
+/**
+ * Assigns the rows of a block of values to their nearest centroids using
+ * {@link DistanceMeasure#calculateDistances(double[], int, int, double[], int, int, int, double[])}.
+ *
+ * @since 9.7
+ */
+final class NearestCentroids {
+
+	/** The number of rows whose distances to the centroids are calculated at once */
+	private static final int ROWS_PER_BLOCK = 1024;
+
+	private NearestCentroids() {
+		throw new AssertionError("Utility class must not be instantiated");
+	}
+
+	/**
+	 * Copies the coordinates of the centroids of the model into a block.
+	 *
+	 * @param model
+	 *            the model with the centroids
+	 * @param k
+	 *            the number of centroids
+	 * @param dimensions
+	 *            the number of coordinates per centroid
+	 * @return the block with one row per centroid
+	 */
+	static double[] toBlock(CentroidClusterModel model, int k, int dimensions) {
+		double[] centroids = new double[k * dimensions];
+		for (int i = 0; i < k; i++) {
+			System.arraycopy(model.getCentroidCoordinates(i), 0, centroids, i * dimensions, dimensions);
+		}
+		return centroids;
+	}
+
+	/**
+	 * Extracts the values of the examples into a block if they fit into one, see
+	 * {@link DistanceMeasure#fitsInBlock(long, int)}.
+	 *
+	 * @param exampleSet
+	 *            the example set to read
+	 * @param attributes
+	 *            the attributes to read
+	 * @return the block with one row per example or {@code null} if the examples have to be read
+	 *         one by one
+	 */
+	static double[] toBlock(ExampleSet exampleSet, Attribute[] attributes) {
+		if (!DistanceMeasure.fitsInBlock(exampleSet.size(), attributes.length)) {
+			return null;
+		}
+		return DistanceMeasure.toBlock(exampleSet, attributes);
+	}
+
+	/**
+	 * Copies the values of the given row into the values array, either from the block or, if there
+	 * is none, from the example set.
+	 *
+	 * @param rows
+	 *            the block of rows as returned by {@link #toBlock(ExampleSet, Attribute[])}, can be
+	 *            {@code null}
+	 * @param exampleSet
+	 *            the example set the rows were read from
+	 * @param attributes
+	 *            the attributes of the rows
+	 * @param row
+	 *            the index of the row
+	 * @param values
+	 *            the array to copy the values into
+	 * @return the values array
+	 */
+	static double[] getRow(double[] rows, ExampleSet exampleSet, Attribute[] attributes, int row, double[] values) {
+		int dimensions = attributes.length;
+		if (rows != null) {
+			System.arraycopy(rows, row * dimensions, values, 0, dimensions);
+		} else {
+			Example example = exampleSet.getExample(row);
+			for (int d = 0; d < dimensions; d++) {
+				values[d] = example.getValue(attributes[d]);
+			}
+		}
+		return values;
+	}
+
+	/**
+	 * Finds the nearest centroid of every row. As for single distance calculations, the centroid is
+	 * the first argument of the distance measure and ties are resolved in favor of the centroid
+	 * with the smaller index. If there is no block of rows, the examples are read into a bounded
+	 * block one part at a time.
+	 *
+	 * @param measure
+	 *            the distance measure
+	 * @param centroids
+	 *            the block of centroids
+	 * @param k
+	 *            the number of centroids
+	 * @param rows
+	 *            the block of rows as returned by {@link #toBlock(ExampleSet, Attribute[])}, can be
+	 *            {@code null}
+	 * @param exampleSet
+	 *            the example set the rows were read from
+	 * @param attributes
+	 *            the attributes of the rows
+	 * @param assignments
+	 *            the array to store the index of the nearest centroid per row in, one entry per
+	 *            example
+	 */
+	static void assign(DistanceMeasure measure, double[] centroids, int k, double[] rows, ExampleSet exampleSet,
+			Attribute[] attributes, int[] assignments) {
+		int size = assignments.length;
+		int dimensions = attributes.length;
+		int rowsPerBlock = getRowsPerBlock(k, dimensions);
+		double[] distances = new double[k * Math.min(size, rowsPerBlock)];
+		double[] buffer = rows == null ? new double[Math.min(size, rowsPerBlock) * dimensions] : null;
+		for (int from = 0; from < size; from += rowsPerBlock) {
+			int to = Math.min(size, from + rowsPerBlock);
+			int blockRows = to - from;
+			if (rows != null) {
+				measure.calculateDistances(centroids, 0, k, rows, from, to, dimensions, distances);
+			} else {
+				int index = 0;
+				for (int row = from; row < to; row++) {
+					Example example = exampleSet.getExample(row);
+					for (Attribute attribute : attributes) {
+						buffer[index++] = example.getValue(attribute);
+					}
+				}
+				measure.calculateDistances(centroids, 0, k, buffer, 0, blockRows, dimensions, distances);
+			}
+			for (int row = 0; row < blockRows; row++) {
+				double nearestDistance = distances[row];
+				int nearestIndex = 0;
+				for (int centroidIndex = 1; centroidIndex < k; centroidIndex++) {
+					double distance = distances[centroidIndex * blockRows + row];
+					if (distance < nearestDistance) {
+						nearestDistance = distance;
+						nearestIndex = centroidIndex;
+					}
+				}
+				assignments[from + row] = nearestIndex;
+			}
+		}
+	}
+
+	/**
+	 * Returns the number of rows to calculate at once, such that neither the distances to the
+	 * centroids nor a buffer of rows exceed the size of a block.
+	 */
+	static int getRowsPerBlock(int k, int dimensions) {
+		int limit = DistanceMeasure.MAX_BLOCK_SIZE / Math.max(1, Math.max(k, dimensions));
+		return Math.max(1, Math.min(ROWS_PER_BLOCK, limit));
+	}
+}
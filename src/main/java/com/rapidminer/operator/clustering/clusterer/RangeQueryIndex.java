@@ -0,0 +1,277 @@
+/**
+ * Copyright (C) 2001-2020 by RapidMiner and the contributors
+ *
+ * Complete list of developers available at our web site:
+ *
+ * http://rapidminer.com
+ *
+ * This program is free software: you can redistribute it and/or modify it under the terms of the
+ * GNU Affero General Public License as published by the Free Software Foundation, either version 3
+ * of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without
+ * even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License along with this program.
+ * If not, see http://www.gnu.org/licenses/.
+ */
+package com.rapidminer.operator.clustering.clusterer;
+
+import java.util.Arrays;
+
+import com.rapidminer.tools.math.similarity.DistanceMeasure;
+import com.rapidminer.tools.math.similarity.DistanceMeasures;
+import com.rapidminer.tools.math.similarity.numerical.ChebychevNumericalDistance;
+import com.rapidminer.tools.math.similarity.numerical.EuclideanDistance;
+import com.rapidminer.tools.math.similarity.numerical.ManhattanDistance;
+
+
+/**
+ * Answers epsilon range queries on primitive rows for {@link DBScan}. For distance measures that are never smaller
+ * than the absolute difference in a single dimension (euclidean, manhattan and chebychev distance), the rows are
+ * organized in a kd-tree whose bounding boxes are used to skip rows that cannot be within range. For all other
+ * measures every row is checked. In both cases, the distance of a candidate row is calculated by the distance measure
+ * itself, so the result is the same as the one of a full scan.
+ * <p>
+ * Queries do not modify the index, so it can be queried concurrently if the distance measure is stateless, see
+ * {@link DistanceMeasures#isStateless(DistanceMeasure)}.
+ *
+ * @since 9.7
+ */
+final class RangeQueryIndex {
+
+	/** A growable list of row indices. */
+	static final class Neighbors {
+
+		private int[] indices = new int[16];
+		private int size;
+
+		/** @return the number of neighbors */
+		int size() {
+			return size;
+		}
+
+		/** @return the row index of the i-th neighbor */
+		int get(int i) {
+			return indices[i];
+		}
+
+		private void add(int index) {
+			if (size == indices.length) {
+				indices = Arrays.copyOf(indices, 2 * size);
+			}
+			indices[size++] = index;
+		}
+	}
+
+	/** The maximal number of rows in a leaf of the tree */
+	private static final int LEAF_SIZE = 16;
+
+	/** Relative slack for pruning boxes, so that rounding errors never exclude a row within range */
+	private static final double PRUNING_SLACK = 1e-9;
+
+	private final double[][] rows;
+	private final DistanceMeasure measure;
+	private final boolean indexed;
+
+	/** The row indices ordered such that every tree node covers a consecutive range */
+	private int[] order;
+
+	private int[] nodeFrom;
+	private int[] nodeTo;
+	private int[] nodeLeft;
+	private int[] nodeRight;
+	private double[][] nodeMin;
+	private double[][] nodeMax;
+	private int numberOfNodes;
+
+	/**
+	 * Creates an index for the given rows.
+	 *
+	 * @param rows
+	 *            the rows, must not contain missing values and must not be modified afterwards
+	 * @param measure
+	 *            the initialized distance measure
+	 */
+	RangeQueryIndex(double[][] rows, DistanceMeasure measure) {
+		this.rows = rows;
+		this.measure = measure;
+		this.indexed = isBoundedByDimensions(measure) && rows.length > LEAF_SIZE;
+		if (indexed) {
+			buildTree();
+		}
+	}
+
+	/**
+	 * @return whether the distance measure is known to be stateless, so that queries can be answered concurrently
+	 */
+	boolean isConcurrent() {
+		return DistanceMeasures.isStateless(measure);
+	}
+
+	/**
+	 * Checks whether the distance of the measure is never smaller than the absolute difference in a single dimension.
+	 */
+	private static boolean isBoundedByDimensions(DistanceMeasure measure) {
+		Class<?> measureClass = measure.getClass();
+		return measureClass == EuclideanDistance.class || measureClass == ManhattanDistance.class
+				|| measureClass == ChebychevNumericalDistance.class;
+	}
+
+	/**
+	 * Finds all rows whose distance to the given row is smaller than epsilon.
+	 *
+	 * @param row
+	 *            the index of the center row
+	 * @param epsilon
+	 *            the range
+	 * @param neighbors
+	 *            the list to store the result in, is cleared first. The row indices are in increasing order.
+	 */
+	void query(int row, double epsilon, Neighbors neighbors) {
+		neighbors.size = 0;
+		double[] center = rows[row];
+		if (!indexed) {
+			for (int i = 0; i < rows.length; i++) {
+				if (measure.calculateDistance(center, rows[i]) < epsilon) {
+					neighbors.add(i);
+				}
+			}
+			return;
+		}
+
+		double pruningDistance = epsilon + epsilon * PRUNING_SLACK;
+		int[] stack = new int[64];
+		int stackSize = 0;
+		stack[stackSize++] = 0;
+		while (stackSize > 0) {
+			int node = stack[--stackSize];
+			if (!isInRange(node, center, pruningDistance)) {
+				continue;
+			}
+			if (nodeLeft[node] < 0) {
+				for (int i = nodeFrom[node]; i < nodeTo[node]; i++) {
+					int candidate = order[i];
+					if (measure.calculateDistance(center, rows[candidate]) < epsilon) {
+						neighbors.add(candidate);
+					}
+				}
+			} else {
+				if (stackSize + 2 > stack.length) {
+					stack = Arrays.copyOf(stack, 2 * stack.length);
+				}
+				stack[stackSize++] = nodeRight[node];
+				stack[stackSize++] = nodeLeft[node];
+			}
+		}
+		Arrays.sort(neighbors.indices, 0, neighbors.size);
+	}
+
+	/**
+	 * Checks whether the bounding box of the node can contain rows within the given distance in every dimension.
+	 */
+	private boolean isInRange(int node, double[] center, double distance) {
+		double[] min = nodeMin[node];
+		double[] max = nodeMax[node];
+		for (int d = 0; d < center.length; d++) {
+			if (min[d] - center[d] > distance || center[d] - max[d] > distance) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Builds the kd-tree by splitting the row range at the median of the dimension with the largest extent.
+	 */
+	private void buildTree() {
+		order = new int[rows.length];
+		for (int i = 0; i < order.length; i++) {
+			order[i] = i;
+		}
+		// leaves contain at least half of the leaf size rows
+		int maxNodes = 2 * (rows.length / (LEAF_SIZE / 2) + 1);
+		nodeFrom = new int[maxNodes];
+		nodeTo = new int[maxNodes];
+		nodeLeft = new int[maxNodes];
+		nodeRight = new int[maxNodes];
+		nodeMin = new double[maxNodes][];
+		nodeMax = new double[maxNodes][];
+		buildNode(0, rows.length);
+	}
+
+	private int buildNode(int from, int to) {
+		int node = numberOfNodes++;
+		nodeFrom[node] = from;
+		nodeTo[node] = to;
+		int dimensions = rows[order[from]].length;
+		double[] min = new double[dimensions];
+		double[] max = new double[dimensions];
+		Arrays.fill(min, Double.POSITIVE_INFINITY);
+		Arrays.fill(max, Double.NEGATIVE_INFINITY);
+		for (int i = from; i < to; i++) {
+			double[] values = rows[order[i]];
+			for (int d = 0; d < dimensions; d++) {
+				min[d] = Math.min(min[d], values[d]);
+				max[d] = Math.max(max[d], values[d]);
+			}
+		}
+		nodeMin[node] = min;
+		nodeMax[node] = max;
+
+		int splitDimension = 0;
+		for (int d = 1; d < dimensions; d++) {
+			if (max[d] - min[d] > max[splitDimension] - min[splitDimension]) {
+				splitDimension = d;
+			}
+		}
+		if (to - from <= LEAF_SIZE || dimensions == 0 || max[splitDimension] == min[splitDimension]) {
+			nodeLeft[node] = -1;
+			nodeRight[node] = -1;
+			return node;
+		}
+		int mid = (from + to) >>> 1;
+		select(from, to, mid, splitDimension);
+		nodeLeft[node] = buildNode(from, mid);
+		nodeRight[node] = buildNode(mid, to);
+		return node;
+	}
+
+	/**
+	 * Reorders the range such that the row at position k is the one that would be there if the range was sorted by
+	 * the given dimension, all rows before have smaller or equal and all rows after have larger or equal values.
+	 */
+	private void select(int from, int to, int k, int dimension) {
+		int left = from;
+		int right = to - 1;
+		while (left < right) {
+			double pivot = rows[order[(left + right) >>> 1]][dimension];
+			int i = left;
+			int j = right;
+			while (i <= j) {
+				while (rows[order[i]][dimension] < pivot) {
+					i++;
+				}
+				while (rows[order[j]][dimension] > pivot) {
+					j--;
+				}
+				if (i <= j) {
+					int swap = order[i];
+					order[i] = order[j];
+					order[j] = swap;
+					i++;
+					j--;
+				}
+			}
+			if (k <= j) {
+				right = j;
+			} else if (k >= i) {
+				left = i;
+			} else {
+				return;
+			}
+		}
+	}
+
+}
@@ -42,4 +42,10 @@ public class SingleLinkageMethod extends AbstractLinkageMethod {
 			matrix.set(updatedRow, y, Math.min(matrix.get(updatedRow, y), matrix.get(unionedRow, y)));
 		}
 	}
+
+	@Override
+	protected double combineDistances(double updatedDistance, double unionedDistance, int updatedSize,
+			int unionedSize) {
+		return Math.min(updatedDistance, unionedDistance);
+	}
 }
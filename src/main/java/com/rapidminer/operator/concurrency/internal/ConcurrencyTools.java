@@ -0,0 +1,331 @@
+/**
+ * Copyright (C) 2001-2020 by RapidMiner and the contributors
+ *
+ * Complete list of developers available at our web site:
+ *
+ * http://rapidminer.com
+ *
+ * This program is free software: you can redistribute it and/or modify it under the terms of the
+ * GNU Affero General Public License as published by the Free Software Foundation, either version 3
+ * of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without
+ * even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License along with this program.
+ * If not, see http://www.gnu.org/licenses/.
+ */
+package com.rapidminer.operator.concurrency.internal;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.function.Function;
+
+import com.rapidminer.Process;
+import com.rapidminer.core.concurrency.ConcurrencyContext;
+import com.rapidminer.example.ExampleSet;
+import com.rapidminer.example.utils.ExampleSets;
+import com.rapidminer.operator.IOObject;
+import com.rapidminer.operator.Operator;
+import com.rapidminer.operator.OperatorException;
+import com.rapidminer.operator.OperatorVersion;
+import com.rapidminer.operator.ports.PortPairExtender;
+import com.rapidminer.parameter.ParameterType;
+import com.rapidminer.parameter.ParameterTypeBoolean;
+import com.rapidminer.parameter.conditions.AboveOperatorVersionCondition;
+import com.rapidminer.studio.concurrency.internal.ConcurrencyExecutionService;
+import com.rapidminer.studio.concurrency.internal.ConcurrencyExecutionServiceProvider;
+import com.rapidminer.tools.RandomGenerator;
+
+
+/**
+ * Utility methods for operators that execute tasks in a {@link ConcurrencyContext}.
+ *
+ * @since 9.7
+ */
+public final class ConcurrencyTools {
+
+	/**
+	 * A task executed on a clone of an operator by
+	 * {@link ConcurrencyTools#executeOnClones(ConcurrencyExecutionService, Operator, int, CloneTask, ResultConsumer)}.
+	 *
+	 * @param <O>
+	 *            the type of the operator
+	 * @param <T>
+	 *            the type of the result
+	 */
+	@FunctionalInterface
+	public interface CloneTask<O extends Operator, T> {
+
+		/**
+		 * Executes the task with the given index on the given clone.
+		 *
+		 * @param clone
+		 *            the clone of the operator, used by this task only
+		 * @param index
+		 *            the index of the task
+		 * @return the result of the task
+		 * @throws OperatorException
+		 *             if the execution fails
+		 */
+		T call(O clone, int index) throws OperatorException;
+	}
+
+	/**
+	 * Receives the results of the tasks executed by
+	 * {@link ConcurrencyTools#executeOnClones(ConcurrencyExecutionService, Operator, int, CloneTask, ResultConsumer)}
+	 * in the order of the tasks.
+	 *
+	 * @param <T>
+	 *            the type of the results
+	 */
+	@FunctionalInterface
+	public interface ResultConsumer<T> {
+
+		/**
+		 * Receives the result of the task with the given index on the thread of the operator.
+		 *
+		 * @param index
+		 *            the index of the task
+		 * @param result
+		 *            the result of the task
+		 * @throws OperatorException
+		 *             if the result cannot be processed
+		 */
+		void accept(int index, T result) throws OperatorException;
+	}
+
+	/**
+	 * Last version in which the operators that can execute their independent iterations in parallel
+	 * since 9.7 executed all iterations one after another, continuing the random sequence of the
+	 * process from one iteration to the next.
+	 */
+	public static final OperatorVersion VERSION_SEQUENTIAL_EXECUTION = new OperatorVersion(9, 6, 0);
+
+	private ConcurrencyTools() {
+		throw new AssertionError("Utility class must not be instantiated");
+	}
+
+	/**
+	 * Returns the cause of an {@link ExecutionException} thrown by a {@link ConcurrencyContext} as
+	 * {@link OperatorException}. Unchecked causes are rethrown, other checked causes are wrapped. Use as
+	 * {@code throw ConcurrencyTools.unwrap(e);}.
+	 *
+	 * @param e
+	 *            the exception thrown when collecting the results of the tasks
+	 * @return the cause if it is an {@link OperatorException}, the wrapped cause otherwise
+	 */
+	public static OperatorException unwrap(ExecutionException e) {
+		return unwrap(e, OperatorException.class, cause -> new OperatorException(cause.getMessage(), cause));
+	}
+
+	/**
+	 * Returns the cause of an {@link ExecutionException} thrown by a {@link ConcurrencyContext} as the given
+	 * exception type, for callers that cannot throw an {@link OperatorException}. Unchecked causes are rethrown, other
+	 * checked causes are wrapped. Use as {@code throw ConcurrencyTools.unwrap(e, IOException.class, IOException::new);}.
+	 *
+	 * @param e
+	 *            the exception thrown when collecting the results of the tasks
+	 * @param type
+	 *            the exception type the caller can throw
+	 * @param wrapper
+	 *            wraps causes of other checked types
+	 * @return the cause if it is of the given type, the wrapped cause otherwise
+	 */
+	public static <X extends Exception> X unwrap(ExecutionException e, Class<X> type, Function<Throwable, X> wrapper) {
+		Throwable cause = e.getCause();
+		if (type.isInstance(cause)) {
+			return type.cast(cause);
+		} else if (cause instanceof RuntimeException) {
+			throw (RuntimeException) cause;
+		} else if (cause instanceof Error) {
+			throw (Error) cause;
+		} else {
+			return wrapper.apply(cause);
+		}
+	}
+
+	/**
+	 * Returns the service that executes operator tasks on clones of an operator, e.g. to run
+	 * independent iterations of a subprocess in parallel.
+	 *
+	 * @return the service or {@code null} if it is not available
+	 */
+	public static ConcurrencyExecutionService getExecutionService() {
+		return ConcurrencyExecutionServiceProvider.INSTANCE.isInitialized()
+				? ConcurrencyExecutionServiceProvider.INSTANCE.getService() : null;
+	}
+
+	/**
+	 * Draws one seed per task from the given random generator. Operators that execute independent
+	 * iterations on clones draw all seeds before any iteration is executed and initialize the random
+	 * generator of the executing process with the seed of the iteration. This way the results do not
+	 * depend on whether and in which order the iterations are executed in parallel.
+	 *
+	 * @param random
+	 *            the random generator of the operator or process
+	 * @param numberOfTasks
+	 *            the number of seeds to draw
+	 * @return the seeds in task order
+	 */
+	public static long[] drawSeeds(RandomGenerator random, int numberOfTasks) {
+		long[] seeds = new long[numberOfTasks];
+		for (int i = 0; i < numberOfTasks; i++) {
+			seeds[i] = random.nextInt(Integer.MAX_VALUE);
+		}
+		return seeds;
+	}
+
+	/**
+	 * Executes the given number of tasks concurrently, each on its own clone of the operator, and
+	 * returns their results.
+	 *
+	 * @param service
+	 *            the service to execute the tasks with
+	 * @param operator
+	 *            the operator to clone, must be part of a process
+	 * @param numberOfTasks
+	 *            the number of tasks and clones
+	 * @param task
+	 *            the task to execute on every clone
+	 * @return the results in the order of the tasks
+	 * @throws OperatorException
+	 *             if a task fails
+	 * @see #executeOnClones(ConcurrencyExecutionService, Operator, int, CloneTask, ResultConsumer)
+	 */
+	public static <O extends Operator, T> List<T> executeOnClones(ConcurrencyExecutionService service, O operator,
+			int numberOfTasks, CloneTask<O, T> task) throws OperatorException {
+		List<T> results = new ArrayList<>(numberOfTasks);
+		executeOnClones(service, operator, numberOfTasks, task, (index, result) -> results.add(result));
+		return results;
+	}
+
+	/**
+	 * Executes the given number of tasks concurrently, each on its own clone of the operator. The
+	 * results are passed to the consumer in the order of the tasks as soon as they and all results of
+	 * earlier tasks are available. Tasks that are still running when a task fails are cancelled.
+	 *
+	 * @param service
+	 *            the service to execute the tasks with
+	 * @param operator
+	 *            the operator to clone, must be part of a process
+	 * @param numberOfTasks
+	 *            the number of tasks and clones
+	 * @param task
+	 *            the task to execute on every clone
+	 * @param consumer
+	 *            receives the results of the tasks
+	 * @throws OperatorException
+	 *             if a task or the consumer fails
+	 */
+	@SuppressWarnings("unchecked")
+	public static <O extends Operator, T> void executeOnClones(ConcurrencyExecutionService service, O operator,
+			int numberOfTasks, CloneTask<O, T> task, ResultConsumer<T> consumer) throws OperatorException {
+		Process process = operator.getProcess();
+		int applyCount = operator.getApplyCount();
+		List<Future<T>> futures = new ArrayList<>(numberOfTasks);
+		try {
+			for (int i = 0; i < numberOfTasks; i++) {
+				final int index = i;
+				final O clone = (O) operator.cloneOperator(operator.getName(), true);
+				Callable<T> cloneTask = () -> task.call(clone, index);
+				futures.add(service.submitOperatorTask(operator,
+						service.prepareOperatorTask(process, clone, applyCount, true, cloneTask)));
+			}
+			for (int i = 0; i < futures.size(); i++) {
+				consumer.accept(i, service.collectResults(operator, Collections.singletonList(futures.get(i))).get(0));
+			}
+		} finally {
+			for (Future<T> future : futures) {
+				future.cancel(true);
+			}
+			service.removeOperatorTask(process, operator.getName(), applyCount);
+		}
+	}
+
+	/**
+	 * Returns the given objects with every {@link ExampleSet} replaced by a thread-safe copy, so
+	 * that clones of an operator can read them concurrently.
+	 *
+	 * @param objects
+	 *            the input of an operator, can contain {@code null}
+	 * @return a new list with the thread-safe objects
+	 */
+	public static List<IOObject> createThreadSafeCopies(List<IOObject> objects) {
+		List<IOObject> copies = new ArrayList<>(objects.size());
+		for (IOObject object : objects) {
+			copies.add(object instanceof ExampleSet ? ExampleSets.createThreadSafeCopy((ExampleSet) object) : object);
+		}
+		return copies;
+	}
+
+	/**
+	 * Lets the input ports of the given port pairs receive shallow copies of the given objects, e.g.
+	 * to pass the input of an operator to one of its clones.
+	 *
+	 * @param pairs
+	 *            the port pairs of the receiving operator
+	 * @param objects
+	 *            the objects to receive in the order of the pairs, can contain {@code null}
+	 */
+	public static void receiveCopies(List<PortPairExtender.PortPair> pairs, List<IOObject> objects) {
+		for (int i = 0; i < pairs.size() && i < objects.size(); i++) {
+			IOObject object = objects.get(i);
+			pairs.get(i).getInputPort().receive(object != null ? object.copy() : null);
+		}
+	}
+
+	/**
+	 * Creates the {@value ParallelOperatorChain#PARAMETER_ENABLE_PARALLEL_EXECUTION} parameter for
+	 * an operator that is not a {@link ParallelOperatorChain}. The parameter is only shown above
+	 * {@link #VERSION_SEQUENTIAL_EXECUTION}.
+	 *
+	 * @param operator
+	 *            the operator the parameter belongs to
+	 * @return the parameter type
+	 */
+	public static ParameterType createParallelExecutionParameter(Operator operator) {
+		ParameterType type = new ParameterTypeBoolean(ParallelOperatorChain.PARAMETER_ENABLE_PARALLEL_EXECUTION,
+				"This parameter enables the parallel execution of this operator. Please disable the parallel execution if you run into memory problems.",
+				true, true);
+		type.registerDependencyCondition(new AboveOperatorVersionCondition(operator, VERSION_SEQUENTIAL_EXECUTION));
+		return type;
+	}
+
+	/**
+	 * Checks whether the independent iterations of the operator should be executed in parallel.
+	 * This is the case unless the user disabled the parallel execution or the operator runs in a
+	 * compatibility level of at most {@link #VERSION_SEQUENTIAL_EXECUTION}.
+	 *
+	 * @param operator
+	 *            an operator with the
+	 *            {@value ParallelOperatorChain#PARAMETER_ENABLE_PARALLEL_EXECUTION} parameter
+	 * @return whether parallel execution is enabled
+	 */
+	public static boolean isParallelExecutionEnabled(Operator operator) {
+		return operator.getParameterAsBoolean(ParallelOperatorChain.PARAMETER_ENABLE_PARALLEL_EXECUTION)
+				&& !operator.getCompatibilityLevel().isAtMost(VERSION_SEQUENTIAL_EXECUTION);
+	}
+
+	/**
+	 * Appends a version to the incompatible version changes of an operator.
+	 *
+	 * @param versions
+	 *            the incompatible version changes of the super class
+	 * @param version
+	 *            the version to add
+	 * @return a new array with the version at the end
+	 */
+	public static OperatorVersion[] addIncompatibleVersion(OperatorVersion[] versions, OperatorVersion version) {
+		OperatorVersion[] extended = Arrays.copyOf(versions, versions.length + 1);
+		extended[versions.length] = version;
+		return extended;
+	}
+
+}
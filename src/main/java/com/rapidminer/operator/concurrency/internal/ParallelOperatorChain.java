@@ -49,7 +49,7 @@ public abstract class ParallelOperatorChain extends OperatorChain {
 	/** Last version which synchronized remembered data only in special iterations (in most cases the last iteration). */
 	public static final OperatorVersion DOES_NOT_ALWAYS_SYNCHRONIZE_REMEMBERED_DATA = new OperatorVersion(8, 2, 0);
 
-	private static String PARAMETER_ENABLE_PARALLEL_EXECUTION = "enable_parallel_execution";
+	public static final String PARAMETER_ENABLE_PARALLEL_EXECUTION = "enable_parallel_execution";
 
 	public ParallelOperatorChain(OperatorDescription description, String... subprocessNames) {
 		super(description, subprocessNames);
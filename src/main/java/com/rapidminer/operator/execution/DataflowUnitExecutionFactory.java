@@ -0,0 +1,43 @@
+/**
+ * Copyright (C) 2001-2020 by RapidMiner and the contributors
+ * 
+ * Complete list of developers available at our web site:
+ * 
+ * http://rapidminer.com
+ * 
+ * This program is free software: you can redistribute it and/or modify it under the terms of the
+ * GNU Affero General Public License as published by the Free Software Foundation, either version 3
+ * of the License, or (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without
+ * even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Affero General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Affero General Public License along with this program.
+ * If not, see http://www.gnu.org/licenses/.
+*/
+package com.rapidminer.operator.execution;
+
+import com.rapidminer.RapidMiner;
+import com.rapidminer.operator.ExecutionUnit;
+
+
+/**
+ * Returns a shared instance of a {@link DataflowUnitExecutor} if the setting
+ * {@link RapidMiner#PROPERTY_RAPIDMINER_SYSTEM_DATAFLOW_EXECUTION} is enabled and a shared instance
+ * of a {@link SimpleUnitExecutor} otherwise. This is the default factory.
+ *
+ * @since 9.7
+ */
+public class DataflowUnitExecutionFactory extends UnitExecutionFactory {
+
+	private final DataflowUnitExecutor executor = new DataflowUnitExecutor();
+
+	private final SimpleUnitExecutor sequentialExecutor = new SimpleUnitExecutor();
+
+	@Override
+	public UnitExecutor getExecutor(ExecutionUnit unit) {
+		return DataflowUnitExecutor.isEnabled() ? executor : sequentialExecutor;
+	}
+
+}
@@ -0,0 +1,455 @@
+/**
+ * Copyright (C) 2001-2020 by RapidMiner and the contributors
+ * 
+ * Complete list of developers available at our web site:
+ * 
+ * http://rapidminer.com
+ * 
+ * This program is free software: you can redistribute it and/or modify it under the terms of the
+ * GNU Affero General Public License as published by the Free Software Foundation, either version 3
+ * of the License, or (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without
+ * even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Affero General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Affero General Public License along with this program.
+ * If not, see http://www.gnu.org/licenses/.
+*/
+package com.rapidminer.operator.execution;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import com.rapidminer.Process;
+import com.rapidminer.RapidMiner;
+import com.rapidminer.core.concurrency.ConcurrencyContext;
+import com.rapidminer.example.ExampleSet;
+import com.rapidminer.example.utils.ExampleSets;
+import com.rapidminer.operator.ExecutionUnit;
+import com.rapidminer.operator.IOObject;
+import com.rapidminer.operator.Operator;
+import com.rapidminer.operator.OperatorChain;
+import com.rapidminer.operator.OperatorException;
+import com.rapidminer.operator.ProcessStoppedException;
+import com.rapidminer.operator.ports.InputPort;
+import com.rapidminer.operator.ports.OutputPort;
+import com.rapidminer.parameter.Parameters;
+import com.rapidminer.studio.internal.Resources;
+import com.rapidminer.tools.ParameterService;
+import com.rapidminer.tools.RandomGenerator;
+
+
+/**
+ * Executes an {@link ExecutionUnit} by starting every operator as soon as the operators it depends
+ * on are finished. Operators that do not depend on each other run concurrently in the
+ * {@link ConcurrencyContext} of the process. It is only used if the setting
+ * {@link RapidMiner#PROPERTY_RAPIDMINER_SYSTEM_DATAFLOW_EXECUTION} is enabled, see
+ * {@link DataflowUnitExecutionFactory}.
+ * <p>
+ * An operator depends on the operators delivering data to its connected input ports. Only
+ * operators that are {@link Operator#isSideEffectFree() free of side effects}, do not use macros in
+ * their parameters and contain only such operators in their subprocesses can be reordered. All
+ * other operators are ordered: they depend on all previous operators in the execution order, and
+ * all later operators depend on them. So they see the same state of macros, remembered objects,
+ * files and logs as in the {@link SimpleUnitExecutor}.
+ * <p>
+ * Each operator is executed with its own {@link RandomGenerator}, see
+ * {@link RandomGenerator#initTask(Process, long)}. The seeds are drawn from the random generator of
+ * the process in execution order, so the results are reproducible. Before an operator that can be
+ * reordered is started, the data at its input ports is replaced by copies, thread-safe copies for
+ * {@link ExampleSet}s, since it can run at the same time as other consumers of the same data.
+ * <p>
+ * The {@link SimpleUnitExecutor} is used if the concurrency context has no parallelism or if an
+ * operator of the unit has a breakpoint. Process flow filters are never called concurrently. They
+ * get the operator that finished last as previous operator and the successor in the execution
+ * order as next operator.
+ * <p>
+ * Instances of this class can be shared.
+ *
+ * @since 9.7
+ */
+public class DataflowUnitExecutor implements UnitExecutor {
+
+	/** The start of a macro reference in a parameter value. */
+	private static final String MACRO_START = "%{";
+
+	private final SimpleUnitExecutor sequentialExecutor = new SimpleUnitExecutor();
+
+	@Override
+	public void execute(ExecutionUnit unit) throws OperatorException {
+		Operator enclosingOperator = unit.getEnclosingOperator();
+		Process process = enclosingOperator.getProcess();
+		List<Operator> operators = Collections.list(unit.getOperatorEnumeration());
+		if (process == null || operators.size() < 2 || hasBreakpoint(operators)) {
+			sequentialExecutor.execute(unit);
+			return;
+		}
+		ConcurrencyContext context = Resources.getConcurrencyContext(enclosingOperator);
+		Schedule schedule = context.getParallelism() < 2 ? null : Schedule.create(process, operators);
+		if (schedule == null) {
+			sequentialExecutor.execute(unit);
+			return;
+		}
+
+		Logger logger = enclosingOperator.getLogger();
+		if (logger.isLoggable(Level.FINE)) {
+			logger.fine("Executing subprocess " + enclosingOperator.getName() + "." + unit.getName()
+					+ " in data flow order. Execution order is: " + operators);
+		}
+		schedule.execute(context, enclosingOperator);
+	}
+
+	/**
+	 * @return whether the data flow execution is enabled in the settings
+	 */
+	static boolean isEnabled() {
+		return Boolean.parseBoolean(ParameterService.getParameterValue(RapidMiner.PROPERTY_RAPIDMINER_SYSTEM_DATAFLOW_EXECUTION));
+	}
+
+	/**
+	 * @return whether one of the operators or their inner operators has a breakpoint
+	 */
+	private static boolean hasBreakpoint(List<Operator> operators) {
+		for (Operator operator : operators) {
+			for (Operator inner : withInnerOperators(operator)) {
+				if (inner.isEnabled() && inner.hasBreakpoint()) {
+					return true;
+				}
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * @return whether the operator must keep its position in the execution order
+	 */
+	static boolean isOrdered(Operator operator) {
+		for (Operator inner : withInnerOperators(operator)) {
+			if (!inner.isSideEffectFree() || usesMacros(inner)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * @return whether one of the specified parameter values references a macro
+	 */
+	private static boolean usesMacros(Operator operator) {
+		Parameters parameters = operator.getParameters();
+		for (String key : parameters.getDefinedKeys()) {
+			String value = parameters.getParameterAsSpecified(key);
+			if (value != null && value.contains(MACRO_START)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private static List<Operator> withInnerOperators(Operator operator) {
+		if (operator instanceof OperatorChain) {
+			return ((OperatorChain) operator).getAllInnerOperatorsAndMe();
+		}
+		return Collections.singletonList(operator);
+	}
+
+	/**
+	 * Replaces the data at the connected input ports of the operator by copies.
+	 */
+	private static void copyInput(Operator operator) {
+		for (InputPort inputPort : operator.getInputPorts().getAllPorts()) {
+			IOObject data = inputPort.getRawData();
+			IOObject copy;
+			if (data instanceof ExampleSet) {
+				copy = ExampleSets.createThreadSafeCopy((ExampleSet) data);
+			} else {
+				copy = data == null ? null : data.copy();
+			}
+			if (copy != data) {
+				inputPort.receive(copy);
+			}
+		}
+	}
+
+	/**
+	 * The dependencies between the operators of one execution of a unit and the state of that
+	 * execution.
+	 */
+	static final class Schedule {
+
+		private final Process process;
+
+		/** The operators in execution order. */
+		private final List<Operator> operators;
+
+		/** Whether the operator with the array index keeps its position in the execution order. */
+		private final boolean[] ordered;
+
+		/** The indices of the operators that depend on the operator with the list index. */
+		private final List<Set<Integer>> successors;
+
+		/** The number of unfinished operators that the operator with the array index depends on. */
+		private final int[] missingPredecessors;
+
+		/** The seeds of the random generators of the operators. */
+		private final long[] seeds;
+
+		/** The operators that finished, in the order in which they finished. */
+		private final BlockingQueue<Completion> completions = new LinkedBlockingQueue<>();
+
+		/** Guards the calls of the process flow filters and {@link #lastFinished}. */
+		private final Object flowLock = new Object();
+
+		private Operator lastFinished;
+
+		private Schedule(Process process, List<Operator> operators) {
+			this.process = process;
+			this.operators = operators;
+			this.ordered = new boolean[operators.size()];
+			this.successors = new ArrayList<>(operators.size());
+			for (int i = 0; i < operators.size(); i++) {
+				successors.add(new TreeSet<>());
+			}
+			this.missingPredecessors = new int[operators.size()];
+			this.seeds = new long[operators.size()];
+		}
+
+		/**
+		 * Creates the schedule for the operators of a unit.
+		 *
+		 * @param process
+		 *            the process of the operators
+		 * @param operators
+		 *            the operators in execution order
+		 * @return the schedule or {@code null} if an operator depends on a later operator in the
+		 *         execution order, i.e. the execution order is outdated
+		 */
+		static Schedule create(Process process, List<Operator> operators) {
+			Schedule schedule = new Schedule(process, operators);
+			return schedule.createDependencies() ? schedule : null;
+		}
+
+		/**
+		 * @return the indices of the operators that depend on the operator with the given index in
+		 *         ascending order
+		 */
+		Set<Integer> getSuccessors(int index) {
+			return Collections.unmodifiableSet(successors.get(index));
+		}
+
+		/**
+		 * Creates the dependencies between the operators.
+		 *
+		 * @return {@code false} if an operator depends on a later operator in the execution order
+		 */
+		private boolean createDependencies() {
+			Map<Operator, Integer> indices = new IdentityHashMap<>();
+			for (int i = 0; i < operators.size(); i++) {
+				indices.put(operators.get(i), i);
+			}
+			int lastOrdered = -1;
+			for (int i = 0; i < operators.size(); i++) {
+				Operator operator = operators.get(i);
+				Set<Integer> predecessors = new TreeSet<>();
+				for (InputPort inputPort : operator.getInputPorts().getAllPorts()) {
+					OutputPort source = inputPort.getSource();
+					if (source != null) {
+						// sources of the inner sinks belong to the enclosing operator
+						Integer predecessor = indices.get(source.getPorts().getOwner().getOperator());
+						if (predecessor != null) {
+							if (predecessor >= i) {
+								return false;
+							}
+							predecessors.add(predecessor);
+						}
+					}
+				}
+				ordered[i] = isOrdered(operator);
+				if (ordered[i]) {
+					// all operators since the last ordered one, which depend on the latter
+					for (int j = Math.max(lastOrdered, 0); j < i; j++) {
+						predecessors.add(j);
+					}
+					lastOrdered = i;
+				} else if (lastOrdered >= 0) {
+					predecessors.add(lastOrdered);
+				}
+				missingPredecessors[i] = predecessors.size();
+				for (int predecessor : predecessors) {
+					successors.get(predecessor).add(i);
+				}
+			}
+			return true;
+		}
+
+		/**
+		 * Executes the operators in the context. Returns when all operators are finished. If an
+		 * operator fails, no further operators are started and the first failure is rethrown after
+		 * the running operators are finished.
+		 */
+		private void execute(ConcurrencyContext context, Operator enclosingOperator) throws OperatorException {
+			RandomGenerator random = RandomGenerator.getRandomGenerator(process, -1);
+			for (int i = 0; i < seeds.length; i++) {
+				seeds[i] = random.nextInt(Integer.MAX_VALUE);
+			}
+
+			// prefer the execution order among operators that are ready
+			PriorityQueue<Integer> ready = new PriorityQueue<>();
+			for (int i = 0; i < operators.size(); i++) {
+				if (missingPredecessors[i] == 0) {
+					ready.add(i);
+				}
+			}
+			int running = 0;
+			Throwable failure = null;
+			while (!ready.isEmpty() || running > 0) {
+				if (failure == null) {
+					List<Integer> started = new ArrayList<>(ready.size());
+					while (!ready.isEmpty()) {
+						started.add(ready.poll());
+					}
+					// copy all inputs before any consumer of the same data is started
+					List<Callable<Void>> tasks = new ArrayList<>(started.size());
+					try {
+						for (int index : started) {
+							if (!ordered[index]) {
+								copyInput(operators.get(index));
+							}
+							tasks.add(() -> run(index));
+						}
+					} catch (RuntimeException | Error e) {
+						failure = e;
+						tasks.clear();
+					}
+					if (!tasks.isEmpty()) {
+						running += tasks.size();
+						context.submit(tasks);
+					}
+				} else {
+					ready.clear();
+				}
+				if (running == 0) {
+					break;
+				}
+				Completion completion = takeCompletion(enclosingOperator);
+				running--;
+				if (completion.failure != null) {
+					if (failure == null) {
+						failure = completion.failure;
+					}
+				} else {
+					for (int successor : successors.get(completion.index)) {
+						if (--missingPredecessors[successor] == 0) {
+							ready.add(successor);
+						}
+					}
+				}
+			}
+
+			if (failure instanceof OperatorException) {
+				throw (OperatorException) failure;
+			} else if (failure instanceof RuntimeException) {
+				throw (RuntimeException) failure;
+			} else if (failure instanceof Error) {
+				throw (Error) failure;
+			} else if (failure != null) {
+				throw new OperatorException(failure.getMessage(), failure);
+			}
+		}
+
+		/**
+		 * Executes the operator with the given index like the {@link SimpleUnitExecutor} with its
+		 * own random generator and reports its completion.
+		 */
+		private Void run(int index) {
+			Operator operator = operators.get(index);
+			Throwable failure = null;
+			RandomGenerator.initTask(process, seeds[index]);
+			try {
+				synchronized (flowLock) {
+					process.fireProcessFlowBeforeOperator(lastFinished, operator, SimpleUnitExecutor.collectInput(operator));
+				}
+
+				operator.execute();
+
+				synchronized (flowLock) {
+					lastFinished = operator;
+					Operator next = index + 1 < operators.size() ? operators.get(index + 1) : null;
+					process.fireProcessFlowAfterOperator(operator, next, SimpleUnitExecutor.collectOutput(operator));
+				}
+				operator.freeMemory();
+			} catch (OperatorException | RuntimeException | Error e) {
+				failure = e;
+			} finally {
+				RandomGenerator.finishTask(process);
+			}
+			completions.add(new Completion(index, failure));
+			return null;
+		}
+
+		/**
+		 * Waits for the next operator to finish. Blocking is managed, so that the pool can
+		 * compensate if this is called from inside the pool by a nested execution.
+		 */
+		private Completion takeCompletion(Operator enclosingOperator) throws ProcessStoppedException {
+			CompletionBlocker blocker = new CompletionBlocker();
+			try {
+				ForkJoinPool.managedBlock(blocker);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				throw new ProcessStoppedException(enclosingOperator);
+			}
+			return blocker.completion;
+		}
+
+		/** Takes the next completion from the queue. */
+		private final class CompletionBlocker implements ForkJoinPool.ManagedBlocker {
+
+			private Completion completion;
+
+			@Override
+			public boolean block() throws InterruptedException {
+				if (completion == null) {
+					completion = completions.take();
+				}
+				return true;
+			}
+
+			@Override
+			public boolean isReleasable() {
+				if (completion == null) {
+					completion = completions.poll();
+				}
+				return completion != null;
+			}
+		}
+
+	}
+
+	/** The index of a finished operator and the failure of its execution if any. */
+	private static final class Completion {
+
+		private final int index;
+
+		private final Throwable failure;
+
+		private Completion(int index, Throwable failure) {
+			this.index = index;
+			this.failure = failure;
+		}
+	}
+
+}
@@ -57,20 +57,7 @@ public class SimpleUnitExecutor implements UnitExecutor {
 
 			// fire event that we are about to start the next operator
 			if (process != null) {
-				// gather input data for connected ports
-				List<FlowData> input = new LinkedList<>();
-				if (operator.getInputPorts() != null) {
-					for (InputPort inputPort : operator.getInputPorts().getAllPorts()) {
-						if (inputPort.isConnected()) {
-							IOObject data = inputPort.getRawData();
-							if (data != null) {
-								data = FlowCleaner.INSTANCE.checkCleanup(data, inputPort);
-								input.add(new FlowData(data, inputPort));
-							}
-						}
-					}
-				}
-				process.fireProcessFlowBeforeOperator(lastOperator, operator, input);
+				process.fireProcessFlowBeforeOperator(lastOperator, operator, collectInput(operator));
 			}
 
 			// execute the operator
@@ -81,23 +68,53 @@ public class SimpleUnitExecutor implements UnitExecutor {
 
 			// fire event that we finished last operator
 			if (process != null) {
-				// gather output data for connected ports
-				List<FlowData> output = new LinkedList<>();
-				if (lastOperator.getOutputPorts() != null) {
-					for (OutputPort outputPort : lastOperator.getOutputPorts().getAllPorts()) {
-						if (outputPort.isConnected()) {
-							IOObject data = outputPort.getRawData();
-							if (data != null) {
-								output.add(new FlowData(data, outputPort));
-							}
-						}
+				process.fireProcessFlowAfterOperator(lastOperator, operator, collectOutput(lastOperator));
+			}
+			lastOperator.freeMemory();
+		}
+
+	}
+
+	/**
+	 * Gathers the input data of the connected input ports of the operator and cleans it up if
+	 * possible.
+	 *
+	 * @since 9.7
+	 */
+	static List<FlowData> collectInput(Operator operator) {
+		List<FlowData> input = new LinkedList<>();
+		if (operator.getInputPorts() != null) {
+			for (InputPort inputPort : operator.getInputPorts().getAllPorts()) {
+				if (inputPort.isConnected()) {
+					IOObject data = inputPort.getRawData();
+					if (data != null) {
+						data = FlowCleaner.INSTANCE.checkCleanup(data, inputPort);
+						input.add(new FlowData(data, inputPort));
 					}
 				}
-				process.fireProcessFlowAfterOperator(lastOperator, operator, output);
 			}
-			lastOperator.freeMemory();
 		}
+		return input;
+	}
 
+	/**
+	 * Gathers the output data of the connected output ports of the operator.
+	 *
+	 * @since 9.7
+	 */
+	static List<FlowData> collectOutput(Operator operator) {
+		List<FlowData> output = new LinkedList<>();
+		if (operator.getOutputPorts() != null) {
+			for (OutputPort outputPort : operator.getOutputPorts().getAllPorts()) {
+				if (outputPort.isConnected()) {
+					IOObject data = outputPort.getRawData();
+					if (data != null) {
+						output.add(new FlowData(data, outputPort));
+					}
+				}
+			}
+		}
+		return output;
 	}
 
 }
@@ -19,6 +19,7 @@
 package com.rapidminer.operator.execution;
 
 import com.rapidminer.operator.ExecutionUnit;
+import com.rapidminer.tools.Tools;
 
 
 /**
@@ -29,12 +30,28 @@ import com.rapidminer.operator.ExecutionUnit;
  */
 public abstract class UnitExecutionFactory {
 
-	private static UnitExecutionFactory instance = new SimpleUnitExecutionFactory();
+	private static volatile UnitExecutionFactory instance = new DataflowUnitExecutionFactory();
 
 	public static UnitExecutionFactory getInstance() {
 		return instance;
 	}
 
+	/**
+	 * Sets the factory for the executors of all {@link ExecutionUnit}s. The default is a
+	 * {@link DataflowUnitExecutionFactory}.
+	 *
+	 * @param factory
+	 *            the new factory, must not be {@code null}
+	 * @since 9.7
+	 */
+	public static void setInstance(UnitExecutionFactory factory) {
+		Tools.requireInternalPermission();
+		if (factory == null) {
+			throw new IllegalArgumentException("factory must not be null");
+		}
+		instance = factory;
+	}
+
 	public UnitExecutor getExecutor(ExecutionUnit unit) {
 		return instance.getExecutor(unit);
 	}
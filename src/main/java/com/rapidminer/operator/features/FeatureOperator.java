@@ -35,9 +35,11 @@ import com.rapidminer.gui.dialog.IndividualSelector;
 import com.rapidminer.operator.OperatorChain;
 import com.rapidminer.operator.OperatorDescription;
 import com.rapidminer.operator.OperatorException;
+import com.rapidminer.operator.OperatorVersion;
 import com.rapidminer.operator.UserError;
 import com.rapidminer.operator.ValueDouble;
 import com.rapidminer.operator.ValueString;
+import com.rapidminer.operator.concurrency.internal.ConcurrencyTools;
 import com.rapidminer.operator.performance.PerformanceVector;
 import com.rapidminer.operator.ports.InputPort;
 import com.rapidminer.operator.ports.OutputPort;
@@ -527,6 +529,11 @@ public abstract class FeatureOperator extends OperatorChain {
 		return exampleSetInput;
 	}
 
+	/** Returns the extender which passes data through to the subprocess. */
+	PortPairExtender getThroughExtender() {
+		return throughExtender;
+	}
+
 	@Override
 	public List<ParameterType> getParameterTypes() {
 		List<ParameterType> types = super.getParameterTypes();
@@ -563,10 +570,25 @@ public abstract class FeatureOperator extends OperatorChain {
 		types.add(new ParameterTypeDouble(PARAMETER_MAXIMAL_FITNESS,
 				"The optimization will stop if the fitness reaches the defined maximum.", 0.0d, Double.POSITIVE_INFINITY,
 				Double.POSITIVE_INFINITY));
+		types.add(ConcurrencyTools.createParallelExecutionParameter(this));
 		return types;
 	}
 
+	@Override
+	public OperatorVersion[] getIncompatibleVersionChanges() {
+		return ConcurrencyTools.addIncompatibleVersion(super.getIncompatibleVersionChanges(),
+				ConcurrencyTools.VERSION_SEQUENTIAL_EXECUTION);
+	}
+
+	/**
+	 * Returns a {@link ParallelPopulationEvaluator} unless parallel execution was disabled or the
+	 * operator runs in a compatibility level that evaluated all individuals sequentially on the
+	 * process random sequence.
+	 */
 	protected PopulationEvaluator getPopulationEvaluator(ExampleSet exampleSet) throws OperatorException {
+		if (ConcurrencyTools.isParallelExecutionEnabled(this)) {
+			return new ParallelPopulationEvaluator(this, exampleSet);
+		}
 		return new SimplePopulationEvaluator(this, exampleSet);
 	}
 
@@ -0,0 +1,241 @@
+/**
+ * Copyright (C) 2001-2020 by RapidMiner and the contributors
+ * 
+ * Complete list of developers available at our web site:
+ * 
+ * http://rapidminer.com
+ * 
+ * This program is free software: you can redistribute it and/or modify it under the terms of the
+ * GNU Affero General Public License as published by the Free Software Foundation, either version 3
+ * of the License, or (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without
+ * even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Affero General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Affero General Public License along with this program.
+ * If not, see http://www.gnu.org/licenses/.
+*/
+package com.rapidminer.operator.features;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.rapidminer.Process;
+import com.rapidminer.example.ExampleSet;
+import com.rapidminer.example.utils.ExampleSets;
+import com.rapidminer.operator.IOObject;
+import com.rapidminer.operator.Operator;
+import com.rapidminer.operator.OperatorException;
+import com.rapidminer.operator.OperatorProgress;
+import com.rapidminer.operator.ProcessStoppedException;
+import com.rapidminer.operator.concurrency.internal.ConcurrencyTools;
+import com.rapidminer.operator.performance.PerformanceVector;
+import com.rapidminer.operator.ports.PortPairExtender;
+import com.rapidminer.studio.concurrency.internal.ConcurrencyExecutionService;
+import com.rapidminer.studio.internal.Resources;
+import com.rapidminer.tools.RandomGenerator;
+
+
+/**
+ * Population evaluator which evaluates the individuals of a population concurrently on clones of
+ * the feature operator, one clone per worker. The performances of the weight vectors of the last
+ * evaluated population are cached, so individuals with the weights of an individual of the
+ * previous generation are not evaluated again and equal weights are evaluated only once per
+ * generation.
+ * <p>
+ * Every new weight vector draws its own random seed from the random generator of the feature
+ * operator in the order of the population before any weights are evaluated. If the weights cannot
+ * be evaluated concurrently, they are evaluated one after another on the feature operator with the
+ * same seeds, which yields the same results.
+ *
+ * @since 9.7
+ */
+public class ParallelPopulationEvaluator implements PopulationEvaluator {
+
+	/** Weights which can be used as key of the performance cache. */
+	private static final class WeightsKey {
+
+		private final double[] weights;
+
+		private final int hashCode;
+
+		private WeightsKey(double[] weights) {
+			this.weights = weights.clone();
+			this.hashCode = Arrays.hashCode(weights);
+		}
+
+		@Override
+		public boolean equals(Object other) {
+			return other instanceof WeightsKey && Arrays.equals(weights, ((WeightsKey) other).weights);
+		}
+
+		@Override
+		public int hashCode() {
+			return hashCode;
+		}
+	}
+
+	private final ExampleSet originalSet;
+	private final FeatureOperator operator;
+	private final ConcurrencyExecutionService service;
+
+	/** The performances of the weight vectors of the last evaluated population */
+	private Map<WeightsKey, PerformanceVector> performances = new HashMap<>();
+
+	public ParallelPopulationEvaluator(FeatureOperator operator, ExampleSet originalSet) {
+		this(operator, originalSet, ConcurrencyTools.getExecutionService());
+	}
+
+	/**
+	 * Creates an evaluator that evaluates concurrently with the given service.
+	 *
+	 * @param service
+	 *            the service to execute the clones of the operator with, evaluates sequentially if
+	 *            {@code null}
+	 */
+	ParallelPopulationEvaluator(FeatureOperator operator, ExampleSet originalSet, ConcurrencyExecutionService service) {
+		this.originalSet = originalSet;
+		this.operator = operator;
+		this.service = service;
+	}
+
+	@Override
+	public void evaluate(Population population) throws OperatorException {
+		// only the performances of this generation are kept for the next one
+		Map<WeightsKey, PerformanceVector> generation = new HashMap<>();
+		for (int i = 0; i < population.getNumberOfIndividuals(); i++) {
+			Individual individual = population.get(i);
+			if (individual.getPerformance() != null) {
+				generation.putIfAbsent(new WeightsKey(individual.getWeights()), individual.getPerformance());
+			}
+		}
+
+		// the number of individuals for every weight vector that is not known yet
+		Map<WeightsKey, Integer> newWeights = new LinkedHashMap<>();
+		int known = 0;
+		for (int i = 0; i < population.getNumberOfIndividuals(); i++) {
+			Individual individual = population.get(i);
+			WeightsKey key = new WeightsKey(individual.getWeights());
+			if (individual.getPerformance() != null || generation.containsKey(key)) {
+				known++;
+			} else if (performances.containsKey(key)) {
+				generation.put(key, performances.get(key));
+				known++;
+			} else {
+				newWeights.merge(key, 1, Integer::sum);
+			}
+		}
+		step(known);
+
+		if (!newWeights.isEmpty()) {
+			List<WeightsKey> keys = new ArrayList<>(newWeights.keySet());
+			int[] individuals = new int[keys.size()];
+			for (int i = 0; i < individuals.length; i++) {
+				individuals[i] = newWeights.get(keys.get(i));
+			}
+			List<PerformanceVector> newPerformances = evaluate(keys, individuals);
+			for (int i = 0; i < keys.size(); i++) {
+				generation.put(keys.get(i), newPerformances.get(i));
+			}
+		}
+		performances = generation;
+
+		for (int i = 0; i < population.getNumberOfIndividuals(); i++) {
+			Individual individual = population.get(i);
+			if (individual.getPerformance() == null) {
+				individual.setPerformance(performances.get(new WeightsKey(individual.getWeights())));
+			}
+			population.updateEvaluation();
+		}
+	}
+
+	/**
+	 * Steps the progress of the operator by the given number of evaluated individuals. Can be
+	 * called by the workers.
+	 */
+	private void step(int evaluatedIndividuals) throws ProcessStoppedException {
+		OperatorProgress progress = operator.getProgress();
+		synchronized (progress) {
+			progress.step(evaluatedIndividuals);
+		}
+	}
+
+	/**
+	 * Evaluates the given weights and returns the performance vectors in the same order. The
+	 * progress is stepped by the number of individuals with a weight vector as soon as the vector
+	 * is evaluated.
+	 */
+	private List<PerformanceVector> evaluate(List<WeightsKey> keys, int[] individuals) throws OperatorException {
+		long[] seeds = ConcurrencyTools.drawSeeds(operator.getRandom(), keys.size());
+
+		if (keys.size() > 1 && canEvaluateInParallel()) {
+			return evaluateInParallel(keys, individuals, seeds);
+		}
+
+		Process process = operator.getProcess();
+		List<PerformanceVector> results = new ArrayList<>(keys.size());
+		RandomGenerator.stash(process);
+		try {
+			for (int i = 0; i < keys.size(); i++) {
+				RandomGenerator.init(process, seeds[i]);
+				ExampleSet clone = FeatureOperator.createCleanClone(originalSet, keys.get(i).weights);
+				results.add(operator.executeEvaluationProcess(clone));
+				step(individuals[i]);
+			}
+		} finally {
+			RandomGenerator.restore(process);
+		}
+		return results;
+	}
+
+	/**
+	 * Evaluates the given weights on clones of the feature operator. Every clone evaluates every
+	 * n-th weight vector, where n is the number of clones. The input is copied once in a thread-safe
+	 * way and then passed to the clones as shallow copies.
+	 */
+	private List<PerformanceVector> evaluateInParallel(List<WeightsKey> keys, int[] individuals, long[] seeds)
+			throws OperatorException {
+		ExampleSet exampleSet = ExampleSets.createThreadSafeCopy(originalSet);
+		List<IOObject> throughData = new ArrayList<>();
+		for (PortPairExtender.PortPair pair : operator.getThroughExtender().getManagedPairs()) {
+			throughData.add(pair.getInputPort().getDataOrNull(IOObject.class));
+		}
+		List<IOObject> throughInput = ConcurrencyTools.createThreadSafeCopies(throughData);
+
+		int numberOfClones = Math.min(keys.size(), Resources.getConcurrencyContext(operator).getParallelism());
+		PerformanceVector[] results = new PerformanceVector[keys.size()];
+		ConcurrencyTools.executeOnClones(service, operator, numberOfClones, (clone, first) -> {
+			for (int i = first; i < keys.size(); i += numberOfClones) {
+				ConcurrencyTools.receiveCopies(clone.getThroughExtender().getManagedPairs(), throughInput);
+				RandomGenerator.init(clone.getProcess(), seeds[i]);
+				ExampleSet evaluationSet = FeatureOperator.createCleanClone(exampleSet, keys.get(i).weights);
+				results[i] = clone.executeEvaluationProcess(evaluationSet);
+				step(individuals[i]);
+			}
+			return null;
+		});
+		return Arrays.asList(results);
+	}
+
+	/**
+	 * Checks whether weights can be evaluated on clones of the feature operator. This requires
+	 * parallel execution to be possible and no breakpoints in the subprocess.
+	 */
+	private boolean canEvaluateInParallel() {
+		if (service == null || Resources.getConcurrencyContext(operator).getParallelism() == 1) {
+			return false;
+		}
+		for (Operator innerOperator : operator.getAllInnerOperators()) {
+			if (innerOperator.isEnabled() && innerOperator.hasBreakpoint()) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+}
@@ -21,6 +21,7 @@ package com.rapidminer.operator.features.selection;
 import com.rapidminer.example.Attribute;
 import com.rapidminer.example.ExampleSet;
 import com.rapidminer.example.Statistics;
+import com.rapidminer.example.utils.ExampleSets;
 import com.rapidminer.operator.OperatorDescription;
 import com.rapidminer.operator.OperatorException;
 import com.rapidminer.operator.ports.metadata.ExampleSetMetaData;
@@ -82,7 +83,7 @@ public class RemoveUselessFeatures extends AbstractFeatureSelection {
 
 	@Override
 	public ExampleSet apply(ExampleSet exampleSet) throws OperatorException {
-		exampleSet.recalculateAllAttributeStatistics();
+		ExampleSets.recalculateAllAttributeStatistics(exampleSet, this);
 
 		double numericalMinDeviation = getParameterAsDouble(PARAMETER_NUMERICAL_MIN_DEVIATION);
 		double nominalSingleValueUpper = getParameterAsDouble(PARAMETER_NOMINAL_SINGLE_VALUE_UPPER);
@@ -18,13 +18,17 @@
 */
 package com.rapidminer.operator.io;
 
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.logging.Level;
 
 import com.rapidminer.connection.ConnectionInformationContainerIOObject;
+import com.rapidminer.example.utils.ExampleSetProjection;
 import com.rapidminer.gui.tools.ProgressThread;
 import com.rapidminer.operator.Annotations;
 import com.rapidminer.operator.IOObject;
@@ -35,16 +39,24 @@ import com.rapidminer.operator.ProcessSetupError.Severity;
 import com.rapidminer.operator.SimpleProcessSetupError;
 import com.rapidminer.operator.UserError;
 import com.rapidminer.operator.UserSetupError;
+import com.rapidminer.operator.ports.MetaDataChangeListener;
+import com.rapidminer.operator.ports.metadata.ExampleSetMetaData;
 import com.rapidminer.operator.ports.metadata.MetaData;
 import com.rapidminer.operator.ports.quickfix.ParameterSettingQuickFix;
+import com.rapidminer.parameter.MetaDataProvider;
 import com.rapidminer.parameter.ParameterType;
+import com.rapidminer.parameter.ParameterTypeAttributes;
+import com.rapidminer.parameter.ParameterTypeBoolean;
+import com.rapidminer.parameter.ParameterTypeInt;
 import com.rapidminer.parameter.ParameterTypeRepositoryLocation;
 import com.rapidminer.parameter.UndefinedParameterError;
+import com.rapidminer.parameter.conditions.BooleanParameterCondition;
 import com.rapidminer.repository.IOObjectEntry;
 import com.rapidminer.repository.RepositoryEntryNotFoundException;
 import com.rapidminer.repository.RepositoryEntryWrongTypeException;
 import com.rapidminer.repository.RepositoryException;
 import com.rapidminer.repository.RepositoryLocation;
+import com.rapidminer.tools.Ontology;
 import com.rapidminer.tools.usagestats.ActionStatisticsCollector;
 
 
@@ -56,6 +68,21 @@ public class RepositorySource extends AbstractReader<IOObject> {
 
 	public static final String PARAMETER_REPOSITORY_ENTRY = "repository_entry";
 
+	/** @since 9.7 */
+	public static final String PARAMETER_LIMIT_ATTRIBUTES = "limit_attributes";
+
+	/** @since 9.7 */
+	public static final String PARAMETER_ATTRIBUTES = "attributes";
+
+	/** @since 9.7 */
+	public static final String PARAMETER_LIMIT_EXAMPLES = "limit_examples";
+
+	/** @since 9.7 */
+	public static final String PARAMETER_FIRST_EXAMPLE = "first_example";
+
+	/** @since 9.7 */
+	public static final String PARAMETER_LAST_EXAMPLE = "last_example";
+
 	/**
 	 * Map from Exception to i18n key.
 	 *
@@ -87,6 +114,10 @@ public class RepositorySource extends AbstractReader<IOObject> {
 		}
 		try {
 			MetaData metaData = entry.retrieveMetaData();
+			ExampleSetProjection projection = getProjection();
+			if (projection != null && metaData instanceof ExampleSetMetaData) {
+				metaData = projection.apply((ExampleSetMetaData) metaData);
+			}
 			if (metaData != null) {
 				metaData.getAnnotations().setAnnotation(Annotations.KEY_SOURCE, entry.getLocation().toString());
 			}
@@ -179,7 +210,7 @@ public class RepositorySource extends AbstractReader<IOObject> {
 	public IOObject read() throws OperatorException {
 		try {
 			IOObjectEntry repositoryEntry = getRepositoryEntry();
-			final IOObject data = repositoryEntry.retrieveData(null);
+			final IOObject data = repositoryEntry.retrieveData(null, getProjection());
 			data.getAnnotations().setAnnotation(Annotations.KEY_SOURCE, repositoryEntry.getLocation().toString());
 			logConnection(data);
 			return data;
@@ -196,9 +227,87 @@ public class RepositorySource extends AbstractReader<IOObject> {
 		type.setExpert(false);
 		type.setPrimary(true);
 		types.add(type);
+
+		types.add(new ParameterTypeBoolean(PARAMETER_LIMIT_ATTRIBUTES, "If checked, only the selected attributes of " +
+				"a stored example set are read.", false, true));
+		ParameterType attributes = new ParameterTypeAttributes(PARAMETER_ATTRIBUTES, "The attributes to read.",
+				new EntryMetaDataProvider(), true, Ontology.ATTRIBUTE_VALUE);
+		attributes.setExpert(true);
+		attributes.registerDependencyCondition(new BooleanParameterCondition(this, PARAMETER_LIMIT_ATTRIBUTES, true,
+				true));
+		types.add(attributes);
+
+		types.add(new ParameterTypeBoolean(PARAMETER_LIMIT_EXAMPLES, "If checked, only the examples in the given " +
+				"range of a stored example set are read.", false, true));
+		ParameterType first = new ParameterTypeInt(PARAMETER_FIRST_EXAMPLE, "The first example to read.", 1,
+				Integer.MAX_VALUE, 1, true);
+		first.registerDependencyCondition(new BooleanParameterCondition(this, PARAMETER_LIMIT_EXAMPLES, true, true));
+		types.add(first);
+		ParameterType last = new ParameterTypeInt(PARAMETER_LAST_EXAMPLE, "The last example to read.", 1,
+				Integer.MAX_VALUE, Integer.MAX_VALUE, true);
+		last.registerDependencyCondition(new BooleanParameterCondition(this, PARAMETER_LIMIT_EXAMPLES, true, true));
+		types.add(last);
 		return types;
 	}
 
+	/**
+	 * Returns the part of a stored example set selected by the parameters. Entries that support it only read this
+	 * part from their storage.
+	 *
+	 * @return the projection or {@code null} if everything should be read
+	 * @throws UserError
+	 * 		if the example range is invalid
+	 * @since 9.7
+	 */
+	protected ExampleSetProjection getProjection() throws UserError {
+		Set<String> attributeNames = null;
+		if (getParameterAsBoolean(PARAMETER_LIMIT_ATTRIBUTES)) {
+			attributeNames = new HashSet<>();
+			String attributes = getParameterAsString(PARAMETER_ATTRIBUTES);
+			if (attributes != null && !attributes.isEmpty()) {
+				attributeNames.addAll(Arrays.asList(attributes.split(ParameterTypeAttributes.ATTRIBUTE_SEPARATOR_REGEX)));
+			}
+		}
+		int fromRow = 0;
+		int toRow = Integer.MAX_VALUE;
+		if (getParameterAsBoolean(PARAMETER_LIMIT_EXAMPLES)) {
+			fromRow = getParameterAsInt(PARAMETER_FIRST_EXAMPLE) - 1;
+			toRow = getParameterAsInt(PARAMETER_LAST_EXAMPLE);
+			if (toRow <= fromRow) {
+				throw new UserError(this, 210, PARAMETER_LAST_EXAMPLE, PARAMETER_FIRST_EXAMPLE);
+			}
+		}
+		if (attributeNames == null && fromRow == 0 && toRow == Integer.MAX_VALUE) {
+			return null;
+		}
+		return new ExampleSetProjection(attributeNames, fromRow, toRow);
+	}
+
+	/**
+	 * Provides the meta data of the complete stored entry for selecting the attributes.
+	 */
+	private class EntryMetaDataProvider implements MetaDataProvider {
+
+		@Override
+		public MetaData getMetaData() {
+			try {
+				return getRepositoryEntry().retrieveMetaData();
+			} catch (RepositoryException | UserError e) {
+				return null;
+			}
+		}
+
+		@Override
+		public void addMetaDataChangeListener(MetaDataChangeListener l) {
+			// nothing to do: the meta data is retrieved on every request
+		}
+
+		@Override
+		public void removeMetaDataChangeListener(MetaDataChangeListener l) {
+			// nothing to do: the meta data is retrieved on every request
+		}
+	}
+
 	/**
 	 * Logs if the data is a connection.
 	 */
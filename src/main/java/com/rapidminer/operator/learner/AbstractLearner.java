@@ -178,6 +178,17 @@ public abstract class AbstractLearner extends Operator implements Learner {
 		exampleSetOutput.deliver(exampleSet);
 	}
 
+	/**
+	 * Learners only use the data of their ports and the random generator of the process. Subclasses
+	 * that use other state must override this method.
+	 *
+	 * @since 9.7
+	 */
+	@Override
+	public boolean isSideEffectFree() {
+		return true;
+	}
+
 	/**
 	 * Returns true if the user wants to estimate the performance (depending on a parameter). In
 	 * this case the method getEstimatedPerformance() must also be overridden and deliver the
@@ -0,0 +1,387 @@
+/**
+ * Copyright (C) 2001-2020 by RapidMiner and the contributors
+ * 
+ * Complete list of developers available at our web site:
+ * 
+ * http://rapidminer.com
+ * 
+ * This program is free software: you can redistribute it and/or modify it under the terms of the
+ * GNU Affero General Public License as published by the Free Software Foundation, either version 3
+ * of the License, or (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without
+ * even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Affero General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Affero General Public License along with this program.
+ * If not, see http://www.gnu.org/licenses/.
+*/
+package com.rapidminer.operator.learner;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+
+import com.rapidminer.core.concurrency.ConcurrencyContext;
+import com.rapidminer.example.Attribute;
+import com.rapidminer.example.AttributeRole;
+import com.rapidminer.example.Attributes;
+import com.rapidminer.example.Example;
+import com.rapidminer.example.ExampleSet;
+import com.rapidminer.example.utils.ExampleSets;
+import com.rapidminer.operator.Operator;
+import com.rapidminer.operator.OperatorException;
+import com.rapidminer.operator.OperatorProgress;
+import com.rapidminer.operator.concurrency.internal.ConcurrencyTools;
+import com.rapidminer.studio.internal.Resources;
+
+
+/**
+ * Scores the examples of an example set in chunks of rows. If a {@link ConcurrencyContext} is
+ * given, the chunks of a block of rows are scored concurrently. The results are always written to
+ * the example set by the calling thread in row order after each block, so the example set is only
+ * read concurrently.
+ * <p>
+ * Models can either score whole examples via {@link #predict}, then the examples passed to the
+ * {@link ExampleScorer} buffer the values written to the predicted label and the confidence
+ * attributes, or score the values of some attributes via {@link #score}.
+ *
+ * @since 9.7
+ */
+public final class ChunkedPrediction {
+
+	/** Scores a single example by setting its prediction and confidences. */
+	@FunctionalInterface
+	public interface ExampleScorer {
+
+		/**
+		 * Scores the given example. Must be thread-safe and must not set values other than the
+		 * prediction and the confidences. Nominal predictions set as strings must already be part
+		 * of the mapping of the predicted label, since the mapping is shared by all threads.
+		 *
+		 * @param example
+		 *            the example to score
+		 * @throws OperatorException
+		 *             if the example cannot be scored
+		 */
+		void score(Example example) throws OperatorException;
+	}
+
+	/** Computes the result for the attribute values of a single example. */
+	@FunctionalInterface
+	public interface RowScorer {
+
+		/**
+		 * Scores the given values. Must be thread-safe if used concurrently.
+		 *
+		 * @param values
+		 *            the values of the scored example
+		 * @param result
+		 *            the array to write the result to, filled with zeros
+		 */
+		void score(double[] values, double[] result);
+	}
+
+	/** Writes the result of a single example. */
+	@FunctionalInterface
+	public interface ResultWriter {
+
+		/**
+		 * Writes the result computed by a {@link RowScorer} to the example. Called by the scoring
+		 * thread in row order.
+		 *
+		 * @param example
+		 *            the scored example
+		 * @param result
+		 *            the result of the example
+		 */
+		void write(Example example, double[] result);
+	}
+
+	/** Processes the rows from {@code from} (inclusive) to {@code to} (exclusive) of a block. */
+	@FunctionalInterface
+	private interface ChunkProcessor {
+
+		void process(int blockStart, int from, int to) throws OperatorException;
+	}
+
+	/** The number of rows scored by one task */
+	private static final int CHUNK_SIZE = 1000;
+
+	private ChunkedPrediction() {
+		throw new AssertionError("Utility class must not be instantiated");
+	}
+
+	/**
+	 * Returns the concurrency context to score the example set with or {@code null} if it should
+	 * be scored sequentially. This is the case if the model is not {@link PredictionModel#isThreadSafe()
+	 * thread-safe}, if the example set is too small or in the cases of
+	 * {@link #getContext(Operator, ExampleSet)} for the operator applying the model.
+	 *
+	 * @param model
+	 *            the model to apply
+	 * @param exampleSet
+	 *            the example set to score
+	 * @return the context or {@code null}
+	 */
+	public static ConcurrencyContext getContext(PredictionModel model, ExampleSet exampleSet) {
+		if (!model.isThreadSafe() || exampleSet.size() <= CHUNK_SIZE) {
+			return null;
+		}
+		return getContext(model.getOperator(), exampleSet);
+	}
+
+	/**
+	 * Returns the concurrency context of the operator or {@code null} if the example set should be
+	 * scored sequentially. This is the case if there is no operator within a process, if only one
+	 * thread is available or if the example set cannot be read concurrently.
+	 *
+	 * @param operator
+	 *            the operator applying the model, can be {@code null}
+	 * @param exampleSet
+	 *            the example set to score
+	 * @return the context or {@code null}
+	 */
+	public static ConcurrencyContext getContext(Operator operator, ExampleSet exampleSet) {
+		if (operator == null || operator.getProcess() == null) {
+			return null;
+		}
+		ConcurrencyContext context = Resources.getConcurrencyContext(operator);
+		if (context.getParallelism() < 2 || !ExampleSets.isThreadSafe(exampleSet)) {
+			return null;
+		}
+		return context;
+	}
+
+	/**
+	 * Scores all examples of the example set.
+	 *
+	 * @param exampleSet
+	 *            the example set to score, must be thread-safe if a context is given
+	 * @param predictedLabel
+	 *            the predicted label attribute
+	 * @param scorer
+	 *            scores a single example
+	 * @param context
+	 *            the context to score concurrently, see
+	 *            {@link #getContext(PredictionModel, ExampleSet)}, can be {@code null}
+	 * @param progress
+	 *            the progress to update after every block, can be {@code null}
+	 * @throws OperatorException
+	 *             if the process is stopped or scoring fails
+	 */
+	public static void predict(ExampleSet exampleSet, Attribute predictedLabel, ExampleScorer scorer,
+			ConcurrencyContext context, OperatorProgress progress) throws OperatorException {
+		Attribute[] outputs = getOutputAttributes(exampleSet, predictedLabel);
+		int[] outputIndices = new int[outputs.length];
+		for (int i = 0; i < outputs.length; i++) {
+			outputIndices[i] = outputs[i].getTableIndex();
+		}
+
+		int blockSize = getBlockSize(exampleSet.size(), context);
+		double[] values = new double[blockSize * outputs.length];
+		boolean[] written = new boolean[values.length];
+		processBlocks(exampleSet.size(), blockSize, context, progress, (blockStart, from, to) -> {
+			for (int row = from; row < to; row++) {
+				int offset = (row - blockStart) * outputIndices.length;
+				scorer.score(new BufferedExample(exampleSet.getExample(row), exampleSet, outputIndices, values,
+						written, offset));
+			}
+		}, (blockStart, from, to) -> {
+			for (int row = from; row < to; row++) {
+				Example example = exampleSet.getExample(row);
+				int offset = (row - blockStart) * outputs.length;
+				for (int i = 0; i < outputs.length; i++) {
+					if (written[offset + i]) {
+						example.setValue(outputs[i], values[offset + i]);
+						written[offset + i] = false;
+					}
+				}
+			}
+		});
+	}
+
+	/**
+	 * Scores all examples of the example set on the values of the given attributes.
+	 *
+	 * @param exampleSet
+	 *            the example set to score, must be thread-safe if a context is given
+	 * @param attributes
+	 *            the attributes whose values are passed to the scorer
+	 * @param resultSize
+	 *            the length of the result per example
+	 * @param scorer
+	 *            computes the result per example
+	 * @param writer
+	 *            writes the result per example
+	 * @param context
+	 *            the context to score concurrently, see {@link #getContext(Operator, ExampleSet)},
+	 *            can be {@code null}
+	 * @param progress
+	 *            the progress to update after every block, can be {@code null}
+	 * @throws OperatorException
+	 *             if the process is stopped or scoring fails
+	 */
+	public static void score(ExampleSet exampleSet, Attribute[] attributes, int resultSize, RowScorer scorer,
+			ResultWriter writer, ConcurrencyContext context, OperatorProgress progress) throws OperatorException {
+		int blockSize = getBlockSize(exampleSet.size(), context);
+		double[][] results = new double[blockSize][resultSize];
+		processBlocks(exampleSet.size(), blockSize, context, progress, (blockStart, from, to) -> {
+			double[] values = new double[attributes.length];
+			for (int row = from; row < to; row++) {
+				Example example = exampleSet.getExample(row);
+				for (int i = 0; i < attributes.length; i++) {
+					values[i] = example.getValue(attributes[i]);
+				}
+				double[] result = results[row - blockStart];
+				Arrays.fill(result, 0);
+				scorer.score(values, result);
+			}
+		}, (blockStart, from, to) -> {
+			for (int row = from; row < to; row++) {
+				writer.write(exampleSet.getExample(row), results[row - blockStart]);
+			}
+		});
+	}
+
+	/**
+	 * @return the number of rows whose results are buffered at the same time
+	 */
+	private static int getBlockSize(int size, ConcurrencyContext context) {
+		int parallelism = context == null ? 1 : context.getParallelism();
+		return Math.max(1, Math.min(size, parallelism * CHUNK_SIZE));
+	}
+
+	/**
+	 * Scores the rows block by block, the chunks of a block concurrently if a context is given, and
+	 * writes the results of each block by the calling thread.
+	 */
+	private static void processBlocks(int size, int blockSize, ConcurrencyContext context, OperatorProgress progress,
+			ChunkProcessor scorer, ChunkProcessor writer) throws OperatorException {
+		for (int blockStart = 0; blockStart < size; blockStart += blockSize) {
+			int blockEnd = Math.min(size, blockStart + blockSize);
+			if (context != null && context.getParallelism() > 1 && blockEnd - blockStart > CHUNK_SIZE) {
+				scoreConcurrently(scorer, blockStart, blockEnd, context);
+			} else {
+				scorer.process(blockStart, blockStart, blockEnd);
+			}
+			writer.process(blockStart, blockStart, blockEnd);
+			if (progress != null) {
+				progress.setCompleted(blockEnd);
+			}
+		}
+	}
+
+	private static void scoreConcurrently(ChunkProcessor scorer, int blockStart, int blockEnd,
+			ConcurrencyContext context) throws OperatorException {
+		List<Callable<Void>> tasks = new ArrayList<>();
+		for (int chunkStart = blockStart; chunkStart < blockEnd; chunkStart += CHUNK_SIZE) {
+			int from = chunkStart;
+			int to = Math.min(blockEnd, chunkStart + CHUNK_SIZE);
+			tasks.add(() -> {
+				context.checkStatus();
+				scorer.process(blockStart, from, to);
+				return null;
+			});
+		}
+		try {
+			context.call(tasks);
+		} catch (ExecutionException e) {
+			throw ConcurrencyTools.unwrap(e);
+		}
+	}
+
+	/**
+	 * Returns the predicted label followed by all confidence attributes of the example set.
+	 */
+	private static Attribute[] getOutputAttributes(ExampleSet exampleSet, Attribute predictedLabel) {
+		List<Attribute> outputs = new ArrayList<>();
+		outputs.add(predictedLabel);
+		String confidencePrefix = Attributes.CONFIDENCE_NAME + "_";
+		Iterator<AttributeRole> roles = exampleSet.getAttributes().specialAttributes();
+		while (roles.hasNext()) {
+			AttributeRole role = roles.next();
+			if (role.getSpecialName().startsWith(confidencePrefix)) {
+				outputs.add(role.getAttribute());
+			}
+		}
+		return outputs.toArray(new Attribute[0]);
+	}
+
+	/**
+	 * An example that keeps the values set for the output attributes in a buffer instead of writing
+	 * them to the example table. Reading an output attribute returns the buffered value once it was
+	 * set.
+	 */
+	private static final class BufferedExample extends Example {
+
+		private static final long serialVersionUID = 1L;
+
+		private final Example example;
+		private final int[] outputIndices;
+		private final double[] values;
+		private final boolean[] written;
+		private final int offset;
+
+		private BufferedExample(Example example, ExampleSet exampleSet, int[] outputIndices, double[] values,
+				boolean[] written, int offset) {
+			super(example.getDataRow(), exampleSet);
+			this.example = example;
+			this.outputIndices = outputIndices;
+			this.values = values;
+			this.written = written;
+			this.offset = offset;
+		}
+
+		@Override
+		public double getValue(Attribute a) {
+			int index = outputIndex(a);
+			if (index >= 0 && written[offset + index]) {
+				return values[offset + index];
+			}
+			return example.getValue(a);
+		}
+
+		@Override
+		public void setValue(Attribute a, double value) {
+			int index = outputIndex(a);
+			if (index < 0) {
+				throw new UnsupportedOperationException(
+						"Only the prediction and confidences can be set while scoring concurrently");
+			}
+			values[offset + index] = value;
+			written[offset + index] = true;
+		}
+
+		/**
+		 * Sets the index of the given nominal value. The mapping of the attribute is only read since
+		 * it is shared by all scoring threads, so the value must already be mapped.
+		 */
+		@Override
+		public void setValue(Attribute a, String str) {
+			if (str == null || !a.isNominal()) {
+				super.setValue(a, str);
+				return;
+			}
+			int mappedIndex = a.getMapping().getIndex(str);
+			if (mappedIndex < 0) {
+				throw new UnsupportedOperationException("The value '" + str + "' is not part of the mapping of '"
+						+ a.getName() + "' and cannot be added while scoring concurrently");
+			}
+			setValue(a, mappedIndex);
+		}
+
+		private int outputIndex(Attribute a) {
+			int tableIndex = a.getTableIndex();
+			for (int i = 0; i < outputIndices.length; i++) {
+				if (outputIndices[i] == tableIndex) {
+					return i;
+				}
+			}
+			return -1;
+		}
+	}
+}
@@ -104,6 +104,21 @@ public abstract class PredictionModel extends AbstractModel {
 	 */
 	public abstract ExampleSet performPrediction(ExampleSet exampleSet, Attribute predictedLabel) throws OperatorException;
 
+	/**
+	 * Returns whether examples can be scored by this model from different threads concurrently.
+	 * Models that score each example separately, e.g. {@link SimplePredictionModel}s, use this to
+	 * score chunks of rows concurrently, see {@link ChunkedPrediction}. The default implementation
+	 * returns {@code false}. Since subclasses can change how examples are scored, implementations
+	 * should only return {@code true} for their own class, e.g. by checking
+	 * {@code getClass() == MyModel.class}, so that every subclass has to opt in itself.
+	 *
+	 * @return {@code true} if examples can be scored concurrently
+	 * @since 9.7
+	 */
+	public boolean isThreadSafe() {
+		return false;
+	}
+
 	/**
 	 * Applies the model by creating a predicted label attribute and setting the predicted label
 	 * values.
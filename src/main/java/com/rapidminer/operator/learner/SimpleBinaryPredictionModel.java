@@ -20,6 +20,7 @@ package com.rapidminer.operator.learner;
 
 import java.util.Iterator;
 
+import com.rapidminer.core.concurrency.ConcurrencyContext;
 import com.rapidminer.example.Attribute;
 import com.rapidminer.example.Example;
 import com.rapidminer.example.ExampleSet;
@@ -68,31 +69,23 @@ public abstract class SimpleBinaryPredictionModel extends PredictionModel {
 			throw new UserError(null, 114, getName(), predictedLabel.getName());
 		}
 
-		Iterator<Example> r = exampleSet.iterator();
 		OperatorProgress progress = null;
 		if (getShowProgress() && getOperator() != null && getOperator().getProgress() != null) {
 			progress = getOperator().getProgress();
 			progress.setTotal(exampleSet.size());
 		}
-		int progressCounter = 0;
 
-		while (r.hasNext()) {
-			Example example = r.next();
-			double functionValue = predict(example) - threshold;
-
-			// map prediction
-			if (functionValue > 0.0d) {
-				example.setValue(predictedLabel, getLabel().getMapping().getPositiveIndex());
-			} else {
-				example.setValue(predictedLabel, getLabel().getMapping().getNegativeIndex());
-			}
-
-			// set confidence values
-			example.setConfidence(getLabel().getMapping().mapIndex(predictedLabel.getMapping().getPositiveIndex()),
-					1.0d / (1.0d + java.lang.Math.exp(-functionValue)));
-			example.setConfidence(getLabel().getMapping().mapIndex(predictedLabel.getMapping().getNegativeIndex()),
-					1.0d / (1.0d + java.lang.Math.exp(functionValue)));
+		ConcurrencyContext context = ChunkedPrediction.getContext(this, exampleSet);
+		if (context != null) {
+			ChunkedPrediction.predict(exampleSet, predictedLabel, example -> score(example, predictedLabel), context,
+					progress);
+			return exampleSet;
+		}
 
+		Iterator<Example> r = exampleSet.iterator();
+		int progressCounter = 0;
+		while (r.hasNext()) {
+			score(r.next(), predictedLabel);
 			if (progress != null && ++progressCounter % OPERATOR_PROGRESS_STEPS == 0) {
 				progress.setCompleted(progressCounter);
 			}
@@ -100,4 +93,22 @@ public abstract class SimpleBinaryPredictionModel extends PredictionModel {
 
 		return exampleSet;
 	}
+
+	/** Sets the prediction and the confidences of the given example. */
+	private void score(Example example, Attribute predictedLabel) throws OperatorException {
+		double functionValue = predict(example) - threshold;
+
+		// map prediction
+		if (functionValue > 0.0d) {
+			example.setValue(predictedLabel, getLabel().getMapping().getPositiveIndex());
+		} else {
+			example.setValue(predictedLabel, getLabel().getMapping().getNegativeIndex());
+		}
+
+		// set confidence values
+		example.setConfidence(getLabel().getMapping().mapIndex(predictedLabel.getMapping().getPositiveIndex()),
+				1.0d / (1.0d + java.lang.Math.exp(-functionValue)));
+		example.setConfidence(getLabel().getMapping().mapIndex(predictedLabel.getMapping().getNegativeIndex()),
+				1.0d / (1.0d + java.lang.Math.exp(functionValue)));
+	}
 }
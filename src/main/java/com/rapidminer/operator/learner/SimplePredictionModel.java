@@ -20,6 +20,7 @@ package com.rapidminer.operator.learner;
 
 import java.util.Iterator;
 
+import com.rapidminer.core.concurrency.ConcurrencyContext;
 import com.rapidminer.example.Attribute;
 import com.rapidminer.example.Example;
 import com.rapidminer.example.ExampleSet;
@@ -77,17 +78,27 @@ public abstract class SimplePredictionModel extends PredictionModel {
 	 */
 	public abstract double predict(Example example) throws OperatorException;
 
-	/** Iterates over all examples and applies the model to them. */
+	/**
+	 * Iterates over all examples and applies the model to them. If the model is
+	 * {@link #isThreadSafe() thread-safe}, chunks of examples are scored concurrently.
+	 */
 	@Override
 	public ExampleSet performPrediction(ExampleSet exampleSet, Attribute predictedLabel) throws OperatorException {
-		Iterator<Example> r = exampleSet.iterator();
 		OperatorProgress progress = null;
 		if (getShowProgress() && getOperator() != null && getOperator().getProgress() != null) {
 			progress = getOperator().getProgress();
 			progress.setTotal(exampleSet.size());
 		}
-		int progressCounter = 0;
 
+		ConcurrencyContext context = ChunkedPrediction.getContext(this, exampleSet);
+		if (context != null) {
+			ChunkedPrediction.predict(exampleSet, predictedLabel, example -> example.setValue(predictedLabel, predict(example)),
+					context, progress);
+			return exampleSet;
+		}
+
+		Iterator<Example> r = exampleSet.iterator();
+		int progressCounter = 0;
 		while (r.hasNext()) {
 			Example example = r.next();
 			example.setValue(predictedLabel, predict(example));
@@ -18,21 +18,31 @@
  */
 package com.rapidminer.operator.learner.associations;
 
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
 
+import com.rapidminer.core.concurrency.ConcurrencyContext;
 import com.rapidminer.operator.Operator;
 import com.rapidminer.operator.OperatorDescription;
 import com.rapidminer.operator.OperatorException;
+import com.rapidminer.operator.concurrency.internal.ConcurrencyTools;
 import com.rapidminer.operator.learner.associations.fpgrowth.FPGrowth;
 import com.rapidminer.operator.ports.InputPort;
 import com.rapidminer.operator.ports.OutputPort;
 import com.rapidminer.operator.ports.metadata.GenerateNewMDRule;
 import com.rapidminer.parameter.ParameterType;
+import com.rapidminer.parameter.ParameterTypeBoolean;
 import com.rapidminer.parameter.ParameterTypeCategory;
 import com.rapidminer.parameter.ParameterTypeDouble;
 import com.rapidminer.parameter.conditions.EqualTypeCondition;
+import com.rapidminer.studio.internal.Resources;
 
 
 /**
@@ -65,6 +75,13 @@ public class AssociationRuleGenerator extends Operator {
 
 	public static final String PARAMETER_LAPLACE_K = "laplace_k";
 
+	/**
+	 * Indicates if the rules should be generated concurrently from integer coded item sets.
+	 *
+	 * @since 9.7
+	 */
+	public static final String PARAMETER_USE_ITEM_SET_INDEX = "use_item_set_index";
+
 	public static final String[] CRITERIA = {"confidence", "lift", "conviction", "ps", "gain", "laplace"};
 
 	public static final int CONFIDENCE = 0;
@@ -74,6 +91,9 @@ public class AssociationRuleGenerator extends Operator {
 	public static final int GAIN = 4;
 	public static final int LAPLACE = 5;
 
+	/** The number of sets for which the rules are generated in one task. */
+	private static final int CHUNK_SIZE = 1000;
+
 	public AssociationRuleGenerator(OperatorDescription description) {
 		super(description);
 		getTransformer().addRule(new GenerateNewMDRule(rulesOutput, AssociationRules.class));
@@ -91,13 +111,30 @@ public class AssociationRuleGenerator extends Operator {
 		int criterion = getParameterAsInt(PARAMETER_CRITERION);
 
 		FrequentItemSets sets = itemSetsInput.getData(FrequentItemSets.class);
+		AssociationRules rules;
+		sets.sortSets();
+		if (getParameterAsBoolean(PARAMETER_USE_ITEM_SET_INDEX) && getMaximumSetSize(sets) < Long.SIZE - 1) {
+			rules = generateRulesWithIndex(sets, minValue, theta, laplaceK, criterion);
+		} else {
+			rules = generateRules(sets, minValue, theta, laplaceK, criterion);
+		}
+		rules.sort();
+		rulesOutput.deliver(rules);
+		itemSetsOutput.deliver(sets);
+	}
+
+	/**
+	 * Generates the rules of every set by looking up the frequencies of all subsets in a frequency
+	 * map. The sets have to be sorted.
+	 */
+	private AssociationRules generateRules(FrequentItemSets sets, double minValue, double theta, double laplaceK,
+			int criterion) throws OperatorException {
 		AssociationRules rules = new AssociationRules();
 		HashMap<Collection<Item>, Integer> setFrequencyMap = new HashMap<>();
 		int numberOfTransactions = sets.getNumberOfTransactions();
 
 		// iterating sorted over every frequent Set, generating every possible rule and building
 		// frequency map
-		sets.sortSets();
 		int progressCounter = 0;
 		getProgress().setTotal(sets.size());
 		for (FrequentItemSet set : sets) {
@@ -115,20 +152,8 @@ public class AssociationRuleGenerator extends Operator {
 						double value = getCriterionValue(totalFrequency, preconditionFrequency, conclusionFrequency,
 								numberOfTransactions, theta, laplaceK, criterion);
 						if (value >= minValue) {
-							AssociationRule rule = new AssociationRule(premises, conclusion,
-									getSupport(totalFrequency, numberOfTransactions));
-							rule.setConfidence(getConfidence(totalFrequency, preconditionFrequency));
-							rule.setLift(getLift(totalFrequency, preconditionFrequency, conclusionFrequency,
-									numberOfTransactions));
-							rule.setConviction(getConviction(totalFrequency, preconditionFrequency, conclusionFrequency,
-									numberOfTransactions));
-							rule.setPs(
-									getPs(totalFrequency, preconditionFrequency, conclusionFrequency, numberOfTransactions));
-							rule.setGain(getGain(theta, totalFrequency, preconditionFrequency,
-									numberOfTransactions));
-							rule.setLaplace(getLaPlace(laplaceK, totalFrequency, preconditionFrequency,
-									numberOfTransactions));
-							rules.addItemRule(rule);
+							rules.addItemRule(createRule(premises, conclusion, totalFrequency, preconditionFrequency,
+									conclusionFrequency, numberOfTransactions, theta, laplaceK));
 						}
 					}
 				}
@@ -137,9 +162,106 @@ public class AssociationRuleGenerator extends Operator {
 				getProgress().step(100);
 			}
 		}
-		rules.sort();
-		rulesOutput.deliver(rules);
-		itemSetsOutput.deliver(sets);
+		return rules;
+	}
+
+	/**
+	 * Generates the same rules as {@link #generateRules(FrequentItemSets, double, double, double, int)}
+	 * but encodes the items as integer ids and looks up the frequencies of subsets in an
+	 * {@link ItemSetIndex}. The sets are processed concurrently in chunks. For the confidence
+	 * criterion, conclusions are grown Apriori-style instead of enumerating the power set if the
+	 * frequencies are monotone. The sets have to be sorted and may not contain more than 62 items.
+	 */
+	private AssociationRules generateRulesWithIndex(FrequentItemSets sets, double minValue, double theta,
+			double laplaceK, int criterion) throws OperatorException {
+		// encode the sets, later sets with equal items replace the frequency of earlier ones like in
+		// the frequency map
+		Map<Item, Integer> itemIds = new HashMap<>();
+		int[][] encodedSets = new int[sets.size()][];
+		ItemSetIndex index = new ItemSetIndex();
+		int[] key = new int[Math.max(1, getMaximumSetSize(sets))];
+		for (int i = 0; i < encodedSets.length; i++) {
+			FrequentItemSet set = sets.getItemSet(i);
+			int[] encodedSet = new int[set.getNumberOfItems()];
+			int position = 0;
+			for (Item item : set.getItems()) {
+				Integer id = itemIds.get(item);
+				if (id == null) {
+					id = itemIds.size();
+					itemIds.put(item, id);
+				}
+				encodedSet[position++] = id;
+			}
+			encodedSets[i] = encodedSet;
+			System.arraycopy(encodedSet, 0, key, 0, encodedSet.length);
+			Arrays.sort(key, 0, encodedSet.length);
+			index.put(key, encodedSet.length, set.getFrequency());
+		}
+		boolean growConclusions = criterion == CONFIDENCE && index.isMonotone();
+		IndexedRuleGenerator generator = new IndexedRuleGenerator(index, sets.getNumberOfTransactions(), minValue,
+				theta, laplaceK, criterion, growConclusions);
+
+		AssociationRules rules = new AssociationRules();
+		ConcurrencyContext context = Resources.getConcurrencyContext(this);
+		getProgress().setTotal(encodedSets.length);
+		int blockSize = Math.max(1, context.getParallelism()) * CHUNK_SIZE;
+		for (int blockStart = 0; blockStart < encodedSets.length; blockStart += blockSize) {
+			int blockEnd = Math.min(encodedSets.length, blockStart + blockSize);
+			List<Callable<List<AssociationRule>>> tasks = new ArrayList<>();
+			for (int chunkStart = blockStart; chunkStart < blockEnd; chunkStart += CHUNK_SIZE) {
+				int from = chunkStart;
+				int to = Math.min(blockEnd, chunkStart + CHUNK_SIZE);
+				tasks.add(() -> {
+					context.checkStatus();
+					List<AssociationRule> chunkRules = new ArrayList<>();
+					for (int i = from; i < to; i++) {
+						generator.generate(sets.getItemSet(i), encodedSets[i], chunkRules);
+					}
+					return chunkRules;
+				});
+			}
+			List<List<AssociationRule>> results;
+			try {
+				results = context.call(tasks);
+			} catch (ExecutionException e) {
+				throw ConcurrencyTools.unwrap(e);
+			}
+			for (List<AssociationRule> chunkRules : results) {
+				for (AssociationRule rule : chunkRules) {
+					rules.addItemRule(rule);
+				}
+			}
+			getProgress().setCompleted(blockEnd);
+		}
+		return rules;
+	}
+
+	/**
+	 * Returns the number of items of the largest set.
+	 */
+	private static int getMaximumSetSize(FrequentItemSets sets) {
+		int maximumSetSize = 0;
+		for (FrequentItemSet set : sets) {
+			maximumSetSize = Math.max(maximumSetSize, set.getNumberOfItems());
+		}
+		return maximumSetSize;
+	}
+
+	/**
+	 * Creates the rule with all criteria values.
+	 */
+	private AssociationRule createRule(Collection<Item> premises, Collection<Item> conclusion, int totalFrequency,
+			int preconditionFrequency, int conclusionFrequency, int numberOfTransactions, double theta,
+			double laplaceK) {
+		AssociationRule rule = new AssociationRule(premises, conclusion, getSupport(totalFrequency, numberOfTransactions));
+		rule.setConfidence(getConfidence(totalFrequency, preconditionFrequency));
+		rule.setLift(getLift(totalFrequency, preconditionFrequency, conclusionFrequency, numberOfTransactions));
+		rule.setConviction(getConviction(totalFrequency, preconditionFrequency, conclusionFrequency,
+				numberOfTransactions));
+		rule.setPs(getPs(totalFrequency, preconditionFrequency, conclusionFrequency, numberOfTransactions));
+		rule.setGain(getGain(theta, totalFrequency, preconditionFrequency, numberOfTransactions));
+		rule.setLaplace(getLaPlace(laplaceK, totalFrequency, preconditionFrequency, numberOfTransactions));
+		return rule;
 	}
 
 	private double getCriterionValue(int totalFrequency, int preconditionFrequency, int conclusionFrequency,
@@ -241,6 +363,177 @@ public class AssociationRuleGenerator extends Operator {
 		type.setExpert(true);
 		types.add(type);
 
+		type = new ParameterTypeBoolean(PARAMETER_USE_ITEM_SET_INDEX,
+				"Indicates if the rules should be generated in parallel from integer coded item sets. For the confidence criterion, rules are only extended by moving premises to the conclusion while they satisfy the minimal confidence. Generates the same rules.",
+				false);
+		type.setExpert(true);
+		types.add(type);
+
 		return types;
 	}
+
+	/**
+	 * Generates the rules of single sets from their encoded items. The index is only read, so the
+	 * generator can be used by several threads.
+	 */
+	private final class IndexedRuleGenerator {
+
+		private final ItemSetIndex index;
+		private final int numberOfTransactions;
+		private final double minValue;
+		private final double theta;
+		private final double laplaceK;
+		private final int criterion;
+		private final boolean growConclusions;
+
+		private IndexedRuleGenerator(ItemSetIndex index, int numberOfTransactions, double minValue, double theta,
+				double laplaceK, int criterion, boolean growConclusions) {
+			this.index = index;
+			this.numberOfTransactions = numberOfTransactions;
+			this.minValue = minValue;
+			this.theta = theta;
+			this.laplaceK = laplaceK;
+			this.criterion = criterion;
+			this.growConclusions = growConclusions;
+		}
+
+		/**
+		 * Adds the rules of the set in the order in which the {@link PowerSet} of its items returns
+		 * the premises.
+		 *
+		 * @param set
+		 *            the set to generate the rules for
+		 * @param encodedSet
+		 *            the ids of the items of the set
+		 * @param rules
+		 *            the list to add the rules to
+		 */
+		private void generate(FrequentItemSet set, int[] encodedSet, List<AssociationRule> rules) {
+			int numberOfItems = encodedSet.length;
+			if (numberOfItems < 2) {
+				return;
+			}
+			// the positions of the items sorted by their ids, so that subsets are encoded sorted
+			int[] positions = new int[numberOfItems];
+			for (int i = 0; i < numberOfItems; i++) {
+				int position = i;
+				while (position > 0 && encodedSet[positions[position - 1]] > encodedSet[i]) {
+					positions[position] = positions[position - 1];
+					position--;
+				}
+				positions[position] = i;
+			}
+			int[] key = new int[numberOfItems];
+			long allItems = (1L << numberOfItems) - 1;
+
+			if (!growConclusions) {
+				for (long premises = 1; premises < allItems; premises++) {
+					AssociationRule rule = getRule(set, encodedSet, positions, key, premises, allItems);
+					if (rule != null) {
+						rules.add(rule);
+					}
+				}
+				return;
+			}
+
+			// moving items from the premises to the conclusion cannot increase the confidence, so
+			// only conclusions whose subsets all satisfy the minimal confidence are tried
+			TreeMap<Long, AssociationRule> setRules = new TreeMap<>();
+			long[] conclusions = new long[numberOfItems];
+			for (int i = 0; i < numberOfItems; i++) {
+				conclusions[i] = 1L << i;
+			}
+			for (int conclusionSize = 1; conclusionSize < numberOfItems && conclusions.length > 0; conclusionSize++) {
+				int accepted = 0;
+				for (long conclusion : conclusions) {
+					long premises = allItems ^ conclusion;
+					AssociationRule rule = getRule(set, encodedSet, positions, key, premises, allItems);
+					if (rule != null) {
+						setRules.put(premises, rule);
+						conclusions[accepted++] = conclusion;
+					}
+				}
+				conclusions = getNextConclusions(conclusions, accepted);
+			}
+			rules.addAll(setRules.values());
+		}
+
+		/**
+		 * Returns the rule for the premises if its value for the criterion is at least the minimal
+		 * value, {@code null} otherwise.
+		 */
+		private AssociationRule getRule(FrequentItemSet set, int[] encodedSet, int[] positions, int[] key,
+				long premises, long allItems) {
+			int totalFrequency = set.getFrequency();
+			int preconditionFrequency = getFrequency(encodedSet, positions, key, premises);
+			int conclusionFrequency = getFrequency(encodedSet, positions, key, allItems ^ premises);
+			double value = getCriterionValue(totalFrequency, preconditionFrequency, conclusionFrequency,
+					numberOfTransactions, theta, laplaceK, criterion);
+			if (!(value >= minValue)) {
+				return null;
+			}
+			List<Item> premiseItems = new ArrayList<>();
+			List<Item> conclusionItems = new ArrayList<>();
+			for (int i = 0; i < encodedSet.length; i++) {
+				if ((premises >>> i & 1) != 0) {
+					premiseItems.add(set.getItem(i));
+				} else {
+					conclusionItems.add(set.getItem(i));
+				}
+			}
+			return createRule(premiseItems, conclusionItems, totalFrequency, preconditionFrequency,
+					conclusionFrequency, numberOfTransactions, theta, laplaceK);
+		}
+
+		/**
+		 * Returns the frequency of the subset of the items selected by the mask.
+		 */
+		private int getFrequency(int[] encodedSet, int[] positions, int[] key, long mask) {
+			int length = 0;
+			for (int position : positions) {
+				if ((mask >>> position & 1) != 0) {
+					key[length++] = encodedSet[position];
+				}
+			}
+			return index.getFrequency(key, length);
+		}
+
+		/**
+		 * Joins the accepted conclusions which only differ in their highest item to the conclusions
+		 * with one more item whose subsets were all accepted.
+		 */
+		private long[] getNextConclusions(long[] conclusions, int count) {
+			Arrays.sort(conclusions, 0, count);
+			long[] candidates = new long[count];
+			int numberOfCandidates = 0;
+			for (int i = 0; i < count; i++) {
+				long prefix = conclusions[i] ^ Long.highestOneBit(conclusions[i]);
+				for (int j = i + 1; j < count; j++) {
+					if ((conclusions[j] ^ Long.highestOneBit(conclusions[j])) == prefix) {
+						long candidate = conclusions[i] | conclusions[j];
+						if (containsSubsets(conclusions, count, candidate)) {
+							if (numberOfCandidates == candidates.length) {
+								candidates = Arrays.copyOf(candidates, 2 * numberOfCandidates + 1);
+							}
+							candidates[numberOfCandidates++] = candidate;
+						}
+					}
+				}
+			}
+			return Arrays.copyOf(candidates, numberOfCandidates);
+		}
+
+		/**
+		 * Checks whether all subsets of the candidate with one item less are contained in the sorted
+		 * conclusions.
+		 */
+		private boolean containsSubsets(long[] conclusions, int count, long candidate) {
+			for (long remaining = candidate; remaining != 0; remaining &= remaining - 1) {
+				if (Arrays.binarySearch(conclusions, 0, count, candidate ^ Long.lowestOneBit(remaining)) < 0) {
+					return false;
+				}
+			}
+			return true;
+		}
+	}
 }
\ No newline at end of file
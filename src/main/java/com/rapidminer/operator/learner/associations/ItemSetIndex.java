@@ -0,0 +1,176 @@
+/**
+ * Copyright (C) 2001-2020 by RapidMiner and the contributors
+ * 
+ * Complete list of developers available at our web site:
+ * 
+ * http://rapidminer.com
+ * 
+ * This program is free software: you can redistribute it and/or modify it under the terms of the
+ * GNU Affero General Public License as published by the Free Software Foundation, either version 3
+ * of the License, or (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without
+ * even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Affero General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Affero General Public License along with this program.
+ * If not, see http://www.gnu.org/licenses/.
+*/
+package com.rapidminer.operator.learner.associations;
+
+import java.util.Arrays;
+
+
+/**
+ * A hash index of the frequencies of item sets whose items are encoded as sorted arrays of integer
+ * ids. The ids of all item sets are stored one after the other in a single array and the hash table
+ * refers to the item sets by their number, so that no collection is kept per item set. Reading from
+ * a complete index is thread-safe.
+ *
+ * @since 9.7
+ */
+final class ItemSetIndex {
+
+	private static final int INITIAL_CAPACITY = 16;
+
+	/** the ids of all item sets */
+	private int[] ids = new int[INITIAL_CAPACITY];
+
+	/** the start of every item set in the ids and the end of the last item set */
+	private int[] offsets = new int[INITIAL_CAPACITY + 1];
+
+	private int[] frequencies = new int[INITIAL_CAPACITY];
+
+	/** the number of the item set plus one for every used slot, {@code 0} for empty slots */
+	private int[] table = new int[2 * INITIAL_CAPACITY];
+
+	private int numberOfSets;
+
+	/**
+	 * Sets the frequency of the item set, replacing the frequency of an equal item set.
+	 *
+	 * @param key
+	 *            the ids of the items in ascending order
+	 * @param length
+	 *            the number of ids of the item set
+	 * @param frequency
+	 *            the frequency of the item set
+	 */
+	void put(int[] key, int length, int frequency) {
+		int slot = getSlot(key, length);
+		if (table[slot] != 0) {
+			frequencies[table[slot] - 1] = frequency;
+			return;
+		}
+		if (numberOfSets == frequencies.length) {
+			frequencies = Arrays.copyOf(frequencies, 2 * numberOfSets);
+			offsets = Arrays.copyOf(offsets, 2 * numberOfSets + 1);
+		}
+		int start = offsets[numberOfSets];
+		if (start + length > ids.length) {
+			ids = Arrays.copyOf(ids, Math.max(2 * ids.length, start + length));
+		}
+		System.arraycopy(key, 0, ids, start, length);
+		frequencies[numberOfSets] = frequency;
+		offsets[numberOfSets + 1] = start + length;
+		table[slot] = ++numberOfSets;
+		if (2 * numberOfSets > table.length) {
+			rehash();
+		}
+	}
+
+	/**
+	 * Returns the frequency of the item set or {@code 0} if it is not contained.
+	 *
+	 * @param key
+	 *            the ids of the items in ascending order
+	 * @param length
+	 *            the number of ids of the item set
+	 */
+	int getFrequency(int[] key, int length) {
+		int set = table[getSlot(key, length)];
+		return set == 0 ? 0 : frequencies[set - 1];
+	}
+
+	/**
+	 * Checks whether all item sets have a positive frequency and whether every subset with one item
+	 * less of an item set is contained with at least the same frequency. Then the frequency of an
+	 * item set is never smaller than the frequency of any superset.
+	 *
+	 * @return whether the frequencies are positive and monotone
+	 */
+	boolean isMonotone() {
+		int[] subset = new int[INITIAL_CAPACITY];
+		for (int set = 0; set < numberOfSets; set++) {
+			int start = offsets[set];
+			int length = offsets[set + 1] - start;
+			if (frequencies[set] <= 0) {
+				return false;
+			}
+			if (length > subset.length) {
+				subset = new int[length];
+			}
+			for (int skipped = 0; skipped < length && length > 1; skipped++) {
+				int subsetLength = 0;
+				for (int i = 0; i < length; i++) {
+					if (i != skipped) {
+						subset[subsetLength++] = ids[start + i];
+					}
+				}
+				int subsetSet = table[getSlot(subset, subsetLength)];
+				if (subsetSet == 0 || frequencies[subsetSet - 1] < frequencies[set]) {
+					return false;
+				}
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Returns the slot of the item set or the empty slot where it would be inserted.
+	 */
+	private int getSlot(int[] key, int length) {
+		int mask = table.length - 1;
+		int slot = hash(key, 0, length) & mask;
+		while (table[slot] != 0 && !equals(table[slot] - 1, key, length)) {
+			slot = slot + 1 & mask;
+		}
+		return slot;
+	}
+
+	private boolean equals(int set, int[] key, int length) {
+		int start = offsets[set];
+		if (offsets[set + 1] - start != length) {
+			return false;
+		}
+		for (int i = 0; i < length; i++) {
+			if (ids[start + i] != key[i]) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private void rehash() {
+		table = new int[2 * table.length];
+		int mask = table.length - 1;
+		for (int set = 0; set < numberOfSets; set++) {
+			int slot = hash(ids, offsets[set], offsets[set + 1]) & mask;
+			while (table[slot] != 0) {
+				slot = slot + 1 & mask;
+			}
+			table[slot] = set + 1;
+		}
+	}
+
+	private static int hash(int[] values, int from, int to) {
+		int hash = 1;
+		for (int i = from; i < to; i++) {
+			hash = 31 * hash + values[i];
+		}
+		// spread the bits since the slot is selected by the lower bits
+		hash *= 0x9E3779B9;
+		return hash ^ hash >>> 16;
+	}
+
+}
@@ -0,0 +1,239 @@
+/**
+ * Copyright (C) 2001-2020 by RapidMiner and the contributors
+ * 
+ * Complete list of developers available at our web site:
+ * 
+ * http://rapidminer.com
+ * 
+ * This program is free software: you can redistribute it and/or modify it under the terms of the
+ * GNU Affero General Public License as published by the Free Software Foundation, either version 3
+ * of the License, or (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without
+ * even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Affero General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Affero General Public License along with this program.
+ * If not, see http://www.gnu.org/licenses/.
+*/
+package com.rapidminer.operator.learner.associations.fpgrowth;
+
+import java.util.Arrays;
+
+
+/**
+ * An FP-tree on integer coded items whose nodes are stored in parallel arrays instead of
+ * {@link FPTreeNode} objects. The items of a tree are numbered from {@code 0} in the order in which
+ * they appear on the paths and the tree remembers the global index of every item. Conditional trees
+ * are built as new trees, so that a tree can be mined from several threads once it is complete.
+ *
+ * @since 9.7
+ */
+final class CompactFPTree {
+
+	/** the index of the root node, also marks missing nodes since the root is never a child */
+	private static final int ROOT = 0;
+
+	private static final int INITIAL_CAPACITY = 16;
+
+	/** the global index of every item of this tree */
+	private final int[] globalItems;
+
+	/** the support of every item */
+	private final int[] supports;
+
+	/** the first node of the node chain of every item */
+	private final int[] firstNodes;
+
+	/** the child of the root for every item */
+	private final int[] rootChildren;
+
+	private int[] nodeItems;
+	private int[] parents;
+	private int[] counts;
+	private int[] firstChildren;
+	private int[] nextSiblings;
+	private int[] nextNodes;
+	private int numberOfNodes;
+
+	/**
+	 * Creates an empty tree.
+	 *
+	 * @param globalItems
+	 *            the global index of every item of the tree, the items have to be sorted in the order
+	 *            in which they appear on the paths
+	 */
+	CompactFPTree(int[] globalItems) {
+		this.globalItems = globalItems;
+		supports = new int[globalItems.length];
+		firstNodes = new int[globalItems.length];
+		rootChildren = new int[globalItems.length];
+		nodeItems = new int[INITIAL_CAPACITY];
+		parents = new int[INITIAL_CAPACITY];
+		counts = new int[INITIAL_CAPACITY];
+		firstChildren = new int[INITIAL_CAPACITY];
+		nextSiblings = new int[INITIAL_CAPACITY];
+		nextNodes = new int[INITIAL_CAPACITY];
+		nodeItems[ROOT] = -1;
+		numberOfNodes = 1;
+	}
+
+	/**
+	 * Adds a path of items to the tree.
+	 *
+	 * @param path
+	 *            the items of the path in ascending order
+	 * @param length
+	 *            the number of items of the path to add
+	 * @param weight
+	 *            the frequency of the path
+	 */
+	void addPath(int[] path, int length, int weight) {
+		int node = ROOT;
+		for (int i = 0; i < length; i++) {
+			int item = path[i];
+			int child = node == ROOT ? rootChildren[item] : getChild(node, item);
+			if (child == ROOT) {
+				child = createNode(node, item);
+			}
+			counts[child] += weight;
+			supports[item] += weight;
+			node = child;
+		}
+	}
+
+	/**
+	 * Returns the number of items of this tree.
+	 */
+	int getNumberOfItems() {
+		return globalItems.length;
+	}
+
+	/**
+	 * Returns the global index of the item.
+	 */
+	int getGlobalItem(int item) {
+		return globalItems[item];
+	}
+
+	/**
+	 * Returns the support of the item in this tree.
+	 */
+	int getSupport(int item) {
+		return supports[item];
+	}
+
+	/**
+	 * Returns the items of this tree sorted by the given positions.
+	 *
+	 * @param positions
+	 *            the position of every global item
+	 * @return the items sorted by the positions of their global items
+	 */
+	int[] getItems(int[] positions) {
+		long[] keys = new long[globalItems.length];
+		for (int item = 0; item < keys.length; item++) {
+			keys[item] = (long) positions[globalItems[item]] << Integer.SIZE | item;
+		}
+		Arrays.sort(keys);
+		int[] items = new int[keys.length];
+		for (int i = 0; i < keys.length; i++) {
+			items[i] = (int) keys[i];
+		}
+		return items;
+	}
+
+	/**
+	 * Builds the conditional tree of the item. It contains the prefix paths of all nodes of the
+	 * item, reduced to the items which are frequent on these paths.
+	 *
+	 * @param item
+	 *            the item to condition on
+	 * @param minTotalSupport
+	 *            the minimal support of the items of the conditional tree, must be positive
+	 * @return the conditional tree or {@code null} if no item is frequent on the prefix paths
+	 */
+	CompactFPTree getConditionalTree(int item, int minTotalSupport) {
+		// only items with a smaller index can be on the prefix paths
+		int[] pathSupports = new int[item];
+		for (int node = firstNodes[item]; node != ROOT; node = nextNodes[node]) {
+			int count = counts[node];
+			for (int ancestor = parents[node]; ancestor != ROOT; ancestor = parents[ancestor]) {
+				pathSupports[nodeItems[ancestor]] += count;
+			}
+		}
+
+		// renumber the frequent items
+		int[] conditionalItems = pathSupports;
+		int numberOfItems = 0;
+		for (int i = 0; i < item; i++) {
+			conditionalItems[i] = pathSupports[i] >= minTotalSupport ? numberOfItems++ : -1;
+		}
+		if (numberOfItems == 0) {
+			return null;
+		}
+		int[] conditionalGlobalItems = new int[numberOfItems];
+		for (int i = 0; i < item; i++) {
+			if (conditionalItems[i] >= 0) {
+				conditionalGlobalItems[conditionalItems[i]] = globalItems[i];
+			}
+		}
+
+		CompactFPTree tree = new CompactFPTree(conditionalGlobalItems);
+		int[] path = new int[numberOfItems];
+		for (int node = firstNodes[item]; node != ROOT; node = nextNodes[node]) {
+			// the prefix path is visited from the bottom, so fill the path from the end
+			int start = numberOfItems;
+			for (int ancestor = parents[node]; ancestor != ROOT; ancestor = parents[ancestor]) {
+				int conditionalItem = conditionalItems[nodeItems[ancestor]];
+				if (conditionalItem >= 0) {
+					path[--start] = conditionalItem;
+				}
+			}
+			if (start < numberOfItems) {
+				System.arraycopy(path, start, path, 0, numberOfItems - start);
+				tree.addPath(path, numberOfItems - start, counts[node]);
+			}
+		}
+		return tree;
+	}
+
+	/**
+	 * Returns the child of the node for the item or {@link #ROOT} if there is none.
+	 */
+	private int getChild(int node, int item) {
+		int child = firstChildren[node];
+		while (child != ROOT && nodeItems[child] != item) {
+			child = nextSiblings[child];
+		}
+		return child;
+	}
+
+	/**
+	 * Creates a new child of the parent for the item and appends it to the node chain of the item.
+	 */
+	private int createNode(int parent, int item) {
+		if (numberOfNodes == nodeItems.length) {
+			int capacity = nodeItems.length + (nodeItems.length >> 1);
+			nodeItems = Arrays.copyOf(nodeItems, capacity);
+			parents = Arrays.copyOf(parents, capacity);
+			counts = Arrays.copyOf(counts, capacity);
+			firstChildren = Arrays.copyOf(firstChildren, capacity);
+			nextSiblings = Arrays.copyOf(nextSiblings, capacity);
+			nextNodes = Arrays.copyOf(nextNodes, capacity);
+		}
+		int node = numberOfNodes++;
+		nodeItems[node] = item;
+		parents[node] = parent;
+		if (parent == ROOT) {
+			rootChildren[item] = node;
+		} else {
+			nextSiblings[node] = firstChildren[parent];
+			firstChildren[parent] = node;
+		}
+		nextNodes[node] = firstNodes[item];
+		firstNodes[item] = node;
+		return node;
+	}
+
+}
@@ -19,6 +19,7 @@
 package com.rapidminer.operator.learner.associations.fpgrowth;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
@@ -26,9 +27,12 @@ import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
+import com.rapidminer.core.concurrency.ConcurrencyContext;
 import com.rapidminer.example.Attribute;
 import com.rapidminer.example.Example;
 import com.rapidminer.example.ExampleSet;
@@ -37,6 +41,7 @@ import com.rapidminer.operator.Operator;
 import com.rapidminer.operator.OperatorDescription;
 import com.rapidminer.operator.OperatorException;
 import com.rapidminer.operator.ProcessStoppedException;
+import com.rapidminer.operator.concurrency.internal.ConcurrencyTools;
 import com.rapidminer.operator.learner.associations.BooleanAttributeItem;
 import com.rapidminer.operator.learner.associations.FrequentItemSet;
 import com.rapidminer.operator.learner.associations.FrequentItemSets;
@@ -51,6 +56,7 @@ import com.rapidminer.parameter.ParameterTypeInt;
 import com.rapidminer.parameter.ParameterTypeString;
 import com.rapidminer.parameter.UndefinedParameterError;
 import com.rapidminer.parameter.conditions.BooleanParameterCondition;
+import com.rapidminer.studio.internal.Resources;
 import com.rapidminer.tools.Ontology;
 
 
@@ -121,6 +127,16 @@ public class FPGrowth extends Operator {
 
 	private static final String PARAMETER_KEEP_EXAMPLE_SET = "keep_example_set";
 
+	/**
+	 * Indicates if the frequent item sets should be mined in parallel on a {@link CompactFPTree}.
+	 *
+	 * @since 9.7
+	 */
+	public static final String PARAMETER_USE_COMPACT_TREE = "use_compact_tree";
+
+	/** The number of progress steps when mining a {@link CompactFPTree}. */
+	private static final int COMPACT_TREE_PROGRESS_STEPS = 100;
+
 	private final InputPort exampleSetInput = getInputPorts().createPort("example set");
 
 	private final OutputPort exampleSetOutput = getOutputPorts().createPort("example set");
@@ -148,6 +164,7 @@ public class FPGrowth extends Operator {
 		int maxItems = getParameterAsInt(PARAMETER_MAX_ITEMS);
 		double currentSupport = getParameterAsDouble(PARAMETER_MIN_SUPPORT);
 		String mustContainItems = getParameterAsString(PARAMETER_MUST_CONTAIN);
+		boolean useCompactTree = getParameterAsBoolean(PARAMETER_USE_COMPACT_TREE);
 
 		// determine frequent items sets
 		FrequentItemSets sets = null;
@@ -190,14 +207,17 @@ public class FPGrowth extends Operator {
 			// eliminating non frequent items
 			removeNonFrequentItems(itemMapping, currentMinTotalSupport, workingSet);
 
-			// generating FP Tree
-			FPTree tree = getFPTree(workingSet, attributes, positiveIndices, itemMapping);
-
-			// mine tree
+			// generating and mining FP Tree
 			sets = new FrequentItemSets(workingSet.size());
-			if (mustContainItems == null || mustContainItems.isEmpty()) {
+			boolean noMandatoryItems = mustContainItems == null || mustContainItems.isEmpty();
+			if (useCompactTree && noMandatoryItems && currentMinTotalSupport > 0) {
+				mineCompactTree(workingSet, attributes, positiveIndices, itemMapping, sets, currentMinTotalSupport,
+						maxItems, !shouldFindMinimumNumber);
+			} else if (noMandatoryItems) {
+				FPTree tree = getFPTree(workingSet, attributes, positiveIndices, itemMapping);
 				mineTree(tree, sets, 0, new FrequentItemSet(), currentMinTotalSupport, maxItems, !shouldFindMinimumNumber);
 			} else {
+				FPTree tree = getFPTree(workingSet, attributes, positiveIndices, itemMapping);
 				FrequentItemSet conditionalItems = new FrequentItemSet();
 				Pattern pattern = Pattern.compile(mustContainItems);
 				Map<Item, Header> headerTable = tree.getHeaderTable();
@@ -419,6 +439,125 @@ public class FPGrowth extends Operator {
 		}
 	}
 
+	/**
+	 * Builds a {@link CompactFPTree} for the frequent items of the example set and mines its item
+	 * sets. The items are mined in the order of their ids, i.e. by descending frequency, on every
+	 * recursion level. The item sets of the top level items are mined in parallel and added in this
+	 * order, so the result is deterministic but may list the item sets in a different order than
+	 * {@link #mineTree(FPTree, FrequentItemSets, int, FrequentItemSet, int, int, boolean)} whose
+	 * header table is a hash map.
+	 */
+	private void mineCompactTree(ExampleSet exampleSet, Attribute[] attributes, double[] positiveIndices,
+			Map<Attribute, Item> mapping, FrequentItemSets sets, int minTotalSupport, int maxItems, boolean showProgress)
+			throws OperatorException {
+		// number the items in the order in which they are sorted within a transaction, so that the
+		// frequent items come first
+		Integer[] order = new Integer[attributes.length];
+		for (int i = 0; i < order.length; i++) {
+			order[i] = i;
+		}
+		Arrays.sort(order, (a, b) -> mapping.get(attributes[a]).compareTo(mapping.get(attributes[b])));
+		Item[] items = new Item[attributes.length];
+		int[] itemIndices = new int[attributes.length];
+		int numberOfFrequentItems = 0;
+		for (int i = 0; i < order.length; i++) {
+			items[i] = mapping.get(attributes[order[i]]);
+			itemIndices[order[i]] = i;
+			if (items[i].getFrequency() >= minTotalSupport) {
+				numberOfFrequentItems++;
+			}
+		}
+
+		// build the tree, the items are mined in the order of their ids
+		int[] frequentItems = new int[numberOfFrequentItems];
+		for (int i = 0; i < numberOfFrequentItems; i++) {
+			frequentItems[i] = i;
+		}
+		CompactFPTree tree = new CompactFPTree(frequentItems);
+		int[] transaction = new int[attributes.length];
+		for (Example example : exampleSet) {
+			int length = 0;
+			for (int i = 0; i < attributes.length; i++) {
+				if (example.getValue(attributes[i]) == positiveIndices[i]) {
+					transaction[length++] = itemIndices[i];
+				}
+			}
+			Arrays.sort(transaction, 0, length);
+			int frequentLength = 0;
+			while (frequentLength < length && transaction[frequentLength] < numberOfFrequentItems) {
+				frequentLength++;
+			}
+			tree.addPath(transaction, frequentLength, 1);
+		}
+		int[] headerPositions = new int[attributes.length];
+		for (int item = 0; item < headerPositions.length; item++) {
+			headerPositions[item] = item;
+		}
+
+		// mine the top level items concurrently, in blocks when showing progress
+		ConcurrencyContext context = Resources.getConcurrencyContext(this);
+		int[] topLevelItems = tree.getItems(headerPositions);
+		int blockSize = topLevelItems.length;
+		if (showProgress) {
+			getProgress().setTotal(topLevelItems.length);
+			blockSize = Math.max(1, (topLevelItems.length + COMPACT_TREE_PROGRESS_STEPS - 1) / COMPACT_TREE_PROGRESS_STEPS);
+		}
+		for (int blockStart = 0; blockStart < topLevelItems.length; blockStart += blockSize) {
+			int blockEnd = Math.min(topLevelItems.length, blockStart + blockSize);
+			List<Callable<List<FrequentItemSet>>> tasks = new ArrayList<>(blockEnd - blockStart);
+			for (int i = blockStart; i < blockEnd; i++) {
+				int item = topLevelItems[i];
+				tasks.add(() -> {
+					List<FrequentItemSet> itemSets = new ArrayList<>();
+					mineCompactTree(tree, item, new FrequentItemSet(), items, headerPositions, minTotalSupport, maxItems,
+							itemSets, context);
+					return itemSets;
+				});
+			}
+			List<List<FrequentItemSet>> results;
+			try {
+				results = context.call(tasks);
+			} catch (ExecutionException e) {
+				throw ConcurrencyTools.unwrap(e);
+			}
+			for (List<FrequentItemSet> itemSets : results) {
+				for (FrequentItemSet itemSet : itemSets) {
+					sets.addFrequentSet(itemSet);
+				}
+			}
+			if (showProgress) {
+				getProgress().step(blockEnd - blockStart);
+			}
+		}
+	}
+
+	/**
+	 * Adds the item set of the conditional items and the given item if it is frequent and
+	 * recursively mines the conditional tree of the item in the order of the header positions.
+	 */
+	private static void mineCompactTree(CompactFPTree tree, int item, FrequentItemSet conditionalItems, Item[] items,
+			int[] headerPositions, int minTotalSupport, int maxItems, List<FrequentItemSet> sets,
+			ConcurrencyContext context) {
+		context.checkStatus();
+		int itemSupport = tree.getSupport(item);
+		if (itemSupport < minTotalSupport) {
+			return;
+		}
+		FrequentItemSet recursiveConditionalItems = (FrequentItemSet) conditionalItems.clone();
+		recursiveConditionalItems.addItem(items[tree.getGlobalItem(item)], itemSupport);
+		sets.add(recursiveConditionalItems);
+		if (maxItems > 0 && recursiveConditionalItems.getNumberOfItems() >= maxItems) {
+			return;
+		}
+		CompactFPTree conditionalTree = tree.getConditionalTree(item, minTotalSupport);
+		if (conditionalTree != null) {
+			for (int conditionalItem : conditionalTree.getItems(headerPositions)) {
+				mineCompactTree(conditionalTree, conditionalItem, recursiveConditionalItems, items, headerPositions,
+						minTotalSupport, maxItems, sets, context);
+			}
+		}
+	}
+
 	/**
 	 * Removes every non boolean attribute.
 	 *
@@ -564,6 +703,11 @@ public class FPGrowth extends Operator {
 				"The upper bound for the length of the item sets (-1: no upper bound)", -1, Integer.MAX_VALUE, -1));
 		types.add(new ParameterTypeString(PARAMETER_MUST_CONTAIN,
 				"The items any generated rule must contain as regular expression. Empty if none."));
+		type = new ParameterTypeBoolean(PARAMETER_USE_COMPACT_TREE,
+				"Indicates if the frequent item sets should be mined in parallel on a compact tree of integer coded items. This finds the same item sets with less memory. Not used if items must be contained.",
+				false);
+		type.setExpert(true);
+		types.add(type);
 
 		type = new ParameterTypeBoolean(PARAMETER_KEEP_EXAMPLE_SET, "indicates if example set is kept", false);
 		type.setDeprecated();
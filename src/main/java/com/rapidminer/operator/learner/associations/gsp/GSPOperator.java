@@ -37,6 +37,7 @@ import com.rapidminer.operator.OperatorDescription;
 import com.rapidminer.operator.OperatorException;
 import com.rapidminer.operator.OperatorVersion;
 import com.rapidminer.operator.ProcessSetupError.Severity;
+import com.rapidminer.operator.ProcessStoppedException;
 import com.rapidminer.operator.UserError;
 import com.rapidminer.operator.error.AttributeNotFoundError;
 import com.rapidminer.operator.ports.InputPort;
@@ -459,11 +460,12 @@ public class GSPOperator extends Operator {
 	}
 
 	private ArrayList<DataSequence> buildSequences(ExampleSet exampleSet, Attributes attributes, Attribute timeAttribute,
-			Attribute customerAttribute, double[] positiveIndices, Item[] items) {
+			Attribute customerAttribute, double[] positiveIndices, Item[] items) throws ProcessStoppedException {
 		ArrayList<DataSequence> sequences = new ArrayList<>();
 		// now sort exampleSet according to customer attribute and time attribute
-		SortedExampleSet sortedSet = new SortedExampleSet(exampleSet, timeAttribute, SortedExampleSet.INCREASING);
-		sortedSet = new SortedExampleSet(sortedSet, customerAttribute, SortedExampleSet.INCREASING);
+		SortedExampleSet sortedSet = new SortedExampleSet(exampleSet,
+				new Attribute[] { customerAttribute, timeAttribute },
+				new int[] { SortedExampleSet.INCREASING, SortedExampleSet.INCREASING }, null, null);
 
 		// now build sequences from exampleset: Each Customer is one sequence, each transaction one
 		// item set
@@ -21,13 +21,16 @@ package com.rapidminer.operator.learner.bayes;
 import java.util.ArrayList;
 import java.util.Collection;
 
+import com.rapidminer.core.concurrency.ConcurrencyContext;
 import com.rapidminer.example.Attribute;
 import com.rapidminer.example.Attributes;
 import com.rapidminer.example.Example;
 import com.rapidminer.example.ExampleSet;
 import com.rapidminer.example.set.ExampleSetUtilities;
+import com.rapidminer.operator.OperatorException;
 import com.rapidminer.operator.OperatorProgress;
 import com.rapidminer.operator.ProcessStoppedException;
+import com.rapidminer.operator.learner.ChunkedPrediction;
 import com.rapidminer.tools.Tools;
 import com.rapidminer.tools.math.VectorMath;
 import com.rapidminer.tools.math.distribution.DiscreteDistribution;
@@ -438,7 +441,7 @@ public class SimpleDistributionModel extends DistributionModel {
 	}
 
 	@Override
-	public ExampleSet performPrediction(ExampleSet exampleSet, Attribute predictedLabel) throws ProcessStoppedException {
+	public ExampleSet performPrediction(ExampleSet exampleSet, Attribute predictedLabel) throws OperatorException {
 		OperatorProgress progress = null;
 		if (getShowProgress() && getOperator() != null && getOperator().getProgress() != null) {
 			progress = getOperator().getProgress();
@@ -449,75 +452,101 @@ public class SimpleDistributionModel extends DistributionModel {
 		if (modelRecentlyUpdated) {
 			updateDistributionProperties();
 		}
-		double[] probabilities = new double[numberOfClasses];
 		Attribute[] regularAttributes = exampleSet.getAttributes().createRegularAttributeArray();
+		ConcurrencyContext context = ChunkedPrediction.getContext(this, exampleSet);
+		if (context != null) {
+			ChunkedPrediction.predict(exampleSet, predictedLabel,
+					example -> predict(example, regularAttributes, new double[numberOfClasses]), context, progress);
+			return exampleSet;
+		}
+
+		double[] probabilities = new double[numberOfClasses];
 		for (Example example : exampleSet) {
-			double maxLogProbability = Double.NEGATIVE_INFINITY;
-			double probabilitySum = 0;
-			int mostProbableClass = 0;
-			int j = 0;
-			for (int i = 0; i < numberOfClasses; i++) {
-				probabilities[i] = priors[i];
+			predict(example, regularAttributes, probabilities);
+
+			// trigger progress
+			if (progress != null && ++progressCounter % OPERATOR_PROGRESS_STEPS == 0) {
+				progress.setCompleted(progressCounter);
 			}
-			for (Attribute attribute : regularAttributes) {
-				double value = example.getValue(attribute);
-				if (nominal[j]) {
-					if (!Double.isNaN(value)) {
-						int intValue = (int) value;
-						for (int i = 0; i < numberOfClasses; i++) {
-							if (intValue < distributionProperties[j][i].length) {
-								probabilities[i] += distributionProperties[j][i][intValue];
-							}
-						}
-					} else {
-						for (int i = 0; i < numberOfClasses; i++) {
-							probabilities[i] += distributionProperties[j][i][distributionProperties[j][i].length - 1];
+		}
+		return exampleSet;
+	}
+
+	/**
+	 * Sets the prediction and the confidences of the given example.
+	 *
+	 * @param probabilities
+	 *            an array of length numberOfClasses used for the calculation
+	 */
+	private void predict(Example example, Attribute[] regularAttributes, double[] probabilities) {
+		double maxLogProbability = Double.NEGATIVE_INFINITY;
+		double probabilitySum = 0;
+		int mostProbableClass = 0;
+		int j = 0;
+		for (int i = 0; i < numberOfClasses; i++) {
+			probabilities[i] = priors[i];
+		}
+		for (Attribute attribute : regularAttributes) {
+			double value = example.getValue(attribute);
+			if (nominal[j]) {
+				if (!Double.isNaN(value)) {
+					int intValue = (int) value;
+					for (int i = 0; i < numberOfClasses; i++) {
+						if (intValue < distributionProperties[j][i].length) {
+							probabilities[i] += distributionProperties[j][i][intValue];
 						}
 					}
 				} else {
-					if (!Double.isNaN(value)) {
-						for (int i = 0; i < numberOfClasses; i++) {
-							double base = (value - distributionProperties[j][i][INDEX_MEAN])
-									/ distributionProperties[j][i][INDEX_STANDARD_DEVIATION];
-							probabilities[i] -= distributionProperties[j][i][INDEX_LOG_FACTOR] + 0.5 * base * base;
-						}
+					for (int i = 0; i < numberOfClasses; i++) {
+						probabilities[i] += distributionProperties[j][i][distributionProperties[j][i].length - 1];
 					}
 				}
-				j++;
-			}
-			for (int i = 0; i < numberOfClasses; i++) {
-				if (!Double.isNaN(probabilities[i]) && probabilities[i] > maxLogProbability) {
-					maxLogProbability = probabilities[i];
-					mostProbableClass = i;
+			} else {
+				if (!Double.isNaN(value)) {
+					for (int i = 0; i < numberOfClasses; i++) {
+						double base = (value - distributionProperties[j][i][INDEX_MEAN])
+								/ distributionProperties[j][i][INDEX_STANDARD_DEVIATION];
+						probabilities[i] -= distributionProperties[j][i][INDEX_LOG_FACTOR] + 0.5 * base * base;
+					}
 				}
 			}
-			for (int i = 0; i < numberOfClasses; i++) {
-				if (!Double.isNaN(probabilities[i])) {
-					probabilities[i] = Math.exp(probabilities[i] - maxLogProbability);
-					probabilitySum += probabilities[i];
-				} else {
-					probabilities[i] = 0;
-				}
+			j++;
+		}
+		for (int i = 0; i < numberOfClasses; i++) {
+			if (!Double.isNaN(probabilities[i]) && probabilities[i] > maxLogProbability) {
+				maxLogProbability = probabilities[i];
+				mostProbableClass = i;
 			}
-
-			if (maxLogProbability == Double.NEGATIVE_INFINITY) {
-				example.setPredictedLabel(Double.NaN);
-				for (int i = 0; i < numberOfClasses; i++) {
-					example.setConfidence(classValues[i], Double.NaN);
-				}
+		}
+		for (int i = 0; i < numberOfClasses; i++) {
+			if (!Double.isNaN(probabilities[i])) {
+				probabilities[i] = Math.exp(probabilities[i] - maxLogProbability);
+				probabilitySum += probabilities[i];
 			} else {
-				example.setPredictedLabel(mostProbableClass);
-				for (int i = 0; i < numberOfClasses; i++) {
-					example.setConfidence(classValues[i], probabilities[i] / probabilitySum);
-				}
+				probabilities[i] = 0;
 			}
+		}
 
-			// trigger progress
-			if (progress != null && ++progressCounter % OPERATOR_PROGRESS_STEPS == 0) {
-				progress.setCompleted(progressCounter);
+		if (maxLogProbability == Double.NEGATIVE_INFINITY) {
+			example.setPredictedLabel(Double.NaN);
+			for (int i = 0; i < numberOfClasses; i++) {
+				example.setConfidence(classValues[i], Double.NaN);
+			}
+		} else {
+			example.setPredictedLabel(mostProbableClass);
+			for (int i = 0; i < numberOfClasses; i++) {
+				example.setConfidence(classValues[i], probabilities[i] / probabilitySum);
 			}
 		}
-		return exampleSet;
+	}
+
+	/**
+	 * Naive Bayes models only read their distribution properties when applied, which are updated
+	 * before scoring starts. Subclasses are scored sequentially unless they opt in.
+	 */
+	@Override
+	public boolean isThreadSafe() {
+		return getClass() == SimpleDistributionModel.class;
 	}
 
 	public void setLaplaceCorrectionEnabled(boolean laplaceCorrectionEnabled) {
@@ -58,6 +58,15 @@ public class LogisticRegressionModel extends SimpleBinaryPredictionModel {
 		}
 	}
 
+	/**
+	 * The coefficients are only read when applied. Subclasses are scored sequentially unless they
+	 * opt in.
+	 */
+	@Override
+	public boolean isThreadSafe() {
+		return getClass() == LogisticRegressionModel.class;
+	}
+
 	@Override
 	public double predict(Example example) {
 		double eta = 0.0d;
@@ -18,6 +18,12 @@
 */
 package com.rapidminer.operator.learner.lazy;
 
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.commons.lang.ArrayUtils;
+
 import com.rapidminer.example.Attribute;
 import com.rapidminer.example.Attributes;
 import com.rapidminer.example.Example;
@@ -26,21 +32,27 @@ import com.rapidminer.operator.Model;
 import com.rapidminer.operator.OperatorCapability;
 import com.rapidminer.operator.OperatorDescription;
 import com.rapidminer.operator.OperatorException;
+import com.rapidminer.operator.OperatorVersion;
 import com.rapidminer.operator.annotation.ResourceConsumptionEstimator;
 import com.rapidminer.operator.learner.AbstractLearner;
 import com.rapidminer.operator.learner.PredictionModel;
 import com.rapidminer.operator.ports.metadata.DistanceMeasurePrecondition;
 import com.rapidminer.parameter.ParameterType;
 import com.rapidminer.parameter.ParameterTypeBoolean;
+import com.rapidminer.parameter.ParameterTypeCategory;
 import com.rapidminer.parameter.ParameterTypeInt;
 import com.rapidminer.tools.OperatorResourceConsumptionHandler;
+import com.rapidminer.tools.math.container.BallTree;
 import com.rapidminer.tools.math.container.GeometricDataCollection;
+import com.rapidminer.tools.math.container.KDTree;
 import com.rapidminer.tools.math.container.LinearList;
 import com.rapidminer.tools.math.similarity.DistanceMeasure;
 import com.rapidminer.tools.math.similarity.DistanceMeasureHelper;
 import com.rapidminer.tools.math.similarity.DistanceMeasures;
-
-import java.util.List;
+import com.rapidminer.tools.math.similarity.mixed.MixedEuclideanDistance;
+import com.rapidminer.tools.math.similarity.numerical.ChebychevNumericalDistance;
+import com.rapidminer.tools.math.similarity.numerical.EuclideanDistance;
+import com.rapidminer.tools.math.similarity.numerical.ManhattanDistance;
 
 
 /**
@@ -57,6 +69,31 @@ public class KNNLearner extends AbstractLearner {
 	/** The parameter name for &quot;Indicates if the votes should be weighted by similarity.&quot; */
 	public static final String PARAMETER_WEIGHTED_VOTE = "weighted_vote";
 
+	/** The parameter name for &quot;The structure used to search the nearest neighbors.&quot; */
+	public static final String PARAMETER_SEARCH_STRUCTURE = "search_structure";
+
+	public static final String[] SEARCH_STRUCTURES = { "automatic", "linear", "kd-tree", "ball tree" };
+
+	public static final int SEARCH_STRUCTURE_AUTOMATIC = 0;
+
+	public static final int SEARCH_STRUCTURE_LINEAR = 1;
+
+	public static final int SEARCH_STRUCTURE_KD_TREE = 2;
+
+	public static final int SEARCH_STRUCTURE_BALL_TREE = 3;
+
+	/**
+	 * Up to this version, the nearest neighbors are always searched linearly. Trees might select different neighbors
+	 * if several training examples have the same distance.
+	 */
+	public static final OperatorVersion VERSION_9_6_0 = new OperatorVersion(9, 6, 0);
+
+	/** The maximal number of dimensions for which a kd-tree is selected automatically */
+	private static final int MAXIMAL_KD_TREE_DIMENSIONS = 10;
+
+	/** The minimal number of training examples for which a kd-tree is selected automatically */
+	private static final int MINIMAL_KD_TREE_EXAMPLES = 1000;
+
 	private DistanceMeasureHelper measureHelper = new DistanceMeasureHelper(this);
 
 	public KNNLearner(OperatorDescription description) {
@@ -69,48 +106,121 @@ public class KNNLearner extends AbstractLearner {
 	public Model learn(ExampleSet exampleSet) throws OperatorException {
 		DistanceMeasure measure = measureHelper.getInitializedMeasure(exampleSet);
 		Attribute label = exampleSet.getAttributes().getLabel();
-		if (label.isNominal()) {
-			// classification
-			GeometricDataCollection<Integer> samples = new LinearList<Integer>(measure);
+		Attributes attributes = exampleSet.getAttributes();
 
-			Attributes attributes = exampleSet.getAttributes();
+		int valuesSize = attributes.size();
+		List<double[]> sampleValues = new ArrayList<>(exampleSet.size());
+		double[] labelValues = new double[exampleSet.size()];
+		boolean hasMissings = false;
+		for (Example example : exampleSet) {
+			double[] values = new double[valuesSize];
+			int i = 0;
+			for (Attribute attribute : attributes) {
+				values[i] = example.getValue(attribute);
+				hasMissings |= Double.isNaN(values[i]);
+				i++;
+			}
+			labelValues[sampleValues.size()] = example.getValue(label);
+			sampleValues.add(values);
+			checkForStop();
+		}
+		int searchStructure = getSearchStructure(exampleSet, measure, hasMissings);
 
-			int valuesSize = attributes.size();
-			for (Example example : exampleSet) {
-				double[] values = new double[valuesSize];
-				int i = 0;
-				for (Attribute attribute : attributes) {
-					values[i] = example.getValue(attribute);
-					i++;
-				}
-				int labelValue = (int) example.getValue(label);
-				samples.add(values, labelValue);
-				checkForStop();
+		if (label.isNominal()) {
+			// classification
+			List<Integer> labels = new ArrayList<>(labelValues.length);
+			for (double labelValue : labelValues) {
+				labels.add((int) labelValue);
 			}
+			GeometricDataCollection<Integer> samples = createSamples(searchStructure, measure, valuesSize, sampleValues,
+					labels);
 			return new KNNClassificationModel(exampleSet, samples, getParameterAsInt(PARAMETER_K),
 					getParameterAsBoolean(PARAMETER_WEIGHTED_VOTE));
 		} else {
 			// regression
-			GeometricDataCollection<Double> samples = new LinearList<Double>(measure);
-			Attributes attributes = exampleSet.getAttributes();
-
-			int valuesSize = attributes.size();
-			for (Example example : exampleSet) {
-				double[] values = new double[valuesSize];
-				int i = 0;
-				for (Attribute attribute : attributes) {
-					values[i] = example.getValue(attribute);
-					i++;
-				}
-				double labelValue = example.getValue(label);
-				samples.add(values, labelValue);
-				checkForStop();
+			List<Double> labels = new ArrayList<>(labelValues.length);
+			for (double labelValue : labelValues) {
+				labels.add(labelValue);
 			}
+			GeometricDataCollection<Double> samples = createSamples(searchStructure, measure, valuesSize, sampleValues,
+					labels);
 			return new KNNRegressionModel(exampleSet, samples, getParameterAsInt(PARAMETER_K),
 					getParameterAsBoolean(PARAMETER_WEIGHTED_VOTE));
 		}
 	}
 
+	/**
+	 * Returns the search structure to use. Trees are only used if their pruning is valid for the measure and the data:
+	 * kd-trees require a measure bounded by the difference in a single dimension, ball trees require a metric.
+	 * Neither supports missing values in the training data. The automatic choice selects a kd-tree for large training
+	 * sets of low dimensionality and a linear search otherwise. Ball trees are only used if selected explicitly, since
+	 * their construction rarely pays off.
+	 */
+	private int getSearchStructure(ExampleSet exampleSet, DistanceMeasure measure, boolean hasMissings)
+			throws OperatorException {
+		if (getCompatibilityLevel().isAtMost(VERSION_9_6_0)) {
+			return SEARCH_STRUCTURE_LINEAR;
+		}
+		int dimensions = exampleSet.getAttributes().size();
+		boolean boundedByDimension = !hasMissings && dimensions > 0 && (measure instanceof EuclideanDistance
+				|| measure instanceof ManhattanDistance || measure instanceof ChebychevNumericalDistance);
+		boolean metric = boundedByDimension || !hasMissings && dimensions > 0 && measure instanceof MixedEuclideanDistance;
+
+		int searchStructure = getParameterAsInt(PARAMETER_SEARCH_STRUCTURE);
+		switch (searchStructure) {
+			case SEARCH_STRUCTURE_KD_TREE:
+				if (!boundedByDimension) {
+					logWarning("A kd-tree cannot be used with the distance measure " + measure
+							+ " or with missing values, using linear search instead.");
+					return SEARCH_STRUCTURE_LINEAR;
+				}
+				return searchStructure;
+			case SEARCH_STRUCTURE_BALL_TREE:
+				if (!metric) {
+					logWarning("A ball tree cannot be used with the distance measure " + measure
+							+ " or with missing values, using linear search instead.");
+					return SEARCH_STRUCTURE_LINEAR;
+				}
+				return searchStructure;
+			case SEARCH_STRUCTURE_AUTOMATIC:
+				if (boundedByDimension && dimensions <= MAXIMAL_KD_TREE_DIMENSIONS
+						&& exampleSet.size() >= MINIMAL_KD_TREE_EXAMPLES) {
+					return SEARCH_STRUCTURE_KD_TREE;
+				}
+				return SEARCH_STRUCTURE_LINEAR;
+			case SEARCH_STRUCTURE_LINEAR:
+			default:
+				return SEARCH_STRUCTURE_LINEAR;
+		}
+	}
+
+	/**
+	 * Creates the given search structure containing the samples.
+	 */
+	private <T extends Serializable> GeometricDataCollection<T> createSamples(int searchStructure,
+			DistanceMeasure measure, int dimensions, List<double[]> sampleValues, List<T> labels)
+			throws OperatorException {
+		GeometricDataCollection<T> samples;
+		switch (searchStructure) {
+			case SEARCH_STRUCTURE_KD_TREE:
+				KDTree<T> tree = new KDTree<>(dimensions, measure);
+				tree.addAll(sampleValues, labels);
+				return tree;
+			case SEARCH_STRUCTURE_BALL_TREE:
+				samples = new BallTree<>(measure);
+				break;
+			case SEARCH_STRUCTURE_LINEAR:
+			default:
+				samples = new LinearList<>(measure);
+				break;
+		}
+		for (int i = 0; i < sampleValues.size(); i++) {
+			samples.add(sampleValues.get(i), labels.get(i));
+			checkForStop();
+		}
+		return samples;
+	}
+
 	@Override
 	public Class<? extends PredictionModel> getModelClass() {
 		// TODO: Needs to unify models in order to return common class
@@ -157,9 +267,18 @@ public class KNNLearner extends AbstractLearner {
 				"Indicates if the votes should be weighted by similarity.", true, false));
 
 		types.addAll(DistanceMeasures.getParameterTypes(this));
+
+		types.add(new ParameterTypeCategory(PARAMETER_SEARCH_STRUCTURE,
+				"The structure used to search the nearest neighbors. Trees speed up the search for large data sets with few dimensions, automatic selects a kd-tree in such cases.",
+				SEARCH_STRUCTURES, SEARCH_STRUCTURE_AUTOMATIC, true));
 		return types;
 	}
 
+	@Override
+	public OperatorVersion[] getIncompatibleVersionChanges() {
+		return (OperatorVersion[]) ArrayUtils.add(super.getIncompatibleVersionChanges(), VERSION_9_6_0);
+	}
+
 	@Override
 	public ResourceConsumptionEstimator getResourceConsumptionEstimator() {
 		return OperatorResourceConsumptionHandler.getResourceConsumptionEstimator(getExampleSetInputPort(),
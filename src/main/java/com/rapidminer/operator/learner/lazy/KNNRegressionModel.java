@@ -29,6 +29,7 @@ import com.rapidminer.example.set.ExampleSetUtilities;
 import com.rapidminer.example.set.ExampleSetUtilities.SetsCompareOption;
 import com.rapidminer.operator.OperatorException;
 import com.rapidminer.operator.OperatorProgress;
+import com.rapidminer.operator.learner.ChunkedPrediction;
 import com.rapidminer.operator.learner.UpdateablePredictionModel;
 import com.rapidminer.tools.Tools;
 import com.rapidminer.tools.container.Tupel;
@@ -45,8 +46,6 @@ public class KNNRegressionModel extends UpdateablePredictionModel {
 
 	private static final long serialVersionUID = -6292869962412072573L;
 
-	private static final int OPERATOR_PROGRESS_STEPS = 1000;
-
 	private int k;
 
 	private int size;
@@ -76,10 +75,10 @@ public class KNNRegressionModel extends UpdateablePredictionModel {
 	@Override
 	public ExampleSet performPrediction(ExampleSet exampleSet, Attribute predictedLabel) throws OperatorException {
 		// building attribute order from trainingset
-		ArrayList<Attribute> sampleAttributes = new ArrayList<Attribute>(sampleAttributeNames.size());
+		Attribute[] sampleAttributes = new Attribute[sampleAttributeNames.size()];
 		Attributes attributes = exampleSet.getAttributes();
-		for (String attributeName : sampleAttributeNames) {
-			sampleAttributes.add(attributes.get(attributeName));
+		for (int i = 0; i < sampleAttributes.length; i++) {
+			sampleAttributes[i] = attributes.get(sampleAttributeNames.get(i));
 		}
 
 		// initialize progress
@@ -88,59 +87,50 @@ public class KNNRegressionModel extends UpdateablePredictionModel {
 			progress = getOperator().getProgress();
 			progress.setTotal(exampleSet.size());
 		}
-		int progressCounter = 0;
-
-		double[] values = new double[sampleAttributes.size()];
-		for (Example example : exampleSet) {
-			// reading values
-			int i = 0;
-			for (Attribute attribute : sampleAttributes) {
-				values[i] = example.getValue(attribute);
-				i++;
-			}
 
-			double result = 0;
-			if (!weightByDistance) {
-				// finding next k neighbours
-				Collection<Double> neighbourLabels = samples.getNearestValues(k, values);
-
-				// building mean
-				for (double label : neighbourLabels) {
-					result += label;
-				}
-				result /= k;
-			} else {
-				// finding next k neighbours and their distances
-				Collection<Tupel<Double, Double>> neighbourTupels = samples.getNearestValueDistances(k, values);
-				// finding total distance
-				double totalDistance = 0;
-				for (Tupel<Double, Double> tupel : neighbourTupels) {
-					totalDistance += tupel.getFirst();
-				}
+		ChunkedPrediction.score(exampleSet, sampleAttributes, 1, (values, result) -> result[0] = predict(values),
+				(example, result) -> example.setValue(predictedLabel, result[0]),
+				ChunkedPrediction.getContext(getOperator(), exampleSet), progress);
+		return exampleSet;
+	}
 
-				double totalSimilarity = 0.0d;
-				if (totalDistance == 0) {
-					totalDistance = 1;
-					totalSimilarity = k;
-				} else {
-					totalSimilarity = Math.max(k - 1, 1);
-				}
+	/**
+	 * Returns the (weighted) mean label of the nearest neighbours of the given values.
+	 */
+	private double predict(double[] values) {
+		double result = 0;
+		if (!weightByDistance) {
+			// finding next k neighbours
+			Collection<Double> neighbourLabels = samples.getNearestValues(k, values);
+
+			// building mean
+			for (double label : neighbourLabels) {
+				result += label;
+			}
+			result /= k;
+		} else {
+			// finding next k neighbours and their distances
+			Collection<Tupel<Double, Double>> neighbourTupels = samples.getNearestValueDistances(k, values);
+			// finding total distance
+			double totalDistance = 0;
+			for (Tupel<Double, Double> tupel : neighbourTupels) {
+				totalDistance += tupel.getFirst();
+			}
 
-				// building weighted mean
-				for (Tupel<Double, Double> tupel : neighbourTupels) {
-					result += tupel.getSecond() * (1d - tupel.getFirst() / totalDistance) / totalSimilarity;
-				}
+			double totalSimilarity = 0.0d;
+			if (totalDistance == 0) {
+				totalDistance = 1;
+				totalSimilarity = k;
+			} else {
+				totalSimilarity = Math.max(k - 1, 1);
 			}
-			// setting prediction
-			example.setValue(predictedLabel, result);
 
-			// trigger progress
-			if (progress != null && ++progressCounter % OPERATOR_PROGRESS_STEPS == 0) {
-				progress.setCompleted(progressCounter);
+			// building weighted mean
+			for (Tupel<Double, Double> tupel : neighbourTupels) {
+				result += tupel.getSecond() * (1d - tupel.getFirst() / totalDistance) / totalSimilarity;
 			}
 		}
-
-		return exampleSet;
+		return result;
 	}
 
 	@Override
@@ -118,6 +118,33 @@ public class SimpleVoteModel extends SimplePredictionModel implements MetaModel
 		}
 	}
 
+	/**
+	 * Returns {@code true} if the label is numerical and all base models are thread-safe. Ties of
+	 * nominal predictions are broken by the global random generator, so these are only scored
+	 * sequentially to break the same ties in every run. Subclasses are scored sequentially unless
+	 * they opt in.
+	 */
+	@Override
+	public boolean isThreadSafe() {
+		return getClass() == SimpleVoteModel.class && canVoteConcurrently();
+	}
+
+	/**
+	 * @return {@code true} if the label is numerical and all base models are thread-safe
+	 * @since 9.7
+	 */
+	protected boolean canVoteConcurrently() {
+		if (labelIsNominal) {
+			return false;
+		}
+		for (SimplePredictionModel model : baseModels) {
+			if (!model.isThreadSafe()) {
+				return false;
+			}
+		}
+		return true;
+	}
+
 	@Override
 	public String toString() {
 		StringBuffer buffer = new StringBuffer();
@@ -29,6 +29,7 @@ import com.rapidminer.example.ExampleSet;
 import com.rapidminer.operator.Operator;
 import com.rapidminer.operator.OperatorException;
 import com.rapidminer.operator.learner.tree.criterions.ColumnCriterion;
+import com.rapidminer.parameter.UndefinedParameterError;
 import com.rapidminer.studio.internal.Resources;
 
 
@@ -77,6 +78,12 @@ public abstract class AbstractParallelTreeBuilder {
 
 	final protected boolean parallelAllowed;
 
+	/**
+	 * the maximal number of bins for numerical attributes, 0 for exact splits or -1 if the
+	 * operator decides
+	 */
+	protected int maximalNumberOfBins = -1;
+
 	/**
 	 * Initializes the fields.
 	 *
@@ -112,6 +119,34 @@ public abstract class AbstractParallelTreeBuilder {
 		this.parallelAllowed = parallelAllowed;
 	}
 
+	/**
+	 * Sets the maximal number of bins the numerical attributes are quantized into. Numerical splits
+	 * are then only searched between the bins. {@code 0} means that every split between different
+	 * values is considered. By default, the setting of the operator is used if it is an
+	 * {@link AbstractParallelTreeLearner}, otherwise every split is considered.
+	 *
+	 * @param maximalNumberOfBins
+	 *            {@code 0} or a number between 2 and {@link ColumnExampleTable#MAXIMAL_NUMBER_OF_BINS}
+	 * @since 9.7
+	 */
+	public void setMaximalNumberOfBins(int maximalNumberOfBins) {
+		this.maximalNumberOfBins = maximalNumberOfBins;
+	}
+
+	/**
+	 * @return the explicitly set maximal number of bins or else the one of the operator
+	 * @throws UndefinedParameterError
+	 */
+	private int getMaximalNumberOfBins() throws UndefinedParameterError {
+		if (maximalNumberOfBins >= 0) {
+			return maximalNumberOfBins;
+		}
+		if (operator instanceof AbstractParallelTreeLearner) {
+			return ((AbstractParallelTreeLearner) operator).getMaximalNumberOfBins();
+		}
+		return 0;
+	}
+
 	/**
 	 * Creates a copy of the example set in form of the {@link ColumnExampleTable}, starts the tree
 	 * growing procedure and prunes the finished tree.
@@ -125,7 +160,7 @@ public abstract class AbstractParallelTreeBuilder {
 		// preprocess example set before creating the table
 		exampleSet = preprocessExampleSet(exampleSet);
 
-		columnTable = new ColumnExampleTable(exampleSet, operator, parallelAllowed);
+		columnTable = new ColumnExampleTable(exampleSet, operator, parallelAllowed, getMaximalNumberOfBins());
 		benefitCalculator = new BenefitCalculator(columnTable, criterion, operator);
 		selectionCreator = new SelectionCreator(columnTable);
 
@@ -68,6 +68,7 @@ import com.rapidminer.parameter.ParameterTypeBoolean;
 import com.rapidminer.parameter.ParameterTypeDouble;
 import com.rapidminer.parameter.ParameterTypeInt;
 import com.rapidminer.parameter.ParameterTypeStringCategory;
+import com.rapidminer.parameter.UndefinedParameterError;
 import com.rapidminer.parameter.conditions.BooleanParameterCondition;
 import com.rapidminer.parameter.conditions.NonEqualStringCondition;
 import com.rapidminer.tools.Ontology;
@@ -111,6 +112,21 @@ public abstract class AbstractParallelTreeLearner extends AbstractLearner {
 
 	public static final String PARAMETER_NUMBER_OF_PREPRUNING_ALTERNATIVES = "number_of_prepruning_alternatives";
 
+	/**
+	 * The parameter name for &quot;Searches numerical splits only between quantile bins of the
+	 * values.&quot;
+	 *
+	 * @since 9.7
+	 */
+	public static final String PARAMETER_USE_HISTOGRAMS = "use_histograms";
+
+	/**
+	 * The parameter name for &quot;The maximal number of bins for each numerical attribute.&quot;
+	 *
+	 * @since 9.7
+	 */
+	public static final String PARAMETER_NUMBER_OF_BINS = "number_of_bins";
+
 	public static final String[] CRITERIA_NAMES = { "gain_ratio", "information_gain", "gini_index", "accuracy",
 	"least_square" };
 
@@ -279,6 +295,43 @@ public abstract class AbstractParallelTreeLearner extends AbstractLearner {
 		return null;
 	}
 
+	/**
+	 * Returns the maximal number of bins the numerical attributes are quantized into as selected
+	 * by the parameters. Every {@link AbstractParallelTreeBuilder} created for this operator uses
+	 * it unless it is set explicitly, so that the trees of a forest search the same splits as a
+	 * single tree.
+	 *
+	 * @return {@code 0} if every split between different values should be considered, otherwise
+	 *         the maximal number of bins
+	 * @throws UndefinedParameterError
+	 * @since 9.7
+	 */
+	public int getMaximalNumberOfBins() throws UndefinedParameterError {
+		if (getParameterAsBoolean(PARAMETER_USE_HISTOGRAMS)) {
+			return getParameterAsInt(PARAMETER_NUMBER_OF_BINS);
+		}
+		return 0;
+	}
+
+	/**
+	 * Creates a {@link ColumnExampleTable} that is binned as selected by the parameters. Forest
+	 * learners use it for the table that is shared by the {@link NonParallelBootstrappingTreeBuilder}s
+	 * of all trees.
+	 *
+	 * @param exampleSet
+	 *            the example set to copy
+	 * @param parallelAllowed
+	 *            if the table creation can be done in parallel
+	 * @return the table
+	 * @throws OperatorException
+	 *             if the label has missing values
+	 * @since 9.7
+	 */
+	protected ColumnExampleTable createColumnExampleTable(ExampleSet exampleSet, boolean parallelAllowed)
+			throws OperatorException {
+		return new ColumnExampleTable(exampleSet, this, parallelAllowed, getMaximalNumberOfBins());
+	}
+
 	@Override
 	public Model learn(ExampleSet eSet) throws OperatorException {
 		checkLabelCriterionDependency(eSet);
@@ -453,6 +506,16 @@ public abstract class AbstractParallelTreeLearner extends AbstractLearner {
 		type.registerDependencyCondition(new BooleanParameterCondition(this, PARAMETER_PRE_PRUNING, false, true));
 		types.add(type);
 
+		type = new ParameterTypeBoolean(PARAMETER_USE_HISTOGRAMS,
+				"Searches numerical splits only between quantile bins of the values. This is faster and needs less memory for large data.",
+				false);
+		types.add(type);
+
+		type = new ParameterTypeInt(PARAMETER_NUMBER_OF_BINS, "The maximal number of bins for each numerical attribute.", 2,
+				ColumnExampleTable.MAXIMAL_NUMBER_OF_BINS, ColumnExampleTable.MAXIMAL_NUMBER_OF_BINS);
+		type.registerDependencyCondition(new BooleanParameterCondition(this, PARAMETER_USE_HISTOGRAMS, false, true));
+		types.add(type);
+
 		return types;
 	}
 }
@@ -50,7 +50,8 @@ public class BenefitCalculator {
 	private ColumnNumericalSplitter splitter;
 
 	public BenefitCalculator(ColumnExampleTable columnTable, ColumnCriterion criterion, Operator operator) {
-		this(columnTable, criterion, operator, new ColumnNumericalSplitter(columnTable, criterion));
+		this(columnTable, criterion, operator, columnTable.isBinned() ? new ColumnHistogramSplitter(columnTable, criterion)
+				: new ColumnNumericalSplitter(columnTable, criterion));
 	}
 
 	protected BenefitCalculator(ColumnExampleTable columnTable, ColumnCriterion criterion, Operator operator,
@@ -70,8 +71,9 @@ public class BenefitCalculator {
 			return new ParallelBenefit(criterion.getNominalBenefit(columnTable,
 					SelectionCreator.getArbitraryValue(allSelectedExamples), attributeNumber), attributeNumber);
 		} else {
-			// numerical attribute
-			int[] selectedExamples = allSelectedExamples.get(attributeNumber);
+			// numerical attribute, the selection is only sorted by it if the table is not binned
+			int[] selectedExamples = columnTable.isBinned() ? SelectionCreator.getArbitraryValue(allSelectedExamples)
+					: allSelectedExamples.get(attributeNumber);
 			return splitter.getBestSplitBenefit(selectedExamples, attributeNumber);
 		}
 	}
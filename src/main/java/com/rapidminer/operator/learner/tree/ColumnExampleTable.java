@@ -19,6 +19,7 @@
 package com.rapidminer.operator.learner.tree;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.concurrent.Callable;
 import java.util.concurrent.ExecutionException;
@@ -32,6 +33,7 @@ import com.rapidminer.example.table.NominalMapping;
 import com.rapidminer.operator.Operator;
 import com.rapidminer.operator.OperatorException;
 import com.rapidminer.operator.UserError;
+import com.rapidminer.operator.concurrency.internal.ConcurrencyTools;
 import com.rapidminer.studio.internal.Resources;
 
 
@@ -52,6 +54,11 @@ import com.rapidminer.studio.internal.Resources;
  * from their {@link NominalMapping} or, if they are missing values, as the size of the mapping. The
  * label must not have missing values.
  *
+ * Optionally, the values of the numerical attributes are additionally quantized into at most
+ * {@link #MAXIMAL_NUMBER_OF_BINS} bins which are stored as byte values. Split searches can then
+ * consider only the thresholds between the bins instead of every distinct value and do not need
+ * the examples sorted by every numerical attribute.
+ *
  * @author Gisa Schaefer
  *
  */
@@ -69,6 +76,14 @@ public class ColumnExampleTable {
 	/** If a nominal attribute has more than this number of different values, it is ignored. */
 	private static final int MAXIMAL_NOMINAL_VALUES = 127;
 
+	/**
+	 * The maximal number of bins for numerical attributes. The bin index of missing values is the
+	 * number of bins, so all indices fit into an unsigned byte.
+	 *
+	 * @since 9.7
+	 */
+	public static final int MAXIMAL_NUMBER_OF_BINS = 255;
+
 	private int numberOfExamples = 0;
 
 	private int numberOfRegularNominalAttributes = 0;
@@ -108,6 +123,19 @@ public class ColumnExampleTable {
 	 */
 	private double[][] numericalColumnTable;
 
+	/**
+	 * table containing the bin indices of the numerical attributes as unsigned bytes or
+	 * <code>null</code> if the numerical attributes are not binned: binnedColumnTable[c][r] is the
+	 * bin of numericalColumnTable[c][r]
+	 */
+	private byte[][] binnedColumnTable;
+
+	/**
+	 * the thresholds between the bins of the numerical attributes: a value is in bin b if it is
+	 * greater than binThresholds[c][b-1] and not greater than binThresholds[c][b]
+	 */
+	private double[][] binThresholds;
+
 	/**
 	 * The nominal column table is initialized with the values of the regular nominal attributes,
 	 * the numerical column table with the ones of the regular numeric attributes. The values of the
@@ -122,6 +150,29 @@ public class ColumnExampleTable {
 	 *
 	 */
 	public ColumnExampleTable(ExampleSet exampleSet, Operator operator, boolean parallelAllowed) throws OperatorException {
+		this(exampleSet, operator, parallelAllowed, 0);
+	}
+
+	/**
+	 * Creates the table as {@link #ColumnExampleTable(ExampleSet, Operator, boolean)} does and
+	 * additionally quantizes the values of every numerical attribute into at most the given number
+	 * of bins.
+	 *
+	 * @param parallelAllowed
+	 *            if the table creation can be done in parallel
+	 * @param maximalNumberOfBins
+	 *            the maximal number of bins for each numerical attribute, at most
+	 *            {@link #MAXIMAL_NUMBER_OF_BINS}, or {@code 0} if the numerical attributes should
+	 *            not be binned
+	 * @throws OperatorException
+	 *             if the label has missing values
+	 * @since 9.7
+	 */
+	public ColumnExampleTable(ExampleSet exampleSet, Operator operator, boolean parallelAllowed, int maximalNumberOfBins)
+			throws OperatorException {
+		if (maximalNumberOfBins < 0 || maximalNumberOfBins == 1 || maximalNumberOfBins > MAXIMAL_NUMBER_OF_BINS) {
+			throw new IllegalArgumentException("maximalNumberOfBins must be 0 or between 2 and " + MAXIMAL_NUMBER_OF_BINS);
+		}
 		numberOfExamples = exampleSet.size();
 		label = exampleSet.getAttributes().getLabel();
 		weight = exampleSet.getAttributes().getWeight();
@@ -168,6 +219,20 @@ public class ColumnExampleTable {
 			populate(exampleSet, operator);
 		}
 
+		if (maximalNumberOfBins > 0) {
+			binnedColumnTable = new byte[numberOfRegularNumericalAttributes][];
+			binThresholds = new double[numberOfRegularNumericalAttributes][];
+			if (betterParallel(parallelAllowed, operator)) {
+				binParallel(maximalNumberOfBins, operator);
+			} else {
+				for (int column = 0; column < numberOfRegularNumericalAttributes; column++) {
+					if (operator != null) {
+						Resources.getConcurrencyContext(operator).checkStatus();
+					}
+					bin(column, maximalNumberOfBins);
+				}
+			}
+		}
 	}
 
 	/**
@@ -235,14 +300,7 @@ public class ColumnExampleTable {
 		try {
 			context.call(todo);
 		} catch (ExecutionException e) {
-			Throwable cause = e.getCause();
-			if (cause instanceof RuntimeException) {
-				throw (RuntimeException) cause;
-			} else if (cause instanceof Error) {
-				throw (Error) cause;
-			} else {
-				throw new OperatorException(cause.getMessage(), cause);
-			}
+			throw ConcurrencyTools.unwrap(e);
 		}
 	}
 
@@ -279,6 +337,91 @@ public class ColumnExampleTable {
 		}
 	}
 
+	/**
+	 * Quantizes the numerical columns in parallel.
+	 *
+	 * @param maximalNumberOfBins
+	 * @param operator
+	 *            a non-null operator
+	 * @throws OperatorException
+	 */
+	private void binParallel(final int maximalNumberOfBins, Operator operator) throws OperatorException {
+		final ConcurrencyContext context = Resources.getConcurrencyContext(operator);
+		List<Callable<Void>> todo = new ArrayList<>(numberOfRegularNumericalAttributes);
+		for (int column = 0; column < numberOfRegularNumericalAttributes; column++) {
+			final int currentColumn = column;
+			todo.add(() -> {
+				context.checkStatus();
+				bin(currentColumn, maximalNumberOfBins);
+				return null;
+			});
+		}
+
+		try {
+			context.call(todo);
+		} catch (ExecutionException e) {
+			throw ConcurrencyTools.unwrap(e);
+		}
+	}
+
+	/**
+	 * Quantizes the numerical column into at most maximalNumberOfBins bins containing roughly the
+	 * same number of examples. Equal values are always in the same bin, so if there are not more
+	 * different values than bins, every value gets its own bin. The thresholds between the bins are
+	 * the midpoints between the largest value of one bin and the smallest of the next, like the
+	 * split values of the exact split search.
+	 *
+	 * @param column
+	 *            the number of the numerical column
+	 * @param maximalNumberOfBins
+	 */
+	private void bin(int column, int maximalNumberOfBins) {
+		double[] values = numericalColumnTable[column];
+		double[] sorted = Arrays.copyOf(values, values.length);
+		Arrays.sort(sorted);
+		int numberOfValues = sorted.length;
+		// NaNs are sorted to the end
+		while (numberOfValues > 0 && Double.isNaN(sorted[numberOfValues - 1])) {
+			numberOfValues--;
+		}
+
+		int numberOfDifferentValues = numberOfValues > 0 ? 1 : 0;
+		for (int i = 1; i < numberOfValues; i++) {
+			if (sorted[i] != sorted[i - 1]) {
+				numberOfDifferentValues++;
+			}
+		}
+		boolean binPerValue = numberOfDifferentValues <= maximalNumberOfBins;
+
+		double[] thresholds = new double[maximalNumberOfBins - 1];
+		int numberOfThresholds = 0;
+		int bin = 0;
+		for (int i = 1; i < numberOfValues && numberOfThresholds < thresholds.length; i++) {
+			if (sorted[i] == sorted[i - 1]) {
+				continue;
+			}
+			// close the current bin if it contains its share of the values
+			if (binPerValue || (long) i * maximalNumberOfBins >= (long) (bin + 1) * numberOfValues) {
+				thresholds[numberOfThresholds++] = (sorted[i - 1] + sorted[i]) / 2.0d;
+				bin++;
+			}
+		}
+		thresholds = Arrays.copyOf(thresholds, numberOfThresholds);
+
+		byte[] bins = new byte[values.length];
+		for (int row = 0; row < values.length; row++) {
+			double value = values[row];
+			if (Double.isNaN(value)) {
+				bins[row] = (byte) (numberOfThresholds + 1);
+			} else {
+				int index = Arrays.binarySearch(thresholds, value);
+				bins[row] = (byte) (index >= 0 ? index : -index - 1);
+			}
+		}
+		binnedColumnTable[column] = bins;
+		binThresholds[column] = thresholds;
+	}
+
 	/**
 	 * Calculates if it is better to fill the table in parallel.
 	 *
@@ -403,4 +546,34 @@ public class ColumnExampleTable {
 		return numberOfRegularNumericalAttributes;
 	}
 
+	/**
+	 * @return <code>true</code> if the numerical attributes are quantized into bins
+	 * @since 9.7
+	 */
+	public boolean isBinned() {
+		return binnedColumnTable != null;
+	}
+
+	/**
+	 * @param attributeNumber
+	 *            a number that represents a numerical attribute
+	 * @return the column containing the bin indices of the represented numerical attribute as
+	 *         unsigned bytes, where the index of missing values is the number of bins
+	 * @since 9.7
+	 */
+	public byte[] getBinnedAttributeColumn(int attributeNumber) {
+		return binnedColumnTable[attributeNumber - numberOfRegularNominalAttributes];
+	}
+
+	/**
+	 * @param attributeNumber
+	 *            a number that represents a numerical attribute
+	 * @return the ascending thresholds between the bins of the represented numerical attribute,
+	 *         there is one bin more than thresholds
+	 * @since 9.7
+	 */
+	public double[] getBinThresholds(int attributeNumber) {
+		return binThresholds[attributeNumber - numberOfRegularNominalAttributes];
+	}
+
 }
@@ -0,0 +1,135 @@
+/**
+ * Copyright (C) 2001-2020 by RapidMiner and the contributors
+ * 
+ * Complete list of developers available at our web site:
+ * 
+ * http://rapidminer.com
+ * 
+ * This program is free software: you can redistribute it and/or modify it under the terms of the
+ * GNU Affero General Public License as published by the Free Software Foundation, either version 3
+ * of the License, or (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without
+ * even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Affero General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Affero General Public License along with this program.
+ * If not, see http://www.gnu.org/licenses/.
+*/
+package com.rapidminer.operator.learner.tree;
+
+import com.rapidminer.operator.learner.tree.criterions.ColumnCriterion;
+import com.rapidminer.operator.learner.tree.criterions.WeightDistribution;
+
+
+/**
+ * Calculates the best split point for numerical attributes of a binned {@link ColumnExampleTable}.
+ * Only the thresholds between the bins are considered as split points. The selected examples do
+ * not need to be sorted, they are ordered by their bins with a counting sort instead.
+ *
+ * @since 9.7
+ */
+public class ColumnHistogramSplitter extends ColumnNumericalSplitter {
+
+	private final ColumnCriterion criterion;
+	private final ColumnExampleTable columnTable;
+
+	public ColumnHistogramSplitter(ColumnExampleTable columnTable, ColumnCriterion criterion) {
+		super(columnTable, criterion);
+		this.criterion = criterion;
+		this.columnTable = columnTable;
+	}
+
+	/**
+	 * Calculates where to best split a numerical attribute by considering the thresholds between
+	 * the bins of the selected examples and the associated benefits according to the given
+	 * criterion. If there are missing values, they are considered as extra class.
+	 *
+	 * @param selectedExamples
+	 *            which of the starting examples are considered, in arbitrary order
+	 * @param attributeNumber
+	 *            indicates which attribute is considered
+	 * @return the benefit of the best split
+	 */
+	@Override
+	public ParallelBenefit getBestSplitBenefit(int[] selectedExamples, int attributeNumber) {
+		byte[] binColumn = columnTable.getBinnedAttributeColumn(attributeNumber);
+		double[] thresholds = columnTable.getBinThresholds(attributeNumber);
+		int missingBin = thresholds.length + 1;
+
+		// counting sort of the selected examples by their bins, the missing values come last
+		int[] binStarts = new int[missingBin + 2];
+		for (int j : selectedExamples) {
+			binStarts[(binColumn[j] & 0xFF) + 1]++;
+		}
+		for (int bin = 1; bin < binStarts.length; bin++) {
+			binStarts[bin] += binStarts[bin - 1];
+		}
+
+		double bestSplit = Double.NaN;
+		double bestSplitBenefit = Double.NEGATIVE_INFINITY;
+
+		if (this.criterion.supportsIncrementalCalculation()) {
+			int[] positions = new int[missingBin + 1];
+			System.arraycopy(binStarts, 0, positions, 0, positions.length);
+			int[] sortedExamples = new int[selectedExamples.length];
+			for (int j : selectedExamples) {
+				sortedExamples[positions[binColumn[j] & 0xFF]++] = j;
+			}
+
+			WeightDistribution distribution = this.criterion.startIncrementalCalculation(columnTable, selectedExamples,
+					attributeNumber);
+			int lastRow = -1;
+			int lastBin = -1;
+			for (int j : sortedExamples) {
+				int currentBin = binColumn[j] & 0xFF;
+				if (lastRow > -1) {
+					this.criterion.updateWeightDistribution(columnTable, lastRow, distribution);
+				}
+				lastRow = j;
+				if (currentBin != lastBin) {
+					double benefit = this.criterion.getIncrementalBenefit(distribution);
+					if (benefit > bestSplitBenefit) {
+						bestSplitBenefit = benefit;
+						bestSplit = getSplitValue(thresholds, lastBin, currentBin);
+					}
+				}
+				lastBin = currentBin;
+			}
+		} else {
+			int lastBin = -1;
+			for (int bin = 0; bin <= missingBin; bin++) {
+				if (binStarts[bin + 1] == binStarts[bin]) {
+					// no examples in this bin
+					continue;
+				}
+				double splitValue = getSplitValue(thresholds, lastBin, bin);
+				double benefit = this.criterion.getNumericalBenefit(columnTable, selectedExamples, attributeNumber,
+						splitValue);
+				if (benefit > bestSplitBenefit) {
+					bestSplitBenefit = benefit;
+					bestSplit = splitValue;
+				}
+				lastBin = bin;
+			}
+		}
+
+		if (Double.isNaN(bestSplit)) {
+			return null;
+		} else {
+			return new ParallelBenefit(bestSplitBenefit, attributeNumber, bestSplit);
+		}
+	}
+
+	/**
+	 * Returns the split value between the last bin and the current bin. As for the exact split
+	 * search, this is {@link Double#NaN} before the first bin and before the missing values.
+	 */
+	private static double getSplitValue(double[] thresholds, int lastBin, int currentBin) {
+		if (lastBin < 0 || currentBin > thresholds.length) {
+			return Double.NaN;
+		}
+		return thresholds[lastBin];
+	}
+
+}
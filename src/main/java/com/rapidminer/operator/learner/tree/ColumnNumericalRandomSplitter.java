@@ -48,6 +48,9 @@ public class ColumnNumericalRandomSplitter extends ColumnNumericalSplitter {
 	 */
 	@Override
 	public ParallelBenefit getBestSplitBenefit(int[] selectedExamples, int attributeNumber) {
+		if (columnTable.isBinned()) {
+			return getRandomSplitBenefit(selectedExamples, attributeNumber);
+		}
 		// find min and max (attribute column is sorted wrt selected examples)
 		double[] attributeValues = columnTable.getNumericalAttributeColumn(attributeNumber);
 
@@ -82,4 +85,45 @@ public class ColumnNumericalRandomSplitter extends ColumnNumericalSplitter {
 		return new ParallelBenefit(benefit, attributeNumber, splitValue);
 	}
 
+	/**
+	 * Randomly splits at the given attribute number for selected examples that are not sorted by
+	 * the attribute, as is the case for binned tables.
+	 */
+	private ParallelBenefit getRandomSplitBenefit(int[] selectedExamples, int attributeNumber) {
+		double[] attributeValues = columnTable.getNumericalAttributeColumn(attributeNumber);
+		double min = Double.POSITIVE_INFINITY;
+		double max = Double.NEGATIVE_INFINITY;
+		boolean hasNaNs = false;
+		for (int j : selectedExamples) {
+			double value = attributeValues[j];
+			if (Double.isNaN(value)) {
+				hasNaNs = true;
+			} else {
+				min = Math.min(min, value);
+				max = Math.max(max, value);
+			}
+		}
+
+		if (min > max) {
+			// all values are NaN
+			return null;
+		}
+		if (Tools.isEqual(min, max) && !hasNaNs) {
+			// all values are the same
+			return null;
+		}
+
+		// draw split value uniformly in [min,max]
+		double splitValue = random.nextDouble() * (max - min) + min;
+
+		double benefit = this.criterion.getNumericalBenefit(columnTable, selectedExamples, attributeNumber,
+				splitValue);
+
+		if (Double.isNaN(benefit)) {
+			return null;
+		}
+
+		return new ParallelBenefit(benefit, attributeNumber, splitValue);
+	}
+
 }
@@ -20,6 +20,7 @@ package com.rapidminer.operator.learner.tree;
 
 import java.util.List;
 
+import com.rapidminer.example.Attribute;
 import com.rapidminer.example.Example;
 import com.rapidminer.example.ExampleSet;
 import com.rapidminer.example.set.ExampleSetUtilities;
@@ -60,6 +61,11 @@ public class ConfigurableRandomForestModel extends SimplePredictionModel impleme
 	/** The wrapped voting meta model. */
 	private final SimplePredictionModel model;
 
+	/** the trees flattened for scoring, created on first use */
+	private transient FlattenedForest flattenedForest;
+
+	private transient volatile boolean flattened;
+
 	public ConfigurableRandomForestModel(ExampleSet exampleSet, List<? extends TreePredictionModel> models,
 			VotingStrategy strategy) {
 		super(exampleSet, ExampleSetUtilities.SetsCompareOption.EQUAL,
@@ -88,9 +94,30 @@ public class ConfigurableRandomForestModel extends SimplePredictionModel impleme
 		return "Random Forest Model";
 	}
 
+	/**
+	 * Predicts with the flattened trees if possible, otherwise with the wrapped voting model.
+	 */
 	@Override
 	public double predict(Example example) throws OperatorException {
-		return model.predict(example);
+		if (!flattened) {
+			flattenedForest = FlattenedForest.compile(getModels(), getLabel(), model instanceof ConfidenceVoteModel);
+			flattened = true;
+		}
+		Attribute[] attributes = flattenedForest == null ? null : flattenedForest.getAttributes(example);
+		if (attributes == null) {
+			return model.predict(example);
+		}
+		return flattenedForest.predict(example, attributes);
+	}
+
+	/**
+	 * Returns whether the wrapped voting model is thread-safe. Classification forests break ties
+	 * randomly and are therefore scored sequentially. Subclasses are scored sequentially unless they
+	 * opt in.
+	 */
+	@Override
+	public boolean isThreadSafe() {
+		return getClass() == ConfigurableRandomForestModel.class && model.isThreadSafe();
 	}
 
 	@Override
@@ -0,0 +1,454 @@
+/**
+ * Copyright (C) 2001-2020 by RapidMiner and the contributors
+ * 
+ * Complete list of developers available at our web site:
+ * 
+ * http://rapidminer.com
+ * 
+ * This program is free software: you can redistribute it and/or modify it under the terms of the
+ * GNU Affero General Public License as published by the Free Software Foundation, either version 3
+ * of the License, or (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without
+ * even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Affero General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Affero General Public License along with this program.
+ * If not, see http://www.gnu.org/licenses/.
+*/
+package com.rapidminer.operator.learner.tree;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+
+import com.rapidminer.example.Attribute;
+import com.rapidminer.example.Attributes;
+import com.rapidminer.example.Example;
+import com.rapidminer.example.table.NominalMapping;
+import com.rapidminer.operator.Model;
+import com.rapidminer.operator.OperatorException;
+import com.rapidminer.tools.RandomGenerator;
+import com.rapidminer.tools.Tools;
+
+
+/**
+ * Flat representation of the trees of a forest for fast scoring. All nodes of all trees are stored
+ * in primitive arrays: the edges of a node are stored consecutively with their split type, the
+ * index of the tested attribute, the split value and the index of the child node. The prediction
+ * and, for nominal labels, the confidences of the nodes are stored per node. The values of all
+ * attributes used by the trees are read once per example and then every tree is scored on them.
+ * <p>
+ * The predictions and confidences are the same as the ones of the {@link com.rapidminer.operator.learner.meta.SimpleVoteModel} or
+ * {@link com.rapidminer.operator.learner.meta.ConfidenceVoteModel} with the original
+ * {@link TreeModel}s or {@link RegressionTreeModel}s.
+ *
+ * @since 9.7
+ */
+final class FlattenedForest {
+
+	/** the split types of the edges */
+	private static final byte LESS_EQUALS = 0;
+	private static final byte GREATER = 1;
+	private static final byte MISSING = 2;
+	private static final byte EQUALS = 3;
+
+	/** the attributes of an example set resolved by the attribute names */
+	private static final class ResolvedAttributes {
+
+		private final Attributes attributes;
+		private final Attribute[] resolved;
+
+		private ResolvedAttributes(Attributes attributes, Attribute[] resolved) {
+			this.attributes = attributes;
+			this.resolved = resolved;
+		}
+	}
+
+	private final String[] attributeNames;
+	private final int[] roots;
+	private final int[] edgeStarts;
+	private final byte[] edgeTypes;
+	private final int[] edgeAttributes;
+	private final double[] edgeValues;
+	private final int[] edgeChildren;
+	private final double[] predictions;
+
+	/** the confidences of node n are stored at n * numberOfClasses, {@code null} for regression */
+	private final double[] confidences;
+	private final int numberOfClasses;
+	private final String[] classNames;
+
+	/** the order in which the classes are voted for */
+	private final int[] classOrder;
+	private final boolean confidenceVote;
+
+	private volatile ResolvedAttributes lastResolved;
+
+	private FlattenedForest(String[] attributeNames, int[] roots, int[] edgeStarts, byte[] edgeTypes,
+			int[] edgeAttributes, double[] edgeValues, int[] edgeChildren, double[] predictions, double[] confidences,
+			String[] classNames, int[] classOrder, boolean confidenceVote) {
+		this.attributeNames = attributeNames;
+		this.roots = roots;
+		this.edgeStarts = edgeStarts;
+		this.edgeTypes = edgeTypes;
+		this.edgeAttributes = edgeAttributes;
+		this.edgeValues = edgeValues;
+		this.edgeChildren = edgeChildren;
+		this.predictions = predictions;
+		this.confidences = confidences;
+		this.numberOfClasses = classNames == null ? 0 : classNames.length;
+		this.classNames = classNames;
+		this.classOrder = classOrder;
+		this.confidenceVote = confidenceVote;
+	}
+
+	/**
+	 * Returns the attributes of the example that are tested by the trees, in the order of the
+	 * attribute indices of the edges.
+	 *
+	 * @return the attributes or {@code null} if one of them is missing
+	 */
+	Attribute[] getAttributes(Example example) {
+		Attributes attributes = example.getAttributes();
+		ResolvedAttributes resolved = lastResolved;
+		if (resolved == null || resolved.attributes != attributes) {
+			Attribute[] resolvedAttributes = new Attribute[attributeNames.length];
+			for (int i = 0; i < attributeNames.length; i++) {
+				resolvedAttributes[i] = attributes.get(attributeNames[i]);
+				if (resolvedAttributes[i] == null) {
+					return null;
+				}
+			}
+			resolved = new ResolvedAttributes(attributes, resolvedAttributes);
+			lastResolved = resolved;
+		}
+		return resolved.resolved;
+	}
+
+	/**
+	 * Predicts the example with all trees and combines the predictions by majority vote or by
+	 * confidence vote. The confidences are set for nominal labels.
+	 *
+	 * @param attributes
+	 *            the attributes returned by {@link #getAttributes(Example)}
+	 * @throws OperatorException
+	 *             if a tree delivers no confidence values for the confidence vote
+	 */
+	double predict(Example example, Attribute[] attributes) throws OperatorException {
+		double[] row = new double[attributes.length];
+		for (int i = 0; i < attributes.length; i++) {
+			row[i] = example.getValue(attributes[i]);
+		}
+		if (confidences == null) {
+			double sum = 0.0d;
+			for (int root : roots) {
+				sum += predictions[score(root, row)];
+			}
+			return sum / roots.length;
+		} else if (confidenceVote) {
+			return confidenceVote(example, row);
+		} else {
+			return majorityVote(example, row);
+		}
+	}
+
+	/**
+	 * Majority vote as done by the {@link com.rapidminer.operator.learner.meta.SimpleVoteModel}, including the way ties are broken.
+	 */
+	private double majorityVote(Example example, double[] row) {
+		int[] votes = new int[numberOfClasses];
+		for (int root : roots) {
+			double prediction = predictions[score(root, row)];
+			int index = (int) prediction;
+			if (index == prediction && index >= 0 && index < numberOfClasses) {
+				votes[index]++;
+			}
+		}
+
+		int[] bestClasses = new int[numberOfClasses + 1];
+		int numberOfBestClasses = 0;
+		int bestClassesVotes = -1;
+		for (int currentClass : classOrder) {
+			int currentVotes = votes[currentClass];
+			if (currentVotes > 0) {
+				if (currentVotes > bestClassesVotes) {
+					numberOfBestClasses = 0;
+					bestClasses[numberOfBestClasses++] = currentClass;
+					bestClassesVotes = currentVotes;
+				}
+				if (currentVotes == bestClassesVotes) {
+					bestClasses[numberOfBestClasses++] = currentClass;
+				}
+				example.setConfidence(classNames[currentClass], (double) currentVotes / (double) roots.length);
+			} else {
+				example.setConfidence(classNames[currentClass], 0.00);
+			}
+		}
+		int bestClassIndex = 0;
+		if (numberOfBestClasses != 1) {
+			bestClassIndex = RandomGenerator.getGlobalRandomGenerator().nextInt(numberOfBestClasses);
+		}
+		return bestClasses[bestClassIndex];
+	}
+
+	/**
+	 * Confidence vote as done by the {@link com.rapidminer.operator.learner.meta.ConfidenceVoteModel},
+	 * including the way ties are broken.
+	 */
+	private double confidenceVote(Example example, double[] row) throws OperatorException {
+		double[] sums = new double[numberOfClasses];
+		for (int root : roots) {
+			int offset = score(root, row) * numberOfClasses;
+			for (int i = 0; i < numberOfClasses; i++) {
+				double classConfidence = confidences[offset + i];
+				if (Double.isNaN(classConfidence)) {
+					throw new OperatorException("Child model failed to compute confidence value.");
+				}
+				sums[i] += classConfidence;
+			}
+		}
+
+		int[] bestClasses = new int[numberOfClasses];
+		int numberOfBestClasses = 0;
+		double maxConfidence = -1;
+		for (int currentClass : classOrder) {
+			double confidence = sums[currentClass] / roots.length;
+			if (confidence > maxConfidence) {
+				maxConfidence = confidence;
+				numberOfBestClasses = 0;
+			}
+			if (confidence == maxConfidence) {
+				bestClasses[numberOfBestClasses++] = currentClass;
+			}
+			example.setConfidence(classNames[currentClass], confidence);
+		}
+
+		int bestClassIndex = 0;
+		if (numberOfBestClasses != 1) {
+			bestClassIndex = RandomGenerator.getGlobalRandomGenerator().nextInt(numberOfBestClasses);
+		}
+		return bestClasses[bestClassIndex];
+	}
+
+	/**
+	 * Follows the first matching edge from the root until a leaf or a node without matching edge
+	 * is reached.
+	 *
+	 * @return the index of the reached node
+	 */
+	private int score(int root, double[] row) {
+		int node = root;
+		nodes: while (true) {
+			for (int edge = edgeStarts[node]; edge < edgeStarts[node + 1]; edge++) {
+				double value = row[edgeAttributes[edge]];
+				boolean matches;
+				switch (edgeTypes[edge]) {
+					case LESS_EQUALS:
+						matches = value <= edgeValues[edge];
+						break;
+					case GREATER:
+						matches = value > edgeValues[edge];
+						break;
+					case MISSING:
+						matches = Double.isNaN(value);
+						break;
+					default:
+						matches = Tools.isEqual(value, edgeValues[edge]);
+				}
+				if (matches) {
+					node = edgeChildren[edge];
+					continue nodes;
+				}
+			}
+			return node;
+		}
+	}
+
+	/**
+	 * Flattens the trees of the given models.
+	 *
+	 * @param models
+	 *            the models of the forest
+	 * @param label
+	 *            the label of the forest
+	 * @param confidenceVote
+	 *            whether the predictions are combined by confidence vote instead of majority vote
+	 * @return the flattened forest or {@code null} if the models are no {@link TreeModel}s or
+	 *         {@link RegressionTreeModel}s matching the label or a tree uses other split conditions
+	 *         than the ones created by the tree learners
+	 */
+	static FlattenedForest compile(List<? extends Model> models, Attribute label, boolean confidenceVote) {
+		if (models.isEmpty() || confidenceVote && !label.isNominal()) {
+			return null;
+		}
+		String[] classNames = null;
+		int[] classOrder = null;
+		if (label.isNominal()) {
+			NominalMapping mapping = label.getMapping();
+			List<String> values = mapping.getValues();
+			classNames = new String[mapping.size()];
+			for (int i = 0; i < classNames.length; i++) {
+				classNames[i] = mapping.mapIndex(i);
+			}
+			classOrder = new int[values.size()];
+			if (confidenceVote) {
+				// the confidence vote model iterates over a hash map of the class names
+				Map<String, Double> classConfidenceSums = new HashMap<>();
+				for (String value : values) {
+					classConfidenceSums.put(value, 0d);
+				}
+				values = new ArrayList<>(classConfidenceSums.keySet());
+			}
+			for (int i = 0; i < classOrder.length; i++) {
+				classOrder[i] = mapping.getIndex(values.get(i));
+				if (classOrder[i] < 0) {
+					return null;
+				}
+			}
+		}
+
+		Map<String, Integer> attributeIndices = new LinkedHashMap<>();
+		List<Tree> nodes = new ArrayList<>();
+		int[] roots = new int[models.size()];
+		int numberOfEdges = 0;
+		for (int i = 0; i < roots.length; i++) {
+			Model model = models.get(i);
+			Tree root;
+			if (model instanceof TreeModel && label.isNominal()) {
+				TreeModel treeModel = (TreeModel) model;
+				if (!treeModel.getLabel().getMapping().getValues().equals(label.getMapping().getValues())) {
+					return null;
+				}
+				root = treeModel.getRoot();
+			} else if (model instanceof RegressionTreeModel && !label.isNominal()) {
+				root = ((RegressionTreeModel) model).getRoot();
+			} else {
+				return null;
+			}
+			roots[i] = nodes.size();
+			nodes.add(root);
+			// add the nodes of the tree breadth first
+			for (int n = roots[i]; n < nodes.size(); n++) {
+				Iterator<Edge> childIterator = nodes.get(n).childIterator();
+				while (childIterator.hasNext()) {
+					nodes.add(childIterator.next().getChild());
+					numberOfEdges++;
+				}
+			}
+		}
+
+		int[] edgeStarts = new int[nodes.size() + 1];
+		byte[] edgeTypes = new byte[numberOfEdges];
+		int[] edgeAttributes = new int[numberOfEdges];
+		double[] edgeValues = new double[numberOfEdges];
+		int[] edgeChildren = new int[numberOfEdges];
+		double[] predictions = new double[nodes.size()];
+		double[] confidences = classNames == null ? null : new double[nodes.size() * classNames.length];
+		int edge = 0;
+		int nextChild = 1;
+		for (int n = 0; n < nodes.size(); n++) {
+			Tree node = nodes.get(n);
+			if (n > 0 && Arrays.binarySearch(roots, n) >= 0) {
+				// the next tree starts, its root is not a child
+				nextChild++;
+			}
+			edgeStarts[n] = edge;
+			Iterator<Edge> childIterator = node.childIterator();
+			while (childIterator.hasNext()) {
+				SplitCondition condition = childIterator.next().getCondition();
+				Class<?> conditionClass = condition.getClass();
+				if (conditionClass == LessEqualsSplitCondition.class) {
+					edgeTypes[edge] = LESS_EQUALS;
+					edgeValues[edge] = ((LessEqualsSplitCondition) condition).getValue();
+				} else if (conditionClass == GreaterSplitCondition.class) {
+					edgeTypes[edge] = GREATER;
+					edgeValues[edge] = ((GreaterSplitCondition) condition).getValue();
+				} else if (conditionClass == NumericalMissingSplitCondition.class) {
+					edgeTypes[edge] = MISSING;
+				} else if (conditionClass == NominalSplitCondition.class) {
+					edgeTypes[edge] = EQUALS;
+					edgeValues[edge] = ((NominalSplitCondition) condition).getValue();
+				} else {
+					return null;
+				}
+				Integer attributeIndex = attributeIndices.get(condition.getAttributeName());
+				if (attributeIndex == null) {
+					attributeIndex = attributeIndices.size();
+					attributeIndices.put(condition.getAttributeName(), attributeIndex);
+				}
+				edgeAttributes[edge] = attributeIndex;
+				edgeChildren[edge] = nextChild++;
+				edge++;
+			}
+			if (confidences == null) {
+				predictions[n] = getRegressionPrediction((RegressionTree) node);
+			} else if (!setClassification(node, label.getMapping(), predictions, confidences, n)) {
+				return null;
+			}
+		}
+		edgeStarts[nodes.size()] = edge;
+
+		return new FlattenedForest(attributeIndices.keySet().toArray(new String[0]), roots, edgeStarts, edgeTypes,
+				edgeAttributes, edgeValues, edgeChildren, predictions, confidences, classNames, classOrder,
+				confidenceVote);
+	}
+
+	/**
+	 * Calculates the prediction of the regression tree node as done by the
+	 * {@link RegressionTreeModel}: the value of a leaf or the average of the children otherwise.
+	 */
+	private static double getRegressionPrediction(RegressionTree node) {
+		if (node.isLeaf()) {
+			return node.getValue();
+		}
+		double sum = 0;
+		for (Iterator<Edge> childIterator = node.childIterator(); childIterator.hasNext();) {
+			sum += getRegressionPrediction((RegressionTree) childIterator.next().getChild());
+		}
+		return sum / node.getNumberOfChildren();
+	}
+
+	/**
+	 * Calculates the prediction and the confidences of the node as done by the {@link TreeModel}:
+	 * from the counts of a leaf or from the counts of the subtree otherwise.
+	 *
+	 * @return {@code false} if the counts contain classes that are not in the mapping
+	 */
+	private static boolean setClassification(Tree node, NominalMapping mapping, double[] predictions,
+			double[] confidences, int n) {
+		int[] counts = new int[mapping.size()];
+		int sum = 0;
+		String majorityClass = null;
+		int majorityCounter = -1;
+		Map<String, Integer> counterMap = node.isLeaf() ? node.getCounterMap() : node.getSubtreeCounterMap();
+		for (Entry<String, Integer> entry : counterMap.entrySet()) {
+			int count = entry.getValue();
+			int index = mapping.getIndex(entry.getKey());
+			if (index < 0) {
+				return false;
+			}
+			counts[index] = count;
+			sum += count;
+			if (count > majorityCounter) {
+				majorityCounter = count;
+				majorityClass = entry.getKey();
+			}
+		}
+		for (int i = 0; i < counts.length; i++) {
+			confidences[n * counts.length + i] = (double) counts[i] / sum;
+		}
+		if (node.isLeaf()) {
+			predictions[n] = mapping.getIndex(node.getLabel());
+		} else {
+			predictions[n] = majorityClass != null ? mapping.getIndex(majorityClass) : 0;
+		}
+		return true;
+	}
+
+}
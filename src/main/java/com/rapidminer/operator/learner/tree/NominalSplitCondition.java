@@ -58,6 +58,15 @@ public class NominalSplitCondition extends AbstractSplitCondition {
 		return "=";
 	}
 
+	/**
+	 * @return the index of the nominal value in the mapping of the training data or
+	 *         {@link Double#NaN} for missing values
+	 * @since 9.7
+	 */
+	public double getValue() {
+		return value;
+	}
+
 	@Override
 	public String getValueString() {
 		return this.valueString;
@@ -116,7 +116,7 @@ public class NonParallelBootstrappingTreeBuilder extends NonParallelTreeBuilder
 	@Override
 	protected Map<Integer, int[]> createExampleStartSelection() {
 		Map<Integer, int[]> selection = new HashMap<>();
-		if (columnTable.getNumberOfRegularNumericalAttributes() == 0) {
+		if (columnTable.getNumberOfRegularNumericalAttributes() == 0 || columnTable.isBinned()) {
 			selection.put(0, createFullRandomArray(columnTable.getNumberOfExamples()));
 		} else {
 			Integer[] bigSelectionArray = createFullBigRandomArray(columnTable.getNumberOfExamples());
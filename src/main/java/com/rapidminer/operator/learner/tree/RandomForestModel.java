@@ -20,7 +20,10 @@ package com.rapidminer.operator.learner.tree;
 
 import java.util.List;
 
+import com.rapidminer.example.Attribute;
+import com.rapidminer.example.Example;
 import com.rapidminer.example.ExampleSet;
+import com.rapidminer.operator.OperatorException;
 import com.rapidminer.operator.learner.meta.SimpleVoteModel;
 
 
@@ -37,10 +40,40 @@ public class RandomForestModel extends SimpleVoteModel {
 
 	private static final long serialVersionUID = 1L;
 
+	/** the trees flattened for scoring, created on first use */
+	private transient FlattenedForest flattenedForest;
+
+	private transient volatile boolean flattened;
+
 	public RandomForestModel(ExampleSet exampleSet, List<TreeModel> baseModels) {
 		super(exampleSet, baseModels);
 	}
 
+	/**
+	 * Predicts with the flattened trees if possible, otherwise with the tree models.
+	 */
+	@Override
+	public double predict(Example example) throws OperatorException {
+		if (!flattened) {
+			flattenedForest = FlattenedForest.compile(getModels(), getLabel(), false);
+			flattened = true;
+		}
+		Attribute[] attributes = flattenedForest == null ? null : flattenedForest.getAttributes(example);
+		if (attributes == null) {
+			return super.predict(example);
+		}
+		return flattenedForest.predict(example, attributes);
+	}
+
+	/**
+	 * The flattened trees are published via a volatile flag, so forests can be scored concurrently
+	 * under the same conditions as other voting models.
+	 */
+	@Override
+	public boolean isThreadSafe() {
+		return getClass() == RandomForestModel.class && canVoteConcurrently();
+	}
+
 	@Override
 	public String getName() {
 		return "Random Forest Model";
@@ -51,6 +51,12 @@ public class RegressionTreeModel extends TreePredictionModel {
 		return predict(example, root);
 	}
 
+	/** Trees are only read when applied. Subclasses are scored sequentially unless they opt in. */
+	@Override
+	public boolean isThreadSafe() {
+		return getClass() == RegressionTreeModel.class;
+	}
+
 	/**
 	 * Recursively predicts the value for the example using the given node.
 	 */
@@ -52,15 +52,15 @@ public class SelectionCreator {
 	}
 
 	/**
-	 * Creates an example index start selection for each numerical attribute, or if there is none,
-	 * only one.
+	 * Creates an example index start selection for each numerical attribute, or if there is none
+	 * or the table is binned, only one.
 	 *
 	 * @return a map containing for each numerical attribute an example index array such that the
 	 *         associated attribute values are in ascending order.
 	 */
 	public Map<Integer, int[]> getStartSelection() {
 		Map<Integer, int[]> selection = new HashMap<>();
-		if (columnTable.getNumberOfRegularNumericalAttributes() == 0) {
+		if (columnTable.getNumberOfRegularNumericalAttributes() == 0 || columnTable.isBinned()) {
 			selection.put(0, createFullArray(columnTable.getNumberOfExamples()));
 		} else {
 			Integer[] bigSelectionArray = createFullBigArray(columnTable.getNumberOfExamples());
@@ -83,7 +83,7 @@ public class SelectionCreator {
 
 	/**
 	 * Creates in parallel an example index start selection for each numerical attribute, or if
-	 * there is none, only one.
+	 * there is none or the table is binned, only one.
 	 *
 	 * @param operator
 	 *            the operator for which the calculation is done
@@ -93,7 +93,7 @@ public class SelectionCreator {
 	 */
 	public Map<Integer, int[]> getStartSelectionParallel(Operator operator) throws OperatorException {
 		Map<Integer, int[]> selection = new HashMap<>();
-		if (columnTable.getNumberOfRegularNumericalAttributes() == 0) {
+		if (columnTable.getNumberOfRegularNumericalAttributes() == 0 || columnTable.isBinned()) {
 			selection.put(0, createFullArray(columnTable.getNumberOfExamples()));
 		} else {
 			List<Callable<int[]>> tasks = new ArrayList<Callable<int[]>>();
@@ -182,10 +182,19 @@ public class SelectionCreator {
 
 		boolean existNaNs = false;
 		// check if the selectedExamples contain NaN values of the attribute Column - because of
-		// sorting they should be at the end
-		if (Double
-				.isNaN(attributeColumn[allSelectedExamples.get(bestAttribute)[allSelectedExamples.get(bestAttribute).length - 1]])) {
-			existNaNs = true;
+		// sorting they should be at the end unless the table is binned
+		if (columnTable.isBinned()) {
+			for (int j : getArbitraryValue(allSelectedExamples)) {
+				if (Double.isNaN(attributeColumn[j])) {
+					existNaNs = true;
+					break;
+				}
+			}
+		} else {
+			int[] sortedExamples = allSelectedExamples.get(bestAttribute);
+			existNaNs = Double.isNaN(attributeColumn[sortedExamples[sortedExamples.length - 1]]);
+		}
+		if (existNaNs) {
 			results.add(2, new HashMap<Integer, int[]>());
 		}
 		int maximalLength = getArbitraryValue(allSelectedExamples).length;
@@ -55,6 +55,12 @@ public class TreeModel extends TreePredictionModel {
 		return predict(example, root);
 	}
 
+	/** Trees are only read when applied. Subclasses are scored sequentially unless they opt in. */
+	@Override
+	public boolean isThreadSafe() {
+		return getClass() == TreeModel.class;
+	}
+
 	private double predict(Example example, Tree node) {
 		if (node.isLeaf()) {
 			int[] counts = new int[getLabel().getMapping().size()];
@@ -19,11 +19,18 @@
 package com.rapidminer.operator.meta;
 
 import com.rapidminer.operator.OperatorException;
+import com.rapidminer.operator.concurrency.internal.ConcurrencyTools;
 import com.rapidminer.operator.performance.PerformanceVector;
 import com.rapidminer.tools.LoggingHandler;
 import com.rapidminer.tools.RandomGenerator;
 import com.rapidminer.tools.math.optimization.ec.es.ESOptimization;
 import com.rapidminer.tools.math.optimization.ec.es.Individual;
+import com.rapidminer.tools.math.optimization.ec.es.Population;
+
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
 
 
 /**
@@ -36,6 +43,12 @@ public class ESParameterOptimization extends ESOptimization {
 	/** The parent operator. Used for fitness evaluation. */
 	private EvolutionaryParameterOptimizationOperator operator;
 
+	/** The positions of the individuals evaluated in the current batch. */
+	private Map<Individual, Integer> batchPositions;
+
+	/** The fitness of the individuals evaluated in the current batch. */
+	private List<PerformanceVector> batchPerformances;
+
 	/** Creates a new evolutionary SVM optimization. */
 	public ESParameterOptimization(EvolutionaryParameterOptimizationOperator operator, int individualSize, int initType, // start
 																															// population
@@ -53,8 +66,45 @@ public class ESParameterOptimization extends ESOptimization {
 
 	}
 
+	/**
+	 * Evaluates all individuals without fitness at once if the operator evaluates in batches. The
+	 * bookkeeping is then done by the superclass in the usual order, using the precomputed fitness.
+	 */
+	@Override
+	protected void evaluateAll(Population population) throws OperatorException {
+		if (!ConcurrencyTools.isParallelExecutionEnabled(operator)) {
+			super.evaluateAll(population);
+			return;
+		}
+		List<Individual> individuals = new ArrayList<>();
+		for (int i = population.getNumberOfIndividuals() - 1; i >= 0; i--) {
+			Individual current = population.get(i);
+			if (current.getFitness() == null) {
+				individuals.add(current);
+			}
+		}
+		batchPerformances = operator.evaluate(individuals);
+		batchPositions = new IdentityHashMap<>();
+		for (int i = 0; i < individuals.size(); i++) {
+			batchPositions.put(individuals.get(i), i);
+		}
+		try {
+			super.evaluateAll(population);
+		} finally {
+			batchPositions = null;
+			batchPerformances = null;
+		}
+	}
+
 	@Override
 	public PerformanceVector evaluateIndividual(Individual individual) throws OperatorException {
+		if (batchPositions != null) {
+			Integer position = batchPositions.get(individual);
+			if (position != null) {
+				operator.selectCandidateResults(position);
+				return batchPerformances.get(position);
+			}
+		}
 		return operator.setParametersAndEvaluate(individual);
 	}
 
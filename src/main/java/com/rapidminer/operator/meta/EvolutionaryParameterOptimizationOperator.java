@@ -18,6 +18,7 @@
 */
 package com.rapidminer.operator.meta;
 
+import java.util.ArrayList;
 import java.util.Iterator;
 import java.util.List;
 
@@ -230,18 +231,40 @@ public class EvolutionaryParameterOptimizationOperator extends ParameterOptimiza
 	}
 
 	public PerformanceVector setParametersAndEvaluate(Individual individual) throws OperatorException {
+		String[] values = getParameterValues(individual);
+		for (int j = 0; j < values.length; j++) {
+			operators[j].getParameters().setParameter(parameters[j], values[j]);
+			getLogger().fine(operators[j] + "." + parameters[j] + " = " + values[j]);
+		}
+		return getPerformanceVector();
+	}
+
+	/**
+	 * Evaluates the given individuals via {@link #getPerformanceVectors(Operator[], String[], List)}.
+	 *
+	 * @return the performance vectors in the order of the individuals
+	 * @since 9.7
+	 */
+	public List<PerformanceVector> evaluate(List<Individual> individuals) throws OperatorException {
+		List<String[]> candidates = new ArrayList<>(individuals.size());
+		for (Individual individual : individuals) {
+			candidates.add(getParameterValues(individual));
+		}
+		return getPerformanceVectors(operators, parameters, candidates);
+	}
+
+	/** Converts the values of the given individual into parameter values. */
+	private String[] getParameterValues(Individual individual) {
 		double[] currentValues = individual.getValues();
+		String[] values = new String[currentValues.length];
 		for (int j = 0; j < currentValues.length; j++) {
-			String value;
 			if (types[j].equals(OptimizationValueType.VALUE_TYPE_DOUBLE)) {
-				value = currentValues[j] + "";
+				values[j] = currentValues[j] + "";
 			} else {
-				value = (int) Math.round(currentValues[j]) + "";
+				values[j] = (int) Math.round(currentValues[j]) + "";
 			}
-			operators[j].getParameters().setParameter(parameters[j], value);
-			getLogger().fine(operators[j] + "." + parameters[j] + " = " + value);
 		}
-		return getPerformanceVector();
+		return values;
 	}
 
 	@Override
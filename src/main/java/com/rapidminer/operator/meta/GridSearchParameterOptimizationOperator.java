@@ -18,6 +18,7 @@
 */
 package com.rapidminer.operator.meta;
 
+import java.util.ArrayList;
 import java.util.Iterator;
 import java.util.List;
 
@@ -25,6 +26,7 @@ import com.rapidminer.operator.Operator;
 import com.rapidminer.operator.OperatorDescription;
 import com.rapidminer.operator.OperatorException;
 import com.rapidminer.operator.UserError;
+import com.rapidminer.operator.concurrency.internal.ConcurrencyTools;
 import com.rapidminer.operator.performance.PerformanceVector;
 import com.rapidminer.parameter.value.ParameterValueRange;
 import com.rapidminer.parameter.value.ParameterValues;
@@ -171,8 +173,15 @@ public class GridSearchParameterOptimizationOperator extends ParameterOptimizati
 			throw new UserError(this, 922);
 		}
 
-		int counter = 1;
 		best = null;
+		if (ConcurrencyTools.isParallelExecutionEnabled(this)) {
+			evaluateCombinationsInBatches();
+			deliver(best);
+			getProgress().complete();
+			return;
+		}
+
+		int counter = 1;
 		while (true) {
 			getLogger().fine("Using parameter set " + counter + " / " + numberOfCombinations + ":");
 			PerformanceVector performance = computeCurrentPerformance();
@@ -188,17 +197,7 @@ public class GridSearchParameterOptimizationOperator extends ParameterOptimizati
 			}
 
 			// next parameter values
-			int k = 0;
-			boolean ok = true;
-			while (!(++currentIndex[k] < values[k].length)) {
-				currentIndex[k] = 0;
-				k++;
-				if (k >= currentIndex.length) {
-					ok = false;
-					break;
-				}
-			}
-			if (!ok) {
+			if (!nextCombination()) {
 				break;
 			}
 
@@ -210,4 +209,60 @@ public class GridSearchParameterOptimizationOperator extends ParameterOptimizati
 		deliver(best);
 		getProgress().complete();
 	}
+
+	/**
+	 * Evaluates all remaining parameter combinations in batches via
+	 * {@link #getPerformanceVectors(Operator[], String[], List)} and keeps track of the best one.
+	 */
+	private void evaluateCombinationsInBatches() throws OperatorException {
+		int batchSize = getBatchSize();
+		List<String[]> batch = new ArrayList<>(batchSize);
+		int counter = 0;
+		boolean ok = true;
+		while (ok) {
+			String[] candidate = new String[parameters.length];
+			for (int j = 0; j < parameters.length; j++) {
+				candidate[j] = values[j][currentIndex[j]];
+			}
+			batch.add(candidate);
+			ok = nextCombination();
+
+			if (batch.size() == batchSize || !ok) {
+				getLogger().fine("Using parameter sets " + (counter + 1) + " to " + (counter + batch.size()) + " / "
+						+ numberOfCombinations);
+				List<PerformanceVector> performances = getPerformanceVectors(operators, parameters, batch);
+				for (int i = 0; i < batch.size(); i++) {
+					PerformanceVector performance = performances.get(i);
+					if (performance != null && (best == null || performance.compareTo(best.getPerformance()) > 0)) {
+						best = new ParameterSet(operators, parameters, batch.get(i), performance);
+						selectCandidateResults(i);
+						passResultsThrough();
+					}
+				}
+				counter += batch.size();
+				batch.clear();
+
+				inApplyLoop();
+				getProgress().setCompleted(counter);
+			}
+		}
+	}
+
+	/**
+	 * Advances {@link #currentIndex} to the next parameter combination.
+	 *
+	 * @return {@code false} if all combinations were visited
+	 * @since 9.7
+	 */
+	protected boolean nextCombination() {
+		int k = 0;
+		while (!(++currentIndex[k] < values[k].length)) {
+			currentIndex[k] = 0;
+			k++;
+			if (k >= currentIndex.length) {
+				return false;
+			}
+		}
+		return true;
+	}
 }
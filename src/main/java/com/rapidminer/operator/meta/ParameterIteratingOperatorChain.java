@@ -125,6 +125,14 @@ public abstract class ParameterIteratingOperatorChain extends OperatorChain impl
 		return innerSinkExtender;
 	}
 
+	/**
+	 * @return the extender passing the input of this operator to the subprocess
+	 * @since 9.7
+	 */
+	protected PortPairExtender getInputExtender() {
+		return inputExtender;
+	}
+
 	protected InputPort getPerformanceInnerSink() {
 		return performanceInnerSink;
 	}
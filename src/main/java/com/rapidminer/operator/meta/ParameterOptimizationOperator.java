@@ -18,21 +18,38 @@
 */
 package com.rapidminer.operator.meta;
 
+import com.rapidminer.Process;
 import com.rapidminer.operator.IOContainer;
+import com.rapidminer.operator.IOObject;
 import com.rapidminer.operator.Operator;
 import com.rapidminer.operator.OperatorDescription;
+import com.rapidminer.operator.OperatorException;
+import com.rapidminer.operator.OperatorVersion;
 import com.rapidminer.operator.UserError;
 import com.rapidminer.operator.ValueDouble;
+import com.rapidminer.operator.concurrency.internal.ConcurrencyTools;
 import com.rapidminer.operator.performance.PerformanceVector;
 import com.rapidminer.operator.ports.OutputPort;
 import com.rapidminer.operator.ports.PortPairExtender;
 import com.rapidminer.operator.ports.metadata.GenerateNewMDRule;
+import com.rapidminer.parameter.ParameterType;
+import com.rapidminer.studio.concurrency.internal.ConcurrencyExecutionService;
+import com.rapidminer.studio.internal.Resources;
+import com.rapidminer.tools.RandomGenerator;
 
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.List;
 
 
 /**
  * This operator provides basic functions for all other parameter optimization operators.
+ * <p>
+ * Subclasses can evaluate several parameter combinations at once via
+ * {@link #getPerformanceVectors(Operator[], String[], List)}. Each combination then uses its own
+ * random seed, so that the combinations can be evaluated concurrently on clones of this operator
+ * while delivering the same results as a sequential evaluation.
+ * </p>
  * 
  * @author Ingo Mierswa, Helge Homburg, Tobias Malbrecht
  */
@@ -41,6 +58,31 @@ public abstract class ParameterOptimizationOperator extends ParameterIteratingOp
 	private final OutputPort performanceOutput = getOutputPorts().createPort("performance");
 	private final OutputPort parameterOutput = getOutputPorts().createPort("parameter");
 
+	/** The performance and inner results of a parameter combination evaluated on a clone. */
+	private static final class CandidateResult {
+
+		private final PerformanceVector performance;
+
+		private final List<IOObject> results;
+
+		private CandidateResult(PerformanceVector performance, List<IOObject> results) {
+			this.performance = performance;
+			this.results = results;
+		}
+	}
+
+	/** The inner results of the combinations evaluated by the last call of getPerformanceVectors */
+	private List<List<IOObject>> candidateResults;
+
+	/** The inner results passed through by {@link #passResultsThrough()}, if selected. */
+	private List<IOObject> selectedResults;
+
+	/** The input the thread-safe copy for the clones was created from */
+	private List<IOObject> threadSafeInputSource;
+
+	/** The thread-safe copy of the input for the clones, created once per optimization run */
+	private List<IOObject> threadSafeInput;
+
 	public ParameterOptimizationOperator(OperatorDescription description) {
 		super(description, "Optimization Process");
 
@@ -64,6 +106,10 @@ public abstract class ParameterOptimizationOperator extends ParameterIteratingOp
 	public abstract double getCurrentBestPerformance();
 
 	protected void deliver(ParameterSet parameterSet) throws UserError {
+		candidateResults = null;
+		selectedResults = null;
+		threadSafeInputSource = null;
+		threadSafeInput = null;
 		if (parameterSet != null) {
 			parameterOutput.deliver(parameterSet);
 			performanceOutput.deliver(parameterSet.getPerformance());
@@ -77,6 +123,210 @@ public abstract class ParameterOptimizationOperator extends ParameterIteratingOp
 		return true;
 	}
 
+	/**
+	 * Returns the recommended number of parameter combinations per call of
+	 * {@link #getPerformanceVectors(Operator[], String[], List)}.
+	 *
+	 * @since 9.7
+	 */
+	protected int getBatchSize() {
+		return Math.max(1, Resources.getConcurrencyContext(this).getParallelism());
+	}
+
+	/**
+	 * Evaluates the subprocess for each of the given parameter combinations and returns the
+	 * performance vectors in the same order. As for {@link #getPerformanceVector()}, an entry is
+	 * {@code null} if the evaluation of its combination failed and the operator is set to ignore
+	 * errors, so callers must check the entries. Afterwards, the inner results of a combination can be passed through via
+	 * {@link #selectCandidateResults(int)} and {@link #passResultsThrough()}.
+	 * <p>
+	 * Every combination draws its own random seed from the process random generator before any
+	 * combination is evaluated. If possible, the combinations are evaluated concurrently on clones
+	 * of this operator. Subclasses should only call this method if
+	 * {@link ConcurrencyTools#isParallelExecutionEnabled(Operator)}. Otherwise they are evaluated one after another on this operator, which
+	 * yields the same results. In both cases the parameters of the given operators are set to the
+	 * last combination afterwards.
+	 *
+	 * @param operators
+	 *            the operators whose parameters should be set
+	 * @param parameters
+	 *            the keys of the parameters to set
+	 * @param candidates
+	 *            the parameter values, one array per combination in the order of the parameters
+	 * @since 9.7
+	 */
+	protected List<PerformanceVector> getPerformanceVectors(Operator[] operators, String[] parameters,
+			List<String[]> candidates) throws OperatorException {
+		candidateResults = new ArrayList<>(candidates.size());
+		selectedResults = null;
+
+		Process process = getProcess();
+		long[] seeds = ConcurrencyTools.drawSeeds(RandomGenerator.getRandomGenerator(process, -1), candidates.size());
+
+		ConcurrencyExecutionService service = getExecutionService();
+		if (candidates.size() > 1 && canEvaluateInParallel(service, operators)) {
+			List<PerformanceVector> performances = getPerformanceVectorsInParallel(service, operators, parameters,
+					candidates, seeds);
+			setParameters(operators, parameters, candidates.get(candidates.size() - 1));
+			return performances;
+		}
+
+		List<PerformanceVector> performances = new ArrayList<>(candidates.size());
+		RandomGenerator.stash(process);
+		try {
+			for (int i = 0; i < candidates.size(); i++) {
+				RandomGenerator.init(process, seeds[i]);
+				setParameters(operators, parameters, candidates.get(i));
+				performances.add(getPerformanceVector());
+				candidateResults.add(getInnerResultList());
+			}
+		} finally {
+			RandomGenerator.restore(process);
+		}
+		return performances;
+	}
+
+	/**
+	 * Evaluates the given parameter combinations on clones of this operator. The input is copied
+	 * once per optimization run in a thread-safe way and then passed to each clone as a shallow
+	 * copy.
+	 */
+	private List<PerformanceVector> getPerformanceVectorsInParallel(ConcurrencyExecutionService service,
+			Operator[] operators, String[] parameters, List<String[]> candidates, long[] seeds)
+			throws OperatorException {
+		List<IOObject> input = getThreadSafeInput();
+		List<CandidateResult> results = ConcurrencyTools.executeOnClones(service, this, candidates.size(),
+				(clone, index) -> {
+					ConcurrencyTools.receiveCopies(clone.getInputExtender().getManagedPairs(), input);
+					Operator[] clonedOperators = new Operator[operators.length];
+					for (Operator innerOperator : clone.getAllInnerOperators()) {
+						for (int j = 0; j < operators.length; j++) {
+							if (operators[j].getName().equals(innerOperator.getName())) {
+								clonedOperators[j] = innerOperator;
+							}
+						}
+					}
+					RandomGenerator.init(clone.getProcess(), seeds[index]);
+					clone.setParameters(clonedOperators, parameters, candidates.get(index));
+					PerformanceVector performance = clone.getPerformanceVector();
+					return new CandidateResult(performance, clone.getInnerResultList());
+				});
+		List<PerformanceVector> performances = new ArrayList<>(results.size());
+		for (CandidateResult result : results) {
+			performances.add(result.performance);
+			candidateResults.add(result.results);
+		}
+		return performances;
+	}
+
+	/**
+	 * Returns the thread-safe copy of the input. It is only created again if the input changed
+	 * since the last call, i.e. once per optimization run.
+	 */
+	private List<IOObject> getThreadSafeInput() throws UserError {
+		List<IOObject> source = new ArrayList<>();
+		for (PortPairExtender.PortPair pair : getInputExtender().getManagedPairs()) {
+			source.add(pair.getInputPort().getDataOrNull(IOObject.class));
+		}
+		if (threadSafeInput != null && source.size() == threadSafeInputSource.size()) {
+			boolean sameInput = true;
+			for (int i = 0; i < source.size() && sameInput; i++) {
+				sameInput = source.get(i) == threadSafeInputSource.get(i);
+			}
+			if (sameInput) {
+				return threadSafeInput;
+			}
+		}
+		List<IOObject> input = ConcurrencyTools.createThreadSafeCopies(source);
+		threadSafeInputSource = source;
+		threadSafeInput = input;
+		return input;
+	}
+
+	/**
+	 * Returns the service that evaluates the combinations on clones of this operator or
+	 * {@code null} if it is not available.
+	 */
+	ConcurrencyExecutionService getExecutionService() {
+		return ConcurrencyTools.getExecutionService();
+	}
+
+	/**
+	 * Checks whether parameter combinations can be evaluated on clones of this operator. This
+	 * requires parallel execution to be possible, no breakpoints in the subprocess, and all
+	 * operators to optimize to be part of the subprocess.
+	 */
+	private boolean canEvaluateInParallel(ConcurrencyExecutionService service, Operator[] operators) {
+		if (service == null || Resources.getConcurrencyContext(this).getParallelism() == 1) {
+			return false;
+		}
+		List<Operator> innerOperators = getAllInnerOperators();
+		for (Operator operator : innerOperators) {
+			if (operator.isEnabled() && operator.hasBreakpoint()) {
+				return false;
+			}
+		}
+		for (Operator operator : operators) {
+			if (!innerOperators.contains(operator)) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/** Sets the given parameter values. */
+	private void setParameters(Operator[] operators, String[] parameters, String[] values) {
+		for (int j = 0; j < operators.length; j++) {
+			operators[j].getParameters().setParameter(parameters[j], values[j]);
+			getLogger().fine(operators[j] + "." + parameters[j] + " = " + values[j]);
+		}
+	}
+
+	/** Returns the data at the inner result sinks, including {@code null} for empty ports. */
+	private List<IOObject> getInnerResultList() throws UserError {
+		List<IOObject> results = new ArrayList<>();
+		for (PortPairExtender.PortPair pair : getInnerSinkExtender().getManagedPairs()) {
+			results.add(pair.getInputPort().getDataOrNull(IOObject.class));
+		}
+		return results;
+	}
+
+	/**
+	 * Selects the inner results of the given combination of the last call of
+	 * {@link #getPerformanceVectors(Operator[], String[], List)} to be delivered by
+	 * {@link #passResultsThrough()}.
+	 *
+	 * @since 9.7
+	 */
+	protected void selectCandidateResults(int candidate) {
+		selectedResults = candidateResults.get(candidate);
+	}
+
+	@Override
+	public void passResultsThrough() {
+		if (selectedResults == null) {
+			super.passResultsThrough();
+			return;
+		}
+		List<PortPairExtender.PortPair> pairs = getInnerSinkExtender().getManagedPairs();
+		for (int i = 0; i < pairs.size() && i < selectedResults.size(); i++) {
+			pairs.get(i).getOutputPort().deliver(selectedResults.get(i));
+		}
+	}
+
+	@Override
+	public List<ParameterType> getParameterTypes() {
+		List<ParameterType> types = super.getParameterTypes();
+		types.add(ConcurrencyTools.createParallelExecutionParameter(this));
+		return types;
+	}
+
+	@Override
+	public OperatorVersion[] getIncompatibleVersionChanges() {
+		return ConcurrencyTools.addIncompatibleVersion(super.getIncompatibleVersionChanges(),
+				ConcurrencyTools.VERSION_SEQUENTIAL_EXECUTION);
+	}
+
 	/**
 	 * @Deprecated Call {@link #getPerformance()} to apply inner operators.
 	 */
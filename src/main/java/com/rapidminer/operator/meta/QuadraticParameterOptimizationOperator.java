@@ -18,6 +18,8 @@
 */
 package com.rapidminer.operator.meta;
 
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 
 import Jama.Matrix;
@@ -25,6 +27,7 @@ import Jama.Matrix;
 import com.rapidminer.operator.OperatorDescription;
 import com.rapidminer.operator.OperatorException;
 import com.rapidminer.operator.UserError;
+import com.rapidminer.operator.concurrency.internal.ConcurrencyTools;
 import com.rapidminer.operator.performance.PerformanceVector;
 import com.rapidminer.parameter.ParameterType;
 import com.rapidminer.parameter.ParameterTypeCategory;
@@ -117,7 +120,11 @@ public class QuadraticParameterOptimizationOperator extends GridSearchParameterO
 
 		// init operator progress (+ 1 for work after loop)
 		getProgress().setTotal(allParameters.length + 1);
-		while (true) {
+		boolean batchEvaluation = ConcurrencyTools.isParallelExecutionEnabled(this);
+		if (batchEvaluation) {
+			evaluateCombinationsInBatches(allParameters, bestIndex);
+		}
+		while (!batchEvaluation) {
 			getLogger().fine("Using parameter set");
 			// set all parameter values
 			for (int j = 0; j < operators.length; j++) {
@@ -125,7 +132,7 @@ public class QuadraticParameterOptimizationOperator extends GridSearchParameterO
 				getLogger().fine(operators[j] + "." + parameters[j] + " = " + values[j][currentIndex[j]]);
 			}
 
-			PerformanceVector performance = getPerformanceVector();
+			PerformanceVector performance = getRequiredPerformance(getPerformanceVector());
 
 			String[] currentValues = new String[parameters.length];
 			for (int j = 0; j < parameters.length; j++) {
@@ -361,15 +368,23 @@ public class QuadraticParameterOptimizationOperator extends GridSearchParameterO
 				getLogger().info("  " + operators[j] + "." + parameters[j] + " = " + Qvalues[j]);
 			}
 			if (ok) {
-				PerformanceVector qPerformance = super.getPerformanceVector();
+				PerformanceVector qPerformance;
+				if (batchEvaluation) {
+					qPerformance = getPerformanceVectors(operators, parameters, Collections.singletonList(Qvalues)).get(0);
+				} else {
+					qPerformance = super.getPerformanceVector();
+				}
 				log("Old: " + best.getPerformance().getMainCriterion().getFitness());
-				log("New: " + qPerformance.getMainCriterion().getFitness());
-				if (qPerformance.compareTo(best.getPerformance()) > 0) {
+				if (qPerformance == null) {
+					log("Could not evaluate the optimised parameter set");
+				} else if (qPerformance.compareTo(best.getPerformance()) > 0) {
+					log("New: " + qPerformance.getMainCriterion().getFitness());
 					best = new ParameterSet(operators, parameters, Qvalues, qPerformance);
 					// log
 					log("Optimised parameter set does increase the performance");
 				} else {
 					// different log
+					log("New: " + qPerformance.getMainCriterion().getFitness());
 					log("Could not increase performance by quadratic optimization");
 				}
 			} else {
@@ -385,6 +400,59 @@ public class QuadraticParameterOptimizationOperator extends GridSearchParameterO
 		getProgress().complete();
 	}
 
+	/**
+	 * Evaluates all parameter combinations in batches via
+	 * {@link #getPerformanceVectors(Operator[], String[], List)}, stores them in the given array and
+	 * keeps track of the indices of the best one.
+	 */
+	private void evaluateCombinationsInBatches(ParameterSet[] allParameters, int[] bestIndex) throws OperatorException {
+		int batchSize = getBatchSize();
+		List<String[]> batch = new ArrayList<>(batchSize);
+		List<int[]> batchIndices = new ArrayList<>(batchSize);
+		int paramIndex = 0;
+		boolean ok = true;
+		while (ok) {
+			String[] currentValues = new String[parameters.length];
+			for (int j = 0; j < parameters.length; j++) {
+				currentValues[j] = values[j][currentIndex[j]];
+			}
+			batch.add(currentValues);
+			batchIndices.add(currentIndex.clone());
+			ok = nextCombination();
+
+			if (batch.size() == batchSize || !ok) {
+				List<PerformanceVector> performances = getPerformanceVectors(operators, parameters, batch);
+				for (int i = 0; i < batch.size(); i++) {
+					PerformanceVector performance = getRequiredPerformance(performances.get(i));
+					allParameters[paramIndex] = new ParameterSet(operators, parameters, batch.get(i), performance);
+					if (best == null || performance.compareTo(best.getPerformance()) > 0) {
+						best = allParameters[paramIndex];
+						System.arraycopy(batchIndices.get(i), 0, bestIndex, 0, numberOfParameters);
+					}
+					paramIndex++;
+					getProgress().step();
+				}
+				batch.clear();
+				batchIndices.clear();
+			}
+		}
+	}
+
+	/**
+	 * Returns the given performance of a parameter combination. The quadratic fit needs the
+	 * performances of all combinations, so combinations whose evaluation failed while errors are
+	 * ignored cannot be skipped.
+	 *
+	 * @throws UserError
+	 *             if the performance is {@code null}
+	 */
+	private PerformanceVector getRequiredPerformance(PerformanceVector performance) throws UserError {
+		if (performance == null) {
+			throw new UserError(this, 161);
+		}
+		return performance;
+	}
+
 	@Override
 	public List<ParameterType> getParameterTypes() {
 		List<ParameterType> types = super.getParameterTypes();
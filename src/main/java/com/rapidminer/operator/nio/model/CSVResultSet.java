@@ -26,22 +26,28 @@ import java.io.InputStream;
 import java.net.MalformedURLException;
 import java.net.URL;
 import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
 import java.util.logging.Level;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
+import com.rapidminer.core.concurrency.ConcurrencyContext;
 import com.rapidminer.gui.tools.dialogs.wizards.dataimport.csv.LineReader;
 import com.rapidminer.operator.Operator;
 import com.rapidminer.operator.OperatorException;
 import com.rapidminer.operator.ProcessStoppedException;
 import com.rapidminer.operator.UserError;
+import com.rapidminer.operator.concurrency.internal.ConcurrencyTools;
 import com.rapidminer.operator.nio.model.ParsingError.ErrorCode;
+import com.rapidminer.studio.internal.Resources;
 import com.rapidminer.tools.CSVParseException;
 import com.rapidminer.tools.LineParser;
 import com.rapidminer.tools.LogService;
@@ -60,10 +66,23 @@ public class CSVResultSet implements DataResultSet {
 	 */
 	public static final int LINES_FOR_GUESSING = 100;
 	private static final int MAX_LOG_COUNT = 100;
+	/** the number of lines tokenized by one task */
+	private static final int CHUNK_SIZE = 1000;
 	private CSVResultSetConfiguration configuration;
 	private LineReader reader;
 	private LineParser parser;
 
+	/** the context to tokenize blocks of lines concurrently, {@code null} if lines are tokenized one by one */
+	private ConcurrencyContext context;
+	/** the lines of the current block together with their tokens or parse exceptions */
+	private String[] blockLines;
+	private String[][] blockTokens;
+	private CSVParseException[] blockExceptions;
+	private int blockSize;
+	private int blockIndex;
+	/** the maximal number of lines in the next block */
+	private int blockCapacity;
+
 	private String[] next;
 	private String[] current;
 	private int currentRow;
@@ -177,6 +196,13 @@ public class CSVResultSet implements DataResultSet {
 
 		reader = new LineReader(in, configuration.getEncoding());
 		parser = new LineParser(configuration);
+		context = getConcurrencyContext();
+		blockCapacity = context == null ? 1 : CHUNK_SIZE;
+		blockLines = new String[blockCapacity];
+		blockTokens = new String[blockCapacity][];
+		blockExceptions = new CSVParseException[blockCapacity];
+		blockSize = 0;
+		blockIndex = 0;
 
 		try {
 			if (operator != null && reader.getSize() > 0L) {
@@ -507,15 +533,100 @@ public class CSVResultSet implements DataResultSet {
 		}
 	}
 
+	/**
+	 * Returns the concurrency context of the operator if it is part of a process and more than one
+	 * thread is available, {@code null} otherwise.
+	 */
+	private ConcurrencyContext getConcurrencyContext() {
+		if (operator == null || operator.getProcess() == null) {
+			return null;
+		}
+		ConcurrencyContext operatorContext = Resources.getConcurrencyContext(operator);
+		return operatorContext.getParallelism() > 1 ? operatorContext : null;
+	}
+
+	/**
+	 * Reads the next block of lines and tokenizes them, concurrently if the block is larger than
+	 * one chunk. Lines are records since quoted values cannot span lines, so any line is a safe
+	 * block boundary. Without a concurrency context, blocks consist of a single line. Otherwise, the
+	 * block capacity doubles with every block up to one chunk per thread, so that reading only the
+	 * first rows does not read far ahead.
+	 *
+	 * @return {@code false} if there are no more lines
+	 */
+	private boolean readBlock() throws IOException {
+		if (blockLines.length < blockCapacity) {
+			blockLines = new String[blockCapacity];
+			blockTokens = new String[blockCapacity][];
+			blockExceptions = new CSVParseException[blockCapacity];
+		}
+		int size = 0;
+		String line;
+		while (size < blockCapacity && (line = reader.readLine()) != null) {
+			blockLines[size++] = line;
+		}
+		blockSize = size;
+		blockIndex = 0;
+		if (size == 0) {
+			return false;
+		}
+		if (size > CHUNK_SIZE) {
+			tokenizeConcurrently(size);
+		} else {
+			tokenize(0, size);
+		}
+		if (context != null) {
+			blockCapacity = Math.min(2 * blockCapacity, context.getParallelism() * CHUNK_SIZE);
+		}
+		return true;
+	}
+
+	private void tokenizeConcurrently(int size) throws IOException {
+		List<Callable<Void>> tasks = new ArrayList<>();
+		for (int chunkStart = 0; chunkStart < size; chunkStart += CHUNK_SIZE) {
+			int from = chunkStart;
+			int to = Math.min(size, chunkStart + CHUNK_SIZE);
+			tasks.add(() -> {
+				context.checkStatus();
+				tokenize(from, to);
+				return null;
+			});
+		}
+		try {
+			context.call(tasks);
+		} catch (ExecutionException e) {
+			throw ConcurrencyTools.unwrap(e, IOException.class, IOException::new);
+		}
+	}
+
+	/**
+	 * Tokenizes the block lines in the given range. The parser is only read, so this can be called
+	 * concurrently for disjoint ranges.
+	 */
+	private void tokenize(int from, int to) {
+		for (int i = from; i < to; i++) {
+			try {
+				blockTokens[i] = parser.parse(blockLines[i]);
+				blockExceptions[i] = null;
+			} catch (CSVParseException e) {
+				blockTokens[i] = null;
+				blockExceptions[i] = e;
+			}
+		}
+	}
+
 	private void readNext() throws IOException {
 		do {
-			String line = reader == null ? null : reader.readLine();
-			if (line == null) {
+			if (reader == null || blockIndex == blockSize && !readBlock()) {
 				next = null;
 				return;
 			}
-			try {
-				next = parser.parse(line);
+			String line = blockLines[blockIndex];
+			String[] tokens = blockTokens[blockIndex];
+			CSVParseException exception = blockExceptions[blockIndex];
+			blockIndex++;
+			if (exception == null) {
+				next = tokens;
 				if (operator != null && ++lineCounter % 1000 == 0) {
 					long position = reader == null ? -1L : reader.getPosition();
 					if (position > 0) {
@@ -532,10 +643,11 @@ public class CSVResultSet implements DataResultSet {
 				if (next != null) { // no comment read
 					break;
 				}
-			} catch (CSVParseException e) {
-				ParsingError parsingError = new ParsingError(currentRow, -1, ErrorCode.FILE_SYNTAX_ERROR, line, e);
+			} else {
+				ParsingError parsingError = new ParsingError(currentRow, -1, ErrorCode.FILE_SYNTAX_ERROR, line,
+						exception);
 				getErrors().add(parsingError);
-				String warning = "Could not parse line " + currentRow + " in input: " + e.toString();
+				String warning = "Could not parse line " + currentRow + " in input: " + exception.toString();
 				if (logCount < MAX_LOG_COUNT) {
 					if (operator != null) {
 						operator.logWarning(warning);
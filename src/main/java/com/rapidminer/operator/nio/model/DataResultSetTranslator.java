@@ -27,9 +27,12 @@ import java.util.LinkedHashMap;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
 
 import com.rapidminer.Process;
 import com.rapidminer.RapidMiner;
+import com.rapidminer.core.concurrency.ConcurrencyContext;
 import com.rapidminer.example.Attribute;
 import com.rapidminer.example.AttributeTypeException;
 import com.rapidminer.example.Attributes;
@@ -43,10 +46,12 @@ import com.rapidminer.operator.Operator;
 import com.rapidminer.operator.OperatorException;
 import com.rapidminer.operator.OperatorVersion;
 import com.rapidminer.operator.UserError;
+import com.rapidminer.operator.concurrency.internal.ConcurrencyTools;
 import com.rapidminer.operator.nio.ImportWizardUtils;
 import com.rapidminer.operator.nio.model.DataResultSet.ValueType;
 import com.rapidminer.operator.nio.model.ParsingError.ErrorCode;
 import com.rapidminer.parameter.UndefinedParameterError;
+import com.rapidminer.studio.internal.Resources;
 import com.rapidminer.tools.Ontology;
 import com.rapidminer.tools.ParameterService;
 import com.rapidminer.tools.ProgressListener;
@@ -108,6 +113,9 @@ public class DataResultSetTranslator {
 	 */
 	public static final OperatorVersion BEFORE_ATTRIBUTE_TRIMMING = new OperatorVersion(8, 1, 0);
 
+	/** The number of rows parsed by one task when reading blocks of rows concurrently. */
+	private static final int CHUNK_SIZE = 1000;
+
 	private Operator operator;
 
 	public DataResultSetTranslator(Operator operator) {
@@ -167,7 +175,9 @@ public class DataResultSetTranslator {
 		dataResultSet.reset(listener);
 
 		int datamanagement = configuration.getDataManagementType();
-		if (!Boolean.parseBoolean(ParameterService.getParameterValue(RapidMiner.PROPERTY_RAPIDMINER_SYSTEM_LEGACY_DATA_MGMT))) {
+		boolean legacyDataManagement = Boolean
+				.parseBoolean(ParameterService.getParameterValue(RapidMiner.PROPERTY_RAPIDMINER_SYSTEM_LEGACY_DATA_MGMT));
+		if (!legacyDataManagement) {
 			datamanagement = DataRowFactory.TYPE_DOUBLE_ARRAY;
 			// TODO: move to DataResultSetTranslationConfiguration if beta mode becomes standard
 			if (operator != null) {
@@ -192,6 +202,11 @@ public class DataResultSetTranslator {
 			}
 		}
 
+		ConcurrencyContext context = null;
+		if (!previewOnly && !legacyDataManagement) {
+			context = getBlockReadingContext(dataResultSet, isRunningInProcess);
+		}
+
 		while (dataResultSet.hasNext() && !shouldStop && (currentRow < maxRows || maxRows < 0)) {
 			if (isRunningInProcess) {
 				operator.checkForStop();
@@ -199,6 +214,12 @@ public class DataResultSetTranslator {
 			if (cancelLoadingRequested) {
 				break;
 			}
+			if (context != null && currentRow > maxAnnotatedRow) {
+				// no more annotations, read the remaining rows in blocks
+				readBlocks(dataResultSet, configuration, attributes, attributeColumns, builder, exampleIndex, context,
+						listener);
+				break;
+			}
 			dataResultSet.next(listener);
 			// checking for annotation
 			String currentAnnotation;
@@ -332,6 +353,218 @@ public class DataResultSetTranslator {
 		return exampleSet;
 	}
 
+	/**
+	 * Returns the context to read the rows after the annotations in blocks or {@code null} if they
+	 * are read row by row. Rows of csv files are only strings, so they can be parsed concurrently in
+	 * blocks if the operator is running within a process. Only called when reading all rows without
+	 * legacy data management.
+	 *
+	 * @param dataResultSet
+	 *            the result set to read
+	 * @param isRunningInProcess
+	 *            whether the operator is executed within a running process
+	 * @return the context or {@code null}
+	 */
+	ConcurrencyContext getBlockReadingContext(DataResultSet dataResultSet, boolean isRunningInProcess) {
+		if (!isRunningInProcess || !(dataResultSet instanceof CSVResultSet)) {
+			return null;
+		}
+		ConcurrencyContext context = Resources.getConcurrencyContext(operator);
+		return context.getParallelism() < 2 ? null : context;
+	}
+
+	/**
+	 * Reads the remaining rows of a data result set that only delivers strings in blocks. The
+	 * strings of a block are collected by the calling thread, then the numerical and date values are
+	 * parsed concurrently in chunks of rows. Nominal values are mapped and the rows are added to the
+	 * builder by the calling thread in row order, so that the nominal mappings and the parsing
+	 * errors, including their order, are the same as when reading row by row.
+	 */
+	private void readBlocks(DataResultSet dataResultSet, DataResultSetTranslationConfiguration configuration,
+			Attribute[] attributes, int[] attributeColumns, ExampleSetBuilder builder, int exampleIndex,
+			ConcurrencyContext context, ProgressListener listener) throws OperatorException {
+		boolean isFaultTolerant = configuration.isFaultTolerant();
+		boolean trim = operator == null || operator.getCompatibilityLevel().isAbove(BEFORE_ATTRIBUTE_TRIMMING);
+		int[] valueTypes = new int[attributes.length];
+		boolean hasDates = false;
+		for (int i = 0; i < attributes.length; i++) {
+			valueTypes[i] = attributes[i].getValueType();
+			hasDates |= isDate(valueTypes[i]);
+		}
+		if (hasDates) {
+			// create the thread-local date format before it is accessed concurrently
+			configuration.getDateFormat();
+		}
+
+		int blockSize = context.getParallelism() * CHUNK_SIZE;
+		String[][] strings = new String[blockSize][attributes.length];
+		int[] resultSetRows = new int[blockSize];
+		double[][] values = new double[blockSize][attributes.length];
+		ParsingError[][] errors = new ParsingError[blockSize][];
+		ParsingError[][] stringErrors = new ParsingError[blockSize][];
+		double[] row = new double[attributes.length];
+		while (dataResultSet.hasNext() && !shouldStop && !cancelLoadingRequested) {
+			int size = 0;
+			while (size < blockSize && dataResultSet.hasNext() && !shouldStop) {
+				operator.checkForStop();
+				if (cancelLoadingRequested) {
+					break;
+				}
+				dataResultSet.next(listener);
+				resultSetRows[size] = dataResultSet.getCurrentRow();
+				stringErrors[size] = null;
+				for (int i = 0; i < attributes.length; i++) {
+					strings[size][i] = getStringOrNull(dataResultSet, attributeColumns[i], stringErrors, size, i,
+							attributes.length);
+				}
+				size++;
+			}
+
+			parseConcurrently(configuration, strings, resultSetRows, valueTypes, attributeColumns, trim, values, errors,
+					size, context);
+
+			for (int r = 0; r < size; r++) {
+				for (int i = 0; i < attributes.length; i++) {
+					String value = strings[r][i];
+					if (stringErrors[r] != null && stringErrors[r][i] != null) {
+						addOrThrow(isFaultTolerant, stringErrors[r][i], exampleIndex);
+					}
+					if (value == null) {
+						row[i] = Double.NaN;
+					} else if (isNumber(valueTypes[i]) || isDate(valueTypes[i])) {
+						row[i] = values[r][i];
+						if (errors[r] != null && errors[r][i] != null) {
+							addOrThrow(isFaultTolerant, errors[r][i], exampleIndex);
+						}
+					} else {
+						try {
+							row[i] = attributes[i].getMapping().mapString(value);
+						} catch (AttributeTypeException e) {
+							ParsingError error = new ParsingError(resultSetRows[r] + 1, attributeColumns[i],
+									ErrorCode.MORE_THAN_TWO_VALUES, value, e);
+							addOrThrow(isFaultTolerant, error, exampleIndex);
+							row[i] = Double.NaN;
+						}
+					}
+				}
+				builder.addRow(row);
+				exampleIndex++;
+			}
+		}
+	}
+
+	/**
+	 * Returns the string of the column in the current row or {@code null} if it is missing or cannot
+	 * be read. The error of an unreadable string is stored to be reported in row order.
+	 */
+	private static String getStringOrNull(DataResultSet dataResultSet, int column, ParsingError[][] stringErrors,
+			int blockRow, int attributeIndex, int width) {
+		if (dataResultSet.isMissing(column)) {
+			return null;
+		}
+		try {
+			return dataResultSet.getString(column);
+		} catch (com.rapidminer.operator.nio.model.ParseException e) {
+			if (stringErrors[blockRow] == null) {
+				stringErrors[blockRow] = new ParsingError[width];
+			}
+			stringErrors[blockRow][attributeIndex] = e.getError();
+			return null;
+		}
+	}
+
+	/**
+	 * Parses the numerical and date values of the first size rows concurrently in chunks. Every
+	 * task uses its own copy of the number format, the date format is thread-local.
+	 */
+	private static void parseConcurrently(DataResultSetTranslationConfiguration configuration, String[][] strings,
+			int[] resultSetRows, int[] valueTypes, int[] attributeColumns, boolean trim, double[][] values,
+			ParsingError[][] errors, int size, ConcurrencyContext context) throws OperatorException {
+		NumberFormat numberFormat = configuration.getNumberFormat();
+		List<Callable<Void>> tasks = new ArrayList<>();
+		for (int chunkStart = 0; chunkStart < size; chunkStart += CHUNK_SIZE) {
+			int from = chunkStart;
+			int to = Math.min(size, chunkStart + CHUNK_SIZE);
+			NumberFormat taskNumberFormat = numberFormat == null ? null : (NumberFormat) numberFormat.clone();
+			tasks.add(() -> {
+				context.checkStatus();
+				parseRows(configuration, strings, resultSetRows, valueTypes, attributeColumns, trim, taskNumberFormat,
+						values, errors, from, to);
+				return null;
+			});
+		}
+		try {
+			context.call(tasks);
+		} catch (ExecutionException e) {
+			throw ConcurrencyTools.unwrap(e);
+		}
+	}
+
+	/**
+	 * Parses the numerical and date values of the given rows like
+	 * {@link #getOrParseNumber(DataResultSetTranslationConfiguration, DataResultSet, int, int, boolean)}
+	 * and {@link #getOrParseDate(DataResultSetTranslationConfiguration, DataResultSet, int, int, boolean)}.
+	 * The parsing errors are stored instead of being reported.
+	 */
+	private static void parseRows(DataResultSetTranslationConfiguration configuration, String[][] strings,
+			int[] resultSetRows, int[] valueTypes, int[] attributeColumns, boolean trim, NumberFormat numberFormat,
+			double[][] values, ParsingError[][] errors, int from, int to) throws OperatorException {
+		for (int r = from; r < to; r++) {
+			errors[r] = null;
+			for (int i = 0; i < valueTypes.length; i++) {
+				String value = strings[r][i];
+				boolean isNumber = isNumber(valueTypes[i]);
+				if (value == null || !isNumber && !isDate(valueTypes[i])) {
+					continue;
+				}
+				if (trim) {
+					value = value.trim();
+				}
+				ParsingError error = null;
+				if (!isNumber) {
+					try {
+						values[r][i] = configuration.getDateFormat().parse(value).getTime();
+					} catch (ParseException e) {
+						values[r][i] = Double.NaN;
+						error = new ParsingError(resultSetRows[r] + 1, attributeColumns[i], ErrorCode.UNPARSEABLE_DATE,
+								value, e);
+					}
+				} else if (numberFormat != null) {
+					try {
+						Number parsedValue = numberFormat.parse(value);
+						values[r][i] = parsedValue == null ? Double.NaN : parsedValue.doubleValue();
+					} catch (ParseException e) {
+						values[r][i] = Double.NaN;
+						error = new ParsingError(resultSetRows[r] + 1, attributeColumns[i], ErrorCode.UNPARSEABLE_REAL,
+								value, e);
+					}
+				} else {
+					try {
+						values[r][i] = Double.parseDouble(value);
+					} catch (NumberFormatException e) {
+						values[r][i] = Double.NaN;
+						error = new ParsingError(resultSetRows[r], attributeColumns[i], ErrorCode.UNPARSEABLE_REAL, value,
+								e);
+					}
+				}
+				if (error != null) {
+					if (errors[r] == null) {
+						errors[r] = new ParsingError[valueTypes.length];
+					}
+					errors[r][i] = error;
+				}
+			}
+		}
+	}
+
+	private static boolean isNumber(int valueType) {
+		return valueType == Ontology.INTEGER || valueType == Ontology.NUMERICAL || valueType == Ontology.REAL;
+	}
+
+	private static boolean isDate(int valueType) {
+		return valueType == Ontology.DATE_TIME || valueType == Ontology.TIME || valueType == Ontology.DATE;
+	}
+
 	/**
 	 * If native type is date, returns the date. Otherwise, uses string and parses.
 	 */
@@ -516,6 +749,15 @@ public class DataResultSetTranslator {
 			nominalValues[i] = new NominalValueSet();
 		}
 		int maxAnnotatedRow = configuration.getLastAnnotatedRowIndex();
+
+		// columns of csv files only contain strings, so they can be guessed concurrently in blocks
+		boolean isRunningInProcess = operator != null && operator.getProcess() != null
+				&& operator.getProcess().getProcessState() == Process.PROCESS_STATE_RUNNING;
+		ConcurrencyContext context = getGuessingContext(dataResultSet, definedTypes.length, maxProbeRows,
+				isRunningInProcess);
+		String[][] block = context == null ? null
+				: new String[maxProbeRows > 0 ? Math.min(maxProbeRows, CHUNK_SIZE) : CHUNK_SIZE][];
+		int blockSize = 0;
 		while (dataResultSet.hasNext() && (currentRow < maxProbeRows || maxProbeRows <= 0)) {
 			if (cancelGuessingRequested) {
 				break;
@@ -539,6 +781,16 @@ public class DataResultSetTranslator {
 					addError(new ParsingError(dataResultSet.getCurrentRow() + 1, 0, ErrorCode.ROW_TOO_LONG, excessString,
 							null), exampleIndex);
 				}
+				if (context != null) {
+					block[blockSize++] = getGuessingStrings(dataResultSet, definedTypes, exampleIndex);
+					if (blockSize == block.length) {
+						guessConcurrently(definedTypes, nominalValues, configuration, block, blockSize, context);
+						blockSize = 0;
+					}
+					exampleIndex++;
+					currentRow++;
+					continue;
+				}
 				for (int column = 0; column < definedTypes.length; column++) {
 					// No more guessing necessary if guessed type is polynomial (this is the most
 					// general case)
@@ -610,12 +862,103 @@ public class DataResultSetTranslator {
 			}
 			currentRow++;
 		}
+		if (blockSize > 0) {
+			guessConcurrently(definedTypes, nominalValues, configuration, block, blockSize, context);
+		}
 		if (listener != null) {
 			listener.complete();
 		}
 		return definedTypes;
 	}
 
+	/**
+	 * Returns the concurrency context for guessing the value types of the columns concurrently or
+	 * {@code null} if they should be guessed by the calling thread. This is only done for more than
+	 * one column of a csv file in a running process if at least {@link #CHUNK_SIZE} values are
+	 * probed, e.g. for the default of 100 probed rows if the file has at least 10 columns.
+	 *
+	 * @param dataResultSet
+	 *            the result set to guess the value types for
+	 * @param numberOfColumns
+	 *            the number of columns to guess
+	 * @param maxProbeRows
+	 *            the maximal number of rows to probe, all rows if not positive
+	 * @param isRunningInProcess
+	 *            whether the operator is executed within a running process
+	 * @return the context or {@code null}
+	 */
+	ConcurrencyContext getGuessingContext(DataResultSet dataResultSet, int numberOfColumns, int maxProbeRows,
+			boolean isRunningInProcess) {
+		if (!isRunningInProcess || !(dataResultSet instanceof CSVResultSet) || numberOfColumns < 2
+				|| maxProbeRows > 0 && (long) maxProbeRows * numberOfColumns < CHUNK_SIZE) {
+			return null;
+		}
+		ConcurrencyContext context = Resources.getConcurrencyContext(operator);
+		return context.getParallelism() < 2 ? null : context;
+	}
+
+	/**
+	 * Returns the strings of the current row that are relevant for guessing. Missing values, values
+	 * that cannot be read and values of polynominal columns are {@code null}.
+	 */
+	private String[] getGuessingStrings(DataResultSet dataResultSet, int[] definedTypes, int exampleIndex) {
+		String[] strings = new String[definedTypes.length];
+		for (int column = 0; column < definedTypes.length; column++) {
+			if (definedTypes[column] == Ontology.POLYNOMINAL || dataResultSet.isMissing(column)) {
+				continue;
+			}
+			try {
+				strings[column] = dataResultSet.getString(column);
+			} catch (com.rapidminer.operator.nio.model.ParseException e) {
+				addError(e.getError(), exampleIndex);
+			}
+		}
+		return strings;
+	}
+
+	/**
+	 * Guesses the value types for the first size rows of the block with one task per column. Every
+	 * column is guessed in row order, so the result is the same as when guessing row by row.
+	 */
+	private void guessConcurrently(int[] definedTypes, NominalValueSet[] nominalValues,
+			DataResultSetTranslationConfiguration configuration, String[][] block, int size, ConcurrencyContext context)
+			throws OperatorException {
+		// create the thread-local date format before it is accessed concurrently
+		configuration.getDateFormat();
+		NumberFormat numberFormat = configuration.getNumberFormat();
+		boolean trim = configuration.trimForGuessing();
+		List<Callable<Void>> tasks = new ArrayList<>();
+		for (int column = 0; column < definedTypes.length; column++) {
+			if (definedTypes[column] == Ontology.POLYNOMINAL) {
+				continue;
+			}
+			int taskColumn = column;
+			NumberFormat taskNumberFormat = numberFormat == null ? null : (NumberFormat) numberFormat.clone();
+			tasks.add(() -> {
+				context.checkStatus();
+				DateFormat dateFormat = configuration.getDateFormat();
+				for (int row = 0; row < size && definedTypes[taskColumn] != Ontology.POLYNOMINAL; row++) {
+					String value = block[row][taskColumn];
+					if (value == null) {
+						continue;
+					}
+					nominalValues[taskColumn].register(value);
+					if (trim) {
+						value = value.trim();
+					}
+					definedTypes[taskColumn] = guessValueType(definedTypes[taskColumn], value,
+							!nominalValues[taskColumn].moreThanTwo, dateFormat, taskNumberFormat);
+				}
+				return null;
+			});
+		}
+		try {
+			context.call(tasks);
+		} catch (ExecutionException e) {
+			throw ConcurrencyTools.unwrap(e);
+		}
+	}
+
 
 	/**
 	 * This method tries to guess the value type by taking into account the current guessed type and
@@ -652,6 +995,9 @@ public class DataResultSetTranslator {
 					return guessValueType(Ontology.DATE, value, onlyTwoValues, dateFormat, numberFormat);
 				}
 			} else {
+				if (!canBeDouble(value)) {
+					return guessValueType(Ontology.DATE, value, onlyTwoValues, dateFormat, null);
+				}
 				try {
 					Double.parseDouble(value);
 					return Ontology.REAL;
@@ -660,6 +1006,9 @@ public class DataResultSetTranslator {
 				}
 			}
 		}
+		if (!canBeInteger(value)) {
+			return guessValueType(Ontology.REAL, value, onlyTwoValues, dateFormat, numberFormat);
+		}
 		try {
 			Integer.parseInt(value);
 			return Ontology.INTEGER;
@@ -668,6 +1017,53 @@ public class DataResultSetTranslator {
 		}
 	}
 
+	/**
+	 * Checks the characters of the value to avoid the exception of {@link Integer#parseInt(String)}
+	 * for values that are obviously no integers.
+	 *
+	 * @return {@code false} if the value is not an optional sign followed by digits
+	 */
+	static boolean canBeInteger(String value) {
+		if (value == null || value.isEmpty()) {
+			return false;
+		}
+		int start = value.charAt(0) == '-' || value.charAt(0) == '+' ? 1 : 0;
+		if (start == value.length()) {
+			return false;
+		}
+		for (int i = start; i < value.length(); i++) {
+			if (!Character.isDigit(value.charAt(i))) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Checks the start of the value to avoid the exception of {@link Double#parseDouble(String)} for
+	 * values that are obviously no numbers.
+	 *
+	 * @return {@code false} if the value cannot be parsed by {@link Double#parseDouble(String)}
+	 */
+	static boolean canBeDouble(String value) {
+		if (value == null) {
+			return false;
+		}
+		int i = 0;
+		// parseDouble ignores leading whitespace and control characters
+		while (i < value.length() && value.charAt(i) <= ' ') {
+			i++;
+		}
+		if (i < value.length() && (value.charAt(i) == '-' || value.charAt(i) == '+')) {
+			i++;
+		}
+		if (i == value.length()) {
+			return false;
+		}
+		char first = value.charAt(i);
+		return first >= '0' && first <= '9' || first == '.' || first == 'N' || first == 'I';
+	}
+
 	/**
 	 * This method will stop any ongoing read action and close the underlying DataResultSet. It will
 	 * wait until this has been successfully performed.
@@ -257,6 +257,17 @@ public abstract class AbstractPerformanceEvaluator extends Operator implements C
 		exampleSetOutput.deliver(testSet);
 	}
 
+	/**
+	 * Performance evaluators only use the data of their ports. Subclasses that use other state must
+	 * override this method.
+	 *
+	 * @since 9.7
+	 */
+	@Override
+	public boolean isSideEffectFree() {
+		return true;
+	}
+
 	// --------------------------------------------------------------------------------
 
 	/**
@@ -32,6 +32,7 @@ import com.rapidminer.operator.preprocessing.AbstractDataProcessing;
 import com.rapidminer.parameter.ParameterType;
 import com.rapidminer.parameter.ParameterTypeAttribute;
 import com.rapidminer.parameter.ParameterTypeCategory;
+import com.rapidminer.studio.internal.Resources;
 import com.rapidminer.tools.OperatorResourceConsumptionHandler;
 
 
@@ -71,7 +72,8 @@ public class Sorting extends AbstractDataProcessing {
 			throw new AttributeNotFoundError(this, PARAMETER_ATTRIBUTE_NAME, getParameterAsString(PARAMETER_ATTRIBUTE_NAME));
 		}
 
-		ExampleSet result = new SortedExampleSet(exampleSet, sortingAttribute, sortingDirection, getProgress());
+		ExampleSet result = new SortedExampleSet(exampleSet, new Attribute[] { sortingAttribute },
+				new int[] { sortingDirection }, Resources.getConcurrencyContext(this), getProgress());
 
 		return result;
 	}
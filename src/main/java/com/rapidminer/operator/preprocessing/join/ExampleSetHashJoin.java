@@ -0,0 +1,386 @@
+/**
+ * Copyright (C) 2001-2020 by RapidMiner and the contributors
+ * 
+ * Complete list of developers available at our web site:
+ * 
+ * http://rapidminer.com
+ * 
+ * This program is free software: you can redistribute it and/or modify it under the terms of the
+ * GNU Affero General Public License as published by the Free Software Foundation, either version 3
+ * of the License, or (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without
+ * even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Affero General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Affero General Public License along with this program.
+ * If not, see http://www.gnu.org/licenses/.
+*/
+package com.rapidminer.operator.preprocessing.join;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+
+import com.rapidminer.core.concurrency.ConcurrencyContext;
+import com.rapidminer.example.Attribute;
+import com.rapidminer.example.Example;
+import com.rapidminer.example.ExampleSet;
+import com.rapidminer.example.table.NominalMapping;
+import com.rapidminer.operator.OperatorException;
+import com.rapidminer.operator.concurrency.internal.ConcurrencyTools;
+
+
+/**
+ * Finds the matching rows of two example sets by their key attributes. The keys of the smaller example set are put
+ * into a {@link JoinKeyTable}, the rows of the other example set are then looked up in this table. For large inputs
+ * the lookups are done concurrently in partitions of consecutive rows.
+ * <p>
+ * The result is a list of pairs of row indices, where {@link #NO_ROW} marks a missing partner. The pairs are in the
+ * order of the row-by-row join: ordered by the left rows (by the right rows for a right join), matches of the same
+ * row in ascending order and, for an outer join, followed by the unmatched right rows. This order does not depend on
+ * which side the table is built for.
+ * <p>
+ * Rows with missing key values never match. Nominal key values match if they have the same string value.
+ *
+ * @since 9.7
+ */
+final class ExampleSetHashJoin {
+
+	/** marks a missing partner row */
+	static final int NO_ROW = JoinKeyTable.NO_ROW;
+
+	/** Minimal number of rows to look up concurrently */
+	private static final int MINIMUM_ROWS_FOR_CONCURRENT_PROBING = 100_000;
+
+	/** Number of rows between checking for stop */
+	private static final int CHECK_FOR_STOP_INTERVAL = 1000;
+
+	/** Growable list of row pairs found by looking up a partition of rows. */
+	private static final class RowPairs {
+
+		private int[] probeRows = new int[16];
+		private int[] buildRows = new int[16];
+		private int size;
+
+		private void add(int probeRow, int buildRow) {
+			if (size == probeRows.length) {
+				probeRows = Arrays.copyOf(probeRows, size * 2);
+				buildRows = Arrays.copyOf(buildRows, size * 2);
+			}
+			probeRows[size] = probeRow;
+			buildRows[size] = buildRow;
+			size++;
+		}
+	}
+
+	private final ExampleSet leftExampleSet;
+	private final ExampleSet rightExampleSet;
+	private final Attribute[] leftKeyAttributes;
+	private final Attribute[] rightKeyAttributes;
+
+	private final boolean keepUnmatchedLeft;
+	private final boolean keepUnmatchedRight;
+
+	/** whether the result is ordered by the right rows */
+	private final boolean orderedByRight;
+
+	/** whether the table is built for the left example set */
+	private boolean buildLeft;
+	private JoinKeyTable table;
+
+	private int[] leftRows;
+	private int[] rightRows;
+
+	/**
+	 * Creates a new join. Call {@link #join(ConcurrencyContext)} or {@link #buildTable()} and
+	 * {@link #matchRows(ConcurrencyContext)} to compute the matching rows.
+	 *
+	 * @param leftExampleSet
+	 *            the left example set
+	 * @param rightExampleSet
+	 *            the right example set
+	 * @param leftKeyAttributes
+	 *            the key attributes of the left example set
+	 * @param rightKeyAttributes
+	 *            the key attributes of the right example set, in the same order and of compatible types
+	 * @param joinType
+	 *            one of the join types defined by {@link ExampleSetJoin}
+	 */
+	ExampleSetHashJoin(ExampleSet leftExampleSet, ExampleSet rightExampleSet, Attribute[] leftKeyAttributes,
+			Attribute[] rightKeyAttributes, int joinType) {
+		this.leftExampleSet = leftExampleSet;
+		this.rightExampleSet = rightExampleSet;
+		this.leftKeyAttributes = leftKeyAttributes;
+		this.rightKeyAttributes = rightKeyAttributes;
+		this.keepUnmatchedLeft = joinType == ExampleSetJoin.JOIN_TYPE_LEFT || joinType == ExampleSetJoin.JOIN_TYPE_OUTER;
+		this.keepUnmatchedRight = joinType == ExampleSetJoin.JOIN_TYPE_RIGHT
+				|| joinType == ExampleSetJoin.JOIN_TYPE_OUTER;
+		this.orderedByRight = joinType == ExampleSetJoin.JOIN_TYPE_RIGHT;
+	}
+
+	/**
+	 * Computes the matching rows by calling {@link #buildTable()} and {@link #matchRows(ConcurrencyContext)}.
+	 *
+	 * @param context
+	 *            the context used to look up large example sets concurrently
+	 * @throws OperatorException
+	 *             if a concurrent lookup fails
+	 */
+	void join(ConcurrencyContext context) throws OperatorException {
+		buildTable();
+		matchRows(context);
+	}
+
+	/**
+	 * Builds the key table for the smaller example set.
+	 */
+	void buildTable() {
+		buildLeft = leftExampleSet.size() < rightExampleSet.size();
+		ExampleSet buildSet = buildLeft ? leftExampleSet : rightExampleSet;
+		Attribute[] buildKeyAttributes = buildLeft ? leftKeyAttributes : rightKeyAttributes;
+		Attribute[] probeKeyAttributes = buildLeft ? rightKeyAttributes : leftKeyAttributes;
+		table = new JoinKeyTable(readKeyColumns(buildSet, buildKeyAttributes, probeKeyAttributes), buildSet.size());
+	}
+
+	/**
+	 * Looks up the rows of the other example set in the table built by {@link #buildTable()} and puts the matching
+	 * rows in order.
+	 *
+	 * @param context
+	 *            the context used to look up large example sets concurrently
+	 * @throws OperatorException
+	 *             if a concurrent lookup fails
+	 */
+	void matchRows(ConcurrencyContext context) throws OperatorException {
+		ExampleSet buildSet = buildLeft ? leftExampleSet : rightExampleSet;
+		ExampleSet probeSet = buildLeft ? rightExampleSet : leftExampleSet;
+		Attribute[] probeKeyAttributes = buildLeft ? rightKeyAttributes : leftKeyAttributes;
+		boolean keepUnmatchedBuild = buildLeft ? keepUnmatchedLeft : keepUnmatchedRight;
+		boolean keepUnmatchedProbe = buildLeft ? keepUnmatchedRight : keepUnmatchedLeft;
+		// the result is ordered by the probe rows if the probed side is the one defining the order
+		boolean orderedByProbe = buildLeft == orderedByRight;
+
+		double[][] probeColumns = readKeyColumns(probeSet, probeKeyAttributes, null);
+
+		// unmatched build rows are found by counting if the result is sorted by the build rows anyway
+		boolean[] matchedKeys = keepUnmatchedBuild && orderedByProbe ? new boolean[table.size()] : null;
+		List<RowPairs> partitions = probe(table, probeColumns, probeSet.size(), keepUnmatchedProbe, matchedKeys,
+				context);
+
+		int[] probeRows;
+		int[] buildRows;
+		if (orderedByProbe) {
+			int size = 0;
+			for (RowPairs pairs : partitions) {
+				size += pairs.size;
+			}
+			int[] unmatchedBuildRows = matchedKeys != null ? getUnmatchedRows(table, matchedKeys, buildSet.size())
+					: new int[0];
+			probeRows = new int[size + unmatchedBuildRows.length];
+			buildRows = new int[probeRows.length];
+			int index = 0;
+			for (RowPairs pairs : partitions) {
+				System.arraycopy(pairs.probeRows, 0, probeRows, index, pairs.size);
+				System.arraycopy(pairs.buildRows, 0, buildRows, index, pairs.size);
+				index += pairs.size;
+			}
+			Arrays.fill(probeRows, index, probeRows.length, NO_ROW);
+			System.arraycopy(unmatchedBuildRows, 0, buildRows, index, unmatchedBuildRows.length);
+		} else {
+			int[][] sorted = sortByBuildRows(partitions, buildSet.size(), keepUnmatchedBuild);
+			probeRows = sorted[0];
+			buildRows = sorted[1];
+		}
+		leftRows = buildLeft ? buildRows : probeRows;
+		rightRows = buildLeft ? probeRows : buildRows;
+		table = null;
+	}
+
+	/**
+	 * @return the number of joined rows
+	 */
+	int size() {
+		return leftRows.length;
+	}
+
+	/**
+	 * @return the row of the left example set for the given joined row or {@link #NO_ROW}
+	 */
+	int getLeftRow(int index) {
+		return leftRows[index];
+	}
+
+	/**
+	 * @return the row of the right example set for the given joined row or {@link #NO_ROW}
+	 */
+	int getRightRow(int index) {
+		return rightRows[index];
+	}
+
+	/**
+	 * Looks up the rows of the probe columns in the table, concurrently in partitions of consecutive rows if there are
+	 * enough rows.
+	 */
+	private static List<RowPairs> probe(JoinKeyTable table, double[][] probeColumns, int rows,
+			boolean keepUnmatchedProbe, boolean[] matchedKeys, ConcurrencyContext context) throws OperatorException {
+		if (context.getParallelism() < 2 || rows < MINIMUM_ROWS_FOR_CONCURRENT_PROBING) {
+			return Collections.singletonList(probe(table, probeColumns, 0, rows, keepUnmatchedProbe, matchedKeys,
+					context));
+		}
+
+		int numberOfPartitions = context.getParallelism();
+		List<Callable<RowPairs>> tasks = new ArrayList<>(numberOfPartitions);
+		for (int partition = 0; partition < numberOfPartitions; partition++) {
+			final int startRow = (int) ((long) rows * partition / numberOfPartitions);
+			final int endRow = (int) ((long) rows * (partition + 1) / numberOfPartitions);
+			tasks.add(() -> probe(table, probeColumns, startRow, endRow, keepUnmatchedProbe, matchedKeys, context));
+		}
+		try {
+			return context.call(tasks);
+		} catch (ExecutionException e) {
+			throw ConcurrencyTools.unwrap(e);
+		}
+	}
+
+	/**
+	 * Looks up the probe rows from {@code startRow} (inclusive) to {@code endRow} (exclusive). Concurrent calls only
+	 * ever set entries of the matched keys to {@code true}.
+	 */
+	private static RowPairs probe(JoinKeyTable table, double[][] probeColumns, int startRow, int endRow,
+			boolean keepUnmatchedProbe, boolean[] matchedKeys, ConcurrencyContext context) {
+		RowPairs pairs = new RowPairs();
+		double[] key = new double[probeColumns.length];
+		for (int row = startRow; row < endRow; row++) {
+			if ((row - startRow) % CHECK_FOR_STOP_INTERVAL == 0) {
+				context.checkStatus();
+			}
+			int keyIndex = JoinKeyTable.readKey(probeColumns, row, key) ? table.find(key) : JoinKeyTable.NO_KEY;
+			if (keyIndex == JoinKeyTable.NO_KEY) {
+				if (keepUnmatchedProbe) {
+					pairs.add(row, NO_ROW);
+				}
+				continue;
+			}
+			if (matchedKeys != null) {
+				matchedKeys[keyIndex] = true;
+			}
+			for (int buildRow = table.getFirstRow(keyIndex); buildRow != NO_ROW; buildRow = table
+					.getNextRow(buildRow)) {
+				pairs.add(row, buildRow);
+			}
+		}
+		return pairs;
+	}
+
+	/**
+	 * Returns the build rows whose keys were not matched, in ascending order.
+	 */
+	private static int[] getUnmatchedRows(JoinKeyTable table, boolean[] matchedKeys, int rows) {
+		int[] unmatched = new int[rows];
+		int size = 0;
+		for (int row = 0; row < rows; row++) {
+			int keyIndex = table.getKey(row);
+			if (keyIndex == JoinKeyTable.NO_KEY || !matchedKeys[keyIndex]) {
+				unmatched[size++] = row;
+			}
+		}
+		return Arrays.copyOf(unmatched, size);
+	}
+
+	/**
+	 * Sorts the pairs stably by their build rows with a counting sort. Unmatched build rows are inserted at their
+	 * position if they should be kept, unmatched probe rows are appended at the end.
+	 *
+	 * @return the sorted probe rows and build rows
+	 */
+	private static int[][] sortByBuildRows(List<RowPairs> partitions, int buildRows, boolean keepUnmatchedBuild) {
+		// the number of pairs per build row, shifted by one to become the start offsets
+		int[] offsets = new int[buildRows + 1];
+		int unmatchedProbeRows = 0;
+		for (RowPairs pairs : partitions) {
+			for (int i = 0; i < pairs.size; i++) {
+				int buildRow = pairs.buildRows[i];
+				if (buildRow == NO_ROW) {
+					unmatchedProbeRows++;
+				} else {
+					offsets[buildRow + 1]++;
+				}
+			}
+		}
+		int size = unmatchedProbeRows;
+		for (int row = 0; row < buildRows; row++) {
+			size += keepUnmatchedBuild ? Math.max(offsets[row + 1], 1) : offsets[row + 1];
+		}
+		int[] sortedProbeRows = new int[size];
+		int[] sortedBuildRows = new int[size];
+		for (int row = 0; row < buildRows; row++) {
+			int count = offsets[row + 1];
+			if (keepUnmatchedBuild && count == 0) {
+				// reserve a slot for the unmatched build row
+				sortedProbeRows[offsets[row]] = NO_ROW;
+				sortedBuildRows[offsets[row]] = row;
+				count = 1;
+			}
+			offsets[row + 1] = offsets[row] + count;
+		}
+
+		int unmatchedIndex = offsets[buildRows];
+		for (RowPairs pairs : partitions) {
+			for (int i = 0; i < pairs.size; i++) {
+				int buildRow = pairs.buildRows[i];
+				if (buildRow == NO_ROW) {
+					sortedProbeRows[unmatchedIndex] = pairs.probeRows[i];
+					sortedBuildRows[unmatchedIndex++] = NO_ROW;
+				} else {
+					int index = offsets[buildRow]++;
+					sortedProbeRows[index] = pairs.probeRows[i];
+					sortedBuildRows[index] = buildRow;
+				}
+			}
+		}
+		return new int[][] { sortedProbeRows, sortedBuildRows };
+	}
+
+	/**
+	 * Reads the values of the key attributes. If match attributes are given, the indices of nominal values are
+	 * converted to the indices of the same values in the match attributes. Values unknown to the match attributes are
+	 * read as missing, since they cannot match.
+	 */
+	private static double[][] readKeyColumns(ExampleSet exampleSet, Attribute[] keyAttributes,
+			Attribute[] matchAttributes) {
+		int width = keyAttributes.length;
+		int[][] valueMaps = new int[width][];
+		if (matchAttributes != null) {
+			for (int i = 0; i < width; i++) {
+				if (keyAttributes[i].isNominal()) {
+					NominalMapping mapping = keyAttributes[i].getMapping();
+					NominalMapping matchMapping = matchAttributes[i].getMapping();
+					valueMaps[i] = new int[mapping.size()];
+					for (int index = 0; index < valueMaps[i].length; index++) {
+						valueMaps[i][index] = matchMapping.getIndex(mapping.mapIndex(index));
+					}
+				}
+			}
+		}
+
+		double[][] columns = new double[width][exampleSet.size()];
+		int row = 0;
+		for (Example example : exampleSet) {
+			for (int i = 0; i < width; i++) {
+				double value = example.getValue(keyAttributes[i]);
+				int[] valueMap = valueMaps[i];
+				if (valueMap != null && !Double.isNaN(value)) {
+					int index = (int) value;
+					value = index >= 0 && index < valueMap.length && valueMap[index] >= 0 ? valueMap[index] : Double.NaN;
+				}
+				columns[i][row] = value;
+			}
+			row++;
+		}
+		return columns;
+	}
+}
@@ -18,15 +18,16 @@
  */
 package com.rapidminer.operator.preprocessing.join;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
-import java.util.HashMap;
 import java.util.HashSet;
+import java.util.IdentityHashMap;
 import java.util.Iterator;
-import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.function.IntToDoubleFunction;
 
 import com.rapidminer.example.Attribute;
 import com.rapidminer.example.AttributeRole;
@@ -39,7 +40,6 @@ import com.rapidminer.example.utils.ExampleSets;
 import com.rapidminer.operator.OperatorDescription;
 import com.rapidminer.operator.OperatorException;
 import com.rapidminer.operator.ProcessSetupError.Severity;
-import com.rapidminer.operator.ProcessStoppedException;
 import com.rapidminer.operator.SimpleProcessSetupError;
 import com.rapidminer.operator.UserError;
 import com.rapidminer.operator.annotation.ResourceConsumptionEstimator;
@@ -54,6 +54,7 @@ import com.rapidminer.parameter.ParameterTypeBoolean;
 import com.rapidminer.parameter.ParameterTypeCategory;
 import com.rapidminer.parameter.ParameterTypeList;
 import com.rapidminer.parameter.conditions.BooleanParameterCondition;
+import com.rapidminer.studio.internal.Resources;
 import com.rapidminer.tools.Ontology;
 import com.rapidminer.tools.OperatorResourceConsumptionHandler;
 import com.rapidminer.tools.container.Pair;
@@ -206,67 +207,27 @@ public class ExampleSetJoin extends AbstractExampleSetJoin {
 	protected ExampleSetBuilder joinData(ExampleSet leftExampleSet, ExampleSet rightExampleSet,
 			List<AttributeSource> originalAttributeSources, List<Attribute> unionAttributeList) throws OperatorException {
 		int joinType = getParameterAsInt(PARAMETER_JOIN_TYPE);
-		leftExampleSet.remapIds();
-		rightExampleSet.remapIds();
 
 		// the attributes that are used in the left and the right table as key attributes:
-
 		Pair<Attribute[], Attribute[]> keyAttributes = getKeyAttributes(leftExampleSet, rightExampleSet);
-		copyMappings(joinType, keyAttributes, unionAttributeList);
-
-		switch (joinType) {
-			case JOIN_TYPE_INNER:
-				getProgress().setTotal(leftExampleSet.size());
-				return performInnerJoin(leftExampleSet, rightExampleSet, originalAttributeSources, unionAttributeList,
-						keyAttributes);
-			case JOIN_TYPE_LEFT:
-				getProgress().setTotal(leftExampleSet.size());
-				return performLeftJoin(leftExampleSet, rightExampleSet, originalAttributeSources, unionAttributeList,
-						keyAttributes, null);
-			case JOIN_TYPE_RIGHT:
-				getProgress().setTotal(rightExampleSet.size());
-				return performRightJoin(leftExampleSet, rightExampleSet, originalAttributeSources, unionAttributeList,
-						keyAttributes);
-			case JOIN_TYPE_OUTER:
-				getProgress().setTotal(leftExampleSet.size() + rightExampleSet.size());
-				return performOuterJoin(leftExampleSet, rightExampleSet, originalAttributeSources, unionAttributeList,
-						keyAttributes);
-			default:
-				assert false;	// illegal join type
-				return null;
-		}
-	}
-
-	/**
-	 * Checks if the mappings of the keyAttributes or their corresponding unionAttributes need to be copied depending on
-	 * the joinType.
-	 *
-	 * @param joinType
-	 *            the type of the join
-	 * @param keyAttributes
-	 *            the attributes to copy
-	 * @param unionAttributes
-	 *            the final attributes of the joined set
-	 */
-	private void copyMappings(int joinType, Pair<Attribute[], Attribute[]> keyAttributes,
-			List<Attribute> unionAttributes) {
-		// for right and outer the method addRightOnlyOccurences is called which might change the mappings of the union
-		// attribute corresponding to the left keyAttribute
 		if (joinType == JOIN_TYPE_RIGHT || joinType == JOIN_TYPE_OUTER) {
-			copyUnionMappings(keyAttributes, unionAttributes);
-		}
-
-		// no id is used and inner or left then createKeyMapping(right,left) is called and left keyAttribute mappings
-		// changed, outer calls left
-		boolean useId = getParameterAsBoolean(PARAMETER_USE_ID);
-		if (!useId && (joinType == JOIN_TYPE_INNER || joinType == JOIN_TYPE_LEFT || joinType == JOIN_TYPE_OUTER)) {
-			copyMappings(keyAttributes, true);
-		}
-
-		// no id is used and right then createKeyMapping(left,right) is called and right keyAttribute mappings changed
-		if (!useId && joinType == JOIN_TYPE_RIGHT) {
-			copyMappings(keyAttributes, false);
-		}
+			// examples only occurring in the right table might add values to the mappings of the union key attributes
+			copyUnionMappings(keyAttributes, unionAttributeList);
+		}
+
+		// one step each for building the key table, matching the rows and reading the columns to fill
+		getProgress().setTotal(3);
+		ExampleSetHashJoin join = new ExampleSetHashJoin(leftExampleSet, rightExampleSet, keyAttributes.getFirst(),
+				keyAttributes.getSecond(), joinType);
+		join.buildTable();
+		getProgress().step();
+		join.matchRows(Resources.getConcurrencyContext(this));
+		getProgress().step();
+
+		ExampleSetBuilder builder = createJoinedData(join, leftExampleSet, rightExampleSet, originalAttributeSources,
+				unionAttributeList, keyAttributes);
+		getProgress().step();
+		return builder;
 	}
 
 	/**
@@ -308,25 +269,6 @@ public class ExampleSetJoin extends AbstractExampleSetJoin {
 		return null;
 	}
 
-	/**
-	 * Copies the mappings of either the left or the right key attributes.
-	 *
-	 * @param keyAttributes
-	 *            the key-attributes to copy
-	 * @param left
-	 *            if true the left key attributes are copied, otherwise the right
-	 */
-	private void copyMappings(Pair<Attribute[], Attribute[]> keyAttributes, boolean left) {
-		Attribute[] copyAttributes = left ? keyAttributes.getFirst() : keyAttributes.getSecond();
-		for (Attribute attribute : copyAttributes) {
-			if (attribute.isNominal()) {
-				NominalMapping newMapping = (NominalMapping) attribute.getMapping().clone();
-				attribute.setMapping(newMapping);
-			}
-		}
-
-	}
-
 	/**
 	 * Returns a Pair that contains two arrays of attributes of equals lenghts. Attributes in these arrays with the same
 	 * index resemble attributes which must be equal during the join operation to match an example. Only if all key
@@ -398,423 +340,140 @@ public class ExampleSetJoin extends AbstractExampleSetJoin {
 	}
 
 	/**
-	 * Performs an inner join, i.e. the result table contains all examples from the source example
-	 * sets whose key attributes match.
-	 *
-	 */
-	private ExampleSetBuilder performInnerJoin(ExampleSet leftExampleSet, ExampleSet rightExampleSet,
-			List<AttributeSource> originalAttributeSources, List<Attribute> unionAttributeList,
-			Pair<Attribute[], Attribute[]> keyAttributes) throws ProcessStoppedException {
-		ExampleSetBuilder builder = ExampleSets.from(unionAttributeList);
-
-		Attribute[] leftKeyAttributes = null;
-		Attribute[] rightKeyAttributes = null;
-		Map<DoubleArrayWrapper, List<Example>> rightKeyMapping = null;
-		boolean useId = getParameterAsBoolean(PARAMETER_USE_ID);
-
-		if (!useId) {
-			// create key mapping for right example set
-			leftKeyAttributes = keyAttributes.getFirst();
-			rightKeyAttributes = keyAttributes.getSecond();
-			rightKeyMapping = createKeyMapping(rightExampleSet, rightKeyAttributes, leftKeyAttributes);
-		}
-
-		int progressCounter = 0;
-		// iterate over all example from left table and search for matching examples in right table:
-		for (Example leftExample : leftExampleSet) {
-
-			List<Example> matchingRightExamples = getMatchingExamples(leftExampleSet, rightExampleSet, leftKeyAttributes,
-					rightKeyMapping, useId, leftExample);
-
-			if (matchingRightExamples != null) {
-				for (Example rightExample : matchingRightExamples) {
-					addCombinedOccurence(originalAttributeSources, unionAttributeList, builder, leftExample, rightExample);
-				}
-			}
-
-			// trigger operator progress every 100 examples
-			++progressCounter;
-			if (progressCounter % 100 == 0) {
-				getProgress().step(100);
-				progressCounter = 0;
-			}
-		}
-		return builder;
-	}
-
-	/**
-	 * Performs a left join.
-	 *
-	 */
-	private ExampleSetBuilder performLeftJoin(ExampleSet leftExampleSet, ExampleSet rightExampleSet,
-			List<AttributeSource> originalAttributeSources, List<Attribute> unionAttributeList,
-			Pair<Attribute[], Attribute[]> keyAttributes, Set<DoubleArrayWrapper> matchedExamplesInRightTable)
-					throws ProcessStoppedException {
-		ExampleSetBuilder builder = ExampleSets.from(unionAttributeList);
-
-		Attribute[] leftKeyAttributes = null;
-		Attribute[] rightKeyAttributes = null;
-		Map<DoubleArrayWrapper, List<Example>> rightKeyMapping = null;
-		boolean useId = getParameterAsBoolean(PARAMETER_USE_ID);
-
-		leftKeyAttributes = keyAttributes.getFirst();
-		rightKeyAttributes = keyAttributes.getSecond();
-		if (!useId) {
-			// create key mapping for right example set
-			rightKeyMapping = createKeyMapping(rightExampleSet, rightKeyAttributes, leftKeyAttributes);
-		}
-
-		int progressCounter = 0;
-		// iterate over all example from left table and search for matching examples in right table:
-		for (Example leftExample : leftExampleSet) {
-			List<Example> matchingRightExamples = getMatchingExamples(leftExampleSet, rightExampleSet, leftKeyAttributes,
-					rightKeyMapping, useId, leftExample);
-
-			if (matchingRightExamples != null) {
-				// add combination of left example and all matching right examples
-				for (Example rightExample : matchingRightExamples) {
-					addCombinedOccurence(originalAttributeSources, unionAttributeList, builder, leftExample, rightExample);
-					if (matchedExamplesInRightTable != null) {
-						matchedExamplesInRightTable
-						.add(new DoubleArrayWrapper(getKeyValues(rightExample, rightKeyAttributes)));
-					}
-				}
-			} else { // no rows with this key in right table
-				// insert this row with null values for the right table
-				addLeftOnlyOccurence(originalAttributeSources, unionAttributeList, builder, leftExample);
-			}
-			// trigger operator progress every 100 examples
-			++progressCounter;
-			if (progressCounter % 100 == 0) {
-				getProgress().step(100);
-				progressCounter = 0;
-			}
-		}
-		return builder;
-	}
-
-	/**
-	 * Performs a right join.
-	 *
-	 */
-	private ExampleSetBuilder performRightJoin(ExampleSet leftExampleSet, ExampleSet rightExampleSet,
-			List<AttributeSource> originalAttributeSources, List<Attribute> unionAttributeList,
-			Pair<Attribute[], Attribute[]> keyAttributes) throws ProcessStoppedException {
-		ExampleSetBuilder builder = ExampleSets.from(unionAttributeList);
-
-		Attribute[] leftKeyAttributes = null;
-		Attribute[] rightKeyAttributes = null;
-		Map<DoubleArrayWrapper, List<Example>> leftKeyMapping = null;
-		boolean useId = getParameterAsBoolean(PARAMETER_USE_ID);
-
-		Attribute leftIdAttribute = null;
-		Attribute rightIdAttribute = null;
-		if (useId) {
-			// needed for getting the right id when adding examples which occur only in right table
-			leftIdAttribute = leftExampleSet.getAttributes().getId();
-			rightIdAttribute = rightExampleSet.getAttributes().getId();
-			leftKeyAttributes = new Attribute[] { leftIdAttribute };
-			rightKeyAttributes = new Attribute[] { rightIdAttribute };
-		} else {
-			// create key mapping for right example set
-			leftKeyAttributes = keyAttributes.getFirst();
-			rightKeyAttributes = keyAttributes.getSecond();
-			leftKeyMapping = createKeyMapping(leftExampleSet, leftKeyAttributes, rightKeyAttributes);
-		}
-
-		boolean keepBoth = getParameterAsBoolean(PARAMETER_KEEP_BOTH_JOIN_ATTRIBUTES);
-		boolean removeDoubleAttributes = getParameterAsBoolean(PARAMETER_REMOVE_DOUBLE_ATTRIBUTES);
-
-		int progressCounter = 0;
-		// iterate over all example from left table and search for matching examples in right table:
-		for (Example rightExample : rightExampleSet) {
-			List<Example> matchingLeftExamples = getMatchingExamples(rightExampleSet, leftExampleSet, rightKeyAttributes,
-					leftKeyMapping, useId, rightExample);
-
-			if (matchingLeftExamples != null) {
-				// add combination of left example and all matching right examples
-				for (Example leftExample : matchingLeftExamples) {
-					addCombinedOccurence(originalAttributeSources, unionAttributeList, builder, leftExample, rightExample);
-				}
-			} else {
-				addRightOnlyOccurence(originalAttributeSources, unionAttributeList, builder, rightExample, leftKeyAttributes,
-						rightKeyAttributes, keepBoth, removeDoubleAttributes);
-			}
-			// trigger operator progress every 100 examples
-			++progressCounter;
-			if (progressCounter % 100 == 0) {
-				getProgress().step(100);
-				progressCounter = 0;
-			}
-		}
-		return builder;
-	}
-
-	/**
-	 * Performs an outer join (not to be confused with a full outer join).
-	 *
+	 * Creates the joined example set from the matching rows found by the join. Only those attributes are added, which
+	 * are present in originalAttributeSources. Values of a missing left or right example are NaN. Exception: for
+	 * examples only occurring in the right example set, key attributes taken from the left example set get the value of
+	 * the corresponding right key attribute if only one attribute is kept per key.
+	 * <p>
+	 * The values of all needed attributes are read once per example set into primitive columns, from which the joined
+	 * columns are filled by the matching row indices.
 	 */
-	private ExampleSetBuilder performOuterJoin(ExampleSet leftExampleSet, ExampleSet rightExampleSet,
-			List<AttributeSource> originalAttributeSources, List<Attribute> unionAttributeList,
-			Pair<Attribute[], Attribute[]> keyAttributes) throws ProcessStoppedException {
-		ExampleSetBuilder builder;
-
+	private ExampleSetBuilder createJoinedData(ExampleSetHashJoin join, ExampleSet leftExampleSet,
+			ExampleSet rightExampleSet, List<AttributeSource> originalAttributeSources, List<Attribute> unionAttributeList,
+			Pair<Attribute[], Attribute[]> keyAttributes) {
 		Attribute[] leftKeyAttributes = keyAttributes.getFirst();
 		Attribute[] rightKeyAttributes = keyAttributes.getSecond();
-
-		// perform left join (an outer join is the union of a left join and a right join on the same
-		// tables)
-		Set<DoubleArrayWrapper> mappedRightExamples = new HashSet<>();
-		builder = performLeftJoin(leftExampleSet, rightExampleSet, originalAttributeSources, unionAttributeList,
-				keyAttributes, mappedRightExamples);
-
 		boolean keepBoth = getParameterAsBoolean(PARAMETER_KEEP_BOTH_JOIN_ATTRIBUTES);
 		boolean removeDoubleAttributes = getParameterAsBoolean(PARAMETER_REMOVE_DOUBLE_ATTRIBUTES);
-		int progressCounter = 0;
-		for (Example rightExample : rightExampleSet) {
-			// perform right join, but add example only if it has not been matched during left join
-			// above
-			if (!mappedRightExamples.contains(new DoubleArrayWrapper(getKeyValues(rightExample, rightKeyAttributes)))) {
-				addRightOnlyOccurence(originalAttributeSources, unionAttributeList, builder, rightExample, leftKeyAttributes,
-						rightKeyAttributes, keepBoth, removeDoubleAttributes);
-			}
-			// trigger operator progress every 100 examples
-			++progressCounter;
-			if (progressCounter % 100 == 0) {
-				getProgress().step(100);
-				progressCounter = 0;
-			}
-		}
-		return builder;
-	}
-
-	/**
-	 * Creates an example which consists of the combination of leftExample an rightExample. Only
-	 * those attributes are added, which are present in originalAttributeSources. The newly
-	 * constructed example is added to unionTable.
-	 */
-	private void addCombinedOccurence(List<AttributeSource> originalAttributeSources, List<Attribute> unionAttributeList,
-			ExampleSetBuilder builder, Example leftExample, Example rightExample) {
-		double[] unionDataRow = new double[unionAttributeList.size()];
-		int attributeIndex = 0;
-		for (AttributeSource attributeSource : originalAttributeSources) {
-			if (attributeSource.getSource() == AttributeSource.FIRST_SOURCE) {
-				unionDataRow[attributeIndex] = leftExample.getValue(attributeSource.getAttribute());
-			} else if (attributeSource.getSource() == AttributeSource.SECOND_SOURCE) {
-				unionDataRow[attributeIndex] = rightExample.getValue(attributeSource.getAttribute());
-			}
-			attributeIndex++;
-		}
-		builder.addRow(unionDataRow);
-	}
 
-	/**
-	 * Creates an example and adds it to unionTable. The example contains all attributes from
-	 * leftExample, which are also in originalAttributeSources, and NaN for all attributes which
-	 * should normally be taken from a right example.
-	 */
-	private void addLeftOnlyOccurence(List<AttributeSource> originalAttributeSources, List<Attribute> unionAttributeList,
-			ExampleSetBuilder builder, Example leftExample) {
-		double[] unionDataRow = new double[unionAttributeList.size()];
-		int attributeIndex = 0;
+		// the source attribute of every union attribute and, for left key attributes, the right key attribute whose
+		// value is used for examples only occurring in the right example set
+		int width = originalAttributeSources.size();
+		Attribute[] sourceAttributes = new Attribute[width];
+		Attribute[] rightOnlyAttributes = new Attribute[width];
+		List<Attribute> leftAttributes = new ArrayList<>();
+		List<Attribute> rightAttributes = new ArrayList<>();
+		int index = 0;
 		for (AttributeSource attributeSource : originalAttributeSources) {
+			Attribute attribute = attributeSource.getAttribute();
+			sourceAttributes[index] = attribute;
 			if (attributeSource.getSource() == AttributeSource.FIRST_SOURCE) {
-				unionDataRow[attributeIndex] = leftExample.getValue(attributeSource.getAttribute());
+				leftAttributes.add(attribute);
+				// since keys attributes are always taken from left example set, the value for examples only
+				// occurring in the right example set must be fetched from the right key attribute explicitly
+				for (int i = 0; i < leftKeyAttributes.length; ++i) {
+					if (attribute == leftKeyAttributes[i]) {
+						boolean sameName = attribute.getName().equals(rightKeyAttributes[i].getName());
+						if (!keepBoth || removeDoubleAttributes && sameName) {
+							rightOnlyAttributes[index] = rightKeyAttributes[i];
+							rightAttributes.add(rightKeyAttributes[i]);
+						}
+						break;
+					}
+				}
 			} else if (attributeSource.getSource() == AttributeSource.SECOND_SOURCE) {
-				unionDataRow[attributeIndex] = Double.NaN;
+				rightAttributes.add(attribute);
 			}
-			attributeIndex++;
+			index++;
 		}
-		builder.addRow(unionDataRow);
-	}
+		Map<Attribute, double[]> leftColumns = readColumns(leftExampleSet, leftAttributes);
+		Map<Attribute, double[]> rightColumns = readColumns(rightExampleSet, rightAttributes);
 
-	/**
-	 * Creates an example and adds it to unionTable. The example contains all attributes from
-	 * rightExample, which are also in originalAttributeSources, and NaN for all attributes which
-	 * should normally be taken from a left example. Exception: if key attributes would be taken
-	 * from left example and only one id attribute is kept, instead of NaN the value of the
-	 * corresponding attribute in rightExample is taken.
-	 */
-	private void addRightOnlyOccurence(List<AttributeSource> originalAttributeSources, List<Attribute> unionAttributeList,
-			ExampleSetBuilder builder, Example rightExample, Attribute[] leftKeyAttributes, Attribute[] rightKeyAttributes,
-			boolean keepBoth, boolean removeDoubleAttributes) {
-		double[] unionDataRow = new double[unionAttributeList.size()];
-		int attributeIndex = 0;
+		ExampleSetBuilder builder = ExampleSets.from(unionAttributeList).withBlankSize(join.size());
 		Iterator<Attribute> unionIterator = unionAttributeList.iterator();
+		index = 0;
 		for (AttributeSource attributeSource : originalAttributeSources) {
 			Attribute unionAttribute = unionIterator.next();
 			if (attributeSource.getSource() == AttributeSource.FIRST_SOURCE) {
-				// since keys attributes are always taken from left example set, ID value must be
-				// fetched
-				// from right example set explicitly
-
-				// find key id
-				int id = -1;
-				for (int i = 0; i < leftKeyAttributes.length; ++i) {
-					if (attributeSource.getAttribute() == leftKeyAttributes[i]) {
-						id = i;
-						break;
-					}
-				}
-
-				// now use correct key attribute
-				if (id >= 0) {
-					boolean sameName = leftKeyAttributes[id].getName().equals(rightKeyAttributes[id].getName());
-					if (keepBoth && !(removeDoubleAttributes && sameName)) {
-						unionDataRow[attributeIndex] = Double.NaN;
-					} else {
-						if (leftKeyAttributes[id].isNominal()) {
-							// consider different mapping in left and right attribute
-							Attribute rightAttribute = rightKeyAttributes[id];
-							int rightIndex = (int) rightExample.getValue(rightAttribute);
-							String valueAsString = rightAttribute.getMapping().mapIndex(rightIndex);
-							int leftIndex = unionAttribute.getMapping().mapString(valueAsString);
-							unionDataRow[attributeIndex] = leftIndex;
-						} else {
-							unionDataRow[attributeIndex] = rightExample.getValue(rightKeyAttributes[id]);
-						}
+				double[] leftColumn = leftColumns.get(sourceAttributes[index]);
+				IntToDoubleFunction rightOnlyValue = getRightOnlyValue(rightOnlyAttributes[index],
+						rightColumns.get(rightOnlyAttributes[index]), unionAttribute);
+				builder.withColumnFiller(unionAttribute, i -> {
+					int leftRow = join.getLeftRow(i);
+					if (leftRow == ExampleSetHashJoin.NO_ROW) {
+						return rightOnlyValue.applyAsDouble(join.getRightRow(i));
 					}
-				} else {
-					unionDataRow[attributeIndex] = Double.NaN;
-				}
+					return leftColumn[leftRow];
+				});
 			} else if (attributeSource.getSource() == AttributeSource.SECOND_SOURCE) {
-				unionDataRow[attributeIndex] = rightExample.getValue(attributeSource.getAttribute());
+				double[] rightColumn = rightColumns.get(sourceAttributes[index]);
+				builder.withColumnFiller(unionAttribute, i -> {
+					int rightRow = join.getRightRow(i);
+					return rightRow == ExampleSetHashJoin.NO_ROW ? Double.NaN : rightColumn[rightRow];
+				});
 			}
-			attributeIndex++;
+			index++;
 		}
-		builder.addRow(unionDataRow);
+		return builder;
 	}
 
 	/**
-	 * Maps all values of the keyAttributes which occur in exampleSet to a list of matching
-	 * examples.
+	 * Reads the values of the given attributes in a single pass over the example set.
 	 *
-	 * @param exampleSet
-	 *            The example set for whose key attributes the mapping is created
-	 * @param keyAttributes
-	 *            the attributes which resemble the key attributes
-	 * @param matchKeyAttributes
-	 *            if not null, the values of nominal keyAttributes are mapped to match the mapping
-	 *            of these attributes prior to adding them to the map
-	 * @return
+	 * @return the values of every attribute by attribute
 	 */
-	private Map<DoubleArrayWrapper, List<Example>> createKeyMapping(ExampleSet exampleSet, Attribute[] keyAttributes,
-			Attribute[] matchKeyAttributes) {
-		Map<DoubleArrayWrapper, List<Example>> keyMapping = new HashMap<>();
-
-		assert keyAttributes.length == matchKeyAttributes.length;
-
-		// create mapping from nominal values of keyAttributes to matchKeyAttributes
-		Map<Attribute, Map<Double, Double>> valueMapping = null;
-		if (matchKeyAttributes != null) {
-			valueMapping = new HashMap<>();
-			for (int attributeNumber = 0; attributeNumber < keyAttributes.length; ++attributeNumber) {
-				if (keyAttributes[attributeNumber].isNominal()) {
-					Map<Double, Double> valueMap = new HashMap<>();
-					// TODO: iterate over getMappint().values() rather than relying on the
-					// assumption that values appear in increasing order
-					for (int valueNumber = 0; valueNumber < keyAttributes[attributeNumber].getMapping()
-							.size(); ++valueNumber) {
-						String valueString = keyAttributes[attributeNumber].getMapping().mapIndex(valueNumber);
-						valueMap.put((double) valueNumber,
-								(double) matchKeyAttributes[attributeNumber].getMapping().mapString(valueString));
-					}
-					valueMapping.put(keyAttributes[attributeNumber], valueMap);
-				}
-			}
+	private static Map<Attribute, double[]> readColumns(ExampleSet exampleSet, List<Attribute> attributes) {
+		Map<Attribute, double[]> columns = new IdentityHashMap<>();
+		for (Attribute attribute : attributes) {
+			columns.put(attribute, new double[exampleSet.size()]);
 		}
-
-		double[] keyValues;
-
+		if (columns.isEmpty()) {
+			return columns;
+		}
+		Attribute[] readAttributes = columns.keySet().toArray(new Attribute[columns.size()]);
+		double[][] readColumns = new double[readAttributes.length][];
+		for (int i = 0; i < readAttributes.length; i++) {
+			readColumns[i] = columns.get(readAttributes[i]);
+		}
+		int row = 0;
 		for (Example example : exampleSet) {
-			boolean continueIteration = false;
-			// fetch key values from example
-			keyValues = getKeyValues(example, keyAttributes);
-			if (valueMapping != null) {
-				// remap keyValues to match values of other attributes:
-				for (int i = 0; i < keyValues.length; ++i) {
-					if (Double.isNaN(keyValues[i])) {
-						continueIteration = true;
-						break;
-					}
-					if (keyAttributes[i].isNominal()) {
-						keyValues[i] = valueMapping.get(keyAttributes[i]).get(keyValues[i]);
-					}
-				}
-				if (continueIteration) {
-					continue;
-				}
-
-			}
-
-			// check if this key is in keyMapping. If not, add:
-			List<Example> keyExamples = keyMapping.get(new DoubleArrayWrapper(keyValues));
-			if (keyExamples != null) {
-				// add current example:
-				keyExamples.add(example);
-			} else {
-				// create set and add to keyMapping:
-				keyExamples = new LinkedList<>();
-				keyExamples.add(example);
-				keyMapping.put(new DoubleArrayWrapper(keyValues), keyExamples);
+			for (int i = 0; i < readAttributes.length; i++) {
+				readColumns[i][row] = example.getValue(readAttributes[i]);
 			}
+			row++;
 		}
-		;
-		return keyMapping;
+		return columns;
 	}
 
 	/**
-	 * Gets examples from secondExampleSet which match the values of the keyAttributes from
-	 * firstExample. If PARAMETER_USE_ID_FOR_JOIN is true, the standard id-mapping of example sets
-	 * is used. If not, secondKeyMapping is used (@see createKeyMapping())
-	 *
+	 * Returns the value of the union attribute for the given row of the right example set if the left example is
+	 * missing. This is the value of the right key attribute, if any. Nominal values are mapped to the union attribute,
+	 * which is done in row order as the column is filled.
 	 */
-	private List<Example> getMatchingExamples(ExampleSet firstExampleSet, ExampleSet secondExampleSet,
-			Attribute[] firstKeyAttributes, Map<DoubleArrayWrapper, List<Example>> secondKeyMapping, boolean useId,
-			Example referenceExample) {
-		// find right examples matching current left example:
-		List<Example> matchingExamples = null;
-		if (useId) {
-			// use existent id mapping of right example set
-			Attribute firstIdAttribute = firstExampleSet.getAttributes().getId();
-			Attribute secondIdAttribute = secondExampleSet.getAttributes().getId();
-			double firstIdValue = referenceExample.getValue(firstIdAttribute);
-			// firstIdValue is NaN if the first value in the id column is a missing value
-			if (Double.isNaN(firstIdValue)) {
-				return null;
-			}
-			int[] matchingExampleIndices = null;
-			if (firstIdAttribute.isNominal()) {
-				matchingExampleIndices = secondExampleSet.getExampleIndicesFromId(
-						secondIdAttribute.getMapping().getIndex(firstIdAttribute.getMapping().mapIndex((int) firstIdValue)));
-			} else {
-				matchingExampleIndices = secondExampleSet.getExampleIndicesFromId(firstIdValue);
+	private IntToDoubleFunction getRightOnlyValue(Attribute rightKeyAttribute, double[] rightKeyColumn,
+			Attribute unionAttribute) {
+		if (rightKeyAttribute == null) {
+			return rightRow -> Double.NaN;
+		}
+		if (!rightKeyAttribute.isNominal()) {
+			return rightRow -> rightKeyColumn[rightRow];
+		}
+		// consider different mapping in left and right attribute
+		NominalMapping rightMapping = rightKeyAttribute.getMapping();
+		NominalMapping unionMapping = unionAttribute.getMapping();
+		int[] unionIndices = new int[rightMapping.size()];
+		Arrays.fill(unionIndices, -1);
+		return rightRow -> {
+			double rightValue = rightKeyColumn[rightRow];
+			if (Double.isNaN(rightValue)) {
+				return Double.NaN;
 			}
-			if (matchingExampleIndices != null) {
-				matchingExamples = new LinkedList<>();
-				for (int secondExampleIndex : matchingExampleIndices) {
-					Example matchingExample = secondExampleSet.getExample(secondExampleIndex);
-					matchingExamples.add(matchingExample);
-				}
+			int rightIndex = (int) rightValue;
+			if (unionIndices[rightIndex] < 0) {
+				unionIndices[rightIndex] = unionMapping.mapString(rightMapping.mapIndex(rightIndex));
 			}
-		} else {
-			// use previously created mapping
-			double[] leftKeyValues = getKeyValues(referenceExample, firstKeyAttributes);
-			matchingExamples = secondKeyMapping.get(new DoubleArrayWrapper(leftKeyValues));
-		}
-		return matchingExamples;
-	}
-
-	/**
-	 * Returns an array of doubles, which contains the values of the keyAttributes of example.
-	 */
-	private double[] getKeyValues(Example example, Attribute[] keyAttributes) {
-		int numKeys = keyAttributes.length;
-		double[] keyValues = new double[numKeys];
-		for (int i = 0; i < numKeys; ++i) {
-			keyValues[i] = example.getValue(keyAttributes[i]);
-		}
-		return keyValues;
+			return unionIndices[rightIndex];
+		};
 	}
 
 	/**
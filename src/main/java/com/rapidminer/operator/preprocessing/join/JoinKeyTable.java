@@ -0,0 +1,141 @@
+/**
+ * Copyright (C) 2001-2020 by RapidMiner and the contributors
+ * 
+ * Complete list of developers available at our web site:
+ * 
+ * http://rapidminer.com
+ * 
+ * This program is free software: you can redistribute it and/or modify it under the terms of the
+ * GNU Affero General Public License as published by the Free Software Foundation, either version 3
+ * of the License, or (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without
+ * even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Affero General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Affero General Public License along with this program.
+ * If not, see http://www.gnu.org/licenses/.
+*/
+package com.rapidminer.operator.preprocessing.join;
+
+import java.util.Arrays;
+
+import com.rapidminer.tools.container.CompositeKeyTable;
+
+
+/**
+ * Maps the composite keys of the rows of one side of a join to the rows having that key. The keys are stored in a
+ * {@link CompositeKeyTable} and the rows sharing a key are chained by their row indices, so neither the keys nor the
+ * rows need to be boxed.
+ * <p>
+ * Rows with a missing key value never match and are not part of any key.
+ *
+ * @since 9.7
+ */
+final class JoinKeyTable {
+
+	/** marks the end of a row chain or the absence of a row */
+	static final int NO_ROW = -1;
+
+	/** marks the absence of a key */
+	static final int NO_KEY = CompositeKeyTable.NO_KEY;
+
+	private final CompositeKeyTable keys;
+
+	/** the first row per key */
+	private int[] firstRows = new int[32];
+
+	/** the next row with the same key per row, {@link #NO_ROW} at the end of the chain */
+	private final int[] nextRows;
+
+	/** the key per row, {@link #NO_KEY} for rows with missing key values */
+	private final int[] rowKeys;
+
+	/**
+	 * Creates the table for the given key columns.
+	 *
+	 * @param keyColumns
+	 *            the values of the key attributes, one array of length {@code rows} per key attribute
+	 * @param rows
+	 *            the number of rows
+	 */
+	JoinKeyTable(double[][] keyColumns, int rows) {
+		this.keys = new CompositeKeyTable(keyColumns.length);
+		this.nextRows = new int[rows];
+		this.rowKeys = new int[rows];
+
+		double[] key = new double[keyColumns.length];
+		// rows are prepended to the chains, so iterating backwards keeps the chains in ascending row order
+		for (int row = rows - 1; row >= 0; row--) {
+			if (!readKey(keyColumns, row, key)) {
+				nextRows[row] = NO_ROW;
+				rowKeys[row] = NO_KEY;
+				continue;
+			}
+			int size = keys.size();
+			int keyIndex = keys.getOrAdd(key);
+			if (keyIndex == size) {
+				if (keyIndex == firstRows.length) {
+					firstRows = Arrays.copyOf(firstRows, keyIndex * 2);
+				}
+				firstRows[keyIndex] = NO_ROW;
+			}
+			nextRows[row] = firstRows[keyIndex];
+			firstRows[keyIndex] = row;
+			rowKeys[row] = keyIndex;
+		}
+	}
+
+	/**
+	 * Reads the key of the given row into the buffer.
+	 *
+	 * @return {@code false} if the key has missing values and thus cannot match
+	 */
+	static boolean readKey(double[][] keyColumns, int row, double[] buffer) {
+		for (int i = 0; i < buffer.length; i++) {
+			double value = keyColumns[i][row];
+			if (Double.isNaN(value)) {
+				return false;
+			}
+			buffer[i] = value;
+		}
+		return true;
+	}
+
+	/**
+	 * @return the number of distinct keys
+	 */
+	int size() {
+		return keys.size();
+	}
+
+	/**
+	 * Returns the index of the given key.
+	 *
+	 * @return the key index or {@link #NO_KEY} if no row has this key
+	 */
+	int find(double[] key) {
+		return keys.find(key);
+	}
+
+	/**
+	 * @return the smallest row with the given key
+	 */
+	int getFirstRow(int keyIndex) {
+		return firstRows[keyIndex];
+	}
+
+	/**
+	 * @return the next larger row with the same key as the given row or {@link #NO_ROW}
+	 */
+	int getNextRow(int row) {
+		return nextRows[row];
+	}
+
+	/**
+	 * @return the key of the given row or {@link #NO_KEY} if the row has missing key values
+	 */
+	int getKey(int row) {
+		return rowKeys[row];
+	}
+}
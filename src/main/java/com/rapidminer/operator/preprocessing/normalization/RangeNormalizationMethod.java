@@ -21,6 +21,7 @@ package com.rapidminer.operator.preprocessing.normalization;
 import com.rapidminer.example.Attribute;
 import com.rapidminer.example.ExampleSet;
 import com.rapidminer.example.Statistics;
+import com.rapidminer.example.utils.ExampleSets;
 import com.rapidminer.operator.Operator;
 import com.rapidminer.operator.UserError;
 import com.rapidminer.operator.ports.InputPort;
@@ -76,7 +77,7 @@ public class RangeNormalizationMethod extends AbstractNormalizationMethod {
 
 		// calculating attribute ranges
 		HashMap<String, Tupel<Double, Double>> attributeRanges = new HashMap<String, Tupel<Double, Double>>();
-		exampleSet.recalculateAllAttributeStatistics();
+		ExampleSets.recalculateAllAttributeStatistics(exampleSet, operator);
 		for (Attribute attribute : exampleSet.getAttributes()) {
 			if (attribute.isNumerical()) {
 				double minA = exampleSet.getStatistics(attribute, Statistics.MINIMUM);
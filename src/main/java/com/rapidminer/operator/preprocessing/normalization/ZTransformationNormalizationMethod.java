@@ -21,6 +21,7 @@ package com.rapidminer.operator.preprocessing.normalization;
 import com.rapidminer.example.Attribute;
 import com.rapidminer.example.ExampleSet;
 import com.rapidminer.example.Statistics;
+import com.rapidminer.example.utils.ExampleSets;
 import com.rapidminer.operator.Operator;
 import com.rapidminer.operator.UserError;
 import com.rapidminer.operator.ports.InputPort;
@@ -56,7 +57,7 @@ public class ZTransformationNormalizationMethod extends AbstractNormalizationMet
 	@Override
 	public AbstractNormalizationModel getNormalizationModel(ExampleSet exampleSet, Operator operator) throws UserError {
 		// Z-Transformation
-		exampleSet.recalculateAllAttributeStatistics();
+		ExampleSets.recalculateAllAttributeStatistics(exampleSet, operator);
 		HashMap<String, Tupel<Double, Double>> attributeMeanVarianceMap = new HashMap<String, Tupel<Double, Double>>();
 		for (Attribute attribute : exampleSet.getAttributes()) {
 			if (attribute.isNumerical()) {
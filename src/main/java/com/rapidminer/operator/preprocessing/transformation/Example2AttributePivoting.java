@@ -50,6 +50,7 @@ import com.rapidminer.parameter.ParameterTypeBoolean;
 import com.rapidminer.parameter.ParameterTypeCategory;
 import com.rapidminer.parameter.UndefinedParameterError;
 import com.rapidminer.parameter.conditions.BooleanParameterCondition;
+import com.rapidminer.studio.internal.Resources;
 import com.rapidminer.tools.Ontology;
 import com.rapidminer.tools.OperatorResourceConsumptionHandler;
 import com.rapidminer.tools.ParameterService;
@@ -187,9 +188,10 @@ public class Example2AttributePivoting extends ExampleSetTransformationOperator
 
 		Attribute weightAttribute = sourceExampleSet.getAttributes().getWeight();
 
-		SortedExampleSet exampleSet = new SortedExampleSet(
-				new SortedExampleSet(sourceExampleSet, indexAttribute, SortedExampleSet.INCREASING), groupAttribute,
-				SortedExampleSet.INCREASING);
+		SortedExampleSet exampleSet = new SortedExampleSet(sourceExampleSet,
+				new Attribute[] { groupAttribute, indexAttribute },
+				new int[] { SortedExampleSet.INCREASING, SortedExampleSet.INCREASING },
+				Resources.getConcurrencyContext(this), null);
 		// identify static or dynamic attributes and record index values
 		List<String> indexValues = new Vector<>();
 		Attribute[] attributes = exampleSet.getAttributes().createRegularAttributeArray();
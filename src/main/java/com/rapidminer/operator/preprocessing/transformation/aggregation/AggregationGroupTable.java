@@ -0,0 +1,243 @@
+/**
+ * Copyright (C) 2001-2020 by RapidMiner and the contributors
+ * 
+ * Complete list of developers available at our web site:
+ * 
+ * http://rapidminer.com
+ * 
+ * This program is free software: you can redistribute it and/or modify it under the terms of the
+ * GNU Affero General Public License as published by the Free Software Foundation, either version 3
+ * of the License, or (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without
+ * even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Affero General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Affero General Public License along with this program.
+ * If not, see http://www.gnu.org/licenses/.
+*/
+package com.rapidminer.operator.preprocessing.transformation.aggregation;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import com.rapidminer.example.Attribute;
+import com.rapidminer.example.Example;
+import com.rapidminer.example.table.NumericalAttribute;
+import com.rapidminer.operator.preprocessing.transformation.aggregation.AggregationOperator.AggregationTreeNode;
+import com.rapidminer.operator.preprocessing.transformation.aggregation.AggregationOperator.LeafAggregationTreeNode;
+import com.rapidminer.tools.container.CompositeKeyTable;
+
+
+/**
+ * Groups examples by the values of the group attributes and aggregates them. The composite keys of the groups are
+ * stored in a {@link CompositeKeyTable}, so that finding the group of an example requires neither boxing nor tree
+ * traversals. The basic aggregation functions are counted by {@link ColumnAggregator}s; all other functions
+ * fall back to one {@link Aggregator} per group.
+ * <p>
+ * The groups are stored in the order of their first occurrence. The order of the result is established only once by
+ * {@link #addTo(AggregationTreeNode)}.
+ *
+ * @since 9.7
+ */
+final class AggregationGroupTable {
+
+	private final Attribute[] groupAttributes;
+	private final int width;
+
+	/** the key used for a missing value per group attribute */
+	private final double[] missingKeys;
+
+	private final List<AggregationFunction> functions;
+	private final Attribute[] sourceAttributes;
+	private final ColumnAggregator[] columnAggregators;
+	private final boolean hasFallbackFunctions;
+
+	/** the fallback aggregators of the groups, {@code null} for functions counted by column aggregators */
+	private final List<Aggregator[]> aggregators = new ArrayList<>();
+
+	/** the keys of all groups, the key index is the group index */
+	private final CompositeKeyTable keys;
+
+	private final double[] keyBuffer;
+
+	/**
+	 * Creates a new empty table.
+	 *
+	 * @param groupAttributes
+	 *            the attributes defining the groups, might be empty
+	 * @param functions
+	 *            the aggregation functions to count
+	 */
+	AggregationGroupTable(Attribute[] groupAttributes, List<AggregationFunction> functions) {
+		this.groupAttributes = groupAttributes;
+		this.width = groupAttributes.length;
+		this.missingKeys = new double[width];
+		for (int i = 0; i < width; i++) {
+			missingKeys[i] = Double.NaN;
+			if (groupAttributes[i].isNominal()) {
+				// a missing value and the nominal value "?" form the same group
+				int index = groupAttributes[i].getMapping().getIndex(Attribute.MISSING_NOMINAL_VALUE);
+				if (index >= 0) {
+					missingKeys[i] = index;
+				}
+			}
+		}
+		this.functions = functions;
+		this.sourceAttributes = new Attribute[functions.size()];
+		this.columnAggregators = new ColumnAggregator[functions.size()];
+		boolean fallback = false;
+		int i = 0;
+		for (AggregationFunction function : functions) {
+			sourceAttributes[i] = function.getSourceAttribute();
+			columnAggregators[i] = ColumnAggregator.create(function);
+			fallback |= columnAggregators[i] == null;
+			i++;
+		}
+		this.hasFallbackFunctions = fallback;
+		this.keys = new CompositeKeyTable(width);
+		this.keyBuffer = new double[width];
+	}
+
+	/**
+	 * Counts the given example for all aggregation functions.
+	 */
+	void count(Example example) {
+		int group = getOrCreateGroup(example);
+		for (int i = 0; i < columnAggregators.length; i++) {
+			ColumnAggregator columnAggregator = columnAggregators[i];
+			if (columnAggregator != null) {
+				columnAggregator.count(group, example.getValue(sourceAttributes[i]));
+			} else {
+				aggregators.get(group)[i].count(example);
+			}
+		}
+	}
+
+	/**
+	 * Counts the given example with the given weight for all aggregation functions.
+	 */
+	void count(Example example, double weight) {
+		int group = getOrCreateGroup(example);
+		for (int i = 0; i < columnAggregators.length; i++) {
+			ColumnAggregator columnAggregator = columnAggregators[i];
+			if (columnAggregator != null) {
+				columnAggregator.count(group, example.getValue(sourceAttributes[i]), weight);
+			} else {
+				aggregators.get(group)[i].count(example, weight);
+			}
+		}
+	}
+
+	/**
+	 * Returns whether tables of this kind can be {@link #merge(AggregationGroupTable) merged}. This is the case if
+	 * all functions are counted by {@link ColumnAggregator}s.
+	 */
+	boolean isMergeable() {
+		return !hasFallbackFunctions;
+	}
+
+	/**
+	 * Merges the groups of the other table into this table. Both tables must have been created for the same
+	 * attributes and functions, and the other table must have counted examples located after the ones counted by
+	 * this table.
+	 *
+	 * @throws IllegalStateException
+	 *             if the tables are not {@link #isMergeable() mergeable}
+	 */
+	void merge(AggregationGroupTable other) {
+		if (!isMergeable() || !other.isMergeable()) {
+			throw new IllegalStateException("Only tables without fallback aggregators can be merged");
+		}
+		for (int otherGroup = 0; otherGroup < other.size(); otherGroup++) {
+			other.keys.copyKey(otherGroup, keyBuffer);
+			int group = getOrCreateGroup(keyBuffer, other.keys.getHash(otherGroup));
+			for (int i = 0; i < columnAggregators.length; i++) {
+				columnAggregators[i].merge(group, other.columnAggregators[i], otherGroup);
+			}
+		}
+	}
+
+	/**
+	 * @return the number of groups
+	 */
+	int size() {
+		return keys.size();
+	}
+
+	/**
+	 * Creates a leaf holding the aggregators of the given group.
+	 */
+	LeafAggregationTreeNode getLeaf(int group) {
+		Aggregator[] leafAggregators = hasFallbackFunctions ? aggregators.get(group).clone()
+				: new Aggregator[columnAggregators.length];
+		for (int i = 0; i < columnAggregators.length; i++) {
+			if (columnAggregators[i] != null) {
+				leafAggregators[i] = columnAggregators[i].getAggregator(group);
+			}
+		}
+		return new LeafAggregationTreeNode(leafAggregators);
+	}
+
+	/**
+	 * Adds the leaves of all groups to the given tree, which sorts the groups the same way as when counting the
+	 * examples directly into the tree. Nominal group values are added by their string value, numerical values as
+	 * {@link Double}. The table must have at least one group attribute.
+	 */
+	void addTo(AggregationTreeNode root) {
+		for (int group = 0; group < size(); group++) {
+			AggregationTreeNode node = root;
+			for (int i = 0; i < width - 1; i++) {
+				node = node.getOrCreateChild(getKeyValue(group, i));
+			}
+			node.putLeaf(getKeyValue(group, width - 1), getLeaf(group));
+		}
+	}
+
+	/**
+	 * Returns the value of the given group attribute as used by the tree.
+	 */
+	private Object getKeyValue(int group, int attributeIndex) {
+		double key = keys.getValue(group, attributeIndex);
+		Attribute attribute = groupAttributes[attributeIndex];
+		if (attribute.isNominal()) {
+			return attribute.getAsString(key, NumericalAttribute.UNLIMITED_NUMBER_OF_DIGITS, false);
+		}
+		return key;
+	}
+
+	private int getOrCreateGroup(Example example) {
+		for (int i = 0; i < width; i++) {
+			double value = example.getValue(groupAttributes[i]);
+			keyBuffer[i] = Double.isNaN(value) ? missingKeys[i] : value;
+		}
+		return getOrCreateGroup(keyBuffer, CompositeKeyTable.hash(keyBuffer));
+	}
+
+	private int getOrCreateGroup(double[] key, int hash) {
+		int size = keys.size();
+		int group = keys.getOrAdd(key, hash);
+		if (group < size) {
+			return group;
+		}
+
+		// new group
+		for (ColumnAggregator columnAggregator : columnAggregators) {
+			if (columnAggregator != null) {
+				columnAggregator.ensureCapacity(group + 1);
+			}
+		}
+		if (hasFallbackFunctions) {
+			Aggregator[] groupAggregators = new Aggregator[columnAggregators.length];
+			int i = 0;
+			for (AggregationFunction function : functions) {
+				if (columnAggregators[i] == null) {
+					groupAggregators[i] = function.createAggregator();
+				}
+				i++;
+			}
+			aggregators.add(groupAggregators);
+		}
+		return group;
+	}
+}
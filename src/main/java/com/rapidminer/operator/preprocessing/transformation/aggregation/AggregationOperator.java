@@ -19,6 +19,7 @@
 package com.rapidminer.operator.preprocessing.transformation.aggregation;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashSet;
@@ -29,12 +30,15 @@ import java.util.Map.Entry;
 import java.util.Set;
 import java.util.TreeMap;
 import java.util.TreeSet;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
 import java.util.regex.Pattern;
 import java.util.regex.PatternSyntaxException;
 
 import org.apache.commons.lang.ArrayUtils;
 import org.apache.commons.lang.StringUtils;
 
+import com.rapidminer.core.concurrency.ConcurrencyContext;
 import com.rapidminer.example.Attribute;
 import com.rapidminer.example.AttributeRole;
 import com.rapidminer.example.Attributes;
@@ -52,6 +56,7 @@ import com.rapidminer.operator.OperatorVersion;
 import com.rapidminer.operator.ProcessSetupError.Severity;
 import com.rapidminer.operator.UserError;
 import com.rapidminer.operator.annotation.ResourceConsumptionEstimator;
+import com.rapidminer.operator.concurrency.internal.ConcurrencyTools;
 import com.rapidminer.operator.ports.metadata.AttributeMetaData;
 import com.rapidminer.operator.ports.metadata.ExampleSetMetaData;
 import com.rapidminer.operator.ports.metadata.MDInteger;
@@ -72,6 +77,7 @@ import com.rapidminer.parameter.ParameterTypeList;
 import com.rapidminer.parameter.ParameterTypeStringCategory;
 import com.rapidminer.parameter.UndefinedParameterError;
 import com.rapidminer.parameter.conditions.BooleanParameterCondition;
+import com.rapidminer.studio.internal.Resources;
 import com.rapidminer.tools.Ontology;
 import com.rapidminer.tools.OperatorResourceConsumptionHandler;
 import com.rapidminer.tools.OperatorService;
@@ -141,6 +147,18 @@ public class AggregationOperator extends AbstractDataProcessing {
 			return leafNode;
 		}
 
+		/**
+		 * Sets the leaf for the given value, replacing any existing leaf.
+		 *
+		 * @since 9.7
+		 */
+		void putLeaf(Object value, LeafAggregationTreeNode leafNode) {
+			if (leafMap == null) {
+				leafMap = new TreeMap<>();
+			}
+			leafMap.put(value, leafNode);
+		}
+
 		public LeafAggregationTreeNode getLeaf(Object value) {
 			if (leafMap != null) {
 				return leafMap.get(value);
@@ -179,6 +197,15 @@ public class AggregationOperator extends AbstractDataProcessing {
 			}
 		}
 
+		/**
+		 * Creates a new {@link LeafAggregationTreeNode} for already counted {@link Aggregator}s.
+		 *
+		 * @since 9.7
+		 */
+		LeafAggregationTreeNode(Aggregator[] aggregators) {
+			this.aggregators = Arrays.asList(aggregators);
+		}
+
 		/**
 		 * This will count the given examples for all registered {@link Aggregator}s.
 		 */
@@ -247,6 +274,18 @@ public class AggregationOperator extends AbstractDataProcessing {
 	 */
 	static final OperatorVersion VERSION_8_2_0 = new OperatorVersion(8, 2, 0);
 
+	/**
+	 * After version 9.6.0, large example sets are pre-aggregated concurrently if all aggregation functions support it.
+	 * The sums of the partitions are added up in a different order, so results might differ in the last digits.
+	 */
+	static final OperatorVersion VERSION_9_6_0 = new OperatorVersion(9, 6, 0);
+
+	/** Minimal number of examples to pre-aggregate partitions of the example set concurrently */
+	private static final int MINIMUM_EXAMPLES_FOR_CONCURRENT_AGGREGATION = 100_000;
+
+	/** Number of rows between checking for stop */
+	private static final int CHECK_FOR_STOP_INTERVAL = 1000;
+
 	private final AttributeSubsetSelector attributeSelector = new AttributeSubsetSelector(this, getExampleSetInputPort());
 
 	public AggregationOperator(OperatorDescription desc) {
@@ -412,44 +451,40 @@ public class AggregationOperator extends AbstractDataProcessing {
 		boolean useWeights = weightAttribute != null;
 
 		// running over exampleSet and aggregate data of each example
-		AggregationTreeNode rootNode = new AggregationTreeNode();
-		LeafAggregationTreeNode leafNode = null;
-		if (groupAttributes.length == 0) {
-			// if no grouping, we will directly insert into leaf node
-			leafNode = new LeafAggregationTreeNode(aggregationFunctions);
-		}
-		for (Example example : exampleSet) {
-			if (groupAttributes.length > 0) {
-				AggregationTreeNode currentNode = rootNode;
-				// now traversing aggregation tree for m-1 group attributes
-				for (int i = 0; i < groupAttributes.length - 1; i++) {
-					Attribute currentAttribute = groupAttributes[i];
-					if (currentAttribute.isNominal()) {
-						currentNode = currentNode.getOrCreateChild(example.getValueAsString(currentAttribute));
-					} else {
-						currentNode = currentNode.getOrCreateChild(example.getValue(currentAttribute));
-					}
+		AggregationGroupTable groupTable = new AggregationGroupTable(groupAttributes, aggregationFunctions);
+		ConcurrencyContext context = Resources.getConcurrencyContext(this);
+		if (groupTable.isMergeable() && getCompatibilityLevel().isAbove(VERSION_9_6_0) && context.getParallelism() > 1
+				&& exampleSet.size() >= MINIMUM_EXAMPLES_FOR_CONCURRENT_AGGREGATION
+				&& ExampleSets.isThreadSafe(exampleSet)) {
+			aggregateConcurrently(exampleSet, groupTable, groupAttributes, aggregationFunctions, weightAttribute, context);
+			getProgress().setCompleted(exampleSet.size());
+		} else {
+			for (Example example : exampleSet) {
+				// now count current example
+				if (!useWeights) {
+					groupTable.count(example);
+				} else {
+					groupTable.count(example, example.getValue(weightAttribute));
 				}
 
-				// now we have to get the leaf node containing the aggregators
-				Attribute currentAttribute = groupAttributes[groupAttributes.length - 1];
-				if (currentAttribute.isNominal()) {
-					leafNode = currentNode.getOrCreateLeaf(example.getValueAsString(currentAttribute), aggregationFunctions);
-				} else {
-					leafNode = currentNode.getOrCreateLeaf(example.getValue(currentAttribute), aggregationFunctions);
+				// Trigger operator progress
+				if (++progressCounter % 25 == 0) {
+					getProgress().setCompleted(progressCounter);
 				}
 			}
-			// now count current example
-			if (!useWeights) {
-				leafNode.count(example);
-			} else {
-				leafNode.count(example, example.getValue(weightAttribute));
-			}
+		}
 
-			// Trigger operator progress
-			if (++progressCounter % 25 == 0) {
-				getProgress().setCompleted(progressCounter);
-			}
+		// sorting the groups by inserting them into the aggregation tree
+		AggregationTreeNode rootNode = new AggregationTreeNode();
+		LeafAggregationTreeNode leafNode;
+		if (groupAttributes.length > 0) {
+			groupTable.addTo(rootNode);
+			leafNode = null;
+		} else if (groupTable.size() > 0) {
+			// if no grouping, all examples are counted into a single group
+			leafNode = groupTable.getLeaf(0);
+		} else {
+			leafNode = new LeafAggregationTreeNode(aggregationFunctions);
 		}
 
 		// now derive new example set from aggregated values
@@ -577,6 +612,54 @@ public class AggregationOperator extends AbstractDataProcessing {
 		return resultSet;
 	}
 
+	/**
+	 * Counts the examples in partitions of consecutive examples concurrently. The example set must be
+	 * {@link ExampleSets#isThreadSafe(ExampleSet) thread-safe}. Every partition is counted into its own
+	 * {@link AggregationGroupTable}, which are then merged into the given table in the order of the partitions.
+	 */
+	private void aggregateConcurrently(final ExampleSet exampleSet, AggregationGroupTable groupTable,
+			final Attribute[] groupAttributes, final List<AggregationFunction> aggregationFunctions,
+			final Attribute weightAttribute, final ConcurrencyContext context) throws OperatorException {
+		int numberOfExamples = exampleSet.size();
+		int numberOfPartitions = context.getParallelism();
+		List<Callable<AggregationGroupTable>> tasks = new ArrayList<>(numberOfPartitions);
+		for (int partition = 0; partition < numberOfPartitions; partition++) {
+			final int startRow = (int) ((long) numberOfExamples * partition / numberOfPartitions);
+			final int endRow = (int) ((long) numberOfExamples * (partition + 1) / numberOfPartitions);
+			final AggregationGroupTable partitionTable = partition == 0 ? groupTable
+					: new AggregationGroupTable(groupAttributes, aggregationFunctions);
+			tasks.add(new Callable<AggregationGroupTable>() {
+
+				@Override
+				public AggregationGroupTable call() {
+					for (int row = startRow; row < endRow; row++) {
+						if ((row - startRow) % CHECK_FOR_STOP_INTERVAL == 0) {
+							context.checkStatus();
+						}
+						Example example = exampleSet.getExample(row);
+						if (weightAttribute == null) {
+							partitionTable.count(example);
+						} else {
+							partitionTable.count(example, example.getValue(weightAttribute));
+						}
+					}
+					return partitionTable;
+				}
+			});
+		}
+
+		List<AggregationGroupTable> partitionTables;
+		try {
+			partitionTables = context.call(tasks);
+		} catch (ExecutionException e) {
+			throw ConcurrencyTools.unwrap(e);
+		}
+		for (int partition = 1; partition < partitionTables.size(); partition++) {
+			checkForStop();
+			groupTable.merge(partitionTables.get(partition));
+		}
+	}
+
 	private void parseLeaf(LeafAggregationTreeNode node, double[] dataOfUpperLevels, List<double[]> allGroupCombinations,
 						   List<List<Aggregator>> allAggregators, DataRowFactory factory, Attribute[] newAttributes,
 						   List<AggregationFunction> aggregationFunctions) {
@@ -777,7 +860,7 @@ public class AggregationOperator extends AbstractDataProcessing {
 	@Override
 	public OperatorVersion[] getIncompatibleVersionChanges() {
 		return (OperatorVersion[]) ArrayUtils.addAll(super.getIncompatibleVersionChanges(),
-				new OperatorVersion[]{VERSION_5_1_6, VERSION_5_2_8, VERSION_6_0_6, VERSION_7_4_0, VERSION_8_2_0});
+				new OperatorVersion[]{VERSION_5_1_6, VERSION_5_2_8, VERSION_6_0_6, VERSION_7_4_0, VERSION_8_2_0, VERSION_9_6_0});
 	}
 
 	@Override
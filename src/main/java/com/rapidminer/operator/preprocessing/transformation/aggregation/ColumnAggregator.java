@@ -0,0 +1,489 @@
+/**
+ * Copyright (C) 2001-2020 by RapidMiner and the contributors
+ * 
+ * Complete list of developers available at our web site:
+ * 
+ * http://rapidminer.com
+ * 
+ * This program is free software: you can redistribute it and/or modify it under the terms of the
+ * GNU Affero General Public License as published by the Free Software Foundation, either version 3
+ * of the License, or (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without
+ * even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Affero General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Affero General Public License along with this program.
+ * If not, see http://www.gnu.org/licenses/.
+*/
+package com.rapidminer.operator.preprocessing.transformation.aggregation;
+
+import java.util.Arrays;
+
+import com.rapidminer.example.Attribute;
+import com.rapidminer.example.Example;
+import com.rapidminer.example.table.DataRow;
+
+
+/**
+ * Columnar counterpart of the {@link NumericalAggregator}s for the basic aggregation functions. Instead of one
+ * {@link Aggregator} object per group, a column aggregator keeps the state of all groups in primitive arrays that are
+ * indexed by the group index of an {@link AggregationGroupTable}. Column aggregators of the same function can be
+ * merged, which allows to pre-aggregate partitions of the data independently.
+ * <p>
+ * The results are identical to the ones of the respective {@link Aggregator}, as long as the values of each group
+ * are counted in the same order.
+ *
+ * @since 9.7
+ */
+abstract class ColumnAggregator {
+
+	/** the initial number of groups arrays are allocated for */
+	private static final int INITIAL_CAPACITY = 16;
+
+	private final boolean ignoreMissings;
+
+	private boolean[] missing = new boolean[INITIAL_CAPACITY];
+
+	private ColumnAggregator(AggregationFunction function) {
+		this.ignoreMissings = function.isIgnoringMissings();
+	}
+
+	/**
+	 * Counts the given value for the given group, with the same missing value handling as the
+	 * {@link NumericalAggregator}.
+	 */
+	void count(int group, double value) {
+		if (Double.isNaN(value)) {
+			missing[group] = true;
+		} else if (ignoreMissings || !missing[group]) {
+			countValue(group, value);
+		}
+	}
+
+	/**
+	 * Same as {@link #count(int, double)}, but taking the weight into account.
+	 */
+	void count(int group, double value, double weight) {
+		if (Double.isNaN(value)) {
+			missing[group] = true;
+		} else if (ignoreMissings || !missing[group]) {
+			countValue(group, value, weight);
+		}
+	}
+
+	/**
+	 * Merges the state of the group of the other column aggregator into the given group. The other aggregator must
+	 * have been created for the same function and must have counted examples located after the ones counted by this
+	 * aggregator.
+	 */
+	void merge(int group, ColumnAggregator other, int otherGroup) {
+		missing[group] |= other.missing[otherGroup];
+		mergeValue(group, other, otherGroup);
+	}
+
+	/**
+	 * Makes sure that the given number of groups can be stored.
+	 */
+	void ensureCapacity(int groups) {
+		if (groups > missing.length) {
+			int capacity = Math.max(groups, missing.length + (missing.length >> 1));
+			missing = Arrays.copyOf(missing, capacity);
+			grow(capacity);
+		}
+	}
+
+	/**
+	 * Returns the result of the given group respecting missing values.
+	 */
+	double getResult(int group) {
+		if (missing[group] && !ignoreMissings) {
+			return Double.NaN;
+		}
+		return getValue(group);
+	}
+
+	/**
+	 * Returns an {@link Aggregator} view on the given group that can be used for setting the result into a data row.
+	 * The view does not support counting.
+	 */
+	Aggregator getAggregator(final int group) {
+		return new Aggregator() {
+
+			@Override
+			public void count(Example example) {
+				throw new UnsupportedOperationException("Column aggregator views do not support counting");
+			}
+
+			@Override
+			public void count(Example example, double weight) {
+				throw new UnsupportedOperationException("Column aggregator views do not support counting");
+			}
+
+			@Override
+			public void set(Attribute attribute, DataRow row) {
+				row.set(attribute, getResult(group));
+			}
+		};
+	}
+
+	protected abstract void countValue(int group, double value);
+
+	protected abstract void countValue(int group, double value, double weight);
+
+	protected abstract void mergeValue(int group, ColumnAggregator other, int otherGroup);
+
+	protected abstract double getValue(int group);
+
+	/**
+	 * Grows all arrays holding the group states to the given capacity.
+	 */
+	protected abstract void grow(int capacity);
+
+	/**
+	 * Creates a column aggregator for the given function if the function is supported. Supported are the functions
+	 * sum, count, minimum, maximum, average, variance and standard deviation, as long as they do not count only
+	 * distinct values. Subclasses of these functions are not supported, since they might post-process the
+	 * {@link Aggregator}s.
+	 *
+	 * @return the column aggregator or {@code null} if the function is not supported
+	 */
+	static ColumnAggregator create(AggregationFunction function) {
+		if (function.isCountingOnlyDistinct()) {
+			return null;
+		}
+		Class<?> functionClass = function.getClass();
+		if (functionClass == SumAggregationFunction.class) {
+			return new SumColumnAggregator(function);
+		} else if (functionClass == CountAggregationFunction.class) {
+			return new CountColumnAggregator(function);
+		} else if (functionClass == MinAggregationFunction.class) {
+			return new MinColumnAggregator(function);
+		} else if (functionClass == MaxAggregationFunction.class) {
+			return new MaxColumnAggregator(function);
+		} else if (functionClass == MeanAggregationFunction.class) {
+			return new MeanColumnAggregator(function);
+		} else if (functionClass == VarianceAggregationFunction.class) {
+			return new VarianceColumnAggregator(function, false);
+		} else if (functionClass == StandardDeviationAggregationFunction.class) {
+			return new VarianceColumnAggregator(function, true);
+		}
+		return null;
+	}
+
+	/**
+	 * Columnar version of the {@link SumAggregator}.
+	 */
+	private static final class SumColumnAggregator extends ColumnAggregator {
+
+		private double[] sum = new double[INITIAL_CAPACITY];
+
+		private SumColumnAggregator(AggregationFunction function) {
+			super(function);
+		}
+
+		@Override
+		protected void countValue(int group, double value) {
+			sum[group] += value;
+		}
+
+		@Override
+		protected void countValue(int group, double value, double weight) {
+			sum[group] += value * weight;
+		}
+
+		@Override
+		protected void mergeValue(int group, ColumnAggregator other, int otherGroup) {
+			sum[group] += ((SumColumnAggregator) other).sum[otherGroup];
+		}
+
+		@Override
+		protected double getValue(int group) {
+			return sum[group];
+		}
+
+		@Override
+		protected void grow(int capacity) {
+			sum = Arrays.copyOf(sum, capacity);
+		}
+	}
+
+	/**
+	 * Columnar version of the {@link CountAggregator}. Missing values are never counted. If weights are used and
+	 * missing values are not ignored, the count of a group with a missing value is missing.
+	 */
+	private static final class CountColumnAggregator extends ColumnAggregator {
+
+		private final boolean ignoreMissings;
+
+		private double[] count = new double[INITIAL_CAPACITY];
+
+		private CountColumnAggregator(AggregationFunction function) {
+			super(function);
+			this.ignoreMissings = function.isIgnoringMissings();
+		}
+
+		@Override
+		void count(int group, double value) {
+			if (!Double.isNaN(value)) {
+				count[group]++;
+			}
+		}
+
+		@Override
+		void count(int group, double value, double weight) {
+			if (!Double.isNaN(value)) {
+				count[group] += weight;
+			} else if (!ignoreMissings) {
+				count[group] = Double.NaN;
+			}
+		}
+
+		@Override
+		void merge(int group, ColumnAggregator other, int otherGroup) {
+			mergeValue(group, other, otherGroup);
+		}
+
+		@Override
+		double getResult(int group) {
+			return count[group];
+		}
+
+		@Override
+		protected void countValue(int group, double value) {
+			count[group]++;
+		}
+
+		@Override
+		protected void countValue(int group, double value, double weight) {
+			count[group] += weight;
+		}
+
+		@Override
+		protected void mergeValue(int group, ColumnAggregator other, int otherGroup) {
+			count[group] += ((CountColumnAggregator) other).count[otherGroup];
+		}
+
+		@Override
+		protected double getValue(int group) {
+			return count[group];
+		}
+
+		@Override
+		protected void grow(int capacity) {
+			count = Arrays.copyOf(count, capacity);
+		}
+	}
+
+	/**
+	 * Columnar version of the {@link MinAggregator}. Groups without values are marked by {@link Double#NaN}.
+	 */
+	private static final class MinColumnAggregator extends ColumnAggregator {
+
+		private double[] min = newMissingArray(INITIAL_CAPACITY);
+
+		private MinColumnAggregator(AggregationFunction function) {
+			super(function);
+		}
+
+		@Override
+		protected void countValue(int group, double value) {
+			// also true if there is no value yet
+			if (!(min[group] <= value)) {
+				min[group] = value;
+			}
+		}
+
+		@Override
+		protected void countValue(int group, double value, double weight) {
+			countValue(group, value);
+		}
+
+		@Override
+		protected void mergeValue(int group, ColumnAggregator other, int otherGroup) {
+			double otherMin = ((MinColumnAggregator) other).min[otherGroup];
+			if (!Double.isNaN(otherMin)) {
+				countValue(group, otherMin);
+			}
+		}
+
+		@Override
+		protected double getValue(int group) {
+			return min[group];
+		}
+
+		@Override
+		protected void grow(int capacity) {
+			min = growMissingArray(min, capacity);
+		}
+	}
+
+	/**
+	 * Columnar version of the {@link MaxAggregator}. Groups without values are marked by {@link Double#NaN}.
+	 */
+	private static final class MaxColumnAggregator extends ColumnAggregator {
+
+		private double[] max = newMissingArray(INITIAL_CAPACITY);
+
+		private MaxColumnAggregator(AggregationFunction function) {
+			super(function);
+		}
+
+		@Override
+		protected void countValue(int group, double value) {
+			// also true if there is no value yet
+			if (!(max[group] >= value)) {
+				max[group] = value;
+			}
+		}
+
+		@Override
+		protected void countValue(int group, double value, double weight) {
+			countValue(group, value);
+		}
+
+		@Override
+		protected void mergeValue(int group, ColumnAggregator other, int otherGroup) {
+			double otherMax = ((MaxColumnAggregator) other).max[otherGroup];
+			if (!Double.isNaN(otherMax)) {
+				countValue(group, otherMax);
+			}
+		}
+
+		@Override
+		protected double getValue(int group) {
+			return max[group];
+		}
+
+		@Override
+		protected void grow(int capacity) {
+			max = growMissingArray(max, capacity);
+		}
+	}
+
+	/**
+	 * Columnar version of the {@link MeanAggregator}.
+	 */
+	private static final class MeanColumnAggregator extends ColumnAggregator {
+
+		private double[] sum = new double[INITIAL_CAPACITY];
+		private double[] totalWeight = new double[INITIAL_CAPACITY];
+
+		private MeanColumnAggregator(AggregationFunction function) {
+			super(function);
+		}
+
+		@Override
+		protected void countValue(int group, double value) {
+			sum[group] += value;
+			totalWeight[group]++;
+		}
+
+		@Override
+		protected void countValue(int group, double value, double weight) {
+			sum[group] += value * weight;
+			totalWeight[group] += weight;
+		}
+
+		@Override
+		protected void mergeValue(int group, ColumnAggregator other, int otherGroup) {
+			MeanColumnAggregator otherMean = (MeanColumnAggregator) other;
+			sum[group] += otherMean.sum[otherGroup];
+			totalWeight[group] += otherMean.totalWeight[otherGroup];
+		}
+
+		@Override
+		protected double getValue(int group) {
+			return sum[group] / totalWeight[group];
+		}
+
+		@Override
+		protected void grow(int capacity) {
+			sum = Arrays.copyOf(sum, capacity);
+			totalWeight = Arrays.copyOf(totalWeight, capacity);
+		}
+	}
+
+	/**
+	 * Columnar version of the {@link VarianceAggregator} and the {@link StandardDeviationAggregator}.
+	 */
+	private static final class VarianceColumnAggregator extends ColumnAggregator {
+
+		private final boolean standardDeviation;
+
+		private double[] valueSum = new double[INITIAL_CAPACITY];
+		private double[] squaredValueSum = new double[INITIAL_CAPACITY];
+		private double[] totalWeightSum = new double[INITIAL_CAPACITY];
+		private double[] count = new double[INITIAL_CAPACITY];
+
+		private VarianceColumnAggregator(AggregationFunction function, boolean standardDeviation) {
+			super(function);
+			this.standardDeviation = standardDeviation;
+		}
+
+		@Override
+		protected void countValue(int group, double value) {
+			valueSum[group] += value;
+			squaredValueSum[group] += value * value;
+			totalWeightSum[group]++;
+			count[group]++;
+		}
+
+		@Override
+		protected void countValue(int group, double value, double weight) {
+			valueSum[group] += weight * value;
+			squaredValueSum[group] += weight * value * value;
+			totalWeightSum[group] += weight;
+			count[group]++;
+		}
+
+		@Override
+		protected void mergeValue(int group, ColumnAggregator other, int otherGroup) {
+			VarianceColumnAggregator otherVariance = (VarianceColumnAggregator) other;
+			valueSum[group] += otherVariance.valueSum[otherGroup];
+			squaredValueSum[group] += otherVariance.squaredValueSum[otherGroup];
+			totalWeightSum[group] += otherVariance.totalWeightSum[otherGroup];
+			count[group] += otherVariance.count[otherGroup];
+		}
+
+		@Override
+		protected double getValue(int group) {
+			double n = count[group];
+			if (n > 0) {
+				double weightSum = totalWeightSum[group];
+				double value = (squaredValueSum[group] - valueSum[group] * valueSum[group] / weightSum)
+						/ ((n - 1) / n * weightSum);
+				if (!standardDeviation) {
+					return value;
+				}
+				if (value > 0d) {
+					return Math.sqrt(value);
+				}
+				return 0d;
+			} else {
+				return Double.NaN;
+			}
+		}
+
+		@Override
+		protected void grow(int capacity) {
+			valueSum = Arrays.copyOf(valueSum, capacity);
+			squaredValueSum = Arrays.copyOf(squaredValueSum, capacity);
+			totalWeightSum = Arrays.copyOf(totalWeightSum, capacity);
+			count = Arrays.copyOf(count, capacity);
+		}
+	}
+
+	private static double[] newMissingArray(int capacity) {
+		double[] array = new double[capacity];
+		Arrays.fill(array, Double.NaN);
+		return array;
+	}
+
+	private static double[] growMissingArray(double[] array, int capacity) {
+		int oldLength = array.length;
+		double[] grown = Arrays.copyOf(array, capacity);
+		Arrays.fill(grown, oldLength, capacity, Double.NaN);
+		return grown;
+	}
+}
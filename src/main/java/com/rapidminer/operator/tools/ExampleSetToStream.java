@@ -45,6 +45,7 @@ import com.rapidminer.example.table.NominalMapping;
 import com.rapidminer.example.table.PolynominalMapping;
 import com.rapidminer.example.table.SparseDataRow;
 import com.rapidminer.example.utils.ExampleSetBuilder;
+import com.rapidminer.example.utils.ExampleSetProjection;
 import com.rapidminer.example.utils.ExampleSets;
 import com.rapidminer.operator.Annotations;
 import com.rapidminer.tools.LogService;
@@ -219,6 +220,24 @@ public class ExampleSetToStream {
 
 	/** Reads an example set as written by {@link #write(ExampleSet, OutputStream)}. */
 	public ExampleSet read(final InputStream inputStream) throws IOException {
+		return read(inputStream, null);
+	}
+
+	/**
+	 * Reads the part of an example set described by the projection as written by
+	 * {@link #write(ExampleSet, OutputStream)}. Values of attributes that are not part of the projection are skipped
+	 * and the stream is not read further than the last row of the projection.
+	 *
+	 * @param inputStream
+	 *            the stream to read from
+	 * @param projection
+	 *            the attributes and rows to read, can be {@code null} to read everything
+	 * @return the example set
+	 * @throws IOException
+	 *             if reading fails
+	 * @since 9.7
+	 */
+	public ExampleSet read(final InputStream inputStream, final ExampleSetProjection projection) throws IOException {
 		DataInputStream in = new DataInputStream(inputStream);
 
 		// Extract Header information
@@ -231,28 +250,57 @@ public class ExampleSetToStream {
 		ColumnType columnTypes[] = convertToColumnTypes(allAttributeRoles);
 		boolean sparse = header.isSparse();
 
+		// only the attributes of the projection are part of the example table
+		List<Attribute> attributes = new ArrayList<>();
+		int[] tableIndices = new int[allAttributes.size()];
+		for (int i = 0; i < tableIndices.length; i++) {
+			Attribute attribute = allAttributes.get(i);
+			if (projection == null || projection.includes(attribute.getName())) {
+				tableIndices[i] = attributes.size();
+				attributes.add(attribute);
+			} else {
+				tableIndices[i] = -1;
+			}
+		}
+
 		// Create example table
 		int size = in.readInt();
-		ExampleSetBuilder builder = ExampleSets.from(allAttributes).withExpectedSize(size);
+		int from = projection == null ? 0 : projection.getFromRow(size);
+		int to = projection == null ? size : projection.getToRow(size);
+		ExampleSetBuilder builder = ExampleSets.from(attributes).withExpectedSize(to - from);
 
 		// Read data
-		for (int row = 0; row < size; row++) {
+		double[] storedData = sparse ? null : new double[allAttributes.size()];
+		for (int row = 0; row < to; row++) {
+			boolean keep = row >= from;
 			if (sparse) {
-				DoubleSparseArrayDataRow sparseRow = new DoubleSparseArrayDataRow(allAttributeRoles.size());
+				DoubleSparseArrayDataRow sparseRow = keep ? new DoubleSparseArrayDataRow(attributes.size()) : null;
 				while (true) {
 					int index = in.readInt();
 					if (index == -1) {
 						break;
 					} else {
-						sparseRow.set(allAttributes.get(index), readDatum(in, columnTypes[index]));
+						double value = readDatum(in, columnTypes[index]);
+						if (keep && tableIndices[index] >= 0) {
+							sparseRow.set(allAttributes.get(index), value);
+						}
 					}
 				}
-				sparseRow.trim();
-				builder.addDataRow(sparseRow);
+				if (keep) {
+					sparseRow.trim();
+					builder.addDataRow(sparseRow);
+				}
 			} else {
-				double[] data = new double[allAttributeRoles.size()];
-				readRow(in, data, columnTypes, sparse, null);
-				builder.addRow(data);
+				readRow(in, storedData, columnTypes, sparse, null);
+				if (keep) {
+					double[] data = new double[attributes.size()];
+					for (int i = 0; i < tableIndices.length; i++) {
+						if (tableIndices[i] >= 0) {
+							data[tableIndices[i]] = storedData[i];
+						}
+					}
+					builder.addRow(data);
+				}
 			}
 		}
 
@@ -260,7 +308,7 @@ public class ExampleSetToStream {
 		ExampleSet exampleSet = builder.build();
 		// finally, set special attributes
 		for (AttributeRole role : allAttributeRoles) {
-			if (role.isSpecial()) {
+			if (role.isSpecial() && (projection == null || projection.includes(role.getAttribute().getName()))) {
 				Attribute att = exampleSet.getAttributes().get(role.getAttribute().getName());
 				exampleSet.getAttributes().getRole(att).setSpecial(role.getSpecialName());
 			}
@@ -31,6 +31,7 @@ import java.util.Arrays;
 import com.rapidminer.adaption.belt.TableViewingTools;
 import com.rapidminer.belt.table.BeltConverter;
 import com.rapidminer.example.ExampleSet;
+import com.rapidminer.example.utils.ExampleSetProjection;
 
 
 /**
@@ -111,6 +112,26 @@ public class IOObjectSerializer {
 		return type.getBodySerializer().deserialize(in);
 	}
 
+	/**
+	 * Deserializes an object serialized by {@link #serialize(OutputStream, Object, SerializationType)}. If the object
+	 * is an {@link ExampleSet}, only the part described by the projection is returned. Streamed example sets are
+	 * only read as far as needed for the projection.
+	 *
+	 * @since 9.7
+	 */
+	public Object deserialize(InputStream in, ExampleSetProjection projection) throws IOException {
+		SerializationType type = deserializeHeader(in);
+		BodySerializer serializer = type.getBodySerializer();
+		if (projection == null) {
+			return serializer.deserialize(in);
+		}
+		if (serializer instanceof StreamedExampleSetBodySerializer) {
+			return ((StreamedExampleSetBodySerializer) serializer).deserialize(in, projection);
+		}
+		Object object = serializer.deserialize(in);
+		return object instanceof ExampleSet ? projection.apply((ExampleSet) object) : object;
+	}
+
 	/** Serializes the object into a byte buffer. */
 	public byte[] serializeToBuffer(Object o) throws IOException {
 		ByteArrayOutputStream bufOut = new ByteArrayOutputStream();
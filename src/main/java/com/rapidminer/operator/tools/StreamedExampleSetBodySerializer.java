@@ -19,6 +19,7 @@
 package com.rapidminer.operator.tools;
 
 import com.rapidminer.example.ExampleSet;
+import com.rapidminer.example.utils.ExampleSetProjection;
 
 import java.io.IOException;
 import java.io.InputStream;
@@ -43,6 +44,16 @@ public class StreamedExampleSetBodySerializer implements BodySerializer {
 		return new ExampleSetToStream(version).read(in);
 	}
 
+	/**
+	 * Reads only the part of the streamed example set described by the projection.
+	 *
+	 * @see ExampleSetToStream#read(InputStream, ExampleSetProjection)
+	 * @since 9.7
+	 */
+	public ExampleSet deserialize(InputStream in, ExampleSetProjection projection) throws IOException {
+		return new ExampleSetToStream(version).read(in, projection);
+	}
+
 	@Override
 	public void serialize(Object object, OutputStream out) throws IOException {
 		if (object instanceof ExampleSet) {
@@ -18,6 +18,7 @@
 */
 package com.rapidminer.operator.validation;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Random;
 
@@ -26,6 +27,7 @@ import com.rapidminer.example.set.MappedExampleSet;
 import com.rapidminer.operator.OperatorDescription;
 import com.rapidminer.operator.OperatorException;
 import com.rapidminer.operator.ValueDouble;
+import com.rapidminer.operator.concurrency.internal.ConcurrencyTools;
 import com.rapidminer.operator.ports.metadata.MDInteger;
 import com.rapidminer.parameter.ParameterType;
 import com.rapidminer.parameter.ParameterTypeBoolean;
@@ -83,6 +85,18 @@ public abstract class AbstractBootstrappingValidation extends ValidationChain {
 
 		// start bootstrapping loop
 		RandomGenerator random = RandomGenerator.getRandomGenerator(this);
+		if (ConcurrencyTools.isParallelExecutionEnabled(this)) {
+			performFolds(inputSet, exampleSet -> {
+				List<ValidationFold> folds = new ArrayList<>(number);
+				for (int i = 0; i < number; i++) {
+					int[] mapping = createMapping(exampleSet, (int) Math.round(exampleSet.size() * sampleRatio), random);
+					folds.add(new MappedValidationFold(exampleSet, mapping));
+				}
+				return folds;
+			});
+			return;
+		}
+
 		for (iteration = 0; iteration < number; iteration++) {
 			int[] mapping = createMapping(inputSet, (int) Math.round(inputSet.size() * sampleRatio), random);
 			MappedExampleSet trainingSet = new MappedExampleSet(inputSet, mapping, true);
@@ -95,6 +109,11 @@ public abstract class AbstractBootstrappingValidation extends ValidationChain {
 		// end loop
 	}
 
+	@Override
+	protected void startFold(int fold) {
+		iteration = fold;
+	}
+
 	@Override
 	protected MDInteger getTestSetSize(MDInteger originalSize) throws UndefinedParameterError {
 		return originalSize.multiply(1d - getParameterAsDouble(PARAMETER_SAMPLE_RATIO));
@@ -29,6 +29,7 @@ import com.rapidminer.operator.OperatorDescription;
 import com.rapidminer.operator.OperatorException;
 import com.rapidminer.operator.UserError;
 import com.rapidminer.operator.ValueDouble;
+import com.rapidminer.operator.concurrency.internal.ConcurrencyTools;
 import com.rapidminer.operator.ports.metadata.MDInteger;
 import com.rapidminer.operator.visualization.ProcessLogOperator;
 import com.rapidminer.parameter.ParameterType;
@@ -118,6 +119,12 @@ public class BatchXValidation extends ValidationChain {
 		}
 		getProgress().setCheckForStop(false);
 
+		if (ConcurrencyTools.isParallelExecutionEnabled(this)) {
+			performFolds(inputSet, exampleSet -> SplittedValidationFold.createCrossValidationFolds(SplittedExampleSet
+					.splitByAttribute(exampleSet, exampleSet.getAttributes().getSpecial(Attributes.BATCH_NAME))));
+			return;
+		}
+
 		for (iteration = 0; iteration < splittedES.getNumberOfSubsets(); iteration++) {
 			splittedES.selectAllSubsetsBut(iteration);
 			learn(splittedES);
@@ -129,6 +136,11 @@ public class BatchXValidation extends ValidationChain {
 		}
 	}
 
+	@Override
+	protected void startFold(int fold) {
+		iteration = fold;
+	}
+
 	@Override
 	protected MDInteger getTestSetSize(MDInteger originalSize) throws UndefinedParameterError {
 		return new MDInteger();
@@ -18,6 +18,7 @@
 */
 package com.rapidminer.operator.validation;
 
+import java.util.ArrayList;
 import java.util.List;
 
 import com.rapidminer.example.ExampleSet;
@@ -26,6 +27,7 @@ import com.rapidminer.operator.OperatorCapability;
 import com.rapidminer.operator.OperatorDescription;
 import com.rapidminer.operator.OperatorException;
 import com.rapidminer.operator.ValueDouble;
+import com.rapidminer.operator.concurrency.internal.ConcurrencyTools;
 import com.rapidminer.operator.ports.metadata.MDInteger;
 import com.rapidminer.operator.visualization.ProcessLogOperator;
 import com.rapidminer.parameter.ParameterType;
@@ -108,6 +110,23 @@ public class BootstrappingValidation extends ValidationChain {
 		}
 		getProgress().setCheckForStop(false);
 
+		if (ConcurrencyTools.isParallelExecutionEnabled(this)) {
+			performFolds(inputSet, exampleSet -> {
+				List<ValidationFold> folds = new ArrayList<>(number);
+				for (int i = 0; i < number; i++) {
+					int[] mapping = null;
+					if (useWeights && exampleSet.getAttributes().getWeight() != null) {
+						mapping = MappedExampleSet.createWeightedBootstrappingMapping(exampleSet, size, random);
+					} else {
+						mapping = MappedExampleSet.createBootstrappingMapping(exampleSet, size, random);
+					}
+					folds.add(new MappedValidationFold(exampleSet, mapping));
+				}
+				return folds;
+			});
+			return;
+		}
+
 		for (iteration = 0; iteration < number; iteration++) {
 			int[] mapping = null;
 			if (useWeights && inputSet.getAttributes().getWeight() != null) {
@@ -125,6 +144,11 @@ public class BootstrappingValidation extends ValidationChain {
 		}
 	}
 
+	@Override
+	protected void startFold(int fold) {
+		iteration = fold;
+	}
+
 	@Override
 	protected MDInteger getTestSetSize(MDInteger originalSize) throws UndefinedParameterError {
 		return originalSize.multiply(1d - getParameterAsDouble(PARAMETER_SAMPLE_RATIO));
@@ -25,6 +25,7 @@ import com.rapidminer.operator.OperatorDescription;
 import com.rapidminer.operator.OperatorException;
 import com.rapidminer.operator.OperatorVersion;
 import com.rapidminer.operator.UserError;
+import com.rapidminer.operator.concurrency.internal.ConcurrencyTools;
 import com.rapidminer.operator.ports.metadata.AttributeMetaData;
 import com.rapidminer.operator.ports.metadata.CapabilityPrecondition;
 import com.rapidminer.operator.ports.metadata.MDInteger;
@@ -108,6 +109,20 @@ public class FixedSplitValidationChain extends ValidationChain {
 
 	@Override
 	public void estimatePerformance(ExampleSet inputSet) throws OperatorException {
+		if (ConcurrencyTools.isParallelExecutionEnabled(this)) {
+			performFolds(inputSet, exampleSet -> SplittedValidationFold.createHoldOutFold(createSplit(exampleSet)));
+			return;
+		}
+
+		SplittedExampleSet eSet = createSplit(inputSet);
+		eSet.selectSingleSubset(0);
+		learn(eSet);
+		eSet.selectSingleSubset(1);
+		evaluate(eSet);
+	}
+
+	/** Splits the given example set into a training, a test and an unused subset. */
+	private SplittedExampleSet createSplit(ExampleSet inputSet) throws OperatorException {
 		int trainingSetSize = getParameterAsInt(PARAMETER_TRAINING_SET_SIZE);
 		int testSetSize = getParameterAsInt(PARAMETER_TEST_SET_SIZE);
 		int inputSetSize = inputSet.size();
@@ -131,15 +146,10 @@ public class FixedSplitValidationChain extends ValidationChain {
 				+ " examples are not used.");
 		double[] ratios = new double[] { (double) trainingSetSize / (double) inputSetSize,
 				(double) testSetSize / (double) inputSetSize, (double) rest / (double) inputSetSize };
-		SplittedExampleSet eSet = new SplittedExampleSet(inputSet, ratios, getParameterAsInt(PARAMETER_SAMPLING_TYPE),
+		return new SplittedExampleSet(inputSet, ratios, getParameterAsInt(PARAMETER_SAMPLING_TYPE),
 				getParameterAsBoolean(RandomGenerator.PARAMETER_USE_LOCAL_RANDOM_SEED),
 				getParameterAsInt(RandomGenerator.PARAMETER_LOCAL_RANDOM_SEED), getCompatibilityLevel().isAtMost(
 						SplittedExampleSet.VERSION_SAMPLING_CHANGED));
-
-		eSet.selectSingleSubset(0);
-		learn(eSet);
-		eSet.selectSingleSubset(1);
-		evaluate(eSet);
 	}
 
 	@Override
@@ -173,7 +183,8 @@ public class FixedSplitValidationChain extends ValidationChain {
 
 	@Override
 	public OperatorVersion[] getIncompatibleVersionChanges() {
-		return new OperatorVersion[] { SplittedExampleSet.VERSION_SAMPLING_CHANGED };
+		return ConcurrencyTools.addIncompatibleVersion(super.getIncompatibleVersionChanges(),
+				SplittedExampleSet.VERSION_SAMPLING_CHANGED);
 	}
 
 	@Override
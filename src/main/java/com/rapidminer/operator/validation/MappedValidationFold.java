@@ -0,0 +1,52 @@
+/**
+ * Copyright (C) 2001-2020 by RapidMiner and the contributors
+ * 
+ * Complete list of developers available at our web site:
+ * 
+ * http://rapidminer.com
+ * 
+ * This program is free software: you can redistribute it and/or modify it under the terms of the
+ * GNU Affero General Public License as published by the Free Software Foundation, either version 3
+ * of the License, or (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without
+ * even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Affero General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Affero General Public License along with this program.
+ * If not, see http://www.gnu.org/licenses/.
+*/
+package com.rapidminer.operator.validation;
+
+import com.rapidminer.example.ExampleSet;
+import com.rapidminer.example.set.MappedExampleSet;
+
+
+/**
+ * A {@link ValidationFold} defined by a (bootstrapping) mapping. The model is trained on the mapped
+ * examples and tested on all examples not contained in the mapping.
+ *
+ * @since 9.7
+ */
+class MappedValidationFold implements ValidationFold {
+
+	private final ExampleSet exampleSet;
+
+	private final int[] mapping;
+
+	MappedValidationFold(ExampleSet exampleSet, int[] mapping) {
+		this.exampleSet = exampleSet;
+		this.mapping = mapping;
+	}
+
+	@Override
+	public ExampleSet getTrainingSet() {
+		return new MappedExampleSet(exampleSet, mapping, true);
+	}
+
+	@Override
+	public ExampleSet getTestSet() {
+		return new MappedExampleSet(exampleSet, mapping, false);
+	}
+
+}
@@ -24,6 +24,7 @@ import com.rapidminer.operator.OperatorCapability;
 import com.rapidminer.operator.OperatorDescription;
 import com.rapidminer.operator.OperatorException;
 import com.rapidminer.operator.OperatorVersion;
+import com.rapidminer.operator.concurrency.internal.ConcurrencyTools;
 import com.rapidminer.operator.ports.metadata.AttributeMetaData;
 import com.rapidminer.operator.ports.metadata.CapabilityPrecondition;
 import com.rapidminer.operator.ports.metadata.MDInteger;
@@ -94,12 +95,12 @@ public class RandomSplitValidationChain extends ValidationChain {
 
 	@Override
 	public void estimatePerformance(ExampleSet inputSet) throws OperatorException {
-		double splitRatio = getParameterAsDouble(PARAMETER_SPLIT_RATIO);
-		SplittedExampleSet eSet = new SplittedExampleSet(inputSet, splitRatio, getParameterAsInt(PARAMETER_SAMPLING_TYPE),
-				getParameterAsBoolean(RandomGenerator.PARAMETER_USE_LOCAL_RANDOM_SEED),
-				getParameterAsInt(RandomGenerator.PARAMETER_LOCAL_RANDOM_SEED), getCompatibilityLevel().isAtMost(
-						SplittedExampleSet.VERSION_SAMPLING_CHANGED));
+		if (ConcurrencyTools.isParallelExecutionEnabled(this)) {
+			performFolds(inputSet, exampleSet -> SplittedValidationFold.createHoldOutFold(createSplit(exampleSet)));
+			return;
+		}
 
+		SplittedExampleSet eSet = createSplit(inputSet);
 		eSet.selectSingleSubset(0);
 		learn(eSet);
 		eSet.selectSingleSubset(1);
@@ -107,6 +108,15 @@ public class RandomSplitValidationChain extends ValidationChain {
 		evaluate(eSet);
 	}
 
+	/** Splits the given example set into a training and a test subset. */
+	private SplittedExampleSet createSplit(ExampleSet exampleSet) throws OperatorException {
+		double splitRatio = getParameterAsDouble(PARAMETER_SPLIT_RATIO);
+		return new SplittedExampleSet(exampleSet, splitRatio, getParameterAsInt(PARAMETER_SAMPLING_TYPE),
+				getParameterAsBoolean(RandomGenerator.PARAMETER_USE_LOCAL_RANDOM_SEED),
+				getParameterAsInt(RandomGenerator.PARAMETER_LOCAL_RANDOM_SEED), getCompatibilityLevel().isAtMost(
+						SplittedExampleSet.VERSION_SAMPLING_CHANGED));
+	}
+
 	@Override
 	public List<ParameterType> getParameterTypes() {
 		List<ParameterType> types = super.getParameterTypes();
@@ -150,6 +160,7 @@ public class RandomSplitValidationChain extends ValidationChain {
 
 	@Override
 	public OperatorVersion[] getIncompatibleVersionChanges() {
-		return new OperatorVersion[] { SplittedExampleSet.VERSION_SAMPLING_CHANGED };
+		return ConcurrencyTools.addIncompatibleVersion(super.getIncompatibleVersionChanges(),
+				SplittedExampleSet.VERSION_SAMPLING_CHANGED);
 	}
 }
@@ -27,6 +27,7 @@ import com.rapidminer.operator.OperatorDescription;
 import com.rapidminer.operator.OperatorException;
 import com.rapidminer.operator.OperatorVersion;
 import com.rapidminer.operator.UserError;
+import com.rapidminer.operator.concurrency.internal.ConcurrencyTools;
 import com.rapidminer.operator.ports.metadata.AttributeMetaData;
 import com.rapidminer.operator.ports.metadata.CapabilityPrecondition;
 import com.rapidminer.operator.ports.metadata.MDInteger;
@@ -120,6 +121,20 @@ public class SplitValidationOperator extends ValidationChain {
 
 	@Override
 	public void estimatePerformance(ExampleSet inputSet) throws OperatorException {
+		if (ConcurrencyTools.isParallelExecutionEnabled(this)) {
+			performFolds(inputSet, exampleSet -> SplittedValidationFold.createHoldOutFold(createSplit(exampleSet)));
+			return;
+		}
+
+		SplittedExampleSet eSet = createSplit(inputSet);
+		eSet.selectSingleSubset(0);
+		learn(eSet);
+		eSet.selectSingleSubset(1);
+		evaluate(eSet);
+	}
+
+	/** Splits the given example set into a training, a test and possibly an unused subset. */
+	private SplittedExampleSet createSplit(ExampleSet inputSet) throws OperatorException {
 		SplittedExampleSet eSet = null;
 
 		switch (getParameterAsInt(PARAMETER_SPLIT)) {
@@ -161,11 +176,7 @@ public class SplitValidationOperator extends ValidationChain {
 				break;
 			}
 		}
-
-		eSet.selectSingleSubset(0);
-		learn(eSet);
-		eSet.selectSingleSubset(1);
-		evaluate(eSet);
+		return eSet;
 	}
 
 	@Override
@@ -222,7 +233,8 @@ public class SplitValidationOperator extends ValidationChain {
 
 	@Override
 	public OperatorVersion[] getIncompatibleVersionChanges() {
-		return new OperatorVersion[] { SplittedExampleSet.VERSION_SAMPLING_CHANGED };
+		return ConcurrencyTools.addIncompatibleVersion(super.getIncompatibleVersionChanges(),
+				SplittedExampleSet.VERSION_SAMPLING_CHANGED);
 	}
 
 	@Override
@@ -0,0 +1,95 @@
+/**
+ * Copyright (C) 2001-2020 by RapidMiner and the contributors
+ * 
+ * Complete list of developers available at our web site:
+ * 
+ * http://rapidminer.com
+ * 
+ * This program is free software: you can redistribute it and/or modify it under the terms of the
+ * GNU Affero General Public License as published by the Free Software Foundation, either version 3
+ * of the License, or (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without
+ * even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Affero General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Affero General Public License along with this program.
+ * If not, see http://www.gnu.org/licenses/.
+*/
+package com.rapidminer.operator.validation;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import com.rapidminer.example.ExampleSet;
+import com.rapidminer.example.set.SplittedExampleSet;
+
+
+/**
+ * A {@link ValidationFold} on a {@link SplittedExampleSet}. Each fold works on its own copy of the
+ * split, so that folds can select their subsets independently of each other.
+ *
+ * @since 9.7
+ */
+class SplittedValidationFold implements ValidationFold {
+
+	/** Indicates that all subsets but the test subset are used for training. */
+	private static final int ALL_BUT_TEST_SUBSET = -1;
+
+	private final SplittedExampleSet exampleSet;
+
+	private final int trainingSubset;
+
+	private final int testSubset;
+
+	private SplittedExampleSet foldSet;
+
+	private SplittedValidationFold(SplittedExampleSet exampleSet, int trainingSubset, int testSubset) {
+		this.exampleSet = exampleSet;
+		this.trainingSubset = trainingSubset;
+		this.testSubset = testSubset;
+	}
+
+	@Override
+	public ExampleSet getTrainingSet() {
+		foldSet = new SplittedExampleSet(exampleSet);
+		if (trainingSubset == ALL_BUT_TEST_SUBSET) {
+			foldSet.selectAllSubsetsBut(testSubset);
+		} else {
+			foldSet.selectSingleSubset(trainingSubset);
+		}
+		return foldSet;
+	}
+
+	@Override
+	public ExampleSet getTestSet() {
+		if (foldSet == null) {
+			foldSet = new SplittedExampleSet(exampleSet);
+		}
+		foldSet.selectSingleSubset(testSubset);
+		return foldSet;
+	}
+
+	/**
+	 * Creates one fold per subset of the given split. Each fold is tested on its subset and trained
+	 * on all others.
+	 */
+	static List<ValidationFold> createCrossValidationFolds(SplittedExampleSet exampleSet) {
+		List<ValidationFold> folds = new ArrayList<>(exampleSet.getNumberOfSubsets());
+		for (int i = 0; i < exampleSet.getNumberOfSubsets(); i++) {
+			folds.add(new SplittedValidationFold(exampleSet, ALL_BUT_TEST_SUBSET, i));
+		}
+		return folds;
+	}
+
+	/**
+	 * Creates a single fold that is trained on the first and tested on the second subset of the
+	 * given split.
+	 */
+	static List<ValidationFold> createHoldOutFold(SplittedExampleSet exampleSet) {
+		List<ValidationFold> folds = new ArrayList<>(1);
+		folds.add(new SplittedValidationFold(exampleSet, 0, 1));
+		return folds;
+	}
+
+}
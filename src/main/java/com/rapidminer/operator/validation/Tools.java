@@ -138,7 +138,16 @@ public class Tools {
 	 * the second or later iteration) builds the average. Null inputs are ignored.
 	 */
 	public static void buildAverages(InputPort inputPort, OutputPort outputPort) throws OperatorException {
-		AverageVector performance = inputPort.getDataOrNull(AverageVector.class);
+		buildAverages(inputPort.getDataOrNull(AverageVector.class), outputPort);
+	}
+
+	/**
+	 * Delivers the given {@link AverageVector} to the output port if it does not hold any data yet
+	 * or adds it to the average already present there. Null inputs are ignored.
+	 *
+	 * @since 9.7
+	 */
+	public static void buildAverages(AverageVector performance, OutputPort outputPort) throws OperatorException {
 		if (performance == null) {
 			return;
 		}
@@ -18,16 +18,20 @@
 */
 package com.rapidminer.operator.validation;
 
+import java.util.ArrayList;
 import java.util.List;
 
+import com.rapidminer.Process;
 import com.rapidminer.example.Attribute;
 import com.rapidminer.example.ExampleSet;
 import com.rapidminer.operator.IOObject;
 import com.rapidminer.operator.Model;
-import com.rapidminer.operator.OperatorChain;
 import com.rapidminer.operator.OperatorDescription;
 import com.rapidminer.operator.OperatorException;
+import com.rapidminer.operator.OperatorVersion;
 import com.rapidminer.operator.ValueDouble;
+import com.rapidminer.operator.concurrency.internal.ConcurrencyTools;
+import com.rapidminer.operator.concurrency.internal.ParallelOperatorChain;
 import com.rapidminer.operator.learner.CapabilityProvider;
 import com.rapidminer.operator.learner.PredictionModel;
 import com.rapidminer.operator.performance.PerformanceCriterion;
@@ -48,6 +52,9 @@ import com.rapidminer.operator.ports.metadata.SubprocessTransformRule;
 import com.rapidminer.parameter.ParameterType;
 import com.rapidminer.parameter.ParameterTypeBoolean;
 import com.rapidminer.parameter.UndefinedParameterError;
+import com.rapidminer.parameter.conditions.AboveOperatorVersionCondition;
+import com.rapidminer.studio.concurrency.internal.ConcurrencyExecutionService;
+import com.rapidminer.tools.RandomGenerator;
 import com.rapidminer.tools.math.AverageVector;
 
 
@@ -57,10 +64,16 @@ import com.rapidminer.tools.math.AverageVector;
  * {@link Model} and an operator or operator chain that can apply this model and returns a
  * {@link PerformanceVector}. Hence the second inner operator usually is an operator chain
  * containing a model applier and a performance evaluator.
+ * <p>
+ * Subclasses that describe their iterations as {@link ValidationFold}s can use
+ * {@link #performFolds(ExampleSet, FoldBuilder)} to execute them. Each fold then uses its own
+ * random seed, so the folds can be executed concurrently on clones of this operator while
+ * delivering the same results as a sequential execution.
+ * </p>
  *
  * @author Ingo Mierswa, Simon Fischer
  */
-public abstract class ValidationChain extends OperatorChain implements CapabilityProvider {
+public abstract class ValidationChain extends ParallelOperatorChain implements CapabilityProvider {
 
 	/**
 	 * The parameter name for &quot;Indicates if a model of the complete data set should be
@@ -68,6 +81,31 @@ public abstract class ValidationChain extends OperatorChain implements Capabilit
 	 */
 	public static final String PARAMETER_CREATE_COMPLETE_MODEL = "create_complete_model";
 
+	/**
+	 * Creates the {@link ValidationFold}s of a validation on the given example set.
+	 *
+	 * @since 9.7
+	 */
+	@FunctionalInterface
+	protected interface FoldBuilder {
+
+		List<ValidationFold> createFolds(ExampleSet exampleSet) throws OperatorException;
+
+	}
+
+	/** The result of a fold executed on a clone of this operator. */
+	private static final class FoldResult {
+
+		private final List<AverageVector> averagables;
+
+		private final IOObject model;
+
+		private FoldResult(List<AverageVector> averagables, IOObject model) {
+			this.averagables = averagables;
+			this.model = model;
+		}
+	}
+
 	// input
 	protected final InputPort trainingSetInput = getInputPorts().createPort("training", ExampleSet.class);
 
@@ -97,6 +135,9 @@ public abstract class ValidationChain extends OperatorChain implements Capabilit
 	private double lastSecondPerformance = Double.NaN;
 	private double lastThirdPerformance = Double.NaN;
 
+	/** The final model if it was already learned by {@link #performFolds(ExampleSet, FoldBuilder)} */
+	private IOObject foldwiseFinalModel;
+
 	public ValidationChain(OperatorDescription description) {
 		super(description, "Training", "Testing");
 		throughExtender.start();
@@ -286,9 +327,14 @@ public abstract class ValidationChain extends OperatorChain implements Capabilit
 
 		// Generate complete model, if desired
 		if (modelOutput.isConnected()) {
-			learnFinalModel(eSet);
+			IOObject finalModel = foldwiseFinalModel;
+			foldwiseFinalModel = null;
+			if (finalModel == null) {
+				learnFinalModel(eSet);
+				finalModel = trainingProcessModelInput.getData(IOObject.class);
+			}
 			getProgress().complete();
-			modelOutput.deliver(trainingProcessModelInput.getData(IOObject.class));
+			modelOutput.deliver(finalModel);
 		}
 		exampleSetOutput.deliver(eSet);
 
@@ -345,9 +391,134 @@ public abstract class ValidationChain extends OperatorChain implements Capabilit
 		}
 	}
 
+	/**
+	 * Learns and evaluates a model for each of the folds created by the given builder and averages
+	 * the resulting {@link AverageVector}s in fold order. If the model output is connected, the
+	 * final model is learned on the complete example set as an additional task.
+	 * <p>
+	 * Every task draws its own random seed from the process random generator before any task is
+	 * started. If {@link #checkParallelizability() possible}, the tasks are executed concurrently on
+	 * clones of this operator and the builder is given a thread-safe copy of the input. Otherwise
+	 * they are executed one after another on this operator, which yields the same results.
+	 *
+	 * @param inputSet
+	 *            the input of the validation
+	 * @param builder
+	 *            creates the folds on the input or on its thread-safe copy
+	 * @since 9.7
+	 */
+	protected final void performFolds(ExampleSet inputSet, FoldBuilder builder) throws OperatorException {
+		ConcurrencyExecutionService service = getExecutionService();
+		boolean parallel = service != null && checkParallelizability();
+		ExampleSet exampleSet = parallel ? getDataCopy(inputSet, true) : inputSet;
+		List<ValidationFold> folds = builder.createFolds(exampleSet);
+		boolean learnFinalModel = modelOutput.isConnected();
+		int numberOfTasks = learnFinalModel ? folds.size() + 1 : folds.size();
+
+		Process process = getProcess();
+		long[] seeds = ConcurrencyTools.drawSeeds(RandomGenerator.getRandomGenerator(process, -1), numberOfTasks);
+
+		foldwiseFinalModel = null;
+		if (parallel && numberOfTasks > 1) {
+			performFoldsInParallel(service, exampleSet, folds, learnFinalModel, seeds);
+			return;
+		}
+
+		RandomGenerator.stash(process);
+		try {
+			for (int i = 0; i < folds.size(); i++) {
+				RandomGenerator.init(process, seeds[i]);
+				performFold(folds.get(i), i);
+				getProgress().step();
+			}
+			if (learnFinalModel) {
+				RandomGenerator.init(process, seeds[folds.size()]);
+				learnFinalModel(exampleSet);
+				foldwiseFinalModel = trainingProcessModelInput.getData(IOObject.class);
+			}
+		} finally {
+			RandomGenerator.restore(process);
+		}
+	}
+
+	/**
+	 * Executes the folds and the final model learning on clones of this operator. The results are
+	 * collected and averaged in fold order.
+	 */
+	private void performFoldsInParallel(ConcurrencyExecutionService service, ExampleSet exampleSet,
+			List<ValidationFold> folds, boolean learnFinalModel, long[] seeds) throws OperatorException {
+		ConcurrencyTools.executeOnClones(service, this, seeds.length, (clone, index) -> {
+			RandomGenerator.init(clone.getProcess(), seeds[index]);
+			if (index < folds.size()) {
+				clone.performFold(folds.get(index), index);
+				return new FoldResult(clone.getAveragables(), null);
+			} else {
+				clone.learnFinalModel(exampleSet);
+				return new FoldResult(null, clone.trainingProcessModelInput.getData(IOObject.class));
+			}
+		}, (index, result) -> {
+			if (result.model != null) {
+				foldwiseFinalModel = result.model;
+			} else {
+				// the loggable values of this operator follow the collected folds
+				startFold(index);
+				List<PortPairExtender.PortPair> pairs = applyProcessPerformancePortExtender.getManagedPairs();
+				for (int i = 0; i < pairs.size() && i < result.averagables.size(); i++) {
+					Tools.buildAverages(result.averagables.get(i), pairs.get(i).getOutputPort());
+				}
+				getProgress().step();
+			}
+		});
+	}
+
+	/**
+	 * Returns the service that executes the folds on clones of this operator or {@code null} if it
+	 * is not available.
+	 */
+	ConcurrencyExecutionService getExecutionService() {
+		return ConcurrencyTools.getExecutionService();
+	}
+
+	/** Learns and evaluates the model of the given fold on this operator. */
+	private void performFold(ValidationFold fold, int index) throws OperatorException {
+		startFold(index);
+		learn(fold.getTrainingSet());
+		evaluate(fold.getTestSet());
+		inApplyLoop();
+	}
+
+	/**
+	 * Returns the averagable results of the last evaluation, one entry per averagable port. Entries
+	 * are {@code null} for ports without results.
+	 */
+	private List<AverageVector> getAveragables() throws OperatorException {
+		List<AverageVector> averagables = new ArrayList<>();
+		for (PortPairExtender.PortPair pair : applyProcessPerformancePortExtender.getManagedPairs()) {
+			averagables.add(pair.getOutputPort().getDataOrNull(AverageVector.class));
+		}
+		return averagables;
+	}
+
+	/**
+	 * Called before the fold with the given index is executed, either on this operator or on a clone
+	 * of it. In the latter case, it is also called on this operator when the result of the fold is
+	 * collected. Subclasses can use this to update their loggable values.
+	 *
+	 * @since 9.7
+	 */
+	protected void startFold(int fold) {
+		// nothing to do by default
+	}
+
 	@Override
 	public List<ParameterType> getParameterTypes() {
 		List<ParameterType> types = super.getParameterTypes();
+		for (ParameterType type : types) {
+			if (PARAMETER_ENABLE_PARALLEL_EXECUTION.equals(type.getKey())) {
+				type.registerDependencyCondition(new AboveOperatorVersionCondition(this,
+						ConcurrencyTools.VERSION_SEQUENTIAL_EXECUTION));
+			}
+		}
 		ParameterType type = new ParameterTypeBoolean(PARAMETER_CREATE_COMPLETE_MODEL,
 				"Indicates if a model of the complete data set should be additionally build after estimation.", false);
 		type.setDeprecated();
@@ -355,4 +526,18 @@ public abstract class ValidationChain extends OperatorChain implements Capabilit
 		types.add(type);
 		return types;
 	}
+
+	@Override
+	public OperatorVersion[] getIncompatibleVersionChanges() {
+		// validation chains are parallel operator chains only since the sequential execution
+		// version, so the earlier change of the remembered data synchronization does not apply
+		List<OperatorVersion> versions = new ArrayList<>();
+		for (OperatorVersion version : super.getIncompatibleVersionChanges()) {
+			if (version != DOES_NOT_ALWAYS_SYNCHRONIZE_REMEMBERED_DATA) {
+				versions.add(version);
+			}
+		}
+		versions.add(ConcurrencyTools.VERSION_SEQUENTIAL_EXECUTION);
+		return versions.toArray(new OperatorVersion[versions.size()]);
+	}
 }
@@ -0,0 +1,45 @@
+/**
+ * Copyright (C) 2001-2020 by RapidMiner and the contributors
+ * 
+ * Complete list of developers available at our web site:
+ * 
+ * http://rapidminer.com
+ * 
+ * This program is free software: you can redistribute it and/or modify it under the terms of the
+ * GNU Affero General Public License as published by the Free Software Foundation, either version 3
+ * of the License, or (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without
+ * even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Affero General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Affero General Public License along with this program.
+ * If not, see http://www.gnu.org/licenses/.
+*/
+package com.rapidminer.operator.validation;
+
+import com.rapidminer.example.ExampleSet;
+import com.rapidminer.operator.OperatorException;
+
+
+/**
+ * A single training / test split of a {@link ValidationChain}. Folds might be executed
+ * concurrently on clones of the validation operator, so implementations must not return example
+ * sets that are shared with other folds.
+ *
+ * @since 9.7
+ */
+public interface ValidationFold {
+
+	/**
+	 * Returns the set the model of this fold is learned on.
+	 */
+	ExampleSet getTrainingSet() throws OperatorException;
+
+	/**
+	 * Returns the set the model of this fold is evaluated on. This is called after the model was
+	 * learned on the {@link #getTrainingSet() training set}.
+	 */
+	ExampleSet getTestSet() throws OperatorException;
+
+}
@@ -28,6 +28,7 @@ import com.rapidminer.operator.OperatorException;
 import com.rapidminer.operator.OperatorVersion;
 import com.rapidminer.operator.ProcessStoppedException;
 import com.rapidminer.operator.ValueDouble;
+import com.rapidminer.operator.concurrency.internal.ConcurrencyTools;
 import com.rapidminer.operator.ports.metadata.AttributeMetaData;
 import com.rapidminer.operator.ports.metadata.CapabilityPrecondition;
 import com.rapidminer.operator.ports.metadata.MDInteger;
@@ -152,13 +153,6 @@ public class XValidation extends ValidationChain {
 		}
 		getLogger().fine("Starting " + number + "-fold cross validation");
 
-		// Split training / test set
-		int samplingType = getParameterAsInt(PARAMETER_SAMPLING_TYPE);
-		SplittedExampleSet splittedES = new SplittedExampleSet(inputSet, number, samplingType,
-				getParameterAsBoolean(RandomGenerator.PARAMETER_USE_LOCAL_RANDOM_SEED),
-				getParameterAsInt(RandomGenerator.PARAMETER_LOCAL_RANDOM_SEED),
-				getCompatibilityLevel().isAtMost(SplittedExampleSet.VERSION_SAMPLING_CHANGED));
-
 		// start crossvalidation
 		if (modelOutput.isConnected()) {
 			getProgress().setTotal(number + 1);
@@ -167,11 +161,55 @@ public class XValidation extends ValidationChain {
 		}
 		getProgress().setCheckForStop(false);
 
+		if (ConcurrencyTools.isParallelExecutionEnabled(this) && !overridesPerformIteration()) {
+			final int numberOfFolds = number;
+			performFolds(inputSet,
+					exampleSet -> SplittedValidationFold.createCrossValidationFolds(createSplit(exampleSet, numberOfFolds)));
+			return;
+		}
+
+		// Split training / test set
+		SplittedExampleSet splittedES = createSplit(inputSet, number);
 		for (iteration = 0; iteration < number; iteration++) {
 			performIteration(splittedES, iteration);
 		}
 	}
 
+	/** Splits the given example set into the given number of subsets. */
+	private SplittedExampleSet createSplit(ExampleSet exampleSet, int number) throws OperatorException {
+		int samplingType = getParameterAsInt(PARAMETER_SAMPLING_TYPE);
+		return new SplittedExampleSet(exampleSet, number, samplingType,
+				getParameterAsBoolean(RandomGenerator.PARAMETER_USE_LOCAL_RANDOM_SEED),
+				getParameterAsInt(RandomGenerator.PARAMETER_LOCAL_RANDOM_SEED),
+				getCompatibilityLevel().isAtMost(SplittedExampleSet.VERSION_SAMPLING_CHANGED));
+	}
+
+	/**
+	 * Checks whether a subclass overrides {@link #performIteration(SplittedExampleSet, int)}. The
+	 * folds of such subclasses are executed one after another by calling this method instead of
+	 * via {@link #performFolds(ExampleSet, FoldBuilder)}.
+	 */
+	private boolean overridesPerformIteration() {
+		for (Class<?> type = getClass(); type != XValidation.class; type = type.getSuperclass()) {
+			try {
+				type.getDeclaredMethod("performIteration", SplittedExampleSet.class, int.class);
+				return true;
+			} catch (NoSuchMethodException e) {
+				// not overridden by this class
+			}
+		}
+		return false;
+	}
+
+	@Override
+	protected void startFold(int fold) {
+		iteration = fold;
+	}
+
+	/**
+	 * Learns and evaluates the model of the given fold. Subclasses that override this method are
+	 * always executed sequentially, since the parallel execution does not call it.
+	 */
 	protected void performIteration(SplittedExampleSet splittedES, int iteration)
 			throws OperatorException, ProcessStoppedException {
 		splittedES.selectAllSubsetsBut(iteration);
@@ -236,7 +274,8 @@ public class XValidation extends ValidationChain {
 
 	@Override
 	public OperatorVersion[] getIncompatibleVersionChanges() {
-		return new OperatorVersion[] { SplittedExampleSet.VERSION_SAMPLING_CHANGED };
+		return ConcurrencyTools.addIncompatibleVersion(super.getIncompatibleVersionChanges(),
+				SplittedExampleSet.VERSION_SAMPLING_CHANGED);
 	}
 
 	@Override
@@ -20,6 +20,7 @@ package com.rapidminer.operator.visualization;
 
 import com.rapidminer.example.Attribute;
 import com.rapidminer.example.ExampleSet;
+import com.rapidminer.example.utils.ExampleSets;
 import com.rapidminer.operator.Operator;
 import com.rapidminer.operator.OperatorDescription;
 import com.rapidminer.operator.OperatorException;
@@ -57,7 +58,7 @@ public class DataStatisticsOperator extends Operator {
 	@Override
 	public void doWork() throws OperatorException {
 		ExampleSet eSet = exampleSetInput.getData(ExampleSet.class);
-		eSet.recalculateAllAttributeStatistics();
+		ExampleSets.recalculateAllAttributeStatistics(eSet, this);
 		DataStatistics statistics = new DataStatistics();
 		Iterator<Attribute> i = eSet.getAttributes().allAttributes();
 		while (i.hasNext()) {
@@ -18,6 +18,8 @@
 */
 package com.rapidminer.repository;
 
+import com.rapidminer.example.ExampleSet;
+import com.rapidminer.example.utils.ExampleSetProjection;
 import com.rapidminer.operator.IOObject;
 import com.rapidminer.operator.Operator;
 import com.rapidminer.operator.ports.metadata.MetaData;
@@ -40,6 +42,28 @@ public interface IOObjectEntry extends DataEntry {
 
 	IOObject retrieveData(ProgressListener l) throws RepositoryException;
 
+	/**
+	 * Retrieves the stored data. If it is an {@link ExampleSet}, only the part described by the projection is
+	 * returned. Entries that can read only the needed part from their storage should override this method, the
+	 * default implementation retrieves all data and applies the projection afterwards.
+	 *
+	 * @param l
+	 * 		the progress listener, can be {@code null}
+	 * @param projection
+	 * 		the attributes and rows to retrieve, can be {@code null} to retrieve everything
+	 * @return the data
+	 * @throws RepositoryException
+	 * 		if retrieving fails
+	 * @since 9.7
+	 */
+	default IOObject retrieveData(ProgressListener l, ExampleSetProjection projection) throws RepositoryException {
+		IOObject data = retrieveData(l);
+		if (projection != null && data instanceof ExampleSet) {
+			return projection.apply((ExampleSet) data);
+		}
+		return data;
+	}
+
 	MetaData retrieveMetaData() throws RepositoryException;
 
 	/**
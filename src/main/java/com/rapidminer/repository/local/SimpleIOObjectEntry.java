@@ -32,6 +32,8 @@ import java.security.AccessController;
 import java.security.PrivilegedAction;
 
 import com.rapidminer.adaption.belt.TableViewingTools;
+import com.rapidminer.example.ExampleSet;
+import com.rapidminer.example.utils.ExampleSetProjection;
 import com.rapidminer.operator.IOObject;
 import com.rapidminer.operator.Operator;
 import com.rapidminer.operator.ports.metadata.MetaData;
@@ -107,6 +109,32 @@ public class SimpleIOObjectEntry extends SimpleDataEntry implements IOObjectEntr
 		}
 	}
 
+	/**
+	 * Reads only the needed part of streamed example sets, see {@link IOObjectSerializer#deserialize(java.io.InputStream,
+	 * ExampleSetProjection)}.
+	 */
+	@Override
+	public IOObject retrieveData(ProgressListener l, ExampleSetProjection projection) throws RepositoryException {
+		Class<? extends IOObject> objectClass = getObjectClass();
+		if (projection == null || objectClass == null || !ExampleSet.class.isAssignableFrom(objectClass)) {
+			return IOObjectEntry.super.retrieveData(l, projection);
+		}
+		if (l != null) {
+			l.setTotal(100);
+			l.setCompleted(10);
+		}
+		File dataFile = getDataFile();
+		if (dataFile.exists()) {
+			try (BufferedInputStream in = new BufferedInputStream(new FileInputStream(dataFile))) {
+				return (IOObject) IOObjectSerializer.getInstance().deserialize(in, projection);
+			} catch (Exception e) {
+				throw new RepositoryException("Cannot load data from '" + dataFile + "': " + e, e);
+			}
+		} else {
+			throw new RepositoryException("File '" + dataFile + " does not exist'.");
+		}
+	}
+
 	/**
 	 * Read the actual IOObject from the given {@link FileInputStream}.
 	 *
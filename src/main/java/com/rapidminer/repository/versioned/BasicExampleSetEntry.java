@@ -22,14 +22,20 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.nio.file.Path;
 
+import com.rapidminer.RapidMiner;
 import com.rapidminer.example.ExampleSet;
+import com.rapidminer.example.utils.ExampleSetProjection;
 import com.rapidminer.operator.IOObject;
 import com.rapidminer.operator.Operator;
 import com.rapidminer.operator.ports.metadata.ExampleSetMetaData;
 import com.rapidminer.operator.ports.metadata.MetaData;
+import com.rapidminer.repository.Folder;
 import com.rapidminer.repository.RepositoryException;
 import com.rapidminer.storage.hdf5.ExampleSetHdf5Writer;
 import com.rapidminer.storage.hdf5.Hdf5ExampleSetReader;
+import com.rapidminer.storage.hdf5.HdfReaderException;
+import com.rapidminer.studio.internal.Resources;
+import com.rapidminer.tools.ParameterService;
 import com.rapidminer.tools.ProgressListener;
 import com.rapidminer.versioning.repository.DataSummary;
 import com.rapidminer.versioning.repository.exceptions.RepositoryFileException;
@@ -45,6 +51,13 @@ import com.rapidminer.versioning.repository.exceptions.RepositoryImmutableExcept
  */
 public class BasicExampleSetEntry extends AbstractIOObjectEntry<ExampleSet> {
 
+    /**
+     * The operator storing data on the current thread, if any. The versioning library calls {@link #write(ExampleSet)}
+     * synchronously from {@link #storeData(IOObject, Operator, ProgressListener)}, so the operator is passed along
+     * on the storing thread instead of being shared by all threads storing to this entry.
+     */
+    private static final ThreadLocal<Operator> STORING_OPERATOR = new ThreadLocal<>();
+
     /**
      * Create a new instance using {@link com.rapidminer.repository.Repository#createIOObjectEntry(String, IOObject,
      * Operator, ProgressListener)}
@@ -61,14 +74,90 @@ public class BasicExampleSetEntry extends AbstractIOObjectEntry<ExampleSet> {
 
     @Override
     protected ExampleSet read(InputStream load) throws IOException {
+        // columns are only decoded when accessed, most processes use only a part of a wide data set, but the file
+        // must not be changed outside of the repository while the data is in use
         Path filePath = getParent().getRepository().getFilePath(this);
-        return Hdf5ExampleSetReader.read(filePath);
+        return Hdf5ExampleSetReader.read(filePath, Boolean.parseBoolean(
+                ParameterService.getParameterValue(RapidMiner.PROPERTY_RAPIDMINER_SYSTEM_LAZY_DATA_LOADING)));
+    }
+
+    /**
+     * Reads only the datasets and rows of the projection directly from the file.
+     */
+    @Override
+    public IOObject retrieveData(ProgressListener l, ExampleSetProjection projection) throws RepositoryException {
+        if (projection == null || projection.isComplete()) {
+            return retrieveData(l);
+        }
+        Path filePath = getParent().getRepository().getFilePath(this);
+        try {
+            return Hdf5ExampleSetReader.read(filePath, true, projection);
+        } catch (IOException | HdfReaderException e) {
+            throw new RepositoryException("Cannot load data from '" + getName() + "': " + e, e);
+        }
+    }
+
+    @Override
+    public void storeData(IOObject data, Operator callingOperator, ProgressListener l) throws RepositoryException {
+        Operator previous = STORING_OPERATOR.get();
+        STORING_OPERATOR.set(callingOperator);
+        try {
+            super.storeData(data, callingOperator, l);
+        } finally {
+            if (previous == null) {
+                STORING_OPERATOR.remove();
+            } else {
+                STORING_OPERATOR.set(previous);
+            }
+        }
     }
 
     @Override
     protected void write(ExampleSet exampleSet) throws IOException, RepositoryImmutableException {
         Path filePath = getParent().getRepository().getFilePath(this);
-        new ExampleSetHdf5Writer(exampleSet).write(filePath);
+        ExampleSetHdf5Writer writer = new ExampleSetHdf5Writer(exampleSet);
+        Operator operator = STORING_OPERATOR.get();
+        if (operator != null && operator.getProcess() != null) {
+            // encode the columns concurrently with the resources of the storing process
+            writer.setConcurrencyContext(Resources.getConcurrencyContext(operator));
+        }
+        writer.write(filePath);
+    }
+
+    @Override
+    public boolean rename(String newName) throws RepositoryException {
+        releaseLazyColumns();
+        return super.rename(newName);
+    }
+
+    @Override
+    public boolean move(Folder newParent) throws RepositoryException {
+        releaseLazyColumns();
+        return super.move(newParent);
+    }
+
+    @Override
+    public boolean move(Folder newParent, String newName) throws RepositoryException {
+        releaseLazyColumns();
+        return super.move(newParent, newName);
+    }
+
+    @Override
+    public void delete() throws RepositoryException {
+        releaseLazyColumns();
+        super.delete();
+    }
+
+    /**
+     * Decodes the remaining values of example sets that were read lazily from this entry, so that the file can be
+     * changed.
+     */
+    private void releaseLazyColumns() throws RepositoryException {
+        try {
+            Hdf5ExampleSetReader.releaseLazyColumns(getParent().getRepository().getFilePath(this));
+        } catch (IOException e) {
+            throw new RepositoryException("Could not read " + getPath(), e);
+        }
     }
 
     @Override
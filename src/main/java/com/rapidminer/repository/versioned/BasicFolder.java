@@ -19,7 +19,9 @@
 package com.rapidminer.repository.versioned;
 
 import java.io.File;
+import java.io.IOException;
 import java.io.InputStream;
+import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
@@ -52,6 +54,7 @@ import com.rapidminer.repository.RepositoryManager;
 import com.rapidminer.repository.RepositoryNotConnectionsFolderException;
 import com.rapidminer.repository.RepositoryStoreOtherInConnectionsFolderException;
 import com.rapidminer.repository.RepositoryTools;
+import com.rapidminer.storage.hdf5.Hdf5ExampleSetReader;
 import com.rapidminer.tools.ProgressListener;
 import com.rapidminer.tools.ValidationUtil;
 import com.rapidminer.versioning.repository.GeneralFile;
@@ -464,6 +467,7 @@ public class BasicFolder implements Folder {
 		if (getContainingFolder().containsFolder(newName)) {
 			throw new RepositoryException("Folder with name '" + newName + "' already exists");
 		}
+		releaseLazyColumns();
 		try {
 			getRepositoryAdapter().getGeneralRepository().renameFolder(fsFolder, newName);
 			return true;
@@ -480,6 +484,7 @@ public class BasicFolder implements Folder {
 		if (RepositoryTools.isInSpecialConnectionsFolder(newParent)) {
 			throw new RepositoryStoreOtherInConnectionsFolderException(MESSAGE_CONNECTION_FOLDER);
 		}
+		releaseLazyColumns();
 		try {
 			// the RepositoryManager will search in a NewFilesystemRepository and those return GeneralFolders
 			RepositoryFolder parentFolder;
@@ -518,6 +523,7 @@ public class BasicFolder implements Folder {
 		if (RepositoryTools.isInSpecialConnectionsFolder(newParent)) {
 			throw new RepositoryStoreOtherInConnectionsFolderException(MESSAGE_CONNECTION_FOLDER);
 		}
+		releaseLazyColumns();
 		try {
 			// the RepositoryManager will search in a NewFilesystemRepository and those return GeneralFolders
 			RepositoryFolder parentFolder;
@@ -582,6 +588,7 @@ public class BasicFolder implements Folder {
 		if (isSpecialConnectionsFolder()) {
 			throw new RepositoryConnectionsFolderImmutableException(MESSAGE_CONNECTION_FOLDER_CHANGE);
 		}
+		releaseLazyColumns();
 		try {
 			getRepositoryAdapter().getGeneralRepository().deleteFolder(fsFolder);
 		} catch (RepositoryImmutableException | RepositoryFolderDeletionDeniedException e) {
@@ -589,6 +596,26 @@ public class BasicFolder implements Folder {
 		}
 	}
 
+	/**
+	 * Decodes the remaining values of example sets that were read lazily from entries in this folder or its
+	 * subfolders, so that the files can be moved or deleted.
+	 */
+	private void releaseLazyColumns() throws RepositoryException {
+		Path root = repositoryAdapter.getRoot();
+		if (root == null) {
+			return;
+		}
+		String path = fsFolder.getPath();
+		if (path.startsWith(String.valueOf(RepositoryLocation.SEPARATOR))) {
+			path = path.substring(1);
+		}
+		try {
+			Hdf5ExampleSetReader.releaseLazyColumns(root.resolve(path));
+		} catch (IOException e) {
+			throw new RepositoryException("Could not read example sets in " + fsFolder.getPath(), e);
+		}
+	}
+
 	@Override
 	public Collection<Action> getCustomActions() {
 		return null;
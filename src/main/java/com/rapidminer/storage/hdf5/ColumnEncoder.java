@@ -0,0 +1,288 @@
+/**
+ * Copyright (C) 2001-2020 by RapidMiner and the contributors
+ *
+ * Complete list of developers available at our web site:
+ *
+ * http://rapidminer.com
+ *
+ * This program is free software: you can redistribute it and/or modify it under the terms of the GNU Affero General
+ * Public License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any
+ * later version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied
+ * warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU Affero General Public License along with this program. If not, see
+ * http://www.gnu.org/licenses/.
+ */
+package com.rapidminer.storage.hdf5;
+
+import static com.rapidminer.storage.hdf5.ExampleSetHdf5Writer.MILLISECONDS_PER_SECOND;
+import static com.rapidminer.storage.hdf5.ExampleSetHdf5Writer.NANOS_PER_MILLISECOND;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+
+import com.rapidminer.core.concurrency.ConcurrencyContext;
+import com.rapidminer.example.Attribute;
+import com.rapidminer.example.Example;
+import com.rapidminer.example.ExampleSet;
+import com.rapidminer.operator.concurrency.internal.ConcurrencyTools;
+
+
+/**
+ * Encodes the columns of an {@link ExampleSet} ahead of the {@link ExampleSetHdf5Writer} into the values written to
+ * the file: numeric columns as doubles, nominal columns as category codes and date-time columns as seconds and
+ * nanoseconds. When a column is requested that is not encoded yet, that column and the following columns in write
+ * order are encoded concurrently, one column per task, so that the writer only needs to copy the values to the file
+ * channel. The number of columns encoded at once is limited by the parallelism of the {@link ConcurrencyContext} and
+ * by {@link #MAX_ENCODED_BYTES}. The example set must be thread-safe for read access.
+ *
+ * @since 9.7
+ * @see ExampleSetHdf5Writer#setConcurrencyContext(ConcurrencyContext)
+ */
+final class ColumnEncoder {
+
+	/** the maximal size of the encoded columns held at the same time, 64 MB */
+	static final long MAX_ENCODED_BYTES = 64L << 20;
+
+	/** the size of the widest encoding, seconds and nanoseconds of a date-time value */
+	static final int MAX_BYTES_PER_VALUE = Long.BYTES + Integer.BYTES;
+
+	/**
+	 * The values of one column as written to the file. Only the arrays of the encoding of the column are set.
+	 */
+	private static final class EncodedColumn {
+
+		private double[] numbers;
+		private int[] codes;
+		private long[] seconds;
+		private int[] nanos;
+	}
+
+	private final ExampleSet exampleSet;
+	private final List<Attribute> writeOrder;
+	private final Map<String, Integer> positions = new HashMap<>();
+	private final ConcurrencyContext context;
+	private final int batchSize;
+	private final Map<String, EncodedColumn> columns = new HashMap<>();
+
+	/** the write position of the first column of the current batch */
+	private int batchStart = -1;
+
+	/**
+	 * Creates an encoder for the given attributes of the example set.
+	 *
+	 * @param exampleSet
+	 * 		the thread-safe example set
+	 * @param writeOrder
+	 * 		the attributes in the order they are written
+	 * @param context
+	 * 		the context to use for encoding columns concurrently
+	 */
+	ColumnEncoder(ExampleSet exampleSet, List<Attribute> writeOrder, ConcurrencyContext context) {
+		this.exampleSet = exampleSet;
+		this.writeOrder = writeOrder;
+		this.context = context;
+		this.batchSize = getBatchSize(exampleSet.size(), context.getParallelism());
+		for (int i = 0; i < writeOrder.size(); i++) {
+			positions.put(writeOrder.get(i).getName(), i);
+		}
+	}
+
+	/**
+	 * Returns the number of columns encoded at once for the given number of rows. Encoding ahead is only worthwhile if
+	 * this is at least two.
+	 *
+	 * @param rows
+	 * 		the number of rows of the example set
+	 * @param parallelism
+	 * 		the parallelism of the context
+	 * @return the number of columns encoded at once
+	 */
+	static int getBatchSize(int rows, int parallelism) {
+		long columnBytes = Math.max(1, (long) rows * MAX_BYTES_PER_VALUE);
+		return (int) Math.max(1, Math.min(parallelism, MAX_ENCODED_BYTES / columnBytes));
+	}
+
+	/**
+	 * Returns the values of a numeric column.
+	 *
+	 * @param attribute
+	 * 		the attribute
+	 * @return the values or {@code null} if the column is not available, see {@link #getColumn(Attribute)}, or not
+	 * numeric
+	 * @throws IOException
+	 * 		if encoding fails with a checked exception
+	 */
+	double[] getNumbers(Attribute attribute) throws IOException {
+		EncodedColumn column = getColumn(attribute);
+		return column == null ? null : column.numbers;
+	}
+
+	/**
+	 * Returns the category codes of a nominal column, see {@link #toCode(double, int)}.
+	 *
+	 * @param attribute
+	 * 		the attribute
+	 * @return the codes or {@code null} if the column is not available, see {@link #getColumn(Attribute)}, or not
+	 * nominal
+	 * @throws IOException
+	 * 		if encoding fails with a checked exception
+	 */
+	int[] getCodes(Attribute attribute) throws IOException {
+		EncodedColumn column = getColumn(attribute);
+		return column == null ? null : column.codes;
+	}
+
+	/**
+	 * Returns the seconds of a date-time column, see {@link #toSeconds(double)}.
+	 *
+	 * @param attribute
+	 * 		the attribute
+	 * @return the seconds or {@code null} if the column is not available, see {@link #getColumn(Attribute)}, or not a
+	 * date-time column
+	 * @throws IOException
+	 * 		if encoding fails with a checked exception
+	 */
+	long[] getSeconds(Attribute attribute) throws IOException {
+		EncodedColumn column = getColumn(attribute);
+		return column == null ? null : column.seconds;
+	}
+
+	/**
+	 * Returns the sub-second parts of a date-time column, see {@link #toNanos(double)}.
+	 *
+	 * @param attribute
+	 * 		the attribute
+	 * @return the nanoseconds or {@code null} if the column is not available, see {@link #getColumn(Attribute)}, or
+	 * not a date-time column
+	 * @throws IOException
+	 * 		if encoding fails with a checked exception
+	 */
+	int[] getNanos(Attribute attribute) throws IOException {
+		EncodedColumn column = getColumn(attribute);
+		return column == null ? null : column.nanos;
+	}
+
+	/**
+	 * Converts a nominal value to its category code, {@code 0} for missing values and the index plus one otherwise.
+	 *
+	 * @param value
+	 * 		the index of the nominal value
+	 * @param mapSize
+	 * 		the size of the nominal mapping
+	 * @return the category code
+	 */
+	static int toCode(double value, int mapSize) {
+		return Double.isNaN(value) || value < 0 || value >= mapSize ? 0 : (int) value + 1;
+	}
+
+	/**
+	 * Converts a date-time value to the seconds since the epoch, {@link Long#MAX_VALUE} for missing values.
+	 *
+	 * @param value
+	 * 		the milliseconds since the epoch
+	 * @return the seconds
+	 */
+	static long toSeconds(double value) {
+		if (Double.isNaN(value)) {
+			return Long.MAX_VALUE;
+		}
+		return Math.floorDiv((long) value, MILLISECONDS_PER_SECOND);
+	}
+
+	/**
+	 * Converts a date-time value to its sub-second part in nanoseconds, {@code 0} for missing values.
+	 *
+	 * @param value
+	 * 		the milliseconds since the epoch
+	 * @return the nanoseconds
+	 */
+	static int toNanos(double value) {
+		if (Double.isNaN(value)) {
+			return 0;
+		}
+		return (int) (Math.floorMod((long) value, MILLISECONDS_PER_SECOND) * NANOS_PER_MILLISECOND);
+	}
+
+	/**
+	 * Returns the encoded column of the attribute. Columns encoded ahead of the previous request are dropped when new
+	 * columns are encoded. Columns before the current batch were already written and are not encoded again, so that
+	 * writing the second part of a column does not discard the batch.
+	 *
+	 * @return the column or {@code null} if the attribute is not part of the write order or was already dropped
+	 */
+	private EncodedColumn getColumn(Attribute attribute) throws IOException {
+		EncodedColumn result = columns.get(attribute.getName());
+		if (result == null) {
+			Integer position = positions.get(attribute.getName());
+			if (position == null || position < batchStart) {
+				return null;
+			}
+			encode(position);
+			result = columns.get(attribute.getName());
+		}
+		return result;
+	}
+
+	/**
+	 * Encodes the columns starting at the given write position concurrently.
+	 */
+	private void encode(int start) throws IOException {
+		columns.clear();
+		batchStart = start;
+		int end = Math.min(writeOrder.size(), start + batchSize);
+		List<Callable<EncodedColumn>> tasks = new ArrayList<>(end - start);
+		for (int i = start; i < end; i++) {
+			Attribute attribute = writeOrder.get(i);
+			tasks.add(() -> encode(attribute));
+		}
+		List<EncodedColumn> results;
+		try {
+			results = context.call(tasks);
+		} catch (ExecutionException e) {
+			throw ConcurrencyTools.unwrap(e, IOException.class, cause -> new IOException(cause.getMessage(), cause));
+		}
+		for (int i = start; i < end; i++) {
+			columns.put(writeOrder.get(i).getName(), results.get(i - start));
+		}
+	}
+
+	/**
+	 * Encodes the values of the attribute for all examples.
+	 */
+	private EncodedColumn encode(Attribute attribute) {
+		int size = exampleSet.size();
+		EncodedColumn column = new EncodedColumn();
+		int row = 0;
+		if (attribute.isNominal()) {
+			int mapSize = attribute.getMapping().size();
+			column.codes = new int[size];
+			for (Example example : exampleSet) {
+				column.codes[row++] = toCode(example.getValue(attribute), mapSize);
+			}
+		} else if (attribute.isDateTime()) {
+			column.seconds = new long[size];
+			column.nanos = new int[size];
+			for (Example example : exampleSet) {
+				double value = example.getValue(attribute);
+				column.seconds[row] = toSeconds(value);
+				column.nanos[row++] = toNanos(value);
+			}
+		} else {
+			column.numbers = new double[size];
+			for (Example example : exampleSet) {
+				column.numbers[row++] = example.getValue(attribute);
+			}
+		}
+		return column;
+	}
+
+}
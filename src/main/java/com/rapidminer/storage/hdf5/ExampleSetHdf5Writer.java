@@ -20,23 +20,26 @@ package com.rapidminer.storage.hdf5;
 
 import java.io.IOException;
 import java.nio.file.Path;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Iterator;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
-import java.util.function.DoubleFunction;
+import java.util.function.IntFunction;
 
 import org.apache.commons.lang3.tuple.ImmutablePair;
 import org.apache.commons.lang3.tuple.Pair;
 
+import com.rapidminer.core.concurrency.ConcurrencyContext;
 import com.rapidminer.example.Attribute;
 import com.rapidminer.example.AttributeRole;
 import com.rapidminer.example.Attributes;
 import com.rapidminer.example.Example;
 import com.rapidminer.example.ExampleSet;
 import com.rapidminer.example.Statistics;
+import com.rapidminer.example.utils.ExampleSets;
 import com.rapidminer.hdf5.CustomDataOutput;
 import com.rapidminer.hdf5.file.ColumnInfo;
 import com.rapidminer.hdf5.file.NumericColumnInfo;
@@ -110,10 +113,31 @@ public class ExampleSetHdf5Writer extends TableWriter {
 	 */
 	static final long NANOS_PER_MILLISECOND = 1_000_000;
 
+	/**
+	 * Consumer for the values of a column.
+	 */
+	@FunctionalInterface
+	private interface ValueConsumer {
+
+		void accept(double value) throws IOException;
+	}
+
+	/**
+	 * Consumer for the category codes of a nominal column.
+	 */
+	@FunctionalInterface
+	private interface CodeConsumer {
+
+		void accept(int code) throws IOException;
+	}
+
 	private final ExampleSet exampleSet;
 	private final ExampleSetMetaData md;
 	private final boolean shortenMD;
 
+	private ConcurrencyContext context;
+	private ColumnEncoder encoder;
+
 	/**
 	 * Creates a new writer for the {@link ExampleSet}.
 	 *
@@ -178,6 +202,20 @@ public class ExampleSetHdf5Writer extends TableWriter {
 		this.shortenMD = shortenMD;
 	}
 
+	/**
+	 * Sets the context used to encode the columns of the example set concurrently while writing, one column per task.
+	 * The columns are only encoded concurrently if the example set is thread-safe for read access, see
+	 * {@link ExampleSets#isThreadSafe(ExampleSet)}, and if at least two encoded columns fit into the memory bound of
+	 * the {@link ColumnEncoder}. The written file is the same either way.
+	 *
+	 * @param context
+	 * 		the context, can be {@code null} to encode the columns sequentially
+	 * @since 9.7
+	 */
+	public void setConcurrencyContext(ConcurrencyContext context) {
+		this.context = context;
+	}
+
 	/**
 	 * Writes the {@link ExampleSet} or {@link ExampleSetMetaData} to the given path. Depending on the configuration,
 	 * of this writer, writes it as a full example set or as a meta data file.
@@ -201,6 +239,8 @@ public class ExampleSetHdf5Writer extends TableWriter {
 	 * 		if writing fails
 	 */
 	public void write(Path path, boolean writeStatistics) throws IOException {
+		// lazily read example sets, possibly even the one to write, must not read from the overwritten file
+		Hdf5ExampleSetReader.releaseLazyColumns(path);
 		if (exampleSet != null) {
 			writeFromExampleSet(path, writeStatistics);
 			return;
@@ -226,12 +266,19 @@ public class ExampleSetHdf5Writer extends TableWriter {
 			}
 		}
 		ColumnInfo[] columnInfos = new ColumnInfo[allAttributeCount];
+		List<Attribute> writeOrder = new ArrayList<>(allAttributeCount);
 		for (int i = 0; i < columnInfos.length; i++) {
 			AttributeRole next = iterator.next();
 			columnInfos[i] = ColumnInfoCreator.create(next, writeStatistics ? exampleSet : null, isMetaData && shortenMD);
 			if (!isMetaData) {
 				columnInfos[i].getAdditionalAttributes().remove(ATTRIBUTE_SET_RELATION);
 			}
+			writeOrder.add(next.getAttribute());
+		}
+		if (!isMetaData && context != null && writeOrder.size() > 1
+				&& ColumnEncoder.getBatchSize(exampleSet.size(), context.getParallelism()) > 1
+				&& ExampleSets.isThreadSafe(exampleSet)) {
+			encoder = new ColumnEncoder(exampleSet, writeOrder, context);
 		}
 		Map<String, Pair<Class<?>, Object>> additionalRootAttributes = new LinkedHashMap<>();
 		additionalRootAttributes.put(ATTRIBUTE_HAS_STATISTICS, new ImmutablePair<>(byte.class, writeStatistics ? (byte) 1 : (byte) 0));
@@ -241,7 +288,11 @@ public class ExampleSetHdf5Writer extends TableWriter {
 					(wasShortened ? SetRelation.SUPERSET : SetRelation.EQUAL).toString()));
 			additionalRootAttributes.put(ATTRIBUTE_ROW_RELATION, new ImmutablePair<>(String.class, Relation.EQUAL.getRepresentation()));
 		}
-		write(columnInfos, exampleSet.getAnnotations(), rowCount, additionalRootAttributes, path);
+		try {
+			write(columnInfos, exampleSet.getAnnotations(), rowCount, additionalRootAttributes, path);
+		} finally {
+			encoder = null;
+		}
 	}
 
 	/**
@@ -280,8 +331,13 @@ public class ExampleSetHdf5Writer extends TableWriter {
 	@Override
 	public void writeDoubleData(ColumnInfo columnInfo, CustomDataOutput channel) throws IOException {
 		Attribute att = exampleSet.getAttributes().get(columnInfo.getName());
-		for (Example example : exampleSet) {
-			channel.writeDouble(example.getValue(att));
+		double[] numbers = encoder == null ? null : encoder.getNumbers(att);
+		if (numbers != null) {
+			for (double value : numbers) {
+				channel.writeDouble(value);
+			}
+		} else {
+			forEachValue(att, channel::writeDouble);
 		}
 	}
 
@@ -295,13 +351,13 @@ public class ExampleSetHdf5Writer extends TableWriter {
 	 * Writes the second part of date-time data.
 	 */
 	private void writeDateData(CustomDataOutput channel, Attribute att) throws IOException {
-		for (Example example : exampleSet) {
-			double value = example.getValue(att);
-			if (Double.isNaN(value)) {
-				channel.writeLong(Long.MAX_VALUE);
-			} else {
-				channel.writeLong(Math.floorDiv((long) value, MILLISECONDS_PER_SECOND));
+		long[] seconds = encoder == null ? null : encoder.getSeconds(att);
+		if (seconds != null) {
+			for (long value : seconds) {
+				channel.writeLong(value);
 			}
+		} else {
+			forEachValue(att, value -> channel.writeLong(ColumnEncoder.toSeconds(value)));
 		}
 	}
 
@@ -315,13 +371,13 @@ public class ExampleSetHdf5Writer extends TableWriter {
 	 * Writes the sub-second part of date-time data as nanoseconds.
 	 */
 	private void writeDateNanos(CustomDataOutput channel, Attribute att) throws IOException {
-		for (Example example : exampleSet) {
-			double value = example.getValue(att);
-			if (Double.isNaN(value)) {
-				channel.writeInt(0);
-			} else {
-				channel.writeInt((int) (Math.floorMod((long) value, MILLISECONDS_PER_SECOND) * NANOS_PER_MILLISECOND));
+		int[] nanos = encoder == null ? null : encoder.getNanos(att);
+		if (nanos != null) {
+			for (int value : nanos) {
+				channel.writeInt(value);
 			}
+		} else {
+			forEachValue(att, value -> channel.writeInt(ColumnEncoder.toNanos(value)));
 		}
 	}
 
@@ -329,27 +385,19 @@ public class ExampleSetHdf5Writer extends TableWriter {
 	public void writeCategoryData(ColumnInfo columnInfo, CustomDataOutput channel) throws IOException {
 		Attribute att = exampleSet.getAttributes().get(columnInfo.getName());
 		int nBytes = columnInfo.getDataType().width();
-		int mapSize = att.getMapping().getValues().size();
-		if (mapSize == 0) {
+		if (att.getMapping().size() == 0) {
 			channel.writeNulls(nBytes * exampleSet.size());
 		} else {
-			for (Example example : exampleSet) {
-				double d = example.getValue(att);
-				channel.writeLong(Double.isNaN(d) || d < 0 || d >= mapSize ? 0L : (long) (d + 1), nBytes);
-			}
+			forEachCode(att, code -> channel.writeLong(code, nBytes));
 		}
 	}
 
 	@Override
 	public void writeFixedLengthStrings(ColumnInfo columnInfo, CustomDataOutput channel) throws IOException {
 		Attribute att = exampleSet.getAttributes().get(columnInfo.getName());
-		DoubleFunction<String> lookup = createLookup(columnInfo, att);
+		IntFunction<String> lookup = createLookup(columnInfo, att);
 		int maxLength = columnInfo.getMaxStringLength();
-		for (Example example : exampleSet) {
-			double d = example.getValue(att);
-			String applied = lookup.apply(d);
-			writeFixedLengthString(applied, maxLength, channel);
-		}
+		forEachCode(att, code -> writeFixedLengthString(lookup.apply(code), maxLength, channel));
 
 	}
 
@@ -357,28 +405,43 @@ public class ExampleSetHdf5Writer extends TableWriter {
 	public void writeVarLengthStrings(ColumnInfo columnInfo, GlobalHeap<String> globalHeap, CustomDataOutput channel)
 			throws IOException {
 		Attribute att = exampleSet.getAttributes().get(columnInfo.getName());
-		DoubleFunction<String> lookup = createLookup(columnInfo, att);
+		IntFunction<String> lookup = createLookup(columnInfo, att);
+		forEachCode(att, code -> writeVarLengthString(lookup.apply(code), globalHeap, channel));
+
+	}
+
+	/**
+	 * Passes the values of the attribute for all examples to the consumer, directly from the example set.
+	 */
+	private void forEachValue(Attribute att, ValueConsumer consumer) throws IOException {
 		for (Example example : exampleSet) {
-			double d = example.getValue(att);
-			String applied = lookup.apply(d);
-			writeVarLengthString(applied, globalHeap, channel);
+			consumer.accept(example.getValue(att));
 		}
+	}
 
+	/**
+	 * Passes the category codes of the nominal attribute for all examples to the consumer, either from the
+	 * {@link #encoder} or directly from the example set, see {@link ColumnEncoder#toCode(double, int)}.
+	 */
+	private void forEachCode(Attribute att, CodeConsumer consumer) throws IOException {
+		int[] codes = encoder == null ? null : encoder.getCodes(att);
+		if (codes != null) {
+			for (int code : codes) {
+				consumer.accept(code);
+			}
+		} else {
+			int mapSize = att.getMapping().size();
+			forEachValue(att, d -> consumer.accept(ColumnEncoder.toCode(d, mapSize)));
+		}
 	}
 
 	/**
-	 * Creates a double to String function that converts a double value of a nominal column to a String.
+	 * Creates an int to String function that converts a category code of a nominal column to a String.
 	 */
-	private DoubleFunction<String> createLookup(ColumnInfo columnInfo, Attribute att) {
+	private IntFunction<String> createLookup(ColumnInfo columnInfo, Attribute att) {
 		List<String> values = att.getMapping().getValues();
 		String missingRepresentation = columnInfo.getMissingRepresentation();
-		DoubleFunction<String> lookup;
-		if (values.isEmpty()) {
-			lookup = d -> missingRepresentation;
-		} else {
-			lookup = d -> Double.isNaN(d) || d < 0 || d >= values.size() ? missingRepresentation : values.get((int) d);
-		}
-		return lookup;
+		return code -> code == 0 ? missingRepresentation : values.get(code - 1);
 	}
 
 	/**
@@ -19,12 +19,16 @@
 package com.rapidminer.storage.hdf5;
 
 import java.io.IOException;
+import java.nio.file.Path;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Function;
+import java.util.function.IntToDoubleFunction;
 
 import com.rapidminer.example.Attribute;
 import com.rapidminer.example.table.internal.ColumnarExampleTable;
 import com.rapidminer.hdf5.BufferedInChannel;
+import com.rapidminer.hdf5.CustomDataInput;
 import com.rapidminer.hdf5.file.TableWriter;
 
 import io.jhdf.GlobalHeap;
@@ -53,12 +57,29 @@ class Hdf5DatasetReader {
 	private final HdfFile hdfFile;
 	private final BufferedInChannel inChannel;
 	private final Map<Long, GlobalHeap> heaps;
+	private final Path lazyPath;
+	private final int rowOffset;
 
 	Hdf5DatasetReader(ColumnarExampleTable table, HdfFile hdfFile, BufferedInChannel inChannel, Map<Long, GlobalHeap> heaps) {
+		this(table, hdfFile, inChannel, heaps, null, 0);
+	}
+
+	/**
+	 * Creates a reader that, if lazyPath is not {@code null}, only decodes those columns on first access whose
+	 * values and nominal mapping can be read independently of the other rows, i.e. numeric columns, date-time
+	 * columns without additional nanoseconds and nominal columns stored as category indices. The rows of the table
+	 * are filled with the dataset rows starting at rowOffset.
+	 *
+	 * @since 9.7
+	 */
+	Hdf5DatasetReader(ColumnarExampleTable table, HdfFile hdfFile, BufferedInChannel inChannel,
+					  Map<Long, GlobalHeap> heaps, Path lazyPath, int rowOffset) {
 		this.table = table;
 		this.hdfFile = hdfFile;
 		this.inChannel = inChannel;
 		this.heaps = heaps;
+		this.lazyPath = lazyPath;
+		this.rowOffset = rowOffset;
 	}
 
 	/**
@@ -77,10 +98,15 @@ class Hdf5DatasetReader {
 		int index = 0;
 		for (Dataset dataset : datasets) {
 			Attribute attribute = attributes.get(index++);
-			table.resetColumn(attribute);
 			if (dataset instanceof ContiguousDataset) {
 				ContiguousDataset contiguousDataset = (ContiguousDataset) dataset;
-				long dataAddress = toDataAddress(hdfFile, contiguousDataset.getDataAddress());
+				long dataAddress = toRowAddress(contiguousDataset);
+				LazyDatasetLoader loader = createLazyLoader(attribute, contiguousDataset, dataAddress);
+				if (loader != null) {
+					table.setLazyColumn(attribute, loader);
+					continue;
+				}
+				table.resetColumn(attribute);
 				if (inChannel.position(dataAddress).position() != dataAddress) {
 					throw new IOException("Cannot move to position " + dataAddress);
 				}
@@ -94,6 +120,49 @@ class Hdf5DatasetReader {
 		table.complete();
 	}
 
+	/**
+	 * Creates a loader for decoding the dataset on first access if the reader is lazy and the column can be loaded
+	 * lazily.
+	 *
+	 * @return the loader or {@code null} if the column must be read directly
+	 * @throws IOException
+	 * 		if the file attributes cannot be read
+	 */
+	private LazyDatasetLoader createLazyLoader(Attribute attribute, ContiguousDataset dataset, long dataAddress)
+			throws IOException {
+		if (lazyPath == null) {
+			return null;
+		}
+		Class<?> type = dataset.getJavaType();
+		Function<CustomDataInput, IntToDoubleFunction> fillerCreator = null;
+		if (attribute.isNumerical()) {
+			if (type.equals(double.class)) {
+				fillerCreator = ColumnFillers::getDoubleColumnFiller;
+			} else if (type.equals(float.class)) {
+				fillerCreator = ColumnFillers::getFloatColumnFiller;
+			} else if (type.equals(int.class)) {
+				fillerCreator = ColumnFillers::getIntegerColumnFiller;
+			} else if (type.equals(long.class)) {
+				fillerCreator = ColumnFillers::getLongColumnFiller;
+			}
+		} else if (attribute.isDateTime()) {
+			if (type.equals(long.class) && dataset.getAttribute(TableWriter.ATTRIBUTE_ADDITIONAL) == null) {
+				fillerCreator = ColumnFillers::getLongDateColumnFiller;
+			}
+		} else if (type.equals(byte.class)) {
+			fillerCreator = ColumnFillers::getByteIndexColumnFiller;
+		} else if (type.equals(short.class)) {
+			fillerCreator = ColumnFillers::getShortIndexColumnFiller;
+		} else if (type.equals(int.class)) {
+			fillerCreator = ColumnFillers::getIntIndexColumnFiller;
+		}
+		if (fillerCreator == null) {
+			return null;
+		}
+		return new LazyDatasetLoader(lazyPath, dataAddress, dataset.getDataType().getSize(), table.size(),
+				fillerCreator);
+	}
+
 	/**
 	 * Reads the data from the dataset into the table at the column for the attribute.
 	 *
@@ -171,7 +240,7 @@ class Hdf5DatasetReader {
 			Dataset nanoData = getDatasetByAddress(hdfFile, address);
 			if (nanoData instanceof ContiguousDataset) {
 				ContiguousDataset contiguousDataset = (ContiguousDataset) nanoData;
-				long dataAddress = toDataAddress(hdfFile, contiguousDataset.getDataAddress());
+				long dataAddress = toRowAddress(contiguousDataset);
 				if (inChannel.position(dataAddress).position() == dataAddress) {
 					table.fillColumn(attribute, ColumnFillers.getNanoDateFiller(inChannel, table, attribute));
 				} else {
@@ -220,6 +289,20 @@ class Hdf5DatasetReader {
 	}
 
 
+	/**
+	 * Returns the absolute position of the first row to read from the dataset.
+	 */
+	private long toRowAddress(ContiguousDataset dataset) {
+		long dataAddress = toDataAddress(hdfFile, dataset.getDataAddress());
+		if (rowOffset == 0) {
+			return dataAddress;
+		}
+		// variable length entries consist of the length, the global heap address and the index in the heap
+		int width = dataset.getDataType() instanceof VariableLength ? 8 + hdfFile.getHdfChannel().getSizeOfOffsets()
+				: dataset.getDataType().getSize();
+		return dataAddress + (long) rowOffset * width;
+	}
+
 	/**
 	 * Converts a hdf relative address to the absolute position in the file.
 	 *
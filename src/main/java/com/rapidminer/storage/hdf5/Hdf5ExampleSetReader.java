@@ -36,6 +36,7 @@ import com.rapidminer.example.set.SimpleExampleSet;
 import com.rapidminer.example.table.AttributeFactory;
 import com.rapidminer.example.table.internal.ColumnarExampleTable;
 import com.rapidminer.example.utils.ExampleSetBuilder;
+import com.rapidminer.example.utils.ExampleSetProjection;
 import com.rapidminer.hdf5.BufferedInChannel;
 import com.rapidminer.hdf5.file.ColumnInfo;
 import com.rapidminer.hdf5.file.TableWriter;
@@ -112,12 +113,57 @@ public enum Hdf5ExampleSetReader {
 	 * 		in case the content of the hdf5 file does not match the admissible format
 	 */
 	public static ExampleSet read(Path path) throws IOException {
+		return read(path, false);
+	}
+
+	/**
+	 * Reads an {@link ExampleSet} from the hdf5 file at the given path. See the class javadoc for the admissible
+	 * formats. If lazy is {@code true}, numeric, date-time and category index columns are not read directly but only
+	 * decoded chunk-wise when their values are accessed, so that only the data used later on is held in memory. In
+	 * this case {@link #releaseLazyColumns(Path)} must be called before the file is overwritten, moved or deleted.
+	 *
+	 * @param path
+	 * 		the path to read from
+	 * @param lazy
+	 * 		whether columns should be decoded on first access
+	 * @return the example set read from the path
+	 * @throws IOException
+	 * 		if reading fails
+	 * @throws HdfReaderException
+	 * 		in case the content of the hdf5 file does not match the admissible format
+	 * @since 9.7
+	 */
+	public static ExampleSet read(Path path, boolean lazy) throws IOException {
+		return read(path, lazy, null);
+	}
+
+	/**
+	 * Reads the part of the {@link ExampleSet} described by the projection from the hdf5 file at the given path. Only
+	 * the datasets of the selected attributes are read and only the selected rows of them. See
+	 * {@link #read(Path, boolean)} for the lazy mode.
+	 *
+	 * @param path
+	 * 		the path to read from
+	 * @param lazy
+	 * 		whether columns should be decoded on first access
+	 * @param projection
+	 * 		the attributes and rows to read, can be {@code null} to read everything
+	 * @return the example set read from the path
+	 * @throws IOException
+	 * 		if reading fails
+	 * @throws HdfReaderException
+	 * 		in case the content of the hdf5 file does not match the admissible format
+	 * @since 9.7
+	 */
+	public static ExampleSet read(Path path, boolean lazy, ExampleSetProjection projection) throws IOException {
 		try (HdfFile hdfFile = new HdfFile(path)) {
 			if (isMetadata(hdfFile)) {
 				throw new HdfReaderException(Reason.IS_META_DATA, "File only contains meta data");
 			}
 
 			int numberOfRows = getNonnegativeIntAttribute(hdfFile, TableWriter.ATTRIBUTE_ROWS);
+			int fromRow = projection == null ? 0 : projection.getFromRow(numberOfRows);
+			int toRow = projection == null ? numberOfRows : projection.getToRow(numberOfRows);
 			int numberOfColumns = getNonnegativeIntAttribute(hdfFile, TableWriter.ATTRIBUTE_COLUMNS);
 
 			List<Attribute> attributes = new ArrayList<>(numberOfColumns);
@@ -129,18 +175,22 @@ public enum Hdf5ExampleSetReader {
 				Hdf5MappingReader mappingReader = new Hdf5MappingReader(hdfFile, inChannel, heaps);
 				for (int i = 0; i < numberOfColumns; i++) {
 					Dataset set = getDatasetOrException(hdfFile, i);
-					sets.add(set);
 					Attribute attribute = createAttribute(set, AttributeFactory::createAttribute);
+					if (projection != null && !projection.includes(attribute.getName())) {
+						continue;
+					}
+					sets.add(set);
 					mappingReader.addMapping(set, attribute);
 					attributes.add(attribute);
 					addRole(set, value -> roles.put(attribute, value));
 				}
 
-				ExampleSet set = createExampleSet(numberOfRows, attributes, roles);
+				ExampleSet set = createExampleSet(toRow - fromRow, attributes, roles);
 				addAnnotations(hdfFile, set.getAnnotations());
-				if (numberOfRows > 0) {
+				if (toRow > fromRow) {
 					ColumnarExampleTable table = (ColumnarExampleTable) set.getExampleTable();
-					new Hdf5DatasetReader(table, hdfFile, inChannel, heaps).fillTable(attributes, sets);
+					new Hdf5DatasetReader(table, hdfFile, inChannel, heaps, lazy ? path : null, fromRow)
+							.fillTable(attributes, sets);
 				}
 				return set;
 			}
@@ -149,6 +199,21 @@ public enum Hdf5ExampleSetReader {
 		}
 	}
 
+	/**
+	 * Decodes all values of example sets {@link #read(Path, boolean) read lazily} from the given path that were not
+	 * decoded yet, so that the file can be overwritten, moved or deleted afterwards. If the path is a directory, this
+	 * is done for all files in it and its subdirectories.
+	 *
+	 * @param path
+	 * 		the path of the hdf5 file or of a directory
+	 * @throws IOException
+	 * 		if reading the remaining values fails
+	 * @since 9.7
+	 */
+	public static void releaseLazyColumns(Path path) throws IOException {
+		LazyDatasetLoader.detachAll(path);
+	}
+
 	/**
 	 * Reads an {@link ExampleSetMetaData} from the hdf5 file at the given path. See the class javadoc for the
 	 * admissible formats. Ignores missing hdf5 statistics attributes or their wrong formats but fails on violations
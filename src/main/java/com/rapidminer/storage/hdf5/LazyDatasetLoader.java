@@ -0,0 +1,189 @@
+/**
+ * Copyright (C) 2001-2020 by RapidMiner and the contributors
+ *
+ * Complete list of developers available at our web site:
+ *
+ * http://rapidminer.com
+ *
+ * This program is free software: you can redistribute it and/or modify it under the terms of the GNU Affero General
+ * Public License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any
+ * later version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied
+ * warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU Affero General Public License along with this program. If not, see
+ * http://www.gnu.org/licenses/.
+ */
+package com.rapidminer.storage.hdf5;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.WeakHashMap;
+import java.util.function.Function;
+import java.util.function.IntToDoubleFunction;
+
+import com.rapidminer.example.table.internal.ColumnarExampleTable;
+import com.rapidminer.hdf5.BufferedInChannel;
+import com.rapidminer.hdf5.CustomDataInput;
+
+
+/**
+ * {@link ColumnarExampleTable.ChunkLoader} that decodes the values of a contiguous fixed-width dataset from the hdf5
+ * file only when they are requested. The file is opened for every request and not kept open in between, so that it
+ * is not locked as long as the example set is in use.
+ * <p>
+ * Since the file or its directory might be overwritten, moved or deleted while lazy columns still reference it, the
+ * loaders of a file must be {@link #detachAll(Path) detached} before that happens. Detaching decodes all values into memory. The
+ * size and modification time of the file are checked once, on the first load after the loader was created. Loading from
+ * a file that was changed before fails with a {@link HdfReaderException}.
+ *
+ * @since 9.7
+ * @see Hdf5DatasetReader
+ */
+final class LazyDatasetLoader implements ColumnarExampleTable.ChunkLoader {
+
+	/** All loaders that are still referenced by some lazy column */
+	private static final Set<LazyDatasetLoader> LOADERS = Collections.newSetFromMap(new WeakHashMap<>());
+
+	private final Path path;
+	private final long dataAddress;
+	private final int width;
+	private final int rows;
+	private final Function<CustomDataInput, IntToDoubleFunction> fillerCreator;
+	private final long fileSize;
+	private final FileTime lastModified;
+
+	private volatile double[] detachedValues;
+
+	/** whether the file was found unchanged since the loader was created */
+	private volatile boolean validated;
+
+	/**
+	 * Creates a loader for the dataset at the given address.
+	 *
+	 * @param path
+	 * 		the path of the hdf5 file
+	 * @param dataAddress
+	 * 		the absolute position of the data in the file
+	 * @param width
+	 * 		the number of bytes per value
+	 * @param rows
+	 * 		the number of values
+	 * @param fillerCreator
+	 * 		creates the column filler decoding the values from a channel
+	 * @throws IOException
+	 * 		if the file attributes cannot be read
+	 * @throws HdfReaderException
+	 * 		if the file is too short to contain the dataset
+	 */
+	LazyDatasetLoader(Path path, long dataAddress, int width, int rows,
+					  Function<CustomDataInput, IntToDoubleFunction> fillerCreator) throws IOException {
+		this.path = path.toAbsolutePath().normalize();
+		this.dataAddress = dataAddress;
+		this.width = width;
+		this.rows = rows;
+		this.fillerCreator = fillerCreator;
+		this.fileSize = Files.size(this.path);
+		this.lastModified = Files.getLastModifiedTime(this.path);
+		if (dataAddress + (long) rows * width > fileSize) {
+			throw new HdfReaderException(HdfReaderException.Reason.INCONSISTENT_FILE, "end of file reached before " +
+					"the end of the dataset at " + dataAddress);
+		}
+		synchronized (LOADERS) {
+			LOADERS.add(this);
+		}
+	}
+
+	@Override
+	public void load(int from, int to, double[] buffer) {
+		double[] values = detachedValues;
+		if (values != null) {
+			System.arraycopy(values, from, buffer, 0, to - from);
+			return;
+		}
+		try {
+			read(from, to, buffer);
+		} catch (IOException e) {
+			throw new ColumnFillers.IORuntimeException(e);
+		}
+	}
+
+	/**
+	 * Decodes all values into memory so that the file is not accessed anymore.
+	 *
+	 * @throws IOException
+	 * 		if reading fails
+	 */
+	private synchronized void detach() throws IOException {
+		if (detachedValues == null) {
+			double[] values = new double[rows];
+			read(0, rows, values);
+			detachedValues = values;
+		}
+	}
+
+	/**
+	 * Reads the values for the rows from {@code from} (inclusive) to {@code to} (exclusive) into the buffer.
+	 */
+	private void read(int from, int to, double[] buffer) throws IOException {
+		if (from >= to) {
+			return;
+		}
+		try (FileChannel fileChannel = FileChannel.open(path, StandardOpenOption.READ);
+			 BufferedInChannel inChannel = new BufferedInChannel(fileChannel, 1 << 16)) {
+			if (!validated) {
+				if (fileChannel.size() != fileSize || !lastModified.equals(Files.getLastModifiedTime(path))) {
+					throw new HdfReaderException(HdfReaderException.Reason.INCONSISTENT_FILE, "file " + path +
+							" was changed after it was read");
+				}
+				validated = true;
+			}
+			long position = dataAddress + (long) from * width;
+			if (inChannel.position(position).position() != position) {
+				throw new IOException("Cannot move to position " + position);
+			}
+			IntToDoubleFunction filler = fillerCreator.apply(inChannel);
+			for (int i = from; i < to; i++) {
+				buffer[i - from] = filler.applyAsDouble(i);
+			}
+		}
+	}
+
+	/**
+	 * Detaches all loaders that read from the file at the given path or from files in the directory at the given
+	 * path. Must be called before the file or directory is overwritten, moved or deleted.
+	 *
+	 * @param path
+	 * 		the path of the hdf5 file or of a directory
+	 * @throws IOException
+	 * 		if reading the remaining values fails
+	 */
+	static void detachAll(Path path) throws IOException {
+		Path normalized = path.toAbsolutePath().normalize();
+		List<LazyDatasetLoader> toDetach = new ArrayList<>();
+		synchronized (LOADERS) {
+			for (LazyDatasetLoader loader : LOADERS) {
+				if (loader.detachedValues == null && loader.path.startsWith(normalized)) {
+					toDetach.add(loader);
+				}
+			}
+		}
+		for (LazyDatasetLoader loader : toDetach) {
+			loader.detach();
+			synchronized (LOADERS) {
+				LOADERS.remove(loader);
+			}
+		}
+	}
+
+}
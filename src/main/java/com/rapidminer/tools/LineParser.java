@@ -164,6 +164,11 @@ public class LineParser {
 		}
 		// if (useQuotes) {
 		if (splitPattern.toString().length() > 1) {
+			char escapedSplitChar = getEscapedSplitCharacter(splitPattern.toString());
+			if (escapedSplitChar != NONE) {
+				return quotedSplit(trimLine ? line.trim() : line, escapedSplitChar, useQuotes ? quoteCharacter : NONE,
+						quoteEscapeCharacter);
+			}
 			return split(line, splitPattern, trimLine, useQuotes ? quoteCharacter : NONE, quoteEscapeCharacter);
 		} else if (splitPattern.toString().length() == 1) {
 			return fastSplit(line, splitPattern.toString().charAt(0), trimLine, useQuotes ? quoteCharacter : NONE,
@@ -191,6 +196,94 @@ public class LineParser {
 		return Tools.quotedSplit(trimLine ? s.trim() : s, splitPattern, quoteCharacter, quoteEscapeCharacter);
 	}
 
+	/**
+	 * Splits the given line exactly like {@link Tools#quotedSplit(String, Pattern, char, char)} does
+	 * with a pattern matching only the given split character, but without regular expressions.
+	 * Separators inside of quotes are not regarded, quotes following the escape character do not
+	 * start or end a quoted part.
+	 *
+	 * @param line
+	 *            the string to be splitted
+	 * @param splitChar
+	 *            the character which separates the values
+	 * @param quoteChar
+	 *            the character used for value quotes
+	 * @param escapeChar
+	 *            the character which prevents a following quote character from quoting
+	 * @return an array with the splitted strings
+	 * @since 9.7
+	 */
+	public static String[] quotedSplit(String line, char splitChar, char quoteChar, char escapeChar) {
+		// the parts between the quotes which are not escaped, every second part was quoted
+		List<String> quotedParts = new ArrayList<>();
+		int start = 0;
+		for (int i = 0; i < line.length(); i++) {
+			if (line.charAt(i) == quoteChar && (i == 0 || line.charAt(i - 1) != escapeChar)) {
+				quotedParts.add(removeQuoteEscapes(line.substring(start, i)));
+				start = i + 1;
+			}
+		}
+		if (quotedParts.isEmpty() || start < line.length()) {
+			quotedParts.add(removeQuoteEscapes(line.substring(start)));
+		}
+
+		List<String> result = new ArrayList<>();
+		int lastPart = quotedParts.size() - 1;
+		for (int index = 0; index <= lastPart; index++) {
+			String part = quotedParts.get(index);
+			if (index == 0 && part.trim().isEmpty()) {
+				// empty start before a leading quote
+				continue;
+			}
+			if (index % 2 == 1) {
+				result.add(part);
+				continue;
+			}
+			// empty values are only missing in the middle, at the start or at the end of the line
+			int lastValue = 0;
+			for (int i = 0; i < part.length(); i++) {
+				if (part.charAt(i) == splitChar) {
+					lastValue++;
+				}
+			}
+			int valueStart = 0;
+			for (int value = 0; value <= lastValue; value++) {
+				int valueEnd = value == lastValue ? part.length() : part.indexOf(splitChar, valueStart);
+				String currentValue = part.substring(valueStart, valueEnd).trim();
+				if (!currentValue.isEmpty() || (value == 0 && index == 0) || (value == lastValue && index == lastPart)
+						|| (value > 0 && value < lastValue)) {
+					result.add(currentValue);
+				}
+				valueStart = valueEnd + 1;
+			}
+		}
+		return result.toArray(new String[result.size()]);
+	}
+
+	/**
+	 * Replaces escaped double quotes by double quotes like {@link Tools#quotedSplit(String, Pattern,
+	 * char, char)} does, independent of the quote and escape characters.
+	 */
+	private static String removeQuoteEscapes(String part) {
+		return part.indexOf("\\\"") < 0 ? part : part.replace("\\\"", "\"");
+	}
+
+	/**
+	 * Returns the character matched by a split expression consisting of a single escaped character,
+	 * like {@code \|} or {@code \t}, or {@link #NONE} for all other expressions.
+	 */
+	private static char getEscapedSplitCharacter(String splitExpression) {
+		if (splitExpression.length() != 2 || splitExpression.charAt(0) != '\\') {
+			return NONE;
+		}
+		char escaped = splitExpression.charAt(1);
+		if (escaped == 't') {
+			return '\t';
+		}
+		// a backslash before a character that is not a letter or digit always matches the character itself
+		return Character.isLetterOrDigit(escaped) ? NONE : escaped;
+	}
+
 	/**
 	 * Splits the given line at each split character which is not in quotes and not following an
 	 * escape character.
@@ -104,6 +104,12 @@ public class RandomGenerator extends Random {
 	 */
 	private static final ThreadLocal<WeakReference<Process>> THREAD_TO_PROCESS = new ThreadLocal<>();
 
+	/**
+	 * The random generator of the operator task that is currently executed by this thread, see
+	 * {@link #initTask(Process, long)}.
+	 */
+	private static final ThreadLocal<TaskRandomGenerator> TASK_RANDOM_GENERATOR = new ThreadLocal<>();
+
 	/**
 	 * Map of processes to their respective random generators. Mainly used for background execution
 	 * processes to manage parallel executed iterations to provide independent random generators.
@@ -161,6 +167,10 @@ public class RandomGenerator extends Random {
 
 	/** Returns the global random number generator for the given context/thread. */
 	public static RandomGenerator getGlobalRandomGenerator() {
+		RandomGenerator taskRg = getTaskRandomGenerator(null);
+		if (taskRg != null) {
+			return taskRg;
+		}
 		RandomGenerator rg = GLOBAL_RANDOM_GENERATOR.get();
 		if (rg != null) {
 			return rg;
@@ -205,6 +215,10 @@ public class RandomGenerator extends Random {
 			if (process == null) {
 				return getGlobalRandomGenerator();
 			}
+			RandomGenerator taskRg = getTaskRandomGenerator(process);
+			if (taskRg != null) {
+				return taskRg;
+			}
 			RandomGenerator rg = GLOBAL_RANDOM_GENERATOR_MAP.get(process);
 			return rg != null ? rg : GLOBAL_RANDOM_GENERATOR_MAP.get(null);
 		} else {
@@ -262,6 +276,59 @@ public class RandomGenerator extends Random {
 		setRandomGenerator(process, rg);
 	}
 
+	/**
+	 * Associates a new {@link RandomGenerator} with the given seed with the given {@link Process} for
+	 * the current thread, until {@link #finishTask(Process)} is called. This allows executing
+	 * operators of the same process concurrently, each with its own generator, without cloning them.
+	 * Tasks can be nested, e.g. if a thread of a pool executes another task while waiting. Will do
+	 * nothing if process is {@code null}.
+	 *
+	 * @param process
+	 * 		the process the task belongs to
+	 * @param seed
+	 * 		the seed of the generator of the task
+	 * @since 9.7
+	 */
+	public static void initTask(Process process, long seed) {
+		if (process == null) {
+			return;
+		}
+		TASK_RANDOM_GENERATOR.set(new TaskRandomGenerator(process, new RandomGenerator(seed), TASK_RANDOM_GENERATOR.get()));
+	}
+
+	/**
+	 * Removes the {@link RandomGenerator} of the current task of the given {@link Process}, see
+	 * {@link #initTask(Process, long)}. Will do nothing if the current thread does not execute a task
+	 * of the process.
+	 *
+	 * @param process
+	 * 		the process the task belongs to
+	 * @since 9.7
+	 */
+	public static void finishTask(Process process) {
+		TaskRandomGenerator task = TASK_RANDOM_GENERATOR.get();
+		if (task == null || task.process != process) {
+			return;
+		}
+		if (task.previous == null) {
+			TASK_RANDOM_GENERATOR.remove();
+		} else {
+			TASK_RANDOM_GENERATOR.set(task.previous);
+		}
+	}
+
+	/**
+	 * Returns the {@link RandomGenerator} of the task the current thread executes if the task belongs
+	 * to the given process or if the process is {@code null}.
+	 */
+	private static RandomGenerator getTaskRandomGenerator(Process process) {
+		TaskRandomGenerator task = TASK_RANDOM_GENERATOR.get();
+		if (task == null || process != null && task.process != process) {
+			return null;
+		}
+		return task.generator;
+	}
+
 	/**
 	 * Stash the current {@link RandomGenerator} of the given {@link Process} to {@link #restore(Process) restore}
 	 * it later. Also returns the current generator for the given process using
@@ -467,4 +534,21 @@ public class RandomGenerator extends Random {
 		}
 		return set;
 	}
+
+	/** The generator of an operator task and the generator of the task it interrupted, if any. */
+	private static final class TaskRandomGenerator {
+
+		private final Process process;
+
+		private final RandomGenerator generator;
+
+		private final TaskRandomGenerator previous;
+
+		private TaskRandomGenerator(Process process, RandomGenerator generator, TaskRandomGenerator previous) {
+			this.process = process;
+			this.generator = generator;
+			this.previous = previous;
+		}
+	}
+
 }
@@ -0,0 +1,219 @@
+/**
+ * Copyright (C) 2001-2020 by RapidMiner and the contributors
+ * 
+ * Complete list of developers available at our web site:
+ * 
+ * http://rapidminer.com
+ * 
+ * This program is free software: you can redistribute it and/or modify it under the terms of the
+ * GNU Affero General Public License as published by the Free Software Foundation, either version 3
+ * of the License, or (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without
+ * even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Affero General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Affero General Public License along with this program.
+ * If not, see http://www.gnu.org/licenses/.
+*/
+package com.rapidminer.tools.container;
+
+import java.util.Arrays;
+
+
+/**
+ * Assigns consecutive indices to composite keys of double values. The keys are stored in a primitive open addressing
+ * hash table, so that neither the keys nor their indices need to be boxed. Keys are compared the same way as by
+ * {@link Arrays#equals(double[], double[])}, so {@link Double#NaN NaN} values are equal.
+ * <p>
+ * The indices are assigned in the order in which the keys are added. Users can keep additional data per key in
+ * arrays indexed by the key index.
+ *
+ * @since 9.7
+ */
+public final class CompositeKeyTable {
+
+	/** marks the absence of a key */
+	public static final int NO_KEY = -1;
+
+	/** the initial number of hash slots, must be a power of two */
+	private static final int INITIAL_SLOTS = 64;
+
+	private final int width;
+
+	/** the values of all keys, {@link #width} values per key */
+	private double[] keys;
+	private int[] hashes;
+
+	/** the key index + 1 per slot, 0 marks empty slots */
+	private int[] slots = new int[INITIAL_SLOTS];
+
+	private int size;
+
+	/**
+	 * Creates an empty table.
+	 *
+	 * @param width
+	 *            the number of values per key
+	 */
+	public CompositeKeyTable(int width) {
+		this.width = width;
+		this.keys = new double[INITIAL_SLOTS / 2 * width];
+		this.hashes = new int[INITIAL_SLOTS / 2];
+	}
+
+	/**
+	 * @return the number of values per key
+	 */
+	public int getWidth() {
+		return width;
+	}
+
+	/**
+	 * @return the number of distinct keys
+	 */
+	public int size() {
+		return size;
+	}
+
+	/**
+	 * Returns the index of the given key.
+	 *
+	 * @param key
+	 *            the key, must have {@link #getWidth()} values
+	 * @return the key index or {@link #NO_KEY} if the key was never added
+	 */
+	public int find(double[] key) {
+		int hash = hash(key);
+		int slot = findSlot(key, hash);
+		return slots[slot] - 1;
+	}
+
+	/**
+	 * Returns the index of the given key and adds the key if it is not yet part of the table. A new key gets the
+	 * index {@link #size()} had before the call.
+	 *
+	 * @param key
+	 *            the key, must have {@link #getWidth()} values, is copied when added
+	 * @return the key index
+	 */
+	public int getOrAdd(double[] key) {
+		return getOrAdd(key, hash(key));
+	}
+
+	/**
+	 * Returns the index of the given key and adds the key if it is not yet part of the table. Allows to reuse the
+	 * hash of a key of another table, see {@link #getHash(int)}.
+	 *
+	 * @param key
+	 *            the key, must have {@link #getWidth()} values, is copied when added
+	 * @param hash
+	 *            the {@link #hash(double[]) hash} of the key
+	 * @return the key index
+	 */
+	public int getOrAdd(double[] key, int hash) {
+		int slot = findSlot(key, hash);
+		if (slots[slot] != 0) {
+			return slots[slot] - 1;
+		}
+
+		// new key
+		int keyIndex = size++;
+		if (keyIndex == hashes.length) {
+			int capacity = hashes.length * 2;
+			hashes = Arrays.copyOf(hashes, capacity);
+			keys = Arrays.copyOf(keys, capacity * width);
+		}
+		hashes[keyIndex] = hash;
+		System.arraycopy(key, 0, keys, keyIndex * width, width);
+		slots[slot] = keyIndex + 1;
+		if (size * 2 > slots.length) {
+			rehash();
+		}
+		return keyIndex;
+	}
+
+	/**
+	 * Returns a single value of a key.
+	 *
+	 * @param keyIndex
+	 *            the index of the key
+	 * @param position
+	 *            the position of the value within the key
+	 * @return the value
+	 */
+	public double getValue(int keyIndex, int position) {
+		return keys[keyIndex * width + position];
+	}
+
+	/**
+	 * Copies the values of a key into the given buffer.
+	 *
+	 * @param keyIndex
+	 *            the index of the key
+	 * @param buffer
+	 *            the buffer of length {@link #getWidth()}
+	 */
+	public void copyKey(int keyIndex, double[] buffer) {
+		System.arraycopy(keys, keyIndex * width, buffer, 0, width);
+	}
+
+	/**
+	 * @return the hash of the key with the given index
+	 */
+	public int getHash(int keyIndex) {
+		return hashes[keyIndex];
+	}
+
+	/**
+	 * Computes the hash of a key as used by the table.
+	 *
+	 * @param key
+	 *            the key
+	 * @return the hash
+	 */
+	public static int hash(double[] key) {
+		int hash = Arrays.hashCode(key);
+		// spread the bits since the slots are selected by the lower bits only
+		hash *= 0x9E3779B9;
+		return hash ^ hash >>> 16;
+	}
+
+	/**
+	 * @return the slot of the given key or the empty slot where it would be inserted
+	 */
+	private int findSlot(double[] key, int hash) {
+		int mask = slots.length - 1;
+		int slot = hash & mask;
+		while (slots[slot] != 0) {
+			int keyIndex = slots[slot] - 1;
+			if (hashes[keyIndex] == hash && keyEquals(keyIndex, key)) {
+				return slot;
+			}
+			slot = slot + 1 & mask;
+		}
+		return slot;
+	}
+
+	private void rehash() {
+		slots = new int[slots.length * 2];
+		int mask = slots.length - 1;
+		for (int keyIndex = 0; keyIndex < size; keyIndex++) {
+			int slot = hashes[keyIndex] & mask;
+			while (slots[slot] != 0) {
+				slot = slot + 1 & mask;
+			}
+			slots[slot] = keyIndex + 1;
+		}
+	}
+
+	private boolean keyEquals(int keyIndex, double[] key) {
+		int offset = keyIndex * width;
+		for (int i = 0; i < width; i++) {
+			if (Double.doubleToLongBits(keys[offset + i]) != Double.doubleToLongBits(key[i])) {
+				return false;
+			}
+		}
+		return true;
+	}
+}
@@ -58,6 +58,21 @@ public class ExpressionException extends Exception {
 		this(message, -1);
 	}
 
+	/**
+	 * Creates an ExpressionException with associated error message, the cause and unknown line for
+	 * where the error happened.
+	 *
+	 * @param message
+	 *            the error message
+	 * @param cause
+	 *            the cause
+	 * @since 9.7
+	 */
+	public ExpressionException(String message, Throwable cause) {
+		super(message, cause);
+		errorLine = -1;
+	}
+
 	/**
 	 * Creates an ExpressionException with the cause, associated error message and unknown line for
 	 * where the error happened.
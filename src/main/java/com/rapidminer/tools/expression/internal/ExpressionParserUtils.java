@@ -44,6 +44,8 @@ import com.rapidminer.tools.expression.ExpressionParserBuilder;
 import com.rapidminer.tools.expression.ExpressionRegistry;
 import com.rapidminer.tools.expression.ExpressionType;
 import com.rapidminer.tools.expression.MacroResolver;
+import com.rapidminer.tools.expression.internal.antlr.AntlrParser;
+import com.rapidminer.tools.expression.internal.antlr.VectorizedExpression;
 
 
 /**
@@ -56,6 +58,12 @@ import com.rapidminer.tools.expression.MacroResolver;
  */
 public final class ExpressionParserUtils {
 
+	/**
+	 * The minimal number of examples for which {@link #addAttribute} tries the column-wise
+	 * evaluation of numerical expressions, see {@link VectorizedExpression}
+	 */
+	private static final int MIN_VECTORIZED_SIZE = 10_000;
+
 	private ExpressionParserUtils() {
 		throw new UnsupportedOperationException("Static utility class");
 	}
@@ -160,6 +168,17 @@ public final class ExpressionParserUtils {
 		// parse the expression
 		Expression parsedExpression = parser.parse(expression);
 
+		// evaluate numerical expressions column-wise if possible
+		ExpressionType resultType = parsedExpression.getExpressionType();
+		double[] vectorizedValues = null;
+		if ((resultType == ExpressionType.DOUBLE || resultType == ExpressionType.INTEGER)
+				&& exampleSet.size() >= MIN_VECTORIZED_SIZE && parser instanceof AntlrParser) {
+			VectorizedExpression vectorized = ((AntlrParser) parser).parseVectorized(expression);
+			if (vectorized != null) {
+				vectorizedValues = vectorized.evaluate(exampleSet, executingOperator);
+			}
+		}
+
 		Attribute newAttribute = null;
 		// if != null this needs to be overridden
 		Attribute existingAttribute = exampleSet.getAttributes().get(name);
@@ -178,7 +197,6 @@ public final class ExpressionParserUtils {
 			name = name + appendix.toString();
 		}
 
-		ExpressionType resultType = parsedExpression.getExpressionType();
 		int ontology = resultType.getAttributeType();
 		if (ontology == Ontology.BINOMINAL) {
 			newAttribute = AttributeFactory.createAttribute(name, Ontology.BINOMINAL);
@@ -195,35 +213,42 @@ public final class ExpressionParserUtils {
 		exampleSet.getExampleTable().addAttribute(newAttribute);
 		exampleSet.getAttributes().addRegular(newAttribute);
 
-		// create attribute of correct type and all values
-		for (Example example : exampleSet) {
-			if (executingOperator != null) {
-				executingOperator.checkForStop();
+		if (vectorizedValues != null) {
+			int row = 0;
+			for (Example example : exampleSet) {
+				example.setValue(newAttribute, vectorizedValues[row++]);
 			}
+		} else {
+			// create attribute of correct type and all values
+			for (Example example : exampleSet) {
+				if (executingOperator != null) {
+					executingOperator.checkForStop();
+				}
 
-			// bind example to resolver
-			resolver.bind(example);
-
-			// calculate result
-			try {
-				switch (resultType) {
-					case DOUBLE:
-					case INTEGER:
-						example.setValue(newAttribute, parsedExpression.evaluateNumerical());
-						break;
-					case DATE:
-						Date date = parsedExpression.evaluateDate();
-						example.setValue(newAttribute, date == null ? Double.NaN : date.getTime());
-						break;
-					default:
-						example.setValue(newAttribute, parsedExpression.evaluateNominal());
-						break;
+				// bind example to resolver
+				resolver.bind(example);
+
+				// calculate result
+				try {
+					switch (resultType) {
+						case DOUBLE:
+						case INTEGER:
+							example.setValue(newAttribute, parsedExpression.evaluateNumerical());
+							break;
+						case DATE:
+							Date date = parsedExpression.evaluateDate();
+							example.setValue(newAttribute, date == null ? Double.NaN : date.getTime());
+							break;
+						default:
+							example.setValue(newAttribute, parsedExpression.evaluateNominal());
+							break;
+					}
+				} finally {
+					// avoid memory leaks
+					resolver.unbind();
 				}
-			} finally {
-				// avoid memory leaks
-				resolver.unbind();
-			}
 
+			}
 		}
 
 		// remove existing attribute (if necessary)
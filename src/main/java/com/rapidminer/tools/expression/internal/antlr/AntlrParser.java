@@ -18,6 +18,10 @@
 */
 package com.rapidminer.tools.expression.internal.antlr;
 
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
 import org.antlr.v4.runtime.ANTLRInputStream;
 import org.antlr.v4.runtime.CommonTokenStream;
 import org.antlr.v4.runtime.tree.ParseTree;
@@ -39,6 +43,27 @@ import com.rapidminer.tools.expression.ExpressionParsingException;
  */
 public class AntlrParser implements ExpressionParser {
 
+	/** the max number of entries in the parse tree cache */
+	private static final int MAX_CACHE_SIZE = 500;
+
+	/**
+	 * this map contains the parse trees of successfully parsed expressions. The parse tree only
+	 * depends on the expression text and not on the {@link ExpressionContext}, so it can be shared
+	 * by all parsers. This speeds up operators executed in loops and the {@code eval} function with
+	 * non-constant arguments. Will drop the oldest parse trees that have not been used if the max
+	 * cache size is exceeded.
+	 */
+	private static final Map<String, ParseTree> PARSE_TREE_CACHE = Collections
+			.synchronizedMap(new LinkedHashMap<String, ParseTree>(MAX_CACHE_SIZE + 1, 0.75f, true) {
+
+				private static final long serialVersionUID = 1L;
+
+				@Override
+				public boolean removeEldestEntry(Map.Entry<String, ParseTree> eldest) {
+					return size() > MAX_CACHE_SIZE;
+				}
+			});
+
 	private ExpressionContext lookup;
 
 	/**
@@ -52,17 +77,30 @@ public class AntlrParser implements ExpressionParser {
 	}
 
 	/**
-	 * Parses the expression using antlr, aborts the parsing on the first error.
+	 * Parses the expression using antlr, aborts the parsing on the first error. Parse trees are
+	 * cached, so parsing the same expression again does not invoke antlr.
 	 *
 	 * @param expression
 	 *            an expression, not {@code null}
-	 * @return a {@link ParseTree} for further processing
+	 * @return a {@link ParseTree} for further processing, must not be modified
 	 * @throws ExpressionException
 	 */
 	ParseTree parseExpression(String expression) throws ExpressionException {
 		if (expression == null) {
 			throw new IllegalArgumentException("expression must not be null");
 		}
+		ParseTree tree = PARSE_TREE_CACHE.get(expression);
+		if (tree == null) {
+			tree = parseUncached(expression);
+			PARSE_TREE_CACHE.put(expression, tree);
+		}
+		return tree;
+	}
+
+	/**
+	 * Parses the expression using antlr without looking at the cache.
+	 */
+	private static ParseTree parseUncached(String expression) throws ExpressionException {
 		ANTLRInputStream in = new ANTLRInputStream(expression);
 		FunctionExpressionLexer lexer = new CapitulatingFunctionExpressionLexer(in);
 		CommonTokenStream tokens = new CommonTokenStream(lexer);
@@ -132,6 +170,27 @@ public class AntlrParser implements ExpressionParser {
 		return new EvaluatorCreationVisitor(lookup).visit(tree);
 	}
 
+	/**
+	 * Parses the expression for the column-wise evaluation, see {@link VectorizedExpression}.
+	 *
+	 * @param expression
+	 *            the expression to parse
+	 * @return the vectorized expression or {@code null} if the expression contains parts that
+	 *         cannot be evaluated column-wise
+	 * @throws ExpressionException
+	 *             if the parsing failed
+	 * @since 9.7
+	 */
+	public VectorizedExpression parseVectorized(String expression) throws ExpressionException {
+		ParseTree tree = parseExpression(expression);
+		VectorizationVisitor visitor = new VectorizationVisitor(lookup);
+		VectorizedExpression.Node root = visitor.visit(tree);
+		if (root == null) {
+			return null;
+		}
+		return new VectorizedExpression(root, visitor.getColumns());
+	}
+
 	@Override
 	public ExpressionContext getExpressionContext() {
 		return lookup;
@@ -0,0 +1,255 @@
+/**
+ * Copyright (C) 2001-2020 by RapidMiner and the contributors
+ * 
+ * Complete list of developers available at our web site:
+ * 
+ * http://rapidminer.com
+ * 
+ * This program is free software: you can redistribute it and/or modify it under the terms of the
+ * GNU Affero General Public License as published by the Free Software Foundation, either version 3
+ * of the License, or (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without
+ * even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Affero General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Affero General Public License along with this program.
+ * If not, see http://www.gnu.org/licenses/.
+*/
+package com.rapidminer.tools.expression.internal.antlr;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.Callable;
+
+import com.rapidminer.tools.expression.ExpressionContext;
+import com.rapidminer.tools.expression.ExpressionEvaluator;
+import com.rapidminer.tools.expression.ExpressionParsingException;
+import com.rapidminer.tools.expression.ExpressionType;
+import com.rapidminer.tools.expression.Function;
+import com.rapidminer.tools.expression.internal.antlr.FunctionExpressionParser.AttributeContext;
+import com.rapidminer.tools.expression.internal.antlr.FunctionExpressionParser.FunctionContext;
+import com.rapidminer.tools.expression.internal.antlr.FunctionExpressionParser.IndirectScopeConstantContext;
+import com.rapidminer.tools.expression.internal.antlr.FunctionExpressionParser.IntegerContext;
+import com.rapidminer.tools.expression.internal.antlr.FunctionExpressionParser.LowerExpContext;
+import com.rapidminer.tools.expression.internal.antlr.FunctionExpressionParser.OperationExpContext;
+import com.rapidminer.tools.expression.internal.antlr.FunctionExpressionParser.RealContext;
+import com.rapidminer.tools.expression.internal.antlr.FunctionExpressionParser.ScopeConstantContext;
+import com.rapidminer.tools.expression.internal.antlr.FunctionExpressionParser.StringContext;
+import com.rapidminer.tools.expression.internal.antlr.FunctionExpressionParser.VariableContext;
+import com.rapidminer.tools.expression.internal.antlr.VectorizedExpression.Binary;
+import com.rapidminer.tools.expression.internal.antlr.VectorizedExpression.Column;
+import com.rapidminer.tools.expression.internal.antlr.VectorizedExpression.Constant;
+import com.rapidminer.tools.expression.internal.antlr.VectorizedExpression.Node;
+import com.rapidminer.tools.expression.internal.antlr.VectorizedExpression.Unary;
+import com.rapidminer.tools.expression.internal.function.VectorizableFunction;
+
+
+/**
+ * Visitor that recursively builds the {@link Node}s of a {@link VectorizedExpression}. Returns
+ * {@code null} for every part of the {@link org.antlr.v4.runtime.tree.ParseTree ParseTree} that
+ * cannot be evaluated column-wise, that is everything that is not a numerical constant, a
+ * numerical attribute or a numerical function with an array computation. Should only be used on
+ * expressions that were successfully parsed by the {@link EvaluatorCreationVisitor}.
+ *
+ * @since 9.7
+ */
+class VectorizationVisitor extends FunctionExpressionParserBaseVisitor<Node> {
+
+	private static final Callable<Void> NO_STOP_CHECKER = () -> null;
+
+	private final ExpressionContext lookUp;
+
+	private final Map<String, Integer> columns = new LinkedHashMap<>();
+
+	/**
+	 * Creates a Visitor that recursively builds the nodes of a {@link VectorizedExpression}.
+	 *
+	 * @param lookUp
+	 *            the {@link ExpressionContext} for looking up functions, variables and scope
+	 *            constants
+	 */
+	VectorizationVisitor(ExpressionContext lookUp) {
+		this.lookUp = lookUp;
+	}
+
+	/**
+	 * @return the names of the attributes used by the visited expression, the position of a name
+	 *         is the column index of the associated {@link Column} node
+	 */
+	String[] getColumns() {
+		return columns.keySet().toArray(new String[columns.size()]);
+	}
+
+	@Override
+	public Node visitOperationExp(OperationExpContext ctx) {
+		if (ctx.op == null) {
+			return visit(ctx.atomExp());
+		} else {
+			Node[] inputs = new Node[ctx.operationExp().size() == 1 ? 1 : 2];
+			for (int i = 0; i < inputs.length; i++) {
+				inputs[i] = visit(ctx.operationExp(i));
+			}
+			return createFunctionNode(lookUp.getFunction(ctx.op.getText()), inputs);
+		}
+	}
+
+	@Override
+	public Node visitLowerExp(LowerExpContext ctx) {
+		return visit(ctx.operationExp());
+	}
+
+	@Override
+	public Node visitFunction(FunctionContext ctx) {
+		int numberOfInner = ctx.operationExp().size();
+		Node[] inputs = new Node[numberOfInner];
+		for (int i = 0; i < numberOfInner; i++) {
+			inputs[i] = visit(ctx.operationExp(i));
+		}
+		return createFunctionNode(lookUp.getFunction(ctx.NAME().getText()), inputs);
+	}
+
+	@Override
+	public Node visitAttribute(AttributeContext ctx) {
+		return createColumnNode(getAttributeName(ctx.getText()));
+	}
+
+	/**
+	 * Deletes the enclosing [ ], unescapes [ ] and \
+	 */
+	private String getAttributeName(String text) {
+		String attributeName = text.substring(1, text.length() - 1);
+		return attributeName.replace("\\[", "[").replace("\\]", "]").replace("\\\\", "\\");
+	}
+
+	@Override
+	public Node visitVariable(VariableContext ctx) {
+		String name = ctx.getText();
+		ExpressionEvaluator variableEvaluator = lookUp.getVariable(name);
+		if (variableEvaluator == null) {
+			return null;
+		} else if (variableEvaluator.isConstant()) {
+			return createConstantNode(variableEvaluator);
+		} else {
+			return createColumnNode(name);
+		}
+	}
+
+	@Override
+	public Node visitScopeConstant(ScopeConstantContext ctx) {
+		ExpressionEvaluator scopeConstantEvaluator = lookUp.getScopeConstant(getScopeConstantName(ctx.getText()));
+		if (scopeConstantEvaluator == null) {
+			return null;
+		}
+		return createConstantNode(scopeConstantEvaluator);
+	}
+
+	/**
+	 * Deletes the enclosing %{ } or #{ }, unescapes {,} and \
+	 */
+	private String getScopeConstantName(String text) {
+		String scopeName = text.substring(2, text.length() - 1);
+		return scopeName.replace("\\{", "{").replace("\\}", "}").replace("\\\\", "\\");
+	}
+
+	@Override
+	public Node visitIndirectScopeConstant(IndirectScopeConstantContext ctx) {
+		String attributeName = lookUp.getScopeString(getScopeConstantName(ctx.getText()));
+		if (attributeName == null) {
+			return null;
+		}
+		return createColumnNode(attributeName);
+	}
+
+	@Override
+	public Node visitString(StringContext ctx) {
+		return null;
+	}
+
+	@Override
+	public Node visitReal(RealContext ctx) {
+		return new Constant(Double.parseDouble(ctx.getText()), ExpressionType.DOUBLE);
+	}
+
+	@Override
+	public Node visitInteger(IntegerContext ctx) {
+		return new Constant(Double.parseDouble(ctx.getText()), ExpressionType.INTEGER);
+	}
+
+	/**
+	 * Creates a constant node for a numerical constant evaluator.
+	 */
+	private Node createConstantNode(ExpressionEvaluator evaluator) {
+		ExpressionType type = evaluator.getType();
+		if (!evaluator.isConstant() || type != ExpressionType.DOUBLE && type != ExpressionType.INTEGER) {
+			return null;
+		}
+		try {
+			return new Constant(evaluator.getDoubleFunction().call(), type);
+		} catch (Exception e) {
+			return null;
+		}
+	}
+
+	/**
+	 * Creates a column node for the numerical dynamic variable with the given name.
+	 */
+	private Node createColumnNode(String attributeName) {
+		ExpressionEvaluator attributeEvaluator = lookUp.getDynamicVariable(attributeName);
+		if (attributeEvaluator == null || attributeEvaluator.isConstant()) {
+			return null;
+		}
+		ExpressionType type = attributeEvaluator.getType();
+		if (type != ExpressionType.DOUBLE && type != ExpressionType.INTEGER) {
+			return null;
+		}
+		Integer index = columns.get(attributeName);
+		if (index == null) {
+			index = columns.size();
+			columns.put(attributeName, index);
+		}
+		return new Column(index, type);
+	}
+
+	/**
+	 * Creates the node that applies the function to the inputs. Only {@link VectorizableFunction}s
+	 * that declare themselves {@link VectorizableFunction#isVectorizable() vectorizable} are
+	 * evaluated column-wise. The result type is determined by the function itself, so that type
+	 * checks and constant folding are the same as for the row-wise evaluation.
+	 */
+	private Node createFunctionNode(Function function, Node[] inputs) {
+		if (!(function instanceof VectorizableFunction) || !((VectorizableFunction) function).isVectorizable()) {
+			return null;
+		}
+		VectorizableFunction vectorizable = (VectorizableFunction) function;
+		ExpressionEvaluator[] placeholders = new ExpressionEvaluator[inputs.length];
+		for (int i = 0; i < inputs.length; i++) {
+			if (inputs[i] == null) {
+				return null;
+			}
+			placeholders[i] = inputs[i].toPlaceholder();
+		}
+
+		ExpressionEvaluator result;
+		try {
+			result = function.compute(NO_STOP_CHECKER, placeholders);
+		} catch (ExpressionParsingException e) {
+			return null;
+		}
+		ExpressionType type = result.getType();
+		if (type != ExpressionType.DOUBLE && type != ExpressionType.INTEGER) {
+			return null;
+		}
+		if (result.isConstant()) {
+			return createConstantNode(result);
+		}
+
+		if (inputs.length == 1) {
+			return new Unary(vectorizable::compute, inputs[0], type);
+		} else if (inputs.length == 2) {
+			return new Binary(vectorizable::compute, inputs[0], inputs[1], type);
+		}
+		return null;
+	}
+
+}
@@ -0,0 +1,416 @@
+/**
+ * Copyright (C) 2001-2020 by RapidMiner and the contributors
+ * 
+ * Complete list of developers available at our web site:
+ * 
+ * http://rapidminer.com
+ * 
+ * This program is free software: you can redistribute it and/or modify it under the terms of the
+ * GNU Affero General Public License as published by the Free Software Foundation, either version 3
+ * of the License, or (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without
+ * even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Affero General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Affero General Public License along with this program.
+ * If not, see http://www.gnu.org/licenses/.
+*/
+package com.rapidminer.tools.expression.internal.antlr;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+
+import com.rapidminer.core.concurrency.ConcurrencyContext;
+import com.rapidminer.example.Attribute;
+import com.rapidminer.example.Example;
+import com.rapidminer.example.ExampleSet;
+import com.rapidminer.example.set.SimpleExampleSet;
+import com.rapidminer.example.table.NumericalAttribute;
+import com.rapidminer.example.table.internal.ColumnarExampleTable;
+import com.rapidminer.example.utils.ExampleSets;
+import com.rapidminer.operator.Operator;
+import com.rapidminer.operator.ProcessStoppedException;
+import com.rapidminer.operator.concurrency.internal.ConcurrencyTools;
+import com.rapidminer.studio.internal.Resources;
+import com.rapidminer.tools.I18N;
+import com.rapidminer.tools.expression.DoubleCallable;
+import com.rapidminer.tools.expression.ExpressionEvaluator;
+import com.rapidminer.tools.expression.ExpressionException;
+import com.rapidminer.tools.expression.ExpressionParsingException;
+import com.rapidminer.tools.expression.ExpressionType;
+import com.rapidminer.tools.expression.internal.SimpleExpressionEvaluator;
+
+
+/**
+ * A numerical expression that is evaluated column-wise. Instead of evaluating the expression tree
+ * once per example, every node of the tree computes its values for a chunk of examples at once,
+ * using the array computations of the functions. Missing values are {@link Double#NaN} as for the
+ * row-wise evaluation, so both evaluations yield the same results. Chunks are evaluated
+ * concurrently if the example set is thread-safe for reading.
+ * <p>
+ * Created by {@link AntlrParser#parseVectorized(String)} for expressions that only consist of
+ * numerical constants, numerical attributes and functions that provide array computations.
+ *
+ * @since 9.7
+ */
+public final class VectorizedExpression {
+
+	/** Computes the results of a function with one argument for an array of values. */
+	@FunctionalInterface
+	interface UnaryKernel {
+
+		void compute(double[] values, double[] result, int length);
+	}
+
+	/** Computes the results of a function with two arguments for arrays of values. */
+	@FunctionalInterface
+	interface BinaryKernel {
+
+		void compute(double[] left, double[] right, double[] result, int length);
+	}
+
+	/**
+	 * The state of the evaluation of one chunk, must not be shared between threads. The values are
+	 * read from the columns of the table if the example set is a plain view on a
+	 * {@link ColumnarExampleTable} and from the buffered examples otherwise.
+	 */
+	static final class Workspace {
+
+		private final Attribute[] attributes;
+		private final ColumnarExampleTable table;
+		private final boolean[] plain;
+		private final Example[] examples;
+		private final Deque<double[]> buffers = new ArrayDeque<>();
+		private int start;
+		private int size;
+
+		private Workspace(Attribute[] attributes, ColumnarExampleTable table) {
+			this.attributes = attributes;
+			this.table = table;
+			if (table != null) {
+				plain = new boolean[attributes.length];
+				for (int i = 0; i < attributes.length; i++) {
+					plain[i] = attributes[i].getClass() == NumericalAttribute.class
+							&& attributes[i].getLastTransformation() == null;
+				}
+				examples = null;
+			} else {
+				plain = null;
+				examples = new Example[CHUNK_SIZE];
+			}
+		}
+
+		/**
+		 * @return a buffer for intermediate results of at least the chunk size
+		 */
+		private double[] borrow() {
+			double[] buffer = buffers.poll();
+			return buffer == null ? new double[CHUNK_SIZE] : buffer;
+		}
+
+		private void release(double[] buffer) {
+			buffers.push(buffer);
+		}
+	}
+
+	/** A node of the expression tree that computes its values for the examples of a chunk. */
+	abstract static class Node {
+
+		final ExpressionType type;
+
+		Node(ExpressionType type) {
+			this.type = type;
+		}
+
+		/**
+		 * Stores the values of this node for the examples of the workspace in the result array.
+		 */
+		abstract void evaluate(Workspace workspace, double[] result);
+
+		/**
+		 * @return an {@link ExpressionEvaluator} with the type and constancy of this node, used to
+		 *         determine the result types of functions
+		 */
+		ExpressionEvaluator toPlaceholder() {
+			DoubleCallable missing = () -> Double.NaN;
+			return new SimpleExpressionEvaluator(missing, type, false);
+		}
+	}
+
+	/** A numerical constant. */
+	static final class Constant extends Node {
+
+		private final double value;
+
+		Constant(double value, ExpressionType type) {
+			super(type);
+			this.value = value;
+		}
+
+		@Override
+		void evaluate(Workspace workspace, double[] result) {
+			Arrays.fill(result, 0, workspace.size, value);
+		}
+
+		@Override
+		ExpressionEvaluator toPlaceholder() {
+			return new SimpleExpressionEvaluator(value, type);
+		}
+	}
+
+	/**
+	 * The values of a numerical attribute. Integer values are rounded down as by the
+	 * {@link com.rapidminer.tools.expression.ExampleResolver}.
+	 */
+	static final class Column extends Node {
+
+		private final int index;
+
+		Column(int index, ExpressionType type) {
+			super(type);
+			this.index = index;
+		}
+
+		@Override
+		void evaluate(Workspace workspace, double[] result) {
+			Attribute attribute = workspace.attributes[index];
+			int size = workspace.size;
+			if (workspace.table == null) {
+				Example[] examples = workspace.examples;
+				for (int i = 0; i < size; i++) {
+					result[i] = examples[i].getNumericalValue(attribute);
+				}
+			} else if (workspace.plain[index]) {
+				workspace.table.readColumn(attribute, workspace.start, workspace.start + size, result);
+			} else {
+				for (int i = 0; i < size; i++) {
+					result[i] = attribute.getValue(workspace.table.getDataRow(workspace.start + i));
+				}
+			}
+			if (type == ExpressionType.INTEGER) {
+				for (int i = 0; i < size; i++) {
+					result[i] = Math.floor(result[i]);
+				}
+			}
+		}
+	}
+
+	/** A function with one argument. */
+	static final class Unary extends Node {
+
+		private final UnaryKernel kernel;
+		private final Node input;
+
+		Unary(UnaryKernel kernel, Node input, ExpressionType type) {
+			super(type);
+			this.kernel = kernel;
+			this.input = input;
+		}
+
+		@Override
+		void evaluate(Workspace workspace, double[] result) {
+			input.evaluate(workspace, result);
+			kernel.compute(result, result, workspace.size);
+		}
+	}
+
+	/** A function with two arguments. */
+	static final class Binary extends Node {
+
+		private final BinaryKernel kernel;
+		private final Node left;
+		private final Node right;
+
+		Binary(BinaryKernel kernel, Node left, Node right, ExpressionType type) {
+			super(type);
+			this.kernel = kernel;
+			this.left = left;
+			this.right = right;
+		}
+
+		@Override
+		void evaluate(Workspace workspace, double[] result) {
+			left.evaluate(workspace, result);
+			double[] rightValues = workspace.borrow();
+			try {
+				right.evaluate(workspace, rightValues);
+				kernel.compute(result, rightValues, result, workspace.size);
+			} finally {
+				workspace.release(rightValues);
+			}
+		}
+	}
+
+	/** The number of examples evaluated at once */
+	static final int CHUNK_SIZE = 4096;
+
+	/** The number of concurrent tasks per thread, determines the number of chunks per task */
+	private static final int TASKS_PER_THREAD = 4;
+
+	private final Node root;
+	private final String[] columns;
+
+	/**
+	 * Creates a vectorized expression.
+	 *
+	 * @param root
+	 *            the root of the expression tree
+	 * @param columns
+	 *            the names of the attributes referenced by the {@link Column} nodes
+	 */
+	VectorizedExpression(Node root, String[] columns) {
+		this.root = root;
+		this.columns = columns;
+	}
+
+	/**
+	 * @return the type of the expression, either {@link ExpressionType#DOUBLE} or
+	 *         {@link ExpressionType#INTEGER}
+	 */
+	public ExpressionType getExpressionType() {
+		return root.type;
+	}
+
+	/**
+	 * Evaluates the expression for all examples of the example set.
+	 *
+	 * @param exampleSet
+	 *            the example set providing the attribute values, is not modified
+	 * @param executingOperator
+	 *            the operator calling this method. <code>null</code> is allowed. If not null the
+	 *            operator will be used to check for stop and to evaluate concurrently
+	 * @return the results in the order of the examples
+	 * @throws ProcessStoppedException
+	 *             in case the process was stopped by the user
+	 * @throws ExpressionException
+	 *             if an attribute of the expression is not part of the example set or the
+	 *             evaluation fails
+	 */
+	public double[] evaluate(ExampleSet exampleSet, Operator executingOperator)
+			throws ProcessStoppedException, ExpressionException {
+		Attribute[] attributes = new Attribute[columns.length];
+		for (int i = 0; i < columns.length; i++) {
+			attributes[i] = exampleSet.getAttributes().get(columns[i]);
+			if (attributes[i] == null) {
+				throw new ExpressionException(I18N.getErrorMessage("expression_parser.unknown_attribute", columns[i]));
+			}
+		}
+
+		double[] results = new double[exampleSet.size()];
+		ColumnarExampleTable table = null;
+		if (exampleSet.getClass() == SimpleExampleSet.class
+				&& exampleSet.getExampleTable().getClass() == ColumnarExampleTable.class) {
+			table = (ColumnarExampleTable) exampleSet.getExampleTable();
+		}
+		ConcurrencyContext context = null;
+		if (executingOperator != null && executingOperator.getProcess() != null && results.length > CHUNK_SIZE) {
+			context = Resources.getConcurrencyContext(executingOperator);
+		}
+		try {
+			if (context != null && context.getParallelism() > 1 && ExampleSets.isThreadSafe(exampleSet)) {
+				evaluateConcurrently(exampleSet, attributes, table, results, executingOperator, context);
+			} else if (table != null) {
+				evaluateRange(exampleSet, new Workspace(attributes, table), 0, results.length, results, executingOperator);
+			} else {
+				evaluateSequentially(exampleSet, attributes, results, executingOperator);
+			}
+		} catch (ExpressionParsingException e) {
+			throw new ExpressionException(e);
+		}
+		return results;
+	}
+
+	/**
+	 * Evaluates the chunks one after another while iterating over the example set.
+	 */
+	private void evaluateSequentially(ExampleSet exampleSet, Attribute[] attributes, double[] results,
+			Operator executingOperator) throws ProcessStoppedException {
+		Workspace workspace = new Workspace(attributes, null);
+		double[] chunkResult = new double[CHUNK_SIZE];
+		int start = 0;
+		for (Example example : exampleSet) {
+			workspace.examples[workspace.size++] = example;
+			if (workspace.size == CHUNK_SIZE) {
+				evaluateChunk(workspace, chunkResult, results, start, executingOperator);
+				start += CHUNK_SIZE;
+			}
+		}
+		if (workspace.size > 0) {
+			evaluateChunk(workspace, chunkResult, results, start, executingOperator);
+		}
+	}
+
+	/**
+	 * Evaluates ranges of chunks concurrently, every task reads its examples or columns by index.
+	 */
+	private void evaluateConcurrently(ExampleSet exampleSet, Attribute[] attributes, ColumnarExampleTable table,
+			double[] results, Operator executingOperator, ConcurrencyContext context)
+			throws ProcessStoppedException, ExpressionException {
+		int numberOfChunks = (results.length + CHUNK_SIZE - 1) / CHUNK_SIZE;
+		int numberOfTasks = Math.min(numberOfChunks, context.getParallelism() * TASKS_PER_THREAD);
+		int chunksPerTask = (numberOfChunks + numberOfTasks - 1) / numberOfTasks;
+		List<Callable<Void>> tasks = new ArrayList<>(numberOfTasks);
+		for (int taskStart = 0; taskStart < results.length; taskStart += chunksPerTask * CHUNK_SIZE) {
+			int from = taskStart;
+			int to = Math.min(results.length, taskStart + chunksPerTask * CHUNK_SIZE);
+			tasks.add(() -> {
+				evaluateRange(exampleSet, new Workspace(attributes, table), from, to, results, executingOperator);
+				return null;
+			});
+		}
+		try {
+			context.call(tasks);
+		} catch (ExecutionException e) {
+			if (e.getCause() instanceof ProcessStoppedException) {
+				throw (ProcessStoppedException) e.getCause();
+			}
+			throw ConcurrencyTools.unwrap(e, ExpressionException.class,
+					cause -> new ExpressionException(cause.getMessage(), cause));
+		}
+	}
+
+	/**
+	 * Evaluates the chunks of the given row range one after another, reading the examples by index
+	 * unless the workspace reads from the columns directly.
+	 */
+	private void evaluateRange(ExampleSet exampleSet, Workspace workspace, int from, int to, double[] results,
+			Operator executingOperator) throws ProcessStoppedException {
+		double[] chunkResult = new double[CHUNK_SIZE];
+		for (int start = from; start < to; start += CHUNK_SIZE) {
+			int end = Math.min(to, start + CHUNK_SIZE);
+			if (workspace.examples == null) {
+				workspace.size = end - start;
+			} else {
+				for (int row = start; row < end; row++) {
+					workspace.examples[workspace.size++] = exampleSet.getExample(row);
+				}
+			}
+			workspace.start = start;
+			evaluateChunk(workspace, chunkResult, results, start, executingOperator);
+		}
+	}
+
+	/**
+	 * Evaluates the examples of the workspace, copies the results to the given position and
+	 * empties the workspace.
+	 */
+	private void evaluateChunk(Workspace workspace, double[] chunkResult, double[] results, int start,
+			Operator executingOperator) throws ProcessStoppedException {
+		if (executingOperator != null) {
+			executingOperator.checkForStop();
+		}
+		root.evaluate(workspace, chunkResult);
+		System.arraycopy(chunkResult, 0, results, start, workspace.size);
+		if (workspace.examples != null) {
+			Arrays.fill(workspace.examples, 0, workspace.size, null);
+		}
+		workspace.size = 0;
+	}
+
+}
@@ -113,6 +113,24 @@ public abstract class Abstract1DoubleInputFunction extends AbstractFunction {
 	 */
 	protected abstract double compute(double value1);
 
+	/**
+	 * Computes the results for the first length entries of the values array using
+	 * {@link #compute(double)}. Used for the column-wise evaluation of expressions.
+	 *
+	 * @param values
+	 *            the input values
+	 * @param result
+	 *            the array to store the results in, can be the values array
+	 * @param length
+	 *            the number of entries to compute
+	 * @since 9.7
+	 */
+	public void compute(double[] values, double[] result, int length) {
+		for (int i = 0; i < length; i++) {
+			result[i] = compute(values[i]);
+		}
+	}
+
 	@Override
 	protected ExpressionType computeType(ExpressionType... inputTypes) {
 		ExpressionType input = inputTypes[0];
@@ -141,6 +141,26 @@ public abstract class Abstract2DoubleInputFunction extends AbstractFunction {
 	 */
 	protected abstract double compute(double value1, double value2);
 
+	/**
+	 * Computes the results for the first length entries of the input arrays using
+	 * {@link #compute(double, double)}. Used for the column-wise evaluation of expressions.
+	 *
+	 * @param left
+	 *            the left input values
+	 * @param right
+	 *            the right input values
+	 * @param result
+	 *            the array to store the results in, can be one of the input arrays
+	 * @param length
+	 *            the number of entries to compute
+	 * @since 9.7
+	 */
+	public void compute(double[] left, double[] right, double[] result, int length) {
+		for (int i = 0; i < length; i++) {
+			result[i] = compute(left[i], right[i]);
+		}
+	}
+
 	@Override
 	protected ExpressionType computeType(ExpressionType... inputTypes) {
 		ExpressionType left = inputTypes[0];
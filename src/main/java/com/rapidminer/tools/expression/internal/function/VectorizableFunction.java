@@ -0,0 +1,80 @@
+/**
+ * Copyright (C) 2001-2020 by RapidMiner and the contributors
+ * 
+ * Complete list of developers available at our web site:
+ * 
+ * http://rapidminer.com
+ * 
+ * This program is free software: you can redistribute it and/or modify it under the terms of the
+ * GNU Affero General Public License as published by the Free Software Foundation, either version 3
+ * of the License, or (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without
+ * even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Affero General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Affero General Public License along with this program.
+ * If not, see http://www.gnu.org/licenses/.
+*/
+package com.rapidminer.tools.expression.internal.function;
+
+import com.rapidminer.tools.expression.Function;
+
+
+/**
+ * A {@link Function} that can be evaluated column-wise for numerical inputs by computing the
+ * results for arrays of values at once. Whether this is possible is decided by
+ * {@link #isVectorizable()} and not by implementing this interface, since subclasses inherit the
+ * interface but may change how the evaluators are created.
+ *
+ * @since 9.7
+ */
+public interface VectorizableFunction {
+
+	/**
+	 * Returns whether the evaluators created by this function for numerical inputs only apply the
+	 * array computations of this interface to their inputs. Implementations should only return
+	 * {@code true} for the exact class that was checked, so that subclasses are not evaluated
+	 * column-wise unless they opt in themselves.
+	 *
+	 * @return whether the function can be evaluated column-wise
+	 */
+	boolean isVectorizable();
+
+	/**
+	 * Computes the results of the function with one argument for the first length entries of the
+	 * values array.
+	 *
+	 * @param values
+	 *            the input values
+	 * @param result
+	 *            the array to store the results in, can be the values array
+	 * @param length
+	 *            the number of entries to compute
+	 * @throws UnsupportedOperationException
+	 *             if the function does not accept one argument
+	 */
+	default void compute(double[] values, double[] result, int length) {
+		throw new UnsupportedOperationException();
+	}
+
+	/**
+	 * Computes the results of the function with two arguments for the first length entries of the
+	 * input arrays.
+	 *
+	 * @param left
+	 *            the left input values
+	 * @param right
+	 *            the right input values
+	 * @param result
+	 *            the array to store the results in, can be one of the input arrays
+	 * @param length
+	 *            the number of entries to compute
+	 * @throws UnsupportedOperationException
+	 *             if the function does not accept two arguments
+	 */
+	default void compute(double[] left, double[] right, double[] result, int length) {
+		throw new UnsupportedOperationException();
+	}
+
+}
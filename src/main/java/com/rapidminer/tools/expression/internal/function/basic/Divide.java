@@ -22,6 +22,7 @@ import com.rapidminer.tools.Ontology;
 import com.rapidminer.tools.expression.ExpressionType;
 import com.rapidminer.tools.expression.FunctionInputException;
 import com.rapidminer.tools.expression.internal.function.Abstract2DoubleInputFunction;
+import com.rapidminer.tools.expression.internal.function.VectorizableFunction;
 
 
 /**
@@ -30,7 +31,7 @@ import com.rapidminer.tools.expression.internal.function.Abstract2DoubleInputFun
  * @author Gisa Schaefer
  *
  */
-public class Divide extends Abstract2DoubleInputFunction {
+public class Divide extends Abstract2DoubleInputFunction implements VectorizableFunction {
 
 	/**
 	 * Constructs a division function.
@@ -57,4 +58,16 @@ public class Divide extends Abstract2DoubleInputFunction {
 		return value1 / value2;
 	}
 
+	@Override
+	public void compute(double[] left, double[] right, double[] result, int length) {
+		for (int i = 0; i < length; i++) {
+			result[i] = left[i] / right[i];
+		}
+	}
+
+	@Override
+	public boolean isVectorizable() {
+		return getClass() == Divide.class;
+	}
+
 }
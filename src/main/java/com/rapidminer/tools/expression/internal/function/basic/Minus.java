@@ -27,6 +27,7 @@ import com.rapidminer.tools.expression.FunctionDescription;
 import com.rapidminer.tools.expression.FunctionInputException;
 import com.rapidminer.tools.expression.internal.SimpleExpressionEvaluator;
 import com.rapidminer.tools.expression.internal.function.Abstract2DoubleInputFunction;
+import com.rapidminer.tools.expression.internal.function.VectorizableFunction;
 
 
 /**
@@ -35,7 +36,7 @@ import com.rapidminer.tools.expression.internal.function.Abstract2DoubleInputFun
  * @author Gisa Schaefer
  *
  */
-public class Minus extends Abstract2DoubleInputFunction {
+public class Minus extends Abstract2DoubleInputFunction implements VectorizableFunction {
 
 	/**
 	 * Constructs a subtraction function.
@@ -119,4 +120,28 @@ public class Minus extends Abstract2DoubleInputFunction {
 		return value1 - value2;
 	}
 
+	/**
+	 * Computes the negation of the first length entries of the values array.
+	 *
+	 * @since 9.7
+	 */
+	@Override
+	public void compute(double[] values, double[] result, int length) {
+		for (int i = 0; i < length; i++) {
+			result[i] = -values[i];
+		}
+	}
+
+	@Override
+	public void compute(double[] left, double[] right, double[] result, int length) {
+		for (int i = 0; i < length; i++) {
+			result[i] = left[i] - right[i];
+		}
+	}
+
+	@Override
+	public boolean isVectorizable() {
+		return getClass() == Minus.class;
+	}
+
 }
@@ -20,6 +20,7 @@ package com.rapidminer.tools.expression.internal.function.basic;
 
 import com.rapidminer.tools.Ontology;
 import com.rapidminer.tools.expression.internal.function.Abstract2DoubleInputFunction;
+import com.rapidminer.tools.expression.internal.function.VectorizableFunction;
 
 
 /**
@@ -28,7 +29,7 @@ import com.rapidminer.tools.expression.internal.function.Abstract2DoubleInputFun
  * @author Gisa Schaefer
  *
  */
-public class Multiply extends Abstract2DoubleInputFunction {
+public class Multiply extends Abstract2DoubleInputFunction implements VectorizableFunction {
 
 	/**
 	 * Constructs a multiplication function.
@@ -42,4 +43,16 @@ public class Multiply extends Abstract2DoubleInputFunction {
 		return value1 * value2;
 	}
 
+	@Override
+	public void compute(double[] left, double[] right, double[] result, int length) {
+		for (int i = 0; i < length; i++) {
+			result[i] = left[i] * right[i];
+		}
+	}
+
+	@Override
+	public boolean isVectorizable() {
+		return getClass() == Multiply.class;
+	}
+
 }
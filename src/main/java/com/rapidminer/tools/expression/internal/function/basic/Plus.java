@@ -33,6 +33,7 @@ import com.rapidminer.tools.expression.FunctionDescription;
 import com.rapidminer.tools.expression.FunctionInputException;
 import com.rapidminer.tools.expression.internal.SimpleExpressionEvaluator;
 import com.rapidminer.tools.expression.internal.function.Abstract2DoubleInputFunction;
+import com.rapidminer.tools.expression.internal.function.VectorizableFunction;
 
 
 /**
@@ -41,7 +42,7 @@ import com.rapidminer.tools.expression.internal.function.Abstract2DoubleInputFun
  * @author Gisa Schaefer
  *
  */
-public class Plus extends Abstract2DoubleInputFunction {
+public class Plus extends Abstract2DoubleInputFunction implements VectorizableFunction {
 
 	/**
 	 * The {@link ExpressionType}s that are allowed to be added to a ExpressionType.STRING
@@ -410,6 +411,13 @@ public class Plus extends Abstract2DoubleInputFunction {
 		return value1 + value2;
 	}
 
+	@Override
+	public void compute(double[] left, double[] right, double[] result, int length) {
+		for (int i = 0; i < length; i++) {
+			result[i] = left[i] + right[i];
+		}
+	}
+
 	@Override
 	protected ExpressionType computeType(ExpressionType... inputTypes) {
 		ExpressionType firstType = inputTypes[0];
@@ -437,4 +445,22 @@ public class Plus extends Abstract2DoubleInputFunction {
 
 	}
 
+	/**
+	 * Copies the first length entries of the values array, the addition with one argument is the
+	 * identity.
+	 *
+	 * @since 9.7
+	 */
+	@Override
+	public void compute(double[] values, double[] result, int length) {
+		if (values != result) {
+			System.arraycopy(values, 0, result, 0, length);
+		}
+	}
+
+	@Override
+	public boolean isVectorizable() {
+		return getClass() == Plus.class;
+	}
+
 }
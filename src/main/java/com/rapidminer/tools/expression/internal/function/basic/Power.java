@@ -20,6 +20,7 @@ package com.rapidminer.tools.expression.internal.function.basic;
 
 import com.rapidminer.tools.Ontology;
 import com.rapidminer.tools.expression.internal.function.Abstract2DoubleInputFunction;
+import com.rapidminer.tools.expression.internal.function.VectorizableFunction;
 
 
 /**
@@ -28,7 +29,7 @@ import com.rapidminer.tools.expression.internal.function.Abstract2DoubleInputFun
  * @author Gisa Schaefer
  *
  */
-public class Power extends Abstract2DoubleInputFunction {
+public class Power extends Abstract2DoubleInputFunction implements VectorizableFunction {
 
 	/**
 	 * Constructs a power function.
@@ -46,4 +47,9 @@ public class Power extends Abstract2DoubleInputFunction {
 		return Math.pow(value1, value2);
 	}
 
+	@Override
+	public boolean isVectorizable() {
+		return getClass() == Power.class;
+	}
+
 }
@@ -22,6 +22,7 @@ import com.rapidminer.tools.Ontology;
 import com.rapidminer.tools.expression.ExpressionType;
 import com.rapidminer.tools.expression.FunctionInputException;
 import com.rapidminer.tools.expression.internal.function.Abstract2DoubleInputFunction;
+import com.rapidminer.tools.expression.internal.function.VectorizableFunction;
 
 
 /**
@@ -30,7 +31,7 @@ import com.rapidminer.tools.expression.internal.function.Abstract2DoubleInputFun
  * @author Thilo Kamradt
  *
  */
-public class BitAnd extends Abstract2DoubleInputFunction {
+public class BitAnd extends Abstract2DoubleInputFunction implements VectorizableFunction {
 
 	public BitAnd() {
 		super("bitwise.bit_and", 2, Ontology.INTEGER);
@@ -50,4 +51,9 @@ public class BitAnd extends Abstract2DoubleInputFunction {
 		return (int) value1 & (int) value2;
 	}
 
+	@Override
+	public boolean isVectorizable() {
+		return getClass() == BitAnd.class;
+	}
+
 }
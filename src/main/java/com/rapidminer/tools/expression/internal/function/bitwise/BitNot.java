@@ -22,6 +22,7 @@ import com.rapidminer.tools.Ontology;
 import com.rapidminer.tools.expression.ExpressionType;
 import com.rapidminer.tools.expression.FunctionInputException;
 import com.rapidminer.tools.expression.internal.function.Abstract1DoubleInputFunction;
+import com.rapidminer.tools.expression.internal.function.VectorizableFunction;
 
 
 /**
@@ -30,7 +31,7 @@ import com.rapidminer.tools.expression.internal.function.Abstract1DoubleInputFun
  * @author Thilo Kamradt
  *
  */
-public class BitNot extends Abstract1DoubleInputFunction {
+public class BitNot extends Abstract1DoubleInputFunction implements VectorizableFunction {
 
 	public BitNot() {
 		super("bitwise.bit_not", Ontology.INTEGER);
@@ -49,4 +50,10 @@ public class BitNot extends Abstract1DoubleInputFunction {
 	protected double compute(double value1) {
 		return ~(int) value1;
 	}
+
+	@Override
+	public boolean isVectorizable() {
+		return getClass() == BitNot.class;
+	}
+
 }
@@ -22,6 +22,7 @@ import com.rapidminer.tools.Ontology;
 import com.rapidminer.tools.expression.ExpressionType;
 import com.rapidminer.tools.expression.FunctionInputException;
 import com.rapidminer.tools.expression.internal.function.Abstract2DoubleInputFunction;
+import com.rapidminer.tools.expression.internal.function.VectorizableFunction;
 
 
 /**
@@ -30,7 +31,7 @@ import com.rapidminer.tools.expression.internal.function.Abstract2DoubleInputFun
  * @author David Arnu
  *
  */
-public class BitOr extends Abstract2DoubleInputFunction {
+public class BitOr extends Abstract2DoubleInputFunction implements VectorizableFunction {
 
 	public BitOr() {
 		super("bitwise.bit_or", 2, Ontology.INTEGER);
@@ -49,4 +50,10 @@ public class BitOr extends Abstract2DoubleInputFunction {
 	protected double compute(double value1, double value2) {
 		return (int) value1 | (int) value2;
 	}
+
+	@Override
+	public boolean isVectorizable() {
+		return getClass() == BitOr.class;
+	}
+
 }
@@ -22,6 +22,7 @@ import com.rapidminer.tools.Ontology;
 import com.rapidminer.tools.expression.ExpressionType;
 import com.rapidminer.tools.expression.FunctionInputException;
 import com.rapidminer.tools.expression.internal.function.Abstract1DoubleInputFunction;
+import com.rapidminer.tools.expression.internal.function.VectorizableFunction;
 
 
 /**
@@ -30,7 +31,7 @@ import com.rapidminer.tools.expression.internal.function.Abstract1DoubleInputFun
  * @author Marcel Seifert
  *
  */
-public class AbsoluteValue extends Abstract1DoubleInputFunction {
+public class AbsoluteValue extends Abstract1DoubleInputFunction implements VectorizableFunction {
 
 	public AbsoluteValue() {
 		super("mathematical.abs", Ontology.NUMERICAL);
@@ -52,4 +53,10 @@ public class AbsoluteValue extends Abstract1DoubleInputFunction {
 			throw new FunctionInputException("expression_parser.function_wrong_type", getFunctionName(), "numerical");
 		}
 	}
+
+	@Override
+	public boolean isVectorizable() {
+		return getClass() == AbsoluteValue.class;
+	}
+
 }
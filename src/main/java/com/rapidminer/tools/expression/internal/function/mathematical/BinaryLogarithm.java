@@ -20,6 +20,7 @@ package com.rapidminer.tools.expression.internal.function.mathematical;
 
 import com.rapidminer.tools.Ontology;
 import com.rapidminer.tools.expression.internal.function.Abstract1DoubleInputFunction;
+import com.rapidminer.tools.expression.internal.function.VectorizableFunction;
 
 
 /**
@@ -28,7 +29,7 @@ import com.rapidminer.tools.expression.internal.function.Abstract1DoubleInputFun
  * @author Marcel Seifert
  *
  */
-public class BinaryLogarithm extends Abstract1DoubleInputFunction {
+public class BinaryLogarithm extends Abstract1DoubleInputFunction implements VectorizableFunction {
 
 	private static final double LOG2 = Math.log(2);
 
@@ -44,4 +45,10 @@ public class BinaryLogarithm extends Abstract1DoubleInputFunction {
 			return Math.log(value) / LOG2;
 		}
 	}
+
+	@Override
+	public boolean isVectorizable() {
+		return getClass() == BinaryLogarithm.class;
+	}
+
 }
@@ -20,6 +20,7 @@ package com.rapidminer.tools.expression.internal.function.mathematical;
 
 import com.rapidminer.tools.Ontology;
 import com.rapidminer.tools.expression.internal.function.Abstract1DoubleInputFunction;
+import com.rapidminer.tools.expression.internal.function.VectorizableFunction;
 
 
 /**
@@ -28,7 +29,7 @@ import com.rapidminer.tools.expression.internal.function.Abstract1DoubleInputFun
  * @author Marcel Seifert
  *
  */
-public class CommonLogarithm extends Abstract1DoubleInputFunction {
+public class CommonLogarithm extends Abstract1DoubleInputFunction implements VectorizableFunction {
 
 	public CommonLogarithm() {
 		super("mathematical.log", Ontology.NUMERICAL);
@@ -39,4 +40,9 @@ public class CommonLogarithm extends Abstract1DoubleInputFunction {
 		return Math.log10(value);
 	}
 
+	@Override
+	public boolean isVectorizable() {
+		return getClass() == CommonLogarithm.class;
+	}
+
 }
@@ -22,6 +22,7 @@ import com.rapidminer.tools.Ontology;
 import com.rapidminer.tools.expression.ExpressionType;
 import com.rapidminer.tools.expression.FunctionInputException;
 import com.rapidminer.tools.expression.internal.function.Abstract1DoubleInputFunction;
+import com.rapidminer.tools.expression.internal.function.VectorizableFunction;
 
 
 /**
@@ -30,7 +31,7 @@ import com.rapidminer.tools.expression.internal.function.Abstract1DoubleInputFun
  * @author Marcel Seifert
  *
  */
-public class Signum extends Abstract1DoubleInputFunction {
+public class Signum extends Abstract1DoubleInputFunction implements VectorizableFunction {
 
 	public Signum() {
 		super("mathematical.sgn", Ontology.NUMERICAL);
@@ -52,4 +53,9 @@ public class Signum extends Abstract1DoubleInputFunction {
 		}
 	}
 
+	@Override
+	public boolean isVectorizable() {
+		return getClass() == Signum.class;
+	}
+
 }
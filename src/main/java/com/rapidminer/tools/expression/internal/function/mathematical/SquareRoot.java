@@ -20,6 +20,7 @@ package com.rapidminer.tools.expression.internal.function.mathematical;
 
 import com.rapidminer.tools.Ontology;
 import com.rapidminer.tools.expression.internal.function.Abstract1DoubleInputFunction;
+import com.rapidminer.tools.expression.internal.function.VectorizableFunction;
 
 
 /**
@@ -29,7 +30,7 @@ import com.rapidminer.tools.expression.internal.function.Abstract1DoubleInputFun
  * @author David Arnu
  *
  */
-public class SquareRoot extends Abstract1DoubleInputFunction {
+public class SquareRoot extends Abstract1DoubleInputFunction implements VectorizableFunction {
 
 	public SquareRoot() {
 		super("mathematical.sqrt", Ontology.NUMERICAL);
@@ -40,4 +41,9 @@ public class SquareRoot extends Abstract1DoubleInputFunction {
 		return Math.sqrt(value);
 	}
 
+	@Override
+	public boolean isVectorizable() {
+		return getClass() == SquareRoot.class;
+	}
+
 }
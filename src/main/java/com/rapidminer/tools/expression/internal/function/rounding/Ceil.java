@@ -22,6 +22,7 @@ import com.rapidminer.tools.Ontology;
 import com.rapidminer.tools.expression.ExpressionType;
 import com.rapidminer.tools.expression.FunctionInputException;
 import com.rapidminer.tools.expression.internal.function.Abstract1DoubleInputFunction;
+import com.rapidminer.tools.expression.internal.function.VectorizableFunction;
 
 
 /**
@@ -30,7 +31,7 @@ import com.rapidminer.tools.expression.internal.function.Abstract1DoubleInputFun
  * @author Thilo Kamradt
  *
  */
-public class Ceil extends Abstract1DoubleInputFunction {
+public class Ceil extends Abstract1DoubleInputFunction implements VectorizableFunction {
 
 	public Ceil() {
 		super("rounding.ceil", Ontology.INTEGER);
@@ -51,4 +52,9 @@ public class Ceil extends Abstract1DoubleInputFunction {
 		return Math.ceil(value1);
 	}
 
+	@Override
+	public boolean isVectorizable() {
+		return getClass() == Ceil.class;
+	}
+
 }
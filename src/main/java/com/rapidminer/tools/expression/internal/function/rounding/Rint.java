@@ -21,6 +21,7 @@ package com.rapidminer.tools.expression.internal.function.rounding;
 import com.rapidminer.tools.Ontology;
 import com.rapidminer.tools.expression.ExpressionType;
 import com.rapidminer.tools.expression.FunctionInputException;
+import com.rapidminer.tools.expression.internal.function.VectorizableFunction;
 
 
 /**
@@ -29,7 +30,7 @@ import com.rapidminer.tools.expression.FunctionInputException;
  * @author Thilo Kamradt
  *
  */
-public class Rint extends Abstract1or2DoubleInputFunction {
+public class Rint extends Abstract1or2DoubleInputFunction implements VectorizableFunction {
 
 	public Rint() {
 		super("rounding.rint", Ontology.NUMERICAL);
@@ -64,4 +65,10 @@ public class Rint extends Abstract1or2DoubleInputFunction {
 			throw new FunctionInputException("expression_parser.function_wrong_type", getFunctionName(), "numerical");
 		}
 	}
+
+	@Override
+	public boolean isVectorizable() {
+		return getClass() == Rint.class;
+	}
+
 }
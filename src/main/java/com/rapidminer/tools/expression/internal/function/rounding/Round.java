@@ -21,6 +21,7 @@ package com.rapidminer.tools.expression.internal.function.rounding;
 import com.rapidminer.tools.Ontology;
 import com.rapidminer.tools.expression.ExpressionType;
 import com.rapidminer.tools.expression.FunctionInputException;
+import com.rapidminer.tools.expression.internal.function.VectorizableFunction;
 
 
 /**
@@ -29,7 +30,7 @@ import com.rapidminer.tools.expression.FunctionInputException;
  * @author David Arnu
  *
  */
-public class Round extends Abstract1or2DoubleInputFunction {
+public class Round extends Abstract1or2DoubleInputFunction implements VectorizableFunction {
 
 	public Round() {
 		super("rounding.round", Ontology.NUMERICAL);
@@ -82,4 +83,9 @@ public class Round extends Abstract1or2DoubleInputFunction {
 		return Math.round(value);
 	}
 
+	@Override
+	public boolean isVectorizable() {
+		return getClass() == Round.class;
+	}
+
 }
@@ -24,6 +24,7 @@ import com.rapidminer.tools.Ontology;
 import com.rapidminer.tools.expression.ExpressionType;
 import com.rapidminer.tools.expression.FunctionInputException;
 import com.rapidminer.tools.expression.internal.function.Abstract2DoubleInputFunction;
+import com.rapidminer.tools.expression.internal.function.VectorizableFunction;
 
 
 /**
@@ -33,7 +34,7 @@ import com.rapidminer.tools.expression.internal.function.Abstract2DoubleInputFun
  * @author David Arnu
  *
  */
-public class Binominal extends Abstract2DoubleInputFunction {
+public class Binominal extends Abstract2DoubleInputFunction implements VectorizableFunction {
 
 	/**
 	 * Constructs a binominal function.
@@ -76,4 +77,9 @@ public class Binominal extends Abstract2DoubleInputFunction {
 		}
 	}
 
+	@Override
+	public boolean isVectorizable() {
+		return getClass() == Binominal.class;
+	}
+
 }
@@ -22,6 +22,7 @@ import org.apache.commons.math3.util.FastMath;
 
 import com.rapidminer.tools.Ontology;
 import com.rapidminer.tools.expression.internal.function.Abstract1DoubleInputFunction;
+import com.rapidminer.tools.expression.internal.function.VectorizableFunction;
 
 
 /**
@@ -31,7 +32,7 @@ import com.rapidminer.tools.expression.internal.function.Abstract1DoubleInputFun
  * @author Denis Schernov
  *
  */
-public class ArcHyperbolicCosine extends Abstract1DoubleInputFunction {
+public class ArcHyperbolicCosine extends Abstract1DoubleInputFunction implements VectorizableFunction {
 
 	public ArcHyperbolicCosine() {
 		super("trigonometrical.acosh", Ontology.NUMERICAL);
@@ -41,4 +42,10 @@ public class ArcHyperbolicCosine extends Abstract1DoubleInputFunction {
 	protected double compute(double value) {
 		return Double.isNaN(value) ? Double.NaN : FastMath.acosh(value);
 	}
+
+	@Override
+	public boolean isVectorizable() {
+		return getClass() == ArcHyperbolicCosine.class;
+	}
+
 }
@@ -20,6 +20,7 @@ package com.rapidminer.tools.expression.internal.function.trigonometric;
 
 import com.rapidminer.tools.Ontology;
 import com.rapidminer.tools.expression.internal.function.Abstract1DoubleInputFunction;
+import com.rapidminer.tools.expression.internal.function.VectorizableFunction;
 
 
 /**
@@ -29,7 +30,7 @@ import com.rapidminer.tools.expression.internal.function.Abstract1DoubleInputFun
  * @author Denis Schernov
  *
  */
-public class ArcSine extends Abstract1DoubleInputFunction {
+public class ArcSine extends Abstract1DoubleInputFunction implements VectorizableFunction {
 
 	public ArcSine() {
 		super("trigonometrical.asin", Ontology.NUMERICAL);
@@ -40,4 +41,9 @@ public class ArcSine extends Abstract1DoubleInputFunction {
 		return Double.isNaN(value) ? Double.NaN : Math.asin(value);
 	}
 
+	@Override
+	public boolean isVectorizable() {
+		return getClass() == ArcSine.class;
+	}
+
 }
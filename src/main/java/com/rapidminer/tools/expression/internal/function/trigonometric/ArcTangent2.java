@@ -22,6 +22,7 @@ import com.rapidminer.tools.Ontology;
 import com.rapidminer.tools.expression.ExpressionType;
 import com.rapidminer.tools.expression.FunctionInputException;
 import com.rapidminer.tools.expression.internal.function.Abstract2DoubleInputFunction;
+import com.rapidminer.tools.expression.internal.function.VectorizableFunction;
 
 
 /**
@@ -31,7 +32,7 @@ import com.rapidminer.tools.expression.internal.function.Abstract2DoubleInputFun
  * @author Denis Schernov
  *
  */
-public class ArcTangent2 extends Abstract2DoubleInputFunction {
+public class ArcTangent2 extends Abstract2DoubleInputFunction implements VectorizableFunction {
 
 	public ArcTangent2() {
 		super("trigonometrical.atan2", 2, Ontology.NUMERICAL);
@@ -53,4 +54,10 @@ public class ArcTangent2 extends Abstract2DoubleInputFunction {
 			throw new FunctionInputException("expression_parser.function_wrong_type", getFunctionName(), "numerical");
 		}
 	}
+
+	@Override
+	public boolean isVectorizable() {
+		return getClass() == ArcTangent2.class;
+	}
+
 }
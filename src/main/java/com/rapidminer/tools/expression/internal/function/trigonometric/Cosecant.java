@@ -20,6 +20,7 @@ package com.rapidminer.tools.expression.internal.function.trigonometric;
 
 import com.rapidminer.tools.Ontology;
 import com.rapidminer.tools.expression.internal.function.Abstract1DoubleInputFunction;
+import com.rapidminer.tools.expression.internal.function.VectorizableFunction;
 
 
 /**
@@ -29,7 +30,7 @@ import com.rapidminer.tools.expression.internal.function.Abstract1DoubleInputFun
  * @author Denis Schernov
  *
  */
-public class Cosecant extends Abstract1DoubleInputFunction {
+public class Cosecant extends Abstract1DoubleInputFunction implements VectorizableFunction {
 
 	public Cosecant() {
 		super("trigonometrical.cosec", Ontology.NUMERICAL);
@@ -39,4 +40,10 @@ public class Cosecant extends Abstract1DoubleInputFunction {
 	protected double compute(double value) {
 		return Double.isNaN(value) | value == 0 | value % Math.PI == 0 ? Double.NaN : 1.0 / Math.sin(value);
 	}
+
+	@Override
+	public boolean isVectorizable() {
+		return getClass() == Cosecant.class;
+	}
+
 }
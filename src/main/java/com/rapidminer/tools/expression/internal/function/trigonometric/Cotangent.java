@@ -20,6 +20,7 @@ package com.rapidminer.tools.expression.internal.function.trigonometric;
 
 import com.rapidminer.tools.Ontology;
 import com.rapidminer.tools.expression.internal.function.Abstract1DoubleInputFunction;
+import com.rapidminer.tools.expression.internal.function.VectorizableFunction;
 
 
 /**
@@ -29,7 +30,7 @@ import com.rapidminer.tools.expression.internal.function.Abstract1DoubleInputFun
  * @author Denis Schernov
  *
  */
-public class Cotangent extends Abstract1DoubleInputFunction {
+public class Cotangent extends Abstract1DoubleInputFunction implements VectorizableFunction {
 
 	public Cotangent() {
 		super("trigonometrical.cot", Ontology.NUMERICAL);
@@ -43,4 +44,10 @@ public class Cotangent extends Abstract1DoubleInputFunction {
 		}
 		return 1.0 / Math.tan(value);
 	}
+
+	@Override
+	public boolean isVectorizable() {
+		return getClass() == Cotangent.class;
+	}
+
 }
@@ -20,6 +20,7 @@ package com.rapidminer.tools.expression.internal.function.trigonometric;
 
 import com.rapidminer.tools.Ontology;
 import com.rapidminer.tools.expression.internal.function.Abstract1DoubleInputFunction;
+import com.rapidminer.tools.expression.internal.function.VectorizableFunction;
 
 
 /**
@@ -29,7 +30,7 @@ import com.rapidminer.tools.expression.internal.function.Abstract1DoubleInputFun
  * @author Denis Schernov
  *
  */
-public class HyperbolicTangent extends Abstract1DoubleInputFunction {
+public class HyperbolicTangent extends Abstract1DoubleInputFunction implements VectorizableFunction {
 
 	public HyperbolicTangent() {
 		super("trigonometrical.tanh", Ontology.NUMERICAL);
@@ -39,4 +40,10 @@ public class HyperbolicTangent extends Abstract1DoubleInputFunction {
 	protected double compute(double value) {
 		return Double.isNaN(value) ? Double.NaN : Math.tanh(value);
 	}
+
+	@Override
+	public boolean isVectorizable() {
+		return getClass() == HyperbolicTangent.class;
+	}
+
 }
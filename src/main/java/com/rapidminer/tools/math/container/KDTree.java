@@ -23,9 +23,12 @@ import com.rapidminer.tools.math.similarity.DistanceMeasure;
 
 import java.io.Serializable;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
+import java.util.Comparator;
 import java.util.Iterator;
 import java.util.LinkedList;
+import java.util.List;
 import java.util.Stack;
 
 
@@ -80,6 +83,54 @@ public class KDTree<T extends Serializable> implements GeometricDataCollection<T
 		}
 	}
 
+	/**
+	 * Adds all given points. The points are inserted in the order of the medians of the split dimensions, so that an
+	 * empty tree becomes balanced. Adding sorted points one by one would result in a degenerated tree instead.
+	 *
+	 * @param values
+	 *            the coordinates of the points
+	 * @param storeValues
+	 *            the values to store with the points, in the same order
+	 * @since 9.7
+	 */
+	public void addAll(List<double[]> values, List<T> storeValues) {
+		if (values.size() != storeValues.size()) {
+			throw new IllegalArgumentException("Number of points and store values differ");
+		}
+		Integer[] order = new Integer[values.size()];
+		for (int i = 0; i < order.length; i++) {
+			order[i] = i;
+		}
+		addMedians(values, storeValues, order, 0, order.length, root == null ? 0 : -1);
+	}
+
+	/**
+	 * Adds the points of the given range of the order, starting with their median in the given depth. A negative depth
+	 * means the points are not added to an empty tree and are simply added in their order.
+	 */
+	private void addMedians(List<double[]> values, List<T> storeValues, Integer[] order, int from, int to, int depth) {
+		if (from >= to) {
+			return;
+		}
+		if (depth < 0) {
+			for (int i = from; i < to; i++) {
+				add(values.get(order[i]), storeValues.get(order[i]));
+			}
+			return;
+		}
+		int dimension = depth % k;
+		Arrays.sort(order, from, to, Comparator.comparingDouble(index -> values.get(index)[dimension]));
+		// all points before the median must be smaller, since equal points are inserted as greater child
+		int median = (from + to) >>> 1;
+		double medianValue = values.get(order[median])[dimension];
+		while (median > from && values.get(order[median - 1])[dimension] == medianValue) {
+			median--;
+		}
+		add(values.get(order[median]), storeValues.get(order[median]));
+		addMedians(values, storeValues, order, from, median, depth + 1);
+		addMedians(values, storeValues, order, median + 1, to, depth + 1);
+	}
+
 	@Override
 	public Collection<T> getNearestValues(int k, double[] values) {
 		BoundedPriorityQueue<Tupel<Double, KDTreeNode<T>>> priorityQueue = getNearestNodes(k, values);
@@ -101,13 +152,16 @@ public class KDTree<T extends Serializable> implements GeometricDataCollection<T
 	}
 
 	private BoundedPriorityQueue<Tupel<Double, KDTreeNode<T>>> getNearestNodes(int k, double[] values) {
-		Stack<KDTreeNode<T>> nodeStack = new Stack<KDTreeNode<T>>();
-		// first doing initial search for nearest Node
-		nodeStack = traverseTree(nodeStack, root, values);
-
 		// creating data structure for finding k nearest values
 		BoundedPriorityQueue<Tupel<Double, KDTreeNode<T>>> priorityQueue = new BoundedPriorityQueue<Tupel<Double, KDTreeNode<T>>>(
 				k);
+		if (root == null) {
+			return priorityQueue;
+		}
+
+		Stack<KDTreeNode<T>> nodeStack = new Stack<KDTreeNode<T>>();
+		// first doing initial search for nearest Node
+		nodeStack = traverseTree(nodeStack, root, values);
 
 		// now work on stack
 		while (!nodeStack.isEmpty()) {
@@ -116,10 +170,11 @@ public class KDTree<T extends Serializable> implements GeometricDataCollection<T
 			Tupel<Double, KDTreeNode<T>> currentTupel = new Tupel<Double, KDTreeNode<T>>(distance.calculateDistance(
 					currentNode.getValues(), values), currentNode);
 			priorityQueue.add(currentTupel);
-			// now check if far children has to be regarded
-			if (!priorityQueue.isFilled()
-					|| priorityQueue.peek().getFirst().doubleValue() > currentNode.getCompareValue()
-							- values[currentNode.getCompareDimension()]) {
+			// now check if far children has to be regarded: the far side can only contain nearer points if the
+			// distance to the split plane is smaller. A missing value does not bound the distance at all.
+			double planeDistance = Math.abs(currentNode.getCompareValue() - values[currentNode.getCompareDimension()]);
+			if (!priorityQueue.isFilled() || Double.isNaN(planeDistance)
+					|| priorityQueue.peek().getFirst().doubleValue() > planeDistance) {
 				// if needs to be checked, traverse tree to nearest leaf
 				if (currentNode.hasFarChild(values)) {
 					traverseTree(nodeStack, currentNode.getFarChild(values), values);
@@ -47,6 +47,9 @@ public class LinearList<T extends Serializable> implements GeometricDataCollecti
 	ArrayList<double[]> samples = new ArrayList<double[]>();
 	ArrayList<T> storedValues = new ArrayList<T>();
 
+	/** the samples one after the other in one array, created on the first search */
+	private transient volatile double[] sampleBlock;
+
 	public LinearList(DistanceMeasure distance) {
 		this.distance = distance;
 	}
@@ -55,15 +58,15 @@ public class LinearList<T extends Serializable> implements GeometricDataCollecti
 	public void add(double[] values, T storeValue) {
 		this.samples.add(values);
 		this.storedValues.add(storeValue);
+		this.sampleBlock = null;
 	}
 
 	@Override
 	public Collection<T> getNearestValues(int k, double[] values) {
 		BoundedPriorityQueue<Tupel<Double, T>> queue = new BoundedPriorityQueue<Tupel<Double, T>>(k);
-		int i = 0;
-		for (double[] sample : this.samples) {
-			queue.add(new Tupel<Double, T>(distance.calculateDistance(sample, values), storedValues.get(i)));
-			i++;
+		double[] distances = calculateDistances(values);
+		for (int i = 0; i < distances.length; i++) {
+			queue.add(new Tupel<Double, T>(distances[i], storedValues.get(i)));
 		}
 
 		Collection<T> result = new ArrayList<T>(k);
@@ -76,10 +79,9 @@ public class LinearList<T extends Serializable> implements GeometricDataCollecti
 	@Override
 	public Collection<Tupel<Double, T>> getNearestValueDistances(int k, double[] values) {
 		BoundedPriorityQueue<Tupel<Double, T>> queue = new BoundedPriorityQueue<Tupel<Double, T>>(k);
-		int i = 0;
-		for (double[] sample : this.samples) {
-			queue.add(new Tupel<Double, T>(distance.calculateDistance(sample, values), storedValues.get(i)));
-			i++;
+		double[] distances = calculateDistances(values);
+		for (int i = 0; i < distances.length; i++) {
+			queue.add(new Tupel<Double, T>(distances[i], storedValues.get(i)));
 		}
 
 		Collection<Tupel<Double, T>> result = new ArrayList<Tupel<Double, T>>(k);
@@ -92,13 +94,12 @@ public class LinearList<T extends Serializable> implements GeometricDataCollecti
 	@Override
 	public Collection<Tupel<Double, T>> getNearestValueDistances(double withinDistance, double[] values) {
 		ArrayList<Tupel<Double, T>> queue = new ArrayList<Tupel<Double, T>>();
-		int i = 0;
-		for (double[] sample : this.samples) {
-			double currentDistance = distance.calculateDistance(sample, values);
+		double[] distances = calculateDistances(values);
+		for (int i = 0; i < distances.length; i++) {
+			double currentDistance = distances[i];
 			if (currentDistance <= withinDistance) {
 				queue.add(new Tupel<Double, T>(currentDistance, storedValues.get(i)));
 			}
-			i++;
 		}
 		return queue;
 	}
@@ -112,6 +113,36 @@ public class LinearList<T extends Serializable> implements GeometricDataCollecti
 		return result;
 	}
 
+	/**
+	 * Calculates the distances of all samples to the given values at once using
+	 * {@link DistanceMeasure#calculateDistances(double[], int, int, double[], int, int, int, double[])},
+	 * or one by one if the samples do not fit into a single block.
+	 */
+	private double[] calculateDistances(double[] values) {
+		int size = samples.size();
+		double[] distances = new double[size];
+		if (size == 0) {
+			return distances;
+		}
+		int dimensions = samples.get(0).length;
+		if (!DistanceMeasure.fitsInBlock(size, dimensions)) {
+			for (int i = 0; i < size; i++) {
+				distances[i] = distance.calculateDistance(samples.get(i), values);
+			}
+			return distances;
+		}
+		double[] block = sampleBlock;
+		if (block == null) {
+			block = new double[size * dimensions];
+			for (int i = 0; i < size; i++) {
+				System.arraycopy(samples.get(i), 0, block, i * dimensions, dimensions);
+			}
+			sampleBlock = block;
+		}
+		distance.calculateDistances(block, 0, size, values, 0, 1, dimensions, distances);
+		return distances;
+	}
+
 	@Override
 	public int size() {
 		return samples.size();
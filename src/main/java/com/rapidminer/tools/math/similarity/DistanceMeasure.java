@@ -41,6 +41,14 @@ public abstract class DistanceMeasure implements Serializable {
 
 	private static final long serialVersionUID = 1290079829430640414L;
 
+	/**
+	 * The largest number of values a block may hold. Some virtual machines reserve header words in
+	 * arrays, so this stays slightly below {@link Integer#MAX_VALUE}.
+	 *
+	 * @since 9.7
+	 */
+	public static final int MAX_BLOCK_SIZE = Integer.MAX_VALUE - 8;
+
 	protected class DistanceMeasureConfig {
 
 		Attribute[] firstSetAttributes;
@@ -291,6 +299,97 @@ public abstract class DistanceMeasure implements Serializable {
 		return calculateSimilarity(firstValues, second);
 	}
 
+	/**
+	 * Calculates the distances between the rows firstFrom (inclusive) to firstTo (exclusive) of the
+	 * first block and the rows secondFrom (inclusive) to secondTo (exclusive) of the second block. A
+	 * block stores the values of its rows one after the other, so the value of dimension d of row r
+	 * is found at index r * dimensions + d, see {@link #toBlock(ExampleSet, Attribute[])}. The
+	 * distance between row i of the first and row j of the second block is stored at index (i -
+	 * firstFrom) * (secondTo - secondFrom) + (j - secondFrom) of the distances array and equals
+	 * {@link #calculateDistance(double[], double[])} of the two rows.
+	 * <p>
+	 * The default implementation copies the rows into two buffers and calls
+	 * {@link #calculateDistance(double[], double[])}. Subclasses can override it to calculate the
+	 * distances on the blocks directly.
+	 *
+	 * @param first
+	 *            the first block of values
+	 * @param firstFrom
+	 *            the first row of the first block to use
+	 * @param firstTo
+	 *            the row of the first block to stop at
+	 * @param second
+	 *            the second block of values
+	 * @param secondFrom
+	 *            the first row of the second block to use
+	 * @param secondTo
+	 *            the row of the second block to stop at
+	 * @param dimensions
+	 *            the number of values per row of both blocks
+	 * @param distances
+	 *            the array to store the distances in
+	 * @since 9.7
+	 */
+	public void calculateDistances(double[] first, int firstFrom, int firstTo, double[] second, int secondFrom,
+			int secondTo, int dimensions, double[] distances) {
+		double[] firstValues = new double[dimensions];
+		double[] secondValues = new double[dimensions];
+		int index = 0;
+		for (int i = firstFrom; i < firstTo; i++) {
+			System.arraycopy(first, i * dimensions, firstValues, 0, dimensions);
+			for (int j = secondFrom; j < secondTo; j++) {
+				System.arraycopy(second, j * dimensions, secondValues, 0, dimensions);
+				distances[index++] = calculateDistance(firstValues, secondValues);
+			}
+		}
+	}
+
+	/**
+	 * Extracts the values of the given attributes of all examples into a block as used by
+	 * {@link #calculateDistances(double[], int, int, double[], int, int, int, double[])}. Callers
+	 * must check {@link #fitsInBlock(long, int)} first and fall back to reading the examples one by
+	 * one if the values do not fit.
+	 *
+	 * @param exampleSet
+	 *            the example set to read
+	 * @param attributes
+	 *            the attributes to read, in the order of the dimensions
+	 * @return the block with one row per example
+	 * @throws IllegalArgumentException
+	 *             if the values do not fit into a single block
+	 * @since 9.7
+	 */
+	public static double[] toBlock(ExampleSet exampleSet, Attribute[] attributes) {
+		if (!fitsInBlock(exampleSet.size(), attributes.length)) {
+			throw new IllegalArgumentException("The values of " + exampleSet.size() + " examples with "
+					+ attributes.length + " attributes do not fit into a single block");
+		}
+		double[] block = new double[exampleSet.size() * attributes.length];
+		int index = 0;
+		for (Example example : exampleSet) {
+			for (Attribute attribute : attributes) {
+				block[index++] = example.getValue(attribute);
+			}
+		}
+		return block;
+	}
+
+	/**
+	 * Checks whether the given number of rows with the given number of values each fits into a
+	 * single block, i.e. into one array of at most {@link #MAX_BLOCK_SIZE} values. If it does, the
+	 * row offsets r * dimensions of the block cannot overflow either.
+	 *
+	 * @param rows
+	 *            the number of rows
+	 * @param dimensions
+	 *            the number of values per row
+	 * @return whether the rows fit into one block
+	 * @since 9.7
+	 */
+	public static boolean fitsInBlock(long rows, int dimensions) {
+		return rows * dimensions <= MAX_BLOCK_SIZE;
+	}
+
 	/**
 	 * If the computation of this distance measure depends on additional {@link IOObject}s, this
 	 * method can be overridden to install additional ports at the operator which uses this distance
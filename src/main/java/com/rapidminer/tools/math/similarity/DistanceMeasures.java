@@ -20,8 +20,10 @@ package com.rapidminer.tools.math.similarity;
 
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.HashSet;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Set;
 
 import com.rapidminer.example.ExampleSet;
 import com.rapidminer.operator.IOContainer;
@@ -87,6 +89,14 @@ public class DistanceMeasures {
 	public static final int NUMERICAL_MEASURES_TYPE = 2;
 	public static final int DIVERGENCES_TYPE = 3;
 	public static final int KERNEL_IN_NUMERICAL = 9;
+
+	/** The measures which calculate distances without any state, see {@link #isStateless(DistanceMeasure)} */
+	private static final Set<Class<? extends DistanceMeasure>> STATELESS_MEASURES = new HashSet<>(Arrays.asList(
+			EuclideanDistance.class, CamberraNumericalDistance.class, ChebychevNumericalDistance.class,
+			CorrelationSimilarity.class, CosineSimilarity.class, DiceNumericalSimilarity.class, DTWDistance.class,
+			InnerProductSimilarity.class, JaccardNumericalSimilarity.class, ManhattanDistance.class,
+			MaxProductSimilarity.class, OverlapNumericalSimilarity.class));
+
 	public static final String[] NUMERICAL_MEASURE_TYPES = Arrays.copyOfRange(MEASURE_TYPES, NUMERICAL_MEASURES_TYPE,
 			DIVERGENCES_TYPE + 1);
 
@@ -238,6 +248,20 @@ public class DistanceMeasures {
 		return measureType != NOMINAL_MEASURES_TYPE;
 	}
 
+	/**
+	 * Checks whether the given measure is known to calculate distances without any state, so that one initialized
+	 * instance can be used by several threads at the same time. Only the exact classes of the numerical measures without
+	 * fields qualify, subclasses might add state.
+	 *
+	 * @param measure
+	 *            the distance measure
+	 * @return whether the measure can be used concurrently
+	 * @since 9.7
+	 */
+	public static boolean isStateless(DistanceMeasure measure) {
+		return STATELESS_MEASURES.contains(measure.getClass());
+	}
+
 	/**
 	 * This method adds a parameter to chose a distance measure as parameter
 	 */
@@ -59,6 +59,33 @@ public class NominalDistance extends DistanceMeasure {
 		}
 	}
 
+	@Override
+	public void calculateDistances(double[] first, int firstFrom, int firstTo, double[] second, int secondFrom,
+			int secondTo, int dimensions, double[] distances) {
+		int index = 0;
+		for (int i = firstFrom; i < firstTo; i++) {
+			int firstOffset = i * dimensions;
+			for (int j = secondFrom; j < secondTo; j++) {
+				int secondOffset = j * dimensions;
+				double sum = 0.0;
+				int counter = 0;
+				for (int d = 0; d < dimensions; d++) {
+					if (useAttribute == null || useAttribute[d]) {
+						double value1 = first[firstOffset + d];
+						double value2 = second[secondOffset + d];
+						if ((!Double.isNaN(value1)) && (!Double.isNaN(value2))) {
+							if (value1 != value2) {
+								sum = sum + 1.0;
+							}
+							counter++;
+						}
+					}
+				}
+				distances[index++] = counter > 0 ? sum : Double.NaN;
+			}
+		}
+	}
+
 	@Override
 	public double calculateSimilarity(double[] value1, double[] value2) {
 		return -calculateDistance(value1, value2);
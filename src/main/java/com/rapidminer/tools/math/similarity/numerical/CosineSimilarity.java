@@ -66,6 +66,40 @@ public class CosineSimilarity extends SimilarityMeasure {
 		return Math.acos(calculateSimilarity(value1, value2));
 	}
 
+	@Override
+	public void calculateDistances(double[] first, int firstFrom, int firstTo, double[] second, int secondFrom,
+			int secondTo, int dimensions, double[] distances) {
+		int index = 0;
+		for (int i = firstFrom; i < firstTo; i++) {
+			int firstOffset = i * dimensions;
+			for (int j = secondFrom; j < secondTo; j++) {
+				int secondOffset = j * dimensions;
+				double sum = 0.0;
+				double sum1 = 0.0;
+				double sum2 = 0.0;
+				for (int d = 0; d < dimensions; d++) {
+					double v1 = first[firstOffset + d];
+					double v2 = second[secondOffset + d];
+					if ((!Double.isNaN(v1)) && (!Double.isNaN(v2))) {
+						sum += v2 * v1;
+						sum1 += v1 * v1;
+						sum2 += v2 * v2;
+					}
+				}
+				double similarity;
+				if ((sum1 > 0) && (sum2 > 0)) {
+					double result = sum / (Math.sqrt(sum1) * Math.sqrt(sum2));
+					similarity = Math.min(Math.max(result, -1d), 1d);
+				} else if (sum1 == 0 && sum2 == 0) {
+					similarity = 1d;
+				} else {
+					similarity = 0d;
+				}
+				distances[index++] = Math.acos(similarity);
+			}
+		}
+	}
+
 	@Override
 	public void init(ExampleSet exampleSet) throws OperatorException {
 		super.init(exampleSet);
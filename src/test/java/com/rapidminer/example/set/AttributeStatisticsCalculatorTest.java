@@ -0,0 +1,144 @@
+/**
+ * Copyright (C) 2001-2020 by RapidMiner and the contributors
+ *
+ * Complete list of developers available at our web site:
+ *
+ * http://rapidminer.com
+ *
+ * This program is free software: you can redistribute it and/or modify it under the terms of the
+ * GNU Affero General Public License as published by the Free Software Foundation, either version 3
+ * of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without
+ * even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License along with this program.
+ * If not, see http://www.gnu.org/licenses/.
+ */
+package com.rapidminer.example.set;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import com.rapidminer.core.concurrency.ConcurrencyContext;
+import com.rapidminer.example.Attribute;
+import com.rapidminer.example.Attributes;
+import com.rapidminer.example.ExampleSet;
+import com.rapidminer.example.Statistics;
+import com.rapidminer.example.table.AttributeFactory;
+import com.rapidminer.example.utils.ExampleSets;
+import com.rapidminer.studio.concurrency.internal.TestConcurrencyContext;
+import com.rapidminer.tools.Ontology;
+
+
+/**
+ * Tests that the concurrent calculation of the {@link AttributeStatisticsCalculator} yields the same statistics as the
+ * sequential one.
+ *
+ * @since 9.7
+ */
+public class AttributeStatisticsCalculatorTest {
+
+	private static final int ROWS = 1_100_000;
+
+	private static ForkJoinPool pool;
+
+	private static ConcurrencyContext context;
+
+	@BeforeClass
+	public static void setup() {
+		pool = new ForkJoinPool(4);
+		context = new TestConcurrencyContext(pool, 4);
+	}
+
+	@AfterClass
+	public static void tearDown() {
+		pool.shutdown();
+	}
+
+	@Test
+	public void testColumnBlocks() {
+		Attribute real = AttributeFactory.createAttribute("real", Ontology.REAL);
+		Attribute integer = AttributeFactory.createAttribute("integer", Ontology.INTEGER);
+		Attribute nominal = AttributeFactory.createAttribute("nominal", Ontology.POLYNOMINAL);
+		Attribute weight = AttributeFactory.createAttribute("weight", Ontology.REAL);
+		for (int i = 0; i < 7; i++) {
+			nominal.getMapping().mapString("value" + i);
+		}
+		Random random = new Random(42);
+		double[] reals = random.doubles(ROWS).map(d -> d < 0.05 ? Double.NaN : d * 100 - 50).toArray();
+		double[] integers = random.ints(ROWS, -1000, 1000).asDoubleStream().toArray();
+		double[] nominals = random.ints(ROWS, 0, 7).asDoubleStream().toArray();
+		double[] weights = random.doubles(ROWS).toArray();
+		ExampleSet sequential = ExampleSets.from(real, integer, nominal, weight).withBlankSize(ROWS)
+				.withColumnFiller(real, i -> reals[i]).withColumnFiller(integer, i -> integers[i])
+				.withColumnFiller(nominal, i -> nominals[i]).withColumnFiller(weight, i -> weights[i])
+				.withRole(weight, Attributes.WEIGHT_NAME).build();
+		ExampleSet concurrent = (ExampleSet) sequential.clone();
+
+		sequential.recalculateAllAttributeStatistics();
+		((AbstractExampleSet) concurrent).recalculateAllAttributeStatistics(context);
+
+		for (Attribute attribute : new Attribute[] { real, integer }) {
+			for (String name : new String[] { Statistics.AVERAGE, Statistics.VARIANCE, Statistics.SUM,
+					Statistics.AVERAGE_WEIGHTED, Statistics.VARIANCE_WEIGHTED, Statistics.SUM_WEIGHTED,
+					Statistics.MINIMUM, Statistics.MAXIMUM, Statistics.UNKNOWN }) {
+				double expected = sequential.getStatistics(attribute, name);
+				assertEquals(attribute.getName() + " " + name, expected, concurrent.getStatistics(attribute, name),
+						Math.abs(expected) * 1e-10);
+			}
+		}
+		assertEquals(sequential.getStatistics(nominal, Statistics.MODE),
+				concurrent.getStatistics(nominal, Statistics.MODE), 0);
+		for (int i = 0; i < 7; i++) {
+			assertEquals(sequential.getStatistics(nominal, Statistics.COUNT, "value" + i),
+					concurrent.getStatistics(nominal, Statistics.COUNT, "value" + i), 0);
+		}
+	}
+
+	@Test
+	public void testRowRanges() {
+		Attribute real = AttributeFactory.createAttribute("real", Ontology.REAL);
+		Random random = new Random(7);
+		double[] reals = random.doubles(ROWS).map(d -> d < 0.05 ? Double.NaN : d * 100 - 50).toArray();
+		ExampleSet exampleSet = ExampleSets.from(real).withBlankSize(ROWS).withColumnFiller(real, i -> reals[i]).build();
+		Attribute sequentialAttribute = (Attribute) real.clone();
+		List<Attribute> sequentialList = Collections.singletonList(sequentialAttribute);
+		List<Attribute> concurrentList = Collections.singletonList(real);
+		sequentialAttribute.getAllStatistics().forEachRemaining(s -> s.startCounting(sequentialAttribute));
+		real.getAllStatistics().forEachRemaining(s -> s.startCounting(real));
+
+		assertTrue(new AttributeStatisticsCalculator(exampleSet, null).calculate(sequentialList, null));
+		assertTrue(new AttributeStatisticsCalculator(exampleSet, null).calculate(concurrentList, context));
+
+		for (String name : new String[] { Statistics.AVERAGE, Statistics.VARIANCE, Statistics.SUM,
+				Statistics.AVERAGE_WEIGHTED, Statistics.VARIANCE_WEIGHTED, Statistics.SUM_WEIGHTED, Statistics.MINIMUM,
+				Statistics.MAXIMUM, Statistics.UNKNOWN }) {
+			double expected = getStatistics(sequentialAttribute, name);
+			assertEquals(name, expected, getStatistics(real, name), Math.abs(expected) * 1e-10);
+		}
+	}
+
+	private static double getStatistics(Attribute attribute, String name) {
+		Iterator<Statistics> iterator = attribute.getAllStatistics();
+		while (iterator.hasNext()) {
+			Statistics statistics = iterator.next();
+			if (statistics.handleStatistics(name)) {
+				return statistics.getStatistics(attribute, name, null);
+			}
+		}
+		return Double.NaN;
+	}
+
+}
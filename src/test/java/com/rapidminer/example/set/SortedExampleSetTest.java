@@ -0,0 +1,177 @@
+/**
+ * Copyright (C) 2001-2020 by RapidMiner and the contributors
+ *
+ * Complete list of developers available at our web site:
+ *
+ * http://rapidminer.com
+ *
+ * This program is free software: you can redistribute it and/or modify it under the terms of the
+ * GNU Affero General Public License as published by the Free Software Foundation, either version 3
+ * of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without
+ * even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License along with this program.
+ * If not, see http://www.gnu.org/licenses/.
+ */
+package com.rapidminer.example.set;
+
+import static org.junit.Assert.assertArrayEquals;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import com.rapidminer.core.concurrency.ConcurrencyContext;
+import com.rapidminer.example.Attribute;
+import com.rapidminer.example.Example;
+import com.rapidminer.example.ExampleSet;
+import com.rapidminer.example.table.AttributeFactory;
+import com.rapidminer.example.utils.ExampleSetBuilder;
+import com.rapidminer.example.utils.ExampleSets;
+import com.rapidminer.operator.ProcessStoppedException;
+import com.rapidminer.studio.concurrency.internal.TestConcurrencyContext;
+import com.rapidminer.tools.Ontology;
+
+
+/**
+ * Tests that the {@link SortedExampleSet} sorts like a stable sort of boxed values, sequentially and concurrently.
+ *
+ * @since 9.7
+ */
+public class SortedExampleSetTest {
+
+	private static final int ROWS = 150_000;
+
+	private static ForkJoinPool pool;
+
+	private static ConcurrencyContext context;
+
+	private static ExampleSet exampleSet;
+
+	@BeforeClass
+	public static void setup() {
+		pool = new ForkJoinPool(4);
+		context = new TestConcurrencyContext(pool, 4);
+
+		List<Attribute> attributes = new ArrayList<>();
+		attributes.add(AttributeFactory.createAttribute("real", Ontology.REAL));
+		attributes.add(AttributeFactory.createAttribute("integer", Ontology.INTEGER));
+		Attribute nominal = AttributeFactory.createAttribute("nominal", Ontology.POLYNOMINAL);
+		String[] values = { "dog", "cat", "?", "Zebra", "ant", "cattle" };
+		for (String value : values) {
+			nominal.getMapping().mapString(value);
+		}
+		attributes.add(nominal);
+		attributes.add(AttributeFactory.createAttribute("date", Ontology.DATE_TIME));
+
+		Random random = new Random(42);
+		ExampleSetBuilder builder = ExampleSets.from(attributes);
+		for (int i = 0; i < ROWS; i++) {
+			double real = random.nextInt(20) == 0 ? Double.NaN : random.nextInt(10) == 0 ? -0.0 : random.nextGaussian();
+			double integer = random.nextInt(20) == 0 ? Double.NaN : random.nextInt(50) - 25;
+			double nominalIndex = random.nextInt(20) == 0 ? Double.NaN : random.nextInt(values.length);
+			double date = random.nextInt(20) == 0 ? Double.NaN : random.nextInt(1000) * 1000.5;
+			builder.addRow(new double[] { real, integer, nominalIndex, date });
+		}
+		exampleSet = builder.build();
+	}
+
+	@AfterClass
+	public static void tearDown() {
+		pool.shutdown();
+	}
+
+	@Test
+	public void testSingleNumerical() {
+		for (String name : new String[] { "real", "integer" }) {
+			Attribute attribute = exampleSet.getAttributes().get(name);
+			for (int direction : new int[] { SortedExampleSet.INCREASING, SortedExampleSet.DECREASING }) {
+				int[] expected = referenceMapping(new Attribute[] { attribute }, new int[] { direction });
+				assertArrayEquals(expected, new SortedExampleSet(exampleSet, attribute, direction).getMappingCopy());
+			}
+		}
+	}
+
+	@Test
+	public void testSingleNominalAndDate() {
+		for (String name : new String[] { "nominal", "date" }) {
+			Attribute attribute = exampleSet.getAttributes().get(name);
+			for (int direction : new int[] { SortedExampleSet.INCREASING, SortedExampleSet.DECREASING }) {
+				int[] expected = referenceMapping(new Attribute[] { attribute }, new int[] { direction });
+				assertArrayEquals(expected, new SortedExampleSet(exampleSet, attribute, direction).getMappingCopy());
+			}
+		}
+	}
+
+	@Test
+	public void testMultipleKeysSequentially() throws ProcessStoppedException {
+		Attribute[] attributes = { exampleSet.getAttributes().get("nominal"), exampleSet.getAttributes().get("integer"),
+				exampleSet.getAttributes().get("date") };
+		int[] directions = { SortedExampleSet.DECREASING, SortedExampleSet.INCREASING, SortedExampleSet.DECREASING };
+		assertArrayEquals(referenceMapping(attributes, directions),
+				new SortedExampleSet(exampleSet, attributes, directions, null, null).getMappingCopy());
+	}
+
+	@Test
+	public void testMultipleKeysConcurrently() throws ProcessStoppedException {
+		Attribute[] attributes = { exampleSet.getAttributes().get("integer"), exampleSet.getAttributes().get("real") };
+		int[] directions = { SortedExampleSet.INCREASING, SortedExampleSet.DECREASING };
+		assertArrayEquals(referenceMapping(attributes, directions),
+				new SortedExampleSet(exampleSet, attributes, directions, context, null).getMappingCopy());
+	}
+
+	@Test
+	public void testSameAsChainedSorts() throws ProcessStoppedException {
+		Attribute integer = exampleSet.getAttributes().get("integer");
+		Attribute nominal = exampleSet.getAttributes().get("nominal");
+		SortedExampleSet chained = new SortedExampleSet(
+				new SortedExampleSet(exampleSet, nominal, SortedExampleSet.INCREASING), integer,
+				SortedExampleSet.DECREASING);
+		SortedExampleSet combined = new SortedExampleSet(exampleSet, new Attribute[] { integer, nominal },
+				new int[] { SortedExampleSet.DECREASING, SortedExampleSet.INCREASING }, context, null);
+		for (int i = 0; i < ROWS; i++) {
+			Example expected = chained.getExample(i);
+			Example actual = combined.getExample(i);
+			assertArrayEquals(new double[] { expected.getValue(integer), expected.getValue(nominal) },
+					new double[] { actual.getValue(integer), actual.getValue(nominal) }, 0);
+		}
+	}
+
+	/**
+	 * Sorts boxed indices with a stable sort, comparing the values like the comparator of the former implementation.
+	 */
+	private static int[] referenceMapping(Attribute[] attributes, int[] directions) {
+		List<Integer> indices = new ArrayList<>();
+		for (int i = 0; i < ROWS; i++) {
+			indices.add(i);
+		}
+		Comparator<Integer> comparator = (a, b) -> 0;
+		for (int i = 0; i < attributes.length; i++) {
+			Attribute attribute = attributes[i];
+			Comparator<Integer> keyComparator;
+			if (attribute.isNominal()) {
+				keyComparator = Comparator.comparing(index -> exampleSet.getExample(index).getNominalValue(attribute));
+			} else if (Ontology.ATTRIBUTE_VALUE_TYPE.isA(attribute.getValueType(), Ontology.DATE_TIME)) {
+				keyComparator = Comparator.comparing(index -> exampleSet.getExample(index).getDateValue(attribute));
+			} else {
+				keyComparator = Comparator.comparing(index -> exampleSet.getExample(index).getNumericalValue(attribute));
+			}
+			if (directions[i] == SortedExampleSet.DECREASING) {
+				keyComparator = keyComparator.reversed();
+			}
+			comparator = comparator.thenComparing(keyComparator);
+		}
+		indices.sort(comparator);
+		return indices.stream().mapToInt(Integer::intValue).toArray();
+	}
+
+}
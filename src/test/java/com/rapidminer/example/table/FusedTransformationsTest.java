@@ -0,0 +1,189 @@
+/**
+ * Copyright (C) 2001-2020 by RapidMiner and the contributors
+ * 
+ * Complete list of developers available at our web site:
+ * 
+ * http://rapidminer.com
+ * 
+ * This program is free software: you can redistribute it and/or modify it under the terms of the
+ * GNU Affero General Public License as published by the Free Software Foundation, either version 3
+ * of the License, or (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without
+ * even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Affero General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Affero General Public License along with this program.
+ * If not, see http://www.gnu.org/licenses/.
+*/
+package com.rapidminer.example.table;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.junit.Test;
+
+import com.rapidminer.example.Attribute;
+import com.rapidminer.example.AttributeWeights;
+import com.rapidminer.example.set.AttributeTransformationRemapping;
+import com.rapidminer.example.set.AttributeTransformationReplaceMissing;
+import com.rapidminer.example.set.AttributeTransformationWeighting;
+import com.rapidminer.example.set.FullAttributeTransformationRemapping;
+import com.rapidminer.tools.Ontology;
+
+
+/**
+ * Tests that the {@link FusedTransformations} of an attribute return the same values as applying
+ * the transformations one after another, also after the transformations were changed.
+ *
+ * @since 9.7
+ */
+public class FusedTransformationsTest {
+
+	@Test
+	public void remappingStack() {
+		Attribute att = AttributeFactory.createAttribute("att", Ontology.NOMINAL);
+		att.setTableIndex(0);
+		att.getMapping().mapString("a");
+		att.getMapping().mapString("b");
+		att.getMapping().mapString("c");
+
+		NominalMapping overlay = new PolynominalMapping();
+		overlay.mapString("c");
+		overlay.mapString("a");
+		AttributeTransformationRemapping remapping = new AttributeTransformationRemapping(overlay);
+		att.addTransformation(remapping);
+		att.addTransformation(new AttributeTransformationReplaceMissing(new HashMap<>()));
+
+		assertEquals(1, att.getValue(row(0)), 0);
+		assertEquals(Double.NaN, att.getValue(row(1)), 0);
+		assertEquals(0, att.getValue(row(2)), 0);
+		// cached
+		assertEquals(0, att.getValue(row(2)), 0);
+		assertEquals(Double.NaN, att.getValue(row(Double.NaN)), 0);
+
+		// growing mappings
+		overlay.mapString("b");
+		att.getMapping().mapString("d");
+		overlay.mapString("d");
+		assertEquals(2, att.getValue(row(1)), 0);
+		assertEquals(3, att.getValue(row(3)), 0);
+
+		// replaced mapping
+		NominalMapping other = new PolynominalMapping();
+		other.mapString("a");
+		other.mapString("c");
+		remapping.setNominalMapping(other);
+		assertEquals(0, att.getValue(row(0)), 0);
+		assertEquals(1, att.getValue(row(2)), 0);
+		assertEquals(Double.NaN, att.getValue(row(1)), 0);
+	}
+
+	@Test
+	public void mappingsChangedInPlace() {
+		Attribute att = AttributeFactory.createAttribute("att", Ontology.NOMINAL);
+		att.setTableIndex(0);
+		att.getMapping().mapString("a");
+		att.getMapping().mapString("b");
+
+		NominalMapping overlay = new PolynominalMapping();
+		overlay.mapString("b");
+		overlay.mapString("a");
+		att.addTransformation(new AttributeTransformationRemapping(overlay));
+		assertEquals(1, att.getValue(row(0)), 0);
+		assertEquals(0, att.getValue(row(1)), 0);
+
+		// changed overlay
+		overlay.sortMappings();
+		assertEquals(0, att.getValue(row(0)), 0);
+		assertEquals(1, att.getValue(row(1)), 0);
+		overlay.setMapping("c", 0);
+		assertEquals(Double.NaN, att.getValue(row(0)), 0);
+
+		// changed mapping of the attribute
+		att.getMapping().setMapping("c", 1);
+		assertEquals(0, att.getValue(row(1)), 0);
+		att.getMapping().clear();
+		att.getMapping().mapString("b");
+		assertEquals(1, att.getValue(row(0)), 0);
+
+		// changed binominal overlay
+		NominalMapping binominal = new BinominalMapping();
+		binominal.mapString("b");
+		binominal.mapString("a");
+		Attribute other = AttributeFactory.createAttribute("other", Ontology.NOMINAL);
+		other.setTableIndex(0);
+		other.getMapping().mapString("a");
+		other.getMapping().mapString("b");
+		other.addTransformation(new FullAttributeTransformationRemapping(binominal));
+		assertEquals(1, other.getValue(row(0)), 0);
+		binominal.sortMappings();
+		assertEquals(0, other.getValue(row(0)), 0);
+	}
+
+	@Test
+	public void fullRemappingWithReplacement() {
+		Attribute att = AttributeFactory.createAttribute("att", Ontology.NOMINAL);
+		att.setTableIndex(0);
+		att.getMapping().mapString("x");
+		att.getMapping().mapString("y");
+
+		NominalMapping base = new PolynominalMapping();
+		base.mapString("y");
+		base.mapString("z");
+		att.addTransformation(new FullAttributeTransformationRemapping(base));
+		Map<String, Double> replacements = new HashMap<>();
+		att.addTransformation(new AttributeTransformationReplaceMissing(replacements));
+
+		assertEquals(1, att.getValue(row(0)), 0);
+		assertEquals(Double.NaN, att.getValue(row(1)), 0);
+
+		replacements.put("att", 0d);
+		assertEquals(0, att.getValue(row(1)), 0);
+		assertEquals(0, att.getValue(row(Double.NaN)), 0);
+		assertEquals(1, att.getValue(row(0)), 0);
+
+		att.clearTransformations();
+		assertEquals(1, att.getValue(row(1)), 0);
+	}
+
+	@Test
+	public void weightingAndReplacement() {
+		Attribute att = AttributeFactory.createAttribute("att", Ontology.REAL);
+		att.setTableIndex(0);
+		AttributeWeights weights = new AttributeWeights();
+		weights.setWeight("att", 2);
+		Map<String, Double> replacements = new HashMap<>();
+		replacements.put("att", 5d);
+		att.addTransformation(new AttributeTransformationReplaceMissing(replacements));
+		AttributeTransformationWeighting weighting = new AttributeTransformationWeighting(weights);
+		att.addTransformation(weighting);
+
+		assertEquals(3, att.getValue(row(1.5)), 0);
+		assertEquals(10, att.getValue(row(Double.NaN)), 0);
+
+		weights.setWeight("att", 3);
+		assertEquals(4.5, att.getValue(row(1.5)), 0);
+
+		weights.setWeight("att", Double.NaN);
+		assertEquals(1.5, att.getValue(row(1.5)), 0);
+
+		weights.setWeight("att", 4);
+		assertEquals(6, att.getValue(row(1.5)), 0);
+
+		AttributeWeights otherWeights = new AttributeWeights();
+		otherWeights.setWeight("att", -1);
+		weighting.setAttributeWeights(otherWeights);
+		assertEquals(-1.5, att.getValue(row(1.5)), 0);
+
+		att.setName("renamed");
+		assertEquals(1.5, att.getValue(row(1.5)), 0);
+	}
+
+	private static DataRow row(double value) {
+		return new DoubleArrayDataRow(new double[] { value });
+	}
+
+}
@@ -0,0 +1,76 @@
+/**
+ * Copyright (C) 2001-2020 by RapidMiner and the contributors
+ *
+ * Complete list of developers available at our web site:
+ *
+ * http://rapidminer.com
+ *
+ * This program is free software: you can redistribute it and/or modify it under the terms of the
+ * GNU Affero General Public License as published by the Free Software Foundation, either version 3
+ * of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without
+ * even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License along with this program.
+ * If not, see http://www.gnu.org/licenses/.
+ */
+package com.rapidminer.example.table.internal;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+
+
+/**
+ * Tests that the {@link LazyColumn} loads every chunk only once while it is cached and keeps modified chunks.
+ *
+ * @since 9.7
+ */
+public class LazyColumnTest {
+
+	private static final int ROWS = 2 * LazyColumn.CHUNK_SIZE + 5;
+
+	@Test
+	public void chunksLoadedOnce() {
+		AtomicInteger loads = new AtomicInteger();
+		LazyColumn column = new LazyColumn(createLoader(loads), ROWS, ROWS);
+		assertEquals(3, column.get(3), 0);
+		assertEquals(LazyColumn.CHUNK_SIZE + 1, column.get(LazyColumn.CHUNK_SIZE + 1), 0);
+		assertEquals(7, column.get(7), 0);
+		assertEquals(ROWS - 1, column.get(ROWS - 1), 0);
+		assertEquals(3, loads.get());
+		assertEquals(LazyColumn.CHUNK_SIZE, column.get(LazyColumn.CHUNK_SIZE), 0);
+		assertEquals(3, loads.get());
+	}
+
+	@Test
+	public void modifiedChunksKept() {
+		AtomicInteger loads = new AtomicInteger();
+		LazyColumn column = new LazyColumn(createLoader(loads), ROWS, ROWS);
+		assertEquals(1, column.get(1), 0);
+		column.set(2, -2);
+		assertEquals(1, loads.get());
+		column.ensure(ROWS + LazyColumn.CHUNK_SIZE);
+		column.set(ROWS + 1, -1);
+		assertEquals(0, column.get(ROWS), 0);
+		assertEquals(LazyColumn.CHUNK_SIZE, column.get(LazyColumn.CHUNK_SIZE), 0);
+		assertEquals(-2, column.get(2), 0);
+		assertEquals(1, column.get(1), 0);
+		assertEquals(-1, column.get(ROWS + 1), 0);
+		assertEquals(3, loads.get());
+	}
+
+	private static ColumnarExampleTable.ChunkLoader createLoader(AtomicInteger loads) {
+		return (from, to, buffer) -> {
+			loads.incrementAndGet();
+			for (int i = from; i < to; i++) {
+				buffer[i - from] = i;
+			}
+		};
+	}
+
+}
@@ -0,0 +1,127 @@
+/**
+ * Copyright (C) 2001-2020 by RapidMiner and the contributors
+ *
+ * Complete list of developers available at our web site:
+ *
+ * http://rapidminer.com
+ *
+ * This program is free software: you can redistribute it and/or modify it under the terms of the
+ * GNU Affero General Public License as published by the Free Software Foundation, either version 3
+ * of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without
+ * even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License along with this program.
+ * If not, see http://www.gnu.org/licenses/.
+ */
+package com.rapidminer.operator.clustering.clusterer;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.function.BiFunction;
+
+import org.junit.Test;
+
+import com.rapidminer.operator.ProcessStoppedException;
+import com.rapidminer.operator.clustering.HierarchicalClusterLeafNode;
+import com.rapidminer.operator.clustering.HierarchicalClusterNode;
+
+
+/**
+ * Tests that the nearest-neighbor chain agglomerations of the {@link AbstractLinkageMethod}s are the same as the ones
+ * of repeatedly joining the closest clusters.
+ *
+ * @since 9.7
+ */
+public class AbstractLinkageMethodTest {
+
+	private static final int SIZE = 300;
+
+	@Test
+	public void distanceMatrix() {
+		DistanceMatrix matrix = new DistanceMatrix(SIZE);
+		for (int x = 0; x < SIZE; x++) {
+			for (int y = x + 1; y < SIZE; y++) {
+				matrix.set(y, x, x * SIZE + y);
+			}
+		}
+		for (int x = 0; x < SIZE; x++) {
+			assertEquals(0, matrix.get(x, x), 0);
+			for (int y = x + 1; y < SIZE; y++) {
+				assertEquals(x * SIZE + y, matrix.get(x, y), 0);
+				assertEquals(x * SIZE + y, matrix.get(y, x), 0);
+			}
+		}
+	}
+
+	@Test
+	public void singleLinkage() throws ProcessStoppedException {
+		testLinkage(SingleLinkageMethod::new);
+	}
+
+	@Test
+	public void completeLinkage() throws ProcessStoppedException {
+		testLinkage(CompleteLinkageMethod::new);
+	}
+
+	@Test
+	public void averageLinkage() throws ProcessStoppedException {
+		testLinkage(AverageLinkageMethod::new);
+	}
+
+	private static void testLinkage(BiFunction<DistanceMatrix, int[], AbstractLinkageMethod> linkageFactory)
+			throws ProcessStoppedException {
+		double[][] points = new double[SIZE][2];
+		Random random = new Random(42);
+		for (double[] point : points) {
+			point[0] = random.nextDouble();
+			point[1] = random.nextDouble();
+		}
+
+		Map<Integer, HierarchicalClusterNode> clusterMap = new HashMap<>();
+		for (int i = 0; i < SIZE; i++) {
+			clusterMap.put(i, new HierarchicalClusterLeafNode(i, (Object) i));
+		}
+		AbstractLinkageMethod expectedLinkage = linkageFactory.apply(createMatrix(points), createIds());
+		AbstractLinkageMethod linkage = linkageFactory.apply(createMatrix(points), createIds());
+		List<Agglomeration> agglomerations = linkage.getAgglomerations(SIZE, null);
+
+		assertEquals(SIZE - 1, agglomerations.size());
+		int nextClusterId = SIZE;
+		for (Agglomeration agglomeration : agglomerations) {
+			Agglomeration expected = expectedLinkage.getNextAgglomeration(nextClusterId, clusterMap);
+			assertEquals(expected.getClusterId1(), agglomeration.getClusterId1());
+			assertEquals(expected.getClusterId2(), agglomeration.getClusterId2());
+			assertEquals(expected.getDistance(), agglomeration.getDistance(), 1e-12);
+
+			HierarchicalClusterNode node = new HierarchicalClusterNode(nextClusterId, expected.getDistance());
+			node.addSubNode(clusterMap.remove(expected.getClusterId1()));
+			node.addSubNode(clusterMap.remove(expected.getClusterId2()));
+			clusterMap.put(nextClusterId++, node);
+		}
+	}
+
+	private static DistanceMatrix createMatrix(double[][] points) {
+		DistanceMatrix matrix = new DistanceMatrix(points.length);
+		for (int x = 0; x < points.length; x++) {
+			for (int y = x + 1; y < points.length; y++) {
+				matrix.set(x, y, Math.hypot(points[x][0] - points[y][0], points[x][1] - points[y][1]));
+			}
+		}
+		return matrix;
+	}
+
+	private static int[] createIds() {
+		int[] ids = new int[SIZE];
+		for (int i = 0; i < SIZE; i++) {
+			ids[i] = i;
+		}
+		return ids;
+	}
+}
@@ -0,0 +1,300 @@
+/**
+ * Copyright (C) 2001-2020 by RapidMiner and the contributors
+ * 
+ * Complete list of developers available at our web site:
+ * 
+ * http://rapidminer.com
+ * 
+ * This program is free software: you can redistribute it and/or modify it under the terms of the
+ * GNU Affero General Public License as published by the Free Software Foundation, either version 3
+ * of the License, or (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without
+ * even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Affero General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Affero General Public License along with this program.
+ * If not, see http://www.gnu.org/licenses/.
+*/
+package com.rapidminer.operator.clustering.clusterer;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.LinkedList;
+import java.util.Queue;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import com.rapidminer.Process;
+import com.rapidminer.TestUtils;
+import com.rapidminer.example.Attribute;
+import com.rapidminer.example.Example;
+import com.rapidminer.example.ExampleSet;
+import com.rapidminer.example.Tools;
+import com.rapidminer.example.table.AttributeFactory;
+import com.rapidminer.example.utils.ExampleSetBuilder;
+import com.rapidminer.example.utils.ExampleSets;
+import com.rapidminer.operator.IOContainer;
+import com.rapidminer.operator.OperatorDescription;
+import com.rapidminer.operator.OperatorException;
+import com.rapidminer.operator.clustering.ClusterModel;
+import com.rapidminer.studio.concurrency.internal.ConcurrencyExecutionService;
+import com.rapidminer.studio.concurrency.internal.TestConcurrencyContext;
+import com.rapidminer.studio.internal.Resources;
+import com.rapidminer.tools.Ontology;
+import com.rapidminer.tools.math.similarity.DistanceMeasure;
+import com.rapidminer.tools.math.similarity.DistanceMeasures;
+import com.rapidminer.tools.math.similarity.numerical.CamberraNumericalDistance;
+import com.rapidminer.tools.math.similarity.numerical.ChebychevNumericalDistance;
+import com.rapidminer.tools.math.similarity.numerical.CosineSimilarity;
+import com.rapidminer.tools.math.similarity.numerical.EuclideanDistance;
+import com.rapidminer.tools.math.similarity.numerical.KernelEuclideanDistance;
+import com.rapidminer.tools.math.similarity.numerical.ManhattanDistance;
+
+
+/**
+ * Tests that {@link DBScan} with the {@link RangeQueryIndex} finds the same clusters as the previous implementation
+ * that scanned all examples for every neighbourhood, and that the concurrent search for core points does not change
+ * the clusters.
+ *
+ * @since 9.7
+ */
+public class DBScanTest {
+
+	private static final String[] MEASURES = { "EuclideanDistance", "ManhattanDistance", "ChebychevDistance",
+			"CamberraDistance", "CosineSimilarity" };
+
+	private static final Class<?>[] MEASURE_CLASSES = { EuclideanDistance.class, ManhattanDistance.class,
+			ChebychevNumericalDistance.class, CamberraNumericalDistance.class, CosineSimilarity.class };
+
+	private static ForkJoinPool pool;
+
+	@BeforeClass
+	public static void setup() {
+		TestUtils.INSTANCE.minimalProcessUsageSetup();
+		pool = new ForkJoinPool(4);
+	}
+
+	@AfterClass
+	public static void tearDown() {
+		pool.shutdown();
+	}
+
+	@Test
+	public void testSameClustersAsPreviousImplementation() throws OperatorException {
+		for (int i = 0; i < MEASURES.length; i++) {
+			double[][] rows = createBlobs(800, 3, 2020 + i);
+			DistanceMeasure measure = newMeasure(MEASURE_CLASSES[i]);
+			double epsilon = getDistanceQuantile(rows, measure, 0.05, 2020 + i);
+			for (int minPoints : new int[] { 1, 5, 20 }) {
+				int[] expected = previousImplementation(rows, measure, epsilon, minPoints);
+				int[] actual = cluster(rows, MEASURES[i], epsilon, minPoints, 4);
+				assertTrue(Arrays.stream(expected).max().getAsInt() > 1);
+				assertArrayEquals(MEASURES[i] + " with min points " + minPoints, expected, actual);
+			}
+		}
+	}
+
+	@Test
+	public void testSameClustersOnGrid() throws OperatorException {
+		// many distances are exactly epsilon, which are not within range
+		double[][] rows = new double[1000][];
+		Random random = new Random(2020);
+		for (int i = 0; i < rows.length; i++) {
+			rows[i] = new double[] { random.nextInt(20), random.nextInt(20), random.nextInt(3) };
+		}
+		for (int i = 0; i < 3; i++) {
+			DistanceMeasure measure = newMeasure(MEASURE_CLASSES[i]);
+			for (double epsilon : new double[] { 1, 2 }) {
+				int[] expected = previousImplementation(rows, measure, epsilon, 4);
+				int[] actual = cluster(rows, MEASURES[i], epsilon, 4, 4);
+				assertArrayEquals(MEASURES[i] + " with epsilon " + epsilon, expected, actual);
+			}
+		}
+	}
+
+	@Test
+	public void testConcurrentSameAsSequential() throws OperatorException {
+		// enough rows for several concurrent batches of core points
+		double[][] rows = createBlobs(25_000, 2, 2020);
+		for (int i = 0; i < 2; i++) {
+			DistanceMeasure measure = newMeasure(MEASURE_CLASSES[i]);
+			double epsilon = getDistanceQuantile(rows, measure, 0.001, 2020);
+			int[] sequential = cluster(rows, MEASURES[i], epsilon, 10, 1);
+			int[] concurrent = cluster(rows, MEASURES[i], epsilon, 10, 4);
+			assertTrue(Arrays.stream(sequential).max().getAsInt() > 1);
+			assertArrayEquals(MEASURES[i], sequential, concurrent);
+		}
+	}
+
+	@Test
+	public void testStatelessMeasures() {
+		for (Class<?> measureClass : MEASURE_CLASSES) {
+			assertTrue(measureClass.getName(), DistanceMeasures.isStateless(newMeasure(measureClass)));
+		}
+		assertFalse(DistanceMeasures.isStateless(new KernelEuclideanDistance()));
+		assertFalse(DistanceMeasures.isStateless(new EuclideanDistance() {
+
+			private static final long serialVersionUID = 1L;
+		}));
+	}
+
+	/**
+	 * Runs {@link DBScan} on the rows in a new process with the given concurrency context parallelism.
+	 */
+	private static int[] cluster(double[][] rows, String measure, double epsilon, int minPoints, int parallelism)
+			throws OperatorException {
+		Process process = new Process();
+		process.getRootOperator().setUserData(ConcurrencyExecutionService.OVERRIDING_CONTEXT,
+				new Resources.OverridingContextUserData(new TestConcurrencyContext(pool, parallelism)));
+		DBScan dbScan = new DBScan(new OperatorDescription(DBScan.class.getName(), "dbscan", DBScan.class,
+				DBScanTest.class.getClassLoader(), "elements_selection.png", null));
+		dbScan.setParameter("epsilon", String.valueOf(epsilon));
+		dbScan.setParameter("min_points", String.valueOf(minPoints));
+		dbScan.setParameter(DistanceMeasures.PARAMETER_MEASURE_TYPES,
+				DistanceMeasures.MEASURE_TYPES[DistanceMeasures.NUMERICAL_MEASURES_TYPE]);
+		dbScan.setParameter(DistanceMeasures.PARAMETER_NUMERICAL_MEASURE, measure);
+		process.getRootOperator().getSubprocess(0).addOperator(dbScan);
+		process.getRootOperator().getSubprocess(0).getInnerSources().getPortByIndex(0)
+				.connectTo(dbScan.getInputPorts().getPortByName("example set"));
+		dbScan.getOutputPorts().getPortByName("cluster model")
+				.connectTo(process.getRootOperator().getSubprocess(0).getInnerSinks().getPortByIndex(0));
+		dbScan.getOutputPorts().getPortByName("clustered set")
+				.connectTo(process.getRootOperator().getSubprocess(0).getInnerSinks().getPortByIndex(1));
+		IOContainer result = process.run(new IOContainer(toExampleSet(rows)));
+		ClusterModel model = result.get(ClusterModel.class);
+		return model.getClusterAssignments(result.get(ExampleSet.class));
+	}
+
+	/**
+	 * The cluster assignments of DBScan before the {@link RangeQueryIndex}, which scanned all examples for the
+	 * neighbourhood of every visited example.
+	 */
+	private static int[] previousImplementation(double[][] rows, DistanceMeasure measure, double epsilon,
+			int minPoints) throws OperatorException {
+		ExampleSet exampleSet = toExampleSet(rows);
+		Tools.checkAndCreateIds(exampleSet);
+		measure.init(exampleSet);
+
+		boolean[] visited = new boolean[exampleSet.size()];
+		boolean[] noised = new boolean[exampleSet.size()];
+		int[] clusterAssignments = new int[exampleSet.size()];
+
+		int i = 0;
+		int clusterIndex = 1;
+		for (Example example : exampleSet) {
+			if (!visited[i]) {
+				Queue<Integer> centerNeighbourhood = getNeighbourhood(example, exampleSet, measure, epsilon);
+				if (centerNeighbourhood.size() < minPoints) {
+					noised[i] = true;
+				} else {
+					clusterAssignments[i] = clusterIndex;
+					while (centerNeighbourhood.size() > 0) {
+						int currentIndex = centerNeighbourhood.poll().intValue();
+						Example currentExample = exampleSet.getExample(currentIndex);
+						clusterAssignments[currentIndex] = clusterIndex;
+						visited[currentIndex] = true;
+
+						Queue<Integer> neighbourhood = getNeighbourhood(currentExample, exampleSet, measure, epsilon);
+						if (neighbourhood.size() >= minPoints) {
+							while (neighbourhood.size() > 0) {
+								int neighbourIndex = neighbourhood.poll().intValue();
+								if (!visited[neighbourIndex]) {
+									if (!noised[neighbourIndex]) {
+										centerNeighbourhood.add(neighbourIndex);
+									}
+									clusterAssignments[neighbourIndex] = clusterIndex;
+									visited[neighbourIndex] = true;
+								}
+							}
+						}
+					}
+					clusterIndex++;
+				}
+			}
+			i++;
+		}
+		return clusterAssignments;
+	}
+
+	private static LinkedList<Integer> getNeighbourhood(Example centerExample, ExampleSet exampleSet,
+			DistanceMeasure measure, double epsilon) {
+		LinkedList<Integer> neighbourhood = new LinkedList<>();
+		int i = 0;
+		for (Example example : exampleSet) {
+			if (measure.calculateDistance(centerExample, example) < epsilon) {
+				neighbourhood.add(i);
+			}
+			i++;
+		}
+		return neighbourhood;
+	}
+
+	/**
+	 * Creates rows of positive values around a few random centers with some uniform noise.
+	 */
+	private static double[][] createBlobs(int size, int dimensions, long seed) {
+		Random random = new Random(seed);
+		double[][] centers = new double[6][dimensions];
+		for (double[] center : centers) {
+			for (int d = 0; d < dimensions; d++) {
+				center[d] = 10 + 80 * random.nextDouble();
+			}
+		}
+		double[][] rows = new double[size][dimensions];
+		for (double[] row : rows) {
+			if (random.nextDouble() < 0.1) {
+				for (int d = 0; d < dimensions; d++) {
+					row[d] = 100 * random.nextDouble();
+				}
+			} else {
+				double[] center = centers[random.nextInt(centers.length)];
+				for (int d = 0; d < dimensions; d++) {
+					row[d] = center[d] + 3 * random.nextGaussian();
+				}
+			}
+		}
+		return rows;
+	}
+
+	/**
+	 * Estimates the given quantile of the distances between the rows from random pairs, so that epsilon fits the scale
+	 * of every measure.
+	 */
+	private static double getDistanceQuantile(double[][] rows, DistanceMeasure measure, double quantile, long seed) {
+		Random random = new Random(seed);
+		double[] distances = new double[5000];
+		for (int i = 0; i < distances.length; i++) {
+			distances[i] = measure.calculateDistance(rows[random.nextInt(rows.length)], rows[random.nextInt(rows.length)]);
+		}
+		Arrays.sort(distances);
+		return distances[(int) (quantile * distances.length)];
+	}
+
+	private static DistanceMeasure newMeasure(Class<?> measureClass) {
+		try {
+			return (DistanceMeasure) measureClass.newInstance();
+		} catch (ReflectiveOperationException e) {
+			throw new IllegalStateException(e);
+		}
+	}
+
+	private static ExampleSet toExampleSet(double[][] rows) {
+		Attribute[] attributes = new Attribute[rows[0].length];
+		for (int d = 0; d < attributes.length; d++) {
+			attributes[d] = AttributeFactory.createAttribute("att" + d, Ontology.REAL);
+		}
+		ExampleSetBuilder builder = ExampleSets.from(attributes);
+		for (double[] row : rows) {
+			builder.addRow(row);
+		}
+		return builder.build();
+	}
+}
@@ -0,0 +1,120 @@
+/**
+ * Copyright (C) 2001-2020 by RapidMiner and the contributors
+ *
+ * Complete list of developers available at our web site:
+ *
+ * http://rapidminer.com
+ *
+ * This program is free software: you can redistribute it and/or modify it under the terms of the
+ * GNU Affero General Public License as published by the Free Software Foundation, either version 3
+ * of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without
+ * even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License along with this program.
+ * If not, see http://www.gnu.org/licenses/.
+*/
+package com.rapidminer.operator.clustering.clusterer;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Random;
+
+import org.junit.Test;
+
+import com.rapidminer.example.Attribute;
+import com.rapidminer.example.ExampleSet;
+import com.rapidminer.example.table.AttributeFactory;
+import com.rapidminer.example.utils.ExampleSetBuilder;
+import com.rapidminer.example.utils.ExampleSets;
+import com.rapidminer.tools.Ontology;
+import com.rapidminer.tools.math.similarity.DistanceMeasure;
+import com.rapidminer.tools.math.similarity.numerical.EuclideanDistance;
+
+
+/**
+ * Tests that {@link NearestCentroids} assigns the same centroids whether the rows are read from a
+ * block or, if they do not fit into one, from the example set, and that the number of rows
+ * calculated at once stays within the size of a block.
+ *
+ * @since 9.7
+ */
+public class NearestCentroidsTest {
+
+	private static final int ROWS = 2500;
+
+	private static final int DIMENSIONS = 3;
+
+	private static final int K = 5;
+
+	@Test
+	public void assignWithoutBlock() {
+		Random random = new Random(42);
+		ExampleSet exampleSet = createExampleSet(random);
+		Attribute[] attributes = exampleSet.getAttributes().createRegularAttributeArray();
+		double[] centroids = new double[K * DIMENSIONS];
+		for (int i = 0; i < centroids.length; i++) {
+			centroids[i] = random.nextGaussian();
+		}
+		DistanceMeasure measure = new EuclideanDistance();
+
+		double[] rows = NearestCentroids.toBlock(exampleSet, attributes);
+		assertNotNull(rows);
+		int[] blockAssignments = new int[ROWS];
+		NearestCentroids.assign(measure, centroids, K, rows, exampleSet, attributes, blockAssignments);
+		int[] exampleAssignments = new int[ROWS];
+		NearestCentroids.assign(measure, centroids, K, null, exampleSet, attributes, exampleAssignments);
+		assertArrayEquals(blockAssignments, exampleAssignments);
+
+		int[] expected = new int[ROWS];
+		double[] values = new double[DIMENSIONS];
+		double[] centroid = new double[DIMENSIONS];
+		for (int i = 0; i < ROWS; i++) {
+			NearestCentroids.getRow(null, exampleSet, attributes, i, values);
+			assertArrayEquals(values, NearestCentroids.getRow(rows, exampleSet, attributes, i, new double[DIMENSIONS]),
+					0);
+			double nearestDistance = Double.POSITIVE_INFINITY;
+			for (int c = 0; c < K; c++) {
+				System.arraycopy(centroids, c * DIMENSIONS, centroid, 0, DIMENSIONS);
+				double distance = measure.calculateDistance(centroid, values);
+				if (distance < nearestDistance) {
+					nearestDistance = distance;
+					expected[i] = c;
+				}
+			}
+		}
+		assertArrayEquals(expected, exampleAssignments);
+	}
+
+	@Test
+	public void rowsPerBlockBounded() {
+		int[] sizes = { 1, 7, 1 << 16, DistanceMeasure.MAX_BLOCK_SIZE };
+		for (int k : sizes) {
+			for (int dimensions : sizes) {
+				long rowsPerBlock = NearestCentroids.getRowsPerBlock(k, dimensions);
+				assertTrue(rowsPerBlock >= 1);
+				assertTrue(rowsPerBlock == 1 || DistanceMeasure.fitsInBlock(rowsPerBlock, Math.max(k, dimensions)));
+			}
+		}
+	}
+
+	private static ExampleSet createExampleSet(Random random) {
+		Attribute[] attributes = new Attribute[DIMENSIONS];
+		for (int d = 0; d < DIMENSIONS; d++) {
+			attributes[d] = AttributeFactory.createAttribute("att" + d, Ontology.REAL);
+		}
+		ExampleSetBuilder builder = ExampleSets.from(attributes);
+		for (int i = 0; i < ROWS; i++) {
+			double[] row = new double[DIMENSIONS];
+			for (int d = 0; d < DIMENSIONS; d++) {
+				row[d] = random.nextGaussian();
+			}
+			builder.addRow(row);
+		}
+		return builder.build();
+	}
+}
@@ -0,0 +1,244 @@
+/**
+ * Copyright (C) 2001-2020 by RapidMiner and the contributors
+ *
+ * Complete list of developers available at our web site:
+ *
+ * http://rapidminer.com
+ *
+ * This program is free software: you can redistribute it and/or modify it under the terms of the
+ * GNU Affero General Public License as published by the Free Software Foundation, either version 3
+ * of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without
+ * even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License along with this program.
+ * If not, see http://www.gnu.org/licenses/.
+*/
+package com.rapidminer.operator.execution;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+
+import org.junit.AfterClass;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import com.rapidminer.Process;
+import com.rapidminer.TestUtils;
+import com.rapidminer.operator.ExecutionUnit;
+import com.rapidminer.operator.Operator;
+import com.rapidminer.operator.OperatorDescription;
+import com.rapidminer.operator.ports.InputPort;
+import com.rapidminer.operator.ports.OutputPort;
+import com.rapidminer.parameter.ParameterType;
+import com.rapidminer.parameter.ParameterTypeString;
+import com.rapidminer.studio.concurrency.internal.ConcurrencyExecutionService;
+import com.rapidminer.studio.concurrency.internal.TestConcurrencyContext;
+import com.rapidminer.studio.internal.Resources;
+import com.rapidminer.tools.RandomGenerator;
+
+
+/**
+ * Tests the dependencies and the execution of the {@link DataflowUnitExecutor}.
+ *
+ * @since 9.7
+ */
+public class DataflowUnitExecutorTest {
+
+	private static ForkJoinPool pool;
+
+	private Process process;
+
+	private ExecutionUnit unit;
+
+	/** The operators in the order in which they were executed. */
+	private final List<Operator> executed = Collections.synchronizedList(new ArrayList<>());
+
+	@BeforeClass
+	public static void setup() throws Exception {
+		TestUtils.INSTANCE.minimalProcessUsageSetup();
+		pool = new ForkJoinPool(4);
+	}
+
+	@AfterClass
+	public static void tearDown() {
+		pool.shutdown();
+	}
+
+	@Before
+	public void createProcess() {
+		process = new Process();
+		process.getRootOperator().setUserData(ConcurrencyExecutionService.OVERRIDING_CONTEXT,
+				new Resources.OverridingContextUserData(new TestConcurrencyContext(pool)));
+		unit = process.getRootOperator().getSubprocess(0);
+		executed.clear();
+	}
+
+	@Test
+	public void testIndependentOperators() {
+		TestOperator first = add(true);
+		add(true);
+		TestOperator third = add(true);
+		first.output.connectTo(third.input);
+
+		DataflowUnitExecutor.Schedule schedule = createSchedule();
+		assertEquals(Collections.singleton(2), schedule.getSuccessors(0));
+		assertEquals(Collections.emptySet(), schedule.getSuccessors(1));
+		assertEquals(Collections.emptySet(), schedule.getSuccessors(2));
+	}
+
+	@Test
+	public void testOperatorsKeepOrderByDefault() {
+		add(false);
+		add(false);
+		add(false);
+
+		DataflowUnitExecutor.Schedule schedule = createSchedule();
+		assertEquals(Collections.singleton(1), schedule.getSuccessors(0));
+		assertEquals(Collections.singleton(2), schedule.getSuccessors(1));
+		assertEquals(Collections.emptySet(), schedule.getSuccessors(2));
+	}
+
+	@Test
+	public void testOrderedOperatorIsBarrier() {
+		add(true);
+		add(true);
+		add(false);
+		add(true);
+		add(true);
+
+		DataflowUnitExecutor.Schedule schedule = createSchedule();
+		assertEquals(Collections.singleton(2), schedule.getSuccessors(0));
+		assertEquals(Collections.singleton(2), schedule.getSuccessors(1));
+		assertEquals(new HashSet<>(Arrays.asList(3, 4)), schedule.getSuccessors(2));
+		assertEquals(Collections.emptySet(), schedule.getSuccessors(3));
+	}
+
+	@Test
+	public void testMacroUserIsOrdered() {
+		add(true);
+		TestOperator macroUser = add(true);
+		macroUser.setParameter(TestOperator.PARAMETER_VALUE, "%{value}");
+		add(true);
+
+		DataflowUnitExecutor.Schedule schedule = createSchedule();
+		assertEquals(Collections.singleton(1), schedule.getSuccessors(0));
+		assertEquals(Collections.singleton(2), schedule.getSuccessors(1));
+	}
+
+	@Test
+	public void testOutdatedOrder() {
+		TestOperator first = add(true);
+		TestOperator second = add(true);
+		second.output.connectTo(first.input);
+
+		assertNull(DataflowUnitExecutor.Schedule.create(process, Collections.list(unit.getOperatorEnumeration())));
+	}
+
+	@Test
+	public void testExecutionOrder() throws Exception {
+		List<TestOperator> operators = new ArrayList<>();
+		for (int i = 0; i < 6; i++) {
+			operators.add(add(false));
+		}
+		RandomGenerator.init(process, 42L);
+		new DataflowUnitExecutor().execute(unit);
+		assertEquals(operators, executed);
+	}
+
+	@Test
+	public void testReproducibleRandomGenerators() throws Exception {
+		List<TestOperator> operators = new ArrayList<>();
+		for (int i = 0; i < 8; i++) {
+			operators.add(add(true));
+		}
+		RandomGenerator.init(process, 42L);
+		new DataflowUnitExecutor().execute(unit);
+		int[] first = operators.stream().mapToInt(operator -> operator.random).toArray();
+		assertEquals(operators.size(), executed.size());
+
+		RandomGenerator.init(process, 42L);
+		new DataflowUnitExecutor().execute(unit);
+		int[] second = operators.stream().mapToInt(operator -> operator.random).toArray();
+		assertArrayEquals(first, second);
+		assertNotEquals(first[0], first[1]);
+
+		// the generator of the process is not used by the tasks
+		Set<Integer> values = new HashSet<>();
+		for (int value : first) {
+			values.add(value);
+		}
+		assertEquals(first.length, values.size());
+	}
+
+	private DataflowUnitExecutor.Schedule createSchedule() {
+		DataflowUnitExecutor.Schedule schedule = DataflowUnitExecutor.Schedule.create(process,
+				Collections.list(unit.getOperatorEnumeration()));
+		assertNotNull(schedule);
+		return schedule;
+	}
+
+	private TestOperator add(boolean sideEffectFree) {
+		TestOperator operator = new TestOperator(new OperatorDescription(TestOperator.class.getName(), "test_operator",
+				TestOperator.class, getClass().getClassLoader(), "elements_selection.png", null), sideEffectFree, executed);
+		unit.addOperator(operator);
+		return operator;
+	}
+
+	/**
+	 * Records its execution and a value of the random generator of the process.
+	 */
+	public static class TestOperator extends Operator {
+
+		private static final String PARAMETER_VALUE = "value";
+
+		private final InputPort input = getInputPorts().createPort("input");
+
+		private final OutputPort output = getOutputPorts().createPort("output");
+
+		private final boolean sideEffectFree;
+
+		private final List<Operator> executed;
+
+		private int random;
+
+		public TestOperator(OperatorDescription description, boolean sideEffectFree, List<Operator> executed) {
+			super(description);
+			this.sideEffectFree = sideEffectFree;
+			this.executed = executed;
+		}
+
+		@Override
+		public void doWork() {
+			random = RandomGenerator.getRandomGenerator(getProcess(), -1).nextInt();
+			executed.add(this);
+		}
+
+		@Override
+		public boolean isSideEffectFree() {
+			return sideEffectFree;
+		}
+
+		@Override
+		public List<ParameterType> getParameterTypes() {
+			List<ParameterType> types = super.getParameterTypes();
+			types.add(new ParameterTypeString(PARAMETER_VALUE, "A value", true));
+			return types;
+		}
+	}
+
+}
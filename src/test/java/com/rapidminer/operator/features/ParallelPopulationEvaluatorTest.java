@@ -0,0 +1,254 @@
+/**
+ * Copyright (C) 2001-2020 by RapidMiner and the contributors
+ * 
+ * Complete list of developers available at our web site:
+ * 
+ * http://rapidminer.com
+ * 
+ * This program is free software: you can redistribute it and/or modify it under the terms of the
+ * GNU Affero General Public License as published by the Free Software Foundation, either version 3
+ * of the License, or (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without
+ * even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Affero General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Affero General Public License along with this program.
+ * If not, see http://www.gnu.org/licenses/.
+*/
+package com.rapidminer.operator.features;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.AfterClass;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import com.rapidminer.Process;
+import com.rapidminer.TestUtils;
+import com.rapidminer.example.Attribute;
+import com.rapidminer.example.ExampleSet;
+import com.rapidminer.example.table.AttributeFactory;
+import com.rapidminer.example.utils.ExampleSets;
+import com.rapidminer.operator.Operator;
+import com.rapidminer.operator.OperatorDescription;
+import com.rapidminer.operator.OperatorException;
+import com.rapidminer.operator.performance.EstimatedPerformance;
+import com.rapidminer.operator.performance.PerformanceVector;
+import com.rapidminer.operator.ports.InputPort;
+import com.rapidminer.operator.ports.OutputPort;
+import com.rapidminer.studio.concurrency.internal.ConcurrencyExecutionService;
+import com.rapidminer.studio.concurrency.internal.TestConcurrencyContext;
+import com.rapidminer.studio.concurrency.internal.TestExecutionService;
+import com.rapidminer.studio.internal.Resources;
+import com.rapidminer.tools.Ontology;
+import com.rapidminer.tools.RandomGenerator;
+
+
+/**
+ * Tests that the {@link ParallelPopulationEvaluator} yields the same performances concurrently and
+ * sequentially and that it only evaluates weights which are not known from the previous
+ * generation.
+ *
+ * @since 9.7
+ */
+public class ParallelPopulationEvaluatorTest {
+
+	private static final int NUMBER_OF_ATTRIBUTES = 6;
+
+	private static final long SEED = 2001;
+
+	private static ForkJoinPool pool;
+
+	private static ExampleSet exampleSet;
+
+	@BeforeClass
+	public static void setup() throws Exception {
+		TestUtils.INSTANCE.minimalProcessUsageSetup();
+		pool = new ForkJoinPool(4);
+		List<Attribute> attributes = new ArrayList<>();
+		for (int i = 0; i < NUMBER_OF_ATTRIBUTES; i++) {
+			attributes.add(AttributeFactory.createAttribute("att" + i, Ontology.REAL));
+		}
+		exampleSet = ExampleSets.from(attributes).withBlankSize(10).build();
+	}
+
+	@AfterClass
+	public static void tearDown() {
+		pool.shutdown();
+	}
+
+	@Before
+	public void resetEvaluations() {
+		RandomPerformanceOperator.EVALUATIONS.set(0);
+	}
+
+	@Test
+	public void testParallelSameAsSequential() throws OperatorException {
+		Population sequential = createPopulation(20);
+		new ParallelPopulationEvaluator(createOperator(), exampleSet, null).evaluate(sequential);
+		Population parallel = createPopulation(20);
+		new ParallelPopulationEvaluator(createOperator(), exampleSet, new TestExecutionService(pool)).evaluate(parallel);
+
+		for (int i = 0; i < sequential.getNumberOfIndividuals(); i++) {
+			PerformanceVector expected = sequential.get(i).getPerformance();
+			PerformanceVector actual = parallel.get(i).getPerformance();
+			assertNotNull(actual);
+			assertEquals(expected.getMainCriterion().getAverage(), actual.getMainCriterion().getAverage(), 0);
+		}
+	}
+
+	@Test
+	public void testKnownWeightsNotEvaluatedAgain() throws OperatorException {
+		TestFeatureOperator operator = createOperator();
+		operator.getProgress().setTotal(1000);
+		ParallelPopulationEvaluator evaluator = new ParallelPopulationEvaluator(operator, exampleSet,
+				new TestExecutionService(pool));
+
+		// duplicates are evaluated once
+		Population first = createPopulation(20);
+		evaluator.evaluate(first);
+		assertEquals(countDifferentWeights(first), RandomPerformanceOperator.EVALUATIONS.get());
+		assertEquals(first.getNumberOfIndividuals(), operator.getProgress().getCompleted());
+
+		// the weights of the previous generation are cached
+		RandomPerformanceOperator.EVALUATIONS.set(0);
+		Population second = createPopulation(20);
+		evaluator.evaluate(second);
+		assertEquals(0, RandomPerformanceOperator.EVALUATIONS.get());
+		for (int i = 0; i < second.getNumberOfIndividuals(); i++) {
+			assertEquals(first.get(i).getPerformance(), second.get(i).getPerformance());
+		}
+		assertEquals(2 * first.getNumberOfIndividuals(), operator.getProgress().getCompleted());
+
+		// only the last generation is kept
+		Population other = new Population();
+		other.add(new Individual(new double[] { 1, 1, 1, 1, 1, 1 }));
+		evaluator.evaluate(other);
+		RandomPerformanceOperator.EVALUATIONS.set(0);
+		Population third = createPopulation(20);
+		evaluator.evaluate(third);
+		assertEquals(countDifferentWeights(third), RandomPerformanceOperator.EVALUATIONS.get());
+	}
+
+	/**
+	 * Creates a population of the given size where every weight vector occurs twice. The first
+	 * attribute is always used, so no vector is all zero.
+	 */
+	private static Population createPopulation(int size) {
+		Population population = new Population();
+		for (int i = 0; i < size; i++) {
+			int bits = i / 2;
+			double[] weights = new double[NUMBER_OF_ATTRIBUTES];
+			weights[0] = 1;
+			for (int a = 1; a < NUMBER_OF_ATTRIBUTES; a++) {
+				weights[a] = (bits >> (a - 1) & 1) == 1 ? 1 : 0;
+			}
+			population.add(new Individual(weights));
+		}
+		return population;
+	}
+
+	private static int countDifferentWeights(Population population) {
+		return (population.getNumberOfIndividuals() + 1) / 2;
+	}
+
+	/**
+	 * Creates a feature operator in a new process whose evaluation subprocess contains a
+	 * {@link RandomPerformanceOperator}.
+	 */
+	private static TestFeatureOperator createOperator() {
+		Process process = new Process();
+		process.getRootOperator().setUserData(ConcurrencyExecutionService.OVERRIDING_CONTEXT,
+				new Resources.OverridingContextUserData(new TestConcurrencyContext(pool)));
+		RandomGenerator.init(process, SEED);
+
+		TestFeatureOperator operator = new TestFeatureOperator(new OperatorDescription(
+				TestFeatureOperator.class.getName(), "test_feature_operator", TestFeatureOperator.class,
+				ParallelPopulationEvaluatorTest.class.getClassLoader(), "elements_selection.png", null));
+		process.getRootOperator().getSubprocess(0).addOperator(operator);
+
+		RandomPerformanceOperator evaluation = new RandomPerformanceOperator(new OperatorDescription(
+				RandomPerformanceOperator.class.getName(), "random_performance", RandomPerformanceOperator.class,
+				ParallelPopulationEvaluatorTest.class.getClassLoader(), "elements_selection.png", null));
+		operator.getSubprocess(0).addOperator(evaluation);
+		operator.getSubprocess(0).getInnerSources().getPortByName("example set").connectTo(evaluation.exampleSetInput);
+		evaluation.performanceOutput.connectTo(operator.getSubprocess(0).getInnerSinks().getPortByName("performance"));
+		return operator;
+	}
+
+	/**
+	 * Feature operator with a fixed random generator that is only used for evaluating given
+	 * populations.
+	 */
+	public static class TestFeatureOperator extends FeatureOperator {
+
+		private final RandomGenerator random = new RandomGenerator(SEED);
+
+		public TestFeatureOperator(OperatorDescription description) {
+			super(description);
+		}
+
+		@Override
+		protected RandomGenerator getRandom() {
+			return random;
+		}
+
+		@Override
+		public Population createInitialPopulation(ExampleSet es) {
+			return new Population();
+		}
+
+		@Override
+		public List<PopulationOperator> getPreEvaluationPopulationOperators(ExampleSet input) {
+			return Collections.emptyList();
+		}
+
+		@Override
+		public List<PopulationOperator> getPostEvaluationPopulationOperators(ExampleSet input) {
+			return Collections.emptyList();
+		}
+
+		@Override
+		public boolean solutionGoodEnough(Population pop) {
+			return true;
+		}
+	}
+
+	/**
+	 * Operator whose performance depends on the number of attributes and the random sequence of
+	 * the process. Counts its executions.
+	 */
+	public static class RandomPerformanceOperator extends Operator {
+
+		private static final AtomicInteger EVALUATIONS = new AtomicInteger();
+
+		private final InputPort exampleSetInput = getInputPorts().createPort("example set");
+
+		private final OutputPort performanceOutput = getOutputPorts().createPort("performance");
+
+		public RandomPerformanceOperator(OperatorDescription description) {
+			super(description);
+		}
+
+		@Override
+		public void doWork() throws OperatorException {
+			EVALUATIONS.incrementAndGet();
+			ExampleSet exampleSet = exampleSetInput.getData(ExampleSet.class);
+			double value = exampleSet.getAttributes().size()
+					+ RandomGenerator.getRandomGenerator(getProcess(), -1).nextDouble();
+			PerformanceVector performance = new PerformanceVector();
+			performance.addCriterion(new EstimatedPerformance("value", value, 1, false));
+			performanceOutput.deliver(performance);
+		}
+	}
+
+}
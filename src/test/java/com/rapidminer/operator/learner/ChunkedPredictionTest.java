@@ -0,0 +1,175 @@
+/**
+ * Copyright (C) 2001-2020 by RapidMiner and the contributors
+ * 
+ * Complete list of developers available at our web site:
+ * 
+ * http://rapidminer.com
+ * 
+ * This program is free software: you can redistribute it and/or modify it under the terms of the
+ * GNU Affero General Public License as published by the Free Software Foundation, either version 3
+ * of the License, or (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without
+ * even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Affero General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Affero General Public License along with this program.
+ * If not, see http://www.gnu.org/licenses/.
+*/
+package com.rapidminer.operator.learner;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.fail;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import com.rapidminer.core.concurrency.ConcurrencyContext;
+import com.rapidminer.example.Attribute;
+import com.rapidminer.example.Attributes;
+import com.rapidminer.example.Example;
+import com.rapidminer.example.ExampleSet;
+import com.rapidminer.example.table.AttributeFactory;
+import com.rapidminer.example.utils.ExampleSets;
+import com.rapidminer.operator.OperatorException;
+import com.rapidminer.operator.learner.ChunkedPrediction.ExampleScorer;
+import com.rapidminer.studio.concurrency.internal.TestConcurrencyContext;
+import com.rapidminer.tools.Ontology;
+
+
+/**
+ * Tests that {@link ChunkedPrediction} writes the same predictions and confidences as scoring
+ * example by example.
+ *
+ * @since 9.7
+ */
+public class ChunkedPredictionTest {
+
+	private static final int ROWS = 10_500;
+
+	private static ForkJoinPool pool;
+
+	private static ConcurrencyContext context;
+
+	@BeforeClass
+	public static void setup() {
+		pool = new ForkJoinPool(4);
+		context = new TestConcurrencyContext(pool, 4);
+	}
+
+	@AfterClass
+	public static void tearDown() {
+		pool.shutdown();
+	}
+
+	/**
+	 * Creates an example set with a numerical attribute with missing values, a predicted label and
+	 * two confidence attributes which are all {@code -1}.
+	 */
+	private static ExampleSet createExampleSet(long seed) {
+		Attribute x = AttributeFactory.createAttribute("x", Ontology.REAL);
+		Attribute prediction = AttributeFactory.createAttribute("prediction(label)", Ontology.POLYNOMINAL);
+		prediction.getMapping().mapString("a");
+		prediction.getMapping().mapString("b");
+		Attribute confidenceA = AttributeFactory.createAttribute("confidence(a)", Ontology.REAL);
+		Attribute confidenceB = AttributeFactory.createAttribute("confidence(b)", Ontology.REAL);
+		Map<Attribute, String> roles = new HashMap<>();
+		roles.put(prediction, Attributes.PREDICTION_NAME);
+		roles.put(confidenceA, Attributes.CONFIDENCE_NAME + "_a");
+		roles.put(confidenceB, Attributes.CONFIDENCE_NAME + "_b");
+		Random random = new Random(seed);
+		double[] values = random.doubles(ROWS, -3, 3).map(v -> v < -2.5 ? Double.NaN : v).toArray();
+		return ExampleSets.from(x, prediction, confidenceA, confidenceB).withRoles(roles).withBlankSize(ROWS)
+				.withColumnFiller(x, i -> values[i]).withColumnFiller(prediction, i -> -1)
+				.withColumnFiller(confidenceA, i -> -1).withColumnFiller(confidenceB, i -> -1).build();
+	}
+
+	/**
+	 * Sets the confidences only for non-missing values and reads the first confidence back to
+	 * compute the prediction.
+	 */
+	private static void score(Example example) {
+		double x = example.getValue(example.getAttributes().get("x"));
+		if (!Double.isNaN(x)) {
+			example.setConfidence("a", 1 / (1 + Math.exp(-x)));
+			example.setConfidence("b", 1 / (1 + Math.exp(x)));
+		}
+		double confidence = example.getConfidence("a");
+		example.setPredictedLabel(confidence < 0 ? Double.NaN : confidence > 0.5 ? 0 : 1);
+	}
+
+	@Test
+	public void testSameAsSequential() throws OperatorException {
+		ExampleSet expected = createExampleSet(42);
+		for (Example example : expected) {
+			score(example);
+		}
+		ExampleSet exampleSet = createExampleSet(42);
+		ChunkedPrediction.predict(exampleSet, exampleSet.getAttributes().getPredictedLabel(),
+				ChunkedPredictionTest::score, context, null);
+
+		Attribute[] attributes = exampleSet.getAttributes().createRegularAttributeArray();
+		for (int row = 0; row < ROWS; row++) {
+			Example expectedExample = expected.getExample(row);
+			Example example = exampleSet.getExample(row);
+			assertEquals(expectedExample.getPredictedLabel(), example.getPredictedLabel(), 0);
+			assertEquals(expectedExample.getConfidence("a"), example.getConfidence("a"), 0);
+			assertEquals(expectedExample.getConfidence("b"), example.getConfidence("b"), 0);
+			for (Attribute attribute : attributes) {
+				assertEquals(expectedExample.getValue(attribute), example.getValue(attribute), 0);
+			}
+		}
+	}
+
+	@Test
+	public void testScoreSameAsSequential() throws OperatorException {
+		ExampleSet expected = createExampleSet(11);
+		ExampleSet exampleSet = createExampleSet(11);
+		Attribute[] inputs = { exampleSet.getAttributes().get("x") };
+		ChunkedPrediction.RowScorer scorer = (values, result) -> {
+			result[0] = Double.isNaN(values[0]) ? 0 : values[0] * values[0];
+			result[1] = Double.isNaN(values[0]) ? 1 : 0;
+		};
+		ChunkedPrediction.ResultWriter writer = (example, result) -> {
+			example.setConfidence("a", result[0]);
+			example.setConfidence("b", result[1]);
+		};
+		ChunkedPrediction.score(expected, inputs, 2, scorer, writer, null, null);
+		ChunkedPrediction.score(exampleSet, inputs, 2, scorer, writer, context, null);
+
+		for (int row = 0; row < ROWS; row++) {
+			assertEquals(expected.getExample(row).getConfidence("a"), exampleSet.getExample(row).getConfidence("a"), 0);
+			assertEquals(expected.getExample(row).getConfidence("b"), exampleSet.getExample(row).getConfidence("b"), 0);
+		}
+	}
+
+	@Test(expected = UnsupportedOperationException.class)
+	public void testSetRegularValue() throws OperatorException {
+		ExampleSet exampleSet = createExampleSet(23);
+		ChunkedPrediction.predict(exampleSet, exampleSet.getAttributes().getPredictedLabel(),
+				example -> example.setValue(example.getAttributes().get("x"), 0), context, null);
+	}
+
+	@Test
+	public void testOperatorExceptionPassedOn() {
+		ExampleSet exampleSet = createExampleSet(23);
+		OperatorException exception = new OperatorException("scoring failed");
+		ExampleScorer scorer = example -> {
+			throw exception;
+		};
+		try {
+			ChunkedPrediction.predict(exampleSet, exampleSet.getAttributes().getPredictedLabel(), scorer, context,
+					null);
+			fail("Exception expected");
+		} catch (OperatorException e) {
+			assertSame(exception, e);
+		}
+	}
+}
@@ -0,0 +1,221 @@
+/**
+ * Copyright (C) 2001-2020 by RapidMiner and the contributors
+ * 
+ * Complete list of developers available at our web site:
+ * 
+ * http://rapidminer.com
+ * 
+ * This program is free software: you can redistribute it and/or modify it under the terms of the
+ * GNU Affero General Public License as published by the Free Software Foundation, either version 3
+ * of the License, or (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without
+ * even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Affero General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Affero General Public License along with this program.
+ * If not, see http://www.gnu.org/licenses/.
+*/
+package com.rapidminer.operator.learner.associations;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import com.rapidminer.Process;
+import com.rapidminer.TestUtils;
+import com.rapidminer.example.table.AttributeFactory;
+import com.rapidminer.operator.IOContainer;
+import com.rapidminer.operator.OperatorDescription;
+import com.rapidminer.operator.OperatorException;
+import com.rapidminer.studio.concurrency.internal.ConcurrencyExecutionService;
+import com.rapidminer.studio.concurrency.internal.TestConcurrencyContext;
+import com.rapidminer.studio.internal.Resources;
+import com.rapidminer.tools.Ontology;
+
+
+/**
+ * Tests that the {@link AssociationRuleGenerator} generates the same rules with and without the
+ * {@link ItemSetIndex} for every criterion, also if the frequencies are not monotone or subsets are
+ * missing.
+ *
+ * @since 9.7
+ */
+public class AssociationRuleGeneratorTest {
+
+	private static final int NUMBER_OF_ITEMS = 9;
+
+	private static final int NUMBER_OF_BASKETS = 200;
+
+	/** the minimal values of the criteria in the order of {@link AssociationRuleGenerator#CRITERIA} */
+	private static final double[] MIN_VALUES = { 0.6, 1.0, 1.1, 0.0, -0.5, 0.6 };
+
+	private static ForkJoinPool pool;
+
+	private static int[] counts;
+
+	@BeforeClass
+	public static void setup() {
+		TestUtils.INSTANCE.minimalProcessUsageSetup();
+		pool = new ForkJoinPool(4);
+
+		// count the baskets containing every combination of items
+		Random random = new Random(1999);
+		double[] probabilities = new double[NUMBER_OF_ITEMS];
+		for (int i = 0; i < NUMBER_OF_ITEMS; i++) {
+			probabilities[i] = 0.3 + 0.5 * random.nextDouble();
+		}
+		counts = new int[1 << NUMBER_OF_ITEMS];
+		for (int basket = 0; basket < NUMBER_OF_BASKETS; basket++) {
+			int items = 0;
+			for (int i = 0; i < NUMBER_OF_ITEMS; i++) {
+				if (random.nextDouble() < probabilities[i]) {
+					items |= 1 << i;
+				}
+			}
+			for (int subset = items; subset != 0; subset = subset - 1 & items) {
+				counts[subset]++;
+			}
+		}
+	}
+
+	@AfterClass
+	public static void tearDown() {
+		pool.shutdown();
+	}
+
+	@Test
+	public void testSameRules() throws OperatorException {
+		assertSameRules(createSets(counts, 0, new Random(1)));
+	}
+
+	@Test
+	public void testSameRulesWithMissingSubsets() throws OperatorException {
+		FrequentItemSets sets = createSets(counts, 0.2, new Random(2));
+		assertFalse(createIndex(sets).isMonotone());
+		assertSameRules(sets);
+	}
+
+	@Test
+	public void testSameRulesNonMonotone() throws OperatorException {
+		Random random = new Random(3);
+		int[] shuffled = new int[counts.length];
+		for (int subset = 1; subset < counts.length; subset++) {
+			shuffled[subset] = counts[subset] == 0 ? 0 : 1 + random.nextInt(NUMBER_OF_BASKETS);
+		}
+		FrequentItemSets sets = createSets(shuffled, 0.1, random);
+		ItemSetIndex index = createIndex(sets);
+		assertFalse(index.isMonotone());
+		assertSameRules(sets);
+	}
+
+	@Test
+	public void testMonotone() {
+		assertTrue(createIndex(createSets(counts, 0, new Random(4))).isMonotone());
+	}
+
+	/**
+	 * Checks that both generators find the same rules for every criterion.
+	 */
+	private static void assertSameRules(FrequentItemSets sets) throws OperatorException {
+		for (int criterion = 0; criterion < AssociationRuleGenerator.CRITERIA.length; criterion++) {
+			List<String> expected = generateRules(sets, criterion, false);
+			List<String> actual = generateRules(sets, criterion, true);
+			assertFalse(AssociationRuleGenerator.CRITERIA[criterion], expected.isEmpty());
+			assertEquals(AssociationRuleGenerator.CRITERIA[criterion], expected, actual);
+		}
+	}
+
+	/**
+	 * Creates the item sets with the given frequencies where every set is left out with the given
+	 * probability.
+	 */
+	private static FrequentItemSets createSets(int[] frequencies, double missingProbability, Random random) {
+		List<Item> items = new ArrayList<>();
+		for (int i = 0; i < NUMBER_OF_ITEMS; i++) {
+			BooleanAttributeItem item = new BooleanAttributeItem(
+					AttributeFactory.createAttribute("item" + i, Ontology.BINOMINAL));
+			item.increaseFrequency(counts[1 << i]);
+			items.add(item);
+		}
+		FrequentItemSets sets = new FrequentItemSets(NUMBER_OF_BASKETS);
+		for (int subset = 1; subset < frequencies.length; subset++) {
+			if (frequencies[subset] > 0 && random.nextDouble() >= missingProbability) {
+				ArrayList<Item> setItems = new ArrayList<>();
+				for (int i = 0; i < NUMBER_OF_ITEMS; i++) {
+					if ((subset >> i & 1) != 0) {
+						setItems.add(items.get(i));
+					}
+				}
+				sets.addFrequentSet(new FrequentItemSet(setItems, frequencies[subset]));
+			}
+		}
+		return sets;
+	}
+
+	/**
+	 * Creates the index of the sets with the items numbered in the order of their first occurrence.
+	 */
+	private static ItemSetIndex createIndex(FrequentItemSets sets) {
+		List<Item> ids = new ArrayList<>();
+		ItemSetIndex index = new ItemSetIndex();
+		for (FrequentItemSet set : sets) {
+			int[] key = new int[set.getNumberOfItems()];
+			int position = 0;
+			for (Item item : set.getItems()) {
+				if (!ids.contains(item)) {
+					ids.add(item);
+				}
+				key[position++] = ids.indexOf(item);
+			}
+			Arrays.sort(key);
+			index.put(key, key.length, set.getFrequency());
+		}
+		return index;
+	}
+
+	/**
+	 * Runs the {@link AssociationRuleGenerator} on the sets in a new process and returns the sorted
+	 * string representations of the rules with all criteria values.
+	 */
+	private static List<String> generateRules(FrequentItemSets sets, int criterion, boolean useIndex)
+			throws OperatorException {
+		Process process = new Process();
+		process.getRootOperator().setUserData(ConcurrencyExecutionService.OVERRIDING_CONTEXT,
+				new Resources.OverridingContextUserData(new TestConcurrencyContext(pool)));
+		AssociationRuleGenerator generator = new AssociationRuleGenerator(new OperatorDescription(
+				AssociationRuleGenerator.class.getName(), "create_association_rules", AssociationRuleGenerator.class,
+				AssociationRuleGeneratorTest.class.getClassLoader(), "elements_selection.png", null));
+		generator.setParameter(AssociationRuleGenerator.PARAMETER_CRITERION, AssociationRuleGenerator.CRITERIA[criterion]);
+		generator.setParameter(AssociationRuleGenerator.PARAMETER_MIN_CONFIDENCE, String.valueOf(MIN_VALUES[criterion]));
+		generator.setParameter(AssociationRuleGenerator.PARAMETER_MIN_CRITERION_VALUE,
+				String.valueOf(MIN_VALUES[criterion]));
+		generator.setParameter(AssociationRuleGenerator.PARAMETER_USE_ITEM_SET_INDEX, String.valueOf(useIndex));
+		process.getRootOperator().getSubprocess(0).addOperator(generator);
+		process.getRootOperator().getSubprocess(0).getInnerSources().getPortByIndex(0)
+				.connectTo(generator.getInputPorts().getPortByName("item sets"));
+		generator.getOutputPorts().getPortByName("rules")
+				.connectTo(process.getRootOperator().getSubprocess(0).getInnerSinks().getPortByIndex(0));
+		AssociationRules rules = process.run(new IOContainer(sets)).get(AssociationRules.class);
+
+		List<String> strings = new ArrayList<>();
+		for (AssociationRule rule : rules) {
+			strings.add(rule.toPremiseString() + " --> " + rule.toConclusionString() + " " + rule.getTotalSupport()
+					+ " " + rule.getConfidence() + " " + rule.getLift() + " " + rule.getConviction() + " "
+					+ rule.getPs() + " " + rule.getGain() + " " + rule.getLaplace());
+		}
+		Collections.sort(strings);
+		return strings;
+	}
+}
@@ -0,0 +1,66 @@
+/**
+ * Copyright (C) 2001-2020 by RapidMiner and the contributors
+ * 
+ * Complete list of developers available at our web site:
+ * 
+ * http://rapidminer.com
+ * 
+ * This program is free software: you can redistribute it and/or modify it under the terms of the
+ * GNU Affero General Public License as published by the Free Software Foundation, either version 3
+ * of the License, or (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without
+ * even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Affero General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Affero General Public License along with this program.
+ * If not, see http://www.gnu.org/licenses/.
+*/
+package com.rapidminer.operator.learner.associations;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+
+/**
+ * Tests the lookup and the monotonicity check of the {@link ItemSetIndex}.
+ *
+ * @since 9.7
+ */
+public class ItemSetIndexTest {
+
+	@Test
+	public void testLookup() {
+		ItemSetIndex index = new ItemSetIndex();
+		for (int i = 0; i < 100; i++) {
+			index.put(new int[] { i, i + 1, -1 }, 2, i);
+		}
+		index.put(new int[] { 3 }, 1, 7);
+		index.put(new int[] { 3, 4 }, 2, 42);
+		assertEquals(42, index.getFrequency(new int[] { 3, 4 }, 2));
+		assertEquals(7, index.getFrequency(new int[] { 3, 4 }, 1));
+		assertEquals(99, index.getFrequency(new int[] { 99, 100 }, 2));
+		assertEquals(0, index.getFrequency(new int[] { 4, 3 }, 2));
+		assertEquals(0, index.getFrequency(new int[] { 100 }, 1));
+	}
+
+	@Test
+	public void testMonotone() {
+		ItemSetIndex index = new ItemSetIndex();
+		index.put(new int[] { 0 }, 1, 5);
+		index.put(new int[] { 1 }, 1, 4);
+		index.put(new int[] { 0, 1 }, 2, 3);
+		assertTrue(index.isMonotone());
+
+		index.put(new int[] { 0, 1 }, 2, 5);
+		assertFalse(index.isMonotone());
+
+		index.put(new int[] { 0, 1 }, 2, 3);
+		index.put(new int[] { 0, 2 }, 2, 1);
+		assertFalse(index.isMonotone());
+	}
+
+}
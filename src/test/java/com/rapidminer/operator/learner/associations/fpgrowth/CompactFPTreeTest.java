@@ -0,0 +1,91 @@
+/**
+ * Copyright (C) 2001-2020 by RapidMiner and the contributors
+ * 
+ * Complete list of developers available at our web site:
+ * 
+ * http://rapidminer.com
+ * 
+ * This program is free software: you can redistribute it and/or modify it under the terms of the
+ * GNU Affero General Public License as published by the Free Software Foundation, either version 3
+ * of the License, or (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without
+ * even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Affero General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Affero General Public License along with this program.
+ * If not, see http://www.gnu.org/licenses/.
+*/
+package com.rapidminer.operator.learner.associations.fpgrowth;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import org.junit.Test;
+
+
+/**
+ * Tests the supports and conditional trees of the {@link CompactFPTree}.
+ *
+ * @since 9.7
+ */
+public class CompactFPTreeTest {
+
+	/**
+	 * Creates a tree on the transactions {0, 1, 2}, {0, 1}, {0, 2} and {1, 2}.
+	 */
+	private static CompactFPTree createTree() {
+		CompactFPTree tree = new CompactFPTree(new int[] { 0, 1, 2 });
+		tree.addPath(new int[] { 0, 1, 2 }, 3, 1);
+		tree.addPath(new int[] { 0, 1, 2 }, 2, 1);
+		tree.addPath(new int[] { 0, 2 }, 2, 1);
+		tree.addPath(new int[] { 1, 2 }, 2, 1);
+		return tree;
+	}
+
+	@Test
+	public void testSupports() {
+		CompactFPTree tree = createTree();
+		assertEquals(3, tree.getNumberOfItems());
+		assertEquals(3, tree.getSupport(0));
+		assertEquals(3, tree.getSupport(1));
+		assertEquals(3, tree.getSupport(2));
+	}
+
+	@Test
+	public void testConditionalTree() {
+		CompactFPTree tree = createTree();
+		CompactFPTree conditional = tree.getConditionalTree(2, 1);
+		assertEquals(2, conditional.getNumberOfItems());
+		assertEquals(0, conditional.getGlobalItem(0));
+		assertEquals(1, conditional.getGlobalItem(1));
+		assertEquals(2, conditional.getSupport(0));
+		assertEquals(2, conditional.getSupport(1));
+
+		CompactFPTree nested = conditional.getConditionalTree(1, 1);
+		assertEquals(1, nested.getNumberOfItems());
+		assertEquals(0, nested.getGlobalItem(0));
+		assertEquals(1, nested.getSupport(0));
+		assertNull(nested.getConditionalTree(0, 1));
+	}
+
+	@Test
+	public void testInfrequentConditionalItems() {
+		CompactFPTree tree = createTree();
+		assertNull(tree.getConditionalTree(2, 3));
+		CompactFPTree conditional = tree.getConditionalTree(1, 2);
+		assertEquals(1, conditional.getNumberOfItems());
+		assertEquals(0, conditional.getGlobalItem(0));
+		assertEquals(2, conditional.getSupport(0));
+		assertNull(conditional.getConditionalTree(0, 1));
+	}
+
+	@Test
+	public void testItemOrder() {
+		CompactFPTree tree = createTree();
+		assertArrayEquals(new int[] { 1, 2, 0 }, tree.getItems(new int[] { 2, 0, 1 }));
+		assertArrayEquals(new int[] { 1, 0 }, tree.getConditionalTree(2, 1).getItems(new int[] { 2, 0, 1 }));
+	}
+
+}
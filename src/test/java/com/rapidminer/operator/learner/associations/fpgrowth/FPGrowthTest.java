@@ -0,0 +1,169 @@
+/**
+ * Copyright (C) 2001-2020 by RapidMiner and the contributors
+ * 
+ * Complete list of developers available at our web site:
+ * 
+ * http://rapidminer.com
+ * 
+ * This program is free software: you can redistribute it and/or modify it under the terms of the
+ * GNU Affero General Public License as published by the Free Software Foundation, either version 3
+ * of the License, or (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without
+ * even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Affero General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Affero General Public License along with this program.
+ * If not, see http://www.gnu.org/licenses/.
+*/
+package com.rapidminer.operator.learner.associations.fpgrowth;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import com.rapidminer.Process;
+import com.rapidminer.TestUtils;
+import com.rapidminer.example.Attribute;
+import com.rapidminer.example.ExampleSet;
+import com.rapidminer.example.table.AttributeFactory;
+import com.rapidminer.example.utils.ExampleSetBuilder;
+import com.rapidminer.example.utils.ExampleSets;
+import com.rapidminer.operator.IOContainer;
+import com.rapidminer.operator.OperatorDescription;
+import com.rapidminer.operator.OperatorException;
+import com.rapidminer.operator.learner.associations.FrequentItemSet;
+import com.rapidminer.operator.learner.associations.FrequentItemSets;
+import com.rapidminer.operator.learner.associations.Item;
+import com.rapidminer.studio.concurrency.internal.ConcurrencyExecutionService;
+import com.rapidminer.studio.concurrency.internal.TestConcurrencyContext;
+import com.rapidminer.studio.internal.Resources;
+import com.rapidminer.tools.Ontology;
+
+
+/**
+ * Tests that {@link FPGrowth} finds the same frequent item sets with and without the
+ * {@link CompactFPTree}.
+ *
+ * @since 9.7
+ */
+public class FPGrowthTest {
+
+	private static final int NUMBER_OF_ITEMS = 12;
+
+	private static final int NUMBER_OF_BASKETS = 300;
+
+	private static ForkJoinPool pool;
+
+	private static ExampleSet baskets;
+
+	@BeforeClass
+	public static void setup() {
+		TestUtils.INSTANCE.minimalProcessUsageSetup();
+		pool = new ForkJoinPool(4);
+
+		// items with different probabilities, so that the frequency order is not trivial
+		Random random = new Random(2020);
+		List<Attribute> attributes = new ArrayList<>();
+		double[] probabilities = new double[NUMBER_OF_ITEMS];
+		for (int i = 0; i < NUMBER_OF_ITEMS; i++) {
+			Attribute attribute = AttributeFactory.createAttribute("item" + i, Ontology.BINOMINAL);
+			attribute.getMapping().mapString("false");
+			attribute.getMapping().mapString("true");
+			attributes.add(attribute);
+			probabilities[i] = 0.1 + 0.6 * random.nextDouble();
+		}
+		ExampleSetBuilder builder = ExampleSets.from(attributes);
+		for (int row = 0; row < NUMBER_OF_BASKETS; row++) {
+			double[] values = new double[NUMBER_OF_ITEMS];
+			for (int i = 0; i < NUMBER_OF_ITEMS; i++) {
+				values[i] = random.nextDouble() < probabilities[i] ? 1 : 0;
+			}
+			builder.addRow(values);
+		}
+		baskets = builder.build();
+	}
+
+	@AfterClass
+	public static void tearDown() {
+		pool.shutdown();
+	}
+
+	@Test
+	public void testSameItemSets() throws OperatorException {
+		for (double minSupport : new double[] { 0.05, 0.1, 0.3 }) {
+			List<String> expected = toSortedStrings(mine(false, minSupport, -1, 4));
+			List<String> actual = toSortedStrings(mine(true, minSupport, -1, 4));
+			assertTrue(expected.size() > NUMBER_OF_ITEMS);
+			assertEquals(expected, actual);
+		}
+	}
+
+	@Test
+	public void testSameItemSetsWithMaxItems() throws OperatorException {
+		List<String> expected = toSortedStrings(mine(false, 0.05, 2, 4));
+		List<String> actual = toSortedStrings(mine(true, 0.05, 2, 4));
+		assertEquals(expected, actual);
+	}
+
+	@Test
+	public void testCompactTreeOrderIndependentOfParallelism() throws OperatorException {
+		FrequentItemSets sequential = mine(true, 0.05, -1, 1);
+		FrequentItemSets parallel = mine(true, 0.05, -1, 4);
+		assertEquals(sequential.size(), parallel.size());
+		for (int i = 0; i < sequential.size(); i++) {
+			assertEquals(sequential.getItemSet(i).toString(), parallel.getItemSet(i).toString());
+		}
+	}
+
+	/**
+	 * Runs {@link FPGrowth} on the baskets in a new process with the given concurrency context
+	 * parallelism.
+	 */
+	private static FrequentItemSets mine(boolean useCompactTree, double minSupport, int maxItems, int parallelism)
+			throws OperatorException {
+		Process process = new Process();
+		process.getRootOperator().setUserData(ConcurrencyExecutionService.OVERRIDING_CONTEXT,
+				new Resources.OverridingContextUserData(new TestConcurrencyContext(pool, parallelism)));
+		FPGrowth fpGrowth = new FPGrowth(new OperatorDescription(FPGrowth.class.getName(), "fp_growth", FPGrowth.class,
+				FPGrowthTest.class.getClassLoader(), "elements_selection.png", null));
+		fpGrowth.setParameter(FPGrowth.PARAMETER_FIND_MIN_NUMBER_OF_ITEMSETS, "false");
+		fpGrowth.setParameter(FPGrowth.PARAMETER_MIN_SUPPORT, String.valueOf(minSupport));
+		fpGrowth.setParameter(FPGrowth.PARAMETER_MAX_ITEMS, String.valueOf(maxItems));
+		fpGrowth.setParameter(FPGrowth.PARAMETER_USE_COMPACT_TREE, String.valueOf(useCompactTree));
+		process.getRootOperator().getSubprocess(0).addOperator(fpGrowth);
+		process.getRootOperator().getSubprocess(0).getInnerSources().getPortByIndex(0)
+				.connectTo(fpGrowth.getInputPorts().getPortByName("example set"));
+		fpGrowth.getOutputPorts().getPortByName("frequent sets")
+				.connectTo(process.getRootOperator().getSubprocess(0).getInnerSinks().getPortByIndex(0));
+		IOContainer result = process.run(new IOContainer(baskets));
+		return result.get(FrequentItemSets.class);
+	}
+
+	/**
+	 * Converts every item set to its sorted item names and frequency, so that the item sets can be
+	 * compared independent of the order in which they were mined.
+	 */
+	private static List<String> toSortedStrings(FrequentItemSets sets) {
+		List<String> strings = new ArrayList<>();
+		for (FrequentItemSet set : sets) {
+			List<String> names = new ArrayList<>();
+			for (Item item : set.getItems()) {
+				names.add(item.toString());
+			}
+			Collections.sort(names);
+			strings.add(names + ":" + set.getFrequency());
+		}
+		Collections.sort(strings);
+		return strings;
+	}
+}
@@ -0,0 +1,200 @@
+/**
+ * Copyright (C) 2001-2020 by RapidMiner and the contributors
+ * 
+ * Complete list of developers available at our web site:
+ * 
+ * http://rapidminer.com
+ * 
+ * This program is free software: you can redistribute it and/or modify it under the terms of the
+ * GNU Affero General Public License as published by the Free Software Foundation, either version 3
+ * of the License, or (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without
+ * even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Affero General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Affero General Public License along with this program.
+ * If not, see http://www.gnu.org/licenses/.
+*/
+package com.rapidminer.operator.learner.tree;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Random;
+
+import org.junit.Test;
+
+import com.rapidminer.example.Attribute;
+import com.rapidminer.example.Attributes;
+import com.rapidminer.example.ExampleSet;
+import com.rapidminer.example.table.AttributeFactory;
+import com.rapidminer.example.utils.ExampleSets;
+import com.rapidminer.operator.OperatorException;
+import com.rapidminer.operator.learner.tree.criterions.AccuracyColumnCriterion;
+import com.rapidminer.operator.learner.tree.criterions.ColumnCriterion;
+import com.rapidminer.operator.learner.tree.criterions.GiniIndexColumnCriterion;
+import com.rapidminer.operator.learner.tree.criterions.InfoGainColumnCriterion;
+import com.rapidminer.operator.learner.tree.criterions.LeastSquareColumnCriterion;
+import com.rapidminer.tools.Ontology;
+
+
+/**
+ * Tests the binning of the {@link ColumnExampleTable} and that the {@link ColumnHistogramSplitter}
+ * finds the same splits as the {@link ColumnNumericalSplitter} if every value has its own bin.
+ *
+ * @since 9.7
+ */
+public class ColumnHistogramSplitterTest {
+
+	private static final int ROWS = 1000;
+
+	/**
+	 * Creates an example set with the given values of a real attribute and a nominal label.
+	 */
+	private static ExampleSet createExampleSet(double... values) {
+		Attribute x = AttributeFactory.createAttribute("x", Ontology.REAL);
+		Attribute label = AttributeFactory.createAttribute("label", Ontology.POLYNOMINAL);
+		label.getMapping().mapString("a");
+		label.getMapping().mapString("b");
+		return ExampleSets.from(x, label).withRole(label, Attributes.LABEL_NAME).withBlankSize(values.length)
+				.withColumnFiller(x, i -> values[i]).withColumnFiller(label, i -> i % 2).build();
+	}
+
+	/**
+	 * Creates an example set with a real attribute, an integer attribute with missing values and
+	 * the given label that depends on both.
+	 */
+	private static ExampleSet createRandomExampleSet(Attribute label) {
+		Attribute x = AttributeFactory.createAttribute("x", Ontology.REAL);
+		Attribute z = AttributeFactory.createAttribute("z", Ontology.INTEGER);
+		Random random = new Random(42);
+		double[] xValues = random.ints(ROWS, 0, 100).mapToDouble(v -> v * 0.25).toArray();
+		double[] zValues = random.ints(ROWS, -1, 20).mapToDouble(v -> v < 0 ? Double.NaN : v).toArray();
+		double[] noise = random.doubles(ROWS).toArray();
+		return ExampleSets.from(x, z, label).withRole(label, Attributes.LABEL_NAME).withBlankSize(ROWS)
+				.withColumnFiller(x, i -> xValues[i]).withColumnFiller(z, i -> zValues[i])
+				.withColumnFiller(label, i -> {
+					double score = xValues[i] / 25 + (Double.isNaN(zValues[i]) ? 1 : zValues[i] / 10) + noise[i];
+					return label.isNominal() ? (score > 2.5 ? 1 : 0) : score;
+				}).build();
+	}
+
+	private static int[] getBins(ColumnExampleTable table) {
+		byte[] binned = table.getBinnedAttributeColumn(table.getNumberOfRegularNominalAttributes());
+		int[] bins = new int[binned.length];
+		for (int i = 0; i < bins.length; i++) {
+			bins[i] = binned[i] & 0xFF;
+		}
+		return bins;
+	}
+
+	@Test
+	public void testBinPerValue() throws OperatorException {
+		ColumnExampleTable table = new ColumnExampleTable(createExampleSet(3, 1, 2, 2, Double.NaN, 3), null, false,
+				ColumnExampleTable.MAXIMAL_NUMBER_OF_BINS);
+		assertTrue(table.isBinned());
+		assertArrayEquals(new double[] { 1.5, 2.5 }, table.getBinThresholds(0), 0);
+		assertArrayEquals(new int[] { 2, 0, 1, 1, 3, 2 }, getBins(table));
+	}
+
+	@Test
+	public void testEqualFrequencyBinEdges() throws OperatorException {
+		double[] values = new double[ROWS];
+		for (int i = 0; i < ROWS; i++) {
+			// every value twice in descending order
+			values[i] = (ROWS - 1 - i) / 2;
+		}
+		ColumnExampleTable table = new ColumnExampleTable(createExampleSet(values), null, false, 4);
+		double[] thresholds = table.getBinThresholds(0);
+		assertArrayEquals(new double[] { 124.5, 249.5, 374.5 }, thresholds, 0);
+
+		int[] bins = getBins(table);
+		int[] counts = new int[thresholds.length + 1];
+		for (int i = 0; i < ROWS; i++) {
+			int bin = bins[i];
+			counts[bin]++;
+			assertTrue(bin == 0 || values[i] > thresholds[bin - 1]);
+			assertTrue(bin == thresholds.length || values[i] <= thresholds[bin]);
+		}
+		assertArrayEquals(new int[] { 250, 250, 250, 250 }, counts);
+	}
+
+	@Test
+	public void testMissingValueBin() throws OperatorException {
+		ColumnExampleTable table = new ColumnExampleTable(createExampleSet(Double.NaN, 5, Double.NaN, 7), null, false,
+				2);
+		assertArrayEquals(new double[] { 6 }, table.getBinThresholds(0), 0);
+		assertArrayEquals(new int[] { 2, 0, 2, 1 }, getBins(table));
+
+		table = new ColumnExampleTable(createExampleSet(Double.NaN, Double.NaN), null, false, 2);
+		assertEquals(0, table.getBinThresholds(0).length);
+		assertArrayEquals(new int[] { 1, 1 }, getBins(table));
+	}
+
+	@Test
+	public void testNotBinnedByDefault() throws OperatorException {
+		ColumnExampleTable table = new ColumnExampleTable(createExampleSet(1, 2), null, false);
+		assertFalse(table.isBinned());
+	}
+
+	@Test
+	public void testSameSplitsAsExactSearchForClassification() throws OperatorException {
+		Attribute label = AttributeFactory.createAttribute("label", Ontology.BINOMINAL);
+		label.getMapping().mapString("low");
+		label.getMapping().mapString("high");
+		ExampleSet exampleSet = createRandomExampleSet(label);
+		assertSameSplits(exampleSet, new InfoGainColumnCriterion());
+		assertSameSplits(exampleSet, new GiniIndexColumnCriterion());
+		assertSameSplits(exampleSet, new AccuracyColumnCriterion());
+	}
+
+	@Test
+	public void testSameSplitsAsExactSearchForRegression() throws OperatorException {
+		ExampleSet exampleSet = createRandomExampleSet(AttributeFactory.createAttribute("label", Ontology.REAL));
+		assertSameSplits(exampleSet, new LeastSquareColumnCriterion());
+	}
+
+	/**
+	 * Compares the best splits of both splitters on every numerical attribute. The table has fewer
+	 * different values per attribute than bins, so every value gets its own bin.
+	 */
+	private static void assertSameSplits(ExampleSet exampleSet, ColumnCriterion criterion) throws OperatorException {
+		ColumnExampleTable exactTable = new ColumnExampleTable(exampleSet, null, false);
+		ColumnExampleTable binnedTable = new ColumnExampleTable(exampleSet, null, false,
+				ColumnExampleTable.MAXIMAL_NUMBER_OF_BINS);
+		ColumnNumericalSplitter exact = new ColumnNumericalSplitter(exactTable, criterion);
+		ColumnHistogramSplitter histogram = new ColumnHistogramSplitter(binnedTable, criterion);
+
+		SelectionCreator selectionCreator = new SelectionCreator(exactTable);
+		// the histogram splitter does not need sorted examples
+		int[] unsorted = selectionCreator.createFullArray(ROWS);
+		Random random = new Random(7);
+		for (int i = unsorted.length - 1; i > 0; i--) {
+			int j = random.nextInt(i + 1);
+			int swap = unsorted[i];
+			unsorted[i] = unsorted[j];
+			unsorted[j] = swap;
+		}
+
+		for (int attribute = exactTable.getNumberOfRegularNominalAttributes(); attribute < exactTable
+				.getTotalNumberOfRegularAttributes(); attribute++) {
+			int[] sorted = selectionCreator.getStartSelection().get(attribute);
+			ParallelBenefit expected = exact.getBestSplitBenefit(sorted, attribute);
+			ParallelBenefit actual = histogram.getBestSplitBenefit(unsorted, attribute);
+			if (expected == null) {
+				assertNull(actual);
+			} else {
+				assertNotNull(actual);
+				assertEquals(expected.getBenefit(), actual.getBenefit(), 1e-10);
+				assertEquals(expected.getSplitValue(), actual.getSplitValue(), 0);
+				assertEquals(attribute, actual.getAttributeNumber());
+			}
+		}
+	}
+
+}
@@ -0,0 +1,175 @@
+/**
+ * Copyright (C) 2001-2020 by RapidMiner and the contributors
+ * 
+ * Complete list of developers available at our web site:
+ * 
+ * http://rapidminer.com
+ * 
+ * This program is free software: you can redistribute it and/or modify it under the terms of the
+ * GNU Affero General Public License as published by the Free Software Foundation, either version 3
+ * of the License, or (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without
+ * even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Affero General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Affero General Public License along with this program.
+ * If not, see http://www.gnu.org/licenses/.
+*/
+package com.rapidminer.operator.learner.tree;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import org.junit.Test;
+
+import com.rapidminer.example.Attribute;
+import com.rapidminer.example.Attributes;
+import com.rapidminer.example.Example;
+import com.rapidminer.example.ExampleSet;
+import com.rapidminer.example.table.AttributeFactory;
+import com.rapidminer.example.utils.ExampleSets;
+import com.rapidminer.operator.OperatorException;
+import com.rapidminer.operator.learner.SimplePredictionModel;
+import com.rapidminer.operator.learner.meta.ConfidenceVoteModel;
+import com.rapidminer.operator.learner.meta.SimpleVoteModel;
+import com.rapidminer.tools.Ontology;
+
+
+/**
+ * Tests that the {@link FlattenedForest} predicts the same as the voting models on the original
+ * trees.
+ *
+ * @since 9.7
+ */
+public class FlattenedForestTest {
+
+	private static final int ROWS = 1000;
+
+	/**
+	 * Creates an example set with a numerical attribute with missing values, a nominal label, a
+	 * predicted label and two confidence attributes.
+	 */
+	private static ExampleSet createExampleSet() {
+		Attribute x = AttributeFactory.createAttribute("x", Ontology.REAL);
+		Attribute label = AttributeFactory.createAttribute("label", Ontology.POLYNOMINAL);
+		label.getMapping().mapString("a");
+		label.getMapping().mapString("b");
+		Attribute prediction = AttributeFactory.createAttribute("prediction(label)", Ontology.POLYNOMINAL);
+		prediction.getMapping().mapString("a");
+		prediction.getMapping().mapString("b");
+		Attribute confidenceA = AttributeFactory.createAttribute("confidence(a)", Ontology.REAL);
+		Attribute confidenceB = AttributeFactory.createAttribute("confidence(b)", Ontology.REAL);
+		Map<Attribute, String> roles = new HashMap<>();
+		roles.put(label, Attributes.LABEL_NAME);
+		roles.put(prediction, Attributes.PREDICTION_NAME);
+		roles.put(confidenceA, Attributes.CONFIDENCE_NAME + "_a");
+		roles.put(confidenceB, Attributes.CONFIDENCE_NAME + "_b");
+		Random random = new Random(42);
+		double[] values = random.doubles(ROWS, -3, 3).map(v -> v < -2.5 ? Double.NaN : v).toArray();
+		return ExampleSets.from(x, label, prediction, confidenceA, confidenceB).withRoles(roles).withBlankSize(ROWS)
+				.withColumnFiller(x, i -> values[i]).withColumnFiller(label, i -> i % 2)
+				.withColumnFiller(prediction, i -> -1).withColumnFiller(confidenceA, i -> -1)
+				.withColumnFiller(confidenceB, i -> -1).build();
+	}
+
+	private static Tree leaf(String label, int countA, int countB) {
+		Tree leaf = new Tree(null);
+		leaf.addCount("a", countA);
+		leaf.addCount("b", countB);
+		leaf.setLeaf(label);
+		return leaf;
+	}
+
+	/**
+	 * Creates a node splitting at the threshold with an optional child for missing values.
+	 */
+	private static Tree split(Attribute x, double threshold, Tree smaller, Tree greater, Tree missing) {
+		Tree node = new Tree(null);
+		node.addChild(smaller, new LessEqualsSplitCondition(x, threshold));
+		node.addChild(greater, new GreaterSplitCondition(x, threshold));
+		if (missing != null) {
+			node.addChild(missing, new NumericalMissingSplitCondition(x));
+		}
+		return node;
+	}
+
+	private static List<TreeModel> createTrees(ExampleSet exampleSet) {
+		Attribute x = exampleSet.getAttributes().get("x");
+		Tree first = split(x, 0, leaf("a", 3, 1), split(x, 1.5, leaf("b", 1, 2), leaf("a", 5, 0), null), null);
+		Tree second = split(x, -1, leaf("a", 4, 1), leaf("b", 2, 7), leaf("b", 1, 3));
+		Tree third = split(x, 0.5, split(x, -2, leaf("b", 0, 2), leaf("a", 6, 1), null), leaf("b", 1, 4), null);
+		return Arrays.asList(new TreeModel(exampleSet, first), new TreeModel(exampleSet, second),
+				new TreeModel(exampleSet, third));
+	}
+
+	private static void assertSamePredictions(ExampleSet exampleSet, SimplePredictionModel model,
+			FlattenedForest forest) throws OperatorException {
+		assertNotNull(forest);
+		for (Example example : exampleSet) {
+			double expected = model.predict(example);
+			double expectedA = example.getConfidence("a");
+			double expectedB = example.getConfidence("b");
+			example.setConfidence("a", Double.NaN);
+			example.setConfidence("b", Double.NaN);
+			Attribute[] attributes = forest.getAttributes(example);
+			assertNotNull(attributes);
+			assertEquals(expected, forest.predict(example, attributes), 0);
+			assertEquals(expectedA, example.getConfidence("a"), 0);
+			assertEquals(expectedB, example.getConfidence("b"), 0);
+		}
+	}
+
+	@Test
+	public void testMajorityVote() throws OperatorException {
+		ExampleSet exampleSet = createExampleSet();
+		List<TreeModel> trees = createTrees(exampleSet);
+		SimpleVoteModel model = new SimpleVoteModel(exampleSet, trees);
+		assertSamePredictions(exampleSet, model,
+				FlattenedForest.compile(trees, exampleSet.getAttributes().getLabel(), false));
+	}
+
+	@Test
+	public void testConfidenceVote() throws OperatorException {
+		ExampleSet exampleSet = createExampleSet();
+		List<TreeModel> trees = createTrees(exampleSet);
+		ConfidenceVoteModel model = new ConfidenceVoteModel(exampleSet, trees);
+		assertSamePredictions(exampleSet, model,
+				FlattenedForest.compile(trees, exampleSet.getAttributes().getLabel(), true));
+	}
+
+	@Test
+	public void testNominalVotesScoredSequentially() {
+		ExampleSet exampleSet = createExampleSet();
+		List<TreeModel> trees = createTrees(exampleSet);
+		assertFalse(new SimpleVoteModel(exampleSet, trees).isThreadSafe());
+		assertFalse(new ConfidenceVoteModel(exampleSet, trees).isThreadSafe());
+	}
+
+	@Test
+	public void testUnknownCondition() {
+		ExampleSet exampleSet = createExampleSet();
+		Attribute x = exampleSet.getAttributes().get("x");
+		Tree root = new Tree(null);
+		root.addChild(leaf("a", 1, 0), new LessEqualsSplitCondition(x, 0) {
+
+			private static final long serialVersionUID = 1L;
+
+			@Override
+			public boolean test(Example example) {
+				return true;
+			}
+		});
+		assertNull(FlattenedForest.compile(Arrays.asList(new TreeModel(exampleSet, root)),
+				exampleSet.getAttributes().getLabel(), false));
+	}
+
+}
@@ -0,0 +1,245 @@
+/**
+ * Copyright (C) 2001-2020 by RapidMiner and the contributors
+ * 
+ * Complete list of developers available at our web site:
+ * 
+ * http://rapidminer.com
+ * 
+ * This program is free software: you can redistribute it and/or modify it under the terms of the
+ * GNU Affero General Public License as published by the Free Software Foundation, either version 3
+ * of the License, or (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without
+ * even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Affero General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Affero General Public License along with this program.
+ * If not, see http://www.gnu.org/licenses/.
+*/
+package com.rapidminer.operator.meta;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+
+import org.junit.AfterClass;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import com.rapidminer.Process;
+import com.rapidminer.TestUtils;
+import com.rapidminer.example.Attribute;
+import com.rapidminer.example.ExampleSet;
+import com.rapidminer.example.table.AttributeFactory;
+import com.rapidminer.example.utils.ExampleSets;
+import com.rapidminer.operator.IOContainer;
+import com.rapidminer.operator.Operator;
+import com.rapidminer.operator.OperatorDescription;
+import com.rapidminer.operator.OperatorException;
+import com.rapidminer.operator.ProcessRootOperator;
+import com.rapidminer.operator.performance.EstimatedPerformance;
+import com.rapidminer.operator.performance.PerformanceVector;
+import com.rapidminer.operator.ports.InputPort;
+import com.rapidminer.operator.ports.OutputPort;
+import com.rapidminer.parameter.ParameterType;
+import com.rapidminer.parameter.ParameterTypeDouble;
+import com.rapidminer.parameter.ParameterTypeTupel;
+import com.rapidminer.studio.concurrency.internal.ConcurrencyExecutionService;
+import com.rapidminer.studio.concurrency.internal.TestConcurrencyContext;
+import com.rapidminer.studio.concurrency.internal.TestExecutionService;
+import com.rapidminer.studio.internal.Resources;
+import com.rapidminer.tools.Ontology;
+import com.rapidminer.tools.RandomGenerator;
+
+
+/**
+ * Tests that a {@link ParameterOptimizationOperator} finds the same parameters and results when
+ * the candidates are evaluated concurrently on clones and when they are evaluated one after
+ * another.
+ *
+ * @since 9.7
+ */
+public class ParameterOptimizationOperatorTest {
+
+	private static final String VALUES = "0,1,2,3,4,5,6,7,8,9";
+
+	private static final long SEED = 2003;
+
+	private static ForkJoinPool pool;
+
+	private static ExampleSet exampleSet;
+
+	@BeforeClass
+	public static void setup() {
+		TestUtils.INSTANCE.minimalProcessUsageSetup();
+		pool = new ForkJoinPool(4);
+		List<Attribute> attributes = new ArrayList<>();
+		attributes.add(AttributeFactory.createAttribute("att", Ontology.REAL));
+		exampleSet = ExampleSets.from(attributes).withBlankSize(10).build();
+	}
+
+	@AfterClass
+	public static void tearDown() {
+		pool.shutdown();
+	}
+
+	@Before
+	public void resetEvaluations() {
+		ScoreOperator.EVALUATED_VALUES.clear();
+		ScoreOperator.THREADS.clear();
+	}
+
+	@Test
+	public void testParallelGridSearchSameAsSequential() throws OperatorException {
+		IOContainer expected = run(createGridSearch(null, 1));
+		assertEquals(10, ScoreOperator.EVALUATED_VALUES.size());
+
+		resetEvaluations();
+		IOContainer actual = run(createGridSearch(new TestExecutionService(pool), 4));
+		assertEquals(10, ScoreOperator.EVALUATED_VALUES.size());
+		assertFalse(ScoreOperator.THREADS.contains(Thread.currentThread()));
+
+		assertEquals(expected.get(ParameterSet.class).getParameterValues().next().getParameterValue(),
+				actual.get(ParameterSet.class).getParameterValues().next().getParameterValue());
+		assertEquals(expected.get(PerformanceVector.class, 0).getMainCriterion().getAverage(),
+				actual.get(PerformanceVector.class, 0).getMainCriterion().getAverage(), 0);
+		// the inner result of the best candidate is passed through
+		assertEquals(expected.get(PerformanceVector.class, 1).getMainCriterion().getAverage(),
+				actual.get(PerformanceVector.class, 1).getMainCriterion().getAverage(), 0);
+		assertEquals(actual.get(PerformanceVector.class, 0).getMainCriterion().getAverage(),
+				actual.get(PerformanceVector.class, 1).getMainCriterion().getAverage(), 0);
+	}
+
+	@Test
+	public void testDisabledParallelExecutionEvaluatesSequentially() throws OperatorException {
+		GridSearch gridSearch = createGridSearch(new TestExecutionService(pool), 4);
+		gridSearch.setParameter("enable_parallel_execution", "false");
+		run(gridSearch);
+		assertEquals(10, ScoreOperator.EVALUATED_VALUES.size());
+		assertEquals(Collections.singleton(Thread.currentThread()), ScoreOperator.THREADS);
+	}
+
+	/**
+	 * Runs the process of the grid search on the example set and returns the performance, the
+	 * parameter set and the inner result.
+	 */
+	private static IOContainer run(GridSearch gridSearch) throws OperatorException {
+		Process process = gridSearch.getProcess();
+		process.getRootOperator().getSubprocess(0).getInnerSources().getPortByIndex(0)
+				.connectTo(gridSearch.getInputPorts().getPortByName("input 1"));
+		gridSearch.getOutputPorts().getPortByName("performance")
+				.connectTo(process.getRootOperator().getSubprocess(0).getInnerSinks().getPortByIndex(0));
+		gridSearch.getOutputPorts().getPortByName("parameter")
+				.connectTo(process.getRootOperator().getSubprocess(0).getInnerSinks().getPortByIndex(1));
+		gridSearch.getOutputPorts().getPortByName("result 1")
+				.connectTo(process.getRootOperator().getSubprocess(0).getInnerSinks().getPortByIndex(2));
+		return process.run(new IOContainer(exampleSet));
+	}
+
+	/**
+	 * Creates a grid search over the values of a {@link ScoreOperator} in a new process whose
+	 * concurrency context has the given parallelism.
+	 */
+	private static GridSearch createGridSearch(ConcurrencyExecutionService service, int parallelism) {
+		Process process = new Process();
+		process.getRootOperator().setUserData(ConcurrencyExecutionService.OVERRIDING_CONTEXT,
+				new Resources.OverridingContextUserData(new TestConcurrencyContext(pool, parallelism)));
+		process.getRootOperator().setParameter(ProcessRootOperator.PARAMETER_RANDOM_SEED, String.valueOf(SEED));
+
+		GridSearch gridSearch = createOperator(GridSearch.class, "grid_search");
+		gridSearch.service = service;
+		process.getRootOperator().getSubprocess(0).addOperator(gridSearch);
+
+		ScoreOperator score = createOperator(ScoreOperator.class, "score");
+		gridSearch.getSubprocess(0).addOperator(score);
+		score.rename("score");
+		gridSearch.getSubprocess(0).getInnerSources().getPortByName("input 1").connectTo(score.exampleSetInput);
+		score.performanceOutput.connectTo(gridSearch.getSubprocess(0).getInnerSinks().getPortByName("performance"));
+		score.resultOutput.connectTo(gridSearch.getSubprocess(0).getInnerSinks().getPortByName("result 1"));
+
+		List<String[]> parameters = new ArrayList<>();
+		parameters.add(new String[] {
+				ParameterTypeTupel.transformTupel2String(score.getName(), ScoreOperator.PARAMETER_VALUE), VALUES });
+		gridSearch.setListParameter(ParameterConfigurator.PARAMETER_PARAMETERS, parameters);
+		return gridSearch;
+	}
+
+	private static <T extends Operator> T createOperator(Class<T> operatorClass, String key) {
+		try {
+			return operatorClass.getConstructor(OperatorDescription.class).newInstance(new OperatorDescription(
+					operatorClass.getName(), key, operatorClass, ParameterOptimizationOperatorTest.class.getClassLoader(),
+					"elements_selection.png", null));
+		} catch (ReflectiveOperationException e) {
+			throw new IllegalStateException(e);
+		}
+	}
+
+	/**
+	 * Grid search that evaluates the candidates with the given service instead of the one of the
+	 * {@link com.rapidminer.studio.concurrency.internal.ConcurrencyExecutionServiceProvider}.
+	 */
+	public static class GridSearch extends GridSearchParameterOptimizationOperator {
+
+		private ConcurrencyExecutionService service;
+
+		public GridSearch(OperatorDescription description) {
+			super(description);
+		}
+
+		@Override
+		ConcurrencyExecutionService getExecutionService() {
+			return service;
+		}
+	}
+
+	/**
+	 * Scores its parameter value by the distance to an optimum plus a random number of the process
+	 * random sequence. Records the evaluated values and the executing threads.
+	 */
+	public static class ScoreOperator extends Operator {
+
+		private static final String PARAMETER_VALUE = "value";
+
+		private static final Set<Double> EVALUATED_VALUES = ConcurrentHashMap.newKeySet();
+
+		private static final Set<Thread> THREADS = ConcurrentHashMap.newKeySet();
+
+		private final InputPort exampleSetInput = getInputPorts().createPort("example set");
+
+		private final OutputPort performanceOutput = getOutputPorts().createPort("performance");
+
+		private final OutputPort resultOutput = getOutputPorts().createPort("result");
+
+		public ScoreOperator(OperatorDescription description) {
+			super(description);
+		}
+
+		@Override
+		public void doWork() throws OperatorException {
+			ExampleSet input = exampleSetInput.getData(ExampleSet.class);
+			double value = getParameterAsDouble(PARAMETER_VALUE);
+			EVALUATED_VALUES.add(value);
+			THREADS.add(Thread.currentThread());
+			double score = -Math.abs(value - 4.5) + 2 * RandomGenerator.getRandomGenerator(getProcess(), -1).nextDouble()
+					+ input.size();
+			PerformanceVector performance = new PerformanceVector();
+			performance.addCriterion(new EstimatedPerformance("score", score, 1, false));
+			performanceOutput.deliver(performance);
+			resultOutput.deliver(performance.copy());
+		}
+
+		@Override
+		public List<ParameterType> getParameterTypes() {
+			List<ParameterType> types = super.getParameterTypes();
+			types.add(new ParameterTypeDouble(PARAMETER_VALUE, "The value to score.", 0, 10, 0));
+			return types;
+		}
+	}
+}
@@ -0,0 +1,149 @@
+/**
+ * Copyright (C) 2001-2020 by RapidMiner and the contributors
+ * 
+ * Complete list of developers available at our web site:
+ * 
+ * http://rapidminer.com
+ * 
+ * This program is free software: you can redistribute it and/or modify it under the terms of the
+ * GNU Affero General Public License as published by the Free Software Foundation, either version 3
+ * of the License, or (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without
+ * even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Affero General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Affero General Public License along with this program.
+ * If not, see http://www.gnu.org/licenses/.
+*/
+package com.rapidminer.operator.nio.model;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.concurrent.ForkJoinPool;
+
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import com.rapidminer.Process;
+import com.rapidminer.TestUtils;
+import com.rapidminer.operator.OperatorDescription;
+import com.rapidminer.operator.OperatorException;
+import com.rapidminer.operator.nio.CSVExampleSource;
+import com.rapidminer.studio.concurrency.internal.ConcurrencyExecutionService;
+import com.rapidminer.studio.concurrency.internal.TestConcurrencyContext;
+import com.rapidminer.studio.internal.Resources;
+
+
+/**
+ * Tests that the {@link CSVResultSet} delivers the same rows and parsing errors when it tokenizes
+ * blocks of lines concurrently as when it tokenizes line by line.
+ *
+ * @since 9.7
+ */
+public class CSVResultSetTest {
+
+	/** more rows than the largest block of four threads */
+	static final int ROWS = 10_500;
+
+	private static ForkJoinPool pool;
+
+	private static File file;
+
+	@BeforeClass
+	public static void setup() throws Exception {
+		TestUtils.INSTANCE.minimalProcessUsageSetup();
+		pool = new ForkJoinPool(4);
+		file = writeTestFile();
+	}
+
+	@AfterClass
+	public static void tearDown() {
+		pool.shutdown();
+		file.delete();
+	}
+
+	/**
+	 * Writes a csv file with a header row, integers, reals, nominal values and dates. Some values
+	 * are missing or cannot be parsed, some lines are comments and some are malformed.
+	 */
+	static File writeTestFile() throws IOException {
+		File csvFile = File.createTempFile("csv_result_set_test", ".csv");
+		csvFile.deleteOnExit();
+		try (PrintWriter writer = new PrintWriter(csvFile, StandardCharsets.UTF_8.name())) {
+			writer.println("id,value,name,date");
+			for (int i = 0; i < ROWS; i++) {
+				if (i % 997 == 13) {
+					writer.println("# comment " + i);
+				} else if (i % 1009 == 17) {
+					writer.println(i + ",1\"2\"3,\"name,x\"y,2020-01-01 00:00:00");
+				}
+				String value = i % 97 == 5 ? "x" + i : i % 89 == 3 ? "" : String.valueOf(i / 7.0);
+				String name = i % 3 == 0 ? "\"n," + i % 11 + "\"" : "n" + i % 13;
+				String date = i % 83 == 7 ? "no date" : String.format("2020-%02d-%02d 12:%02d:00", i % 12 + 1, i % 28 + 1,
+						i % 60);
+				writer.println(i + "," + value + "," + name + "," + date);
+			}
+		}
+		return csvFile;
+	}
+
+	/**
+	 * Creates a csv reader operator in a process whose concurrency context uses the given pool
+	 * with the given parallelism.
+	 */
+	static CSVExampleSource createOperator(ForkJoinPool pool, int parallelism) {
+		Process process = new Process();
+		process.getRootOperator().setUserData(ConcurrencyExecutionService.OVERRIDING_CONTEXT,
+				new Resources.OverridingContextUserData(new TestConcurrencyContext(pool, parallelism)));
+		CSVExampleSource operator = new CSVExampleSource(new OperatorDescription(CSVExampleSource.class.getName(),
+				"read_csv", CSVExampleSource.class, CSVResultSetTest.class.getClassLoader(), "elements_selection.png",
+				null));
+		process.getRootOperator().getSubprocess(0).addOperator(operator);
+		return operator;
+	}
+
+	static CSVResultSetConfiguration createConfiguration(File file) {
+		CSVResultSetConfiguration configuration = new CSVResultSetConfiguration();
+		configuration.setCsvFile(file.getAbsolutePath());
+		configuration.setEncoding(StandardCharsets.UTF_8);
+		configuration.setColumnSeparators(",");
+		configuration.setSkipComments(true);
+		configuration.setCommentCharacters("#");
+		return configuration;
+	}
+
+	@Test
+	public void testConcurrentBlocksSameAsLineByLine() throws OperatorException {
+		try (CSVResultSetConfiguration configuration = createConfiguration(file);
+				CSVResultSet expected = new CSVResultSet(configuration, createOperator(pool, 1));
+				CSVResultSet resultSet = new CSVResultSet(configuration, createOperator(pool, 4))) {
+			assertEquals(expected.getNumberOfColumns(), resultSet.getNumberOfColumns());
+			int rows = 0;
+			while (expected.hasNext()) {
+				assertTrue(resultSet.hasNext());
+				expected.next(null);
+				resultSet.next(null);
+				assertEquals(expected.getCurrentRow(), resultSet.getCurrentRow());
+				for (int column = 0; column < expected.getNumberOfColumns(); column++) {
+					assertEquals(expected.isMissing(column), resultSet.isMissing(column));
+					assertEquals(expected.getString(column), resultSet.getString(column));
+				}
+				rows++;
+			}
+			assertFalse(resultSet.hasNext());
+			assertTrue(rows > ROWS);
+			assertFalse(expected.getErrors().isEmpty());
+			assertEquals(new ArrayList<>(expected.getErrors()), new ArrayList<>(resultSet.getErrors()));
+		}
+	}
+
+}
@@ -0,0 +1,217 @@
+/**
+ * Copyright (C) 2001-2020 by RapidMiner and the contributors
+ * 
+ * Complete list of developers available at our web site:
+ * 
+ * http://rapidminer.com
+ * 
+ * This program is free software: you can redistribute it and/or modify it under the terms of the
+ * GNU Affero General Public License as published by the Free Software Foundation, either version 3
+ * of the License, or (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without
+ * even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Affero General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Affero General Public License along with this program.
+ * If not, see http://www.gnu.org/licenses/.
+*/
+package com.rapidminer.operator.nio.model;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.concurrent.ForkJoinPool;
+
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import com.rapidminer.TestUtils;
+import com.rapidminer.core.concurrency.ConcurrencyContext;
+import com.rapidminer.example.Attribute;
+import com.rapidminer.example.ExampleSet;
+import com.rapidminer.operator.Operator;
+import com.rapidminer.operator.OperatorException;
+import com.rapidminer.studio.concurrency.internal.TestConcurrencyContext;
+import com.rapidminer.tools.Ontology;
+
+
+/**
+ * Tests the character checks of the {@link DataResultSetTranslator} that are used before parsing
+ * numbers while guessing the value types, that guessing the value types of csv columns
+ * concurrently yields the same types as guessing row by row and that reading csv rows in blocks
+ * delivers the same example set and parsing errors as reading row by row.
+ *
+ * @since 9.7
+ */
+public class DataResultSetTranslatorTest {
+
+	private static ForkJoinPool pool;
+
+	private static File file;
+
+	@BeforeClass
+	public static void setup() throws Exception {
+		TestUtils.INSTANCE.minimalProcessUsageSetup();
+		pool = new ForkJoinPool(4);
+		file = CSVResultSetTest.writeTestFile();
+	}
+
+	@AfterClass
+	public static void tearDown() {
+		pool.shutdown();
+		file.delete();
+	}
+
+	@Test
+	public void testCanBeInteger() {
+		assertTrue(DataResultSetTranslator.canBeInteger("42"));
+		assertTrue(DataResultSetTranslator.canBeInteger("-42"));
+		assertTrue(DataResultSetTranslator.canBeInteger("+42"));
+		assertTrue(DataResultSetTranslator.canBeInteger("12345678901234567890"));
+		assertFalse(DataResultSetTranslator.canBeInteger(""));
+		assertFalse(DataResultSetTranslator.canBeInteger("-"));
+		assertFalse(DataResultSetTranslator.canBeInteger("4.2"));
+		assertFalse(DataResultSetTranslator.canBeInteger("abc"));
+		assertFalse(DataResultSetTranslator.canBeInteger(" 42"));
+	}
+
+	@Test
+	public void testCanBeDouble() {
+		assertTrue(DataResultSetTranslator.canBeDouble("4.2"));
+		assertTrue(DataResultSetTranslator.canBeDouble(" -.5e3"));
+		assertTrue(DataResultSetTranslator.canBeDouble("NaN"));
+		assertTrue(DataResultSetTranslator.canBeDouble("-Infinity"));
+		assertTrue(DataResultSetTranslator.canBeDouble("0x1p3"));
+		assertFalse(DataResultSetTranslator.canBeDouble(""));
+		assertFalse(DataResultSetTranslator.canBeDouble("+"));
+		assertFalse(DataResultSetTranslator.canBeDouble("abc"));
+		assertFalse(DataResultSetTranslator.canBeDouble("Jan 1, 2020"));
+	}
+
+	@Test
+	public void testGuessingContext() throws OperatorException {
+		Operator operator = CSVResultSetTest.createOperator(pool, 4);
+		DataResultSetTranslator translator = new DataResultSetTranslator(operator);
+		try (CSVResultSetConfiguration csvConfiguration = CSVResultSetTest.createConfiguration(file);
+				CSVResultSet resultSet = new CSVResultSet(csvConfiguration, operator)) {
+			assertNotNull(translator.getGuessingContext(resultSet, 10, 100, true));
+			assertNotNull(translator.getGuessingContext(resultSet, 4, 0, true));
+			assertNotNull(translator.getGuessingContext(resultSet, 4, 250, true));
+			assertNull(translator.getGuessingContext(resultSet, 4, 100, true));
+			assertNull(translator.getGuessingContext(resultSet, 1, 0, true));
+			assertNull(translator.getGuessingContext(resultSet, 10, 100, false));
+		}
+		DataResultSetTranslator sequential = new DataResultSetTranslator(CSVResultSetTest.createOperator(pool, 1));
+		try (CSVResultSetConfiguration csvConfiguration = CSVResultSetTest.createConfiguration(file);
+				CSVResultSet resultSet = new CSVResultSet(csvConfiguration, operator)) {
+			assertNull(sequential.getGuessingContext(resultSet, 10, 100, true));
+		}
+	}
+
+	@Test
+	public void testConcurrentGuessingSameAsRowByRow() throws OperatorException {
+		Operator operator = CSVResultSetTest.createOperator(pool, 4);
+		DataResultSetTranslator rowByRow = new DataResultSetTranslator(operator);
+		ConcurrencyContext context = new TestConcurrencyContext(pool, 4);
+		DataResultSetTranslator concurrent = new DataResultSetTranslator(operator) {
+
+			@Override
+			ConcurrencyContext getGuessingContext(DataResultSet dataResultSet, int numberOfColumns, int maxProbeRows,
+					boolean isRunningInProcess) {
+				return context;
+			}
+		};
+		for (int maxProbeRows : new int[] { 10, 100, 2500, 0 }) {
+			int[] expected = guess(rowByRow, operator, maxProbeRows);
+			int[] types = guess(concurrent, operator, maxProbeRows);
+			assertEquals(Ontology.INTEGER, expected[0]);
+			assertEquals(Arrays.toString(expected), Arrays.toString(types));
+			assertEquals(new ArrayList<>(rowByRow.getErrors()), new ArrayList<>(concurrent.getErrors()));
+			rowByRow.clearErrors();
+			concurrent.clearErrors();
+		}
+	}
+
+	@Test
+	public void testBlockReadingSameAsRowByRow() throws OperatorException {
+		Operator operator = CSVResultSetTest.createOperator(pool, 4);
+		DataResultSetTranslator rowByRow = new DataResultSetTranslator(operator);
+		ConcurrencyContext context = new TestConcurrencyContext(pool, 4);
+		DataResultSetTranslator blocks = new DataResultSetTranslator(operator) {
+
+			@Override
+			ConcurrencyContext getBlockReadingContext(DataResultSet dataResultSet, boolean isRunningInProcess) {
+				return context;
+			}
+		};
+		ExampleSet expected = read(rowByRow, operator);
+		ExampleSet exampleSet = read(blocks, operator);
+
+		assertTrue(expected.size() >= CSVResultSetTest.ROWS);
+		assertEquals(expected.size(), exampleSet.size());
+		Attribute[] expectedAttributes = expected.getAttributes().createRegularAttributeArray();
+		Attribute[] attributes = exampleSet.getAttributes().createRegularAttributeArray();
+		assertEquals(expectedAttributes.length, attributes.length);
+		for (int i = 0; i < attributes.length; i++) {
+			assertEquals(expectedAttributes[i].getName(), attributes[i].getName());
+			assertEquals(expectedAttributes[i].getValueType(), attributes[i].getValueType());
+			if (attributes[i].isNominal()) {
+				assertEquals(expectedAttributes[i].getMapping().getValues(), attributes[i].getMapping().getValues());
+			}
+			for (int row = 0; row < expected.size(); row++) {
+				assertEquals(expected.getExample(row).getValue(expectedAttributes[i]),
+						exampleSet.getExample(row).getValue(attributes[i]), 0);
+			}
+		}
+		assertFalse(rowByRow.getErrors().isEmpty());
+		assertEquals(new ArrayList<>(rowByRow.getErrors()), new ArrayList<>(blocks.getErrors()));
+	}
+
+	/**
+	 * Guesses the value types of the test file with a header row from the given number of rows.
+	 */
+	private static int[] guess(DataResultSetTranslator translator, Operator operator, int maxProbeRows)
+			throws OperatorException {
+		try (CSVResultSetConfiguration csvConfiguration = CSVResultSetTest.createConfiguration(file);
+				CSVResultSet resultSet = new CSVResultSet(csvConfiguration, operator)) {
+			DataResultSetTranslationConfiguration configuration = new DataResultSetTranslationConfiguration(resultSet,
+					Collections.singletonList(AbstractDataResultSetReader.ANNOTATION_NAME));
+			configuration.setDatePattern("yyyy-MM-dd HH:mm:ss");
+			translator.guessValueTypes(configuration, resultSet, maxProbeRows, null);
+			int[] types = new int[configuration.getNumerOfColumns()];
+			for (int i = 0; i < types.length; i++) {
+				types[i] = configuration.getColumnMetaData(i).getAttributeValueType();
+			}
+			return types;
+		}
+	}
+
+	/**
+	 * Reads the test file with a header row as integer, real, polynominal and date time
+	 * attributes.
+	 */
+	private static ExampleSet read(DataResultSetTranslator translator, Operator operator) throws OperatorException {
+		try (CSVResultSetConfiguration csvConfiguration = CSVResultSetTest.createConfiguration(file);
+				CSVResultSet resultSet = new CSVResultSet(csvConfiguration, operator)) {
+			DataResultSetTranslationConfiguration configuration = new DataResultSetTranslationConfiguration(resultSet,
+					Collections.singletonList(AbstractDataResultSetReader.ANNOTATION_NAME));
+			ColumnMetaData[] columns = configuration.getColumnMetaData();
+			columns[0].setAttributeValueType(Ontology.INTEGER);
+			columns[1].setAttributeValueType(Ontology.REAL);
+			columns[2].setAttributeValueType(Ontology.POLYNOMINAL);
+			columns[3].setAttributeValueType(Ontology.DATE_TIME);
+			configuration.setDatePattern("yyyy-MM-dd HH:mm:ss");
+			return translator.read(resultSet, configuration, false, null);
+		}
+	}
+
+}
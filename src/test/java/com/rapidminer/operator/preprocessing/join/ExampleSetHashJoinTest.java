@@ -0,0 +1,283 @@
+/**
+ * Copyright (C) 2001-2020 by RapidMiner and the contributors
+ * 
+ * Complete list of developers available at our web site:
+ * 
+ * http://rapidminer.com
+ * 
+ * This program is free software: you can redistribute it and/or modify it under the terms of the
+ * GNU Affero General Public License as published by the Free Software Foundation, either version 3
+ * of the License, or (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without
+ * even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Affero General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Affero General Public License along with this program.
+ * If not, see http://www.gnu.org/licenses/.
+*/
+package com.rapidminer.operator.preprocessing.join;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import com.rapidminer.Process;
+import com.rapidminer.TestUtils;
+import com.rapidminer.core.concurrency.ConcurrencyContext;
+import com.rapidminer.example.Attribute;
+import com.rapidminer.example.Attributes;
+import com.rapidminer.example.Example;
+import com.rapidminer.example.ExampleSet;
+import com.rapidminer.example.table.AttributeFactory;
+import com.rapidminer.example.utils.ExampleSets;
+import com.rapidminer.operator.ExecutionUnit;
+import com.rapidminer.operator.IOContainer;
+import com.rapidminer.operator.OperatorDescription;
+import com.rapidminer.operator.OperatorException;
+import com.rapidminer.studio.concurrency.internal.TestConcurrencyContext;
+import com.rapidminer.tools.Ontology;
+
+
+/**
+ * Tests that the {@link ExampleSetHashJoin} finds the same rows in the same order as joining row by row, for both
+ * build sides and also if the rows are looked up concurrently, and that the {@link ExampleSetJoin} fills the joined
+ * columns with the values of these rows.
+ *
+ * @since 9.7
+ */
+public class ExampleSetHashJoinTest {
+
+	private static final int LARGE = 150_000;
+
+	private static final int SMALL = 2_000;
+
+	private static final int[] JOIN_TYPES = { ExampleSetJoin.JOIN_TYPE_INNER, ExampleSetJoin.JOIN_TYPE_LEFT,
+			ExampleSetJoin.JOIN_TYPE_RIGHT, ExampleSetJoin.JOIN_TYPE_OUTER };
+
+	private static ForkJoinPool pool;
+
+	private static ConcurrencyContext context;
+
+	private static ConcurrencyContext sequentialContext;
+
+	@BeforeClass
+	public static void setup() {
+		TestUtils.INSTANCE.minimalProcessUsageSetup();
+		pool = new ForkJoinPool(4);
+		context = new TestConcurrencyContext(pool, 4);
+		sequentialContext = new TestConcurrencyContext(pool, 1);
+	}
+
+	@AfterClass
+	public static void tearDown() {
+		pool.shutdown();
+	}
+
+	/**
+	 * Creates an example set with a nominal and an integer key attribute and a real value attribute. The nominal mapping depends on the seed, so
+	 * that the same values have different indices in different example sets.
+	 */
+	private static ExampleSet createExampleSet(int rows, long seed) {
+		Attribute nominal = AttributeFactory.createAttribute("nominal", Ontology.POLYNOMINAL);
+		Attribute integer = AttributeFactory.createAttribute("integer", Ontology.INTEGER);
+		Attribute real = AttributeFactory.createAttribute("value", Ontology.REAL);
+		Random random = new Random(seed);
+		List<String> values = new ArrayList<>();
+		for (int i = 0; i < 12; i++) {
+			values.add("value" + i);
+		}
+		Collections.shuffle(values, random);
+		for (String value : values.subList(0, 10)) {
+			nominal.getMapping().mapString(value);
+		}
+		double[] nominals = random.ints(rows, -1, 10).mapToDouble(i -> i < 0 ? Double.NaN : i).toArray();
+		double[] integers = random.ints(rows, -1, 200).mapToDouble(i -> i < 0 ? Double.NaN : i).toArray();
+		double[] reals = random.doubles(rows).toArray();
+		return ExampleSets.from(nominal, integer, real).withBlankSize(rows).withColumnFiller(nominal, i -> nominals[i])
+				.withColumnFiller(integer, i -> integers[i]).withColumnFiller(real, i -> reals[i]).build();
+	}
+
+	private static Attribute[] getKeyAttributes(ExampleSet exampleSet) {
+		return new Attribute[] { exampleSet.getAttributes().get("nominal"), exampleSet.getAttributes().get("integer") };
+	}
+
+	/**
+	 * Returns the key of the example, {@code null} if it has missing values.
+	 */
+	private static List<Object> getKey(Example example, Attribute[] keyAttributes) {
+		List<Object> key = new ArrayList<>();
+		for (Attribute attribute : keyAttributes) {
+			double value = example.getValue(attribute);
+			if (Double.isNaN(value)) {
+				return null;
+			}
+			key.add(attribute.isNominal() ? example.getValueAsString(attribute) : value);
+		}
+		return key;
+	}
+
+	/**
+	 * Joins row by row and returns the left and right rows of the result.
+	 */
+	private static int[][] joinRowByRow(ExampleSet left, ExampleSet right, int joinType) {
+		boolean byRight = joinType == ExampleSetJoin.JOIN_TYPE_RIGHT;
+		ExampleSet first = byRight ? right : left;
+		ExampleSet second = byRight ? left : right;
+		Attribute[] firstKeys = getKeyAttributes(first);
+		Attribute[] secondKeys = getKeyAttributes(second);
+		Map<List<Object>, List<Integer>> secondRows = new HashMap<>();
+		for (int row = 0; row < second.size(); row++) {
+			List<Object> key = getKey(second.getExample(row), secondKeys);
+			if (key != null) {
+				secondRows.computeIfAbsent(key, k -> new ArrayList<>()).add(row);
+			}
+		}
+
+		List<int[]> result = new ArrayList<>();
+		Set<List<Object>> matchedKeys = new HashSet<>();
+		for (int row = 0; row < first.size(); row++) {
+			List<Object> key = getKey(first.getExample(row), firstKeys);
+			List<Integer> matches = key == null ? null : secondRows.get(key);
+			if (matches != null) {
+				matchedKeys.add(key);
+				for (int match : matches) {
+					result.add(new int[] { row, match });
+				}
+			} else if (joinType != ExampleSetJoin.JOIN_TYPE_INNER) {
+				result.add(new int[] { row, ExampleSetHashJoin.NO_ROW });
+			}
+		}
+		if (joinType == ExampleSetJoin.JOIN_TYPE_OUTER) {
+			for (int row = 0; row < second.size(); row++) {
+				List<Object> key = getKey(second.getExample(row), secondKeys);
+				if (key == null || !matchedKeys.contains(key)) {
+					result.add(new int[] { ExampleSetHashJoin.NO_ROW, row });
+				}
+			}
+		}
+
+		int[][] rows = new int[2][result.size()];
+		for (int i = 0; i < result.size(); i++) {
+			rows[byRight ? 1 : 0][i] = result.get(i)[0];
+			rows[byRight ? 0 : 1][i] = result.get(i)[1];
+		}
+		return rows;
+	}
+
+	private static void assertJoin(ExampleSet left, ExampleSet right, ConcurrencyContext context)
+			throws OperatorException {
+		for (int joinType : JOIN_TYPES) {
+			ExampleSetHashJoin join = new ExampleSetHashJoin(left, right, getKeyAttributes(left),
+					getKeyAttributes(right), joinType);
+			join.join(context);
+			int[][] expected = joinRowByRow(left, right, joinType);
+			int[] leftRows = new int[join.size()];
+			int[] rightRows = new int[join.size()];
+			for (int i = 0; i < join.size(); i++) {
+				leftRows[i] = join.getLeftRow(i);
+				rightRows[i] = join.getRightRow(i);
+			}
+			String message = ExampleSetJoin.JOIN_TYPES[joinType];
+			assertEquals(message, expected[0].length, join.size());
+			assertEquals(message, Arrays.toString(expected[0]), Arrays.toString(leftRows));
+			assertEquals(message, Arrays.toString(expected[1]), Arrays.toString(rightRows));
+		}
+	}
+
+	@Test
+	public void testBuildRight() throws OperatorException {
+		assertJoin(createExampleSet(SMALL, 1), createExampleSet(SMALL / 2, 2), sequentialContext);
+	}
+
+	@Test
+	public void testBuildLeft() throws OperatorException {
+		assertJoin(createExampleSet(SMALL / 2, 3), createExampleSet(SMALL, 4), sequentialContext);
+	}
+
+	@Test
+	public void testConcurrentBuildRight() throws OperatorException {
+		assertJoin(createExampleSet(LARGE, 5), createExampleSet(SMALL, 6), context);
+	}
+
+	@Test
+	public void testConcurrentBuildLeft() throws OperatorException {
+		assertJoin(createExampleSet(SMALL, 7), createExampleSet(LARGE, 8), context);
+	}
+
+	@Test
+	public void testNoKeyAttributes() throws OperatorException {
+		ExampleSet left = createExampleSet(30, 9);
+		ExampleSet right = createExampleSet(20, 10);
+		ExampleSetHashJoin join = new ExampleSetHashJoin(left, right, new Attribute[0], new Attribute[0],
+				ExampleSetJoin.JOIN_TYPE_INNER);
+		join.join(sequentialContext);
+		assertEquals(600, join.size());
+		for (int i = 0; i < join.size(); i++) {
+			assertEquals(i / 20, join.getLeftRow(i));
+			assertEquals(i % 20, join.getRightRow(i));
+		}
+	}
+
+	@Test
+	public void testJoinedValues() throws OperatorException {
+		ExampleSet left = createExampleSet(SMALL, 11);
+		ExampleSet right = createExampleSet(SMALL / 2, 12);
+		for (int joinType : JOIN_TYPES) {
+			String message = ExampleSetJoin.JOIN_TYPES[joinType];
+			ExampleSet joined = joinWithOperator(left, right, joinType);
+			int[][] rows = joinRowByRow(left, right, joinType);
+			assertEquals(message, rows[0].length, joined.size());
+			Attributes attributes = joined.getAttributes();
+			for (int i = 0; i < joined.size(); i++) {
+				Example example = joined.getExample(i);
+				Example leftExample = rows[0][i] == ExampleSetHashJoin.NO_ROW ? null : left.getExample(rows[0][i]);
+				Example rightExample = rows[1][i] == ExampleSetHashJoin.NO_ROW ? null : right.getExample(rows[1][i]);
+				// the keys of examples only occurring in the right example set are taken from there
+				Example keyExample = leftExample != null ? leftExample : rightExample;
+				assertEquals(message, keyExample.getValueAsString(keyExample.getAttributes().get("nominal")),
+						example.getValueAsString(attributes.get("nominal")));
+				assertEquals(message, keyExample.getValue(keyExample.getAttributes().get("integer")),
+						example.getValue(attributes.get("integer")), 0);
+				assertEquals(message, leftExample == null ? Double.NaN : leftExample.getValue(left.getAttributes()
+						.get("value")), example.getValue(attributes.get("value")), 0);
+				assertEquals(message, rightExample == null ? Double.NaN : rightExample.getValue(right.getAttributes()
+						.get("value")), example.getValue(attributes.get("value_from_ES2")), 0);
+			}
+		}
+	}
+
+	/**
+	 * Joins the example sets by the key attributes with the {@link ExampleSetJoin} operator.
+	 */
+	private static ExampleSet joinWithOperator(ExampleSet left, ExampleSet right, int joinType)
+			throws OperatorException {
+		Process process = new Process();
+		ExampleSetJoin join = new ExampleSetJoin(new OperatorDescription(ExampleSetJoin.class.getName(), "join",
+				ExampleSetJoin.class, ExampleSetHashJoinTest.class.getClassLoader(), "elements_selection.png", null));
+		join.setParameter(ExampleSetJoin.PARAMETER_JOIN_TYPE, ExampleSetJoin.JOIN_TYPES[joinType]);
+		join.setParameter(ExampleSetJoin.PARAMETER_USE_ID, "false");
+		join.setParameter(AbstractExampleSetJoin.PARAMETER_REMOVE_DOUBLE_ATTRIBUTES, "false");
+		join.setListParameter(ExampleSetJoin.PARAMETER_JOIN_ATTRIBUTES,
+				Arrays.asList(new String[] { "nominal", "nominal" }, new String[] { "integer", "integer" }));
+		ExecutionUnit subprocess = process.getRootOperator().getSubprocess(0);
+		subprocess.addOperator(join);
+		subprocess.getInnerSources().getPortByIndex(0).connectTo(join.getInputPorts().getPortByName("left"));
+		subprocess.getInnerSources().getPortByIndex(1).connectTo(join.getInputPorts().getPortByName("right"));
+		join.getOutputPorts().getPortByName("join").connectTo(subprocess.getInnerSinks().getPortByIndex(0));
+		return process.run(new IOContainer(left, right)).get(ExampleSet.class);
+	}
+}
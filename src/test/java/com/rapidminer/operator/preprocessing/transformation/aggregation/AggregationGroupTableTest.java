@@ -0,0 +1,198 @@
+/**
+ * Copyright (C) 2001-2020 by RapidMiner and the contributors
+ *
+ * Complete list of developers available at our web site:
+ *
+ * http://rapidminer.com
+ *
+ * This program is free software: you can redistribute it and/or modify it under the terms of the
+ * GNU Affero General Public License as published by the Free Software Foundation, either version 3
+ * of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without
+ * even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License along with this program.
+ * If not, see http://www.gnu.org/licenses/.
+ */
+package com.rapidminer.operator.preprocessing.transformation.aggregation;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Random;
+
+import org.junit.Test;
+
+import com.rapidminer.example.Attribute;
+import com.rapidminer.example.Example;
+import com.rapidminer.example.ExampleSet;
+import com.rapidminer.example.table.AttributeFactory;
+import com.rapidminer.example.table.DoubleArrayDataRow;
+import com.rapidminer.example.utils.ExampleSets;
+import com.rapidminer.operator.OperatorException;
+import com.rapidminer.operator.preprocessing.transformation.aggregation.AggregationOperator.AggregationTreeNode;
+import com.rapidminer.operator.preprocessing.transformation.aggregation.AggregationOperator.LeafAggregationTreeNode;
+import com.rapidminer.tools.Ontology;
+
+
+/**
+ * Tests that the {@link AggregationGroupTable} yields the same groups and results as counting one {@link Aggregator}
+ * per group, also if partitions of the data are merged.
+ *
+ * @since 9.7
+ */
+public class AggregationGroupTableTest {
+
+	private static final int ROWS = 20_000;
+
+	private static final String[] FUNCTIONS = { AggregationFunction.FUNCTION_NAME_SUM,
+			AggregationFunction.FUNCTION_NAME_COUNT, AggregationFunction.FUNCTION_NAME_MINIMUM,
+			AggregationFunction.FUNCTION_NAME_MAXIMUM, AggregationFunction.FUNCTION_NAME_AVERAGE,
+			AggregationFunction.FUNCTION_NAME_VARIANCE, AggregationFunction.FUNCTION_NAME_STANDARD_DEVIATION };
+
+	private final Attribute nominal = AttributeFactory.createAttribute("nominal", Ontology.POLYNOMINAL);
+	private final Attribute integer = AttributeFactory.createAttribute("integer", Ontology.INTEGER);
+	private final Attribute real = AttributeFactory.createAttribute("real", Ontology.REAL);
+	private final Attribute weight = AttributeFactory.createAttribute("weight", Ontology.REAL);
+
+	private ExampleSet createExampleSet() {
+		for (int i = 0; i < 5; i++) {
+			nominal.getMapping().mapString("value" + i);
+		}
+		Random random = new Random(42);
+		double[] nominals = random.ints(ROWS, -1, 5).mapToDouble(i -> i < 0 ? Double.NaN : i).toArray();
+		double[] integers = random.ints(ROWS, -20, 20).mapToDouble(i -> i == 0 ? Double.NaN : i).toArray();
+		double[] reals = random.doubles(ROWS).map(d -> d < 0.001 ? Double.NaN : d * 100 - 50).toArray();
+		double[] weights = random.doubles(ROWS).toArray();
+		return ExampleSets.from(nominal, integer, real, weight).withBlankSize(ROWS)
+				.withColumnFiller(nominal, i -> nominals[i]).withColumnFiller(integer, i -> integers[i])
+				.withColumnFiller(real, i -> reals[i]).withColumnFiller(weight, i -> weights[i]).build();
+	}
+
+	private List<AggregationFunction> createFunctions(boolean ignoreMissings) throws OperatorException {
+		List<AggregationFunction> functions = new ArrayList<>();
+		for (String name : FUNCTIONS) {
+			functions.add(AggregationFunction.createAggregationFunction(name, real, ignoreMissings, false));
+		}
+		// not supported by column aggregators
+		functions.add(AggregationFunction.createAggregationFunction(AggregationFunction.FUNCTION_NAME_MEDIAN, real,
+				ignoreMissings, false));
+		return functions;
+	}
+
+	@Test
+	public void testSequential() throws OperatorException {
+		ExampleSet exampleSet = createExampleSet();
+		for (boolean ignoreMissings : new boolean[] { true, false }) {
+			for (boolean useWeights : new boolean[] { true, false }) {
+				List<AggregationFunction> functions = createFunctions(ignoreMissings);
+				AggregationGroupTable table = new AggregationGroupTable(new Attribute[] { nominal, integer }, functions);
+				assertFalse(table.isMergeable());
+				for (Example example : exampleSet) {
+					if (useWeights) {
+						table.count(example, example.getValue(weight));
+					} else {
+						table.count(example);
+					}
+				}
+				assertResults(exampleSet, functions, table, useWeights, 0);
+			}
+		}
+	}
+
+	@Test
+	public void testMerged() throws OperatorException {
+		ExampleSet exampleSet = createExampleSet();
+		for (boolean ignoreMissings : new boolean[] { true, false }) {
+			for (boolean useWeights : new boolean[] { true, false }) {
+				List<AggregationFunction> functions = createFunctions(ignoreMissings).subList(0, FUNCTIONS.length);
+				Attribute[] groupAttributes = { nominal, integer };
+				AggregationGroupTable[] tables = new AggregationGroupTable[3];
+				for (int partition = 0; partition < tables.length; partition++) {
+					tables[partition] = new AggregationGroupTable(groupAttributes, functions);
+					assertTrue(tables[partition].isMergeable());
+					for (int row = ROWS * partition / tables.length; row < ROWS * (partition + 1) / tables.length; row++) {
+						Example example = exampleSet.getExample(row);
+						if (useWeights) {
+							tables[partition].count(example, example.getValue(weight));
+						} else {
+							tables[partition].count(example);
+						}
+					}
+				}
+				tables[0].merge(tables[1]);
+				tables[0].merge(tables[2]);
+				assertResults(exampleSet, functions, tables[0], useWeights, 1e-9);
+			}
+		}
+	}
+
+	@Test
+	public void testNoGroupAttributes() throws OperatorException {
+		ExampleSet exampleSet = createExampleSet();
+		List<AggregationFunction> functions = createFunctions(true);
+		AggregationGroupTable table = new AggregationGroupTable(new Attribute[0], functions);
+		LeafAggregationTreeNode expected = new LeafAggregationTreeNode(functions);
+		for (Example example : exampleSet) {
+			table.count(example);
+			expected.count(example);
+		}
+		assertEquals(1, table.size());
+		assertLeaf(functions, expected.getAggregators(), table.getLeaf(0).getAggregators(), 0);
+	}
+
+	/**
+	 * Compares the results of the table with one {@link LeafAggregationTreeNode} per group.
+	 */
+	private void assertResults(ExampleSet exampleSet, List<AggregationFunction> functions, AggregationGroupTable table,
+			boolean useWeights, double delta) {
+		Map<List<Object>, LeafAggregationTreeNode> expected = new HashMap<>();
+		for (Example example : exampleSet) {
+			List<Object> key = Arrays.asList(example.getValueAsString(nominal), example.getValue(integer));
+			LeafAggregationTreeNode leaf = expected.computeIfAbsent(key, k -> new LeafAggregationTreeNode(functions));
+			if (useWeights) {
+				leaf.count(example, example.getValue(weight));
+			} else {
+				leaf.count(example);
+			}
+		}
+		assertEquals(expected.size(), table.size());
+
+		AggregationTreeNode root = new AggregationTreeNode();
+		table.addTo(root);
+		for (Entry<List<Object>, LeafAggregationTreeNode> entry : expected.entrySet()) {
+			AggregationTreeNode child = root.getChild(entry.getKey().get(0));
+			assertNotNull(entry.getKey().toString(), child);
+			LeafAggregationTreeNode leaf = child.getLeaf(entry.getKey().get(1));
+			assertNotNull(entry.getKey().toString(), leaf);
+			assertLeaf(functions, entry.getValue().getAggregators(), leaf.getAggregators(), delta);
+		}
+	}
+
+	private void assertLeaf(List<AggregationFunction> functions, List<Aggregator> expected, List<Aggregator> actual,
+			double delta) {
+		for (int i = 0; i < functions.size(); i++) {
+			Attribute target = functions.get(i).getTargetAttribute();
+			target.setTableIndex(0);
+			double expectedValue = getResult(expected.get(i), target);
+			double actualValue = getResult(actual.get(i), target);
+			assertEquals(target.getName(), expectedValue, actualValue, Math.abs(expectedValue) * delta);
+		}
+	}
+
+	private static double getResult(Aggregator aggregator, Attribute target) {
+		DoubleArrayDataRow row = new DoubleArrayDataRow(new double[1]);
+		aggregator.set(target, row);
+		return row.get(target);
+	}
+}
@@ -0,0 +1,304 @@
+/**
+ * Copyright (C) 2001-2020 by RapidMiner and the contributors
+ * 
+ * Complete list of developers available at our web site:
+ * 
+ * http://rapidminer.com
+ * 
+ * This program is free software: you can redistribute it and/or modify it under the terms of the
+ * GNU Affero General Public License as published by the Free Software Foundation, either version 3
+ * of the License, or (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without
+ * even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Affero General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Affero General Public License along with this program.
+ * If not, see http://www.gnu.org/licenses/.
+*/
+package com.rapidminer.operator.validation;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import com.rapidminer.Process;
+import com.rapidminer.TestUtils;
+import com.rapidminer.example.Attribute;
+import com.rapidminer.example.Attributes;
+import com.rapidminer.example.Example;
+import com.rapidminer.example.ExampleSet;
+import com.rapidminer.example.set.SplittedExampleSet;
+import com.rapidminer.example.table.AttributeFactory;
+import com.rapidminer.example.utils.ExampleSetBuilder;
+import com.rapidminer.example.utils.ExampleSets;
+import com.rapidminer.operator.IOContainer;
+import com.rapidminer.operator.Operator;
+import com.rapidminer.operator.OperatorDescription;
+import com.rapidminer.operator.OperatorException;
+import com.rapidminer.operator.OperatorVersion;
+import com.rapidminer.operator.ProcessRootOperator;
+import com.rapidminer.operator.concurrency.internal.ConcurrencyTools;
+import com.rapidminer.operator.concurrency.internal.ParallelOperatorChain;
+import com.rapidminer.operator.learner.lazy.DefaultModel;
+import com.rapidminer.operator.performance.EstimatedPerformance;
+import com.rapidminer.operator.performance.PerformanceVector;
+import com.rapidminer.operator.ports.InputPort;
+import com.rapidminer.operator.ports.OutputPort;
+import com.rapidminer.studio.concurrency.internal.ConcurrencyExecutionService;
+import com.rapidminer.studio.concurrency.internal.TestConcurrencyContext;
+import com.rapidminer.studio.concurrency.internal.TestExecutionService;
+import com.rapidminer.studio.internal.Resources;
+import com.rapidminer.tools.Ontology;
+import com.rapidminer.tools.RandomGenerator;
+
+
+/**
+ * Tests that the folds of a {@link ValidationChain} deliver the same results when they are
+ * executed concurrently on clones and when they are executed one after another.
+ *
+ * @since 9.7
+ */
+public class ValidationChainTest {
+
+	private static final int NUMBER_OF_FOLDS = 7;
+
+	private static final long SEED = 1992;
+
+	private static ForkJoinPool pool;
+
+	private static ExampleSet exampleSet;
+
+	@BeforeClass
+	public static void setup() {
+		TestUtils.INSTANCE.minimalProcessUsageSetup();
+		pool = new ForkJoinPool(4);
+		Attribute attribute = AttributeFactory.createAttribute("att", Ontology.REAL);
+		Attribute label = AttributeFactory.createAttribute("label", Ontology.REAL);
+		List<Attribute> attributes = new ArrayList<>();
+		attributes.add(attribute);
+		attributes.add(label);
+		ExampleSetBuilder builder = ExampleSets.from(attributes).withRole(label, Attributes.LABEL_NAME);
+		for (int i = 0; i < 100; i++) {
+			builder.addRow(new double[] { i, i * i % 17 });
+		}
+		exampleSet = builder.build();
+	}
+
+	@AfterClass
+	public static void tearDown() {
+		pool.shutdown();
+	}
+
+	@Test
+	public void testParallelFoldsSameAsSequential() throws OperatorException {
+		TestXValidation sequential = createValidation(null, 1);
+		PerformanceVector expected = run(sequential, false).get(PerformanceVector.class);
+		TestXValidation parallel = createValidation(new TestExecutionService(pool), 4);
+		PerformanceVector actual = run(parallel, false).get(PerformanceVector.class);
+
+		assertEquals(expected.getMainCriterion().getAverage(), actual.getMainCriterion().getAverage(), 0);
+		assertEquals(expected.getMainCriterion().getMakroVariance(), actual.getMainCriterion().getMakroVariance(), 0);
+		assertTrue(actual.getMainCriterion().getMakroVariance() > 0);
+		// the iteration of the last collected fold is logged on the operator itself
+		assertEquals(NUMBER_OF_FOLDS - 1, (Double) sequential.getValue("iteration").getValue(), 0);
+		assertEquals(NUMBER_OF_FOLDS - 1, (Double) parallel.getValue("iteration").getValue(), 0);
+	}
+
+	@Test
+	public void testParallelFinalModelSameAsSequential() throws OperatorException {
+		IOContainer expected = run(createValidation(null, 1), true);
+		IOContainer actual = run(createValidation(new TestExecutionService(pool), 4), true);
+
+		assertEquals(expected.get(PerformanceVector.class).getMainCriterion().getAverage(),
+				actual.get(PerformanceVector.class).getMainCriterion().getAverage(), 0);
+		assertEquals(expected.get(DefaultModel.class).getValue(), actual.get(DefaultModel.class).getValue(), 0);
+	}
+
+	@Test
+	public void testOverriddenIterationsExecutedSequentially() throws OperatorException {
+		IterationCountingXValidation validation = createValidation(IterationCountingXValidation.class,
+				new TestExecutionService(pool), 4);
+		PerformanceVector actual = run(validation, false).get(PerformanceVector.class);
+		PerformanceVector expected = run(createValidation(null, 1), false).get(PerformanceVector.class);
+
+		assertEquals(NUMBER_OF_FOLDS, validation.iterations);
+		assertEquals(expected.getMainCriterion().getAverage(), actual.getMainCriterion().getAverage(), 0);
+	}
+
+	@Test
+	public void testIncompatibleVersionChanges() {
+		List<OperatorVersion> versions = Arrays.asList(createValidation(null, 1).getIncompatibleVersionChanges());
+		assertTrue(versions.contains(ConcurrencyTools.VERSION_SEQUENTIAL_EXECUTION));
+		assertFalse(versions.contains(ParallelOperatorChain.DOES_NOT_ALWAYS_SYNCHRONIZE_REMEMBERED_DATA));
+	}
+
+	/**
+	 * Runs the process of the validation on the example set and returns the results.
+	 */
+	private static IOContainer run(TestXValidation validation, boolean deliverModel) throws OperatorException {
+		Process process = validation.getProcess();
+		process.getRootOperator().getSubprocess(0).getInnerSources().getPortByIndex(0)
+				.connectTo(validation.getInputPorts().getPortByName("training"));
+		validation.getOutputPorts().getPortByName("averagable 1")
+				.connectTo(process.getRootOperator().getSubprocess(0).getInnerSinks().getPortByIndex(0));
+		if (deliverModel) {
+			validation.getOutputPorts().getPortByName("model")
+					.connectTo(process.getRootOperator().getSubprocess(0).getInnerSinks().getPortByIndex(1));
+		}
+		return process.run(new IOContainer(exampleSet));
+	}
+
+	/**
+	 * Creates a cross validation with a {@link RandomLearner} and a {@link RandomEvaluator} in a
+	 * new process whose concurrency context has the given parallelism.
+	 */
+	private static TestXValidation createValidation(ConcurrencyExecutionService service, int parallelism) {
+		return createValidation(TestXValidation.class, service, parallelism);
+	}
+
+	/**
+	 * Creates a cross validation of the given class as by
+	 * {@link #createValidation(ConcurrencyExecutionService, int)}.
+	 */
+	private static <T extends TestXValidation> T createValidation(Class<T> validationClass,
+			ConcurrencyExecutionService service, int parallelism) {
+		Process process = new Process();
+		process.getRootOperator().setUserData(ConcurrencyExecutionService.OVERRIDING_CONTEXT,
+				new Resources.OverridingContextUserData(new TestConcurrencyContext(pool, parallelism)));
+		process.getRootOperator().setParameter(ProcessRootOperator.PARAMETER_RANDOM_SEED, String.valueOf(SEED));
+
+		T validation = createOperator(validationClass, "x_validation");
+		validation.service = service;
+		validation.setParameter(XValidation.PARAMETER_NUMBER_OF_VALIDATIONS, String.valueOf(NUMBER_OF_FOLDS));
+		validation.setParameter(XValidation.PARAMETER_SAMPLING_TYPE,
+				SplittedExampleSet.SAMPLING_NAMES[SplittedExampleSet.SHUFFLED_SAMPLING]);
+		process.getRootOperator().getSubprocess(0).addOperator(validation);
+
+		RandomLearner learner = createOperator(RandomLearner.class, "random_learner");
+		validation.getSubprocess(0).addOperator(learner);
+		validation.getSubprocess(0).getInnerSources().getPortByName("training").connectTo(learner.exampleSetInput);
+		learner.modelOutput.connectTo(validation.getSubprocess(0).getInnerSinks().getPortByName("model"));
+
+		RandomEvaluator evaluator = createOperator(RandomEvaluator.class, "random_evaluator");
+		validation.getSubprocess(1).addOperator(evaluator);
+		validation.getSubprocess(1).getInnerSources().getPortByName("model").connectTo(evaluator.modelInput);
+		validation.getSubprocess(1).getInnerSources().getPortByName("test set").connectTo(evaluator.exampleSetInput);
+		evaluator.performanceOutput
+				.connectTo(validation.getSubprocess(1).getInnerSinks().getPortByName("averagable 1"));
+		return validation;
+	}
+
+	private static <T extends Operator> T createOperator(Class<T> operatorClass, String key) {
+		try {
+			return operatorClass.getConstructor(OperatorDescription.class).newInstance(new OperatorDescription(
+					operatorClass.getName(), key, operatorClass, ValidationChainTest.class.getClassLoader(),
+					"elements_selection.png", null));
+		} catch (ReflectiveOperationException e) {
+			throw new IllegalStateException(e);
+		}
+	}
+
+	/**
+	 * Cross validation that executes its folds with the given service instead of the one of the
+	 * {@link com.rapidminer.studio.concurrency.internal.ConcurrencyExecutionServiceProvider}.
+	 */
+	public static class TestXValidation extends XValidation {
+
+		ConcurrencyExecutionService service;
+
+		public TestXValidation(OperatorDescription description) {
+			super(description);
+		}
+
+		@Override
+		ConcurrencyExecutionService getExecutionService() {
+			return service;
+		}
+	}
+
+	/**
+	 * Cross validation that counts the calls of {@link #performIteration(SplittedExampleSet, int)}.
+	 */
+	public static class IterationCountingXValidation extends TestXValidation {
+
+		private int iterations;
+
+		public IterationCountingXValidation(OperatorDescription description) {
+			super(description);
+		}
+
+		@Override
+		protected void performIteration(SplittedExampleSet splittedES, int iteration) throws OperatorException {
+			iterations++;
+			super.performIteration(splittedES, iteration);
+		}
+	}
+
+	/**
+	 * Learns a model that predicts the average label plus a random number of the process random
+	 * sequence.
+	 */
+	public static class RandomLearner extends Operator {
+
+		private final InputPort exampleSetInput = getInputPorts().createPort("training set");
+
+		private final OutputPort modelOutput = getOutputPorts().createPort("model");
+
+		public RandomLearner(OperatorDescription description) {
+			super(description);
+		}
+
+		@Override
+		public void doWork() throws OperatorException {
+			ExampleSet trainingSet = exampleSetInput.getData(ExampleSet.class);
+			double sum = 0;
+			for (Example example : trainingSet) {
+				sum += example.getLabel();
+			}
+			double value = sum / trainingSet.size() + RandomGenerator.getRandomGenerator(getProcess(), -1).nextDouble();
+			modelOutput.deliver(new DefaultModel(trainingSet, value));
+		}
+	}
+
+	/**
+	 * Evaluates the absolute difference between the prediction of the model and the average label
+	 * of the test set plus a random number of the process random sequence.
+	 */
+	public static class RandomEvaluator extends Operator {
+
+		private final InputPort modelInput = getInputPorts().createPort("model");
+
+		private final InputPort exampleSetInput = getInputPorts().createPort("test set");
+
+		private final OutputPort performanceOutput = getOutputPorts().createPort("performance");
+
+		public RandomEvaluator(OperatorDescription description) {
+			super(description);
+		}
+
+		@Override
+		public void doWork() throws OperatorException {
+			DefaultModel model = modelInput.getData(DefaultModel.class);
+			ExampleSet testSet = exampleSetInput.getData(ExampleSet.class);
+			double sum = 0;
+			for (Example example : testSet) {
+				sum += example.getLabel();
+			}
+			double value = Math.abs(model.getValue() - sum / testSet.size())
+					+ RandomGenerator.getRandomGenerator(getProcess(), -1).nextDouble();
+			PerformanceVector performance = new PerformanceVector();
+			performance.addCriterion(new EstimatedPerformance("difference", value, 1, true));
+			performanceOutput.deliver(performance);
+		}
+	}
+}
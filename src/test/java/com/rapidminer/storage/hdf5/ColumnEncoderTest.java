@@ -0,0 +1,128 @@
+/**
+ * Copyright (C) 2001-2020 by RapidMiner and the contributors
+ * 
+ * Complete list of developers available at our web site:
+ * 
+ * http://rapidminer.com
+ * 
+ * This program is free software: you can redistribute it and/or modify it under the terms of the
+ * GNU Affero General Public License as published by the Free Software Foundation, either version 3
+ * of the License, or (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without
+ * even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Affero General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Affero General Public License along with this program.
+ * If not, see http://www.gnu.org/licenses/.
+*/
+package com.rapidminer.storage.hdf5;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import com.rapidminer.example.Attribute;
+import com.rapidminer.example.ExampleSet;
+import com.rapidminer.example.table.AttributeFactory;
+import com.rapidminer.example.utils.ExampleSets;
+import com.rapidminer.studio.concurrency.internal.TestConcurrencyContext;
+import com.rapidminer.tools.Ontology;
+
+
+/**
+ * Tests the memory bound, the encodings and the batches of the {@link ColumnEncoder}.
+ *
+ * @since 9.7
+ */
+public class ColumnEncoderTest {
+
+	private static ForkJoinPool pool;
+
+	@BeforeClass
+	public static void setup() {
+		pool = new ForkJoinPool(2);
+	}
+
+	@AfterClass
+	public static void tearDown() {
+		pool.shutdown();
+	}
+
+	@Test
+	public void testBatchSizeBounded() {
+		int columnRows = (int) (ColumnEncoder.MAX_ENCODED_BYTES / ColumnEncoder.MAX_BYTES_PER_VALUE);
+		assertEquals(4, ColumnEncoder.getBatchSize(0, 4));
+		assertEquals(4, ColumnEncoder.getBatchSize(1000, 4));
+		assertEquals(2, ColumnEncoder.getBatchSize(columnRows / 2, 4));
+		assertEquals(1, ColumnEncoder.getBatchSize(columnRows, 4));
+		assertEquals(1, ColumnEncoder.getBatchSize(Integer.MAX_VALUE, 4));
+	}
+
+	@Test
+	public void testEncodings() throws IOException {
+		Attribute a = AttributeFactory.createAttribute("a", Ontology.REAL);
+		Attribute n = AttributeFactory.createAttribute("n", Ontology.NOMINAL);
+		n.getMapping().mapString("x");
+		n.getMapping().mapString("y");
+		Attribute d = AttributeFactory.createAttribute("d", Ontology.DATE_TIME);
+		double[] dates = { -1500, 0, 999, 1000, Double.NaN };
+		double[] nominals = { 1, 0, Double.NaN, 2, -1 };
+		ExampleSet exampleSet = ExampleSets.from(a, n, d).withBlankSize(5)
+				.withColumnFiller(a, i -> i == 2 ? Double.NaN : i).withColumnFiller(n, i -> nominals[i])
+				.withColumnFiller(d, i -> dates[i]).build();
+		ColumnEncoder encoder = new ColumnEncoder(exampleSet, Arrays.asList(a, n, d),
+				new TestConcurrencyContext(pool, 4));
+
+		assertArrayEquals(new double[] { 0, 1, Double.NaN, 3, 4 }, encoder.getNumbers(a), 0);
+		assertNull(encoder.getCodes(a));
+		assertArrayEquals(new int[] { 2, 1, 0, 0, 0 }, encoder.getCodes(n));
+		assertNull(encoder.getNumbers(n));
+		assertArrayEquals(new long[] { -2, 0, 0, 1, Long.MAX_VALUE }, encoder.getSeconds(d));
+		assertArrayEquals(new int[] { 500_000_000, 0, 999_000_000, 0, 0 }, encoder.getNanos(d));
+		assertNull(encoder.getNumbers(d));
+	}
+
+	@Test
+	public void testWrittenColumnsNotReadAgain() throws IOException {
+		Attribute a = AttributeFactory.createAttribute("a", Ontology.REAL);
+		Attribute b = AttributeFactory.createAttribute("b", Ontology.REAL);
+		Attribute c = AttributeFactory.createAttribute("c", Ontology.DATE_TIME);
+		ExampleSet exampleSet = ExampleSets.from(a, b, c).withBlankSize(10).withColumnFiller(a, i -> i)
+				.withColumnFiller(b, i -> -i).withColumnFiller(c, i -> 1000 * i).build();
+		AtomicInteger batches = new AtomicInteger();
+		TestConcurrencyContext context = new TestConcurrencyContext(pool, 2) {
+
+			@Override
+			public <T> List<T> call(List<Callable<T>> callables) throws ExecutionException {
+				batches.incrementAndGet();
+				return super.call(callables);
+			}
+		};
+		ColumnEncoder encoder = new ColumnEncoder(exampleSet, Arrays.asList(a, b, c), context);
+
+		assertArrayEquals(new double[] { 0, 1, 2, 3, 4, 5, 6, 7, 8, 9 }, encoder.getNumbers(a), 0);
+		assertArrayEquals(new double[] { 0, -1, -2, -3, -4, -5, -6, -7, -8, -9 }, encoder.getNumbers(b), 0);
+		assertEquals(1, batches.get());
+		assertEquals(9, encoder.getSeconds(c)[9]);
+		// the second part of the date column is served from the current batch
+		assertEquals(0, encoder.getNanos(c)[9]);
+		assertEquals(2, batches.get());
+		// written columns are read directly by the writer
+		assertNull(encoder.getNumbers(a));
+		assertEquals(2, batches.get());
+	}
+
+}
@@ -26,12 +26,16 @@ import static org.mockito.Mockito.doReturn;
 
 import java.io.File;
 import java.io.IOException;
+import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
 import java.util.function.IntToDoubleFunction;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
@@ -55,6 +59,7 @@ import com.rapidminer.example.ExampleSet;
 import com.rapidminer.example.table.AttributeFactory;
 import com.rapidminer.example.table.NominalMapping;
 import com.rapidminer.example.utils.ExampleSetBuilder;
+import com.rapidminer.example.utils.ExampleSetProjection;
 import com.rapidminer.example.utils.ExampleSets;
 import com.rapidminer.hdf5.CustomDataOutput;
 import com.rapidminer.hdf5.file.ColumnInfo;
@@ -67,6 +72,7 @@ import com.rapidminer.operator.Annotations;
 import com.rapidminer.operator.ports.metadata.AttributeMetaData;
 import com.rapidminer.operator.ports.metadata.ExampleSetMetaData;
 import com.rapidminer.operator.ports.metadata.SetRelation;
+import com.rapidminer.studio.concurrency.internal.TestConcurrencyContext;
 import com.rapidminer.test_utils.RapidAssert;
 import com.rapidminer.tools.Ontology;
 import com.rapidminer.tools.ParameterService;
@@ -126,6 +132,90 @@ public class WriteReadTest {
 			assertEquals(set.getAnnotations(), read.getAnnotations());
 		}
 
+		@Test
+		public void testWriteConcurrentlyAndRead() throws IOException {
+			File f = File.createTempFile("test", ".hdf5");
+			f.deleteOnExit();
+			ForkJoinPool pool = new ForkJoinPool(4);
+			try {
+				ExampleSetHdf5Writer writer = new ExampleSetHdf5Writer(set);
+				writer.setConcurrencyContext(new TestConcurrencyContext(pool));
+				writer.write(f.toPath());
+			} finally {
+				pool.shutdown();
+			}
+			ExampleSet read = Hdf5ExampleSetReader.read(f.toPath());
+			RapidAssert.assertEquals(set, read);
+			assertEquals(set.getAnnotations(), read.getAnnotations());
+		}
+
+		@Test
+		public void testWriteAndReadLazy() throws IOException {
+			File f = File.createTempFile("test", ".hdf5");
+			f.deleteOnExit();
+			new ExampleSetHdf5Writer(set).write(f.toPath());
+			ExampleSet read = Hdf5ExampleSetReader.read(f.toPath(), true);
+			RapidAssert.assertEquals(set, read);
+			assertEquals(set.getAnnotations(), read.getAnnotations());
+		}
+
+		@Test
+		public void testReadProjection() throws IOException {
+			File f = File.createTempFile("test", ".hdf5");
+			f.deleteOnExit();
+			new ExampleSetHdf5Writer(set).write(f.toPath());
+			Set<String> names = new HashSet<>();
+			Iterator<Attribute> attributes = set.getAttributes().allAttributes();
+			for (int i = 0; attributes.hasNext(); i++) {
+				String name = attributes.next().getName();
+				if (i % 2 == 0) {
+					names.add(name);
+				}
+			}
+			ExampleSetProjection projection = new ExampleSetProjection(names, set.size() / 3, set.size() / 2);
+			ExampleSet expected = projection.apply(set);
+			for (boolean lazy : new boolean[]{false, true}) {
+				ExampleSet read = Hdf5ExampleSetReader.read(f.toPath(), lazy, projection);
+				assertEquals(expected.size(), read.size());
+				assertEquals(expected.getAttributes().allSize(), read.getAttributes().allSize());
+				for (Iterator<AttributeRole> roles = expected.getAttributes().allAttributeRoles(); roles.hasNext(); ) {
+					AttributeRole role = roles.next();
+					Attribute expectedAttribute = role.getAttribute();
+					Attribute readAttribute = read.getAttributes().get(expectedAttribute.getName());
+					assertEquals(role.getSpecialName(), read.getAttributes().getRole(readAttribute).getSpecialName());
+					for (int row = 0; row < expected.size(); row++) {
+						assertEquals(expected.getExample(row).getValueAsString(expectedAttribute),
+								read.getExample(row).getValueAsString(readAttribute));
+					}
+				}
+			}
+		}
+
+		@Test
+		public void testOverwriteLazy() throws IOException {
+			File f = File.createTempFile("test", ".hdf5");
+			f.deleteOnExit();
+			new ExampleSetHdf5Writer(set).write(f.toPath());
+			ExampleSet read = Hdf5ExampleSetReader.read(f.toPath(), true);
+			// writing the lazily read set to its own file must not destroy its values
+			new ExampleSetHdf5Writer(read).write(f.toPath());
+			new ExampleSetHdf5Writer(createExampleSetNum(3, 10, true)).write(f.toPath());
+			RapidAssert.assertEquals(set, read);
+		}
+
+		@Test
+		public void testDeleteDirectoryLazy() throws IOException {
+			Path directory = Files.createTempDirectory("test");
+			Path file = directory.resolve("test.hdf5");
+			new ExampleSetHdf5Writer(set).write(file);
+			ExampleSet read = Hdf5ExampleSetReader.read(file, true);
+			// releasing the directory must release the files in it
+			Hdf5ExampleSetReader.releaseLazyColumns(directory);
+			Files.delete(file);
+			Files.delete(directory);
+			RapidAssert.assertEquals(set, read);
+		}
+
 		@Test
 		public void testWriteAndReadMD() throws IOException {
 			File f = File.createTempFile("test", ".hdf5");
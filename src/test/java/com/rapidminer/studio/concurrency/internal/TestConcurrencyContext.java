@@ -0,0 +1,127 @@
+/**
+ * Copyright (C) 2001-2020 by RapidMiner and the contributors
+ *
+ * Complete list of developers available at our web site:
+ *
+ * http://rapidminer.com
+ *
+ * This program is free software: you can redistribute it and/or modify it under the terms of the
+ * GNU Affero General Public License as published by the Free Software Foundation, either version 3
+ * of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without
+ * even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License along with this program.
+ * If not, see http://www.gnu.org/licenses/.
+ */
+package com.rapidminer.studio.concurrency.internal;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.Future;
+
+import com.rapidminer.core.concurrency.ConcurrencyContext;
+import com.rapidminer.core.concurrency.ExecutionStoppedException;
+
+
+/**
+ * {@link ConcurrencyContext} for tests that submits all tasks to the given {@link ForkJoinPool}. The reported
+ * parallelism can differ from the one of the pool, so that the same pool can be used to test the sequential code path
+ * of an algorithm.
+ *
+ * @since 9.7
+ */
+public class TestConcurrencyContext implements ConcurrencyContext {
+
+	private final ForkJoinPool pool;
+
+	private final int parallelism;
+
+	/**
+	 * Creates a context that reports the parallelism of the given pool.
+	 *
+	 * @param pool
+	 *            the pool to submit the tasks to
+	 */
+	public TestConcurrencyContext(ForkJoinPool pool) {
+		this(pool, pool.getParallelism());
+	}
+
+	/**
+	 * Creates a context that reports the given parallelism.
+	 *
+	 * @param pool
+	 *            the pool to submit the tasks to
+	 * @param parallelism
+	 *            the parallelism returned by {@link #getParallelism()}
+	 */
+	public TestConcurrencyContext(ForkJoinPool pool, int parallelism) {
+		this.pool = pool;
+		this.parallelism = parallelism;
+	}
+
+	@Override
+	public <T> List<Future<T>> submit(List<Callable<T>> callables) {
+		List<Future<T>> futures = new ArrayList<>();
+		for (Callable<T> callable : callables) {
+			futures.add(pool.submit(callable));
+		}
+		return futures;
+	}
+
+	@Override
+	public <T> List<T> call(List<Callable<T>> callables) throws ExecutionException {
+		return collectResults(submit(callables));
+	}
+
+	@Override
+	public void run(List<Runnable> runnables) throws ExecutionException {
+		List<Callable<Void>> callables = new ArrayList<>();
+		for (Runnable runnable : runnables) {
+			callables.add(() -> {
+				runnable.run();
+				return null;
+			});
+		}
+		call(callables);
+	}
+
+	@Override
+	public <T> List<T> collectResults(List<Future<T>> futures) throws ExecutionException {
+		List<T> results = new ArrayList<>();
+		for (Future<T> future : futures) {
+			try {
+				results.add(future.get());
+			} catch (InterruptedException e) {
+				throw new ExecutionException(e);
+			}
+		}
+		return results;
+	}
+
+	@Override
+	public int getParallelism() {
+		return parallelism;
+	}
+
+	@Override
+	public void checkStatus() throws ExecutionStoppedException {
+		// tests are never stopped
+	}
+
+	@Override
+	public <T> T invoke(ForkJoinTask<T> task) {
+		throw new UnsupportedOperationException();
+	}
+
+	@Override
+	public <T> List<T> invokeAll(List<ForkJoinTask<T>> tasks) {
+		throw new UnsupportedOperationException();
+	}
+}
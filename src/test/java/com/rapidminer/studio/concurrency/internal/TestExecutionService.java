@@ -0,0 +1,150 @@
+/**
+ * Copyright (C) 2001-2020 by RapidMiner and the contributors
+ * 
+ * Complete list of developers available at our web site:
+ * 
+ * http://rapidminer.com
+ * 
+ * This program is free software: you can redistribute it and/or modify it under the terms of the
+ * GNU Affero General Public License as published by the Free Software Foundation, either version 3
+ * of the License, or (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without
+ * even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Affero General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Affero General Public License along with this program.
+ * If not, see http://www.gnu.org/licenses/.
+*/
+package com.rapidminer.studio.concurrency.internal;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+
+import com.rapidminer.Process;
+import com.rapidminer.operator.IOContainer;
+import com.rapidminer.operator.Operator;
+import com.rapidminer.operator.OperatorException;
+import com.rapidminer.operator.concurrency.internal.ConcurrencyTools;
+import com.rapidminer.studio.concurrency.internal.util.BackgroundExecution;
+import com.rapidminer.studio.concurrency.internal.util.BackgroundExecutionServiceListener;
+import com.rapidminer.studio.concurrency.internal.util.ProcessBackgroundExecution;
+import com.rapidminer.studio.internal.Resources;
+
+
+/**
+ * {@link ConcurrencyExecutionService} for tests that executes the tasks of cloned operators in the
+ * given {@link ForkJoinPool}. Every clone is added to its own process whose concurrency context has
+ * a parallelism of one. Process executions are not supported.
+ *
+ * @since 9.7
+ */
+public class TestExecutionService implements ConcurrencyExecutionService {
+
+	private final ForkJoinPool pool;
+
+	/**
+	 * Creates a service that submits all operator tasks to the given pool.
+	 *
+	 * @param pool
+	 *            the pool to submit the tasks to
+	 */
+	public TestExecutionService(ForkJoinPool pool) {
+		this.pool = pool;
+	}
+
+	@Override
+	public <V, T> Callable<V> prepareOperatorTask(Process parentProcess, Operator clonedOperator, int applyCount,
+			boolean synchronizeSideEffects, Callable<V> task) {
+		Process process = new Process();
+		process.getRootOperator().setUserData(ConcurrencyExecutionService.OVERRIDING_CONTEXT,
+				new Resources.OverridingContextUserData(new TestConcurrencyContext(pool, 1)));
+		process.getRootOperator().getSubprocess(0).addOperator(clonedOperator);
+		return task;
+	}
+
+	@Override
+	public <T> List<T> executeOperatorTasks(Operator operator, List<Callable<T>> tasks) throws OperatorException {
+		List<Future<T>> futures = new ArrayList<>();
+		for (Callable<T> task : tasks) {
+			futures.add(pool.submit(task));
+		}
+		return collectResults(operator, futures);
+	}
+
+	@Override
+	public <T> List<T> collectResults(Operator operator, List<Future<T>> futures) throws OperatorException {
+		List<T> results = new ArrayList<>();
+		for (Future<T> future : futures) {
+			try {
+				results.add(future.get());
+			} catch (ExecutionException e) {
+				throw ConcurrencyTools.unwrap(e);
+			} catch (InterruptedException e) {
+				throw new OperatorException(e.getMessage(), e);
+			}
+		}
+		return results;
+	}
+
+	@Override
+	public void removeOperatorTask(Process parentProcess, String operatorName, int applyCount) {
+		// nothing registered
+	}
+
+	@Override
+	public <T> Future<T> submitOperatorTask(Operator operator, Callable<T> task) {
+		return pool.submit(task);
+	}
+
+	@Override
+	public void executeProcess(Process process) {
+		throw new UnsupportedOperationException();
+	}
+
+	@Override
+	public void executeProcess(Process process, IOContainer container, Map<String, String> macroSettings) {
+		throw new UnsupportedOperationException();
+	}
+
+	@Override
+	public List<BackgroundExecution> getExecutions() {
+		return Collections.emptyList();
+	}
+
+	@Override
+	public <T> T executeBlockingTask(Callable<T> callable) throws Exception {
+		return callable.call();
+	}
+
+	@Override
+	public void stopProcessExecution(ProcessBackgroundExecution execution) {
+		throw new UnsupportedOperationException();
+	}
+
+	@Override
+	public void removeProcessExecution(ProcessBackgroundExecution execution) {
+		throw new UnsupportedOperationException();
+	}
+
+	@Override
+	public void addListener(BackgroundExecutionServiceListener listener) {
+		// no executions to listen to
+	}
+
+	@Override
+	public void newProcessEvent(BackgroundExecution execution) {
+		// no executions to listen to
+	}
+
+	@Override
+	public void removedProcessEvent(BackgroundExecution execution) {
+		// no executions to listen to
+	}
+}
@@ -0,0 +1,114 @@
+/**
+ * Copyright (C) 2001-2020 by RapidMiner and the contributors
+ * 
+ * Complete list of developers available at our web site:
+ * 
+ * http://rapidminer.com
+ * 
+ * This program is free software: you can redistribute it and/or modify it under the terms of the
+ * GNU Affero General Public License as published by the Free Software Foundation, either version 3
+ * of the License, or (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without
+ * even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Affero General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Affero General Public License along with this program.
+ * If not, see http://www.gnu.org/licenses/.
+*/
+package com.rapidminer.tools;
+
+import static org.junit.Assert.assertArrayEquals;
+
+import java.util.Random;
+import java.util.regex.Pattern;
+
+import org.junit.Test;
+
+import com.rapidminer.operator.OperatorException;
+
+
+/**
+ * Tests that the {@link LineParser} splits lines at escaped split characters without regular
+ * expressions exactly like {@link Tools#quotedSplit(String, Pattern, char, char)}.
+ *
+ * @since 9.7
+ */
+public class LineParserTest {
+
+	/** lines with quotes, escapes and empty values, {@code |} is replaced by the separator */
+	private static final String[] LINES = { "a|\"b|c\"|d\\|e||f", " a | b ", "|a|", "\"a\\\"b\"|c", "a|\"b\"c|d",
+			"" };
+
+	@Test
+	public void testEscapedSplitCharacter() throws OperatorException {
+		assertSameAsQuotedSplit("\\|", '|');
+	}
+
+	@Test
+	public void testEscapedTab() throws OperatorException {
+		assertSameAsQuotedSplit("\\t", '\t');
+	}
+
+	@Test
+	public void testEscapedDot() throws OperatorException {
+		assertSameAsQuotedSplit("\\.", '.');
+	}
+
+	@Test
+	public void testRandomLines() throws OperatorException {
+		Random random = new Random(2020);
+		for (String splitExpression : new String[] { "\\|", "\\t", "\\.", "\\;", "\\*", "\\$", "\\\\" }) {
+			char separator = splitExpression.charAt(1) == 't' ? '\t' : splitExpression.charAt(1);
+			String alphabet = "ab \t\"'\\/" + separator;
+			Pattern pattern = Pattern.compile(splitExpression);
+			for (boolean trimLine : new boolean[] { true, false }) {
+				for (boolean useQuotes : new boolean[] { true, false }) {
+					LineParser parser = new LineParser();
+					parser.setSplitExpression(splitExpression);
+					parser.setTrimLine(trimLine);
+					parser.setUseQuotes(useQuotes);
+					char quoteCharacter = useQuotes ? LineParser.DEFAULT_QUOTE_CHARACTER : 0;
+					for (int i = 0; i < 5000; i++) {
+						String value = randomLine(random, alphabet);
+						assertArrayEquals(value, Tools.quotedSplit(trimLine ? value.trim() : value, pattern,
+								quoteCharacter, LineParser.DEFAULT_QUOTE_ESCAPE_CHARACTER), parser.split(value));
+					}
+				}
+			}
+		}
+	}
+
+	@Test
+	public void testOtherQuoteAndEscapeCharacters() {
+		Random random = new Random(2020);
+		Pattern pattern = Pattern.compile("\\|");
+		String alphabet = "ab |'\"\\/";
+		for (int i = 0; i < 20000; i++) {
+			String value = randomLine(random, alphabet);
+			assertArrayEquals(value, Tools.quotedSplit(value, pattern, '\'', '/'),
+					LineParser.quotedSplit(value, '|', '\'', '/'));
+		}
+	}
+
+	private static void assertSameAsQuotedSplit(String splitExpression, char separator) throws OperatorException {
+		LineParser parser = new LineParser();
+		parser.setSplitExpression(splitExpression);
+		Pattern pattern = Pattern.compile(splitExpression);
+		for (String template : LINES) {
+			String line = template.replace('|', separator);
+			assertArrayEquals(line, Tools.quotedSplit(line.trim(), pattern, LineParser.DEFAULT_QUOTE_CHARACTER,
+					LineParser.DEFAULT_QUOTE_ESCAPE_CHARACTER), parser.split(line));
+		}
+	}
+
+	private static String randomLine(Random random, String alphabet) {
+		StringBuilder line = new StringBuilder();
+		int length = random.nextInt(16);
+		for (int i = 0; i < length; i++) {
+			line.append(alphabet.charAt(random.nextInt(alphabet.length())));
+		}
+		return line.toString();
+	}
+
+}
@@ -0,0 +1,97 @@
+/**
+ * Copyright (C) 2001-2020 by RapidMiner and the contributors
+ * 
+ * Complete list of developers available at our web site:
+ * 
+ * http://rapidminer.com
+ * 
+ * This program is free software: you can redistribute it and/or modify it under the terms of the
+ * GNU Affero General Public License as published by the Free Software Foundation, either version 3
+ * of the License, or (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without
+ * even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Affero General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Affero General Public License along with this program.
+ * If not, see http://www.gnu.org/licenses/.
+*/
+package com.rapidminer.tools.container;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import org.junit.Test;
+
+
+/**
+ * Tests for {@link CompositeKeyTable}.
+ *
+ * @since 9.7
+ */
+public class CompositeKeyTableTest {
+
+	private static final int WIDTH = 3;
+
+	private static List<Double> box(double[] key) {
+		List<Double> boxed = new ArrayList<>(key.length);
+		for (double value : key) {
+			boxed.add(value);
+		}
+		return boxed;
+	}
+
+	@Test
+	public void testSameIndicesAsMap() {
+		Random random = new Random(42);
+		CompositeKeyTable table = new CompositeKeyTable(WIDTH);
+		Map<List<Double>, Integer> expected = new HashMap<>();
+		double[] key = new double[WIDTH];
+		for (int i = 0; i < 10_000; i++) {
+			for (int j = 0; j < WIDTH; j++) {
+				int value = random.nextInt(12);
+				key[j] = value == 0 ? Double.NaN : value;
+			}
+			Integer expectedIndex = expected.computeIfAbsent(box(key), k -> expected.size());
+			assertEquals(expectedIndex.intValue(), table.getOrAdd(key));
+		}
+		assertEquals(expected.size(), table.size());
+
+		double[] buffer = new double[WIDTH];
+		for (Map.Entry<List<Double>, Integer> entry : expected.entrySet()) {
+			int index = entry.getValue();
+			table.copyKey(index, buffer);
+			assertEquals(entry.getKey(), box(buffer));
+			assertEquals(index, table.find(buffer));
+			assertEquals(CompositeKeyTable.hash(buffer), table.getHash(index));
+			for (int j = 0; j < WIDTH; j++) {
+				assertEquals(entry.getKey().get(j), table.getValue(index, j), 0);
+			}
+		}
+	}
+
+	@Test
+	public void testFindMissingKey() {
+		CompositeKeyTable table = new CompositeKeyTable(2);
+		table.getOrAdd(new double[] { 1, 2 });
+		assertEquals(CompositeKeyTable.NO_KEY, table.find(new double[] { 2, 1 }));
+		assertEquals(0, table.find(new double[] { 1, 2 }));
+	}
+
+	@Test
+	public void testKeyCopied() {
+		CompositeKeyTable table = new CompositeKeyTable(2);
+		double[] key = { 1, 2 };
+		table.getOrAdd(key);
+		key[0] = 5;
+		double[] buffer = new double[2];
+		table.copyKey(0, buffer);
+		assertArrayEquals(new double[] { 1, 2 }, buffer, 0);
+	}
+}
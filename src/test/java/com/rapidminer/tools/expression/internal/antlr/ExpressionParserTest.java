@@ -19,11 +19,22 @@
 package com.rapidminer.tools.expression.internal.antlr;
 
 import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 
+import java.util.Arrays;
+import java.util.Collections;
+
+import org.antlr.v4.runtime.tree.ParseTree;
 import org.junit.Test;
 
+import com.rapidminer.tools.expression.ExpressionContext;
 import com.rapidminer.tools.expression.ExpressionException;
+import com.rapidminer.tools.expression.Function;
+import com.rapidminer.tools.expression.Resolver;
+import com.rapidminer.tools.expression.internal.SimpleExpressionContext;
+import com.rapidminer.tools.expression.internal.function.mathematical.AbsoluteValue;
+import com.rapidminer.tools.expression.internal.function.mathematical.SquareRoot;
 
 
 /**
@@ -474,4 +485,29 @@ public class ExpressionParserTest {
 		assertTrue(result);
 	}
 
+	@Test
+	public void cachedParseTree() throws ExpressionException {
+		String expression = "[att1] * 2 + sqrt(%{macro})";
+		assertSame(new AntlrParser(null).parseExpression(expression), new AntlrParser(null).parseExpression(expression));
+	}
+
+	@Test
+	public void parseTreeSharedBetweenContexts() throws ExpressionException {
+		String expression = "sqrt([att1]) + abs(%{macro})";
+		ParseTree tree = new AntlrParser(createContext(new SquareRoot(), new AbsoluteValue())).parseExpression(expression);
+		assertSame(tree, new AntlrParser(createContext()).parseExpression(expression));
+		assertSame(tree, new AntlrParser(null).parseExpression(expression));
+	}
+
+	private static ExpressionContext createContext(Function... functions) {
+		return new SimpleExpressionContext(Arrays.asList(functions), Collections.<Resolver> emptyList(),
+				Collections.<Resolver> emptyList(), Collections.<Resolver> emptyList());
+	}
+
+	@Test
+	public void wrongInputNotCached() {
+		assertFalse(parse("(1 + 2"));
+		assertFalse(parse("(1 + 2"));
+	}
+
 }
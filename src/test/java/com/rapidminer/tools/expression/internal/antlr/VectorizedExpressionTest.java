@@ -0,0 +1,178 @@
+/**
+ * Copyright (C) 2001-2020 by RapidMiner and the contributors
+ * 
+ * Complete list of developers available at our web site:
+ * 
+ * http://rapidminer.com
+ * 
+ * This program is free software: you can redistribute it and/or modify it under the terms of the
+ * GNU Affero General Public License as published by the Free Software Foundation, either version 3
+ * of the License, or (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without
+ * even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Affero General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Affero General Public License along with this program.
+ * If not, see http://www.gnu.org/licenses/.
+*/
+package com.rapidminer.tools.expression.internal.antlr;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+
+import java.util.Collections;
+import java.util.LinkedList;
+import java.util.List;
+
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import com.rapidminer.example.Attribute;
+import com.rapidminer.example.Example;
+import com.rapidminer.example.ExampleSet;
+import com.rapidminer.example.set.MappedExampleSet;
+import com.rapidminer.example.table.AttributeFactory;
+import com.rapidminer.example.utils.ExampleSetBuilder;
+import com.rapidminer.example.utils.ExampleSets;
+import com.rapidminer.tools.Ontology;
+import com.rapidminer.tools.expression.ExampleResolver;
+import com.rapidminer.tools.expression.Expression;
+import com.rapidminer.tools.expression.ExpressionException;
+import com.rapidminer.tools.expression.ExpressionParserBuilder;
+import com.rapidminer.tools.expression.ExpressionRegistry;
+import com.rapidminer.tools.expression.ExpressionType;
+import com.rapidminer.tools.expression.Function;
+import com.rapidminer.tools.expression.Resolver;
+import com.rapidminer.tools.expression.internal.SimpleExpressionContext;
+import com.rapidminer.tools.expression.internal.function.Abstract1DoubleInputFunction;
+import com.rapidminer.tools.expression.internal.function.mathematical.SquareRoot;
+
+
+/**
+ * Tests that {@link VectorizedExpression}s yield the same results as the row-wise evaluation.
+ *
+ * @since 9.7
+ */
+public class VectorizedExpressionTest {
+
+	private static final int SIZE = 2 * VectorizedExpression.CHUNK_SIZE + 17;
+
+	private static ExampleSet exampleSet;
+	private static ExampleResolver resolver;
+	private static AntlrParser parser;
+
+	@BeforeClass
+	public static void setUpForAll() {
+		List<Attribute> attributes = new LinkedList<>();
+		attributes.add(AttributeFactory.createAttribute("real", Ontology.REAL));
+		attributes.add(AttributeFactory.createAttribute("integer", Ontology.INTEGER));
+		Attribute nominal = AttributeFactory.createAttribute("nominal", Ontology.NOMINAL);
+		nominal.getMapping().mapString("cat");
+		attributes.add(nominal);
+
+		ExampleSetBuilder builder = ExampleSets.from(attributes);
+		for (int i = 0; i < SIZE; i++) {
+			double real = i % 11 == 0 ? Double.NaN : i * 0.37 - 1000;
+			double integer = i % 13 == 0 ? Double.NaN : i % 50 - 20;
+			builder.addRow(new double[] { real, integer, 0 });
+		}
+		exampleSet = builder.build();
+		resolver = new ExampleResolver(exampleSet);
+		parser = (AntlrParser) new ExpressionParserBuilder().withModules(ExpressionRegistry.INSTANCE.getAll())
+				.withDynamics(resolver).build();
+	}
+
+	private void assertSameResults(String expression) throws ExpressionException {
+		Expression rowWise = parser.parse(expression);
+		VectorizedExpression vectorized = parser.parseVectorized(expression);
+		assertNotNull(vectorized);
+		assertEquals(rowWise.getExpressionType(), vectorized.getExpressionType());
+
+		double[] results = vectorized.evaluate(exampleSet, null);
+		assertEquals(SIZE, results.length);
+		int row = 0;
+		for (Example example : exampleSet) {
+			resolver.bind(example);
+			try {
+				assertEquals(rowWise.evaluateNumerical(), results[row++], 0);
+			} finally {
+				resolver.unbind();
+			}
+		}
+	}
+
+	@Test
+	public void arithmetic() throws ExpressionException {
+		assertSameResults("[real] + 2 * integer - real / 3");
+		assertSameResults("-integer + (+real)");
+		assertSameResults("integer % 7 ^ 2");
+		assertSameResults("integer * integer");
+	}
+
+	@Test
+	public void functions() throws ExpressionException {
+		assertSameResults("sqrt(abs(real)) + log(integer)");
+		assertSameResults("round(real, 2) - floor(real)");
+		assertSameResults("pow(integer, 2) + sin(real)");
+	}
+
+	@Test
+	public void view() throws ExpressionException {
+		int[] mapping = new int[SIZE / 2];
+		for (int i = 0; i < mapping.length; i++) {
+			mapping[i] = SIZE - 1 - 2 * i;
+		}
+		ExampleSet view = new MappedExampleSet(exampleSet, mapping, true, false);
+		Expression rowWise = parser.parse("[real] + 2 * integer");
+		double[] results = parser.parseVectorized("[real] + 2 * integer").evaluate(view, null);
+		assertEquals(mapping.length, results.length);
+		int row = 0;
+		for (Example example : view) {
+			resolver.bind(example);
+			try {
+				assertEquals(rowWise.evaluateNumerical(), results[row++], 0);
+			} finally {
+				resolver.unbind();
+			}
+		}
+	}
+
+	@Test
+	public void constantsOnly() throws ExpressionException {
+		assertSameResults("sqrt(16) + 2 * 3");
+	}
+
+	@Test
+	public void notVectorizable() throws ExpressionException {
+		assertNull(parser.parseVectorized("nominal"));
+		assertNull(parser.parseVectorized("if(real > 0, 1, 2)"));
+		assertNull(parser.parseVectorized("real + rand()"));
+		assertNull(parser.parseVectorized("min(real, 3)"));
+		assertNull(parser.parseVectorized("real > 0"));
+		assertNull(parser.parseVectorized("\"a\" + real"));
+		assertEquals(ExpressionType.DOUBLE, parser.parse("real + rand()").getExpressionType());
+	}
+
+	@Test
+	public void onlyVectorizableFunctionsVectorized() throws ExpressionException {
+		Function unmarked = new Abstract1DoubleInputFunction("mathematical.sqrt", Ontology.NUMERICAL) {
+
+			@Override
+			protected double compute(double value) {
+				return Math.sqrt(value);
+			}
+		};
+		assertNull(createParser(unmarked).parseVectorized("sqrt(real)"));
+		assertNull(createParser(new SquareRoot() {}).parseVectorized("sqrt(real)"));
+		assertNotNull(createParser(new SquareRoot()).parseVectorized("sqrt(real)"));
+	}
+
+	private static AntlrParser createParser(Function function) {
+		return new AntlrParser(new SimpleExpressionContext(Collections.singletonList(function),
+				Collections.<Resolver> emptyList(), Collections.<Resolver> singletonList(resolver),
+				Collections.<Resolver> emptyList()));
+	}
+
+}
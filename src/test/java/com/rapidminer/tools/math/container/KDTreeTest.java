@@ -0,0 +1,114 @@
+/**
+ * Copyright (C) 2001-2020 by RapidMiner and the contributors
+ *
+ * Complete list of developers available at our web site:
+ *
+ * http://rapidminer.com
+ *
+ * This program is free software: you can redistribute it and/or modify it under the terms of the
+ * GNU Affero General Public License as published by the Free Software Foundation, either version 3
+ * of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without
+ * even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License along with this program.
+ * If not, see http://www.gnu.org/licenses/.
+*/
+package com.rapidminer.tools.math.container;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.Test;
+
+import com.rapidminer.tools.container.Tupel;
+import com.rapidminer.tools.math.similarity.DistanceMeasure;
+import com.rapidminer.tools.math.similarity.numerical.ChebychevNumericalDistance;
+import com.rapidminer.tools.math.similarity.numerical.EuclideanDistance;
+import com.rapidminer.tools.math.similarity.numerical.ManhattanDistance;
+
+
+/**
+ * Tests that a balanced {@link KDTree} finds neighbors at the same distances as a {@link LinearList}, also for
+ * sorted points and queries with missing values.
+ *
+ * @since 9.7
+ */
+public class KDTreeTest {
+
+	private static final int POINTS = 5_000;
+
+	private static final int QUERIES = 200;
+
+	private static final int K = 7;
+
+	private static double[] sortedDistances(Collection<Tupel<Double, Integer>> neighbors) {
+		return neighbors.stream().mapToDouble(Tupel::getFirst).sorted().toArray();
+	}
+
+	private static void assertSameNeighbors(DistanceMeasure measure, int dimensions, boolean sorted) {
+		Random random = new Random(dimensions);
+		List<double[]> points = new ArrayList<>();
+		List<Integer> indices = new ArrayList<>();
+		for (int i = 0; i < POINTS; i++) {
+			double[] point = random.doubles(dimensions).toArray();
+			if (sorted) {
+				point[0] = i;
+			}
+			points.add(point);
+			indices.add(i);
+		}
+		KDTree<Integer> tree = new KDTree<>(dimensions, measure);
+		tree.addAll(points, indices);
+		LinearList<Integer> list = new LinearList<>(measure);
+		for (int i = 0; i < POINTS; i++) {
+			list.add(points.get(i), i);
+		}
+		assertEquals(POINTS, tree.size());
+
+		for (int q = 0; q < QUERIES; q++) {
+			double[] query = random.doubles(dimensions).toArray();
+			if (sorted) {
+				query[0] = random.nextInt(POINTS);
+			}
+			if (q % 10 == 0) {
+				query[random.nextInt(dimensions)] = Double.NaN;
+			}
+			assertArrayEquals(sortedDistances(list.getNearestValueDistances(K, query)),
+					sortedDistances(tree.getNearestValueDistances(K, query)), 0);
+		}
+	}
+
+	@Test
+	public void testEuclidean() {
+		assertSameNeighbors(new EuclideanDistance(), 3, false);
+	}
+
+	@Test
+	public void testManhattan() {
+		assertSameNeighbors(new ManhattanDistance(), 5, false);
+	}
+
+	@Test
+	public void testChebychev() {
+		assertSameNeighbors(new ChebychevNumericalDistance(), 2, false);
+	}
+
+	@Test
+	public void testSortedPoints() {
+		assertSameNeighbors(new EuclideanDistance(), 2, true);
+	}
+
+	@Test
+	public void testEmpty() {
+		KDTree<Integer> tree = new KDTree<>(2, new EuclideanDistance());
+		assertEquals(0, tree.getNearestValues(K, new double[] { 1, 2 }).size());
+	}
+}
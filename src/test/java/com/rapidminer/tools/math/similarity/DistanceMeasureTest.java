@@ -0,0 +1,134 @@
+/**
+ * Copyright (C) 2001-2020 by RapidMiner and the contributors
+ *
+ * Complete list of developers available at our web site:
+ *
+ * http://rapidminer.com
+ *
+ * This program is free software: you can redistribute it and/or modify it under the terms of the
+ * GNU Affero General Public License as published by the Free Software Foundation, either version 3
+ * of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without
+ * even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License along with this program.
+ * If not, see http://www.gnu.org/licenses/.
+*/
+package com.rapidminer.tools.math.similarity;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Random;
+
+import org.junit.Test;
+
+import com.rapidminer.tools.math.similarity.divergences.SquaredEuclideanDistance;
+import com.rapidminer.tools.math.similarity.nominal.NominalDistance;
+import com.rapidminer.tools.math.similarity.numerical.ChebychevNumericalDistance;
+import com.rapidminer.tools.math.similarity.numerical.CosineSimilarity;
+import com.rapidminer.tools.math.similarity.numerical.EuclideanDistance;
+import com.rapidminer.tools.math.similarity.numerical.ManhattanDistance;
+
+
+/**
+ * Tests that {@link DistanceMeasure#calculateDistances(double[], int, int, double[], int, int, int, double[])}
+ * calculates the same distances as {@link DistanceMeasure#calculateDistance(double[], double[])}, for the
+ * specialized measures as well as for the default implementation, and that blocks are only used if they
+ * fit into an array.
+ *
+ * @since 9.7
+ */
+public class DistanceMeasureTest {
+
+	private static final int ROWS = 50;
+
+	private static final int DIMENSIONS = 7;
+
+	@Test
+	public void euclidean() {
+		testBlocks(new EuclideanDistance(), false);
+	}
+
+	@Test
+	public void squaredEuclidean() {
+		testBlocks(new SquaredEuclideanDistance(), false);
+	}
+
+	@Test
+	public void manhattan() {
+		testBlocks(new ManhattanDistance(), false);
+	}
+
+	@Test
+	public void cosine() {
+		testBlocks(new CosineSimilarity(), false);
+	}
+
+	@Test
+	public void nominal() {
+		testBlocks(new NominalDistance(), true);
+	}
+
+	@Test
+	public void defaultImplementation() {
+		testBlocks(new ChebychevNumericalDistance(), false);
+	}
+
+	@Test
+	public void fitsInBlock() {
+		assertTrue(DistanceMeasure.fitsInBlock(ROWS, DIMENSIONS));
+		assertTrue(DistanceMeasure.fitsInBlock(DistanceMeasure.MAX_BLOCK_SIZE, 1));
+		assertTrue(DistanceMeasure.fitsInBlock(0, Integer.MAX_VALUE));
+		assertFalse(DistanceMeasure.fitsInBlock(DistanceMeasure.MAX_BLOCK_SIZE + 1L, 1));
+		// the int product of both would overflow to a small positive number
+		assertFalse(DistanceMeasure.fitsInBlock(1 << 16, (1 << 16) + 1));
+		assertFalse(DistanceMeasure.fitsInBlock(Integer.MAX_VALUE, Integer.MAX_VALUE));
+	}
+
+	private static void testBlocks(DistanceMeasure measure, boolean nominal) {
+		Random random = new Random(42);
+		double[] first = createBlock(random, nominal);
+		double[] second = createBlock(random, nominal);
+		int firstFrom = 3;
+		int firstTo = 41;
+		int secondFrom = 7;
+		int secondTo = 50;
+		double[] distances = new double[(firstTo - firstFrom) * (secondTo - secondFrom)];
+		measure.calculateDistances(first, firstFrom, firstTo, second, secondFrom, secondTo, DIMENSIONS, distances);
+
+		int index = 0;
+		for (int i = firstFrom; i < firstTo; i++) {
+			for (int j = secondFrom; j < secondTo; j++) {
+				double expected = measure.calculateDistance(getRow(first, i), getRow(second, j));
+				assertEquals(expected, distances[index++], 0);
+			}
+		}
+	}
+
+	private static double[] createBlock(Random random, boolean nominal) {
+		double[] block = new double[ROWS * DIMENSIONS];
+		for (int i = 0; i < block.length; i++) {
+			if (random.nextInt(20) == 0) {
+				block[i] = Double.NaN;
+			} else {
+				block[i] = nominal ? random.nextInt(3) : random.nextGaussian();
+			}
+		}
+		// rows without any values and with zeros only
+		for (int d = 0; d < DIMENSIONS; d++) {
+			block[10 * DIMENSIONS + d] = Double.NaN;
+			block[20 * DIMENSIONS + d] = 0;
+		}
+		return block;
+	}
+
+	private static double[] getRow(double[] block, int row) {
+		double[] values = new double[DIMENSIONS];
+		System.arraycopy(block, row * DIMENSIONS, values, 0, DIMENSIONS);
+		return values;
+	}
+}